@@ -36,8 +36,12 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
 
+import io.realm.annotations.CompoundIndex;
+import io.realm.annotations.CompoundIndexes;
+import io.realm.annotations.FullText;
 import io.realm.annotations.Ignore;
 import io.realm.annotations.Index;
+import io.realm.annotations.OrderedIndex;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.Required;
 
@@ -55,12 +59,15 @@ public class ClassMetaData {
     private List<String> fieldNames = new ArrayList<String>();
     private List<String> ignoreFieldNames = new ArrayList<String>();
     private List<VariableElement> indexedFields = new ArrayList<VariableElement>(); // list of all fields marked @Index.
+    private List<VariableElement> orderedIndexFields = new ArrayList<VariableElement>(); // list of all fields marked @OrderedIndex.
+    private List<VariableElement> fullTextFields = new ArrayList<VariableElement>(); // list of all fields marked @FullText.
     private Set<VariableElement> nullableFields = new HashSet<VariableElement>(); // Set of fields which can be nullable
     private Set<String> expectedGetters = new HashSet<String>(); // Set of fieldnames that are expected to have a getter
     private Set<String> expectedSetters = new HashSet<String>(); // Set of fieldnames that are expected to have a setter
     private Set<ExecutableElement> methods = new HashSet<ExecutableElement>(); // List of all methods in the model class
     private Map<String, String> getters = new HashMap<String, String>(); // Map between fieldnames and their getters
     private Map<String, String> setters = new HashMap<String, String>(); // Map between fieldname and their setters
+    private List<List<VariableElement>> compoundIndexes = new ArrayList<List<VariableElement>>(); // Fields of each @CompoundIndex, in order.
 
     private final List<TypeMirror> validPrimaryKeyTypes;
     private final Types typeUtils;
@@ -109,6 +116,7 @@ public class ClassMetaData {
         if (!checkDefaultConstructor()) return false;
         if (!checkRequiredGetters()) return false;
         if (!checkRequireSetters()) return false;
+        if (!checkCompoundIndexes()) return false;
 
         return true; // Meta data was successfully generated
     }
@@ -259,6 +267,71 @@ public class ClassMetaData {
         return expectedGetters.size() == 0;
     }
 
+    // Check that all compound indexes refer to at least two distinct fields that can be indexed
+    private boolean checkCompoundIndexes() {
+        List<CompoundIndex> annotations = new ArrayList<CompoundIndex>();
+        CompoundIndex compoundIndex = classType.getAnnotation(CompoundIndex.class);
+        if (compoundIndex != null) {
+            annotations.add(compoundIndex);
+        }
+        CompoundIndexes compoundIndexesAnnotation = classType.getAnnotation(CompoundIndexes.class);
+        if (compoundIndexesAnnotation != null) {
+            annotations.addAll(Arrays.asList(compoundIndexesAnnotation.value()));
+        }
+
+        Set<List<String>> declaredIndexes = new HashSet<List<String>>();
+        for (CompoundIndex annotation : annotations) {
+            List<String> indexFieldNames = Arrays.asList(annotation.value());
+            if (indexFieldNames.size() < 2) {
+                Utils.error("@CompoundIndex requires at least two fields: " + indexFieldNames, classType);
+                return false;
+            }
+            if (!declaredIndexes.add(indexFieldNames)) {
+                Utils.error("@CompoundIndex is declared more than once: " + indexFieldNames, classType);
+                return false;
+            }
+            if (Utils.getCompoundIndexColumnName(indexFieldNames).length() > 63) {
+                Utils.error("@CompoundIndex field names are too long. The names joined by ',' are limited " +
+                        "to 59 characters: " + indexFieldNames, classType);
+                return false;
+            }
+
+            List<VariableElement> indexFields = new ArrayList<VariableElement>();
+            for (String fieldName : indexFieldNames) {
+                VariableElement field = getField(fieldName);
+                if (field == null) {
+                    Utils.error("@CompoundIndex refers to a field that does not exist or is ignored: " + fieldName,
+                            classType);
+                    return false;
+                }
+                if (indexFields.contains(field)) {
+                    Utils.error("@CompoundIndex lists field " + fieldName + " more than once.", classType);
+                    return false;
+                }
+                String columnType = Constants.JAVA_TO_COLUMN_TYPES.get(field.asType().toString());
+                if (columnType == null || !(columnType.equals("RealmFieldType.STRING") ||
+                        columnType.equals("RealmFieldType.DATE") ||
+                        columnType.equals("RealmFieldType.INTEGER") ||
+                        columnType.equals("RealmFieldType.BOOLEAN"))) {
+                    Utils.error("@CompoundIndex is not applicable to this field " + field + ".");
+                    return false;
+                }
+                indexFields.add(field);
+            }
+            compoundIndexes.add(indexFields);
+        }
+        return true;
+    }
+
+    private VariableElement getField(String fieldName) {
+        for (VariableElement field : fields) {
+            if (field.getSimpleName().toString().equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
     // Report if the default constructor is missing
     private boolean checkDefaultConstructor() {
         if (!hasDefaultConstructor) {
@@ -294,7 +367,7 @@ public class ClassMetaData {
 
                 if (variableElement.getAnnotation(Index.class) != null) {
                     // The field has the @Index annotation. It's only valid for column types:
-                    // STRING, DATE, INTEGER, BOOLEAN
+                    // STRING, DATE, INTEGER, BOOLEAN, FLOAT, DOUBLE
                     String elementTypeCanonicalName = variableElement.asType().toString();
                     String columnType = Constants.JAVA_TO_COLUMN_TYPES.get(elementTypeCanonicalName);
                     if (columnType != null && (columnType.equals("RealmFieldType.STRING") ||
@@ -302,12 +375,47 @@ public class ClassMetaData {
                             columnType.equals("RealmFieldType.INTEGER") ||
                             columnType.equals("RealmFieldType.BOOLEAN"))) {
                         indexedFields.add(variableElement);
+                    } else if (columnType != null && (columnType.equals("RealmFieldType.FLOAT") ||
+                            columnType.equals("RealmFieldType.DOUBLE"))) {
+                        // Core has no search index for floating point columns, so they get an ordered index.
+                        if (variableElement.getAnnotation(OrderedIndex.class) == null) {
+                            orderedIndexFields.add(variableElement);
+                        }
                     } else {
                         Utils.error("@Index is not applicable to this field " + element + ".");
                         return false;
                     }
                 }
 
+                if (variableElement.getAnnotation(OrderedIndex.class) != null) {
+                    // The field has the @OrderedIndex annotation. It's only valid for column types:
+                    // DATE, INTEGER, FLOAT, DOUBLE
+                    String elementTypeCanonicalName = variableElement.asType().toString();
+                    String columnType = Constants.JAVA_TO_COLUMN_TYPES.get(elementTypeCanonicalName);
+                    if (columnType != null && (columnType.equals("RealmFieldType.DATE") ||
+                            columnType.equals("RealmFieldType.INTEGER") ||
+                            columnType.equals("RealmFieldType.FLOAT") ||
+                            columnType.equals("RealmFieldType.DOUBLE"))) {
+                        orderedIndexFields.add(variableElement);
+                    } else {
+                        Utils.error("@OrderedIndex is not applicable to this field " + element + ".");
+                        return false;
+                    }
+                }
+
+                if (variableElement.getAnnotation(FullText.class) != null) {
+                    // The field has the @FullText annotation. It's only valid for column types:
+                    // STRING
+                    String elementTypeCanonicalName = variableElement.asType().toString();
+                    String columnType = Constants.JAVA_TO_COLUMN_TYPES.get(elementTypeCanonicalName);
+                    if (columnType != null && columnType.equals("RealmFieldType.STRING")) {
+                        fullTextFields.add(variableElement);
+                    } else {
+                        Utils.error("@FullText is not applicable to this field " + element + ".");
+                        return false;
+                    }
+                }
+
                 if (variableElement.getAnnotation(Required.class) == null) {
                     // The field doesn't have the @Required annotation.
                     // Without @Required annotation, boxed types/RealmObject/Date/String/bytes should be added to
@@ -429,6 +537,27 @@ public class ClassMetaData {
         return indexedFields;
     }
 
+    public List<VariableElement> getOrderedIndexFields() {
+        return orderedIndexFields;
+    }
+
+    public List<VariableElement> getFullTextFields() {
+        return fullTextFields;
+    }
+
+    public List<List<VariableElement>> getCompoundIndexes() {
+        return compoundIndexes;
+    }
+
+    public boolean isInCompoundIndex(VariableElement field) {
+        for (List<VariableElement> indexFields : compoundIndexes) {
+            if (indexFields.contains(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean hasPrimaryKey() {
         return primaryKey != null;
     }
@@ -23,6 +23,7 @@ public class Constants {
     public static final String REALM_PACKAGE_NAME = "io.realm";
     public static final String PROXY_SUFFIX = "RealmProxy";
     public static final String TABLE_PREFIX = "class_";
+    public static final String COMPOUND_INDEX_COLUMN_PREFIX = "!ci:";
     public static final String DEFAULT_MODULE_CLASS_NAME = "DefaultRealmModule";
     static final String STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE =
             "throw new IllegalArgumentException(\"Trying to set non-nullable field %s to null.\")";
@@ -47,6 +48,7 @@ public class Constants {
         JAVA_TO_REALM_TYPES.put("java.lang.String", "String");
         JAVA_TO_REALM_TYPES.put("java.util.Date", "Date");
         JAVA_TO_REALM_TYPES.put("byte[]", "BinaryByteArray");
+        JAVA_TO_REALM_TYPES.put("java.nio.ByteBuffer", "BinaryByteBuffer");
         // TODO: add support for char and Char
     }
 
@@ -70,5 +72,6 @@ public class Constants {
         JAVA_TO_COLUMN_TYPES.put("java.lang.String", "RealmFieldType.STRING");
         JAVA_TO_COLUMN_TYPES.put("java.util.Date", "RealmFieldType.DATE");
         JAVA_TO_COLUMN_TYPES.put("byte[]", "RealmFieldType.BINARY");
+        JAVA_TO_COLUMN_TYPES.put("java.nio.ByteBuffer", "RealmFieldType.BINARY");
     }
 }
@@ -29,21 +29,21 @@ public class RealmJsonTypeHelper {
     private static final Map<String, JsonToRealmFieldTypeConverter> JAVA_TO_JSON_TYPES;
     static {
         JAVA_TO_JSON_TYPES = new HashMap<String, JsonToRealmFieldTypeConverter>();
-        JAVA_TO_JSON_TYPES.put("byte", new SimpleTypeConverter("byte", "Int"));
-        JAVA_TO_JSON_TYPES.put("short", new SimpleTypeConverter("short", "Int"));
-        JAVA_TO_JSON_TYPES.put("int", new SimpleTypeConverter("int", "Int"));
-        JAVA_TO_JSON_TYPES.put("long", new SimpleTypeConverter("long", "Long"));
-        JAVA_TO_JSON_TYPES.put("float", new SimpleTypeConverter("float", "Double"));
-        JAVA_TO_JSON_TYPES.put("double", new SimpleTypeConverter("double", "Double"));
-        JAVA_TO_JSON_TYPES.put("boolean", new SimpleTypeConverter("boolean", "Boolean"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Byte", new SimpleTypeConverter("byte", "Int"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Short", new SimpleTypeConverter("short", "Int"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Integer", new SimpleTypeConverter("int", "Int"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Long", new SimpleTypeConverter("long", "Long"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Float", new SimpleTypeConverter("float", "Double"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Double", new SimpleTypeConverter("double", "Double"));
-        JAVA_TO_JSON_TYPES.put("java.lang.Boolean", new SimpleTypeConverter("boolean", "Boolean"));
-        JAVA_TO_JSON_TYPES.put("java.lang.String", new SimpleTypeConverter("String", "String"));
+        JAVA_TO_JSON_TYPES.put("byte", new SimpleTypeConverter("byte", "Int", "Long"));
+        JAVA_TO_JSON_TYPES.put("short", new SimpleTypeConverter("short", "Int", "Long"));
+        JAVA_TO_JSON_TYPES.put("int", new SimpleTypeConverter("int", "Int", "Long"));
+        JAVA_TO_JSON_TYPES.put("long", new SimpleTypeConverter("long", "Long", "Long"));
+        JAVA_TO_JSON_TYPES.put("float", new SimpleTypeConverter("float", "Double", "Float"));
+        JAVA_TO_JSON_TYPES.put("double", new SimpleTypeConverter("double", "Double", "Double"));
+        JAVA_TO_JSON_TYPES.put("boolean", new SimpleTypeConverter("boolean", "Boolean", "Boolean"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Byte", new SimpleTypeConverter("byte", "Int", "Long"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Short", new SimpleTypeConverter("short", "Int", "Long"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Integer", new SimpleTypeConverter("int", "Int", "Long"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Long", new SimpleTypeConverter("long", "Long", "Long"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Float", new SimpleTypeConverter("float", "Double", "Float"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Double", new SimpleTypeConverter("double", "Double", "Double"));
+        JAVA_TO_JSON_TYPES.put("java.lang.Boolean", new SimpleTypeConverter("boolean", "Boolean", "Boolean"));
+        JAVA_TO_JSON_TYPES.put("java.lang.String", new SimpleTypeConverter("String", "String", "String"));
         JAVA_TO_JSON_TYPES.put("java.util.Date", new JsonToRealmFieldTypeConverter() {
             @Override
             public void emitTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer)
@@ -64,19 +64,19 @@ public class RealmJsonTypeHelper {
             }
 
             @Override
-            public void emitStreamTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer)
+            public void emitStreamTypeConversion(String columnIndex, String fieldName, String fieldType, JavaWriter writer)
                     throws IOException {
                 writer
                     .beginControlFlow("if (reader.peek() == JsonToken.NULL)")
                         .emitStatement("reader.skipValue()")
-                        .emitStatement("obj.%s(null)", setter)
+                        .emitStatement("buffer.setNull(%s)", columnIndex)
                     .nextControlFlow("else if (reader.peek() == JsonToken.NUMBER)")
-                        .emitStatement("long timestamp = reader.nextLong()", fieldName)
+                        .emitStatement("long timestamp = reader.nextLong()")
                         .beginControlFlow("if (timestamp > -1)")
-                            .emitStatement("obj.%s(new Date(timestamp))", setter)
+                            .emitStatement("buffer.setDate(%s, timestamp)", columnIndex)
                         .endControlFlow()
                     .nextControlFlow("else")
-                        .emitStatement("obj.%s(JsonUtils.stringToDate(reader.nextString()))", setter)
+                        .emitStatement("buffer.setDate(%s, JsonUtils.stringToDate(reader.nextString()))", columnIndex)
                     .endControlFlow();
             }
 
@@ -100,14 +100,14 @@ public class RealmJsonTypeHelper {
             }
 
             @Override
-            public void emitStreamTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer)
+            public void emitStreamTypeConversion(String columnIndex, String fieldName, String fieldType, JavaWriter writer)
                     throws IOException {
                 writer
                     .beginControlFlow("if (reader.peek() == JsonToken.NULL)")
                         .emitStatement("reader.skipValue()")
-                        .emitStatement("obj.%s(null)", setter)
+                        .emitStatement("buffer.setNull(%s)", columnIndex)
                     .nextControlFlow("else")
-                        .emitStatement("obj.%s(JsonUtils.stringToBytes(reader.nextString()))", setter)
+                        .emitStatement("buffer.setBinary(%s, JsonUtils.stringToBytes(reader.nextString()))", columnIndex)
                     .endControlFlow();
             }
 
@@ -116,6 +116,37 @@ public class RealmJsonTypeHelper {
                 throw new IllegalArgumentException("byte[] is not allowed as a primary key value.");
             }
         });
+        JAVA_TO_JSON_TYPES.put("java.nio.ByteBuffer", new JsonToRealmFieldTypeConverter() {
+            @Override
+            public void emitTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer)
+                    throws IOException {
+                writer
+                    .beginControlFlow("if (json.has(\"%s\"))", fieldName)
+                        .beginControlFlow("if (json.isNull(\"%s\"))", fieldName)
+                            .emitStatement("obj.%s(null)", setter)
+                        .nextControlFlow("else")
+                            .emitStatement("obj.%s(ByteBuffer.wrap(JsonUtils.stringToBytes(json.getString(\"%s\"))))", setter, fieldName)
+                        .endControlFlow()
+                    .endControlFlow();
+            }
+
+            @Override
+            public void emitStreamTypeConversion(String columnIndex, String fieldName, String fieldType, JavaWriter writer)
+                    throws IOException {
+                writer
+                    .beginControlFlow("if (reader.peek() == JsonToken.NULL)")
+                        .emitStatement("reader.skipValue()")
+                        .emitStatement("buffer.setNull(%s)", columnIndex)
+                    .nextControlFlow("else")
+                        .emitStatement("buffer.setBinary(%s, JsonUtils.stringToBytes(reader.nextString()))", columnIndex)
+                    .endControlFlow();
+            }
+
+            @Override
+            public void emitGetObjectWithPrimaryKeyValue(String qualifiedRealmObjectClass, String fieldName, JavaWriter writer) throws IOException {
+                throw new IllegalArgumentException("ByteBuffer is not allowed as a primary key value.");
+            }
+        });
     }
 
     public static void emitCreateObjectWithPrimaryKeyValue(String qualifiedRealmObjectClass, String qualifiedFieldType,
@@ -168,37 +199,38 @@ public class RealmJsonTypeHelper {
     }
 
 
-    public static void emitFillJavaTypeFromStream(String setter, String fieldName, String fieldType, JavaWriter writer)
+    // The stream decoders collect the values of an object in a RowBuffer named "buffer", which writes the row once the
+    // object has been read. columnIndex is the expression for the column index of the field.
+
+    public static void emitFillJavaTypeFromStream(String columnIndex, String fieldName, String fieldType, JavaWriter writer)
             throws IOException {
         if (JAVA_TO_JSON_TYPES.containsKey(fieldType)) {
-            JAVA_TO_JSON_TYPES.get(fieldType).emitStreamTypeConversion(setter, fieldName, fieldType, writer);
+            JAVA_TO_JSON_TYPES.get(fieldType).emitStreamTypeConversion(columnIndex, fieldName, fieldType, writer);
         }
     }
 
-    public static void emitFillRealmObjectFromStream(String setter, String fieldName, String fieldTypeCanonicalName,
-                                                     String proxyClass, JavaWriter writer) throws IOException {
+    public static void emitFillRealmObjectFromStream(String columnIndex, String proxyClass, JavaWriter writer)
+            throws IOException {
         writer
             .beginControlFlow("if (reader.peek() == JsonToken.NULL)")
                 .emitStatement("reader.skipValue()")
-                .emitStatement("obj.%s(null)", setter)
+                .emitStatement("buffer.setNull(%s)", columnIndex)
             .nextControlFlow("else")
-                .emitStatement("%s %sObj = %s.createUsingJsonStream(realm, reader)", fieldTypeCanonicalName, fieldName,
-                        proxyClass)
-                .emitStatement("obj.%s(%sObj)", setter, fieldName)
+                .emitStatement("buffer.setLink(%s, %s.createUsingJsonStream(realm, reader).row.getIndex())",
+                        columnIndex, proxyClass)
             .endControlFlow();
     }
 
-    public static void emitFillRealmListFromStream(String getter, String setter, String fieldTypeCanonicalName,
-                                                   String proxyClass, JavaWriter writer) throws IOException {
+    public static void emitFillRealmListFromStream(String columnIndex, String proxyClass, JavaWriter writer)
+            throws IOException {
         writer
             .beginControlFlow("if (reader.peek() == JsonToken.NULL)")
                 .emitStatement("reader.skipValue()")
-                .emitStatement("obj.%s(null)", setter)
             .nextControlFlow("else")
                 .emitStatement("reader.beginArray()")
                 .beginControlFlow("while (reader.hasNext())")
-                    .emitStatement("%s item = %s.createUsingJsonStream(realm, reader)", fieldTypeCanonicalName, proxyClass)
-                    .emitStatement("obj.%s().add(item)", getter)
+                    .emitStatement("buffer.addLink(%s, %s.createUsingJsonStream(realm, reader).row.getIndex())",
+                            columnIndex, proxyClass)
                 .endControlFlow()
                 .emitStatement("reader.endArray()")
             .endControlFlow();
@@ -208,18 +240,21 @@ public class RealmJsonTypeHelper {
 
         private final String castType;
         private final String jsonType;
+        private final String bufferType;
 
         /**
          * Creates a conversion between simple types which can be expressed as
          * RealmObject.setFieldName((<castType>) json.get<jsonType>) or
-         * RealmObject.setFieldName((<castType>) reader.next<jsonType>
+         * buffer.set<bufferType>(columnIndex, (<castType>) reader.next<jsonType>)
          *
          * @param castType  Java type to cast to.
          * @param jsonType  JsonType to get data from.
+         * @param bufferType  type of the RowBuffer setter.
          */
-        private SimpleTypeConverter(String castType, String jsonType) {
+        private SimpleTypeConverter(String castType, String jsonType, String bufferType) {
             this.castType = castType;
             this.jsonType = jsonType;
+            this.bufferType = bufferType;
         }
 
         @Override
@@ -244,22 +279,22 @@ public class RealmJsonTypeHelper {
         }
 
         @Override
-        public void emitStreamTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer)
+        public void emitStreamTypeConversion(String columnIndex, String fieldName, String fieldType, JavaWriter writer)
                 throws IOException {
             String statementSetNullOrThrow;
             if (Utils.isPrimitiveType(fieldType)) {
-                // Only throw exception for primitive types. For boxed types and String, exception will be thrown in
-                // the setter.
+                // Only throw exception for primitive types. For boxed types and String, the exception is thrown when
+                // the row is written if the field is required.
                 statementSetNullOrThrow = String.format(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName);
             } else {
-                statementSetNullOrThrow = String.format("obj.%s(null)", setter);
+                statementSetNullOrThrow = String.format("buffer.setNull(%s)", columnIndex);
             }
             writer
                 .beginControlFlow("if (reader.peek() == JsonToken.NULL)")
                     .emitStatement("reader.skipValue()")
                     .emitStatement(statementSetNullOrThrow)
                 .nextControlFlow("else")
-                    .emitStatement("obj.%s((%s) reader.next%s())", setter, castType, jsonType)
+                    .emitStatement("buffer.set%s(%s, (%s) reader.next%s())", bufferType, columnIndex, castType, jsonType)
                 .endControlFlow();
         }
 
@@ -283,7 +318,7 @@ public class RealmJsonTypeHelper {
 
     private interface JsonToRealmFieldTypeConverter {
         void emitTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer) throws IOException;
-        void emitStreamTypeConversion(String setter, String fieldName, String fieldType, JavaWriter writer) throws IOException;
+        void emitStreamTypeConversion(String columnIndex, String fieldName, String fieldType, JavaWriter writer) throws IOException;
         void emitGetObjectWithPrimaryKeyValue(String qualifiedRealmObjectClass, String fieldName, JavaWriter writer) throws IOException;
     }
 }
@@ -24,7 +24,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Modifier;
@@ -61,7 +63,10 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.RealmFieldType");
         imports.add("io.realm.exceptions.RealmMigrationNeededException");
         imports.add("io.realm.internal.ColumnInfo");
+        imports.add("io.realm.internal.DetachedCopyCache");
         imports.add("io.realm.internal.RealmObjectProxy");
+        imports.add("io.realm.internal.RowBuffer");
+        imports.add("io.realm.internal.RowSnapshot");
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.TableOrView");
         imports.add("io.realm.internal.ImplicitTransaction");
@@ -69,6 +74,7 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.internal.android.JsonUtils");
         imports.add("java.io.IOException");
         imports.add("java.util.ArrayList");
+        imports.add("java.util.Arrays");
         imports.add("java.util.Collections");
         imports.add("java.util.List");
         imports.add("java.util.Date");
@@ -85,6 +91,8 @@ public class RealmProxyClassGenerator {
                 fieldTypeName = field.asType().toString();
             } else if (Utils.isRealmList(field)) { // LinkLists
                 fieldTypeName = ((DeclaredType) field.asType()).getTypeArguments().get(0).toString();
+            } else if (Utils.isByteBuffer(field)) {
+                fieldTypeName = field.asType().toString();
             }
             if (!fieldTypeName.isEmpty() && !imports.contains(fieldTypeName)) {
                 imports.add(fieldTypeName);
@@ -116,6 +124,8 @@ public class RealmProxyClassGenerator {
         emitCreateUsingJsonStream(writer);
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
+        emitInsertMethod(writer);
+        emitGetPrimaryKeyMethod(writer);
         emitCreateDetachedCopyMethod(writer);
         emitUpdateMethod(writer);
         emitToStringMethod(writer);
@@ -156,6 +166,32 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("indicesMap.put(\"%s\", this.%s)", columnName, columnIndexVarName);
             writer.emitEmptyLine();
         }
+        if (!metadata.getCompoundIndexes().isEmpty()) {
+            StringBuilder compoundIndexes = new StringBuilder();
+            for (List<VariableElement> indexFields : metadata.getCompoundIndexes()) {
+                compoundIndexes.append(", new String[] {");
+                List<String> fieldNames = getFieldNames(indexFields);
+                for (int i = 0; i < fieldNames.size(); i++) {
+                    compoundIndexes.append(i == 0 ? "\"" : ", \"").append(fieldNames.get(i)).append('"');
+                }
+                compoundIndexes.append('}');
+            }
+            writer.emitStatement("setCompoundIndices(path, table, \"%s\"%s)", className, compoundIndexes);
+        }
+        if (!metadata.getOrderedIndexFields().isEmpty()) {
+            StringBuilder orderedIndexes = new StringBuilder();
+            for (String fieldName : getFieldNames(metadata.getOrderedIndexFields())) {
+                orderedIndexes.append(", \"").append(fieldName).append('"');
+            }
+            writer.emitStatement("setOrderedIndices(path, table, \"%s\"%s)", className, orderedIndexes);
+        }
+        if (!metadata.getFullTextFields().isEmpty()) {
+            StringBuilder fullTextIndexes = new StringBuilder();
+            for (String fieldName : getFieldNames(metadata.getFullTextFields())) {
+                fullTextIndexes.append(", \"").append(fieldName).append('"');
+            }
+            writer.emitStatement("setFullTextIndices(path, table, \"%s\"%s)", className, fullTextIndexes);
+        }
         writer.emitStatement("setIndicesMap(indicesMap)");
         writer.endConstructor();
 
@@ -203,13 +239,20 @@ public class RealmProxyClassGenerator {
                 String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
 
                 // Getter
+                if (Utils.isByteBuffer(field)) {
+                    writer.emitJavadoc("Returns the value without copying it, unless the Realm is in a write transaction.\n"
+                            + "The buffer points into the Realm file. It is only valid until the Realm is refreshed,\n"
+                            + "changed or closed, and reading it after that can crash the process. Copy the bytes to\n"
+                            + "keep them longer.");
+                }
                 writer.emitAnnotation("Override");
                 writer.emitAnnotation("SuppressWarnings", "\"cast\"");
                 writer.beginMethod(fieldTypeCanonicalName, metadata.getGetter(fieldName), EnumSet.of(Modifier.PUBLIC));
                 writer.emitStatement("realm.checkIfValid()");
 
-                // For String and bytes[], null value will be returned by JNI code. Try to save one JNI call here.
-                if (metadata.isNullable(field) && !Utils.isString(field) && !Utils.isByteArray(field)) {
+                // For String, bytes[] and ByteBuffer, null value will be returned by JNI code. Try to save one JNI call here.
+                if (metadata.isNullable(field) && !Utils.isString(field) && !Utils.isByteArray(field)
+                        && !Utils.isByteBuffer(field)) {
                     writer.beginControlFlow("if (row.isNull(%s))", fieldIndexVariableReference(field));
                     writer.emitStatement("return null");
                     writer.endControlFlow();
@@ -236,9 +279,13 @@ public class RealmProxyClassGenerator {
                 // Although setting null value for String and bytes[] can be handled by the JNI code, we still generate the same code here.
                 // Compared with getter, null value won't trigger more native calls in setter which is relatively cheaper.
                 if (metadata.isNullable(field)) {
-                    writer.beginControlFlow("if (value == null)")
-                        .emitStatement("row.setNull(%s)", fieldIndexVariableReference(field))
-                        .emitStatement("return")
+                    writer.beginControlFlow("if (value == null)");
+                    emitRemoveFromOrderedIndex(writer, field);
+                    writer.emitStatement("row.setNull(%s)", fieldIndexVariableReference(field));
+                    emitAddToOrderedIndex(writer, field);
+                    emitUpdateFullTextIndex(writer, field);
+                    emitUpdateCompoundIndices(writer, field);
+                    writer.emitStatement("return")
                     .endControlFlow();
                 } else if (!metadata.isNullable(field) && !Utils.isPrimitiveType(field)) {
                     // Same reason, throw IAE earlier.
@@ -247,9 +294,13 @@ public class RealmProxyClassGenerator {
                             .emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName)
                         .endControlFlow();
                 }
+                emitRemoveFromOrderedIndex(writer, field);
                 writer.emitStatement(
                         "row.set%s(%s, value)",
                         realmType, fieldIndexVariableReference(field));
+                emitAddToOrderedIndex(writer, field);
+                emitUpdateFullTextIndex(writer, field);
+                emitUpdateCompoundIndices(writer, field);
                 writer.endMethod();
             } else if (Utils.isRealmObject(field)) {
                 /**
@@ -334,6 +385,34 @@ public class RealmProxyClassGenerator {
         }
     }
 
+    // Keys of compound indexes must be rebuilt every time one of their fields is set.
+    private void emitUpdateCompoundIndices(JavaWriter writer, VariableElement field) throws IOException {
+        if (metadata.isInCompoundIndex(field)) {
+            writer.emitStatement("columnInfo.updateCompoundIndices(row, %s)", fieldIndexVariableReference(field));
+        }
+    }
+
+    // Ordered indexes look up an object by its current value, so it must be removed before the value changes and added
+    // again afterwards.
+    private void emitRemoveFromOrderedIndex(JavaWriter writer, VariableElement field) throws IOException {
+        if (metadata.getOrderedIndexFields().contains(field)) {
+            writer.emitStatement("columnInfo.removeFromOrderedIndex(row, %s)", fieldIndexVariableReference(field));
+        }
+    }
+
+    private void emitAddToOrderedIndex(JavaWriter writer, VariableElement field) throws IOException {
+        if (metadata.getOrderedIndexFields().contains(field)) {
+            writer.emitStatement("columnInfo.addToOrderedIndex(row, %s)", fieldIndexVariableReference(field));
+        }
+    }
+
+    // The tokens of a full-text index must be updated every time the field is set.
+    private void emitUpdateFullTextIndex(JavaWriter writer, VariableElement field) throws IOException {
+        if (metadata.getFullTextFields().contains(field)) {
+            writer.emitStatement("columnInfo.updateFullTextIndex(row, %s)", fieldIndexVariableReference(field));
+        }
+    }
+
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 "Table", // Return type
@@ -381,6 +460,21 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("table.addSearchIndex(table.getColumnIndex(\"%s\"))", fieldName);
         }
 
+        for (VariableElement field : metadata.getOrderedIndexFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("table.addOrderedIndex(table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
+        for (VariableElement field : metadata.getFullTextFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("table.addFullTextIndex(table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
+        for (List<VariableElement> indexFields : metadata.getCompoundIndexes()) {
+            writer.emitStatement("table.addSearchIndex(table.addColumn(RealmFieldType.STRING, \"%s\", Table.NOT_NULLABLE))",
+                    Utils.getCompoundIndexColumnName(getFieldNames(indexFields)));
+        }
+
         if (metadata.hasPrimaryKey()) {
             String fieldName = metadata.getPrimaryKey().getSimpleName().toString();
             writer.emitStatement("table.setPrimaryKey(\"%s\")", fieldName);
@@ -405,15 +499,17 @@ public class RealmProxyClassGenerator {
         writer.beginControlFlow("if (transaction.hasTable(\"" + Constants.TABLE_PREFIX + this.className + "\"))");
         writer.emitStatement("Table table = transaction.getTable(\"%s%s\")", Constants.TABLE_PREFIX, this.className);
 
-        // verify number of columns
-        writer.beginControlFlow("if (table.getColumnCount() != " + metadata.getFields().size() + ")");
+        // verify number of columns. Each compound and full-text index is stored in a hidden column.
+        int columnCount = metadata.getFields().size() + metadata.getCompoundIndexes().size()
+                + metadata.getFullTextFields().size();
+        writer.beginControlFlow("if (table.getColumnCount() != " + columnCount + ")");
         writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Field count does not match - expected %d but was \" + table.getColumnCount())",
-                metadata.getFields().size());
+                columnCount);
         writer.endControlFlow();
 
         // create type dictionary for lookup
         writer.emitStatement("Map<String, RealmFieldType> columnTypes = new HashMap<String, RealmFieldType>()");
-        writer.beginControlFlow("for (long i = 0; i < " + metadata.getFields().size() + "; i++)");
+        writer.beginControlFlow("for (long i = 0; i < " + columnCount + "; i++)");
         writer.emitStatement("columnTypes.put(table.getColumnName(i), table.getColumnType(i))");
         writer.endControlFlow();
         writer.emitEmptyLine();
@@ -535,6 +631,17 @@ public class RealmProxyClassGenerator {
             fieldIndex++;
         }
 
+        // Validate @CompoundIndex
+        for (List<VariableElement> indexFields : metadata.getCompoundIndexes()) {
+            List<String> fieldNames = getFieldNames(indexFields);
+            String columnName = Utils.getCompoundIndexColumnName(fieldNames);
+            writer.beginControlFlow("if (columnTypes.get(\"%s\") != RealmFieldType.STRING || !table.hasSearchIndex(table.getColumnIndex(\"%s\")))",
+                    columnName, columnName);
+            writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Compound index on %s not defined in existing Realm file. " +
+                    "Either remove @CompoundIndex or migrate using io.realm.RealmObjectSchema.addCompoundIndex().\")", fieldNames);
+            writer.endControlFlow();
+        }
+
         writer.emitStatement("return %s", "columnInfo");
 
         writer.nextControlFlow("else");
@@ -544,6 +651,14 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private static List<String> getFieldNames(List<VariableElement> fields) {
+        List<String> fieldNames = new ArrayList<String>(fields.size());
+        for (VariableElement field : fields) {
+            fieldNames.add(field.getSimpleName().toString());
+        }
+        return fieldNames;
+    }
+
     private void emitGetTableNameMethod(JavaWriter writer) throws IOException {
         writer.beginMethod("String", "getTableName", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
         writer.emitStatement("return \"%s%s\"", Constants.TABLE_PREFIX, className);
@@ -684,66 +799,252 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
-    private void emitCreateDetachedCopyMethod(JavaWriter writer) throws IOException {
+    // Writes a standalone object directly into the table, without creating a proxy, a row accessor or going through the
+    // checks of the setters. The row index is returned so links to the object can be set by the caller.
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
-                className, // Return type
-                "createDetachedCopy", // Method name
+                "long", // Return type
+                "insert", // Method name
                 EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
-                className, "realmObject", "int", "currentDepth", "int", "maxDepth", "Map<RealmObject, CacheData<RealmObject>>", "cache");
+                "Realm", "realm", className, "object", "boolean", "update", "Map<RealmObject, Long>", "cache"); // Argument type & argument name
+
+        boolean hasOrderedIndices = !metadata.getOrderedIndexFields().isEmpty();
+        boolean hasSecondaryIndices = hasOrderedIndices || !metadata.getCompoundIndexes().isEmpty()
+                || !metadata.getFullTextFields().isEmpty();
+
         writer
-            .beginControlFlow("if (currentDepth > maxDepth || realmObject == null)")
-                .emitStatement("return null")
+            .beginControlFlow("if (object.realm != null && object.realm.getPath().equals(realm.getPath()))")
+                .emitStatement("return object.row.getIndex()")
             .endControlFlow()
-            .emitStatement("CacheData<%s> cachedObject = (CacheData) cache.get(realmObject)", className)
-            .emitStatement("%s standaloneObject", className)
-            .beginControlFlow("if (cachedObject != null)")
-                .emitSingleLineComment("Reuse cached object or recreate it because it was encountered at a lower depth.")
-                .beginControlFlow("if (currentDepth >= cachedObject.minDepth)")
-                    .emitStatement("return cachedObject.object")
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%1$s columnInfo = (%1$s) realm.schema.getColumnInfo(%2$s.class)", columnInfoClassName(), className);
+
+        if (metadata.hasPrimaryKey()) {
+            String primaryKeyGetter = metadata.getPrimaryKeyGetter();
+            writer.emitStatement("long pkColumnIndex = table.getPrimaryKey()");
+            if (Utils.isString(metadata.getPrimaryKey())) {
+                writer
+                    .beginControlFlow("if (object.%s() == null)", primaryKeyGetter)
+                        .emitStatement("throw new IllegalArgumentException(\"Primary key value must not be null.\")")
+                    .endControlFlow();
+            }
+            writer
+                .emitStatement("long rowIndex = TableOrView.NO_MATCH")
+                .beginControlFlow("if (update)")
+                    .emitStatement("rowIndex = table.findFirst%s(pkColumnIndex, object.%s())",
+                            Utils.isString(metadata.getPrimaryKey()) ? "String" : "Long", primaryKeyGetter)
+                .endControlFlow()
+                .beginControlFlow("if (rowIndex == TableOrView.NO_MATCH)")
+                    .emitStatement("rowIndex = table.addEmptyRowWithPrimaryKey(object.%s())", primaryKeyGetter);
+            if (hasOrderedIndices) {
+                // The ordered indexes find the row by its current values, which are about to be overwritten.
+                writer
                 .nextControlFlow("else")
-                    .emitStatement("standaloneObject = cachedObject.object")
+                    .emitStatement("columnInfo.removeFromOrderedIndices(table.getUncheckedRow(rowIndex))");
+            }
+            writer.endControlFlow();
+        } else {
+            writer.emitStatement("long rowIndex = table.addEmptyRow()");
+        }
+        writer.emitStatement("cache.put(object, rowIndex)");
+
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            String getter = metadata.getGetter(fieldName);
+
+            if (Utils.isRealmObject(field)) {
+                writer
+                    .emitEmptyLine()
+                    .emitStatement("%s %sObj = object.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter)
+                    .beginControlFlow("if (%sObj != null)", fieldName)
+                        .emitStatement("Long cache%s = cache.get(%sObj)", fieldName, fieldName)
+                        .beginControlFlow("if (cache%s == null)", fieldName)
+                            .emitStatement("cache%s = %s.insert(realm, %sObj, update, cache)",
+                                    fieldName, Utils.getProxyClassSimpleName(field), fieldName)
+                        .endControlFlow()
+                        .emitStatement("table.setLink(%s, rowIndex, cache%s)", fieldIndexVariableReference(field), fieldName)
+                    .nextControlFlow("else")
+                        .emitStatement("table.nullifyLink(%s, rowIndex)", fieldIndexVariableReference(field))
+                    .endControlFlow();
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitEmptyLine()
+                    .emitStatement("RealmList<%s> %sList = object.%s()", genericType, fieldName, getter)
+                    .emitStatement("int %1$sSize = (%1$sList == null) ? 0 : %1$sList.size()", fieldName)
+                    .emitStatement("long[] %1$sRowIndices = new long[%1$sSize]", fieldName)
+                    .beginControlFlow("for (int i = 0; i < %sSize; i++)", fieldName)
+                        .emitStatement("%s %sItem = %sList.get(i)", genericType, fieldName, fieldName)
+                        .emitStatement("Long cacheItemIndex%s = cache.get(%sItem)", fieldName, fieldName)
+                        .beginControlFlow("if (cacheItemIndex%s == null)", fieldName)
+                            .emitStatement("cacheItemIndex%s = %s.insert(realm, %sItem, update, cache)",
+                                    fieldName, Utils.getProxyClassSimpleName(field), fieldName)
+                        .endControlFlow()
+                        .emitStatement("%sRowIndices[i] = cacheItemIndex%s", fieldName, fieldName)
+                    .endControlFlow()
+                    .emitStatement("table.setLinkList(%s, rowIndex, %sRowIndices)", fieldIndexVariableReference(field), fieldName)
+                    .emitEmptyLine();
+            } else {
+                if (field == metadata.getPrimaryKey()) {
+                    continue;
+                }
+                String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+                if (Utils.isPrimitiveType(field)) {
+                    writer.emitStatement("table.set%s(%s, rowIndex, object.%s())",
+                            realmType, fieldIndexVariableReference(field), getter);
+                    continue;
+                }
+                writer.emitStatement("%s %sValue = object.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter);
+                if (metadata.isNullable(field)) {
+                    writer
+                        .beginControlFlow("if (%sValue != null)", fieldName)
+                            .emitStatement("table.set%s(%s, rowIndex, %sValue)",
+                                    realmType, fieldIndexVariableReference(field), fieldName)
+                        .nextControlFlow("else")
+                            .emitStatement("table.setNull(%s, rowIndex)", fieldIndexVariableReference(field))
+                        .endControlFlow();
+                } else {
+                    writer
+                        .beginControlFlow("if (%sValue == null)", fieldName)
+                            .emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName)
+                        .endControlFlow()
+                        .emitStatement("table.set%s(%s, rowIndex, %sValue)",
+                                realmType, fieldIndexVariableReference(field), fieldName);
+                }
+            }
+        }
+
+        if (hasSecondaryIndices) {
+            writer.emitStatement("columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex))");
+        }
+        writer.emitStatement("return rowIndex");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitGetPrimaryKeyMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "Object", // Return type
+                "getPrimaryKey", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                className, "object"); // Argument type & argument name
+
+        if (!metadata.hasPrimaryKey()) {
+            writer.emitStatement("return null");
+        } else if (Utils.isString(metadata.getPrimaryKey())) {
+            writer.emitStatement("return object.%s()", metadata.getPrimaryKeyGetter());
+        } else {
+            // Integer keys are always looked up as long values.
+            writer.emitStatement("return (long) object.%s()", metadata.getPrimaryKeyGetter());
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateDetachedCopyMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                className + "[]", // Return type
+                "createDetachedCopies", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", "long[]", "rowIndices", "int", "currentDepth", "int", "maxDepth", "DetachedCopyCache", "cache");
+        writer
+            .emitStatement("%1$s[] standaloneObjects = new %1$s[rowIndices.length]", className)
+            .beginControlFlow("if (currentDepth > maxDepth)")
+                .emitStatement("return standaloneObjects")
+            .endControlFlow()
+            .emitStatement("long[] copiedRowIndices = new long[rowIndices.length]")
+            .emitStatement("%1$s[] copiedObjects = new %1$s[rowIndices.length]", className)
+            .emitStatement("int copiedCount = 0")
+            .beginControlFlow("for (int i = 0; i < rowIndices.length; i++)")
+                .beginControlFlow("if (rowIndices[i] == TableOrView.NO_MATCH)")
+                    .emitStatement("continue")
+                .endControlFlow()
+                .emitStatement("CacheData<RealmObject> cachedObject = cache.get(%s.class, rowIndices[i])", className)
+                .beginControlFlow("if (cachedObject != null)")
+                    .emitSingleLineComment("Reuse cached object or recreate it because it was encountered at a lower depth.")
+                    .emitStatement("standaloneObjects[i] = (%s) cachedObject.object", className)
+                    .beginControlFlow("if (currentDepth >= cachedObject.minDepth)")
+                        .emitStatement("continue")
+                    .endControlFlow()
                     .emitStatement("cachedObject.minDepth = currentDepth")
+                .nextControlFlow("else")
+                    .emitStatement("standaloneObjects[i] = new %s()", className)
+                    .emitStatement("cache.put(%s.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]))", className)
                 .endControlFlow()
-            .nextControlFlow("else")
-                .emitStatement("standaloneObject = new %s()", className)
-                .emitStatement("cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject))")
-            .endControlFlow();
+                .emitStatement("copiedRowIndices[copiedCount] = rowIndices[i]")
+                .emitStatement("copiedObjects[copiedCount++] = standaloneObjects[i]")
+            .endControlFlow()
+            .beginControlFlow("if (copiedCount == 0)")
+                .emitStatement("return standaloneObjects")
+            .endControlFlow()
+            .emitEmptyLine()
+            .emitSingleLineComment("All fields of the copied rows are read with a single native call.")
+            .emitStatement("%1$s columnInfo = (%1$s) realm.schema.getColumnInfo(%2$s.class)", columnInfoClassName(), className)
+            .emitStatement("RowSnapshot snapshot = new RowSnapshot(realm.getTable(%s.class), Arrays.copyOf(copiedRowIndices, copiedCount))", className)
+            .beginControlFlow("for (int i = 0; i < copiedCount; i++)")
+                .emitStatement("%s standaloneObject = copiedObjects[i]", className);
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            if (!Constants.JAVA_TO_REALM_TYPES.containsKey(fieldTypeCanonicalName)) {
+                continue;
+            }
+            String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+            String value = String.format("snapshot.get%s(i, %s)", realmType, fieldIndexVariableReference(field));
+            // Integer columns are read as long, so byte, short and int fields need a cast.
+            String primitiveType = Utils.isBoxedType(fieldTypeCanonicalName) ?
+                    processingEnvironment.getTypeUtils().unboxedType(field.asType()).toString() : fieldTypeCanonicalName;
+            if (realmType.equals("Long") && !primitiveType.equals("long")) {
+                value = String.format("(%s) %s", primitiveType, value);
+            }
+            if (metadata.isNullable(field) && Utils.isBoxedType(fieldTypeCanonicalName)) {
+                value = String.format("snapshot.isNull(i, %s) ? null : %s", fieldIndexVariableReference(field), value);
+            }
+            writer.emitStatement("standaloneObject.%s(%s)", metadata.getSetter(fieldName), value);
+        }
+        writer.endControlFlow();
 
         for (VariableElement field : metadata.getFields()) {
             String fieldName = field.getSimpleName().toString();
             String setter = metadata.getSetter(fieldName);
-            String getter = metadata.getGetter(fieldName);
 
             if (Utils.isRealmObject(field)) {
                 writer
                     .emitEmptyLine()
                     .emitSingleLineComment("Deep copy of %s", fieldName)
-                    .emitStatement("standaloneObject.%s(%s.createDetachedCopy(realmObject.%s(), currentDepth + 1, maxDepth, cache))",
-                                setter, Utils.getProxyClassSimpleName(field), getter);
+                    .emitStatement("%s[] %sCopies = %s.createDetachedCopies(realm, snapshot.getLinks(%s), currentDepth + 1, maxDepth, cache)",
+                            Utils.getFieldTypeSimpleName(field), fieldName, Utils.getProxyClassSimpleName(field),
+                            fieldIndexVariableReference(field))
+                    .beginControlFlow("for (int i = 0; i < copiedCount; i++)")
+                        .emitStatement("copiedObjects[i].%s(%sCopies[i])", setter, fieldName)
+                    .endControlFlow();
             } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
                 writer
                     .emitEmptyLine()
                     .emitSingleLineComment("Deep copy of %s", fieldName)
                     .beginControlFlow("if (currentDepth == maxDepth)")
-                        .emitStatement("standaloneObject.%s(null)", setter)
+                        .beginControlFlow("for (int i = 0; i < copiedCount; i++)")
+                            .emitStatement("copiedObjects[i].%s(null)", setter)
+                        .endControlFlow()
                     .nextControlFlow("else")
-                        .emitStatement("RealmList<%s> managed%sList = realmObject.%s()", Utils.getGenericType(field), fieldName, getter)
-                        .emitStatement("RealmList<%1$s> standalone%2$sList = new RealmList<%1$s>()", Utils.getGenericType(field), fieldName)
-                        .emitStatement("standaloneObject.%s(standalone%sList)", setter, fieldName)
-                        .emitStatement("int nextDepth = currentDepth + 1")
-                        .emitStatement("int size = managed%sList.size()", fieldName)
-                        .beginControlFlow("for (int i = 0; i < size; i++)")
-                            .emitStatement("%s item = %s.createDetachedCopy(managed%sList.get(i), nextDepth, maxDepth, cache)",
-                                    Utils.getGenericType(field), Utils.getProxyClassSimpleName(field), fieldName)
-                            .emitStatement("standalone%sList.add(item)", fieldName)
+                        .emitStatement("%s[] %sCopies = %s.createDetachedCopies(realm, snapshot.getLinkLists(%s), currentDepth + 1, maxDepth, cache)",
+                                genericType, fieldName, Utils.getProxyClassSimpleName(field), fieldIndexVariableReference(field))
+                        .emitStatement("int %sOffset = 0", fieldName)
+                        .beginControlFlow("for (int i = 0; i < copiedCount; i++)")
+                            .emitStatement("int size = snapshot.getLinkList(i, %s).length", fieldIndexVariableReference(field))
+                            .emitStatement("RealmList<%1$s> standalone%2$sList = new RealmList<%1$s>()", genericType, fieldName)
+                            .beginControlFlow("for (int j = 0; j < size; j++)")
+                                .emitStatement("standalone%1$sList.add(%1$sCopies[%1$sOffset++])", fieldName)
+                            .endControlFlow()
+                            .emitStatement("copiedObjects[i].%s(standalone%sList)", setter, fieldName)
                         .endControlFlow()
                     .endControlFlow();
-            } else {
-                writer.emitStatement("standaloneObject.%s(realmObject.%s())", metadata.getSetter(fieldName), getter);
             }
         }
 
-        writer.emitStatement("return standaloneObject");
+        writer.emitStatement("return standaloneObjects");
         writer.endMethod();
         writer.emitEmptyLine();
     }
@@ -983,57 +1284,84 @@ public class RealmProxyClassGenerator {
                 Arrays.asList("Realm", "realm", "JsonReader", "reader"),
                 Arrays.asList("IOException"));
 
-        writer.emitStatement("%s obj = realm.createObject(%s.class)",className, className);
-        writer.emitStatement("reader.beginObject()");
-        writer.beginControlFlow("while (reader.hasNext())");
-        writer.emitStatement("String name = reader.nextName()");
-
         List<VariableElement> fields = metadata.getFields();
-        for (int i = 0; i < fields.size(); i++) {
-            VariableElement field = fields.get(i);
-            String fieldName = field.getSimpleName().toString();
-            String qualifiedFieldType = field.asType().toString();
+        boolean hasSecondaryIndices = !metadata.getOrderedIndexFields().isEmpty()
+                || !metadata.getCompoundIndexes().isEmpty() || !metadata.getFullTextFields().isEmpty();
 
-            if (i == 0) {
-                writer.beginControlFlow("if (name.equals(\"%s\"))", fieldName);
-            } else {
-                writer.nextControlFlow("else if (name.equals(\"%s\"))", fieldName);
+        // The values are buffered until the whole object has been read, so the row can be added with its primary key
+        // and written with a single native call.
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%1$s columnInfo = (%1$s) realm.schema.getColumnInfo(%2$s.class)", columnInfoClassName(), className)
+            .emitStatement("RowBuffer buffer = new RowBuffer(%d)", fields.size())
+            .emitStatement("reader.beginObject()")
+            .beginControlFlow("while (reader.hasNext())")
+                .emitStatement("String name = reader.nextName()");
+
+        // Dispatch on the hash code of the name first, so each name is compared to at most the fields sharing its hash.
+        Map<Integer, List<VariableElement>> fieldsByHash = new LinkedHashMap<Integer, List<VariableElement>>();
+        for (VariableElement field : fields) {
+            int hash = field.getSimpleName().toString().hashCode();
+            List<VariableElement> sameHash = fieldsByHash.get(hash);
+            if (sameHash == null) {
+                sameHash = new ArrayList<VariableElement>();
+                fieldsByHash.put(hash, sameHash);
             }
-            if (Utils.isRealmObject(field)) {
-                RealmJsonTypeHelper.emitFillRealmObjectFromStream(
-                        metadata.getSetter(fieldName),
-                        fieldName,
-                        qualifiedFieldType,
-                        Utils.getProxyClassSimpleName(field),
-                        writer
-                );
-
-            } else if (Utils.isRealmList(field)) {
-                RealmJsonTypeHelper.emitFillRealmListFromStream(
-                        metadata.getGetter(fieldName),
-                        metadata.getSetter(fieldName),
-                        ((DeclaredType) field.asType()).getTypeArguments().get(0).toString(),
-                        Utils.getProxyClassSimpleName(field),
-                        writer);
+            sameHash.add(field);
+        }
 
-            } else {
-                RealmJsonTypeHelper.emitFillJavaTypeFromStream(
-                        metadata.getSetter(fieldName),
-                        fieldName,
-                        qualifiedFieldType,
-                        writer
-                );
+        writer.beginControlFlow("switch (name.hashCode())");
+        for (Map.Entry<Integer, List<VariableElement>> entry : fieldsByHash.entrySet()) {
+            writer.beginControlFlow("case %d:", entry.getKey());
+            List<VariableElement> sameHash = entry.getValue();
+            for (int i = 0; i < sameHash.size(); i++) {
+                VariableElement field = sameHash.get(i);
+                String fieldName = field.getSimpleName().toString();
+                if (i == 0) {
+                    writer.beginControlFlow("if (name.equals(\"%s\"))", fieldName);
+                } else {
+                    writer.nextControlFlow("else if (name.equals(\"%s\"))", fieldName);
+                }
+                if (Utils.isRealmObject(field)) {
+                    RealmJsonTypeHelper.emitFillRealmObjectFromStream(
+                            fieldIndexVariableReference(field),
+                            Utils.getProxyClassSimpleName(field),
+                            writer
+                    );
+                } else if (Utils.isRealmList(field)) {
+                    RealmJsonTypeHelper.emitFillRealmListFromStream(
+                            fieldIndexVariableReference(field),
+                            Utils.getProxyClassSimpleName(field),
+                            writer
+                    );
+                } else {
+                    RealmJsonTypeHelper.emitFillJavaTypeFromStream(
+                            fieldIndexVariableReference(field),
+                            fieldName,
+                            field.asType().toString(),
+                            writer
+                    );
+                }
             }
+            writer
+                .nextControlFlow("else")
+                    .emitStatement("reader.skipValue()")
+                .endControlFlow()
+                .emitStatement("break")
+            .endControlFlow();
         }
-
-        if (fields.size() > 0) {
-            writer.nextControlFlow("else");
-            writer.emitStatement("reader.skipValue()");
-            writer.endControlFlow();
+        writer
+                .beginControlFlow("default:")
+                    .emitStatement("reader.skipValue()")
+                .endControlFlow()
+            .endControlFlow()
+        .endControlFlow()
+        .emitStatement("reader.endObject()")
+        .emitStatement("long rowIndex = buffer.addRow(table)");
+        if (hasSecondaryIndices) {
+            writer.emitStatement("columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex))");
         }
-        writer.endControlFlow();
-        writer.emitStatement("reader.endObject()");
-        writer.emitStatement("return obj");
+        writer.emitStatement("return realm.get(%s.class, rowIndex)", className);
         writer.endMethod();
         writer.emitEmptyLine();
     }
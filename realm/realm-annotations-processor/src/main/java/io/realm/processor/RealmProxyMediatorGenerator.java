@@ -67,6 +67,7 @@ public class RealmProxyMediatorGenerator {
         writer.emitImports(
                 "android.util.JsonReader",
                 "java.io.IOException",
+                "java.util.Arrays",
                 "java.util.Collections",
                 "java.util.HashMap",
                 "java.util.HashSet",
@@ -74,6 +75,7 @@ public class RealmProxyMediatorGenerator {
                 "java.util.Map",
                 "java.util.Set",
                 "io.realm.internal.ColumnInfo",
+                "io.realm.internal.DetachedCopyCache",
                 "io.realm.internal.ImplicitTransaction",
                 "io.realm.internal.RealmObjectProxy",
                 "io.realm.internal.RealmProxyMediator",
@@ -101,6 +103,8 @@ public class RealmProxyMediatorGenerator {
         emitNewInstanceMethod(writer);
         emitGetClassModelList(writer);
         emitCopyToRealmMethod(writer);
+        emitInsertMethod(writer);
+        emitGetPrimaryKeyMethod(writer);
         emitCreteOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
         emitCreateDetachedCopyMethod(writer);
@@ -240,6 +244,50 @@ public class RealmProxyMediatorGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "void",
+                "insert",
+                EnumSet.of(Modifier.PUBLIC),
+                "Realm", "realm", "RealmObject", "object", "boolean", "update", "Map<RealmObject, Long>", "cache"
+        );
+        writer.emitSingleLineComment("This cast is correct because obj is either");
+        writer.emitSingleLineComment("generated by RealmProxy or the original type extending directly from RealmObject");
+        writer.emitStatement("@SuppressWarnings(\"unchecked\") Class<RealmObject> clazz = (Class<RealmObject>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass())");
+        writer.emitEmptyLine();
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("%s.insert(realm, (%s) object, update, cache)", proxyClasses.get(i), simpleModelClasses.get(i));
+            }
+        }, writer, false);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitGetPrimaryKeyMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "Object",
+                "getPrimaryKey",
+                EnumSet.of(Modifier.PUBLIC),
+                "RealmObject", "object"
+        );
+        writer.emitSingleLineComment("This cast is correct because object is either");
+        writer.emitSingleLineComment("generated by RealmProxy or the original type extending directly from RealmObject");
+        writer.emitStatement("@SuppressWarnings(\"unchecked\") Class<RealmObject> clazz = (Class<RealmObject>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass())");
+        writer.emitEmptyLine();
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("return %s.getPrimaryKey((%s) object)", proxyClasses.get(i), simpleModelClasses.get(i));
+            }
+        }, writer, false);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreteOrUpdateUsingJsonObject(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
@@ -280,23 +328,20 @@ public class RealmProxyMediatorGenerator {
 
     private void emitCreateDetachedCopyMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
+        writer.emitAnnotation("SuppressWarnings", "\"unchecked\"");
         writer.beginMethod(
-                "<E extends RealmObject> E",
-                "createDetachedCopy",
+                "<E extends RealmObject> List<E>",
+                "createDetachedCopies",
                 EnumSet.of(Modifier.PUBLIC),
-                "E", "realmObject", "int", "maxDepth", "Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>>", "cache"
+                "Class<E>", "clazz", "Realm", "realm", "long[]", "rowIndices", "int", "maxDepth", "DetachedCopyCache", "cache"
         );
-        writer.emitSingleLineComment("This cast is correct because obj is either");
-        writer.emitSingleLineComment("generated by RealmProxy or the original type extending directly from RealmObject");
-        writer.emitStatement("@SuppressWarnings(\"unchecked\") Class<E> clazz = (Class<E>) realmObject.getClass().getSuperclass()");
-        writer.emitEmptyLine();
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
             public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return clazz.cast(%s.createDetachedCopy((%s) realmObject, 0, maxDepth, cache))",
-                        proxyClasses.get(i), simpleModelClasses.get(i));
+                writer.emitStatement("return (List<E>) (List<?>) Arrays.asList(%s.createDetachedCopies(realm, rowIndices, 0, maxDepth, cache))",
+                        proxyClasses.get(i));
             }
-        }, writer, false);
+        }, writer);
         writer.endMethod();
         writer.emitEmptyLine();
     }
@@ -125,6 +125,17 @@ public class Utils {
         return getFieldTypeSimpleName(field).equals("byte[]");
     }
 
+    /**
+     * @return {@code true} if a field is of type "java.nio.ByteBuffer", {@code false} otherwise.
+     * @throws IllegalArgumentException if the field is {@code null}.
+     */
+    public static boolean isByteBuffer(VariableElement field) {
+        if (field == null) {
+            throw new IllegalArgumentException("Argument 'field' cannot be null.");
+        }
+        return field.asType().toString().equals("java.nio.ByteBuffer");
+    }
+
     /**
      * @return {@code true} if a given field type string is "java.lang.String", {@code false} otherwise.
      * @throws IllegalArgumentException if the fieldType is {@code null}.
@@ -195,6 +206,21 @@ public class Utils {
         }
     }
 
+    /**
+     * Returns the name of the hidden column holding the keys of a compound index. Must match
+     * io.realm.internal.CompoundIndex.getColumnName().
+     */
+    public static String getCompoundIndexColumnName(List<String> fieldNames) {
+        StringBuilder sb = new StringBuilder(Constants.COMPOUND_INDEX_COLUMN_PREFIX);
+        for (int i = 0; i < fieldNames.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(fieldNames.get(i));
+        }
+        return sb.toString();
+    }
+
     public static void error(String message, Element element) {
         messager.printMessage(Diagnostic.Kind.ERROR, message, element);
     }
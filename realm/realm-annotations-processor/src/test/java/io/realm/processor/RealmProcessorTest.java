@@ -46,6 +46,14 @@ public class RealmProcessorTest {
     private JavaFileObject nullTypesModel = JavaFileObjects.forResource("some/test/NullTypes.java");
     private JavaFileObject nullTypesProxy = JavaFileObjects.forResource("io/realm/NullTypesRealmProxy.java");
     private JavaFileObject missingGenericTypeModel = JavaFileObjects.forResource("some/test/MissingGenericType.java");
+    private JavaFileObject compoundIndexedModel = JavaFileObjects.forResource("some/test/CompoundIndexed.java");
+    private JavaFileObject compoundIndexedProxy = JavaFileObjects.forResource("io/realm/CompoundIndexedRealmProxy.java");
+    private JavaFileObject orderedIndexedModel = JavaFileObjects.forResource("some/test/OrderedIndexed.java");
+    private JavaFileObject orderedIndexedProxy = JavaFileObjects.forResource("io/realm/OrderedIndexedRealmProxy.java");
+    private JavaFileObject fullTextIndexedModel = JavaFileObjects.forResource("some/test/FullTextIndexed.java");
+    private JavaFileObject fullTextIndexedProxy = JavaFileObjects.forResource("io/realm/FullTextIndexedRealmProxy.java");
+    private JavaFileObject blobsModel = JavaFileObjects.forResource("some/test/Blobs.java");
+    private JavaFileObject blobsProxy = JavaFileObjects.forResource("io/realm/BlobsRealmProxy.java");
 
     @Test
     public void compileSimpleFile() {
@@ -266,11 +274,37 @@ public class RealmProcessorTest {
                 .failsToCompile();
     }
 
+    @Test
+    public void compareProcessedCompoundIndexedFile() throws Exception {
+        ASSERT.about(javaSource())
+                .that(compoundIndexedModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(compoundIndexedProxy);
+    }
+
+    @Test
+    public void compileInvalidCompoundIndexField() {
+        ASSERT.about(javaSource())
+                .that(JavaFileObjects.forResource("some/test/InvalidCompoundIndexField.java"))
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
+
+    @Test
+    public void compileInvalidCompoundIndexType() {
+        ASSERT.about(javaSource())
+                .that(JavaFileObjects.forResource("some/test/InvalidCompoundIndexType.java"))
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
+
     // Supported "Index" annotation types
     @Test
     public void compileIndexTypes() throws IOException {
         final String[] validIndexFieldTypes = {"byte", "short", "int", "long", "boolean", "String", "java.util.Date",
-                "Byte", "Short", "Integer", "Long", "Boolean"};
+                "float", "double", "Byte", "Short", "Integer", "Long", "Boolean", "Float", "Double"};
 
         for (String fieldType : validIndexFieldTypes) {
             TestRealmObjectFileObject javaFileObject =
@@ -285,7 +319,7 @@ public class RealmProcessorTest {
     // Unsupported "Index" annotation types
     @Test
     public void compileInvalidIndexTypes() throws IOException {
-        final String[] invalidIndexFieldTypes = {"float", "double", "byte[]", "Simple", "RealmList", "Float", "Double"};
+        final String[] invalidIndexFieldTypes = {"byte[]", "Simple", "RealmList"};
 
         for (String fieldType : invalidIndexFieldTypes) {
             TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
@@ -297,6 +331,94 @@ public class RealmProcessorTest {
         }
     }
 
+    @Test
+    public void compareProcessedOrderedIndexedFile() throws Exception {
+        ASSERT.about(javaSource())
+                .that(orderedIndexedModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(orderedIndexedProxy);
+    }
+
+    // Supported "OrderedIndex" annotation types
+    @Test
+    public void compileOrderedIndexTypes() throws IOException {
+        final String[] validIndexFieldTypes = {"byte", "short", "int", "long", "java.util.Date", "float", "double",
+                "Byte", "Short", "Integer", "Long", "Float", "Double"};
+
+        for (String fieldType : validIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "ValidOrderedIndexType", "OrderedIndex", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .compilesWithoutError();
+        }
+    }
+
+    // Unsupported "OrderedIndex" annotation types
+    @Test
+    public void compileInvalidOrderedIndexTypes() throws IOException {
+        final String[] invalidIndexFieldTypes = {"boolean", "String", "byte[]", "Simple", "RealmList"};
+
+        for (String fieldType : invalidIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidOrderedIndexType", "OrderedIndex", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
+    @Test
+    public void compareProcessedFullTextIndexedFile() throws Exception {
+        ASSERT.about(javaSource())
+                .that(fullTextIndexedModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(fullTextIndexedProxy);
+    }
+
+    @Test
+    public void compareProcessedBlobsFile() throws Exception {
+        ASSERT.about(javaSource())
+                .that(blobsModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(blobsProxy);
+    }
+
+    // Supported "FullText" annotation types
+    @Test
+    public void compileFullTextTypes() throws IOException {
+        TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                "ValidFullTextType", "FullText", "String", "testField");
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    // Unsupported "FullText" annotation types
+    @Test
+    public void compileInvalidFullTextTypes() throws IOException {
+        final String[] invalidIndexFieldTypes = {"boolean", "byte", "short", "int", "long", "float", "double",
+                "byte[]", "java.util.Date", "Simple", "RealmList", "Integer", "Long"};
+
+        for (String fieldType : invalidIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidFullTextType", "FullText", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
     // Supported "PrimaryKey" annotation types
     @Test
     public void compilePrimaryKeyTypes() throws IOException {
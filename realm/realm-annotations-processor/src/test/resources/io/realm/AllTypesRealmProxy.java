@@ -6,14 +6,18 @@ import android.util.JsonToken;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -504,90 +508,146 @@ public class AllTypesRealmProxy extends AllTypes
     @SuppressWarnings("cast")
     public static AllTypes createUsingJsonStream(Realm realm, JsonReader reader)
             throws IOException {
-        AllTypes obj = realm.createObject(AllTypes.class);
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.schema.getColumnInfo(AllTypes.class);
+        RowBuffer buffer = new RowBuffer(9);
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("columnString")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setColumnString(null);
-                } else {
-                    obj.setColumnString((String) reader.nextString());
+            switch (name.hashCode()) {
+                case -450443513: {
+                    if (name.equals("columnString")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.columnStringIndex);
+                        } else {
+                            buffer.setString(columnInfo.columnStringIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnLong")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field columnLong to null.");
-                } else {
-                    obj.setColumnLong((long) reader.nextLong());
+                case -2105707790: {
+                    if (name.equals("columnLong")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field columnLong to null.");
+                        } else {
+                            buffer.setLong(columnInfo.columnLongIndex, (long) reader.nextLong());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnFloat")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field columnFloat to null.");
-                } else {
-                    obj.setColumnFloat((float) reader.nextDouble());
+                case -858061658: {
+                    if (name.equals("columnFloat")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field columnFloat to null.");
+                        } else {
+                            buffer.setFloat(columnInfo.columnFloatIndex, (float) reader.nextDouble());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnDouble")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field columnDouble to null.");
-                } else {
-                    obj.setColumnDouble((double) reader.nextDouble());
+                case -884415801: {
+                    if (name.equals("columnDouble")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field columnDouble to null.");
+                        } else {
+                            buffer.setDouble(columnInfo.columnDoubleIndex, (double) reader.nextDouble());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnBoolean")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field columnBoolean to null.");
-                } else {
-                    obj.setColumnBoolean((boolean) reader.nextBoolean());
+                case 867623922: {
+                    if (name.equals("columnBoolean")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field columnBoolean to null.");
+                        } else {
+                            buffer.setBoolean(columnInfo.columnBooleanIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnDate")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setColumnDate(null);
-                } else if (reader.peek() == JsonToken.NUMBER) {
-                    long timestamp = reader.nextLong();
-                    if (timestamp > -1) {
-                        obj.setColumnDate(new Date(timestamp));
+                case -2105959388: {
+                    if (name.equals("columnDate")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.columnDateIndex);
+                        } else if (reader.peek() == JsonToken.NUMBER) {
+                            long timestamp = reader.nextLong();
+                            if (timestamp > -1) {
+                                buffer.setDate(columnInfo.columnDateIndex, timestamp);
+                            }
+                        } else {
+                            buffer.setDate(columnInfo.columnDateIndex, JsonUtils.stringToDate(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
                     }
-                } else {
-                    obj.setColumnDate(JsonUtils.stringToDate(reader.nextString()));
+                    break;
                 }
-            } else if (name.equals("columnBinary")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setColumnBinary(null);
-                } else {
-                    obj.setColumnBinary(JsonUtils.stringToBytes(reader.nextString()));
+                case -947424521: {
+                    if (name.equals("columnBinary")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.columnBinaryIndex);
+                        } else {
+                            buffer.setBinary(columnInfo.columnBinaryIndex, JsonUtils.stringToBytes(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnObject")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setColumnObject(null);
-                } else {
-                    some.test.AllTypes columnObjectObj = AllTypesRealmProxy.createUsingJsonStream(realm, reader);
-                    obj.setColumnObject(columnObjectObj);
+                case -581825995: {
+                    if (name.equals("columnObject")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.columnObjectIndex);
+                        } else {
+                            buffer.setLink(columnInfo.columnObjectIndex, AllTypesRealmProxy.createUsingJsonStream(realm, reader).row.getIndex());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("columnRealmList")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setColumnRealmList(null);
-                } else {
-                    reader.beginArray();
-                    while (reader.hasNext()) {
-                        some.test.AllTypes item = AllTypesRealmProxy.createUsingJsonStream(realm, reader);
-                        obj.getColumnRealmList().add(item);
+                case 1926810903: {
+                    if (name.equals("columnRealmList")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                        } else {
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                buffer.addLink(columnInfo.columnRealmListIndex, AllTypesRealmProxy.createUsingJsonStream(realm, reader).row.getIndex());
+                            }
+                            reader.endArray();
+                        }
+                    } else {
+                        reader.skipValue();
                     }
-                    reader.endArray();
+                    break;
+                }
+                default: {
+                    reader.skipValue();
                 }
-            } else {
-                reader.skipValue();
             }
         }
         reader.endObject();
-        return obj;
+        long rowIndex = buffer.addRow(table);
+        return realm.get(AllTypes.class, rowIndex);
     }
 
     public static AllTypes copyOrUpdate(Realm realm, AllTypes object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
@@ -660,50 +720,139 @@ public class AllTypesRealmProxy extends AllTypes
         return realmObject;
     }
 
-    public static AllTypes createDetachedCopy(AllTypes realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
-        if (currentDepth > maxDepth || realmObject == null) {
-            return null;
+    public static long insert(Realm realm, AllTypes object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
         }
-        CacheData<AllTypes> cachedObject = (CacheData) cache.get(realmObject);
-        AllTypes standaloneObject;
-        if (cachedObject != null) {
-            // Reuse cached object or recreate it because it was encountered at a lower depth.
-            if (currentDepth >= cachedObject.minDepth) {
-                return cachedObject.object;
-            } else {
-                standaloneObject = cachedObject.object;
-                cachedObject.minDepth = currentDepth;
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.schema.getColumnInfo(AllTypes.class);
+        long pkColumnIndex = table.getPrimaryKey();
+        if (object.getColumnString() == null) {
+            throw new IllegalArgumentException("Primary key value must not be null.");
+        }
+        long rowIndex = TableOrView.NO_MATCH;
+        if (update) {
+            rowIndex = table.findFirstString(pkColumnIndex, object.getColumnString());
+        }
+        if (rowIndex == TableOrView.NO_MATCH) {
+            rowIndex = table.addEmptyRowWithPrimaryKey(object.getColumnString());
+        }
+        cache.put(object, rowIndex);
+        table.setLong(columnInfo.columnLongIndex, rowIndex, object.getColumnLong());
+        table.setFloat(columnInfo.columnFloatIndex, rowIndex, object.getColumnFloat());
+        table.setDouble(columnInfo.columnDoubleIndex, rowIndex, object.getColumnDouble());
+        table.setBoolean(columnInfo.columnBooleanIndex, rowIndex, object.isColumnBoolean());
+        Date columnDateValue = object.getColumnDate();
+        if (columnDateValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field columnDate to null.");
+        }
+        table.setDate(columnInfo.columnDateIndex, rowIndex, columnDateValue);
+        byte[] columnBinaryValue = object.getColumnBinary();
+        if (columnBinaryValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field columnBinary to null.");
+        }
+        table.setBinaryByteArray(columnInfo.columnBinaryIndex, rowIndex, columnBinaryValue);
+
+        AllTypes columnObjectObj = object.getColumnObject();
+        if (columnObjectObj != null) {
+            Long cachecolumnObject = cache.get(columnObjectObj);
+            if (cachecolumnObject == null) {
+                cachecolumnObject = AllTypesRealmProxy.insert(realm, columnObjectObj, update, cache);
             }
+            table.setLink(columnInfo.columnObjectIndex, rowIndex, cachecolumnObject);
         } else {
-            standaloneObject = new AllTypes();
-            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+            table.nullifyLink(columnInfo.columnObjectIndex, rowIndex);
+        }
+
+        RealmList<AllTypes> columnRealmListList = object.getColumnRealmList();
+        int columnRealmListSize = (columnRealmListList == null) ? 0 : columnRealmListList.size();
+        long[] columnRealmListRowIndices = new long[columnRealmListSize];
+        for (int i = 0; i < columnRealmListSize; i++) {
+            AllTypes columnRealmListItem = columnRealmListList.get(i);
+            Long cacheItemIndexcolumnRealmList = cache.get(columnRealmListItem);
+            if (cacheItemIndexcolumnRealmList == null) {
+                cacheItemIndexcolumnRealmList = AllTypesRealmProxy.insert(realm, columnRealmListItem, update, cache);
+            }
+            columnRealmListRowIndices[i] = cacheItemIndexcolumnRealmList;
+        }
+        table.setLinkList(columnInfo.columnRealmListIndex, rowIndex, columnRealmListRowIndices);
+
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(AllTypes object) {
+        return object.getColumnString();
+    }
+
+    public static AllTypes[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        AllTypes[] standaloneObjects = new AllTypes[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        AllTypes[] copiedObjects = new AllTypes[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(AllTypes.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (AllTypes) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
+                cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new AllTypes();
+                cache.put(AllTypes.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
+            }
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.schema.getColumnInfo(AllTypes.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(AllTypes.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            AllTypes standaloneObject = copiedObjects[i];
+            standaloneObject.setColumnString(snapshot.getString(i, columnInfo.columnStringIndex));
+            standaloneObject.setColumnLong(snapshot.getLong(i, columnInfo.columnLongIndex));
+            standaloneObject.setColumnFloat(snapshot.getFloat(i, columnInfo.columnFloatIndex));
+            standaloneObject.setColumnDouble(snapshot.getDouble(i, columnInfo.columnDoubleIndex));
+            standaloneObject.setColumnBoolean(snapshot.getBoolean(i, columnInfo.columnBooleanIndex));
+            standaloneObject.setColumnDate(snapshot.getDate(i, columnInfo.columnDateIndex));
+            standaloneObject.setColumnBinary(snapshot.getBinaryByteArray(i, columnInfo.columnBinaryIndex));
         }
-        standaloneObject.setColumnString(realmObject.getColumnString());
-        standaloneObject.setColumnLong(realmObject.getColumnLong());
-        standaloneObject.setColumnFloat(realmObject.getColumnFloat());
-        standaloneObject.setColumnDouble(realmObject.getColumnDouble());
-        standaloneObject.setColumnBoolean(realmObject.isColumnBoolean());
-        standaloneObject.setColumnDate(realmObject.getColumnDate());
-        standaloneObject.setColumnBinary(realmObject.getColumnBinary());
 
         // Deep copy of columnObject
-        standaloneObject.setColumnObject(AllTypesRealmProxy.createDetachedCopy(realmObject.getColumnObject(), currentDepth + 1, maxDepth, cache));
+        AllTypes[] columnObjectCopies = AllTypesRealmProxy.createDetachedCopies(realm, snapshot.getLinks(columnInfo.columnObjectIndex), currentDepth + 1, maxDepth, cache);
+        for (int i = 0; i < copiedCount; i++) {
+            copiedObjects[i].setColumnObject(columnObjectCopies[i]);
+        }
 
         // Deep copy of columnRealmList
         if (currentDepth == maxDepth) {
-            standaloneObject.setColumnRealmList(null);
+            for (int i = 0; i < copiedCount; i++) {
+                copiedObjects[i].setColumnRealmList(null);
+            }
         } else {
-            RealmList<AllTypes> managedcolumnRealmListList = realmObject.getColumnRealmList();
-            RealmList<AllTypes> standalonecolumnRealmListList = new RealmList<AllTypes>();
-            standaloneObject.setColumnRealmList(standalonecolumnRealmListList);
-            int nextDepth = currentDepth + 1;
-            int size = managedcolumnRealmListList.size();
-            for (int i = 0; i < size; i++) {
-                AllTypes item = AllTypesRealmProxy.createDetachedCopy(managedcolumnRealmListList.get(i), nextDepth, maxDepth, cache);
-                standalonecolumnRealmListList.add(item);
+            AllTypes[] columnRealmListCopies = AllTypesRealmProxy.createDetachedCopies(realm, snapshot.getLinkLists(columnInfo.columnRealmListIndex), currentDepth + 1, maxDepth, cache);
+            int columnRealmListOffset = 0;
+            for (int i = 0; i < copiedCount; i++) {
+                int size = snapshot.getLinkList(i, columnInfo.columnRealmListIndex).length;
+                RealmList<AllTypes> standalonecolumnRealmListList = new RealmList<AllTypes>();
+                for (int j = 0; j < size; j++) {
+                    standalonecolumnRealmListList.add(columnRealmListCopies[columnRealmListOffset++]);
+                }
+                copiedObjects[i].setColumnRealmList(standalonecolumnRealmListList);
             }
         }
-        return standaloneObject;
+        return standaloneObjects;
     }
 
     static AllTypes update(Realm realm, AllTypes realmObject, AllTypes newObject, Map<RealmObject, RealmObjectProxy> cache) {
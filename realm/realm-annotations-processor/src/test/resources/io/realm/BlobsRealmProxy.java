@@ -0,0 +1,429 @@
+package io.realm;
+
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import io.realm.RealmFieldType;
+import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.LinkView;
+import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.android.JsonUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import some.test.Blobs;
+
+public class BlobsRealmProxy extends Blobs
+    implements RealmObjectProxy {
+
+    static final class BlobsColumnInfo extends ColumnInfo {
+
+        public final long nameIndex;
+        public final long attachmentIndex;
+        public final long thumbnailIndex;
+
+        BlobsColumnInfo(String path, Table table) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(3);
+            this.nameIndex = getValidColumnIndex(path, table, "Blobs", "name");
+            indicesMap.put("name", this.nameIndex);
+
+            this.attachmentIndex = getValidColumnIndex(path, table, "Blobs", "attachment");
+            indicesMap.put("attachment", this.attachmentIndex);
+
+            this.thumbnailIndex = getValidColumnIndex(path, table, "Blobs", "thumbnail");
+            indicesMap.put("thumbnail", this.thumbnailIndex);
+
+            setIndicesMap(indicesMap);
+        }
+    }
+
+    private final BlobsColumnInfo columnInfo;
+    private static final List<String> FIELD_NAMES;
+    static {
+        List<String> fieldNames = new ArrayList<String>();
+        fieldNames.add("name");
+        fieldNames.add("attachment");
+        fieldNames.add("thumbnail");
+        FIELD_NAMES = Collections.unmodifiableList(fieldNames);
+    }
+
+    BlobsRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (BlobsColumnInfo) columnInfo;
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public String getName() {
+        realm.checkIfValid();
+        return (java.lang.String) row.getString(columnInfo.nameIndex);
+    }
+
+    @Override
+    public void setName(String value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.nameIndex);
+            return;
+        }
+        row.setString(columnInfo.nameIndex, value);
+    }
+
+    /**
+     * Returns the value without copying it, unless the Realm is in a write transaction.
+     * The buffer points into the Realm file. It is only valid until the Realm is refreshed,
+     * changed or closed, and reading it after that can crash the process. Copy the bytes to
+     * keep them longer.
+     */
+    @Override
+    @SuppressWarnings("cast")
+    public ByteBuffer getAttachment() {
+        realm.checkIfValid();
+        return (java.nio.ByteBuffer) row.getBinaryByteBuffer(columnInfo.attachmentIndex);
+    }
+
+    @Override
+    public void setAttachment(ByteBuffer value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.attachmentIndex);
+            return;
+        }
+        row.setBinaryByteBuffer(columnInfo.attachmentIndex, value);
+    }
+
+    /**
+     * Returns the value without copying it, unless the Realm is in a write transaction.
+     * The buffer points into the Realm file. It is only valid until the Realm is refreshed,
+     * changed or closed, and reading it after that can crash the process. Copy the bytes to
+     * keep them longer.
+     */
+    @Override
+    @SuppressWarnings("cast")
+    public ByteBuffer getThumbnail() {
+        realm.checkIfValid();
+        return (java.nio.ByteBuffer) row.getBinaryByteBuffer(columnInfo.thumbnailIndex);
+    }
+
+    @Override
+    public void setThumbnail(ByteBuffer value) {
+        realm.checkIfValid();
+        if (value == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field thumbnail to null.");
+        }
+        row.setBinaryByteBuffer(columnInfo.thumbnailIndex, value);
+    }
+
+    public static Table initTable(ImplicitTransaction transaction) {
+        if (!transaction.hasTable("class_Blobs")) {
+            Table table = transaction.getTable("class_Blobs");
+            table.addColumn(RealmFieldType.STRING, "name", Table.NULLABLE);
+            table.addColumn(RealmFieldType.BINARY, "attachment", Table.NULLABLE);
+            table.addColumn(RealmFieldType.BINARY, "thumbnail", Table.NOT_NULLABLE);
+            table.setPrimaryKey("");
+            return table;
+        }
+        return transaction.getTable("class_Blobs");
+    }
+
+    public static BlobsColumnInfo validateTable(ImplicitTransaction transaction) {
+        if (transaction.hasTable("class_Blobs")) {
+            Table table = transaction.getTable("class_Blobs");
+            if (table.getColumnCount() != 3) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 3 but was " + table.getColumnCount());
+            }
+            Map<String, RealmFieldType> columnTypes = new HashMap<String, RealmFieldType>();
+            for (long i = 0; i < 3; i++) {
+                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            }
+
+            final BlobsColumnInfo columnInfo = new BlobsColumnInfo(transaction.getPath(), table);
+
+            if (!columnTypes.containsKey("name")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'name' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("name") != RealmFieldType.STRING) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'name' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.nameIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'name' is required. Either set @Required to field 'name' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (!columnTypes.containsKey("attachment")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'attachment' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("attachment") != RealmFieldType.BINARY) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'ByteBuffer' for field 'attachment' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.attachmentIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'attachment' is required. Either set @Required to field 'attachment' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (!columnTypes.containsKey("thumbnail")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'thumbnail' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("thumbnail") != RealmFieldType.BINARY) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'ByteBuffer' for field 'thumbnail' in existing Realm file.");
+            }
+            if (table.isColumnNullable(columnInfo.thumbnailIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'thumbnail' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'thumbnail' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
+            }
+            return columnInfo;
+        } else {
+            throw new RealmMigrationNeededException(transaction.getPath(), "The Blobs class is missing from the schema for this Realm.");
+        }
+    }
+
+    public static String getTableName() {
+        return "class_Blobs";
+    }
+
+    public static List<String> getFieldNames() {
+        return FIELD_NAMES;
+    }
+
+    @SuppressWarnings("cast")
+    public static Blobs createOrUpdateUsingJsonObject(Realm realm, JSONObject json, boolean update)
+        throws JSONException {
+        Blobs obj = realm.createObject(Blobs.class);
+        if (json.has("name")) {
+            if (json.isNull("name")) {
+                obj.setName(null);
+            } else {
+                obj.setName((String) json.getString("name"));
+            }
+        }
+        if (json.has("attachment")) {
+            if (json.isNull("attachment")) {
+                obj.setAttachment(null);
+            } else {
+                obj.setAttachment(ByteBuffer.wrap(JsonUtils.stringToBytes(json.getString("attachment"))));
+            }
+        }
+        if (json.has("thumbnail")) {
+            if (json.isNull("thumbnail")) {
+                obj.setThumbnail(null);
+            } else {
+                obj.setThumbnail(ByteBuffer.wrap(JsonUtils.stringToBytes(json.getString("thumbnail"))));
+            }
+        }
+        return obj;
+    }
+
+    @SuppressWarnings("cast")
+    public static Blobs createUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        Table table = realm.getTable(Blobs.class);
+        BlobsColumnInfo columnInfo = (BlobsColumnInfo) realm.schema.getColumnInfo(Blobs.class);
+        RowBuffer buffer = new RowBuffer(3);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name.hashCode()) {
+                case 3373707: {
+                    if (name.equals("name")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.nameIndex);
+                        } else {
+                            buffer.setString(columnInfo.nameIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case -1963501277: {
+                    if (name.equals("attachment")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.attachmentIndex);
+                        } else {
+                            buffer.setBinary(columnInfo.attachmentIndex, JsonUtils.stringToBytes(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 1330532588: {
+                    if (name.equals("thumbnail")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.thumbnailIndex);
+                        } else {
+                            buffer.setBinary(columnInfo.thumbnailIndex, JsonUtils.stringToBytes(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                default: {
+                    reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+        long rowIndex = buffer.addRow(table);
+        return realm.get(Blobs.class, rowIndex);
+    }
+
+    public static Blobs copyOrUpdate(Realm realm, Blobs object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        return copy(realm, object, update, cache);
+    }
+
+    public static Blobs copy(Realm realm, Blobs newObject, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        Blobs realmObject = realm.createObject(Blobs.class);
+        cache.put(newObject, (RealmObjectProxy) realmObject);
+        realmObject.setName(newObject.getName());
+        realmObject.setAttachment(newObject.getAttachment());
+        realmObject.setThumbnail(newObject.getThumbnail());
+        return realmObject;
+    }
+
+    public static long insert(Realm realm, Blobs object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(Blobs.class);
+        BlobsColumnInfo columnInfo = (BlobsColumnInfo) realm.schema.getColumnInfo(Blobs.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        String nameValue = object.getName();
+        if (nameValue != null) {
+            table.setString(columnInfo.nameIndex, rowIndex, nameValue);
+        } else {
+            table.setNull(columnInfo.nameIndex, rowIndex);
+        }
+        ByteBuffer attachmentValue = object.getAttachment();
+        if (attachmentValue != null) {
+            table.setBinaryByteBuffer(columnInfo.attachmentIndex, rowIndex, attachmentValue);
+        } else {
+            table.setNull(columnInfo.attachmentIndex, rowIndex);
+        }
+        ByteBuffer thumbnailValue = object.getThumbnail();
+        if (thumbnailValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field thumbnail to null.");
+        }
+        table.setBinaryByteBuffer(columnInfo.thumbnailIndex, rowIndex, thumbnailValue);
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(Blobs object) {
+        return null;
+    }
+
+    public static Blobs[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        Blobs[] standaloneObjects = new Blobs[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        Blobs[] copiedObjects = new Blobs[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(Blobs.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (Blobs) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
+                cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new Blobs();
+                cache.put(Blobs.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
+            }
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        BlobsColumnInfo columnInfo = (BlobsColumnInfo) realm.schema.getColumnInfo(Blobs.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(Blobs.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            Blobs standaloneObject = copiedObjects[i];
+            standaloneObject.setName(snapshot.getString(i, columnInfo.nameIndex));
+            standaloneObject.setAttachment(snapshot.getBinaryByteBuffer(i, columnInfo.attachmentIndex));
+            standaloneObject.setThumbnail(snapshot.getBinaryByteBuffer(i, columnInfo.thumbnailIndex));
+        }
+        return standaloneObjects;
+    }
+
+    @Override
+    public String toString() {
+        if (!isValid()) {
+            return "Invalid object";
+        }
+        StringBuilder stringBuilder = new StringBuilder("Blobs = [");
+        stringBuilder.append("{name:");
+        stringBuilder.append(getName() != null ? getName() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{attachment:");
+        stringBuilder.append(getAttachment() != null ? getAttachment() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{thumbnail:");
+        stringBuilder.append(getThumbnail());
+        stringBuilder.append("}");
+        stringBuilder.append("]");
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        String realmName = realm.getPath();
+        String tableName = row.getTable().getName();
+        long rowIndex = row.getIndex();
+
+        int result = 17;
+        result = 31 * result + ((realmName != null) ? realmName.hashCode() : 0);
+        result = 31 * result + ((tableName != null) ? tableName.hashCode() : 0);
+        result = 31 * result + (int) (rowIndex ^ (rowIndex >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BlobsRealmProxy aBlobs = (BlobsRealmProxy)o;
+
+        String path = realm.getPath();
+        String otherPath = aBlobs.realm.getPath();
+        if (path != null ? !path.equals(otherPath) : otherPath != null) return false;;
+
+        String tableName = row.getTable().getName();
+        String otherTableName = aBlobs.row.getTable().getName();
+        if (tableName != null ? !tableName.equals(otherTableName) : otherTableName != null) return false;
+
+        if (row.getIndex() != aBlobs.row.getIndex()) return false;
+
+        return true;
+    }
+
+}
@@ -6,14 +6,18 @@ import android.util.JsonToken;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -233,44 +237,73 @@ public class BooleansRealmProxy extends Booleans
     @SuppressWarnings("cast")
     public static Booleans createUsingJsonStream(Realm realm, JsonReader reader)
             throws IOException {
-        Booleans obj = realm.createObject(Booleans.class);
+        Table table = realm.getTable(Booleans.class);
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.schema.getColumnInfo(Booleans.class);
+        RowBuffer buffer = new RowBuffer(4);
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("done")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field done to null.");
-                } else {
-                    obj.setDone((boolean) reader.nextBoolean());
+            switch (name.hashCode()) {
+                case 3089282: {
+                    if (name.equals("done")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field done to null.");
+                        } else {
+                            buffer.setBoolean(columnInfo.doneIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("isReady")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field isReady to null.");
-                } else {
-                    obj.setReady((boolean) reader.nextBoolean());
+                case 2069792409: {
+                    if (name.equals("isReady")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field isReady to null.");
+                        } else {
+                            buffer.setBoolean(columnInfo.isReadyIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("mCompleted")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field mCompleted to null.");
-                } else {
-                    obj.setmCompleted((boolean) reader.nextBoolean());
+                case 655900766: {
+                    if (name.equals("mCompleted")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field mCompleted to null.");
+                        } else {
+                            buffer.setBoolean(columnInfo.mCompletedIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 1160618917: {
+                    if (name.equals("anotherBoolean")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field anotherBoolean to null.");
+                        } else {
+                            buffer.setBoolean(columnInfo.anotherBooleanIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("anotherBoolean")) {
-                if (reader.peek() == JsonToken.NULL) {
+                default: {
                     reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field anotherBoolean to null.");
-                } else {
-                    obj.setAnotherBoolean((boolean) reader.nextBoolean());
                 }
-            } else {
-                reader.skipValue();
             }
         }
         reader.endObject();
-        return obj;
+        long rowIndex = buffer.addRow(table);
+        return realm.get(Booleans.class, rowIndex);
     }
 
     public static Booleans copyOrUpdate(Realm realm, Booleans object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
@@ -290,29 +323,67 @@ public class BooleansRealmProxy extends Booleans
         return realmObject;
     }
 
-    public static Booleans createDetachedCopy(Booleans realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
-        if (currentDepth > maxDepth || realmObject == null) {
-            return null;
+    public static long insert(Realm realm, Booleans object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
         }
-        CacheData<Booleans> cachedObject = (CacheData) cache.get(realmObject);
-        Booleans standaloneObject;
-        if (cachedObject != null) {
-            // Reuse cached object or recreate it because it was encountered at a lower depth.
-            if (currentDepth >= cachedObject.minDepth) {
-                return cachedObject.object;
-            } else {
-                standaloneObject = cachedObject.object;
+        Table table = realm.getTable(Booleans.class);
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.schema.getColumnInfo(Booleans.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        table.setBoolean(columnInfo.doneIndex, rowIndex, object.isDone());
+        table.setBoolean(columnInfo.isReadyIndex, rowIndex, object.isReady());
+        table.setBoolean(columnInfo.mCompletedIndex, rowIndex, object.ismCompleted());
+        table.setBoolean(columnInfo.anotherBooleanIndex, rowIndex, object.getAnotherBoolean());
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(Booleans object) {
+        return null;
+    }
+
+    public static Booleans[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        Booleans[] standaloneObjects = new Booleans[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        Booleans[] copiedObjects = new Booleans[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(Booleans.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (Booleans) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
                 cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new Booleans();
+                cache.put(Booleans.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
             }
-        } else {
-            standaloneObject = new Booleans();
-            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.schema.getColumnInfo(Booleans.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(Booleans.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            Booleans standaloneObject = copiedObjects[i];
+            standaloneObject.setDone(snapshot.getBoolean(i, columnInfo.doneIndex));
+            standaloneObject.setReady(snapshot.getBoolean(i, columnInfo.isReadyIndex));
+            standaloneObject.setmCompleted(snapshot.getBoolean(i, columnInfo.mCompletedIndex));
+            standaloneObject.setAnotherBoolean(snapshot.getBoolean(i, columnInfo.anotherBooleanIndex));
         }
-        standaloneObject.setDone(realmObject.isDone());
-        standaloneObject.setReady(realmObject.isReady());
-        standaloneObject.setmCompleted(realmObject.ismCompleted());
-        standaloneObject.setAnotherBoolean(realmObject.getAnotherBoolean());
-        return standaloneObject;
+        return standaloneObjects;
     }
 
     @Override
@@ -0,0 +1,498 @@
+package io.realm;
+
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import io.realm.RealmFieldType;
+import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.LinkView;
+import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.android.JsonUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import some.test.CompoundIndexed;
+
+public class CompoundIndexedRealmProxy extends CompoundIndexed
+    implements RealmObjectProxy {
+
+    static final class CompoundIndexedColumnInfo extends ColumnInfo {
+
+        public final long tenantIdIndex;
+        public final long statusIndex;
+        public final long dayIndex;
+        public final long noteIndex;
+
+        CompoundIndexedColumnInfo(String path, Table table) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(4);
+            this.tenantIdIndex = getValidColumnIndex(path, table, "CompoundIndexed", "tenantId");
+            indicesMap.put("tenantId", this.tenantIdIndex);
+
+            this.statusIndex = getValidColumnIndex(path, table, "CompoundIndexed", "status");
+            indicesMap.put("status", this.statusIndex);
+
+            this.dayIndex = getValidColumnIndex(path, table, "CompoundIndexed", "day");
+            indicesMap.put("day", this.dayIndex);
+
+            this.noteIndex = getValidColumnIndex(path, table, "CompoundIndexed", "note");
+            indicesMap.put("note", this.noteIndex);
+
+            setCompoundIndices(path, table, "CompoundIndexed", new String[] {"tenantId", "status", "day"});
+            setIndicesMap(indicesMap);
+        }
+    }
+
+    private final CompoundIndexedColumnInfo columnInfo;
+    private static final List<String> FIELD_NAMES;
+    static {
+        List<String> fieldNames = new ArrayList<String>();
+        fieldNames.add("tenantId");
+        fieldNames.add("status");
+        fieldNames.add("day");
+        fieldNames.add("note");
+        FIELD_NAMES = Collections.unmodifiableList(fieldNames);
+    }
+
+    CompoundIndexedRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (CompoundIndexedColumnInfo) columnInfo;
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public long getTenantId() {
+        realm.checkIfValid();
+        return (long) row.getLong(columnInfo.tenantIdIndex);
+    }
+
+    @Override
+    public void setTenantId(long value) {
+        realm.checkIfValid();
+        row.setLong(columnInfo.tenantIdIndex, value);
+        columnInfo.updateCompoundIndices(row, columnInfo.tenantIdIndex);
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public String getStatus() {
+        realm.checkIfValid();
+        return (java.lang.String) row.getString(columnInfo.statusIndex);
+    }
+
+    @Override
+    public void setStatus(String value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.statusIndex);
+            columnInfo.updateCompoundIndices(row, columnInfo.statusIndex);
+            return;
+        }
+        row.setString(columnInfo.statusIndex, value);
+        columnInfo.updateCompoundIndices(row, columnInfo.statusIndex);
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public Date getDay() {
+        realm.checkIfValid();
+        if (row.isNull(columnInfo.dayIndex)) {
+            return null;
+        }
+        return (java.util.Date) row.getDate(columnInfo.dayIndex);
+    }
+
+    @Override
+    public void setDay(Date value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.dayIndex);
+            columnInfo.updateCompoundIndices(row, columnInfo.dayIndex);
+            return;
+        }
+        row.setDate(columnInfo.dayIndex, value);
+        columnInfo.updateCompoundIndices(row, columnInfo.dayIndex);
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public String getNote() {
+        realm.checkIfValid();
+        return (java.lang.String) row.getString(columnInfo.noteIndex);
+    }
+
+    @Override
+    public void setNote(String value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.noteIndex);
+            return;
+        }
+        row.setString(columnInfo.noteIndex, value);
+    }
+
+    public static Table initTable(ImplicitTransaction transaction) {
+        if (!transaction.hasTable("class_CompoundIndexed")) {
+            Table table = transaction.getTable("class_CompoundIndexed");
+            table.addColumn(RealmFieldType.INTEGER, "tenantId", Table.NOT_NULLABLE);
+            table.addColumn(RealmFieldType.STRING, "status", Table.NULLABLE);
+            table.addColumn(RealmFieldType.DATE, "day", Table.NULLABLE);
+            table.addColumn(RealmFieldType.STRING, "note", Table.NULLABLE);
+            table.addSearchIndex(table.addColumn(RealmFieldType.STRING, "!ci:tenantId,status,day", Table.NOT_NULLABLE));
+            table.setPrimaryKey("");
+            return table;
+        }
+        return transaction.getTable("class_CompoundIndexed");
+    }
+
+    public static CompoundIndexedColumnInfo validateTable(ImplicitTransaction transaction) {
+        if (transaction.hasTable("class_CompoundIndexed")) {
+            Table table = transaction.getTable("class_CompoundIndexed");
+            if (table.getColumnCount() != 5) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 5 but was " + table.getColumnCount());
+            }
+            Map<String, RealmFieldType> columnTypes = new HashMap<String, RealmFieldType>();
+            for (long i = 0; i < 5; i++) {
+                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            }
+
+            final CompoundIndexedColumnInfo columnInfo = new CompoundIndexedColumnInfo(transaction.getPath(), table);
+
+            if (!columnTypes.containsKey("tenantId")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'tenantId' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("tenantId") != RealmFieldType.INTEGER) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'long' for field 'tenantId' in existing Realm file.");
+            }
+            if (table.isColumnNullable(columnInfo.tenantIdIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'tenantId' does support null values in the existing Realm file. Use corresponding boxed type for field 'tenantId' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
+            }
+            if (!columnTypes.containsKey("status")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'status' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("status") != RealmFieldType.STRING) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'status' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.statusIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'status' is required. Either set @Required to field 'status' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (!columnTypes.containsKey("day")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'day' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("day") != RealmFieldType.DATE) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'day' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.dayIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'day' is required. Either set @Required to field 'day' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (!columnTypes.containsKey("note")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'note' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("note") != RealmFieldType.STRING) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'note' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.noteIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'note' is required. Either set @Required to field 'note' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (columnTypes.get("!ci:tenantId,status,day") != RealmFieldType.STRING || !table.hasSearchIndex(table.getColumnIndex("!ci:tenantId,status,day"))) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Compound index on [tenantId, status, day] not defined in existing Realm file. Either remove @CompoundIndex or migrate using io.realm.RealmObjectSchema.addCompoundIndex().");
+            }
+            return columnInfo;
+        } else {
+            throw new RealmMigrationNeededException(transaction.getPath(), "The CompoundIndexed class is missing from the schema for this Realm.");
+        }
+    }
+
+    public static String getTableName() {
+        return "class_CompoundIndexed";
+    }
+
+    public static List<String> getFieldNames() {
+        return FIELD_NAMES;
+    }
+
+    @SuppressWarnings("cast")
+    public static CompoundIndexed createOrUpdateUsingJsonObject(Realm realm, JSONObject json, boolean update)
+        throws JSONException {
+        CompoundIndexed obj = realm.createObject(CompoundIndexed.class);
+        if (json.has("tenantId")) {
+            if (json.isNull("tenantId")) {
+                throw new IllegalArgumentException("Trying to set non-nullable field tenantId to null.");
+            } else {
+                obj.setTenantId((long) json.getLong("tenantId"));
+            }
+        }
+        if (json.has("status")) {
+            if (json.isNull("status")) {
+                obj.setStatus(null);
+            } else {
+                obj.setStatus((String) json.getString("status"));
+            }
+        }
+        if (json.has("day")) {
+            if (json.isNull("day")) {
+                obj.setDay(null);
+            } else {
+                Object timestamp = json.get("day");
+                if (timestamp instanceof String) {
+                    obj.setDay(JsonUtils.stringToDate((String) timestamp));
+                } else {
+                    obj.setDay(new Date(json.getLong("day")));
+                }
+            }
+        }
+        if (json.has("note")) {
+            if (json.isNull("note")) {
+                obj.setNote(null);
+            } else {
+                obj.setNote((String) json.getString("note"));
+            }
+        }
+        return obj;
+    }
+
+    @SuppressWarnings("cast")
+    public static CompoundIndexed createUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        Table table = realm.getTable(CompoundIndexed.class);
+        CompoundIndexedColumnInfo columnInfo = (CompoundIndexedColumnInfo) realm.schema.getColumnInfo(CompoundIndexed.class);
+        RowBuffer buffer = new RowBuffer(4);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name.hashCode()) {
+                case -1306693787: {
+                    if (name.equals("tenantId")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field tenantId to null.");
+                        } else {
+                            buffer.setLong(columnInfo.tenantIdIndex, (long) reader.nextLong());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case -892481550: {
+                    if (name.equals("status")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.statusIndex);
+                        } else {
+                            buffer.setString(columnInfo.statusIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 99228: {
+                    if (name.equals("day")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.dayIndex);
+                        } else if (reader.peek() == JsonToken.NUMBER) {
+                            long timestamp = reader.nextLong();
+                            if (timestamp > -1) {
+                                buffer.setDate(columnInfo.dayIndex, timestamp);
+                            }
+                        } else {
+                            buffer.setDate(columnInfo.dayIndex, JsonUtils.stringToDate(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 3387378: {
+                    if (name.equals("note")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.noteIndex);
+                        } else {
+                            buffer.setString(columnInfo.noteIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                default: {
+                    reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+        long rowIndex = buffer.addRow(table);
+        columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex));
+        return realm.get(CompoundIndexed.class, rowIndex);
+    }
+
+    public static CompoundIndexed copyOrUpdate(Realm realm, CompoundIndexed object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        return copy(realm, object, update, cache);
+    }
+
+    public static CompoundIndexed copy(Realm realm, CompoundIndexed newObject, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        CompoundIndexed realmObject = realm.createObject(CompoundIndexed.class);
+        cache.put(newObject, (RealmObjectProxy) realmObject);
+        realmObject.setTenantId(newObject.getTenantId());
+        realmObject.setStatus(newObject.getStatus());
+        realmObject.setDay(newObject.getDay());
+        realmObject.setNote(newObject.getNote());
+        return realmObject;
+    }
+
+    public static long insert(Realm realm, CompoundIndexed object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(CompoundIndexed.class);
+        CompoundIndexedColumnInfo columnInfo = (CompoundIndexedColumnInfo) realm.schema.getColumnInfo(CompoundIndexed.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        table.setLong(columnInfo.tenantIdIndex, rowIndex, object.getTenantId());
+        String statusValue = object.getStatus();
+        if (statusValue != null) {
+            table.setString(columnInfo.statusIndex, rowIndex, statusValue);
+        } else {
+            table.setNull(columnInfo.statusIndex, rowIndex);
+        }
+        Date dayValue = object.getDay();
+        if (dayValue != null) {
+            table.setDate(columnInfo.dayIndex, rowIndex, dayValue);
+        } else {
+            table.setNull(columnInfo.dayIndex, rowIndex);
+        }
+        String noteValue = object.getNote();
+        if (noteValue != null) {
+            table.setString(columnInfo.noteIndex, rowIndex, noteValue);
+        } else {
+            table.setNull(columnInfo.noteIndex, rowIndex);
+        }
+        columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex));
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(CompoundIndexed object) {
+        return null;
+    }
+
+    public static CompoundIndexed[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        CompoundIndexed[] standaloneObjects = new CompoundIndexed[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        CompoundIndexed[] copiedObjects = new CompoundIndexed[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(CompoundIndexed.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (CompoundIndexed) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
+                cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new CompoundIndexed();
+                cache.put(CompoundIndexed.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
+            }
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        CompoundIndexedColumnInfo columnInfo = (CompoundIndexedColumnInfo) realm.schema.getColumnInfo(CompoundIndexed.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(CompoundIndexed.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            CompoundIndexed standaloneObject = copiedObjects[i];
+            standaloneObject.setTenantId(snapshot.getLong(i, columnInfo.tenantIdIndex));
+            standaloneObject.setStatus(snapshot.getString(i, columnInfo.statusIndex));
+            standaloneObject.setDay(snapshot.getDate(i, columnInfo.dayIndex));
+            standaloneObject.setNote(snapshot.getString(i, columnInfo.noteIndex));
+        }
+        return standaloneObjects;
+    }
+
+    @Override
+    public String toString() {
+        if (!isValid()) {
+            return "Invalid object";
+        }
+        StringBuilder stringBuilder = new StringBuilder("CompoundIndexed = [");
+        stringBuilder.append("{tenantId:");
+        stringBuilder.append(getTenantId());
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{status:");
+        stringBuilder.append(getStatus() != null ? getStatus() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{day:");
+        stringBuilder.append(getDay() != null ? getDay() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{note:");
+        stringBuilder.append(getNote() != null ? getNote() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append("]");
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        String realmName = realm.getPath();
+        String tableName = row.getTable().getName();
+        long rowIndex = row.getIndex();
+
+        int result = 17;
+        result = 31 * result + ((realmName != null) ? realmName.hashCode() : 0);
+        result = 31 * result + ((tableName != null) ? tableName.hashCode() : 0);
+        result = 31 * result + (int) (rowIndex ^ (rowIndex >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompoundIndexedRealmProxy aCompoundIndexed = (CompoundIndexedRealmProxy)o;
+
+        String path = realm.getPath();
+        String otherPath = aCompoundIndexed.realm.getPath();
+        if (path != null ? !path.equals(otherPath) : otherPath != null) return false;;
+
+        String tableName = row.getTable().getName();
+        String otherTableName = aCompoundIndexed.row.getTable().getName();
+        if (tableName != null ? !tableName.equals(otherTableName) : otherTableName != null) return false;
+
+        if (row.getIndex() != aCompoundIndexed.row.getIndex()) return false;
+
+        return true;
+    }
+
+}
@@ -0,0 +1,360 @@
+package io.realm;
+
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import io.realm.RealmFieldType;
+import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.LinkView;
+import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.android.JsonUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import some.test.FullTextIndexed;
+
+public class FullTextIndexedRealmProxy extends FullTextIndexed
+    implements RealmObjectProxy {
+
+    static final class FullTextIndexedColumnInfo extends ColumnInfo {
+
+        public final long titleIndex;
+        public final long bodyIndex;
+
+        FullTextIndexedColumnInfo(String path, Table table) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(2);
+            this.titleIndex = getValidColumnIndex(path, table, "FullTextIndexed", "title");
+            indicesMap.put("title", this.titleIndex);
+
+            this.bodyIndex = getValidColumnIndex(path, table, "FullTextIndexed", "body");
+            indicesMap.put("body", this.bodyIndex);
+
+            setFullTextIndices(path, table, "FullTextIndexed", "body");
+            setIndicesMap(indicesMap);
+        }
+    }
+
+    private final FullTextIndexedColumnInfo columnInfo;
+    private static final List<String> FIELD_NAMES;
+    static {
+        List<String> fieldNames = new ArrayList<String>();
+        fieldNames.add("title");
+        fieldNames.add("body");
+        FIELD_NAMES = Collections.unmodifiableList(fieldNames);
+    }
+
+    FullTextIndexedRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (FullTextIndexedColumnInfo) columnInfo;
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public String getTitle() {
+        realm.checkIfValid();
+        return (java.lang.String) row.getString(columnInfo.titleIndex);
+    }
+
+    @Override
+    public void setTitle(String value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.titleIndex);
+            return;
+        }
+        row.setString(columnInfo.titleIndex, value);
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public String getBody() {
+        realm.checkIfValid();
+        return (java.lang.String) row.getString(columnInfo.bodyIndex);
+    }
+
+    @Override
+    public void setBody(String value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.bodyIndex);
+            columnInfo.updateFullTextIndex(row, columnInfo.bodyIndex);
+            return;
+        }
+        row.setString(columnInfo.bodyIndex, value);
+        columnInfo.updateFullTextIndex(row, columnInfo.bodyIndex);
+    }
+
+    public static Table initTable(ImplicitTransaction transaction) {
+        if (!transaction.hasTable("class_FullTextIndexed")) {
+            Table table = transaction.getTable("class_FullTextIndexed");
+            table.addColumn(RealmFieldType.STRING, "title", Table.NULLABLE);
+            table.addColumn(RealmFieldType.STRING, "body", Table.NULLABLE);
+            table.addFullTextIndex(table.getColumnIndex("body"));
+            table.setPrimaryKey("");
+            return table;
+        }
+        return transaction.getTable("class_FullTextIndexed");
+    }
+
+    public static FullTextIndexedColumnInfo validateTable(ImplicitTransaction transaction) {
+        if (transaction.hasTable("class_FullTextIndexed")) {
+            Table table = transaction.getTable("class_FullTextIndexed");
+            if (table.getColumnCount() != 3) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 3 but was " + table.getColumnCount());
+            }
+            Map<String, RealmFieldType> columnTypes = new HashMap<String, RealmFieldType>();
+            for (long i = 0; i < 3; i++) {
+                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            }
+
+            final FullTextIndexedColumnInfo columnInfo = new FullTextIndexedColumnInfo(transaction.getPath(), table);
+
+            if (!columnTypes.containsKey("title")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'title' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("title") != RealmFieldType.STRING) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'title' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.titleIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'title' is required. Either set @Required to field 'title' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (!columnTypes.containsKey("body")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'body' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("body") != RealmFieldType.STRING) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'body' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.bodyIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'body' is required. Either set @Required to field 'body' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            return columnInfo;
+        } else {
+            throw new RealmMigrationNeededException(transaction.getPath(), "The FullTextIndexed class is missing from the schema for this Realm.");
+        }
+    }
+
+    public static String getTableName() {
+        return "class_FullTextIndexed";
+    }
+
+    public static List<String> getFieldNames() {
+        return FIELD_NAMES;
+    }
+
+    @SuppressWarnings("cast")
+    public static FullTextIndexed createOrUpdateUsingJsonObject(Realm realm, JSONObject json, boolean update)
+        throws JSONException {
+        FullTextIndexed obj = realm.createObject(FullTextIndexed.class);
+        if (json.has("title")) {
+            if (json.isNull("title")) {
+                obj.setTitle(null);
+            } else {
+                obj.setTitle((String) json.getString("title"));
+            }
+        }
+        if (json.has("body")) {
+            if (json.isNull("body")) {
+                obj.setBody(null);
+            } else {
+                obj.setBody((String) json.getString("body"));
+            }
+        }
+        return obj;
+    }
+
+    @SuppressWarnings("cast")
+    public static FullTextIndexed createUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        Table table = realm.getTable(FullTextIndexed.class);
+        FullTextIndexedColumnInfo columnInfo = (FullTextIndexedColumnInfo) realm.schema.getColumnInfo(FullTextIndexed.class);
+        RowBuffer buffer = new RowBuffer(2);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name.hashCode()) {
+                case 110371416: {
+                    if (name.equals("title")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.titleIndex);
+                        } else {
+                            buffer.setString(columnInfo.titleIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 3029410: {
+                    if (name.equals("body")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.bodyIndex);
+                        } else {
+                            buffer.setString(columnInfo.bodyIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                default: {
+                    reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+        long rowIndex = buffer.addRow(table);
+        columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex));
+        return realm.get(FullTextIndexed.class, rowIndex);
+    }
+
+    public static FullTextIndexed copyOrUpdate(Realm realm, FullTextIndexed object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        return copy(realm, object, update, cache);
+    }
+
+    public static FullTextIndexed copy(Realm realm, FullTextIndexed newObject, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        FullTextIndexed realmObject = realm.createObject(FullTextIndexed.class);
+        cache.put(newObject, (RealmObjectProxy) realmObject);
+        realmObject.setTitle(newObject.getTitle());
+        realmObject.setBody(newObject.getBody());
+        return realmObject;
+    }
+
+    public static long insert(Realm realm, FullTextIndexed object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(FullTextIndexed.class);
+        FullTextIndexedColumnInfo columnInfo = (FullTextIndexedColumnInfo) realm.schema.getColumnInfo(FullTextIndexed.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        String titleValue = object.getTitle();
+        if (titleValue != null) {
+            table.setString(columnInfo.titleIndex, rowIndex, titleValue);
+        } else {
+            table.setNull(columnInfo.titleIndex, rowIndex);
+        }
+        String bodyValue = object.getBody();
+        if (bodyValue != null) {
+            table.setString(columnInfo.bodyIndex, rowIndex, bodyValue);
+        } else {
+            table.setNull(columnInfo.bodyIndex, rowIndex);
+        }
+        columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex));
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(FullTextIndexed object) {
+        return null;
+    }
+
+    public static FullTextIndexed[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        FullTextIndexed[] standaloneObjects = new FullTextIndexed[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        FullTextIndexed[] copiedObjects = new FullTextIndexed[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(FullTextIndexed.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (FullTextIndexed) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
+                cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new FullTextIndexed();
+                cache.put(FullTextIndexed.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
+            }
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        FullTextIndexedColumnInfo columnInfo = (FullTextIndexedColumnInfo) realm.schema.getColumnInfo(FullTextIndexed.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(FullTextIndexed.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            FullTextIndexed standaloneObject = copiedObjects[i];
+            standaloneObject.setTitle(snapshot.getString(i, columnInfo.titleIndex));
+            standaloneObject.setBody(snapshot.getString(i, columnInfo.bodyIndex));
+        }
+        return standaloneObjects;
+    }
+
+    @Override
+    public String toString() {
+        if (!isValid()) {
+            return "Invalid object";
+        }
+        StringBuilder stringBuilder = new StringBuilder("FullTextIndexed = [");
+        stringBuilder.append("{title:");
+        stringBuilder.append(getTitle() != null ? getTitle() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{body:");
+        stringBuilder.append(getBody() != null ? getBody() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append("]");
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        String realmName = realm.getPath();
+        String tableName = row.getTable().getName();
+        long rowIndex = row.getIndex();
+
+        int result = 17;
+        result = 31 * result + ((realmName != null) ? realmName.hashCode() : 0);
+        result = 31 * result + ((tableName != null) ? tableName.hashCode() : 0);
+        result = 31 * result + (int) (rowIndex ^ (rowIndex >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FullTextIndexedRealmProxy aFullTextIndexed = (FullTextIndexedRealmProxy)o;
+
+        String path = realm.getPath();
+        String otherPath = aFullTextIndexed.realm.getPath();
+        if (path != null ? !path.equals(otherPath) : otherPath != null) return false;;
+
+        String tableName = row.getTable().getName();
+        String otherTableName = aFullTextIndexed.row.getTable().getName();
+        if (tableName != null ? !tableName.equals(otherTableName) : otherTableName != null) return false;
+
+        if (row.getIndex() != aFullTextIndexed.row.getIndex()) return false;
+
+        return true;
+    }
+
+}
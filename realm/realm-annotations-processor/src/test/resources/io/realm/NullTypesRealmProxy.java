@@ -6,14 +6,18 @@ import android.util.JsonToken;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -952,174 +956,304 @@ public class NullTypesRealmProxy extends NullTypes
     @SuppressWarnings("cast")
     public static NullTypes createUsingJsonStream(Realm realm, JsonReader reader)
             throws IOException {
-        NullTypes obj = realm.createObject(NullTypes.class);
+        Table table = realm.getTable(NullTypes.class);
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.schema.getColumnInfo(NullTypes.class);
+        RowBuffer buffer = new RowBuffer(21);
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("fieldStringNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldStringNotNull(null);
-                } else {
-                    obj.setFieldStringNotNull((String) reader.nextString());
+            switch (name.hashCode()) {
+                case 1033235151: {
+                    if (name.equals("fieldStringNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldStringNotNullIndex);
+                        } else {
+                            buffer.setString(columnInfo.fieldStringNotNullIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldStringNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldStringNull(null);
-                } else {
-                    obj.setFieldStringNull((String) reader.nextString());
+                case 208221650: {
+                    if (name.equals("fieldStringNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldStringNullIndex);
+                        } else {
+                            buffer.setString(columnInfo.fieldStringNullIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldBooleanNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldBooleanNotNull(null);
-                } else {
-                    obj.setFieldBooleanNotNull((boolean) reader.nextBoolean());
+                case -2009259700: {
+                    if (name.equals("fieldBooleanNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldBooleanNotNullIndex);
+                        } else {
+                            buffer.setBoolean(columnInfo.fieldBooleanNotNullIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldBooleanNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldBooleanNull(null);
-                } else {
-                    obj.setFieldBooleanNull((boolean) reader.nextBoolean());
+                case 1850792053: {
+                    if (name.equals("fieldBooleanNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldBooleanNullIndex);
+                        } else {
+                            buffer.setBoolean(columnInfo.fieldBooleanNullIndex, (boolean) reader.nextBoolean());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldBytesNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldBytesNotNull(null);
-                } else {
-                    obj.setFieldBytesNotNull(JsonUtils.stringToBytes(reader.nextString()));
+                case -1455543767: {
+                    if (name.equals("fieldBytesNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldBytesNotNullIndex);
+                        } else {
+                            buffer.setBinary(columnInfo.fieldBytesNotNullIndex, JsonUtils.stringToBytes(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldBytesNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldBytesNull(null);
-                } else {
-                    obj.setFieldBytesNull(JsonUtils.stringToBytes(reader.nextString()));
+                case 378979512: {
+                    if (name.equals("fieldBytesNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldBytesNullIndex);
+                        } else {
+                            buffer.setBinary(columnInfo.fieldBytesNullIndex, JsonUtils.stringToBytes(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldByteNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldByteNotNull(null);
-                } else {
-                    obj.setFieldByteNotNull((byte) reader.nextInt());
+                case 1592149880: {
+                    if (name.equals("fieldByteNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldByteNotNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldByteNotNullIndex, (byte) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldByteNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldByteNull(null);
-                } else {
-                    obj.setFieldByteNull((byte) reader.nextInt());
+                case 2089370057: {
+                    if (name.equals("fieldByteNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldByteNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldByteNullIndex, (byte) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldShortNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldShortNotNull(null);
-                } else {
-                    obj.setFieldShortNotNull((short) reader.nextInt());
+                case 1925570808: {
+                    if (name.equals("fieldShortNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldShortNotNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldShortNotNullIndex, (short) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldShortNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldShortNull(null);
-                } else {
-                    obj.setFieldShortNull((short) reader.nextInt());
+                case 384571465: {
+                    if (name.equals("fieldShortNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldShortNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldShortNullIndex, (short) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldIntegerNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldIntegerNotNull(null);
-                } else {
-                    obj.setFieldIntegerNotNull((int) reader.nextInt());
+                case -1272232074: {
+                    if (name.equals("fieldIntegerNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldIntegerNotNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldIntegerNotNullIndex, (int) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldIntegerNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldIntegerNull(null);
-                } else {
-                    obj.setFieldIntegerNull((int) reader.nextInt());
+                case 189690507: {
+                    if (name.equals("fieldIntegerNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldIntegerNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldIntegerNullIndex, (int) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldLongNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldLongNotNull(null);
-                } else {
-                    obj.setFieldLongNotNull((long) reader.nextLong());
+                case -81881212: {
+                    if (name.equals("fieldLongNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldLongNotNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldLongNotNullIndex, (long) reader.nextLong());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldLongNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldLongNull(null);
-                } else {
-                    obj.setFieldLongNull((long) reader.nextLong());
+                case 1882574141: {
+                    if (name.equals("fieldLongNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldLongNullIndex);
+                        } else {
+                            buffer.setLong(columnInfo.fieldLongNullIndex, (long) reader.nextLong());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldFloatNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldFloatNotNull(null);
-                } else {
-                    obj.setFieldFloatNotNull((float) reader.nextDouble());
+                case -1983387880: {
+                    if (name.equals("fieldFloatNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldFloatNotNullIndex);
+                        } else {
+                            buffer.setFloat(columnInfo.fieldFloatNotNullIndex, (float) reader.nextDouble());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldFloatNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldFloatNull(null);
-                } else {
-                    obj.setFieldFloatNull((float) reader.nextDouble());
+                case 301254185: {
+                    if (name.equals("fieldFloatNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldFloatNullIndex);
+                        } else {
+                            buffer.setFloat(columnInfo.fieldFloatNullIndex, (float) reader.nextDouble());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldDoubleNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldDoubleNotNull(null);
-                } else {
-                    obj.setFieldDoubleNotNull((double) reader.nextDouble());
+                case 902895375: {
+                    if (name.equals("fieldDoubleNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldDoubleNotNullIndex);
+                        } else {
+                            buffer.setDouble(columnInfo.fieldDoubleNotNullIndex, (double) reader.nextDouble());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldDoubleNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldDoubleNull(null);
-                } else {
-                    obj.setFieldDoubleNull((double) reader.nextDouble());
+                case -1734905454: {
+                    if (name.equals("fieldDoubleNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldDoubleNullIndex);
+                        } else {
+                            buffer.setDouble(columnInfo.fieldDoubleNullIndex, (double) reader.nextDouble());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("fieldDateNotNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldDateNotNull(null);
-                } else if (reader.peek() == JsonToken.NUMBER) {
-                    long timestamp = reader.nextLong();
-                    if (timestamp > -1) {
-                        obj.setFieldDateNotNull(new Date(timestamp));
+                case -1580396014: {
+                    if (name.equals("fieldDateNotNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldDateNotNullIndex);
+                        } else if (reader.peek() == JsonToken.NUMBER) {
+                            long timestamp = reader.nextLong();
+                            if (timestamp > -1) {
+                                buffer.setDate(columnInfo.fieldDateNotNullIndex, timestamp);
+                            }
+                        } else {
+                            buffer.setDate(columnInfo.fieldDateNotNullIndex, JsonUtils.stringToDate(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
                     }
-                } else {
-                    obj.setFieldDateNotNull(JsonUtils.stringToDate(reader.nextString()));
+                    break;
                 }
-            } else if (name.equals("fieldDateNull")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setFieldDateNull(null);
-                } else if (reader.peek() == JsonToken.NUMBER) {
-                    long timestamp = reader.nextLong();
-                    if (timestamp > -1) {
-                        obj.setFieldDateNull(new Date(timestamp));
+                case 1454771567: {
+                    if (name.equals("fieldDateNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldDateNullIndex);
+                        } else if (reader.peek() == JsonToken.NUMBER) {
+                            long timestamp = reader.nextLong();
+                            if (timestamp > -1) {
+                                buffer.setDate(columnInfo.fieldDateNullIndex, timestamp);
+                            }
+                        } else {
+                            buffer.setDate(columnInfo.fieldDateNullIndex, JsonUtils.stringToDate(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
                     }
-                } else {
-                    obj.setFieldDateNull(JsonUtils.stringToDate(reader.nextString()));
+                    break;
                 }
-            } else if (name.equals("fieldObjectNull")) {
-                if (reader.peek() == JsonToken.NULL) {
+                case -1446825472: {
+                    if (name.equals("fieldObjectNull")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.fieldObjectNullIndex);
+                        } else {
+                            buffer.setLink(columnInfo.fieldObjectNullIndex, NullTypesRealmProxy.createUsingJsonStream(realm, reader).row.getIndex());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                default: {
                     reader.skipValue();
-                    obj.setFieldObjectNull(null);
-                } else {
-                    some.test.NullTypes fieldObjectNullObj = NullTypesRealmProxy.createUsingJsonStream(realm, reader);
-                    obj.setFieldObjectNull(fieldObjectNullObj);
                 }
-            } else {
-                reader.skipValue();
             }
         }
         reader.endObject();
-        return obj;
+        long rowIndex = buffer.addRow(table);
+        return realm.get(NullTypes.class, rowIndex);
     }
 
     public static NullTypes copyOrUpdate(Realm realm, NullTypes object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
@@ -1167,48 +1301,206 @@ public class NullTypesRealmProxy extends NullTypes
         return realmObject;
     }
 
-    public static NullTypes createDetachedCopy(NullTypes realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
-        if (currentDepth > maxDepth || realmObject == null) {
-            return null;
+    public static long insert(Realm realm, NullTypes object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
         }
-        CacheData<NullTypes> cachedObject = (CacheData) cache.get(realmObject);
-        NullTypes standaloneObject;
-        if (cachedObject != null) {
-            // Reuse cached object or recreate it because it was encountered at a lower depth.
-            if (currentDepth >= cachedObject.minDepth) {
-                return cachedObject.object;
-            } else {
-                standaloneObject = cachedObject.object;
-                cachedObject.minDepth = currentDepth;
+        Table table = realm.getTable(NullTypes.class);
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.schema.getColumnInfo(NullTypes.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        String fieldStringNotNullValue = object.getFieldStringNotNull();
+        if (fieldStringNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldStringNotNull to null.");
+        }
+        table.setString(columnInfo.fieldStringNotNullIndex, rowIndex, fieldStringNotNullValue);
+        String fieldStringNullValue = object.getFieldStringNull();
+        if (fieldStringNullValue != null) {
+            table.setString(columnInfo.fieldStringNullIndex, rowIndex, fieldStringNullValue);
+        } else {
+            table.setNull(columnInfo.fieldStringNullIndex, rowIndex);
+        }
+        Boolean fieldBooleanNotNullValue = object.getFieldBooleanNotNull();
+        if (fieldBooleanNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldBooleanNotNull to null.");
+        }
+        table.setBoolean(columnInfo.fieldBooleanNotNullIndex, rowIndex, fieldBooleanNotNullValue);
+        Boolean fieldBooleanNullValue = object.getFieldBooleanNull();
+        if (fieldBooleanNullValue != null) {
+            table.setBoolean(columnInfo.fieldBooleanNullIndex, rowIndex, fieldBooleanNullValue);
+        } else {
+            table.setNull(columnInfo.fieldBooleanNullIndex, rowIndex);
+        }
+        byte[] fieldBytesNotNullValue = object.getFieldBytesNotNull();
+        if (fieldBytesNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldBytesNotNull to null.");
+        }
+        table.setBinaryByteArray(columnInfo.fieldBytesNotNullIndex, rowIndex, fieldBytesNotNullValue);
+        byte[] fieldBytesNullValue = object.getFieldBytesNull();
+        if (fieldBytesNullValue != null) {
+            table.setBinaryByteArray(columnInfo.fieldBytesNullIndex, rowIndex, fieldBytesNullValue);
+        } else {
+            table.setNull(columnInfo.fieldBytesNullIndex, rowIndex);
+        }
+        Byte fieldByteNotNullValue = object.getFieldByteNotNull();
+        if (fieldByteNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldByteNotNull to null.");
+        }
+        table.setLong(columnInfo.fieldByteNotNullIndex, rowIndex, fieldByteNotNullValue);
+        Byte fieldByteNullValue = object.getFieldByteNull();
+        if (fieldByteNullValue != null) {
+            table.setLong(columnInfo.fieldByteNullIndex, rowIndex, fieldByteNullValue);
+        } else {
+            table.setNull(columnInfo.fieldByteNullIndex, rowIndex);
+        }
+        Short fieldShortNotNullValue = object.getFieldShortNotNull();
+        if (fieldShortNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldShortNotNull to null.");
+        }
+        table.setLong(columnInfo.fieldShortNotNullIndex, rowIndex, fieldShortNotNullValue);
+        Short fieldShortNullValue = object.getFieldShortNull();
+        if (fieldShortNullValue != null) {
+            table.setLong(columnInfo.fieldShortNullIndex, rowIndex, fieldShortNullValue);
+        } else {
+            table.setNull(columnInfo.fieldShortNullIndex, rowIndex);
+        }
+        Integer fieldIntegerNotNullValue = object.getFieldIntegerNotNull();
+        if (fieldIntegerNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldIntegerNotNull to null.");
+        }
+        table.setLong(columnInfo.fieldIntegerNotNullIndex, rowIndex, fieldIntegerNotNullValue);
+        Integer fieldIntegerNullValue = object.getFieldIntegerNull();
+        if (fieldIntegerNullValue != null) {
+            table.setLong(columnInfo.fieldIntegerNullIndex, rowIndex, fieldIntegerNullValue);
+        } else {
+            table.setNull(columnInfo.fieldIntegerNullIndex, rowIndex);
+        }
+        Long fieldLongNotNullValue = object.getFieldLongNotNull();
+        if (fieldLongNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldLongNotNull to null.");
+        }
+        table.setLong(columnInfo.fieldLongNotNullIndex, rowIndex, fieldLongNotNullValue);
+        Long fieldLongNullValue = object.getFieldLongNull();
+        if (fieldLongNullValue != null) {
+            table.setLong(columnInfo.fieldLongNullIndex, rowIndex, fieldLongNullValue);
+        } else {
+            table.setNull(columnInfo.fieldLongNullIndex, rowIndex);
+        }
+        Float fieldFloatNotNullValue = object.getFieldFloatNotNull();
+        if (fieldFloatNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldFloatNotNull to null.");
+        }
+        table.setFloat(columnInfo.fieldFloatNotNullIndex, rowIndex, fieldFloatNotNullValue);
+        Float fieldFloatNullValue = object.getFieldFloatNull();
+        if (fieldFloatNullValue != null) {
+            table.setFloat(columnInfo.fieldFloatNullIndex, rowIndex, fieldFloatNullValue);
+        } else {
+            table.setNull(columnInfo.fieldFloatNullIndex, rowIndex);
+        }
+        Double fieldDoubleNotNullValue = object.getFieldDoubleNotNull();
+        if (fieldDoubleNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldDoubleNotNull to null.");
+        }
+        table.setDouble(columnInfo.fieldDoubleNotNullIndex, rowIndex, fieldDoubleNotNullValue);
+        Double fieldDoubleNullValue = object.getFieldDoubleNull();
+        if (fieldDoubleNullValue != null) {
+            table.setDouble(columnInfo.fieldDoubleNullIndex, rowIndex, fieldDoubleNullValue);
+        } else {
+            table.setNull(columnInfo.fieldDoubleNullIndex, rowIndex);
+        }
+        Date fieldDateNotNullValue = object.getFieldDateNotNull();
+        if (fieldDateNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldDateNotNull to null.");
+        }
+        table.setDate(columnInfo.fieldDateNotNullIndex, rowIndex, fieldDateNotNullValue);
+        Date fieldDateNullValue = object.getFieldDateNull();
+        if (fieldDateNullValue != null) {
+            table.setDate(columnInfo.fieldDateNullIndex, rowIndex, fieldDateNullValue);
+        } else {
+            table.setNull(columnInfo.fieldDateNullIndex, rowIndex);
+        }
+
+        NullTypes fieldObjectNullObj = object.getFieldObjectNull();
+        if (fieldObjectNullObj != null) {
+            Long cachefieldObjectNull = cache.get(fieldObjectNullObj);
+            if (cachefieldObjectNull == null) {
+                cachefieldObjectNull = NullTypesRealmProxy.insert(realm, fieldObjectNullObj, update, cache);
             }
+            table.setLink(columnInfo.fieldObjectNullIndex, rowIndex, cachefieldObjectNull);
         } else {
-            standaloneObject = new NullTypes();
-            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
-        }
-        standaloneObject.setFieldStringNotNull(realmObject.getFieldStringNotNull());
-        standaloneObject.setFieldStringNull(realmObject.getFieldStringNull());
-        standaloneObject.setFieldBooleanNotNull(realmObject.getFieldBooleanNotNull());
-        standaloneObject.setFieldBooleanNull(realmObject.getFieldBooleanNull());
-        standaloneObject.setFieldBytesNotNull(realmObject.getFieldBytesNotNull());
-        standaloneObject.setFieldBytesNull(realmObject.getFieldBytesNull());
-        standaloneObject.setFieldByteNotNull(realmObject.getFieldByteNotNull());
-        standaloneObject.setFieldByteNull(realmObject.getFieldByteNull());
-        standaloneObject.setFieldShortNotNull(realmObject.getFieldShortNotNull());
-        standaloneObject.setFieldShortNull(realmObject.getFieldShortNull());
-        standaloneObject.setFieldIntegerNotNull(realmObject.getFieldIntegerNotNull());
-        standaloneObject.setFieldIntegerNull(realmObject.getFieldIntegerNull());
-        standaloneObject.setFieldLongNotNull(realmObject.getFieldLongNotNull());
-        standaloneObject.setFieldLongNull(realmObject.getFieldLongNull());
-        standaloneObject.setFieldFloatNotNull(realmObject.getFieldFloatNotNull());
-        standaloneObject.setFieldFloatNull(realmObject.getFieldFloatNull());
-        standaloneObject.setFieldDoubleNotNull(realmObject.getFieldDoubleNotNull());
-        standaloneObject.setFieldDoubleNull(realmObject.getFieldDoubleNull());
-        standaloneObject.setFieldDateNotNull(realmObject.getFieldDateNotNull());
-        standaloneObject.setFieldDateNull(realmObject.getFieldDateNull());
+            table.nullifyLink(columnInfo.fieldObjectNullIndex, rowIndex);
+        }
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(NullTypes object) {
+        return null;
+    }
+
+    public static NullTypes[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        NullTypes[] standaloneObjects = new NullTypes[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        NullTypes[] copiedObjects = new NullTypes[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(NullTypes.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (NullTypes) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
+                cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new NullTypes();
+                cache.put(NullTypes.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
+            }
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.schema.getColumnInfo(NullTypes.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(NullTypes.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            NullTypes standaloneObject = copiedObjects[i];
+            standaloneObject.setFieldStringNotNull(snapshot.getString(i, columnInfo.fieldStringNotNullIndex));
+            standaloneObject.setFieldStringNull(snapshot.getString(i, columnInfo.fieldStringNullIndex));
+            standaloneObject.setFieldBooleanNotNull(snapshot.getBoolean(i, columnInfo.fieldBooleanNotNullIndex));
+            standaloneObject.setFieldBooleanNull(snapshot.isNull(i, columnInfo.fieldBooleanNullIndex) ? null : snapshot.getBoolean(i, columnInfo.fieldBooleanNullIndex));
+            standaloneObject.setFieldBytesNotNull(snapshot.getBinaryByteArray(i, columnInfo.fieldBytesNotNullIndex));
+            standaloneObject.setFieldBytesNull(snapshot.getBinaryByteArray(i, columnInfo.fieldBytesNullIndex));
+            standaloneObject.setFieldByteNotNull((byte) snapshot.getLong(i, columnInfo.fieldByteNotNullIndex));
+            standaloneObject.setFieldByteNull(snapshot.isNull(i, columnInfo.fieldByteNullIndex) ? null : (byte) snapshot.getLong(i, columnInfo.fieldByteNullIndex));
+            standaloneObject.setFieldShortNotNull((short) snapshot.getLong(i, columnInfo.fieldShortNotNullIndex));
+            standaloneObject.setFieldShortNull(snapshot.isNull(i, columnInfo.fieldShortNullIndex) ? null : (short) snapshot.getLong(i, columnInfo.fieldShortNullIndex));
+            standaloneObject.setFieldIntegerNotNull((int) snapshot.getLong(i, columnInfo.fieldIntegerNotNullIndex));
+            standaloneObject.setFieldIntegerNull(snapshot.isNull(i, columnInfo.fieldIntegerNullIndex) ? null : (int) snapshot.getLong(i, columnInfo.fieldIntegerNullIndex));
+            standaloneObject.setFieldLongNotNull(snapshot.getLong(i, columnInfo.fieldLongNotNullIndex));
+            standaloneObject.setFieldLongNull(snapshot.isNull(i, columnInfo.fieldLongNullIndex) ? null : snapshot.getLong(i, columnInfo.fieldLongNullIndex));
+            standaloneObject.setFieldFloatNotNull(snapshot.getFloat(i, columnInfo.fieldFloatNotNullIndex));
+            standaloneObject.setFieldFloatNull(snapshot.isNull(i, columnInfo.fieldFloatNullIndex) ? null : snapshot.getFloat(i, columnInfo.fieldFloatNullIndex));
+            standaloneObject.setFieldDoubleNotNull(snapshot.getDouble(i, columnInfo.fieldDoubleNotNullIndex));
+            standaloneObject.setFieldDoubleNull(snapshot.isNull(i, columnInfo.fieldDoubleNullIndex) ? null : snapshot.getDouble(i, columnInfo.fieldDoubleNullIndex));
+            standaloneObject.setFieldDateNotNull(snapshot.getDate(i, columnInfo.fieldDateNotNullIndex));
+            standaloneObject.setFieldDateNull(snapshot.getDate(i, columnInfo.fieldDateNullIndex));
+        }
 
         // Deep copy of fieldObjectNull
-        standaloneObject.setFieldObjectNull(NullTypesRealmProxy.createDetachedCopy(realmObject.getFieldObjectNull(), currentDepth + 1, maxDepth, cache));
-        return standaloneObject;
+        NullTypes[] fieldObjectNullCopies = NullTypesRealmProxy.createDetachedCopies(realm, snapshot.getLinks(columnInfo.fieldObjectNullIndex), currentDepth + 1, maxDepth, cache);
+        for (int i = 0; i < copiedCount; i++) {
+            copiedObjects[i].setFieldObjectNull(fieldObjectNullCopies[i]);
+        }
+        return standaloneObjects;
     }
 
     @Override
@@ -0,0 +1,433 @@
+package io.realm;
+
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import io.realm.RealmFieldType;
+import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.LinkView;
+import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.android.JsonUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import some.test.OrderedIndexed;
+
+public class OrderedIndexedRealmProxy extends OrderedIndexed
+    implements RealmObjectProxy {
+
+    static final class OrderedIndexedColumnInfo extends ColumnInfo {
+
+        public final long amountIndex;
+        public final long createdAtIndex;
+        public final long nameIndex;
+
+        OrderedIndexedColumnInfo(String path, Table table) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(3);
+            this.amountIndex = getValidColumnIndex(path, table, "OrderedIndexed", "amount");
+            indicesMap.put("amount", this.amountIndex);
+
+            this.createdAtIndex = getValidColumnIndex(path, table, "OrderedIndexed", "createdAt");
+            indicesMap.put("createdAt", this.createdAtIndex);
+
+            this.nameIndex = getValidColumnIndex(path, table, "OrderedIndexed", "name");
+            indicesMap.put("name", this.nameIndex);
+
+            setOrderedIndices(path, table, "OrderedIndexed", "amount", "createdAt");
+            setIndicesMap(indicesMap);
+        }
+    }
+
+    private final OrderedIndexedColumnInfo columnInfo;
+    private static final List<String> FIELD_NAMES;
+    static {
+        List<String> fieldNames = new ArrayList<String>();
+        fieldNames.add("amount");
+        fieldNames.add("createdAt");
+        fieldNames.add("name");
+        FIELD_NAMES = Collections.unmodifiableList(fieldNames);
+    }
+
+    OrderedIndexedRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (OrderedIndexedColumnInfo) columnInfo;
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public long getAmount() {
+        realm.checkIfValid();
+        return (long) row.getLong(columnInfo.amountIndex);
+    }
+
+    @Override
+    public void setAmount(long value) {
+        realm.checkIfValid();
+        columnInfo.removeFromOrderedIndex(row, columnInfo.amountIndex);
+        row.setLong(columnInfo.amountIndex, value);
+        columnInfo.addToOrderedIndex(row, columnInfo.amountIndex);
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public Date getCreatedAt() {
+        realm.checkIfValid();
+        if (row.isNull(columnInfo.createdAtIndex)) {
+            return null;
+        }
+        return (java.util.Date) row.getDate(columnInfo.createdAtIndex);
+    }
+
+    @Override
+    public void setCreatedAt(Date value) {
+        realm.checkIfValid();
+        if (value == null) {
+            columnInfo.removeFromOrderedIndex(row, columnInfo.createdAtIndex);
+            row.setNull(columnInfo.createdAtIndex);
+            columnInfo.addToOrderedIndex(row, columnInfo.createdAtIndex);
+            return;
+        }
+        columnInfo.removeFromOrderedIndex(row, columnInfo.createdAtIndex);
+        row.setDate(columnInfo.createdAtIndex, value);
+        columnInfo.addToOrderedIndex(row, columnInfo.createdAtIndex);
+    }
+
+    @Override
+    @SuppressWarnings("cast")
+    public String getName() {
+        realm.checkIfValid();
+        return (java.lang.String) row.getString(columnInfo.nameIndex);
+    }
+
+    @Override
+    public void setName(String value) {
+        realm.checkIfValid();
+        if (value == null) {
+            row.setNull(columnInfo.nameIndex);
+            return;
+        }
+        row.setString(columnInfo.nameIndex, value);
+    }
+
+    public static Table initTable(ImplicitTransaction transaction) {
+        if (!transaction.hasTable("class_OrderedIndexed")) {
+            Table table = transaction.getTable("class_OrderedIndexed");
+            table.addColumn(RealmFieldType.INTEGER, "amount", Table.NOT_NULLABLE);
+            table.addColumn(RealmFieldType.DATE, "createdAt", Table.NULLABLE);
+            table.addColumn(RealmFieldType.STRING, "name", Table.NULLABLE);
+            table.addOrderedIndex(table.getColumnIndex("amount"));
+            table.addOrderedIndex(table.getColumnIndex("createdAt"));
+            table.setPrimaryKey("");
+            return table;
+        }
+        return transaction.getTable("class_OrderedIndexed");
+    }
+
+    public static OrderedIndexedColumnInfo validateTable(ImplicitTransaction transaction) {
+        if (transaction.hasTable("class_OrderedIndexed")) {
+            Table table = transaction.getTable("class_OrderedIndexed");
+            if (table.getColumnCount() != 3) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 3 but was " + table.getColumnCount());
+            }
+            Map<String, RealmFieldType> columnTypes = new HashMap<String, RealmFieldType>();
+            for (long i = 0; i < 3; i++) {
+                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            }
+
+            final OrderedIndexedColumnInfo columnInfo = new OrderedIndexedColumnInfo(transaction.getPath(), table);
+
+            if (!columnTypes.containsKey("amount")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'amount' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("amount") != RealmFieldType.INTEGER) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'long' for field 'amount' in existing Realm file.");
+            }
+            if (table.isColumnNullable(columnInfo.amountIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'amount' does support null values in the existing Realm file. Use corresponding boxed type for field 'amount' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
+            }
+            if (!columnTypes.containsKey("createdAt")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'createdAt' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("createdAt") != RealmFieldType.DATE) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'createdAt' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.createdAtIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'createdAt' is required. Either set @Required to field 'createdAt' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            if (!columnTypes.containsKey("name")) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'name' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+            }
+            if (columnTypes.get("name") != RealmFieldType.STRING) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'name' in existing Realm file.");
+            }
+            if (!table.isColumnNullable(columnInfo.nameIndex)) {
+                throw new RealmMigrationNeededException(transaction.getPath(), "Field 'name' is required. Either set @Required to field 'name' or migrate using io.realm.internal.Table.convertColumnToNullable().");
+            }
+            return columnInfo;
+        } else {
+            throw new RealmMigrationNeededException(transaction.getPath(), "The OrderedIndexed class is missing from the schema for this Realm.");
+        }
+    }
+
+    public static String getTableName() {
+        return "class_OrderedIndexed";
+    }
+
+    public static List<String> getFieldNames() {
+        return FIELD_NAMES;
+    }
+
+    @SuppressWarnings("cast")
+    public static OrderedIndexed createOrUpdateUsingJsonObject(Realm realm, JSONObject json, boolean update)
+        throws JSONException {
+        OrderedIndexed obj = realm.createObject(OrderedIndexed.class);
+        if (json.has("amount")) {
+            if (json.isNull("amount")) {
+                throw new IllegalArgumentException("Trying to set non-nullable field amount to null.");
+            } else {
+                obj.setAmount((long) json.getLong("amount"));
+            }
+        }
+        if (json.has("createdAt")) {
+            if (json.isNull("createdAt")) {
+                obj.setCreatedAt(null);
+            } else {
+                Object timestamp = json.get("createdAt");
+                if (timestamp instanceof String) {
+                    obj.setCreatedAt(JsonUtils.stringToDate((String) timestamp));
+                } else {
+                    obj.setCreatedAt(new Date(json.getLong("createdAt")));
+                }
+            }
+        }
+        if (json.has("name")) {
+            if (json.isNull("name")) {
+                obj.setName(null);
+            } else {
+                obj.setName((String) json.getString("name"));
+            }
+        }
+        return obj;
+    }
+
+    @SuppressWarnings("cast")
+    public static OrderedIndexed createUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        Table table = realm.getTable(OrderedIndexed.class);
+        OrderedIndexedColumnInfo columnInfo = (OrderedIndexedColumnInfo) realm.schema.getColumnInfo(OrderedIndexed.class);
+        RowBuffer buffer = new RowBuffer(3);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name.hashCode()) {
+                case -1413853096: {
+                    if (name.equals("amount")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field amount to null.");
+                        } else {
+                            buffer.setLong(columnInfo.amountIndex, (long) reader.nextLong());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 598371643: {
+                    if (name.equals("createdAt")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.createdAtIndex);
+                        } else if (reader.peek() == JsonToken.NUMBER) {
+                            long timestamp = reader.nextLong();
+                            if (timestamp > -1) {
+                                buffer.setDate(columnInfo.createdAtIndex, timestamp);
+                            }
+                        } else {
+                            buffer.setDate(columnInfo.createdAtIndex, JsonUtils.stringToDate(reader.nextString()));
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 3373707: {
+                    if (name.equals("name")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.nameIndex);
+                        } else {
+                            buffer.setString(columnInfo.nameIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                default: {
+                    reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+        long rowIndex = buffer.addRow(table);
+        columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex));
+        return realm.get(OrderedIndexed.class, rowIndex);
+    }
+
+    public static OrderedIndexed copyOrUpdate(Realm realm, OrderedIndexed object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        return copy(realm, object, update, cache);
+    }
+
+    public static OrderedIndexed copy(Realm realm, OrderedIndexed newObject, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
+        OrderedIndexed realmObject = realm.createObject(OrderedIndexed.class);
+        cache.put(newObject, (RealmObjectProxy) realmObject);
+        realmObject.setAmount(newObject.getAmount());
+        realmObject.setCreatedAt(newObject.getCreatedAt());
+        realmObject.setName(newObject.getName());
+        return realmObject;
+    }
+
+    public static long insert(Realm realm, OrderedIndexed object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(OrderedIndexed.class);
+        OrderedIndexedColumnInfo columnInfo = (OrderedIndexedColumnInfo) realm.schema.getColumnInfo(OrderedIndexed.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        table.setLong(columnInfo.amountIndex, rowIndex, object.getAmount());
+        Date createdAtValue = object.getCreatedAt();
+        if (createdAtValue != null) {
+            table.setDate(columnInfo.createdAtIndex, rowIndex, createdAtValue);
+        } else {
+            table.setNull(columnInfo.createdAtIndex, rowIndex);
+        }
+        String nameValue = object.getName();
+        if (nameValue != null) {
+            table.setString(columnInfo.nameIndex, rowIndex, nameValue);
+        } else {
+            table.setNull(columnInfo.nameIndex, rowIndex);
+        }
+        columnInfo.updateAllIndices(table.getUncheckedRow(rowIndex));
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(OrderedIndexed object) {
+        return null;
+    }
+
+    public static OrderedIndexed[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        OrderedIndexed[] standaloneObjects = new OrderedIndexed[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        OrderedIndexed[] copiedObjects = new OrderedIndexed[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(OrderedIndexed.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (OrderedIndexed) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
+                cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new OrderedIndexed();
+                cache.put(OrderedIndexed.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
+            }
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        OrderedIndexedColumnInfo columnInfo = (OrderedIndexedColumnInfo) realm.schema.getColumnInfo(OrderedIndexed.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(OrderedIndexed.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            OrderedIndexed standaloneObject = copiedObjects[i];
+            standaloneObject.setAmount(snapshot.getLong(i, columnInfo.amountIndex));
+            standaloneObject.setCreatedAt(snapshot.getDate(i, columnInfo.createdAtIndex));
+            standaloneObject.setName(snapshot.getString(i, columnInfo.nameIndex));
+        }
+        return standaloneObjects;
+    }
+
+    @Override
+    public String toString() {
+        if (!isValid()) {
+            return "Invalid object";
+        }
+        StringBuilder stringBuilder = new StringBuilder("OrderedIndexed = [");
+        stringBuilder.append("{amount:");
+        stringBuilder.append(getAmount());
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{createdAt:");
+        stringBuilder.append(getCreatedAt() != null ? getCreatedAt() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append(",");
+        stringBuilder.append("{name:");
+        stringBuilder.append(getName() != null ? getName() : "null");
+        stringBuilder.append("}");
+        stringBuilder.append("]");
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        String realmName = realm.getPath();
+        String tableName = row.getTable().getName();
+        long rowIndex = row.getIndex();
+
+        int result = 17;
+        result = 31 * result + ((realmName != null) ? realmName.hashCode() : 0);
+        result = 31 * result + ((tableName != null) ? tableName.hashCode() : 0);
+        result = 31 * result + (int) (rowIndex ^ (rowIndex >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderedIndexedRealmProxy aOrderedIndexed = (OrderedIndexedRealmProxy)o;
+
+        String path = realm.getPath();
+        String otherPath = aOrderedIndexed.realm.getPath();
+        if (path != null ? !path.equals(otherPath) : otherPath != null) return false;;
+
+        String tableName = row.getTable().getName();
+        String otherTableName = aOrderedIndexed.row.getTable().getName();
+        if (tableName != null ? !tableName.equals(otherTableName) : otherTableName != null) return false;
+
+        if (row.getIndex() != aOrderedIndexed.row.getIndex()) return false;
+
+        return true;
+    }
+
+}
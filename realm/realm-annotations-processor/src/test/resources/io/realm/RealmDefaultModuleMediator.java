@@ -3,11 +3,13 @@ package io.realm;
 
 import android.util.JsonReader;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -101,6 +103,32 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public void insert(Realm realm, RealmObject object, boolean update, Map<RealmObject, Long> cache) {
+        // This cast is correct because object is either
+        // generated by RealmProxy or the original type extending directly from RealmObject
+        @SuppressWarnings("unchecked") Class<RealmObject> clazz = (Class<RealmObject>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass());
+
+        if (clazz.equals(AllTypes.class)) {
+            AllTypesRealmProxy.insert(realm, (AllTypes) object, update, cache);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public Object getPrimaryKey(RealmObject object) {
+        // This cast is correct because object is either
+        // generated by RealmProxy or the original type extending directly from RealmObject
+        @SuppressWarnings("unchecked") Class<RealmObject> clazz = (Class<RealmObject>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass());
+
+        if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.getPrimaryKey((AllTypes) object);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
             throws JSONException {
@@ -126,13 +154,12 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
     }
 
     @Override
-    public <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
-        // This cast is correct because obj is either
-        // generated by RealmProxy or the original type extending directly from RealmObject
-        @SuppressWarnings("unchecked") Class<E> clazz = (Class<E>) realmObject.getClass().getSuperclass();
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndices, int maxDepth, DetachedCopyCache cache) {
+        checkClass(clazz);
 
         if (clazz.equals(AllTypes.class)) {
-            return clazz.cast(AllTypesRealmProxy.createDetachedCopy((AllTypes) realmObject, 0, maxDepth, cache));
+            return (List<E>) (List<?>) Arrays.asList(AllTypesRealmProxy.createDetachedCopies(realm, rowIndices, 0, maxDepth, cache));
         } else {
             throw getMissingProxyClassException(clazz);
         }
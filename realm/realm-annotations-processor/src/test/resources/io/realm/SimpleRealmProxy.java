@@ -6,14 +6,18 @@ import android.util.JsonToken;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBuffer;
+import io.realm.internal.RowSnapshot;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -167,30 +171,47 @@ public class SimpleRealmProxy extends Simple
     @SuppressWarnings("cast")
     public static Simple createUsingJsonStream(Realm realm, JsonReader reader)
             throws IOException {
-        Simple obj = realm.createObject(Simple.class);
+        Table table = realm.getTable(Simple.class);
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.schema.getColumnInfo(Simple.class);
+        RowBuffer buffer = new RowBuffer(2);
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("name")) {
-                if (reader.peek() == JsonToken.NULL) {
-                    reader.skipValue();
-                    obj.setName(null);
-                } else {
-                    obj.setName((String) reader.nextString());
+            switch (name.hashCode()) {
+                case 3373707: {
+                    if (name.equals("name")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            buffer.setNull(columnInfo.nameIndex);
+                        } else {
+                            buffer.setString(columnInfo.nameIndex, (String) reader.nextString());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                }
+                case 96511: {
+                    if (name.equals("age")) {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                            throw new IllegalArgumentException("Trying to set non-nullable field age to null.");
+                        } else {
+                            buffer.setLong(columnInfo.ageIndex, (int) reader.nextInt());
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
                 }
-            } else if (name.equals("age")) {
-                if (reader.peek() == JsonToken.NULL) {
+                default: {
                     reader.skipValue();
-                    throw new IllegalArgumentException("Trying to set non-nullable field age to null.");
-                } else {
-                    obj.setAge((int) reader.nextInt());
                 }
-            } else {
-                reader.skipValue();
             }
         }
         reader.endObject();
-        return obj;
+        long rowIndex = buffer.addRow(table);
+        return realm.get(Simple.class, rowIndex);
     }
 
     public static Simple copyOrUpdate(Realm realm, Simple object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
@@ -208,27 +229,68 @@ public class SimpleRealmProxy extends Simple
         return realmObject;
     }
 
-    public static Simple createDetachedCopy(Simple realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
-        if (currentDepth > maxDepth || realmObject == null) {
-            return null;
+    public static long insert(Realm realm, Simple object, boolean update, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
         }
-        CacheData<Simple> cachedObject = (CacheData) cache.get(realmObject);
-        Simple standaloneObject;
-        if (cachedObject != null) {
-            // Reuse cached object or recreate it because it was encountered at a lower depth.
-            if (currentDepth >= cachedObject.minDepth) {
-                return cachedObject.object;
-            } else {
-                standaloneObject = cachedObject.object;
+        Table table = realm.getTable(Simple.class);
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.schema.getColumnInfo(Simple.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        String nameValue = object.getName();
+        if (nameValue != null) {
+            table.setString(columnInfo.nameIndex, rowIndex, nameValue);
+        } else {
+            table.setNull(columnInfo.nameIndex, rowIndex);
+        }
+        table.setLong(columnInfo.ageIndex, rowIndex, object.getAge());
+        return rowIndex;
+    }
+
+    public static Object getPrimaryKey(Simple object) {
+        return null;
+    }
+
+    public static Simple[] createDetachedCopies(Realm realm, long[] rowIndices, int currentDepth, int maxDepth, DetachedCopyCache cache) {
+        Simple[] standaloneObjects = new Simple[rowIndices.length];
+        if (currentDepth > maxDepth) {
+            return standaloneObjects;
+        }
+        long[] copiedRowIndices = new long[rowIndices.length];
+        Simple[] copiedObjects = new Simple[rowIndices.length];
+        int copiedCount = 0;
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            CacheData<RealmObject> cachedObject = cache.get(Simple.class, rowIndices[i]);
+            if (cachedObject != null) {
+                // Reuse cached object or recreate it because it was encountered at a lower depth.
+                standaloneObjects[i] = (Simple) cachedObject.object;
+                if (currentDepth >= cachedObject.minDepth) {
+                    continue;
+                }
                 cachedObject.minDepth = currentDepth;
+            } else {
+                standaloneObjects[i] = new Simple();
+                cache.put(Simple.class, rowIndices[i], new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObjects[i]));
             }
-        } else {
-            standaloneObject = new Simple();
-            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+            copiedRowIndices[copiedCount] = rowIndices[i];
+            copiedObjects[copiedCount++] = standaloneObjects[i];
+        }
+        if (copiedCount == 0) {
+            return standaloneObjects;
+        }
+
+        // All fields of the copied rows are read with a single native call.
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.schema.getColumnInfo(Simple.class);
+        RowSnapshot snapshot = new RowSnapshot(realm.getTable(Simple.class), Arrays.copyOf(copiedRowIndices, copiedCount));
+        for (int i = 0; i < copiedCount; i++) {
+            Simple standaloneObject = copiedObjects[i];
+            standaloneObject.setName(snapshot.getString(i, columnInfo.nameIndex));
+            standaloneObject.setAge((int) snapshot.getLong(i, columnInfo.ageIndex));
         }
-        standaloneObject.setName(realmObject.getName());
-        standaloneObject.setAge(realmObject.getAge());
-        return standaloneObject;
+        return standaloneObjects;
     }
 
     @Override
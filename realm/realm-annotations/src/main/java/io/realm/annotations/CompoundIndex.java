@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation will add a compound index spanning several fields of the class. Queries with an
+ * {@code equalTo()} or {@code isNull()} condition on every field of the index will find the matching objects through
+ * the index instead of scanning all objects matching any single field.
+ * <pre>
+ * {@literal @}CompoundIndex({"tenantId", "status", "day"})
+ * public class Order extends RealmObject { ... }
+ * </pre>
+ * Like {@link Index}, a compound index makes the Realm file larger and inserts slower. Use {@link CompoundIndexes}
+ * to declare more than one compound index on a class.
+ * <p>
+ * The index only finds objects by the values of all its fields. Queries with conditions on a leading part of the
+ * fields only, e.g. on "tenantId" and "status" above, don't use it, so declare a separate compound index for them.
+ * <p>
+ * NOTICE: Only String, int, byte, short, long, boolean and Date fields can be part of a compound index, and at least
+ * two fields are required.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CompoundIndex {
+
+    /**
+     * The names of the indexed fields, in order.
+     */
+    String[] value();
+}
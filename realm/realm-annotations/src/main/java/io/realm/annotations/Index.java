@@ -25,7 +25,8 @@ import java.lang.annotation.Target;
  * This annotation will add a search index to the field. A search index will make the
  * Realm file larger and inserts slower but queries will be faster. 
  * <p>
- * NOTICE: Only String, int, byte, short, long, boolean and Date fields can be indexed.
+ * NOTICE: Only String, int, byte, short, long, boolean, float, double and Date fields can be indexed. Float and double
+ * fields get an {@link OrderedIndex} instead of a search index, which is used for both equality and range queries.
  */
 @Retention(RetentionPolicy.CLASS)
 @Target(ElementType.FIELD)
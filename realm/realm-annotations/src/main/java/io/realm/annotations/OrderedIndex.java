@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation will add an ordered index to the field. An ordered index keeps all objects sorted by the field, so
+ * range queries like {@code between()}, {@code greaterThan()} and {@code lessThan()} only look at the objects within
+ * the range, and {@code findAllSorted()} on the field doesn't have to sort. Like a search index, it makes the Realm
+ * file larger and inserts slower.
+ * <p>
+ * NOTICE: Only int, byte, short, long, float, double and Date fields can have an ordered index.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface OrderedIndex {
+
+}
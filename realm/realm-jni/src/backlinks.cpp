@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <map>
+#include <mutex>
+
+#include "backlinks.hpp"
+
+using namespace realm;
+
+namespace {
+
+struct BacklinkView {
+    TableRef origin;
+    size_t column;
+    Row target; // Core keeps the accessor pointing at the row when it is moved and detaches it on deletion.
+    bool sorted;
+    SortDescriptor descriptor;
+};
+
+std::mutex backlink_views_mutex;
+std::map<const TableView*, BacklinkView> backlink_views;
+
+TableView query_backlinks(Table& origin, size_t column, size_t target_row)
+{
+    const Table& target = *origin.get_link_target(column);
+    size_t count = target.get_backlink_count(target_row, origin, column);
+    if (count == 0) {
+        // No limit is a query that never matches.
+        return origin.where().find_all(0, npos, 0);
+    }
+    size_t begin = npos;
+    size_t end = 0;
+    for (size_t i = 0; i < count; ++i) {
+        size_t row = target.get_backlink(target_row, origin, column, i);
+        begin = std::min(begin, row);
+        end = std::max(end, row + 1);
+    }
+    Query query = origin.where();
+    query.links_to(column, target_row);
+    return query.find_all(begin, end);
+}
+
+} // anonymous namespace
+
+TableView* find_backlinks(Table& origin, size_t column, size_t target_row)
+{
+    TableRef target_table = origin.get_link_target(column);
+    TableView* view = new TableView(query_backlinks(origin, column, target_row));
+
+    std::lock_guard<std::mutex> lock(backlink_views_mutex);
+    backlink_views.insert(std::make_pair(view, BacklinkView{origin.get_table_ref(), column,
+            Row((*target_table)[target_row]), false, SortDescriptor()}));
+    return view;
+}
+
+void refresh_backlinks(TableView& view)
+{
+    std::lock_guard<std::mutex> lock(backlink_views_mutex);
+    auto it = backlink_views.find(&view);
+    if (it == backlink_views.end() || view.is_in_sync()) {
+        return;
+    }
+    BacklinkView& backlink_view = it->second;
+    if (!backlink_view.origin->is_attached()) {
+        backlink_views.erase(it);
+        return;
+    }
+    if (!backlink_view.target.is_attached()) {
+        // The view stays empty when core syncs it from now on.
+        view = backlink_view.origin->where().find_all(0, npos, 0);
+        backlink_views.erase(it);
+        return;
+    }
+    view = query_backlinks(*backlink_view.origin, backlink_view.column, backlink_view.target.get_index());
+    if (backlink_view.sorted) {
+        sort_view(view, backlink_view.descriptor);
+    }
+}
+
+void keep_backlinks_sorted(TableView* view, const SortDescriptor& descriptor)
+{
+    std::lock_guard<std::mutex> lock(backlink_views_mutex);
+    auto it = backlink_views.find(view);
+    if (it != backlink_views.end()) {
+        it->second.sorted = true;
+        it->second.descriptor = descriptor;
+    }
+}
+
+void forget_backlinks(TableView* view)
+{
+    std::lock_guard<std::mutex> lock(backlink_views_mutex);
+    backlink_views.erase(view);
+}
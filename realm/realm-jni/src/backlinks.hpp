@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_BACKLINKS_HPP
+#define REALM_JAVA_BACKLINKS_HPP
+
+#include <realm.hpp>
+
+#include "sortutil.hpp"
+
+// Core keeps a backlink for every link and link list entry, so the rows linking to a row are known
+// without looking at the origin table. Core can't build a view from them, so a view of those rows
+// is built by a query for the links to the row, restricted to the rows between the first and the
+// last backlink. Only the link column of that range is scanned.
+
+// Returns a view of the rows of the origin table linking to the target row through the column.
+// The range of the query and the index of the target row change when rows are added, moved or
+// deleted, so the view is rebuilt by sync_view() instead of being synced by core. The view is
+// empty once the target row is deleted.
+realm::TableView* find_backlinks(realm::Table& origin, size_t column, size_t target_row);
+
+// Called by sync_view() before the view is synced. Rebuilds the view if it is a view of
+// backlinks and is out of sync.
+void refresh_backlinks(realm::TableView& view);
+
+// Remembers the sort of a view of backlinks, so it can be re-applied when the view is rebuilt.
+void keep_backlinks_sorted(realm::TableView* view, const SortDescriptor& descriptor);
+
+// Stops tracking the view. Must be called when the view is deleted.
+void forget_backlinks(realm::TableView* view);
+
+#endif // REALM_JAVA_BACKLINKS_HPP
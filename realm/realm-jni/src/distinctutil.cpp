@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <map>
+#include <mutex>
+#include <unordered_set>
+
+#include "util.hpp"
+#include "orderedindex.hpp"
+#include "distinctutil.hpp"
+
+using namespace realm;
+
+namespace {
+
+// Every distinct applied to a view restricts the rows left by the previous ones.
+struct Distinct {
+    std::vector<std::vector<size_t>> column_sets;
+    uint_fast64_t version;
+};
+
+// Live distincts, keyed by TableView.
+std::mutex distincts_mutex;
+std::map<const void*, Distinct> distincts;
+
+} // anonymous namespace
+
+int64_t get_key(const Table& table, size_t column, size_t row)
+{
+    switch (table.get_column_type(column)) {
+        case type_Bool:
+            return table.get_bool(column, row) ? 1 : 0;
+        case type_Int:
+            return table.get_int(column, row);
+        case type_DateTime:
+            return table.get_datetime(column, row).get_datetime();
+        case type_Float:
+            return ordered_key(table.get_float(column, row));
+        case type_Double:
+            return ordered_key(table.get_double(column, row));
+        default:
+            REALM_ASSERT(false);
+            return 0;
+    }
+}
+
+size_t RowHash::operator()(size_t row) const
+{
+    size_t hash = 0;
+    for (size_t column : *columns) {
+        size_t value = 0;
+        if (is_null_value(*table, column, row)) {
+            value = 1;
+        }
+        else if (table->get_column_type(column) == type_String) {
+            StringData str = table->get_string(column, row);
+            for (size_t i = 0; i < str.size(); ++i) {
+                value = value * 31 + static_cast<unsigned char>(str[i]);
+            }
+        }
+        else {
+            int64_t key = get_key(*table, column, row);
+            value = static_cast<size_t>(key ^ (key >> 32));
+        }
+        hash = hash * 31 + value;
+    }
+    return hash;
+}
+
+bool RowEqual::operator()(size_t row1, size_t row2) const
+{
+    for (size_t column : *columns) {
+        bool null1 = is_null_value(*table, column, row1);
+        bool null2 = is_null_value(*table, column, row2);
+        if (null1 || null2) {
+            if (null1 != null2) {
+                return false;
+            }
+        }
+        else if (table->get_column_type(column) == type_String) {
+            if (table->get_string(column, row1) != table->get_string(column, row2)) {
+                return false;
+            }
+        }
+        else if (get_key(*table, column, row1) != get_key(*table, column, row2)) {
+            return false;
+        }
+    }
+    return true;
+}
+
+void distinct_view(TableView& view, const std::vector<size_t>& columns)
+{
+    const Table& table = view.get_parent();
+    size_t size = view.size();
+    std::unordered_set<size_t, RowHash, RowEqual> seen(size, RowHash{&table, &columns},
+                                                       RowEqual{&table, &columns});
+    std::vector<size_t> rows;
+    rows.reserve(size);
+    for (size_t i = 0; i < size; ++i) {
+        size_t row = view.get_source_ndx(i);
+        if (!view.is_row_attached(i) || seen.insert(row).second) {
+            rows.push_back(row);
+        }
+    }
+    if (rows.size() == size) {
+        return;
+    }
+    view.m_row_indexes.clear();
+    for (size_t row : rows) {
+        view.m_row_indexes.add(row);
+    }
+}
+
+bool read_distinct_columns(JNIEnv* env, const Table& table, const jlong* column_indices,
+                           size_t count, std::vector<size_t>& columns)
+{
+    if (count == 0) {
+        ThrowException(env, IllegalArgument, "You must provide at least one field name.");
+        return false;
+    }
+    for (size_t i = 0; i < count; ++i) {
+        if (!COL_INDEX_VALID(env, &table, column_indices[i])) {
+            return false;
+        }
+        switch (table.get_column_type(S(column_indices[i]))) {
+            case type_Bool:
+            case type_Int:
+            case type_DateTime:
+            case type_Float:
+            case type_Double:
+            case type_String:
+                columns.push_back(S(column_indices[i]));
+                break;
+            default:
+                ThrowException(env, IllegalArgument, "Invalid type - Only String, Date, boolean, byte, short, int, long, float, double and their boxed variants are supported.");
+                return false;
+        }
+    }
+    return true;
+}
+
+void keep_distinct(TableView& view, const std::vector<size_t>& columns)
+{
+    uint_fast64_t version = view.sync_if_needed();
+    distinct_view(view, columns);
+
+    std::lock_guard<std::mutex> lock(distincts_mutex);
+    Distinct& distinct = distincts[&view];
+    distinct.column_sets.push_back(columns);
+    distinct.version = version;
+}
+
+void refresh_distinct(TableView& view, uint_fast64_t version)
+{
+    std::lock_guard<std::mutex> lock(distincts_mutex);
+    auto it = distincts.find(&view);
+    if (it != distincts.end() && it->second.version != version) {
+        for (const std::vector<size_t>& columns : it->second.column_sets) {
+            distinct_view(view, columns);
+        }
+        it->second.version = version;
+    }
+}
+
+void forget_distinct(const void* key)
+{
+    std::lock_guard<std::mutex> lock(distincts_mutex);
+    distincts.erase(key);
+}
+
+void resume_distinct(TableView& view, const std::vector<size_t>& columns)
+{
+    std::lock_guard<std::mutex> lock(distincts_mutex);
+    Distinct& distinct = distincts[&view];
+    distinct.column_sets.push_back(columns);
+    distinct.version = view.sync_if_needed();
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_DISTINCTUTIL_HPP
+#define REALM_JAVA_DISTINCTUTIL_HPP
+
+#include <vector>
+
+#include <jni.h>
+#include <realm.hpp>
+
+// Core only supports distinct on a single column having a search index. Distinct views on any
+// number of columns, indexed or not, are built here by hashing the values of the columns of every
+// row in the view. The first row of every combination of values is kept, in the order of the view.
+
+// Values of Bool, Int, DateTime, Float and Double columns as an int64_t ordered like the values.
+// Floats and doubles are compared by their ordered keys, so 0.0 and -0.0 are the same value and
+// NaN is equal to itself.
+int64_t get_key(const realm::Table& table, size_t column, size_t row);
+
+inline bool is_null_value(const realm::Table& table, size_t column, size_t row)
+{
+    return table.is_nullable(column) && table.is_null(column, row);
+}
+
+// Hashes and compares rows of a table by the values of the given columns.
+struct RowHash {
+    const realm::Table* table;
+    const std::vector<size_t>* columns;
+
+    size_t operator()(size_t row) const;
+};
+
+struct RowEqual {
+    const realm::Table* table;
+    const std::vector<size_t>* columns;
+
+    bool operator()(size_t row1, size_t row2) const;
+};
+
+// Validates the columns of a distinct against the given table. Returns false with a pending Java
+// exception if a column doesn't exist or has an unsupported type.
+bool read_distinct_columns(JNIEnv* env, const realm::Table& table, const jlong* column_indices,
+                           size_t count, std::vector<size_t>& columns);
+
+// Removes the rows of the view having the same values in the columns as a previous row, once.
+void distinct_view(realm::TableView& view, const std::vector<size_t>& columns);
+
+// Removes the rows of the view having the same values in the columns as a previous row, and keeps
+// the view distinct. Core re-runs the query when a view is synced, so the distinct is remembered
+// here and re-applied by sync_view(). A view can be made distinct several times, each distinct
+// restricting the rows left by the previous ones.
+void keep_distinct(realm::TableView& view, const std::vector<size_t>& columns);
+
+// Called by sync_view() after the view is synced and sorted.
+void refresh_distinct(realm::TableView& view, uint_fast64_t version);
+
+// Forgets the distinct of a view, if any. Must be called when the view is deleted.
+void forget_distinct(const void* key);
+
+// Keeps a view distinct on columns it is already distinct on, e.g. a view imported from a
+// handover, see viewhandover.hpp.
+void resume_distinct(realm::TableView& view, const std::vector<size_t>& columns);
+
+#endif // REALM_JAVA_DISTINCTUTIL_HPP
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <unordered_map>
+
+#include "util.hpp"
+#include "distinctutil.hpp"
+#include "groupby.hpp"
+
+using namespace realm;
+
+namespace {
+
+// Counts are kept in `count`. Sums, minimums and maximums of Int and DateTime columns are kept in
+// `int_value`, all other values in `double_value`.
+struct Accumulator {
+    int64_t int_value = 0;
+    double double_value = 0;
+    size_t count = 0;
+};
+
+inline bool is_integral(DataType type)
+{
+    return type == type_Int || type == type_DateTime;
+}
+
+// The value of a row as it is aggregated. Dates are aggregated in seconds, the way core stores them.
+inline int64_t get_integral(const Table& table, size_t column, size_t row)
+{
+    if (table.get_column_type(column) == type_DateTime) {
+        return table.get_datetime(column, row).get_datetime();
+    }
+    return table.get_int(column, row);
+}
+
+inline double get_floating(const Table& table, size_t column, size_t row)
+{
+    if (table.get_column_type(column) == type_Float) {
+        return table.get_float(column, row);
+    }
+    return table.get_double(column, row);
+}
+
+void accumulate(const Table& table, const AggregateSpec& aggregate, size_t row, Accumulator& acc)
+{
+    if (aggregate.column == npos) {
+        ++acc.count;
+        return;
+    }
+    if (is_null_value(table, aggregate.column, row)) {
+        return;
+    }
+    if (aggregate.kind == aggregate_Count) {
+        ++acc.count;
+        return;
+    }
+    bool first = (acc.count++ == 0);
+    if (is_integral(table.get_column_type(aggregate.column))) {
+        int64_t value = get_integral(table, aggregate.column, row);
+        switch (aggregate.kind) {
+            case aggregate_Sum:
+            case aggregate_Average:
+                acc.int_value += value;
+                break;
+            case aggregate_Minimum:
+                if (first || value < acc.int_value)
+                    acc.int_value = value;
+                break;
+            case aggregate_Maximum:
+                if (first || value > acc.int_value)
+                    acc.int_value = value;
+                break;
+            default:
+                break;
+        }
+    }
+    else {
+        double value = get_floating(table, aggregate.column, row);
+        switch (aggregate.kind) {
+            case aggregate_Sum:
+            case aggregate_Average:
+                acc.double_value += value;
+                break;
+            case aggregate_Minimum:
+                if (first || value < acc.double_value)
+                    acc.double_value = value;
+                break;
+            case aggregate_Maximum:
+                if (first || value > acc.double_value)
+                    acc.double_value = value;
+                break;
+            default:
+                break;
+        }
+    }
+}
+
+// Orders groups by the values of their first rows in the key columns, nulls first.
+struct GroupLess {
+    const Table* table;
+    const std::vector<size_t>* columns;
+
+    bool operator()(size_t row1, size_t row2) const
+    {
+        for (size_t column : *columns) {
+            bool null1 = is_null_value(*table, column, row1);
+            bool null2 = is_null_value(*table, column, row2);
+            if (null1 || null2) {
+                if (null1 != null2)
+                    return null1;
+                continue;
+            }
+            if (table->get_column_type(column) == type_String) {
+                StringData str1 = table->get_string(column, row1);
+                StringData str2 = table->get_string(column, row2);
+                if (str1 != str2)
+                    return str1 < str2;
+                continue;
+            }
+            int64_t key1 = get_key(*table, column, row1);
+            int64_t key2 = get_key(*table, column, row2);
+            if (key1 != key2)
+                return key1 < key2;
+        }
+        return false;
+    }
+};
+
+template <typename T, typename JArray>
+bool set_array(JNIEnv* env, jobjectArray result, jsize index, JArray array,
+               void (JNIEnv::*set_region)(JArray, jsize, jsize, const T*), const std::vector<T>& values)
+{
+    if (array == NULL)
+        return false; // OutOfMemoryError is pending.
+    (env->*set_region)(array, 0, static_cast<jsize>(values.size()), values.data());
+    env->SetObjectArrayElement(result, index, array);
+    env->DeleteLocalRef(array);
+    return true;
+}
+
+bool set_longs(JNIEnv* env, jobjectArray result, jsize index, const std::vector<jlong>& values)
+{
+    return set_array(env, result, index, env->NewLongArray(static_cast<jsize>(values.size())),
+                     &JNIEnv::SetLongArrayRegion, values);
+}
+
+bool set_doubles(JNIEnv* env, jobjectArray result, jsize index, const std::vector<jdouble>& values)
+{
+    return set_array(env, result, index, env->NewDoubleArray(static_cast<jsize>(values.size())),
+                     &JNIEnv::SetDoubleArrayRegion, values);
+}
+
+bool set_floats(JNIEnv* env, jobjectArray result, jsize index, const std::vector<jfloat>& values)
+{
+    return set_array(env, result, index, env->NewFloatArray(static_cast<jsize>(values.size())),
+                     &JNIEnv::SetFloatArrayRegion, values);
+}
+
+bool set_booleans(JNIEnv* env, jobjectArray result, jsize index, const std::vector<jboolean>& values)
+{
+    return set_array(env, result, index, env->NewBooleanArray(static_cast<jsize>(values.size())),
+                     &JNIEnv::SetBooleanArrayRegion, values);
+}
+
+bool set_keys(JNIEnv* env, jobjectArray result, jsize index, const Table& table, size_t column,
+              const std::vector<size_t>& first_rows)
+{
+    size_t size = first_rows.size();
+    std::vector<jboolean> nulls(size);
+    for (size_t i = 0; i < size; ++i) {
+        nulls[i] = is_null_value(table, column, first_rows[i]);
+    }
+
+    switch (table.get_column_type(column)) {
+        case type_Bool: {
+            std::vector<jboolean> values(size);
+            for (size_t i = 0; i < size; ++i) {
+                values[i] = !nulls[i] && table.get_bool(column, first_rows[i]);
+            }
+            if (!set_booleans(env, result, index, values))
+                return false;
+            break;
+        }
+        case type_Int:
+        case type_DateTime: {
+            bool date = table.get_column_type(column) == type_DateTime;
+            std::vector<jlong> values(size);
+            for (size_t i = 0; i < size; ++i) {
+                if (!nulls[i]) {
+                    int64_t value = get_integral(table, column, first_rows[i]);
+                    values[i] = date ? value * 1000 : value;
+                }
+            }
+            if (!set_longs(env, result, index, values))
+                return false;
+            break;
+        }
+        case type_Float: {
+            std::vector<jfloat> values(size);
+            for (size_t i = 0; i < size; ++i) {
+                values[i] = nulls[i] ? 0 : table.get_float(column, first_rows[i]);
+            }
+            if (!set_floats(env, result, index, values))
+                return false;
+            break;
+        }
+        case type_Double: {
+            std::vector<jdouble> values(size);
+            for (size_t i = 0; i < size; ++i) {
+                values[i] = nulls[i] ? 0 : table.get_double(column, first_rows[i]);
+            }
+            if (!set_doubles(env, result, index, values))
+                return false;
+            break;
+        }
+        case type_String: {
+            jclass string_class = env->FindClass("java/lang/String");
+            if (string_class == NULL)
+                return false;
+            jobjectArray values = env->NewObjectArray(static_cast<jsize>(size), string_class, NULL);
+            env->DeleteLocalRef(string_class);
+            if (values == NULL)
+                return false;
+            for (size_t i = 0; i < size; ++i) {
+                if (nulls[i])
+                    continue;
+                jstring value = to_jstring(env, table.get_string(column, first_rows[i]));
+                if (value == NULL)
+                    return false;
+                env->SetObjectArrayElement(values, static_cast<jsize>(i), value);
+                env->DeleteLocalRef(value);
+            }
+            env->SetObjectArrayElement(result, index, values);
+            env->DeleteLocalRef(values);
+            break;
+        }
+        default:
+            REALM_ASSERT(false);
+            break;
+    }
+    return set_booleans(env, result, index + 1, nulls);
+}
+
+bool set_aggregates(JNIEnv* env, jobjectArray result, jsize index, const Table& table,
+                    const AggregateSpec& aggregate, const std::vector<Accumulator>& accumulators)
+{
+    size_t size = accumulators.size();
+    std::vector<jboolean> nulls(size);
+
+    if (aggregate.kind == aggregate_Count) {
+        std::vector<jlong> values(size);
+        for (size_t i = 0; i < size; ++i) {
+            values[i] = static_cast<jlong>(accumulators[i].count);
+        }
+        return set_longs(env, result, index, values) && set_booleans(env, result, index + 1, nulls);
+    }
+
+    DataType type = table.get_column_type(aggregate.column);
+    bool date = type == type_DateTime;
+    if (aggregate.kind == aggregate_Average) {
+        std::vector<jdouble> values(size);
+        for (size_t i = 0; i < size; ++i) {
+            const Accumulator& acc = accumulators[i];
+            nulls[i] = acc.count == 0;
+            if (acc.count > 0) {
+                double sum = is_integral(type) ? static_cast<double>(acc.int_value) : acc.double_value;
+                values[i] = sum / acc.count;
+            }
+        }
+        return set_doubles(env, result, index, values) && set_booleans(env, result, index + 1, nulls);
+    }
+
+    bool has_nulls = aggregate.kind != aggregate_Sum;
+    for (size_t i = 0; i < size; ++i) {
+        nulls[i] = has_nulls && accumulators[i].count == 0;
+    }
+    if (is_integral(type)) {
+        std::vector<jlong> values(size);
+        for (size_t i = 0; i < size; ++i) {
+            values[i] = date ? accumulators[i].int_value * 1000 : accumulators[i].int_value;
+        }
+        return set_longs(env, result, index, values) && set_booleans(env, result, index + 1, nulls);
+    }
+    std::vector<jdouble> values(size);
+    for (size_t i = 0; i < size; ++i) {
+        values[i] = accumulators[i].double_value;
+    }
+    return set_doubles(env, result, index, values) && set_booleans(env, result, index + 1, nulls);
+}
+
+} // anonymous namespace
+
+bool read_group_by(JNIEnv* env, const Table& table, jlongArray key_column_indices,
+                   jbyteArray aggregate_kinds, jlongArray aggregate_column_indices,
+                   std::vector<size_t>& keys, std::vector<AggregateSpec>& aggregates)
+{
+    JniLongArray key_indices(env, key_column_indices);
+    if (!read_distinct_columns(env, table, key_indices.ptr(), key_indices.len(), keys))
+        return false;
+
+    JniLongArray columns(env, aggregate_column_indices);
+    std::vector<jbyte> kinds(columns.len());
+    env->GetByteArrayRegion(aggregate_kinds, 0, static_cast<jsize>(kinds.size()), kinds.data());
+    for (size_t i = 0; i < kinds.size(); ++i) {
+        AggregateKind kind = static_cast<AggregateKind>(kinds[i]);
+        if (kind == aggregate_Count && columns[i] < 0) {
+            aggregates.push_back(AggregateSpec{kind, npos});
+            continue;
+        }
+        if (!COL_INDEX_VALID(env, &table, columns[i]))
+            return false;
+        size_t column = S(columns[i]);
+        DataType type = table.get_column_type(column);
+        bool valid;
+        switch (kind) {
+            case aggregate_Count:
+                valid = type == type_Bool || type == type_Int || type == type_DateTime || type == type_Float ||
+                        type == type_Double || type == type_String;
+                break;
+            case aggregate_Sum:
+            case aggregate_Average:
+                valid = type == type_Int || type == type_Float || type == type_Double;
+                break;
+            case aggregate_Minimum:
+            case aggregate_Maximum:
+                valid = type == type_Int || type == type_DateTime || type == type_Float || type == type_Double;
+                break;
+            default:
+                ThrowException(env, IllegalArgument, "Unknown aggregate.");
+                return false;
+        }
+        if (!valid) {
+            ThrowException(env, IllegalArgument, "Invalid type - The aggregate is not supported for the column '"
+                           + std::string(table.get_column_name(column)) + "'.");
+            return false;
+        }
+        aggregates.push_back(AggregateSpec{kind, column});
+    }
+    return true;
+}
+
+jobjectArray group_by(JNIEnv* env, const TableView& view, const std::vector<size_t>& keys,
+                      const std::vector<AggregateSpec>& aggregates)
+{
+    const Table& table = view.get_parent();
+
+    // Maps the first row of every group to the index of the group.
+    std::unordered_map<size_t, size_t, RowHash, RowEqual> groups(16, RowHash{&table, &keys},
+                                                                 RowEqual{&table, &keys});
+    std::vector<size_t> first_rows;
+    std::vector<size_t> counts;
+    std::vector<std::vector<Accumulator>> accumulators(aggregates.size());
+
+    size_t size = view.size();
+    for (size_t i = 0; i < size; ++i) {
+        if (!view.is_row_attached(i))
+            continue;
+        size_t row = view.get_source_ndx(i);
+        auto inserted = groups.insert(std::make_pair(row, first_rows.size()));
+        size_t group = inserted.first->second;
+        if (inserted.second) {
+            first_rows.push_back(row);
+            counts.push_back(0);
+            for (std::vector<Accumulator>& accs : accumulators) {
+                accs.emplace_back();
+            }
+        }
+        ++counts[group];
+        for (size_t j = 0; j < aggregates.size(); ++j) {
+            accumulate(table, aggregates[j], row, accumulators[j][group]);
+        }
+    }
+
+    // Sorts the groups by their keys.
+    std::vector<size_t> order(first_rows.size());
+    for (size_t i = 0; i < order.size(); ++i) {
+        order[i] = i;
+    }
+    GroupLess less{&table, &keys};
+    std::sort(order.begin(), order.end(), [&](size_t group1, size_t group2) {
+        return less(first_rows[group1], first_rows[group2]);
+    });
+
+    std::vector<size_t> sorted_rows(order.size());
+    std::vector<jlong> sorted_counts(order.size());
+    std::vector<std::vector<Accumulator>> sorted_accumulators(aggregates.size());
+    for (size_t i = 0; i < order.size(); ++i) {
+        sorted_rows[i] = first_rows[order[i]];
+        sorted_counts[i] = static_cast<jlong>(counts[order[i]]);
+        for (size_t j = 0; j < aggregates.size(); ++j) {
+            sorted_accumulators[j].push_back(accumulators[j][order[i]]);
+        }
+    }
+
+    jclass object_class = env->FindClass("java/lang/Object");
+    if (object_class == NULL)
+        return NULL;
+    jsize length = static_cast<jsize>(1 + 2 * keys.size() + 2 * aggregates.size());
+    jobjectArray result = env->NewObjectArray(length, object_class, NULL);
+    env->DeleteLocalRef(object_class);
+    if (result == NULL || !set_longs(env, result, 0, sorted_counts))
+        return NULL;
+
+    jsize index = 1;
+    for (size_t column : keys) {
+        if (!set_keys(env, result, index, table, column, sorted_rows))
+            return NULL;
+        index += 2;
+    }
+    for (size_t j = 0; j < aggregates.size(); ++j) {
+        if (!set_aggregates(env, result, index, table, aggregates[j], sorted_accumulators[j]))
+            return NULL;
+        index += 2;
+    }
+    return result;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_GROUPBY_HPP
+#define REALM_JAVA_GROUPBY_HPP
+
+#include <vector>
+
+#include <jni.h>
+#include <realm.hpp>
+
+// Core's pivot only groups by a single String column and computes a single aggregate of an Int
+// column. Group-bys on any number of key columns, computing several aggregates in one pass over
+// the rows, are done here.
+//
+// The rows are grouped by hashing the values of the key columns, like distinct_view(). The groups
+// are returned sorted by their keys, nulls first, so the result doesn't depend on the order of
+// the rows.
+
+// Must match the kinds in io.realm.Aggregate.
+enum AggregateKind {
+    aggregate_Count = 0,
+    aggregate_Sum = 1,
+    aggregate_Average = 2,
+    aggregate_Minimum = 3,
+    aggregate_Maximum = 4
+};
+
+struct AggregateSpec {
+    AggregateKind kind;
+    size_t column; // realm::npos counts the rows of a group.
+};
+
+// Validates the key columns and the aggregates of a group-by against the given table. Returns
+// false with a pending Java exception if a column doesn't exist or has an unsupported type.
+bool read_group_by(JNIEnv* env, const realm::Table& table, jlongArray key_column_indices,
+                   jbyteArray aggregate_kinds, jlongArray aggregate_column_indices,
+                   std::vector<size_t>& keys, std::vector<AggregateSpec>& aggregates);
+
+// Groups the rows of the view and returns the groups as an Object[] of primitive arrays having
+// one element per group:
+//   [0]          long[] with the number of rows of every group.
+//   per key      the key values: long[] for Int, boolean[] for Bool, long[] milliseconds for
+//                DateTime, float[] for Float, double[] for Double and String[] for String,
+//                followed by a boolean[] flagging the null keys.
+//   per aggregate  the values: long[] for counts and for sums, minimums and maximums of Int and
+//                DateTime columns, double[] for averages and for Float and Double columns,
+//                followed by a boolean[] flagging the groups having no value to aggregate.
+// Returns NULL with a pending Java exception if the arrays could not be allocated.
+jobjectArray group_by(JNIEnv* env, const realm::TableView& view, const std::vector<size_t>& keys,
+                      const std::vector<AggregateSpec>& aggregates);
+
+#endif // REALM_JAVA_GROUPBY_HPP
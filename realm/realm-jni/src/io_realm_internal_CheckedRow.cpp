@@ -130,6 +130,15 @@ JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteArra
     return Java_io_realm_internal_UncheckedRow_nativeGetByteArray(env, obj, nativeRowPtr, columnIndex);
 }
 
+JNIEXPORT jobject JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteBuffer
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Binary))
+        return 0;
+
+    return Java_io_realm_internal_UncheckedRow_nativeGetByteBuffer(env, obj, nativeRowPtr, columnIndex);
+}
+
 JNIEXPORT jint JNICALL Java_io_realm_internal_CheckedRow_nativeGetMixedType
   (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -238,6 +247,17 @@ JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetByteArray
     Java_io_realm_internal_UncheckedRow_nativeSetByteArray(env, obj, nativeRowPtr, columnIndex, value);
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetByteBuffer
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex, jobject byteBuffer, jint offset, jint length,
+   jboolean copy)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Binary))
+        return;
+
+    Java_io_realm_internal_UncheckedRow_nativeSetByteBuffer(env, obj, nativeRowPtr, columnIndex, byteBuffer, offset,
+                                                            length, copy);
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetMixed
   (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex, jobject jMixedValue)
 {
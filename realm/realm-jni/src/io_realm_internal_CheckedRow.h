@@ -103,6 +103,14 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_CheckedRow_nativeIsNullLink
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteArray
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_CheckedRow
+ * Method:    nativeGetByteBuffer
+ * Signature: (JJ)Ljava/nio/ByteBuffer;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteBuffer
+  (JNIEnv *, jobject, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_CheckedRow
  * Method:    nativeGetMixedType
@@ -191,6 +199,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetString
 JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetByteArray
   (JNIEnv *, jobject, jlong, jlong, jbyteArray);
 
+/*
+ * Class:     io_realm_internal_CheckedRow
+ * Method:    nativeSetByteBuffer
+ * Signature: (JJLjava/nio/ByteBuffer;IIZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetByteBuffer
+  (JNIEnv *, jobject, jlong, jlong, jobject, jint, jint, jboolean);
+
 /*
  * Class:     io_realm_internal_CheckedRow
  * Method:    nativeSetMixed
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "io_realm_internal_FullTextIndex.h"
+#include "util.hpp"
+
+using namespace realm;
+
+JNIEXPORT void JNICALL Java_io_realm_internal_FullTextIndex_nativeRemovePosting
+  (JNIEnv* env, jclass, jlong nativeLinkViewPtr, jlong rowIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!ROW_INDEX_VALID(env, &lv->get_target_table(), rowIndex)) {
+        return;
+    }
+    try {
+        size_t pos = lv->find(S(rowIndex));
+        if (pos != not_found) {
+            lv->remove(pos);
+        }
+    } CATCH_STD()
+}
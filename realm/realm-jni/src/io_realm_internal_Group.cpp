@@ -17,6 +17,7 @@
 #include <realm/util/safe_int_ops.hpp>
 
 #include "util.hpp"
+#include "partial_export.hpp"
 #include "io_realm_internal_Group.h"
 
 using namespace realm;
@@ -210,6 +211,25 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Group_nativeWriteToFile(
     CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_Group_nativeWriteRowsToFile(
+    JNIEnv* env, jobject, jlong nativeGroupPtr, jlongArray queryPtrs, jstring jFileName, jbyteArray keyArray)
+{
+    TR_ENTER_PTR(nativeGroupPtr)
+    StringData file_name;
+    KeyBuffer key(env, keyArray);
+    try {
+        JniLongArray ptrs(env, queryPtrs);
+        std::vector<Query*> roots;
+        for (jsize i = 0; i < ptrs.len(); ++i)
+            roots.push_back(Q(ptrs[i]));
+        JStringAccessor file_name_tmp(env, jFileName); // throws
+        file_name = StringData(file_name_tmp);
+        write_rows_to_file(*G(nativeGroupPtr), roots, file_name, key.data());
+    }
+    CATCH_FILE(file_name)
+    CATCH_STD()
+}
+
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_Group_nativeWriteToMem(
     JNIEnv* env, jobject, jlong nativeGroupPtr)
 {
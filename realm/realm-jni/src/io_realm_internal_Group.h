@@ -111,6 +111,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Group_nativeWriteToFile
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Group_nativeLoadFromMem
   (JNIEnv *, jclass, jbyteArray);
 
+/*
+ * Class:     io_realm_internal_Group
+ * Method:    nativeWriteRowsToFile
+ * Signature: (J[JLjava/lang/String;[B)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Group_nativeWriteRowsToFile
+  (JNIEnv *, jobject, jlong, jlongArray, jstring, jbyteArray);
+
 /*
  * Class:     io_realm_internal_Group
  * Method:    nativeWriteToMem
@@ -177,6 +177,16 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_LinkView_nativeIsAttached
     return 0;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetOriginRowIndex
+  (JNIEnv *env, jobject, jlong nativeLinkViewPtr)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        return LV(nativeLinkViewPtr)->get_origin_row_index();
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeFind
   (JNIEnv *env, jobject, jlong nativeLinkViewPtr, jlong targetRowIndex)
 {
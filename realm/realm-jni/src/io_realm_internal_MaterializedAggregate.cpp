@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "io_realm_internal_MaterializedAggregate.h"
+#include "materializedaggregate.hpp"
+#include "util.hpp"
+
+using namespace realm;
+
+#define MA(ptr) reinterpret_cast<MaterializedAggregate*>(ptr)
+
+// handoverQueryPtr is owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_MaterializedAggregate_nativeCreate
+  (JNIEnv* env, jclass, jlong sharedGroupPtr, jlong replicationPtr, jlong handoverQueryPtr, jbyte kind,
+   jlong columnIndex)
+{
+    TR_ENTER()
+    std::unique_ptr<SharedGroup::Handover<Query>> handover(HO(Query, handoverQueryPtr));
+    try {
+        size_t column = columnIndex < 0 ? npos : S(columnIndex);
+        MaterializedAggregate* aggregate = new MaterializedAggregate(*SG(sharedGroupPtr), *CH(replicationPtr),
+                std::move(handover), static_cast<AggregateKind>(kind), column);
+        return reinterpret_cast<jlong>(aggregate);
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_MaterializedAggregate_nativeAdvance
+  (JNIEnv* env, jclass, jlong nativePtr, jlong version, jlong index)
+{
+    TR_ENTER_PTR(nativePtr)
+    try {
+        SharedGroup::VersionID versionId(version, index);
+        return MA(nativePtr)->advance(versionId);
+    } CATCH_STD()
+    return false;
+}
+
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_MaterializedAggregate_nativeIsNull
+  (JNIEnv*, jclass, jlong nativePtr)
+{
+    TR_ENTER_PTR(nativePtr)
+    return MA(nativePtr)->is_null();
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_MaterializedAggregate_nativeGetLong
+  (JNIEnv*, jclass, jlong nativePtr)
+{
+    TR_ENTER_PTR(nativePtr)
+    return MA(nativePtr)->get_int();
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_MaterializedAggregate_nativeGetDouble
+  (JNIEnv*, jclass, jlong nativePtr)
+{
+    TR_ENTER_PTR(nativePtr)
+    return MA(nativePtr)->get_double();
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_MaterializedAggregate_nativeGetFullRecomputeCount
+  (JNIEnv*, jclass, jlong nativePtr)
+{
+    TR_ENTER_PTR(nativePtr)
+    return static_cast<jlong>(MA(nativePtr)->get_full_recompute_count());
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_MaterializedAggregate_nativeClose
+  (JNIEnv*, jclass, jlong nativePtr)
+{
+    TR_ENTER_PTR(nativePtr)
+    delete MA(nativePtr);
+}
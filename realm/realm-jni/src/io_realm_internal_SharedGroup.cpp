@@ -147,6 +147,20 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeBeginImplicit
     return 0;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeBeginImplicitAtVersion
+  (JNIEnv* env, jobject, jlong native_ptr, jlong version, jlong index)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        // The version must still be held by another SharedGroup, otherwise core may already have released it.
+        SharedGroup::VersionID versionId(version, index);
+        Group& group = const_cast<Group&>(SG(native_ptr)->begin_read(versionId));
+        return reinterpret_cast<jlong>(&group);
+    }
+    CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceRead
 (JNIEnv *env, jobject, jlong native_ptr, jlong native_replication_ptr)
 {
@@ -269,6 +269,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDateTime
 JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetString
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetByteBuffer
+ * Signature: (JJJ)Ljava/nio/ByteBuffer;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_Table_nativeGetByteBuffer
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetByteArray
@@ -397,6 +405,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDate
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetString
   (JNIEnv *, jobject, jlong, jlong, jlong, jstring);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetByteBuffer
+ * Signature: (JJJLjava/nio/ByteBuffer;IIZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteBuffer
+  (JNIEnv *, jobject, jlong, jlong, jlong, jobject, jint, jint, jboolean);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSetByteArray
@@ -477,6 +493,38 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNullLink
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeNullifyLink
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetNull
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetNull
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLinkList
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLinkList
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetRow
+ * Signature: (JJI[J[B[J[D[Ljava/lang/Object;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetRow
+  (JNIEnv *, jobject, jlong, jlong, jint, jlongArray, jbyteArray, jlongArray, jdoubleArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetRows
+ * Signature: (J[J[B[J[D[Ljava/lang/Object;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetRows
+  (JNIEnv *, jobject, jlong, jlongArray, jbyteArray, jlongArray, jdoubleArray, jobjectArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSumInt
@@ -677,6 +725,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDate
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstString
   (JNIEnv *, jobject, jlong, jlong, jstring);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstInts
+ * Signature: (JJ[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstInts
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstStrings
+ * Signature: (JJ[Ljava/lang/String;)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstStrings
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeFindAllInt
@@ -752,10 +816,18 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativePivot
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetDistinctView
- * Signature: (JJ)J
+ * Signature: (J[J)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDistinctView
-  (JNIEnv *, jobject, jlong, jlong);
+  (JNIEnv *, jobject, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetBacklinkView
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetBacklinkView
+  (JNIEnv *, jobject, jlong, jlong, jlong);
 
 /*
  * Class:     io_realm_internal_Table
@@ -20,6 +20,12 @@
 #include "util.hpp"
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
+#include "orderedindex.hpp"
+#include "sortutil.hpp"
+#include "viewhandover.hpp"
+#include "distinctutil.hpp"
+#include "groupby.hpp"
+#include "statistics.hpp"
 
 using namespace realm;
 
@@ -95,36 +101,29 @@ static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedGroupPtr, std::uniqu
     TableView tableView(query->find_all(S(start), S(end), S(limit)));
 
     // handover the result
-    std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
-            bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
-    return reinterpret_cast<jlong>(handover.release());
+    return export_view(*SG(bgSharedGroupPtr), tableView);
 }
 
 static jlong getDistinctViewWithHandover
-        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong columnIndex)
+        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, const jlong* columnIndices, size_t count)
 {
         TableRef table = query->get_table();
-        if (!QUERY_VALID(env, query.get()) ||
-            !TBL_AND_COL_INDEX_VALID(env, table.get(), columnIndex)) {
+        if (!QUERY_VALID(env, query.get())) {
             return 0;
         }
-        switch (table->get_column_type(S(columnIndex))) {
-            case type_Bool:
-            case type_Int:
-            case type_DateTime:
-            case type_String: {
-                TableView tableView(table->get_distinct_view(S(columnIndex)) );
 
-                // handover the result
-                std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
-                        bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
-                return reinterpret_cast<jlong>(handover.release());
-            }
-            default:
-                ThrowException(env, IllegalArgument, "Invalid type - Only String, Date, boolean, short, int, long and their boxed variants are supported.");
-                return 0;
+        std::vector<size_t> columns;
+        if (!read_distinct_columns(env, *table, columnIndices, count, columns)) {
+            return 0;
         }
-    return 0;
+
+        // run the query
+        TableView tableView( query->find_all() );
+
+        distinct_view(tableView, columns);
+
+        // handover the result
+        return export_view(*SG(bgSharedGroupPtr), tableView, nullptr, &columns);
 }
 
 static jlong findAllSortedWithHandover
@@ -160,34 +159,20 @@ static jlong findAllSortedWithHandover
         }
 
         // handover the result
-        std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
-        return reinterpret_cast<jlong>(handover.release());
+        return export_view(*SG(bgSharedGroupPtr), tableView);
 }
 
 static jlong findAllMultiSortedWithHandover
-        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
+        (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jobjectArray columnIndices, jbooleanArray ascending)
 {
-        JniLongArray long_arr(env, columnIndices);
-        JniBooleanArray bool_arr(env, ascending);
-        jsize arr_len = long_arr.len();
-        jsize asc_len = bool_arr.len();
+        TableRef table = query->get_table();
 
-        if (arr_len == 0) {
-            ThrowException(env, IllegalArgument, "You must provide at least one field name.");
-            return 0;
-        }
-        if (asc_len == 0) {
-            ThrowException(env, IllegalArgument, "You must provide at least one sort order.");
-            return 0;
-        }
-        if (arr_len != asc_len) {
-            ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
+        if (!QUERY_VALID(env, query.get()) || !ROW_INDEXES_VALID(env, table.get(), start, end, limit)) {
             return 0;
         }
 
-        TableRef table = query->get_table();
-
-        if (!QUERY_VALID(env, query.get()) || !ROW_INDEXES_VALID(env, table.get(), start, end, limit)) {
+        SortDescriptor descriptor;
+        if (!read_sort_descriptor(env, *table, columnIndices, ascending, descriptor)) {
             return 0;
         }
 
@@ -195,35 +180,10 @@ static jlong findAllMultiSortedWithHandover
         TableView tableView( query->find_all(S(start), S(end), S(limit)) );
 
         // sorting the results
-        std::vector<size_t> indices;
-        std::vector<bool> ascendings;
-
-        for (int i = 0; i < arr_len; ++i) {
-            if (!COL_INDEX_VALID(env, &tableView, long_arr[i])) {
-                return -1;
-            }
-            int colType = tableView.get_column_type( S(long_arr[i]) );
-            switch (colType) {
-                case type_Bool:
-                case type_Int:
-                case type_DateTime:
-                case type_Float:
-                case type_Double:
-                case type_String:
-                    indices.push_back( S(long_arr[i]) );
-                    ascendings.push_back( B(bool_arr[i]) );
-                    break;
-                default:
-                    ThrowException(env, IllegalArgument, ERR_SORT_NOT_SUPPORTED);
-                    return 0;
-            }
-        }
+        sort_view(tableView, descriptor);
 
-        tableView.sort(indices, ascendings);
-
-        // handover the result
-        std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
-        return reinterpret_cast<jlong>(handover.release());
+        // handover the result, along with the link sort
+        return export_view(*SG(bgSharedGroupPtr), tableView, &descriptor);
 }
 
 
@@ -1037,6 +997,48 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFind(
     return -1;
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeFindChunk(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong fromTableRow, jlong endRow, jint limit)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    Table* pTable = pQuery->get_table().get();
+    if (!QUERY_VALID(env, pQuery))
+        return NULL;
+    // It's valid to go 1 past the end index
+    if ((fromTableRow < 0) || (S(fromTableRow) > pTable->size())) {
+        // below check will fail with appropriate exception
+        (void) ROW_INDEX_VALID(env, pTable, fromTableRow);
+        return NULL;
+    }
+
+    try {
+        // Matches are found one by one, so only the requested number of rows is ever looked at or held.
+        std::vector<jlong> rows;
+        rows.reserve(limit);
+        // find() doesn't stop at the end of the rows by itself, e.g. it returns its start row for a query without
+        // conditions, so the rows are bounded by the size of the table or view queried.
+        size_t end = S(endRow);
+        size_t r = S(fromTableRow);
+        while (rows.size() < size_t(limit) && r < end) {
+            r = pQuery->find(r);
+            if (r == not_found || r >= end) {
+                break;
+            }
+            rows.push_back(jlong(r));
+            r++;
+        }
+
+        jlongArray result = env->NewLongArray(rows.size());
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the matching rows.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, rows.size(), rows.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 std::unique_ptr<Query> getHandoverQuery (jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr)
 {
     SharedGroup::Handover<Query> *handoverQueryPtr = HO(Query, queryPtr);
@@ -1112,6 +1114,62 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll(
     return -1;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllOrdered(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativeLinkViewPtr, jlong columnIndex,
+    jboolean hasLower, jlong lower, jboolean hasUpper, jlong upper, jlong limit)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query) ||
+        !COL_INDEX_VALID(env, query->get_table().get(), columnIndex))
+        return -1;
+    try {
+        OrderedRange range = {S(columnIndex), B(hasLower), lower, B(hasUpper), upper};
+        return reinterpret_cast<jlong>(find_all_ordered(*query, LinkViewRef(LV(nativeLinkViewPtr)), range, S(limit)));
+    } CATCH_STD()
+    return -1;
+}
+
+// The query is only evaluated on the rows of the link list, e.g. the rows containing a token of a
+// full-text index. The view keeps the restriction when it is synced.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRestricted(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativeLinkViewPtr, jlong limit)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query))
+        return -1;
+    try {
+        LinkViewRef lv(LV(nativeLinkViewPtr));
+        Query restricted = lv->get_target_table().where(lv);
+        restricted.and_query(*query);
+        TableView* tableView = new TableView(restricted.find_all(0, npos, S(limit)));
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return -1;
+}
+
+// Returns a new query matching the same rows as the given one, restricted to the rows having a
+// compound index key. Core finds those rows through the search index of the key column before
+// testing the other conditions. The given query is left untouched.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCreateKeyLookupQuery(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong keyColumnIndex, jstring key)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query) ||
+        !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, keyColumnIndex, type_String))
+        return 0;
+    try {
+        JStringAccessor value(env, key); // throws
+        std::unique_ptr<Query> lookup(new Query(query->get_table()->where()));
+        lookup->equal(S(keyColumnIndex), StringData(value));
+        lookup->and_query(*query);
+        return reinterpret_cast<jlong>(lookup.release());
+    } CATCH_STD()
+    return 0;
+}
+
 // queryPtr would be owned and released by this function
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHandover
   (JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong start, jlong end, jlong limit)
@@ -1124,6 +1182,120 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHando
       return 0;
   }
 
+static jobjectArray groupByQuery(JNIEnv* env, Query& query, jlongArray keyColumnIndices,
+                                 jbyteArray aggregateKinds, jlongArray aggregateColumnIndices)
+{
+    std::vector<size_t> keys;
+    std::vector<AggregateSpec> aggregates;
+    if (!read_group_by(env, *query.get_table(), keyColumnIndices, aggregateKinds, aggregateColumnIndices,
+                       keys, aggregates))
+        return NULL;
+    TableView view = query.find_all();
+    return group_by(env, view, keys, aggregates);
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableQuery_nativeGroupBy
+  (JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray keyColumnIndices, jbyteArray aggregateKinds,
+   jlongArray aggregateColumnIndices)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query))
+        return NULL;
+    try {
+        return groupByQuery(env, *query, keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+    } CATCH_STD()
+    return NULL;
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableQuery_nativeGroupByWithHandover
+  (JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr,
+   jlongArray keyColumnIndices, jbyteArray aggregateKinds, jlongArray aggregateColumnIndices)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+        if (!QUERY_VALID(env, query.get()))
+            return NULL;
+        return groupByQuery(env, *query, keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+    } CATCH_STD()
+    return NULL;
+}
+
+static jdoubleArray quantilesQuery(JNIEnv* env, Query& query, jlong columnIndex, jdoubleArray quantiles,
+                                   jboolean approximate)
+{
+    std::vector<double> fractions;
+    if (!read_quantiles(env, *query.get_table(), columnIndex, quantiles, fractions))
+        return NULL;
+    TableView view = query.find_all();
+    return find_quantiles(env, view, S(columnIndex), fractions, approximate != 0);
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeQuantiles
+  (JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jdoubleArray quantiles, jboolean approximate)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query))
+        return NULL;
+    try {
+        return quantilesQuery(env, *query, columnIndex, quantiles, approximate);
+    } CATCH_STD()
+    return NULL;
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeQuantilesWithHandover
+  (JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex,
+   jdoubleArray quantiles, jboolean approximate)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+        if (!QUERY_VALID(env, query.get()))
+            return NULL;
+        return quantilesQuery(env, *query, columnIndex, quantiles, approximate);
+    } CATCH_STD()
+    return NULL;
+}
+
+static jlong countDistinctApproxQuery(JNIEnv* env, Query& query, jlong columnIndex)
+{
+    if (!check_count_distinct_column(env, *query.get_table(), columnIndex))
+        return 0;
+    TableView view = query.find_all();
+    return count_distinct_approx(view, S(columnIndex));
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountDistinctApprox
+  (JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query))
+        return 0;
+    try {
+        return countDistinctApproxQuery(env, *query, columnIndex);
+    } CATCH_STD()
+    return 0;
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountDistinctApproxWithHandover
+  (JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+        if (!QUERY_VALID(env, query.get()))
+            return 0;
+        return countDistinctApproxQuery(env, *query, columnIndex);
+    } CATCH_STD()
+    return 0;
+}
+
 
 
 // Should match the values in Java ArgumentsHolder class
@@ -1188,7 +1360,8 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                                     (env,
                                      bgSharedGroupPtr,
                                      std::move(queries[i]),
-                                     query_param_array[1]/*columnIndex*/);
+                                     query_param_array.ptr() + 1/*columnIndices*/,
+                                     query_param_array.len() - 1);
                     break;
                 }
                 case QUERY_TYPE_FIND_ALL_SORTED: {// nativeFindAllSortedWithHandover
@@ -1205,7 +1378,7 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                     break;
                 }
                 case QUERY_TYPE_FIND_ALL_MULTI_SORTED: {// nativeFindAllMultiSortedWithHandover
-                    jlongArray column_indices_array = (jlongArray) env->GetObjectArrayElement(
+                    jobjectArray column_indices_array = (jobjectArray) env->GetObjectArrayElement(
                             multi_sorted_indices_matrix, i);
                     jbooleanArray column_order_array = (jbooleanArray) env->GetObjectArrayElement(
                             multi_sorted_order_matrix, i);
@@ -1242,12 +1415,13 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
 
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetDistinctViewWithHandover
-        (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
+        (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlongArray columnIndices)
 {
     TR_ENTER()
     try {
         std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
-        return getDistinctViewWithHandover(env, bgSharedGroupPtr, std::move(query), columnIndex);
+        JniLongArray indices(env, columnIndices);
+        return getDistinctViewWithHandover(env, bgSharedGroupPtr, std::move(query), indices.ptr(), indices.len());
     } CATCH_STD()
     return 0;
 }
@@ -1264,7 +1438,7 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedWit
   }
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSortedWithHandover
-  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong start, jlong end, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong start, jlong end, jlong limit, jobjectArray columnIndices, jbooleanArray ascending)
   {
       TR_ENTER()
       try {
@@ -1507,6 +1681,87 @@ JNIEXPORT jdouble JNICALL Java_io_realm_internal_TableQuery_nativeAverageDouble(
     return 0;
 }
 
+// Sums of ranges of rows along with the number of values summed up, so the averages of several
+// ranges can be combined. Null values are neither summed up nor counted, like core's average.
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeSumAndCountInt(
+    JNIEnv* env, jobject, jlong nativeQueryPtr,
+    jlong columnIndex, jlong start, jlong end, jlong limit)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    Table* pTable = pQuery->get_table().get();
+    if (!QUERY_VALID(env, pQuery) ||
+        !COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Int) ||
+        !ROW_INDEXES_VALID(env, pTable, start, end, limit))
+        return NULL;
+    try {
+        size_t resultcount = 0;
+        jlong result[2];
+        result[0] = pQuery->sum_int(S(columnIndex), &resultcount, S(start), S(end), S(limit));
+        result[1] = static_cast<jlong>(resultcount);
+
+        jlongArray array = env->NewLongArray(2);
+        if (array == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the sum.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(array, 0, 2, result);
+        return array;
+    } CATCH_STD()
+    return NULL;
+}
+
+static jdoubleArray to_sum_and_count(JNIEnv* env, double sum, size_t resultcount)
+{
+    jdouble result[2];
+    result[0] = sum;
+    result[1] = static_cast<jdouble>(resultcount);
+
+    jdoubleArray array = env->NewDoubleArray(2);
+    if (array == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the sum.");
+        return NULL;
+    }
+    env->SetDoubleArrayRegion(array, 0, 2, result);
+    return array;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeSumAndCountFloat(
+    JNIEnv* env, jobject, jlong nativeQueryPtr,
+    jlong columnIndex, jlong start, jlong end, jlong limit)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    Table* pTable = pQuery->get_table().get();
+    if (!QUERY_VALID(env, pQuery) ||
+        !COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Float) ||
+        !ROW_INDEXES_VALID(env, pTable, start, end, limit))
+        return NULL;
+    try {
+        size_t resultcount = 0;
+        double sum = pQuery->sum_float(S(columnIndex), &resultcount, S(start), S(end), S(limit));
+        return to_sum_and_count(env, sum, resultcount);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeSumAndCountDouble(
+    JNIEnv* env, jobject, jlong nativeQueryPtr,
+    jlong columnIndex, jlong start, jlong end, jlong limit)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    Table* pTable = pQuery->get_table().get();
+    if (!QUERY_VALID(env, pQuery) ||
+        !COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Double) ||
+        !ROW_INDEXES_VALID(env, pTable, start, end, limit))
+        return NULL;
+    try {
+        size_t resultcount = 0;
+        double sum = pQuery->sum_double(S(columnIndex), &resultcount, S(start), S(end), S(limit));
+        return to_sum_and_count(env, sum, resultcount);
+    } CATCH_STD()
+    return NULL;
+}
+
 
 // date aggregates
 
@@ -1566,6 +1821,36 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCount(
     return 0;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountOrdered(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativeLinkViewPtr, jlong columnIndex,
+    jboolean hasLower, jlong lower, jboolean hasUpper, jlong upper)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, pQuery) ||
+        !COL_INDEX_VALID(env, pQuery->get_table().get(), columnIndex))
+        return 0;
+    try {
+        OrderedRange range = {S(columnIndex), B(hasLower), lower, B(hasUpper), upper};
+        return count_ordered(*pQuery, LinkViewRef(LV(nativeLinkViewPtr)), range);
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountRestricted(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativeLinkViewPtr)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, pQuery))
+        return 0;
+    try {
+        LinkViewRef lv(LV(nativeLinkViewPtr));
+        Query restricted = lv->get_target_table().where(lv);
+        restricted.and_query(*pQuery);
+        return restricted.count();
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemove(
     JNIEnv* env, jobject, jlong nativeQueryPtr, jlong start, jlong end, jlong limit)
 {
@@ -1667,22 +1952,25 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeImportHandoverTa
   (JNIEnv *env, jobject, jlong handoverPtr, jlong callerSharedGrpPtr)
   {
     TR_ENTER_PTR(handoverPtr)
-    SharedGroup::Handover<TableView> *handoverTableViewPtr = HO(TableView, handoverPtr);
-    std::unique_ptr<SharedGroup::Handover<TableView> > handoverTableView(handoverTableViewPtr);
-
     try {
-        // import_from_handover will free (delete) the handover
         if (SG(callerSharedGrpPtr)->is_attached()) {
-            std::unique_ptr<TableView> tableView = SG(callerSharedGrpPtr)->import_from_handover(
-                    std::move(handoverTableView));
+            std::unique_ptr<TableView> tableView = import_view(*SG(callerSharedGrpPtr), handoverPtr);
             return reinterpret_cast<jlong>(tableView.release());
         } else {
+            close_view_handover(handoverPtr);
             ThrowException(env, RuntimeError, ERR_IMPORT_CLOSED_REALM);
         }
     } CATCH_STD()
     return 0;
   }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseTableViewHandover
+  (JNIEnv*, jobject, jlong handoverPtr)
+{
+    TR_ENTER_PTR(handoverPtr)
+    close_view_handover(handoverPtr);
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeImportHandoverRowIntoSharedGroup
   (JNIEnv *env, jobject, jlong handoverPtr, jlong callerSharedGrpPtr)
   {
@@ -1725,6 +2013,35 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseQueryHandove
     delete HO(Query, nativeHandoverQuery);
   }
 
+// handoverQueryPtr would be owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeImportHandoverQuery
+  (JNIEnv* env, jclass, jlong bgSharedGroupPtr, jlong handoverQueryPtr)
+{
+    TR_ENTER_PTR(handoverQueryPtr)
+    std::unique_ptr<SharedGroup::Handover<Query>> handoverQuery(HO(Query, handoverQueryPtr));
+    try {
+        // Unlike getHandoverQuery(), the SharedGroup stays at the version of the handover, so the query sees the
+        // same data as the one it was exported from.
+        SG(bgSharedGroupPtr)->end_read();
+        SG(bgSharedGroupPtr)->begin_read(handoverQuery->version);
+        std::unique_ptr<Query> query = SG(bgSharedGroupPtr)->import_from_handover(std::move(handoverQuery));
+        return reinterpret_cast<jlong>(query.release());
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetTable
+  (JNIEnv* env, jclass, jlong nativeQueryPtr)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        Table* pTable = Q(nativeQueryPtr)->get_table().get();
+        LangBindHelper::bind_table_ptr(pTable);
+        return reinterpret_cast<jlong>(pTable);
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNotNull
   (JNIEnv *env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes) {
     JniLongArray arr(env, columnIndexes);
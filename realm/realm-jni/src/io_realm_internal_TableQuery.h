@@ -367,6 +367,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFind
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindChunk
+ * Signature: (JJJI)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeFindChunk
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAll
@@ -375,6 +383,30 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllOrdered
+ * Signature: (JJJZJZJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllOrdered
+  (JNIEnv *, jobject, jlong, jlong, jlong, jboolean, jlong, jboolean, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCreateKeyLookupQuery
+ * Signature: (JJLjava/lang/String;)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCreateKeyLookupQuery
+  (JNIEnv *, jobject, jlong, jlong, jstring);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllRestricted
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRestricted
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllWithHandover
@@ -385,11 +417,59 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHando
 
 /*
  * Class:     io_realm_internal_TableQuery
- * Method:    nativeGetDistinctViewWithHandover
+ * Method:    nativeGroupBy
+ * Signature: (J[J[B[J)[Ljava/lang/Object;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableQuery_nativeGroupBy
+  (JNIEnv *, jobject, jlong, jlongArray, jbyteArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeGroupByWithHandover
+ * Signature: (JJJ[J[B[J)[Ljava/lang/Object;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableQuery_nativeGroupByWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray, jbyteArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeQuantiles
+ * Signature: (JJ[DZ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeQuantiles
+  (JNIEnv *, jobject, jlong, jlong, jdoubleArray, jboolean);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeQuantilesWithHandover
+ * Signature: (JJJJ[DZ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeQuantilesWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jdoubleArray, jboolean);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCountDistinctApprox
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountDistinctApprox
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCountDistinctApproxWithHandover
  * Signature: (JJJJ)J
  */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountDistinctApproxWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeGetDistinctViewWithHandover
+ * Signature: (JJJ[J)J
+ */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetDistinctViewWithHandover
-        (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+        (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
 
 /*
  * Class:     io_realm_internal_TableQuery
@@ -402,10 +482,10 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedWit
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllMultiSortedWithHandover
- * Signature: (JJJJJJ[J[Z)J
+ * Signature: (JJJJJJ[[J[Z)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSortedWithHandover
-  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong, jlongArray, jbooleanArray);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong, jobjectArray, jbooleanArray);
 
 /*
  * Class:     io_realm_internal_TableQuery
@@ -527,6 +607,30 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMinimumDouble
 JNIEXPORT jdouble JNICALL Java_io_realm_internal_TableQuery_nativeAverageDouble
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeSumAndCountInt
+ * Signature: (JJJJJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeSumAndCountInt
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeSumAndCountFloat
+ * Signature: (JJJJJ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeSumAndCountFloat
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeSumAndCountDouble
+ * Signature: (JJJJJ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableQuery_nativeSumAndCountDouble
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeMaximumDate
@@ -583,6 +687,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNotNull
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCount
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCountOrdered
+ * Signature: (JJJZJZJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountOrdered
+  (JNIEnv *, jobject, jlong, jlong, jlong, jboolean, jlong, jboolean, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCountRestricted
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountRestricted
+  (JNIEnv *, jobject, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeRemove
@@ -591,6 +711,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCount
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemove
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCloseTableViewHandover
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseTableViewHandover
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeCloseQueryHandover
@@ -607,6 +735,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseQueryHandove
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeAcceptHandoverQuery
         (JNIEnv *, jlong, jlong , jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeImportHandoverQuery
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeImportHandoverQuery
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeGetTable
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetTable
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeBatchUpdateQueries
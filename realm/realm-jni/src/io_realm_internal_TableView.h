@@ -490,10 +490,10 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeSortMulti
- * Signature: (J[J[Z)V
+ * Signature: (J[[J[Z)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti
-  (JNIEnv *, jobject, jlong, jlongArray, jbooleanArray);
+  (JNIEnv *, jobject, jlong, jobjectArray, jbooleanArray);
 
 /*
  * Class:     io_realm_internal_TableView
@@ -538,9 +538,33 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeWhere
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeDistinct
- * Signature: (JJ)V
+ * Signature: (J[J)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeDistinct
+  (JNIEnv *, jobject, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGroupBy
+ * Signature: (J[J[B[J)[Ljava/lang/Object;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGroupBy
+  (JNIEnv *, jobject, jlong, jlongArray, jbyteArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeQuantiles
+ * Signature: (JJ[DZ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableView_nativeQuantiles
+  (JNIEnv *, jobject, jlong, jlong, jdoubleArray, jboolean);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeCountDistinctApprox
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCountDistinctApprox
   (JNIEnv *, jobject, jlong, jlong);
 
 /*
@@ -559,6 +583,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeCopyToSharedGroup
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCopyToSharedGroup
+  (JNIEnv *, jclass, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeFindBySourceNdx
@@ -162,6 +162,17 @@ JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteAr
     }
 }
 
+JNIEXPORT jobject JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteBuffer
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
+    BinaryData bin = ROW(nativeRowPtr)->get_binary( S(columnIndex) );
+    return NewDirectByteBuffer(env, bin);  // throws
+}
+
 JNIEXPORT jint JNICALL Java_io_realm_internal_UncheckedRow_nativeGetMixedType
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -331,6 +342,23 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetByteArray
     }
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetByteBuffer
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jobject byteBuffer, jint offset, jint length,
+   jboolean copy)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return;
+
+    try {
+        std::unique_ptr<char[]> owner;
+        BinaryData bin;
+        if (!GetBinaryData(env, byteBuffer, offset, length, copy, owner, bin))
+            return;
+        ROW(nativeRowPtr)->set_binary( S(columnIndex), bin);
+    } CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetMixed
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jobject jMixedValue)
 {
@@ -111,6 +111,14 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeIsNullLink
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteArray
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_UncheckedRow
+ * Method:    nativeGetByteBuffer
+ * Signature: (JJ)Ljava/nio/ByteBuffer;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteBuffer
+  (JNIEnv *, jobject, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_UncheckedRow
  * Method:    nativeGetMixedType
@@ -199,6 +207,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetString
 JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetByteArray
   (JNIEnv *, jobject, jlong, jlong, jbyteArray);
 
+/*
+ * Class:     io_realm_internal_UncheckedRow
+ * Method:    nativeSetByteBuffer
+ * Signature: (JJLjava/nio/ByteBuffer;IIZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetByteBuffer
+  (JNIEnv *, jobject, jlong, jlong, jobject, jint, jint, jboolean);
+
 /*
  * Class:     io_realm_internal_UncheckedRow
  * Method:    nativeSetMixed
@@ -14,7 +14,9 @@
  * limitations under the License.
  */
 
+#include <algorithm>
 #include <sstream>
+#include <vector>
 
 #include "util.hpp"
 #include "mixedutil.hpp"
@@ -25,6 +27,8 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "backlinks.hpp"
+#include "distinctutil.hpp"
 
 using namespace std;
 using namespace realm;
@@ -612,7 +616,6 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetString(
 }
 
 
-/*
 JNIEXPORT jobject JNICALL Java_io_realm_internal_Table_nativeGetByteBuffer(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
 {
@@ -620,9 +623,8 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_Table_nativeGetByteBuffer(
         return NULL;
 
     BinaryData bin = TBL(nativeTablePtr)->get_binary( S(columnIndex), S(rowIndex));
-    return env->NewDirectByteBuffer(const_cast<char*>(bin.data()), bin.size());  // throws
+    return NewDirectByteBuffer(env, bin);  // throws
 }
-*/
 
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_Table_nativeGetByteArray(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
@@ -793,17 +795,20 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDate(
     } CATCH_STD()
 }
 
-/*
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteBuffer(
-    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jobject byteBuffer)
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jobject byteBuffer,
+    jint offset, jint length, jboolean copy)
 {
     if (!TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex, type_Binary))
         return;
     try {
-        tbl_nativeDoBinary(&Table::set_binary, TBL(nativeTablePtr), env, columnIndex, rowIndex, byteBuffer);
+        std::unique_ptr<char[]> owner;
+        BinaryData bin;
+        if (!GetBinaryData(env, byteBuffer, offset, length, copy, owner, bin))
+            return;
+        TBL(nativeTablePtr)->set_binary( S(columnIndex), S(rowIndex), bin);
     } CATCH_STD()
 }
-*/
 
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteArray(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jbyteArray dataArray)
@@ -908,6 +913,229 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeNullifyLink
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetNull
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
+{
+    if (!TBL_AND_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex))
+        return;
+    if (!TBL_AND_COL_NULLABLE(env, TBL(nativeTablePtr), columnIndex))
+        return;
+    try {
+        TBL(nativeTablePtr)->set_null(S(columnIndex), S(rowIndex));
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLinkList
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jlongArray targetRowIndices)
+{
+    if (!TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex, type_LinkList))
+        return;
+    try {
+        JniLongArray targets(env, targetRowIndices);
+        LinkViewRef links = TBL(nativeTablePtr)->get_linklist(S(columnIndex), S(rowIndex));
+        links->clear();
+        for (jsize i = 0; i < targets.len(); ++i) {
+            links->add(S(targets[i]));
+        }
+    } CATCH_STD()
+}
+
+// Value kinds of io.realm.internal.RowBuffer.
+enum RowBufferKind {
+    kind_Null = 0,
+    kind_Long = 1,
+    kind_Boolean = 2,
+    kind_Float = 3,
+    kind_Double = 4,
+    kind_Date = 5,
+    kind_String = 6,
+    kind_Binary = 7,
+    kind_Link = 8,
+    kind_LinkList = 9 // Only read by io.realm.internal.RowSnapshot.
+};
+
+static DataType row_buffer_kind_to_type(jbyte kind)
+{
+    switch (kind) {
+        case kind_Long:    return type_Int;
+        case kind_Boolean: return type_Bool;
+        case kind_Float:   return type_Float;
+        case kind_Double:  return type_Double;
+        case kind_Date:    return type_DateTime;
+        case kind_String:  return type_String;
+        case kind_Binary:  return type_Binary;
+        default:           return type_Link;
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetRow
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong rowIndex, jint count, jlongArray columnIndices,
+   jbyteArray kinds, jlongArray longValues, jdoubleArray doubleValues, jobjectArray objectValues)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TABLE_VALID(env, table))
+        return;
+    try {
+        JniLongArray columns(env, columnIndices);
+        JniLongArray longs(env, longValues);
+        // Copied, so nothing has to be released if core throws.
+        std::vector<jbyte> kindValues(count);
+        std::vector<jdouble> doubles(count);
+        env->GetByteArrayRegion(kinds, 0, count, kindValues.data());
+        env->GetDoubleArrayRegion(doubleValues, 0, count, doubles.data());
+
+        for (jint i = 0; i < count; ++i) {
+            jlong col = columns[i];
+            jbyte kind = kindValues[i];
+            if (kind == kind_Null) {
+                if (!TBL_AND_INDEX_VALID(env, table, col, rowIndex))
+                    break;
+                if (table->get_column_type(S(col)) == type_Link) {
+                    table->nullify_link(S(col), S(rowIndex));
+                    continue;
+                }
+                if (!TBL_AND_COL_NULLABLE(env, table, col))
+                    break;
+                table->set_null(S(col), S(rowIndex));
+                continue;
+            }
+            if (!TBL_AND_INDEX_AND_TYPE_VALID(env, table, col, rowIndex, row_buffer_kind_to_type(kind)))
+                break;
+            switch (kind) {
+                case kind_Long:
+                    table->set_int(S(col), S(rowIndex), longs[i]);
+                    break;
+                case kind_Boolean:
+                    table->set_bool(S(col), S(rowIndex), longs[i] != 0);
+                    break;
+                case kind_Float:
+                    table->set_float(S(col), S(rowIndex), static_cast<float>(doubles[i]));
+                    break;
+                case kind_Double:
+                    table->set_double(S(col), S(rowIndex), doubles[i]);
+                    break;
+                case kind_Date:
+                    table->set_datetime(S(col), S(rowIndex), longs[i]);
+                    break;
+                case kind_String: {
+                    jstring value = static_cast<jstring>(env->GetObjectArrayElement(objectValues, i));
+                    JStringAccessor accessor(env, value); // throws
+                    table->set_string(S(col), S(rowIndex), accessor);
+                    env->DeleteLocalRef(value);
+                    break;
+                }
+                case kind_Binary: {
+                    jbyteArray value = static_cast<jbyteArray>(env->GetObjectArrayElement(objectValues, i));
+                    tbl_nativeDoByteArray(&Table::set_binary, table, env, col, rowIndex, value);
+                    env->DeleteLocalRef(value);
+                    break;
+                }
+                case kind_Link:
+                    table->set_link(S(col), S(rowIndex), S(longs[i]));
+                    break;
+            }
+        }
+    } CATCH_STD()
+}
+
+// Reads all columns of the given rows. The values of column c of the i-th row are stored at i * column count + c,
+// with the same kinds as io.realm.internal.RowBuffer uses. Links hold the target row index and link lists a long[]
+// of target row indices.
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetRows
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlongArray rowIndices, jbyteArray kinds, jlongArray longValues,
+   jdoubleArray doubleValues, jobjectArray objectValues)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TABLE_VALID(env, table))
+        return;
+    try {
+        JniLongArray rows(env, rowIndices);
+        size_t column_count = table->get_column_count();
+        size_t count = rows.len() * column_count;
+        std::vector<jbyte> kindValues(count, kind_Null);
+        std::vector<jlong> longs(count, 0);
+        std::vector<jdouble> doubles(count, 0);
+
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (!ROW_INDEX_VALID(env, table, rows[i]))
+                return;
+            size_t row = S(rows[i]);
+            for (size_t col = 0; col < column_count; ++col) {
+                size_t slot = i * column_count + col;
+                DataType type = table->get_column_type(col);
+                if (type != type_Link && type != type_LinkList && table->is_nullable(col) && table->is_null(col, row))
+                    continue;
+                switch (type) {
+                    case type_Int:
+                        kindValues[slot] = kind_Long;
+                        longs[slot] = table->get_int(col, row);
+                        break;
+                    case type_Bool:
+                        kindValues[slot] = kind_Boolean;
+                        longs[slot] = table->get_bool(col, row) ? 1 : 0;
+                        break;
+                    case type_Float:
+                        kindValues[slot] = kind_Float;
+                        doubles[slot] = table->get_float(col, row);
+                        break;
+                    case type_Double:
+                        kindValues[slot] = kind_Double;
+                        doubles[slot] = table->get_double(col, row);
+                        break;
+                    case type_DateTime:
+                        kindValues[slot] = kind_Date;
+                        longs[slot] = table->get_datetime(col, row).get_datetime();
+                        break;
+                    case type_String: {
+                        kindValues[slot] = kind_String;
+                        jstring value = to_jstring(env, table->get_string(col, row));
+                        env->SetObjectArrayElement(objectValues, static_cast<jsize>(slot), value);
+                        env->DeleteLocalRef(value);
+                        break;
+                    }
+                    case type_Binary: {
+                        jbyteArray value = tbl_GetByteArray<Table>(env, nativeTablePtr, col, row);
+                        if (value == NULL)
+                            break;
+                        kindValues[slot] = kind_Binary;
+                        env->SetObjectArrayElement(objectValues, static_cast<jsize>(slot), value);
+                        env->DeleteLocalRef(value);
+                        break;
+                    }
+                    case type_Link:
+                        if (table->is_null_link(col, row))
+                            break;
+                        kindValues[slot] = kind_Link;
+                        longs[slot] = table->get_link(col, row);
+                        break;
+                    case type_LinkList: {
+                        LinkViewRef links = table->get_linklist(col, row);
+                        size_t size = links->size();
+                        std::vector<jlong> targets(size);
+                        for (size_t j = 0; j < size; ++j) {
+                            targets[j] = links->get(j).get_index();
+                        }
+                        jlongArray value = env->NewLongArray(static_cast<jsize>(size));
+                        if (value == NULL)
+                            return; // OutOfMemoryError is pending.
+                        env->SetLongArrayRegion(value, 0, static_cast<jsize>(size), targets.data());
+                        kindValues[slot] = kind_LinkList;
+                        env->SetObjectArrayElement(objectValues, static_cast<jsize>(slot), value);
+                        env->DeleteLocalRef(value);
+                        break;
+                    }
+                    default:
+                        // Mixed and sub-table columns are not used by model classes.
+                        break;
+                }
+            }
+        }
+        env->SetByteArrayRegion(kinds, 0, static_cast<jsize>(count), kindValues.data());
+        env->SetLongArrayRegion(longValues, 0, static_cast<jsize>(count), longs.data());
+        env->SetDoubleArrayRegion(doubleValues, 0, static_cast<jsize>(count), doubles.data());
+    } CATCH_STD()
+}
+
 //---------------------- Aggregate methods for integers
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeSumInt(
@@ -1207,6 +1435,86 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstString(
     return 0;
 }
 
+// Batch lookups of primary keys. The values are probed in sorted order, so consecutive lookups hit neighbouring
+// entries of the search index, and equal values are only looked up once. The rows are returned in the order of the
+// given values.
+
+static jlongArray to_jlong_array(JNIEnv* env, const std::vector<jlong>& rows)
+{
+    jlongArray result = env->NewLongArray(rows.size());
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the rows.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(result, 0, rows.size(), rows.data());
+    return result;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstInts(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray values)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return NULL;
+    try {
+        JniLongArray keys(env, values);
+        std::vector<jsize> order(keys.len());
+        for (jsize i = 0; i < keys.len(); ++i) {
+            order[i] = i;
+        }
+        std::sort(order.begin(), order.end(), [&keys](jsize a, jsize b) { return keys[a] < keys[b]; });
+
+        Table* table = TBL(nativeTablePtr);
+        std::vector<jlong> rows(keys.len());
+        for (size_t i = 0; i < order.size(); ++i) {
+            if (i > 0 && keys[order[i]] == keys[order[i - 1]]) {
+                rows[order[i]] = rows[order[i - 1]];
+            } else {
+                rows[order[i]] = to_jlong_or_not_found(table->find_first_int(S(columnIndex), keys[order[i]]));
+            }
+        }
+        return to_jlong_array(env, rows);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobjectArray values)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return NULL;
+    try {
+        jsize count = env->GetArrayLength(values);
+        std::vector<std::string> keys;
+        keys.reserve(count);
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            JStringAccessor accessor(env, value); // throws
+            StringData key = accessor;
+            keys.emplace_back(key.data(), key.size());
+            env->DeleteLocalRef(value);
+        }
+        std::vector<jsize> order(count);
+        for (jsize i = 0; i < count; ++i) {
+            order[i] = i;
+        }
+        std::sort(order.begin(), order.end(), [&keys](jsize a, jsize b) { return keys[a] < keys[b]; });
+
+        Table* table = TBL(nativeTablePtr);
+        std::vector<jlong> rows(count);
+        for (size_t i = 0; i < order.size(); ++i) {
+            if (i > 0 && keys[order[i]] == keys[order[i - 1]]) {
+                rows[order[i]] = rows[order[i - 1]];
+            } else {
+                const std::string& key = keys[order[i]];
+                rows[order[i]] = to_jlong_or_not_found(table->find_first_string(S(columnIndex),
+                        StringData(key.data(), key.size())));
+            }
+        }
+        return to_jlong_array(env, rows);
+    } CATCH_STD()
+    return NULL;
+}
+
 // FindAll
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindAllInt(
@@ -1317,34 +1625,60 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeUpperBoundInt(
 //
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDistinctView(
-    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlongArray columnIndices)
 {
     Table* pTable = TBL(nativeTablePtr);
-    if (!TBL_AND_COL_INDEX_VALID(env, pTable, columnIndex))
-        return 0;
-    if (!pTable->has_search_index(S(columnIndex))) {
-        ThrowException(env, UnsupportedOperation, "The field must be indexed before distinct() can be used.");
+    if (!TABLE_VALID(env, pTable))
         return 0;
-    }
-    switch (pTable->get_column_type(S(columnIndex))) {
-        case type_Bool:
-        case type_Int:
-        case type_DateTime:
-        case type_String:
-            try {
-                TableView* pTableView = new TableView( pTable->get_distinct_view(S(columnIndex)) );
-                return reinterpret_cast<jlong>(pTableView);
-            } CATCH_STD()
-            break;
-        default:
-            ThrowException(env, IllegalArgument, "Invalid type - Only String, Date, boolean, short, int, long and their boxed variants are supported.");
+    try {
+        JniLongArray indices(env, columnIndices);
+        std::vector<size_t> columns;
+        if (!read_distinct_columns(env, *pTable, indices.ptr(), indices.len(), columns))
             return 0;
-        break;
-    }
+        // Core looks up the distinct values of a single indexed column in the search index.
+        if (columns.size() == 1 && pTable->has_search_index(columns[0])) {
+            switch (pTable->get_column_type(columns[0])) {
+                case type_Bool:
+                case type_Int:
+                case type_DateTime:
+                case type_String:
+                    return reinterpret_cast<jlong>(new TableView(pTable->get_distinct_view(columns[0])));
+                default:
+                    break;
+            }
+        }
+        TableView* pTableView = new TableView(pTable->where().find_all());
+        keep_distinct(*pTableView, columns);
+        return reinterpret_cast<jlong>(pTableView);
+    } CATCH_STD()
     return 0;
 }
 
 
+static bool backlinks_valid(JNIEnv* env, Table* pTable, jlong columnIndex, jlong targetRowIndex)
+{
+    if (!TBL_AND_COL_INDEX_VALID(env, pTable, columnIndex))
+        return false;
+    DataType type = pTable->get_column_type(S(columnIndex));
+    if (type != type_Link && type != type_LinkList) {
+        ThrowException(env, IllegalArgument, "Backlinks are only supported for fields of type RealmObject and RealmList.");
+        return false;
+    }
+    return ROW_INDEX_VALID(env, pTable->get_link_target(S(columnIndex)).get(), targetRowIndex);
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetBacklinkView(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong targetRowIndex)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    if (!backlinks_valid(env, pTable, columnIndex, targetRowIndex))
+        return 0;
+    try {
+        return reinterpret_cast<jlong>(find_backlinks(*pTable, S(columnIndex), S(targetRowIndex)));
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetSortedView(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jboolean ascending)
 {
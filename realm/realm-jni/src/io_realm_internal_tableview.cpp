@@ -17,9 +17,16 @@
 #include "util.hpp"
 #include "io_realm_internal_TableView.h"
 #include "mixedutil.hpp"
+#include "backlinks.hpp"
+#include "distinctutil.hpp"
+#include "groupby.hpp"
+#include "statistics.hpp"
+#include "orderedindex.hpp"
+#include "sortutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
 #include "realm/array.hpp"
+#include <realm/group_shared.hpp>
 #include <ostream>
 
 using namespace realm;
@@ -34,7 +41,7 @@ inline bool view_valid_and_in_sync(JNIEnv* env, jlong nativeViewPtr) {
             ThrowException(env, TableInvalid, "The Realm has been closed and is no longer accessible.");
             return false;
         }
-        TV(nativeViewPtr)->sync_if_needed();
+        sync_view(*TV(nativeViewPtr));
     }
     return valid;
 }
@@ -50,29 +57,64 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_createNativeTableView(
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeDistinct(
-    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray columnIndices)
 {
     if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
         return;
-    if (!COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
-        return;
-    if (!TV(nativeViewPtr)->get_parent().has_search_index(S(columnIndex))) {
-        ThrowException(env, UnsupportedOperation, "The field must be indexed before distinct() can be used.");
-        return;
-    }
     try {
-        switch (TV(nativeViewPtr)->get_column_type(S(columnIndex))) {
-            case type_Bool:
-            case type_Int:
-            case type_DateTime:
-            case type_String:
-                TV(nativeViewPtr)->distinct(S(columnIndex));
-                break;
-            default:
-                ThrowException(env, IllegalArgument, "Invalid type - Only String, Date, boolean, byte, short, int, long and their boxed variants are supported.");
-                break;
-        }
+        JniLongArray indices(env, columnIndices);
+        std::vector<size_t> columns;
+        if (!read_distinct_columns(env, TV(nativeViewPtr)->get_parent(), indices.ptr(), indices.len(), columns))
+            return;
+        keep_distinct(*TV(nativeViewPtr), columns);
+    } CATCH_STD()
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGroupBy(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray keyColumnIndices, jbyteArray aggregateKinds,
+    jlongArray aggregateColumnIndices)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        TableView* view = TV(nativeViewPtr);
+        std::vector<size_t> keys;
+        std::vector<AggregateSpec> aggregates;
+        if (!read_group_by(env, view->get_parent(), keyColumnIndices, aggregateKinds, aggregateColumnIndices,
+                           keys, aggregates))
+            return NULL;
+        return group_by(env, *view, keys, aggregates);
     } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableView_nativeQuantiles(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jdoubleArray quantiles, jboolean approximate)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        TableView* view = TV(nativeViewPtr);
+        std::vector<double> fractions;
+        if (!read_quantiles(env, view->get_parent(), columnIndex, quantiles, fractions))
+            return NULL;
+        return find_quantiles(env, *view, S(columnIndex), fractions, approximate != 0);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCountDistinctApprox(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return 0;
+        TableView* view = TV(nativeViewPtr);
+        if (!check_count_distinct_column(env, view->get_parent(), columnIndex))
+            return 0;
+        return count_distinct_approx(*view, S(columnIndex));
+    } CATCH_STD()
+    return 0;
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot(
@@ -80,7 +122,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot(
 {
 
     try {
-        TV(dataTablePtr)->sync_if_needed();
+        sync_view(*TV(dataTablePtr));
         TableView* dataTable = TV(dataTablePtr);
         Table* resultTable = TBL(resultTablePtr);
         Table::AggrType pivotOp;
@@ -114,6 +156,10 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeClose(
     if (nativeViewPtr == 0)
         return;
 
+    forget_link_sort(TV(nativeViewPtr));
+    forget_ordered_range(TV(nativeViewPtr), false);
+    forget_backlinks(TV(nativeViewPtr));
+    forget_distinct(TV(nativeViewPtr));
     delete TV(nativeViewPtr);
 }
 
@@ -902,7 +948,15 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort(
             case type_Float:
             case type_Double:
             case type_String:
+                forget_link_sort(TV(nativeViewPtr));
+                forget_ordered_range(TV(nativeViewPtr), true);
                 TV(nativeViewPtr)->sort( S(columnIndex), ascending != 0 ? true : false);
+                {
+                    SortDescriptor descriptor;
+                    descriptor.paths.push_back(ColumnPath(1, S(columnIndex)));
+                    descriptor.ascending.push_back(ascending != 0);
+                    keep_backlinks_sorted(TV(nativeViewPtr), descriptor);
+                }
                 break;
             default:
                 ThrowException(env, IllegalArgument, "Sort is not supported on binary data, object references and RealmList.");
@@ -912,54 +966,19 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort(
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti(
-  JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray columnIndices, jbooleanArray ascending)
+  JNIEnv* env, jobject, jlong nativeViewPtr, jobjectArray columnIndices, jbooleanArray ascending)
 {
     try {
         if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
             return;
 
-        JniLongArray long_arr(env, columnIndices);
-        JniBooleanArray bool_arr(env, ascending);
-        jsize arr_len = long_arr.len();
-        jsize asc_len = bool_arr.len();
-
-        if (arr_len == 0) {
-            ThrowException(env, IllegalArgument, "You must provide at least one field name.");
+        SortDescriptor descriptor;
+        if (!read_sort_descriptor(env, TV(nativeViewPtr)->get_parent(), columnIndices, ascending, descriptor)) {
             return;
         }
-        if (asc_len == 0) {
-            ThrowException(env, IllegalArgument, "You must provide at least one sort order.");
-            return;
-        }
-        if (arr_len != asc_len) {
-            ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
-            return;
-        }
-
-        std::vector<size_t> indices;
-        std::vector<bool> ascendings;
-
-        for (int i = 0; i < arr_len; ++i) {
-            if (!COL_INDEX_VALID(env, TV(nativeViewPtr), long_arr[i])) {
-                return;
-            }
-            int colType = TV(nativeViewPtr)->get_column_type( S(long_arr[i]) );
-            switch (colType) {
-                case type_Bool:
-                case type_Int:
-                case type_DateTime:
-                case type_Float:
-                case type_Double:
-                case type_String:
-                    indices.push_back( S(long_arr[i]) );
-                    ascendings.push_back( B(bool_arr[i]) );
-                    break;
-                default:
-                    ThrowException(env, IllegalArgument, "Sort is not supported on binary data, object references and RealmList.");
-                    return;
-            }
-        }
-        TV(nativeViewPtr)->sort(indices, ascendings);
+        forget_ordered_range(TV(nativeViewPtr), true);
+        keep_sorted(*TV(nativeViewPtr), descriptor);
+        keep_backlinks_sorted(TV(nativeViewPtr), descriptor);
     } CATCH_STD()
 }
 
@@ -1037,7 +1056,24 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync(
         }
     }
     try {
-        return (jlong) TV(nativeViewPtr)->sync_if_needed();
+        return (jlong) sync_view(*TV(nativeViewPtr));
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCopyToSharedGroup(
+    JNIEnv* env, jclass, jlong sourceSharedGroupPtr, jlong nativeViewPtr, jlong targetSharedGroupPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+        return 0;
+    try {
+        // Both SharedGroups are at the same version, so the view can be handed over directly. The row indexes are
+        // copied as they are, which keeps the result of distincts and link sorts done by the JNI layer.
+        std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(sourceSharedGroupPtr)->export_for_handover(
+                *TV(nativeViewPtr), ConstSourcePayload::Copy);
+        std::unique_ptr<TableView> copy = SG(targetSharedGroupPtr)->import_from_handover(std::move(handover));
+        return reinterpret_cast<jlong>(copy.release());
     } CATCH_STD()
     return 0;
 }
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+
+#include <realm/lang_bind_helper.hpp>
+#include <realm/impl/transact_log.hpp>
+
+#include "util.hpp"
+#include "distinctutil.hpp"
+#include "materializedaggregate.hpp"
+
+using namespace realm;
+
+namespace {
+
+// Below this number of changed rows, the rows are always evaluated one by one. Above it, the
+// query is run again on all rows once more than a quarter of the table changed.
+const size_t min_dirty_rows_for_recompute = 1000;
+
+} // anonymous namespace
+
+// Follows the instructions of the transaction logs and tells the aggregate which rows of its table
+// were inserted, erased, moved or modified. The instructions not declared here are ignored by
+// NullInstructionObserver. All modifications have the column first and the row second, whatever
+// the other arguments are.
+class MaterializedAggregate::Observer : public _impl::NullInstructionObserver {
+public:
+    Observer(MaterializedAggregate& aggregate, size_t table_ndx)
+        : m_aggregate(aggregate)
+        , m_table_ndx(table_ndx)
+    {
+    }
+
+    bool select_table(size_t group_level_ndx, int levels, const size_t*)
+    {
+        m_in_table = group_level_ndx == m_table_ndx && levels == 0;
+        if (!m_in_table && (m_aggregate.m_depends_on_other_tables || group_level_ndx == m_table_ndx)) {
+            // A linked table or a subtable of the table changed, which the query may depend on.
+            m_aggregate.m_recompute_all = true;
+        }
+        return true;
+    }
+
+    bool insert_group_level_table(size_t table_ndx, size_t, StringData)
+    {
+        if (table_ndx <= m_table_ndx) {
+            ++m_table_ndx;
+        }
+        return true;
+    }
+
+    bool erase_group_level_table(size_t table_ndx, size_t)
+    {
+        if (table_ndx == m_table_ndx) {
+            m_aggregate.m_recompute_all = true;
+            m_table_ndx = npos;
+        }
+        else if (table_ndx < m_table_ndx && m_table_ndx != npos) {
+            --m_table_ndx;
+        }
+        return true;
+    }
+
+    bool move_group_level_table(size_t from_table_ndx, size_t to_table_ndx)
+    {
+        if (from_table_ndx == m_table_ndx) {
+            m_table_ndx = to_table_ndx;
+        }
+        else if (from_table_ndx < m_table_ndx && to_table_ndx >= m_table_ndx) {
+            --m_table_ndx;
+        }
+        else if (from_table_ndx > m_table_ndx && to_table_ndx <= m_table_ndx) {
+            ++m_table_ndx;
+        }
+        return true;
+    }
+
+    bool insert_empty_rows(size_t row_ndx, size_t num_rows, size_t prior_num_rows, bool unordered)
+    {
+        if (m_in_table) {
+            if (unordered && row_ndx != prior_num_rows) {
+                m_aggregate.m_recompute_all = true;
+            }
+            else {
+                m_aggregate.insert_rows(row_ndx, num_rows);
+            }
+        }
+        return true;
+    }
+
+    bool erase_rows(size_t row_ndx, size_t num_rows, size_t prior_num_rows, bool unordered)
+    {
+        if (m_in_table) {
+            m_aggregate.erase_rows(row_ndx, num_rows, prior_num_rows, unordered);
+        }
+        return true;
+    }
+
+    bool swap_rows(size_t row_ndx_1, size_t row_ndx_2)
+    {
+        if (m_in_table) {
+            m_aggregate.swap_rows(row_ndx_1, row_ndx_2);
+        }
+        return true;
+    }
+
+    template<class... Args>
+    bool clear_table(Args&&...)
+    {
+        if (m_in_table) {
+            m_aggregate.clear();
+        }
+        return true;
+    }
+
+    template<class... Args> bool set_int(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_int_unique(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_bool(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_float(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_double(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_string(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_string_unique(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_binary(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_date_time(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_table(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_mixed(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_link(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool set_null(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool nullify_link(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool insert_substring(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+    template<class... Args> bool erase_substring(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+
+    // The link list instructions which follow apply to the selected list of this row.
+    template<class... Args> bool select_link_list(size_t, size_t row_ndx, Args&&...) { return modify(row_ndx); }
+
+    // Column changes of the table shift the columns of the query, so it can't be followed.
+    template<class... Args> bool insert_column(Args&&...) { return change_schema(); }
+    template<class... Args> bool insert_link_column(Args&&...) { return change_schema(); }
+    template<class... Args> bool erase_column(Args&&...) { return change_schema(); }
+    template<class... Args> bool erase_link_column(Args&&...) { return change_schema(); }
+    template<class... Args> bool move_column(Args&&...) { return change_schema(); }
+    template<class... Args> bool set_link_type(Args&&...) { return change_schema(); }
+
+private:
+    MaterializedAggregate& m_aggregate;
+    size_t m_table_ndx;
+    bool m_in_table = false;
+
+    bool modify(size_t row_ndx)
+    {
+        if (m_in_table) {
+            m_aggregate.mark_dirty(row_ndx);
+        }
+        return true;
+    }
+
+    bool change_schema()
+    {
+        if (m_in_table) {
+            m_aggregate.m_recompute_all = true;
+        }
+        return true;
+    }
+};
+
+MaterializedAggregate::MaterializedAggregate(SharedGroup& sg, ClientHistory& hist,
+                                             std::unique_ptr<SharedGroup::Handover<Query>> handover,
+                                             AggregateKind kind, size_t column)
+    : m_sg(sg)
+    , m_hist(hist)
+    , m_kind(kind)
+    , m_column(column)
+{
+    // The initial value is computed at the version of the handover, so it matches the Realm the
+    // query came from.
+    m_sg.end_read();
+    m_sg.begin_read(handover->version);
+    m_query = m_sg.import_from_handover(std::move(handover));
+    m_table = m_query->get_table();
+
+    m_is_int = m_column != npos && m_table->get_column_type(m_column) == type_Int;
+    m_depends_on_other_tables = false;
+    for (size_t i = 0; i < m_table->get_column_count(); ++i) {
+        DataType type = m_table->get_column_type(i);
+        if (type == type_Link || type == type_LinkList || type == type_Table) {
+            m_depends_on_other_tables = true;
+        }
+    }
+    recompute_all();
+}
+
+bool MaterializedAggregate::advance(SharedGroup::VersionID version)
+{
+    if (!m_table->is_attached()) {
+        LangBindHelper::advance_read(m_sg, m_hist, version);
+        return false;
+    }
+
+    bool was_null = is_null();
+    int64_t old_int = m_is_int || m_kind == aggregate_Count ? get_int() : 0;
+    double old_double = was_null ? 0 : get_double();
+
+    Observer observer(*this, m_table->get_index_in_group());
+    LangBindHelper::advance_read(m_sg, m_hist, observer, version);
+
+    if (m_recompute_all) {
+        recompute_all();
+    }
+    else {
+        for (size_t row : m_dirty) {
+            Entry& entry = m_entries[row];
+            entry.dirty = false;
+            remove(entry);
+            evaluate(row, entry);
+            add(entry);
+        }
+        m_dirty.clear();
+        if (m_extreme_stale) {
+            find_extreme();
+        }
+    }
+
+    if (is_null() != was_null) {
+        return true;
+    }
+    if (m_is_int || m_kind == aggregate_Count) {
+        if (get_int() != old_int) {
+            return true;
+        }
+    }
+    return !was_null && get_double() != old_double;
+}
+
+bool MaterializedAggregate::is_null() const
+{
+    switch (m_kind) {
+        case aggregate_Average:
+            return m_value_count == 0;
+        case aggregate_Minimum:
+        case aggregate_Maximum:
+            return !m_extreme.has_value;
+        default:
+            return false;
+    }
+}
+
+int64_t MaterializedAggregate::get_int() const
+{
+    switch (m_kind) {
+        case aggregate_Count:
+            return static_cast<int64_t>(m_value_count);
+        case aggregate_Sum:
+            return m_int_sum;
+        case aggregate_Average:
+            return static_cast<int64_t>(get_double());
+        default:
+            return m_extreme.int_value;
+    }
+}
+
+double MaterializedAggregate::get_double() const
+{
+    switch (m_kind) {
+        case aggregate_Count:
+            return static_cast<double>(m_value_count);
+        case aggregate_Sum:
+            return m_is_int ? static_cast<double>(m_int_sum) : m_double_sum;
+        case aggregate_Average:
+            if (m_value_count == 0) {
+                return 0;
+            }
+            return (m_is_int ? static_cast<double>(m_int_sum) : m_double_sum) / m_value_count;
+        default:
+            return m_is_int ? static_cast<double>(m_extreme.int_value) : m_extreme.double_value;
+    }
+}
+
+void MaterializedAggregate::recompute_all()
+{
+    ++m_full_recompute_count;
+    m_recompute_all = false;
+    m_dirty.clear();
+    m_value_count = 0;
+    m_int_sum = 0;
+    m_double_sum = 0;
+    m_extreme = Entry();
+    m_extreme_stale = false;
+
+    if (!m_table->is_attached()) {
+        // The table was removed.
+        m_entries.clear();
+        return;
+    }
+    m_entries.assign(m_table->size(), Entry());
+    TableView view = m_query->find_all();
+    for (size_t i = 0; i < view.size(); ++i) {
+        size_t row = view.get_source_ndx(i);
+        Entry& entry = m_entries[row];
+        evaluate(row, entry);
+        add(entry);
+    }
+}
+
+void MaterializedAggregate::evaluate(size_t row, Entry& entry) const
+{
+    entry.matched = m_query->count(row, row + 1, 1) == 1;
+    entry.has_value = entry.matched && (m_column == npos || !is_null_value(*m_table, m_column, row));
+    entry.int_value = 0;
+    entry.double_value = 0;
+    if (!entry.has_value || m_kind == aggregate_Count) {
+        return;
+    }
+    if (m_is_int) {
+        entry.int_value = m_table->get_int(m_column, row);
+    }
+    else if (m_table->get_column_type(m_column) == type_Float) {
+        entry.double_value = m_table->get_float(m_column, row);
+    }
+    else {
+        entry.double_value = m_table->get_double(m_column, row);
+    }
+}
+
+void MaterializedAggregate::add(const Entry& entry)
+{
+    if (!entry.has_value) {
+        return;
+    }
+    ++m_value_count;
+    m_int_sum += entry.int_value;
+    m_double_sum += entry.double_value;
+    if ((m_kind == aggregate_Minimum || m_kind == aggregate_Maximum) && !m_extreme_stale
+            && (!m_extreme.has_value || is_beyond_extreme(entry))) {
+        m_extreme = entry;
+    }
+}
+
+void MaterializedAggregate::remove(const Entry& entry)
+{
+    if (!entry.has_value) {
+        return;
+    }
+    --m_value_count;
+    m_int_sum -= entry.int_value;
+    m_double_sum -= entry.double_value;
+    if ((m_kind == aggregate_Minimum || m_kind == aggregate_Maximum) && !m_extreme_stale
+            && entry.int_value == m_extreme.int_value && entry.double_value == m_extreme.double_value) {
+        // The row may hold the minimum or maximum, which has to be found again.
+        m_extreme_stale = true;
+    }
+}
+
+bool MaterializedAggregate::is_beyond_extreme(const Entry& entry) const
+{
+    if (m_kind == aggregate_Minimum) {
+        return m_is_int ? entry.int_value < m_extreme.int_value : entry.double_value < m_extreme.double_value;
+    }
+    return m_is_int ? entry.int_value > m_extreme.int_value : entry.double_value > m_extreme.double_value;
+}
+
+void MaterializedAggregate::find_extreme()
+{
+    m_extreme = Entry();
+    m_extreme_stale = false;
+    for (const Entry& entry : m_entries) {
+        if (entry.has_value && (!m_extreme.has_value || is_beyond_extreme(entry))) {
+            m_extreme = entry;
+        }
+    }
+}
+
+void MaterializedAggregate::mark_dirty(size_t row)
+{
+    if (m_recompute_all || m_entries[row].dirty) {
+        return;
+    }
+    if (m_dirty.size() >= std::max(min_dirty_rows_for_recompute, m_entries.size() / 4)) {
+        m_recompute_all = true;
+        return;
+    }
+    m_entries[row].dirty = true;
+    m_dirty.push_back(row);
+}
+
+void MaterializedAggregate::insert_rows(size_t row, size_t count)
+{
+    if (m_recompute_all) {
+        return;
+    }
+    for (size_t& dirty : m_dirty) {
+        if (dirty >= row) {
+            dirty += count;
+        }
+    }
+    m_entries.insert(m_entries.begin() + row, count, Entry());
+    for (size_t i = row; i < row + count; ++i) {
+        mark_dirty(i);
+    }
+}
+
+void MaterializedAggregate::erase_rows(size_t row, size_t count, size_t prior_count, bool unordered)
+{
+    if (m_recompute_all) {
+        return;
+    }
+    for (size_t i = row; i < row + count; ++i) {
+        remove(m_entries[i]);
+    }
+    m_dirty.erase(std::remove_if(m_dirty.begin(), m_dirty.end(), [=](size_t dirty) {
+        return dirty >= row && dirty < row + count;
+    }), m_dirty.end());
+
+    if (unordered) {
+        // The last rows are moved over the erased ones.
+        size_t moved = std::min(count, prior_count - (row + count));
+        for (size_t i = 0; i < moved; ++i) {
+            size_t from = prior_count - moved + i;
+            m_entries[row + i] = m_entries[from];
+            std::replace(m_dirty.begin(), m_dirty.end(), from, row + i);
+        }
+        m_entries.resize(prior_count - count);
+    }
+    else {
+        for (size_t& dirty : m_dirty) {
+            if (dirty >= row + count) {
+                dirty -= count;
+            }
+        }
+        m_entries.erase(m_entries.begin() + row, m_entries.begin() + row + count);
+    }
+}
+
+void MaterializedAggregate::swap_rows(size_t row_1, size_t row_2)
+{
+    if (m_recompute_all) {
+        return;
+    }
+    std::swap(m_entries[row_1], m_entries[row_2]);
+    for (size_t& dirty : m_dirty) {
+        if (dirty == row_1) {
+            dirty = row_2;
+        }
+        else if (dirty == row_2) {
+            dirty = row_1;
+        }
+    }
+}
+
+void MaterializedAggregate::clear()
+{
+    m_entries.clear();
+    m_dirty.clear();
+    m_value_count = 0;
+    m_int_sum = 0;
+    m_double_sum = 0;
+    m_extreme = Entry();
+    m_extreme_stale = false;
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_MATERIALIZEDAGGREGATE_HPP
+#define REALM_JAVA_MATERIALIZEDAGGREGATE_HPP
+
+#include <memory>
+#include <vector>
+
+#include <realm.hpp>
+#include <realm/group_shared.hpp>
+#include <realm/commit_log.hpp>
+
+#include "groupby.hpp"
+
+// A materialized aggregate is a count, sum, average, minimum or maximum of the rows of a table
+// matching a query, which is kept up to date without running the query again on every commit.
+//
+// The aggregate owns its own shared group. It remembers the contribution of every row of the
+// table, and advance() reads the transaction logs of the new commits to find the rows which were
+// inserted, erased or modified. Only those rows are evaluated again. The query is run again on
+// all rows only if the changes can't be followed row by row: schema changes, changes of other
+// tables if the table has links, or changes of a large part of the table.
+//
+// The minimum and maximum are found again from the remembered values if the row holding them is
+// removed. Sums of Float and Double columns are updated by adding and subtracting the values, so
+// their rounding can differ slightly from a sum computed from scratch.
+class MaterializedAggregate {
+public:
+    // Imports the handed over query into the shared group, at the version of the handover, and
+    // computes the initial value. Only Int, Float and Double columns are supported by sums,
+    // averages, minimums and maximums. `column` is realm::npos for counts of rows.
+    MaterializedAggregate(realm::SharedGroup& sg, realm::ClientHistory& hist,
+                          std::unique_ptr<realm::SharedGroup::Handover<realm::Query>> handover,
+                          AggregateKind kind, size_t column);
+
+    // Advances the shared group to the given version, which must not be older than the current
+    // one, and updates the value from the changes. Returns true if the value changed.
+    bool advance(realm::SharedGroup::VersionID version);
+
+    // Averages, minimums and maximums are null if there are no values.
+    bool is_null() const;
+    // Counts, and sums, minimums and maximums of Int columns.
+    int64_t get_int() const;
+    // Averages, and sums, minimums and maximums of Float and Double columns.
+    double get_double() const;
+
+    // The number of times the query was run on all rows, including the initial computation.
+    size_t get_full_recompute_count() const noexcept { return m_full_recompute_count; }
+
+    class Observer;
+
+private:
+    // What a row adds to the aggregate, as it was when the row was last evaluated.
+    struct Entry {
+        bool matched = false;
+        bool has_value = false; // matched and the value is not null
+        bool dirty = false;
+        int64_t int_value = 0;
+        double double_value = 0;
+    };
+
+    realm::SharedGroup& m_sg;
+    realm::ClientHistory& m_hist;
+    std::unique_ptr<realm::Query> m_query;
+    realm::TableRef m_table;
+    const AggregateKind m_kind;
+    const size_t m_column;
+    bool m_is_int;
+    bool m_depends_on_other_tables;
+
+    std::vector<Entry> m_entries; // one per row of the table
+    std::vector<size_t> m_dirty; // the rows to evaluate again
+    bool m_recompute_all = false;
+
+    size_t m_value_count = 0; // matching rows having a value, or all matching rows for counts of rows
+    int64_t m_int_sum = 0;
+    double m_double_sum = 0;
+    Entry m_extreme; // the minimum or maximum, if it has a value
+    bool m_extreme_stale = false;
+    size_t m_full_recompute_count = 0;
+
+    void recompute_all();
+    void evaluate(size_t row, Entry& entry) const;
+    void add(const Entry& entry);
+    void remove(const Entry& entry);
+    bool is_beyond_extreme(const Entry& entry) const;
+    void find_extreme();
+
+    // Used by the observer while the transaction logs are parsed.
+    void mark_dirty(size_t row);
+    void insert_rows(size_t row, size_t count);
+    void erase_rows(size_t row, size_t count, size_t prior_count, bool unordered);
+    void swap_rows(size_t row_1, size_t row_2);
+    void clear();
+};
+
+#endif // REALM_JAVA_MATERIALIZEDAGGREGATE_HPP
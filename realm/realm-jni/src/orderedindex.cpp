@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <cstring>
+#include <limits>
+#include <map>
+#include <mutex>
+#include <vector>
+
+#include "orderedindex.hpp"
+
+using namespace realm;
+
+namespace {
+
+// A view of the rows within a range of an ordered index. The query is restricted to the index and
+// contains all conditions of the original query, so only the positions of the range have to be
+// recomputed when the index changes.
+struct OrderedView {
+    LinkViewRef index;
+    Query query;
+    OrderedRange range;
+    size_t limit;
+};
+
+std::mutex ordered_views_mutex;
+std::map<const TableView*, OrderedView> ordered_views;
+
+inline bool is_null(const Table& table, size_t column, size_t row)
+{
+    return table.is_nullable(column) && table.is_null(column, row);
+}
+
+inline int64_t get_value(const Table& table, size_t column, size_t row)
+{
+    switch (table.get_column_type(column)) {
+        case type_DateTime:
+            return table.get_datetime(column, row).get_datetime();
+        case type_Float:
+            return ordered_key(table.get_float(column, row));
+        case type_Double:
+            return ordered_key(table.get_double(column, row));
+        default:
+            return table.get_int(column, row);
+    }
+}
+
+// Returns the first position in the index for which the predicate is false. The predicate must be
+// true for a prefix of the index only.
+template <class Predicate>
+size_t partition_point(const LinkView& index, Predicate before)
+{
+    size_t begin = 0;
+    size_t end = index.size();
+    while (begin < end) {
+        size_t mid = begin + (end - begin) / 2;
+        if (before(index.get(mid).get_index())) {
+            begin = mid + 1;
+        }
+        else {
+            end = mid;
+        }
+    }
+    return begin;
+}
+
+// First position holding a value greater than or equal to the given one.
+size_t lower_position(const LinkView& index, size_t column, int64_t value)
+{
+    const Table& table = index.get_target_table();
+    return partition_point(index, [&](size_t row) {
+        return is_null(table, column, row) || get_value(table, column, row) < value;
+    });
+}
+
+// First position holding a value greater than the given one.
+size_t upper_position(const LinkView& index, size_t column, int64_t value)
+{
+    const Table& table = index.get_target_table();
+    return partition_point(index, [&](size_t row) {
+        return is_null(table, column, row) || get_value(table, column, row) <= value;
+    });
+}
+
+// First position holding a value which is not null.
+size_t first_value_position(const LinkView& index, size_t column)
+{
+    const Table& table = index.get_target_table();
+    return partition_point(index, [&](size_t row) {
+        return is_null(table, column, row);
+    });
+}
+
+} // anonymous namespace
+
+int64_t ordered_key(double value)
+{
+    if (value == 0) {
+        value = 0; // -0.0 is equal to 0.0
+    }
+    int64_t bits;
+    std::memcpy(&bits, &value, sizeof bits);
+    // Negative values are ordered backwards by their bits, so all but the sign bit are flipped.
+    return (bits < 0) ? (bits ^ std::numeric_limits<int64_t>::max()) : bits;
+}
+
+void add_to_ordered_index(LinkView& index, size_t column, size_t row)
+{
+    const Table& table = index.get_target_table();
+    // Rows having the same value are kept in the order they were added.
+    size_t pos = is_null(table, column, row) ? first_value_position(index, column)
+                                             : upper_position(index, column, get_value(table, column, row));
+    index.insert(pos, row);
+}
+
+void remove_from_ordered_index(LinkView& index, size_t column, size_t row)
+{
+    const Table& table = index.get_target_table();
+    size_t begin;
+    size_t end;
+    if (is_null(table, column, row)) {
+        begin = 0;
+        end = first_value_position(index, column);
+    }
+    else {
+        int64_t value = get_value(table, column, row);
+        begin = lower_position(index, column, value);
+        end = upper_position(index, column, value);
+    }
+    // Search backwards, since rows are usually changed right after they have been added.
+    for (size_t pos = end; pos > begin; --pos) {
+        if (index.get(pos - 1).get_index() == row) {
+            index.remove(pos - 1);
+            return;
+        }
+    }
+    // Not found where expected, e.g. the value was changed without updating the index.
+    size_t pos = index.find(row);
+    if (pos != not_found) {
+        index.remove(pos);
+    }
+}
+
+void rebuild_ordered_index(LinkView& index, size_t column)
+{
+    const Table& table = index.get_target_table();
+    std::vector<size_t> rows(table.size());
+    for (size_t i = 0; i < rows.size(); ++i) {
+        rows[i] = i;
+    }
+    std::stable_sort(rows.begin(), rows.end(), [&](size_t a, size_t b) {
+        bool null_a = is_null(table, column, a);
+        bool null_b = is_null(table, column, b);
+        if (null_a || null_b) {
+            return null_a && !null_b;
+        }
+        return get_value(table, column, a) < get_value(table, column, b);
+    });
+
+    index.clear();
+    for (size_t row : rows) {
+        index.add(row);
+    }
+}
+
+std::pair<size_t, size_t> find_ordered_range(const LinkView& index, const OrderedRange& range)
+{
+    size_t begin = range.has_lower ? lower_position(index, range.column, range.lower)
+                                   : first_value_position(index, range.column);
+    size_t end = range.has_upper ? upper_position(index, range.column, range.upper) : index.size();
+    return std::make_pair(begin, std::max(begin, end));
+}
+
+TableView* find_all_ordered(const Query& query, const LinkViewRef& index, const OrderedRange& range, size_t limit)
+{
+    Query restricted = index->get_target_table().where(index);
+    restricted.and_query(query);
+    std::pair<size_t, size_t> positions = find_ordered_range(*index, range);
+    TableView* view = new TableView(restricted.find_all(positions.first, positions.second, limit));
+
+    std::lock_guard<std::mutex> lock(ordered_views_mutex);
+    ordered_views.insert(std::make_pair(view, OrderedView{index, restricted, range, limit}));
+    return view;
+}
+
+size_t count_ordered(const Query& query, const LinkViewRef& index, const OrderedRange& range)
+{
+    Query restricted = index->get_target_table().where(index);
+    restricted.and_query(query);
+    std::pair<size_t, size_t> positions = find_ordered_range(*index, range);
+    return restricted.count(positions.first, positions.second);
+}
+
+void refresh_ordered_range(TableView& view)
+{
+    std::lock_guard<std::mutex> lock(ordered_views_mutex);
+    auto it = ordered_views.find(&view);
+    if (it == ordered_views.end() || view.is_in_sync()) {
+        return;
+    }
+    OrderedView& ordered_view = it->second;
+    if (!ordered_view.index->is_attached()) {
+        ordered_views.erase(it);
+        return;
+    }
+    std::pair<size_t, size_t> positions = find_ordered_range(*ordered_view.index, ordered_view.range);
+    view = ordered_view.query.find_all(positions.first, positions.second, ordered_view.limit);
+}
+
+void forget_ordered_range(TableView* view, bool keep_rows)
+{
+    std::lock_guard<std::mutex> lock(ordered_views_mutex);
+    auto it = ordered_views.find(view);
+    if (it == ordered_views.end()) {
+        return;
+    }
+    if (keep_rows && it->second.index->is_attached()) {
+        // The range condition is part of the query, so looking at the whole index finds the same rows.
+        *view = it->second.query.find_all(0, npos, it->second.limit);
+    }
+    ordered_views.erase(it);
+}
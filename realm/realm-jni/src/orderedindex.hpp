@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_ORDEREDINDEX_HPP
+#define REALM_JAVA_ORDEREDINDEX_HPP
+
+#include <utility>
+
+#include <realm.hpp>
+
+// An ordered index is a link list holding every row of a table, kept in ascending order of an
+// integer, date, float or double column. Null values are ordered first. Dates are compared in
+// seconds, the way core stores them. Floats and doubles are compared by ordered_key().
+struct OrderedRange {
+    size_t column;
+    bool has_lower;
+    int64_t lower; // inclusive
+    bool has_upper;
+    int64_t upper; // inclusive
+};
+
+// Maps a double to an integer having the same order, so all column types are compared as integers.
+// NaN values are ordered beyond the infinities, and must be excluded by the range. Must match
+// OrderedIndex.getKey() in Java.
+int64_t ordered_key(double value);
+
+// Adds a row to the index at the position of its current value.
+void add_to_ordered_index(realm::LinkView& index, size_t column, size_t row);
+
+// Removes a row from the index. Must be called before the value of the row is changed, since the
+// row is looked up by its value.
+void remove_from_ordered_index(realm::LinkView& index, size_t column, size_t row);
+
+// Clears the index and adds all rows of the target table.
+void rebuild_ordered_index(realm::LinkView& index, size_t column);
+
+// Returns the positions [begin, end) of the index holding the values within the range.
+std::pair<size_t, size_t> find_ordered_range(const realm::LinkView& index, const OrderedRange& range);
+
+// Returns a view of the rows within the range matching the query, in the order of the index. The
+// view is kept up to date by sync_view(), since the positions of the range change when the index
+// changes.
+realm::TableView* find_all_ordered(const realm::Query& query, const realm::LinkViewRef& index,
+                                   const OrderedRange& range, size_t limit);
+
+// Counts the rows within the range matching the query.
+size_t count_ordered(const realm::Query& query, const realm::LinkViewRef& index, const OrderedRange& range);
+
+// Called by sync_view() before the view is synced. Recomputes the positions of the range if the
+// view is backed by an ordered index and is out of sync.
+void refresh_ordered_range(realm::TableView& view);
+
+// Stops tracking the view. Must be called when the view is deleted. If the view is still backed
+// by an ordered index, it is replaced by a view of all matching rows in the index so core can keep
+// it in sync on its own, e.g. before it is sorted by another column.
+void forget_ordered_range(realm::TableView* view, bool keep_rows);
+
+#endif // REALM_JAVA_ORDEREDINDEX_HPP
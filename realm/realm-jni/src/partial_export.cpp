@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <deque>
+#include <utility>
+
+#include "partial_export.hpp"
+
+using namespace realm;
+
+namespace {
+
+const StringData class_prefix = "class_";
+
+size_t index_in_group(const Group& group, const Table& table)
+{
+    for (size_t i = 0; i < group.size(); ++i) {
+        if (group.get_table(i).get() == &table)
+            return i;
+    }
+    return not_found;
+}
+
+// The rows of every table reachable from the roots. Tables which are not model classes are
+// selected whole.
+std::vector<std::vector<bool>> select_rows(const Group& group, const std::vector<Query*>& roots)
+{
+    size_t table_count = group.size();
+    std::vector<std::vector<bool>> selected(table_count);
+    std::vector<size_t> link_targets;
+    std::deque<std::pair<size_t, size_t>> pending;
+
+    for (size_t i = 0; i < table_count; ++i) {
+        ConstTableRef table = group.get_table(i);
+        bool whole = !table->get_name().begins_with(class_prefix);
+        selected[i].assign(table->size(), whole);
+    }
+
+    for (Query* query : roots) {
+        TableView rows = query->find_all();
+        size_t t = index_in_group(group, *rows.get_parent());
+        for (size_t i = 0; i < rows.size(); ++i) {
+            size_t row = rows.get_source_ndx(i);
+            if (!selected[t][row]) {
+                selected[t][row] = true;
+                pending.push_back(std::make_pair(t, row));
+            }
+        }
+    }
+
+    // Breadth-first, so every row is visited once however deep the graph is.
+    while (!pending.empty()) {
+        size_t t = pending.front().first;
+        size_t row = pending.front().second;
+        pending.pop_front();
+        ConstTableRef table = group.get_table(t);
+        for (size_t col = 0; col < table->get_column_count(); ++col) {
+            DataType type = table->get_column_type(col);
+            if (type != type_Link && type != type_LinkList)
+                continue;
+            ConstTableRef target = table->get_link_target(col);
+            size_t target_index = index_in_group(group, *target);
+            link_targets.clear();
+            if (type == type_Link) {
+                if (!table->is_null_link(col, row))
+                    link_targets.push_back(table->get_link(col, row));
+            }
+            else {
+                ConstLinkViewRef links = table->get_linklist(col, row);
+                for (size_t i = 0; i < links->size(); ++i)
+                    link_targets.push_back(links->get(i).get_index());
+            }
+            for (size_t target_row : link_targets) {
+                if (!selected[target_index][target_row]) {
+                    selected[target_index][target_row] = true;
+                    pending.push_back(std::make_pair(target_index, target_row));
+                }
+            }
+        }
+    }
+    return selected;
+}
+
+void copy_schema(const Group& source, Group& destination)
+{
+    for (size_t i = 0; i < source.size(); ++i)
+        destination.add_table(source.get_table_name(i));
+
+    for (size_t i = 0; i < source.size(); ++i) {
+        ConstTableRef from = source.get_table(i);
+        TableRef to = destination.get_table(i);
+        for (size_t col = 0; col < from->get_column_count(); ++col) {
+            DataType type = from->get_column_type(col);
+            StringData name = from->get_column_name(col);
+            if (type == type_Link || type == type_LinkList) {
+                size_t target = index_in_group(source, *from->get_link_target(col));
+                to->add_column_link(type, name, *destination.get_table(target));
+            }
+            else {
+                to->add_column(type, name, from->is_nullable(col));
+            }
+            if (from->has_search_index(col))
+                to->add_search_index(col);
+        }
+    }
+}
+
+void copy_rows(const Group& source, Group& destination, const std::vector<std::vector<bool>>& selected)
+{
+    // The index of every exported row in the new file, or npos.
+    std::vector<std::vector<size_t>> new_rows(source.size());
+    for (size_t t = 0; t < source.size(); ++t) {
+        size_t count = 0;
+        new_rows[t].assign(selected[t].size(), npos);
+        for (size_t row = 0; row < selected[t].size(); ++row) {
+            if (selected[t][row])
+                new_rows[t][row] = count++;
+        }
+        destination.get_table(t)->add_empty_row(count);
+    }
+
+    for (size_t t = 0; t < source.size(); ++t) {
+        ConstTableRef from = source.get_table(t);
+        TableRef to = destination.get_table(t);
+        for (size_t col = 0; col < from->get_column_count(); ++col) {
+            DataType type = from->get_column_type(col);
+            bool nullable = from->is_nullable(col);
+            const std::vector<size_t>* target_rows = nullptr;
+            if (type == type_Link || type == type_LinkList)
+                target_rows = &new_rows[index_in_group(source, *from->get_link_target(col))];
+
+            for (size_t row = 0; row < selected[t].size(); ++row) {
+                size_t new_row = new_rows[t][row];
+                if (new_row == npos)
+                    continue;
+                if (nullable && type != type_Link && type != type_LinkList && from->is_null(col, row)) {
+                    to->set_null(col, new_row);
+                    continue;
+                }
+                switch (type) {
+                    case type_Int:
+                        to->set_int(col, new_row, from->get_int(col, row));
+                        break;
+                    case type_Bool:
+                        to->set_bool(col, new_row, from->get_bool(col, row));
+                        break;
+                    case type_Float:
+                        to->set_float(col, new_row, from->get_float(col, row));
+                        break;
+                    case type_Double:
+                        to->set_double(col, new_row, from->get_double(col, row));
+                        break;
+                    case type_DateTime:
+                        to->set_datetime(col, new_row, from->get_datetime(col, row));
+                        break;
+                    case type_String:
+                        to->set_string(col, new_row, from->get_string(col, row));
+                        break;
+                    case type_Binary:
+                        to->set_binary(col, new_row, from->get_binary(col, row));
+                        break;
+                    case type_Link:
+                        if (!from->is_null_link(col, row)) {
+                            size_t target = (*target_rows)[from->get_link(col, row)];
+                            if (target != npos)
+                                to->set_link(col, new_row, target);
+                        }
+                        break;
+                    case type_LinkList: {
+                        ConstLinkViewRef links = from->get_linklist(col, row);
+                        LinkViewRef new_links = to->get_linklist(col, new_row);
+                        for (size_t i = 0; i < links->size(); ++i) {
+                            size_t target = (*target_rows)[links->get(i).get_index()];
+                            if (target != npos)
+                                new_links->add(target);
+                        }
+                        break;
+                    }
+                    default:
+                        // Mixed and sub-table columns are not used by Realm Java.
+                        break;
+                }
+            }
+        }
+    }
+}
+
+} // anonymous namespace
+
+void write_rows_to_file(Group& source, const std::vector<Query*>& roots, StringData path, const char* key)
+{
+    std::vector<std::vector<bool>> selected = select_rows(source, roots);
+    Group destination;
+    copy_schema(source, destination);
+    copy_rows(source, destination, selected);
+#ifdef REALM_ENABLE_ENCRYPTION
+    destination.write(path, key);
+#else
+    static_cast<void>(key);
+    destination.write(path);
+#endif
+}
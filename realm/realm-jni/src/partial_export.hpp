@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_PARTIAL_EXPORT_HPP
+#define REALM_JAVA_PARTIAL_EXPORT_HPP
+
+#include <vector>
+
+#include <realm.hpp>
+
+// Writes the rows found by the queries, and all rows reachable from them through links and link
+// lists, to a new Realm file. The file gets all tables and columns of the source group, including
+// search indexes, so it has the same schema.
+//
+// Only tables of model classes ("class_" prefix) are filtered. All other tables, i.e. the metadata
+// of Realm Java and the hidden tables of ordered and full-text indexes, are copied whole, but
+// their links to rows which are not exported are left out. Link lists keep their order, so an
+// ordered index stays sorted.
+//
+// The rows of a table keep their relative order. No accessor or Java object is created for them.
+void write_rows_to_file(realm::Group& source, const std::vector<realm::Query*>& roots,
+                        realm::StringData path, const char* key);
+
+#endif // REALM_JAVA_PARTIAL_EXPORT_HPP
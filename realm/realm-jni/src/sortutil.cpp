@@ -0,0 +1,295 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <map>
+#include <mutex>
+
+#include <realm/unicode.hpp>
+
+#include "util.hpp"
+#include "backlinks.hpp"
+#include "distinctutil.hpp"
+#include "orderedindex.hpp"
+#include "sortutil.hpp"
+
+using namespace realm;
+
+namespace {
+
+const char* ERR_SORT_NOT_SUPPORTED = "Sort is not supported on binary data, object references and RealmList";
+const char* ERR_SORT_LINK_PATH = "Sorting using child object fields is only supported through RealmObject fields";
+
+struct LinkSort {
+    SortDescriptor descriptor;
+    uint_fast64_t version;
+};
+
+// Live link sorts, keyed by TableView.
+std::mutex link_sorts_mutex;
+std::map<const void*, LinkSort> link_sorts;
+
+bool is_sortable(DataType type)
+{
+    switch (type) {
+        case type_Bool:
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+        case type_String:
+            return true;
+        default:
+            return false;
+    }
+}
+
+template <class T>
+inline int compare(T a, T b)
+{
+    return a < b ? -1 : (b < a ? 1 : 0);
+}
+
+inline int compare_strings(StringData a, StringData b)
+{
+    if (utf8_compare(a, b)) {
+        return -1;
+    }
+    return utf8_compare(b, a) ? 1 : 0;
+}
+
+// Null values and broken links are sorted first, the same way core does for nullable columns.
+int compare_values(const Table& table, size_t col, size_t row1, size_t row2)
+{
+    bool null1 = row1 == npos || (table.is_nullable(col) && table.is_null(col, row1));
+    bool null2 = row2 == npos || (table.is_nullable(col) && table.is_null(col, row2));
+    if (null1 || null2) {
+        return null1 == null2 ? 0 : (null1 ? -1 : 1);
+    }
+    switch (table.get_column_type(col)) {
+        case type_Bool:
+            return compare(table.get_bool(col, row1), table.get_bool(col, row2));
+        case type_Int:
+            return compare(table.get_int(col, row1), table.get_int(col, row2));
+        case type_DateTime:
+            return compare(table.get_datetime(col, row1).get_datetime(),
+                           table.get_datetime(col, row2).get_datetime());
+        case type_Float:
+            return compare(table.get_float(col, row1), table.get_float(col, row2));
+        case type_Double:
+            return compare(table.get_double(col, row1), table.get_double(col, row2));
+        case type_String:
+            return compare_strings(table.get_string(col, row1), table.get_string(col, row2));
+        default:
+            REALM_ASSERT(false);
+            return 0;
+    }
+}
+
+// A key resolved for every row in the view: the table holding the value and the row in it.
+struct ResolvedKey {
+    ConstTableRef table;
+    size_t column;
+    bool ascending;
+    std::vector<size_t> rows;
+};
+
+void resolve_key(const TableView& view, const ColumnPath& path, bool ascending, ResolvedKey& key)
+{
+    ConstTableRef root = view.get_parent().get_table_ref();
+    ConstTableRef target = root;
+    for (size_t i = 0; i + 1 < path.size(); ++i) {
+        target = target->get_link_target(path[i]);
+    }
+    key.table = target;
+    key.column = path.back();
+    key.ascending = ascending;
+
+    size_t size = view.size();
+    key.rows.resize(size);
+    for (size_t i = 0; i < size; ++i) {
+        size_t row = view.get_source_ndx(i);
+        ConstTableRef table = root;
+        for (size_t j = 0; j + 1 < path.size() && row != npos; ++j) {
+            size_t col = path[j];
+            if (table->is_null_link(col, row)) {
+                row = npos;
+            }
+            else {
+                row = table->get_link(col, row);
+                table = table->get_link_target(col);
+            }
+        }
+        key.rows[i] = row;
+    }
+}
+
+void sort_by_link_paths(TableView& view, const SortDescriptor& descriptor)
+{
+    size_t key_count = descriptor.paths.size();
+    std::vector<ResolvedKey> keys(key_count);
+    for (size_t i = 0; i < key_count; ++i) {
+        resolve_key(view, descriptor.paths[i], descriptor.ascending[i], keys[i]);
+    }
+
+    size_t size = view.size();
+    std::vector<size_t> order(size);
+    std::vector<size_t> source_rows(size);
+    for (size_t i = 0; i < size; ++i) {
+        order[i] = i;
+        source_rows[i] = view.get_source_ndx(i);
+    }
+
+    std::stable_sort(order.begin(), order.end(), [&keys](size_t a, size_t b) {
+        for (const ResolvedKey& key : keys) {
+            int c = compare_values(*key.table, key.column, key.rows[a], key.rows[b]);
+            if (c != 0) {
+                return key.ascending ? c < 0 : c > 0;
+            }
+        }
+        return false;
+    });
+
+    for (size_t i = 0; i < size; ++i) {
+        view.m_row_indexes.set(i, source_rows[order[i]]);
+    }
+}
+
+} // anonymous namespace
+
+bool SortDescriptor::has_link_path() const
+{
+    for (const ColumnPath& path : paths) {
+        if (path.size() > 1) {
+            return true;
+        }
+    }
+    return false;
+}
+
+bool read_sort_descriptor(JNIEnv* env, const Table& table, jobjectArray column_paths,
+                          jbooleanArray ascending, SortDescriptor& descriptor)
+{
+    JniBooleanArray bool_arr(env, ascending);
+    jsize arr_len = env->GetArrayLength(column_paths);
+    jsize asc_len = bool_arr.len();
+
+    if (arr_len == 0) {
+        ThrowException(env, IllegalArgument, "You must provide at least one field name.");
+        return false;
+    }
+    if (asc_len == 0) {
+        ThrowException(env, IllegalArgument, "You must provide at least one sort order.");
+        return false;
+    }
+    if (arr_len != asc_len) {
+        ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
+        return false;
+    }
+
+    for (jsize i = 0; i < arr_len; ++i) {
+        jlongArray path_arr = static_cast<jlongArray>(env->GetObjectArrayElement(column_paths, i));
+        JniLongArray long_arr(env, path_arr);
+        jsize path_len = long_arr.len();
+        if (path_len == 0) {
+            ThrowException(env, IllegalArgument, "You must provide at least one field name.");
+            return false;
+        }
+
+        ConstTableRef current = table.get_table_ref();
+        ColumnPath path;
+        for (jsize j = 0; j < path_len; ++j) {
+            if (!COL_INDEX_VALID(env, current.get(), long_arr[j])) {
+                return false;
+            }
+            size_t col = S(long_arr[j]);
+            DataType type = current->get_column_type(col);
+            if (j + 1 < path_len) {
+                if (type != type_Link) {
+                    ThrowException(env, IllegalArgument, ERR_SORT_LINK_PATH);
+                    return false;
+                }
+                current = current->get_link_target(col);
+            }
+            else if (!is_sortable(type)) {
+                ThrowException(env, IllegalArgument, ERR_SORT_NOT_SUPPORTED);
+                return false;
+            }
+            path.push_back(col);
+        }
+
+        descriptor.paths.push_back(path);
+        descriptor.ascending.push_back(B(bool_arr[i]));
+    }
+    return true;
+}
+
+void sort_view(TableView& view, const SortDescriptor& descriptor)
+{
+    if (!descriptor.has_link_path()) {
+        std::vector<size_t> indices;
+        for (const ColumnPath& path : descriptor.paths) {
+            indices.push_back(path[0]);
+        }
+        view.sort(indices, descriptor.ascending);
+        return;
+    }
+    view.sync_if_needed();
+    sort_by_link_paths(view, descriptor);
+}
+
+void keep_sorted(TableView& view, const SortDescriptor& descriptor)
+{
+    sort_view(view, descriptor);
+    if (!descriptor.has_link_path()) {
+        forget_link_sort(&view);
+        return;
+    }
+    resume_link_sort(view, descriptor);
+}
+
+uint_fast64_t sync_view(TableView& view)
+{
+    refresh_backlinks(view);
+    refresh_ordered_range(view);
+    uint_fast64_t version = view.sync_if_needed();
+
+    {
+        std::lock_guard<std::mutex> lock(link_sorts_mutex);
+        auto it = link_sorts.find(&view);
+        if (it != link_sorts.end() && it->second.version != version) {
+            sort_by_link_paths(view, it->second.descriptor);
+            it->second.version = version;
+        }
+    }
+    // The distinct is applied last, so the first row of every combination in sort order is kept.
+    refresh_distinct(view, version);
+    return version;
+}
+
+void forget_link_sort(const void* key)
+{
+    std::lock_guard<std::mutex> lock(link_sorts_mutex);
+    link_sorts.erase(key);
+}
+
+void resume_link_sort(TableView& view, const SortDescriptor& descriptor)
+{
+    std::lock_guard<std::mutex> lock(link_sorts_mutex);
+    LinkSort& link_sort = link_sorts[&view];
+    link_sort.descriptor = descriptor;
+    link_sort.version = view.sync_if_needed();
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_SORTUTIL_HPP
+#define REALM_JAVA_SORTUTIL_HPP
+
+#include <vector>
+
+#include <jni.h>
+#include <realm.hpp>
+
+// A sort key is described by a path of column indices. All elements but the last one are
+// link columns which are followed from the sorted table, the last one is the column holding
+// the value to sort by. A path of length 1 is a plain column of the sorted table.
+typedef std::vector<size_t> ColumnPath;
+
+struct SortDescriptor {
+    std::vector<ColumnPath> paths;
+    std::vector<bool> ascending;
+
+    bool has_link_path() const;
+};
+
+// Converts a Java long[][] (column paths) and boolean[] (sort orders) into a SortDescriptor and
+// validates it against the given table. Returns false with a pending Java exception if the
+// descriptor is invalid.
+bool read_sort_descriptor(JNIEnv* env, const realm::Table& table, jobjectArray column_paths,
+                          jbooleanArray ascending, SortDescriptor& descriptor);
+
+// Sorts the view once. Plain columns are delegated to core, link paths are resolved here.
+void sort_view(realm::TableView& view, const SortDescriptor& descriptor);
+
+// Sorts the view and keeps it sorted. Core re-applies its own sort when a view is synced, but it
+// knows nothing about link paths, so those are remembered here and re-applied by sync_view().
+void keep_sorted(realm::TableView& view, const SortDescriptor& descriptor);
+
+// Replaces TableView::sync_if_needed(). Re-applies a link sort if the view changed and recomputes
+// the range of a view backed by an ordered index, rebuilds a view of backlinks and re-applies a
+// distinct.
+uint_fast64_t sync_view(realm::TableView& view);
+
+// Forgets the link sort of a view, if any. Must be called when the view is deleted or sorted by
+// core again.
+void forget_link_sort(const void* key);
+
+// Keeps a view in a link sort it is already in, e.g. a view imported from a handover, see
+// viewhandover.hpp.
+void resume_link_sort(realm::TableView& view, const SortDescriptor& descriptor);
+
+#endif // REALM_JAVA_SORTUTIL_HPP
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <cmath>
+#include <cstring>
+#include <limits>
+
+#include "util.hpp"
+#include "distinctutil.hpp"
+#include "statistics.hpp"
+
+using namespace realm;
+
+namespace {
+
+// The number of items kept by the top level of the quantile sketch. The rank error is mostly
+// below 1 / sketch_size of the number of values.
+const size_t sketch_size = 200;
+
+// The HyperLogLog has 2^hll_precision registers.
+const int hll_precision = 14;
+
+// A KLL sketch: level h holds values standing for 2^h values each. When a level is full, its
+// values are sorted and every other one is promoted to the next level, which keeps the sketch
+// small while the ranks of the values stay within a known error. The capacity of the levels
+// shrinks by 2/3 from the top level down.
+class QuantileSketch {
+public:
+    QuantileSketch()
+        : m_levels(1)
+    {
+    }
+
+    void add(double value)
+    {
+        if (m_count == 0 || value < m_min) {
+            m_min = value;
+        }
+        if (m_count == 0 || value > m_max) {
+            m_max = value;
+        }
+        ++m_count;
+        m_levels[0].push_back(value);
+        if (m_levels[0].size() >= capacity(0)) {
+            compress();
+        }
+    }
+
+    // The fractions must be sorted.
+    std::vector<double> quantiles(const std::vector<double>& fractions) const
+    {
+        std::vector<std::pair<double, uint64_t>> items; // value and weight
+        for (size_t level = 0; level < m_levels.size(); ++level) {
+            for (double value : m_levels[level]) {
+                items.emplace_back(value, uint64_t(1) << level);
+            }
+        }
+        std::sort(items.begin(), items.end());
+        uint64_t total = 0;
+        for (auto& item : items) {
+            total += item.second;
+        }
+
+        std::vector<double> result;
+        size_t i = 0;
+        uint64_t cumulative = 0;
+        for (double fraction : fractions) {
+            if (fraction == 0) {
+                result.push_back(m_min);
+                continue;
+            }
+            if (fraction == 1) {
+                result.push_back(m_max);
+                continue;
+            }
+            // The first value whose rank reaches the fraction of all values.
+            double target = fraction * total;
+            while (i < items.size() && (cumulative == 0 || cumulative < target)) {
+                cumulative += items[i].second;
+                ++i;
+            }
+            result.push_back(items[i - 1].first);
+        }
+        return result;
+    }
+
+    bool empty() const noexcept
+    {
+        return m_count == 0;
+    }
+
+private:
+    std::vector<std::vector<double>> m_levels;
+    uint64_t m_random = 0x9e3779b97f4a7c15ULL; // xorshift state, fixed so the results are reproducible
+    uint64_t m_count = 0;
+    double m_min = 0;
+    double m_max = 0;
+
+    size_t capacity(size_t level) const
+    {
+        size_t depth = m_levels.size() - 1 - level;
+        return std::max<size_t>(2, static_cast<size_t>(std::ceil(sketch_size * std::pow(2.0 / 3.0, depth))));
+    }
+
+    size_t next_coin()
+    {
+        m_random ^= m_random << 13;
+        m_random ^= m_random >> 7;
+        m_random ^= m_random << 17;
+        return static_cast<size_t>(m_random >> 63);
+    }
+
+    void compress()
+    {
+        for (size_t level = 0; level < m_levels.size(); ++level) {
+            if (m_levels[level].size() < capacity(level)) {
+                continue;
+            }
+            if (level + 1 == m_levels.size()) {
+                m_levels.emplace_back();
+            }
+            std::vector<double>& items = m_levels[level];
+            std::vector<double>& next = m_levels[level + 1];
+            std::sort(items.begin(), items.end());
+            // An odd value out stays at its level.
+            bool has_leftover = items.size() % 2 == 1;
+            double leftover = has_leftover ? items.back() : 0;
+            if (has_leftover) {
+                items.pop_back();
+            }
+            // Which half survives is picked at random, otherwise the ranks drift to one side.
+            for (size_t i = next_coin(); i < items.size(); i += 2) {
+                next.push_back(items[i]);
+            }
+            items.clear();
+            if (has_leftover) {
+                items.push_back(leftover);
+            }
+        }
+    }
+};
+
+template<class T>
+void exact_quantiles(std::vector<T>& values, const std::vector<double>& fractions, std::vector<double>& result)
+{
+    // The fractions are sorted, so every rank is selected from the values above the previous one.
+    size_t start = 0;
+    for (double fraction : fractions) {
+        double position = fraction * (values.size() - 1);
+        size_t low = static_cast<size_t>(position);
+        std::nth_element(values.begin() + start, values.begin() + low, values.end());
+        double value = static_cast<double>(values[low]);
+        if (low + 1 < values.size() && position > low) {
+            // The values above the selected rank are not smaller than it, the next rank is their minimum.
+            double next = static_cast<double>(*std::min_element(values.begin() + low + 1, values.end()));
+            value += (next - value) * (position - low);
+        }
+        result.push_back(value);
+        start = low;
+    }
+}
+
+inline bool read_value(const Table& table, DataType type, size_t column, size_t row, double& value)
+{
+    if (is_null_value(table, column, row)) {
+        return false;
+    }
+    value = (type == type_Float) ? table.get_float(column, row) : table.get_double(column, row);
+    return !std::isnan(value);
+}
+
+// The finalizer of splitmix64, spreading the bits of a value over the whole hash.
+inline uint64_t mix(uint64_t x)
+{
+    x += 0x9e3779b97f4a7c15ULL;
+    x = (x ^ (x >> 30)) * 0xbf58476d1ce4e5b9ULL;
+    x = (x ^ (x >> 27)) * 0x94d049bb133111ebULL;
+    return x ^ (x >> 31);
+}
+
+inline uint64_t hash_double(double value)
+{
+    if (value == 0) {
+        value = 0; // -0.0 is equal to 0.0
+    }
+    uint64_t bits;
+    std::memcpy(&bits, &value, sizeof(bits));
+    return mix(bits);
+}
+
+// FNV-1a of the bytes of the string.
+inline uint64_t hash_string(StringData value)
+{
+    uint64_t hash = 14695981039346656037ULL;
+    for (size_t i = 0; i < value.size(); ++i) {
+        hash ^= static_cast<unsigned char>(value.data()[i]);
+        hash *= 1099511628211ULL;
+    }
+    return mix(hash);
+}
+
+class HyperLogLog {
+public:
+    HyperLogLog()
+        : m_registers(size_t(1) << hll_precision, 0)
+    {
+    }
+
+    void add(uint64_t hash)
+    {
+        size_t index = static_cast<size_t>(hash >> (64 - hll_precision));
+        // The remaining bits, with a guard bit so the leading zeros are bounded.
+        uint64_t bits = (hash << hll_precision) | (uint64_t(1) << (hll_precision - 1));
+        uint8_t rank = static_cast<uint8_t>(__builtin_clzll(bits) + 1);
+        if (rank > m_registers[index]) {
+            m_registers[index] = rank;
+        }
+    }
+
+    int64_t estimate() const
+    {
+        const double m = static_cast<double>(m_registers.size());
+        double sum = 0;
+        size_t zeros = 0;
+        for (uint8_t rank : m_registers) {
+            sum += std::ldexp(1.0, -rank);
+            if (rank == 0) {
+                ++zeros;
+            }
+        }
+        double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros != 0) {
+            // Linear counting is more accurate for small cardinalities.
+            estimate = m * std::log(m / zeros);
+        }
+        return static_cast<int64_t>(std::llround(estimate));
+    }
+
+private:
+    std::vector<uint8_t> m_registers;
+};
+
+} // anonymous namespace
+
+bool read_quantiles(JNIEnv* env, const Table& table, jlong column_index, jdoubleArray quantiles,
+                    std::vector<double>& fractions)
+{
+    if (!COL_INDEX_VALID(env, &table, column_index))
+        return false;
+    DataType type = table.get_column_type(S(column_index));
+    if (type != type_Int && type != type_Float && type != type_Double) {
+        ThrowException(env, IllegalArgument, "Invalid type - Quantiles are only supported for Int, Float and "
+                       "Double columns, not for the column '"
+                       + std::string(table.get_column_name(S(column_index))) + "'.");
+        return false;
+    }
+    fractions.resize(env->GetArrayLength(quantiles));
+    env->GetDoubleArrayRegion(quantiles, 0, static_cast<jsize>(fractions.size()), fractions.data());
+    for (double fraction : fractions) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            ThrowException(env, IllegalArgument, "Quantiles must be between 0 and 1.");
+            return false;
+        }
+    }
+    return true;
+}
+
+jdoubleArray find_quantiles(JNIEnv* env, const TableView& view, size_t column,
+                            const std::vector<double>& fractions, bool approximate)
+{
+    const Table& table = view.get_parent();
+    DataType type = table.get_column_type(column);
+
+    // The quantiles are found in ascending order and returned in the order they were asked for.
+    std::vector<size_t> order(fractions.size());
+    for (size_t i = 0; i < order.size(); ++i) {
+        order[i] = i;
+    }
+    std::sort(order.begin(), order.end(), [&](size_t a, size_t b) {
+        return fractions[a] < fractions[b];
+    });
+    std::vector<double> sorted_fractions;
+    for (size_t i : order) {
+        sorted_fractions.push_back(fractions[i]);
+    }
+
+    std::vector<double> sorted_result;
+    if (approximate) {
+        QuantileSketch sketch;
+        for (size_t i = 0; i < view.size(); ++i) {
+            if (!view.is_row_attached(i))
+                continue;
+            size_t row = view.get_source_ndx(i);
+            if (type == type_Int) {
+                if (!is_null_value(table, column, row)) {
+                    sketch.add(static_cast<double>(table.get_int(column, row)));
+                }
+                continue;
+            }
+            double value;
+            if (read_value(table, type, column, row, value)) {
+                sketch.add(value);
+            }
+        }
+        if (!sketch.empty()) {
+            sorted_result = sketch.quantiles(sorted_fractions);
+        }
+    }
+    else if (type == type_Int) {
+        // Integers are selected as integers, so large values don't lose precision before the
+        // interpolation.
+        std::vector<int64_t> values;
+        values.reserve(view.size());
+        for (size_t i = 0; i < view.size(); ++i) {
+            if (!view.is_row_attached(i))
+                continue;
+            size_t row = view.get_source_ndx(i);
+            if (!is_null_value(table, column, row)) {
+                values.push_back(table.get_int(column, row));
+            }
+        }
+        if (!values.empty()) {
+            exact_quantiles(values, sorted_fractions, sorted_result);
+        }
+    }
+    else {
+        std::vector<double> values;
+        values.reserve(view.size());
+        for (size_t i = 0; i < view.size(); ++i) {
+            if (!view.is_row_attached(i))
+                continue;
+            double value;
+            if (read_value(table, type, column, view.get_source_ndx(i), value)) {
+                values.push_back(value);
+            }
+        }
+        if (!values.empty()) {
+            exact_quantiles(values, sorted_fractions, sorted_result);
+        }
+    }
+
+    std::vector<double> result(fractions.size(), std::numeric_limits<double>::quiet_NaN());
+    for (size_t i = 0; i < sorted_result.size(); ++i) {
+        result[order[i]] = sorted_result[i];
+    }
+    jdoubleArray array = env->NewDoubleArray(static_cast<jsize>(result.size()));
+    if (array == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the quantiles.");
+        return NULL;
+    }
+    env->SetDoubleArrayRegion(array, 0, static_cast<jsize>(result.size()), result.data());
+    return array;
+}
+
+bool check_count_distinct_column(JNIEnv* env, const Table& table, jlong column_index)
+{
+    if (!COL_INDEX_VALID(env, &table, column_index))
+        return false;
+    switch (table.get_column_type(S(column_index))) {
+        case type_Bool:
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+        case type_String:
+            return true;
+        default:
+            ThrowException(env, IllegalArgument, "Invalid type - Distinct counts are not supported for the column '"
+                           + std::string(table.get_column_name(S(column_index))) + "'.");
+            return false;
+    }
+}
+
+int64_t count_distinct_approx(const TableView& view, size_t column)
+{
+    const Table& table = view.get_parent();
+    DataType type = table.get_column_type(column);
+    HyperLogLog hll;
+    for (size_t i = 0; i < view.size(); ++i) {
+        if (!view.is_row_attached(i))
+            continue;
+        size_t row = view.get_source_ndx(i);
+        if (is_null_value(table, column, row))
+            continue;
+        switch (type) {
+            case type_Bool:
+                hll.add(mix(table.get_bool(column, row) ? 1 : 0));
+                break;
+            case type_Int:
+                hll.add(mix(static_cast<uint64_t>(table.get_int(column, row))));
+                break;
+            case type_DateTime:
+                hll.add(mix(static_cast<uint64_t>(table.get_datetime(column, row).get_datetime())));
+                break;
+            case type_Float:
+            case type_Double: {
+                double value;
+                if (read_value(table, type, column, row, value)) {
+                    hll.add(hash_double(value));
+                }
+                break;
+            }
+            default:
+                hll.add(hash_string(table.get_string(column, row)));
+                break;
+        }
+    }
+    return hll.estimate();
+}
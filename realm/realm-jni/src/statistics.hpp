@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_STATISTICS_HPP
+#define REALM_JAVA_STATISTICS_HPP
+
+#include <vector>
+
+#include <jni.h>
+#include <realm.hpp>
+
+// Core only computes sums, averages, minimums and maximums. Quantiles and distinct counts of a
+// column over the rows of a view are computed here, without copying the column to Java.
+//
+// Exact quantiles copy the values of the rows to a buffer and select the ranks with
+// std::nth_element, interpolating linearly between the two closest ranks. Approximate quantiles
+// feed the values to a KLL sketch of bounded size instead, whose rank error is mostly below 1%
+// of the number of values. Distinct values are counted approximately with a HyperLogLog of 2^14
+// registers, whose standard error is about 0.8%.
+//
+// Null values, and NaN values of Float and Double columns, are ignored.
+
+// Validates a column of Int, Float or Double type and the quantiles, given as fractions between 0
+// and 1. Returns false with a pending Java exception if they are invalid.
+bool read_quantiles(JNIEnv* env, const realm::Table& table, jlong column_index, jdoubleArray quantiles,
+                    std::vector<double>& fractions);
+
+// Returns the quantiles of the column over the rows of the view as a double[], in the order of
+// the fractions. All quantiles are NaN if there are no values.
+jdoubleArray find_quantiles(JNIEnv* env, const realm::TableView& view, size_t column,
+                            const std::vector<double>& fractions, bool approximate);
+
+// Validates a column of Bool, Int, DateTime, Float, Double or String type. Returns false with a
+// pending Java exception if it is invalid.
+bool check_count_distinct_column(JNIEnv* env, const realm::Table& table, jlong column_index);
+
+// Estimates the number of distinct values of the column over the rows of the view.
+int64_t count_distinct_approx(const realm::TableView& view, size_t column);
+
+#endif // REALM_JAVA_STATISTICS_HPP
@@ -233,6 +233,36 @@ bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, realm::BinaryData& bin)
     return true;
 }
 
+bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, jint offset, jint length, bool copy,
+                   std::unique_ptr<char[]>& owner, realm::BinaryData& bin)
+{
+    BinaryData buffer;
+    if (!GetBinaryData(env, jByteBuffer, buffer))
+        return false;
+    if (offset < 0 || length < 0 || S(offset) + S(length) > buffer.size()) {
+        ThrowException(env, IllegalArgument, "ByteBuffer region is out of bounds.");
+        return false;
+    }
+    const char* data = buffer.data() + offset;
+    if (copy) {
+        owner.reset(new char[length]);
+        std::copy(data, data + length, owner.get());
+        data = owner.get();
+    }
+    bin = BinaryData(data, S(length));
+    return true;
+}
+
+jobject NewDirectByteBuffer(JNIEnv* env, realm::BinaryData bin)
+{
+    if (bin.is_null())
+        return NULL;
+    // JNI needs an address even for an empty buffer.
+    static char empty = 0;
+    char* data = bin.size() == 0 ? &empty : const_cast<char*>(bin.data());
+    return env->NewDirectByteBuffer(data, static_cast<jlong>(bin.size()));  // throws
+}
+
 
 //*********************************************************************
 // String handling
@@ -487,6 +487,12 @@ inline bool TblIndexAndTypeInsertValid(JNIEnv* env, T* pTable, jlong columnIndex
 }
 
 bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, realm::BinaryData& data);
+// Reads length bytes at offset of a direct ByteBuffer. If copy is true, the bytes are copied into owner first. This is
+// needed for buffers which may point into the Realm file itself, since writing to the file can overwrite them.
+bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, jint offset, jint length, bool copy,
+                   std::unique_ptr<char[]>& owner, realm::BinaryData& data);
+// Returns a direct ByteBuffer pointing to the binary data, or NULL if the value is null.
+jobject NewDirectByteBuffer(JNIEnv* env, realm::BinaryData data);
 
 
 // Utility function for appending StringData, which is returned
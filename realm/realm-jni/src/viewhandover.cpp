@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "viewhandover.hpp"
+
+using namespace realm;
+
+jlong export_view(SharedGroup& shared_group, TableView& view, const SortDescriptor* link_sort,
+                  const std::vector<size_t>* distinct_columns)
+{
+    std::unique_ptr<ViewHandover> handover(new ViewHandover());
+    handover->handover = shared_group.export_for_handover(view, MutableSourcePayload::Move);
+    if (link_sort && link_sort->has_link_path()) {
+        handover->link_sort = *link_sort;
+    }
+    if (distinct_columns) {
+        handover->distinct_columns = *distinct_columns;
+    }
+    return reinterpret_cast<jlong>(handover.release());
+}
+
+std::unique_ptr<TableView> import_view(SharedGroup& shared_group, jlong handover_ptr)
+{
+    std::unique_ptr<ViewHandover> handover(reinterpret_cast<ViewHandover*>(handover_ptr));
+    std::unique_ptr<TableView> view = shared_group.import_from_handover(std::move(handover->handover));
+    // The imported view is at the same version as the exported one and is already in order and
+    // distinct.
+    if (handover->link_sort.has_link_path()) {
+        resume_link_sort(*view, handover->link_sort);
+    }
+    if (!handover->distinct_columns.empty()) {
+        resume_distinct(*view, handover->distinct_columns);
+    }
+    return view;
+}
+
+void close_view_handover(jlong handover_ptr)
+{
+    delete reinterpret_cast<ViewHandover*>(handover_ptr);
+}
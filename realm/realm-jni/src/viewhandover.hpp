@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_VIEWHANDOVER_HPP
+#define REALM_JAVA_VIEWHANDOVER_HPP
+
+#include <memory>
+
+#include <jni.h>
+#include <realm.hpp>
+#include <realm/group_shared.hpp>
+
+#include "distinctutil.hpp"
+#include "sortutil.hpp"
+
+// Core's handover of a TableView knows nothing about the link sorts and distincts done by the JNI
+// layer, so they travel with it in this object. Since they are owned by the handover rather than kept in a
+// registry, they are released with it whether or not the handover is ever imported.
+struct ViewHandover {
+    std::unique_ptr<realm::SharedGroup::Handover<realm::TableView>> handover;
+    SortDescriptor link_sort;
+    std::vector<size_t> distinct_columns;
+};
+
+// Exports a view from the SharedGroup of a worker thread, with the link sort and the distinct it
+// is kept in, if any. Returns the ViewHandover as a pointer for Java, which must either be
+// imported or closed.
+jlong export_view(realm::SharedGroup& shared_group, realm::TableView& view,
+                  const SortDescriptor* link_sort = nullptr,
+                  const std::vector<size_t>* distinct_columns = nullptr);
+
+// Imports a view into the SharedGroup of the caller thread and keeps its link sort and distinct. The
+// handover is deleted, even if the import fails.
+std::unique_ptr<realm::TableView> import_view(realm::SharedGroup& shared_group, jlong handover_ptr);
+
+// Deletes a handover which is discarded without being imported.
+void close_view_handover(jlong handover_ptr);
+
+#endif // REALM_JAVA_VIEWHANDOVER_HPP
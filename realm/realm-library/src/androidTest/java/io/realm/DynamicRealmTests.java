@@ -180,6 +180,20 @@ public class DynamicRealmTests {
         realm.createObject(DogPrimaryKey.CLASS_NAME, "bar");
     }
 
+    @Test
+    public void beginBulkLoad() {
+        realm.beginTransaction();
+        realm.beginBulkLoad(DogPrimaryKey.CLASS_NAME);
+        for (int i = 0; i < 10; i++) {
+            realm.createObject(DogPrimaryKey.CLASS_NAME, i).setString("name", "Dog " + i);
+        }
+        realm.endBulkLoad();
+        assertEquals(3, realm.where(DogPrimaryKey.CLASS_NAME).equalTo("id", 3).findFirst().getLong("id"));
+        realm.commitTransaction();
+
+        assertEquals(10, realm.where(DogPrimaryKey.CLASS_NAME).count());
+    }
+
     @Test
     public void where() {
         realm.beginTransaction();
@@ -448,20 +462,19 @@ public class DynamicRealmTests {
 
         populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String field : AnnotationIndexTypes.NOT_INDEX_FIELDS) {
-            try {
-                realm.distinct(AnnotationIndexTypes.CLASS_NAME, field);
-                fail(field);
-            } catch (IllegalArgumentException ignored) {
-            }
+        assertEquals(2, realm.distinct(AnnotationIndexTypes.CLASS_NAME, AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL).size());
+        for (String field : new String[]{AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE, AnnotationIndexTypes.FIELD_NOT_INDEX_STRING}) {
+            assertEquals(field, numberOfBlocks, realm.distinct(AnnotationIndexTypes.CLASS_NAME, field).size());
         }
+        assertEquals(numberOfBlocks, realm.distinct(AnnotationIndexTypes.CLASS_NAME,
+                AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_STRING).size());
     }
 
     @Test
     public void distinct_invalidTypes() {
         populateTestRealm();
 
-        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_BINARY}) {
             try {
                 realm.distinct(AllTypes.CLASS_NAME, field);
                 fail(field);
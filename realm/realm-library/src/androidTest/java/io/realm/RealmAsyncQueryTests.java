@@ -29,8 +29,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
@@ -39,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import io.realm.entities.AllTypes;
 import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Dog;
+import io.realm.entities.FullTextIndexed;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
 import io.realm.instrumentation.MockActivityManager;
@@ -311,6 +314,29 @@ public class RealmAsyncQueryTests {
         });
     }
 
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_fullText() throws Throwable {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            realm.createObject(FullTextIndexed.class).setBody((i % 3 == 0) ? "Full-text search " + i : "other " + i);
+        }
+        realm.commitTransaction();
+        final RealmResults<FullTextIndexed> results = realm.where(FullTextIndexed.class)
+                .matches(FullTextIndexed.FIELD_BODY, "search tex*")
+                .findAllAsync();
+
+        results.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertTrue(results.isLoaded());
+                assertEquals(4, results.size());
+                looperThread.testComplete();
+            }
+        });
+    }
+
     @Test
     @RunTestInLooperThread
     public void accessingRealmListOnUnloadedRealmObjectShouldThrow() {
@@ -1572,15 +1598,36 @@ public class RealmAsyncQueryTests {
         final long numberOfObjects = 10; // must be greater than 1
         populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String fieldName : new String[]{"Boolean", "Long", "Date", "String"}) {
-            try {
-                realm.distinctAsync(AnnotationIndexTypes.class, "notIndex" + fieldName);
-                fail("notIndex" + fieldName);
-            } catch (IllegalArgumentException ignored) {
-            }
-        }
+        final RealmResults<AnnotationIndexTypes> distinctBool = realm.distinctAsync(AnnotationIndexTypes.class,
+                AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL);
+        final RealmResults<AnnotationIndexTypes> distinctLongDate = realm.distinctAsync(AnnotationIndexTypes.class,
+                AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE);
+        looperThread.keepStrongReference.add(distinctBool);
+        looperThread.keepStrongReference.add(distinctLongDate);
 
-        looperThread.testComplete();
+        final AtomicInteger changeListenerCalled = new AtomicInteger(2);
+        final Runnable signalCallbackFinished = new Runnable() {
+            @Override
+            public void run() {
+                if (changeListenerCalled.decrementAndGet() == 0) {
+                    looperThread.testComplete();
+                }
+            }
+        };
+        distinctBool.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(2, distinctBool.size());
+                signalCallbackFinished.run();
+            }
+        });
+        distinctLongDate.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(numberOfBlocks, distinctLongDate.size());
+                signalCallbackFinished.run();
+            }
+        });
     }
 
     @Test
@@ -1778,6 +1825,207 @@ public class RealmAsyncQueryTests {
     }
 
 
+    // *****************************
+    // ****  Async copyFromRealm  ***
+    // *****************************
+
+    @Test
+    @RunTestInLooperThread
+    public void copyFromRealmAsync() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        realm.minRowsPerParallelCopy = 3; // Several ranges on multi-core devices.
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).findAllSorted("columnLong", Sort.DESCENDING);
+        final Thread callerThread = Thread.currentThread();
+
+        realm.copyFromRealmAsync(results, 0, new Realm.CopyCallback<AllTypes>() {
+            @Override
+            public void onSuccess(List<AllTypes> copies) {
+                assertTrue(Thread.currentThread() == callerThread);
+                assertEquals(10, copies.size());
+                for (int i = 0; i < copies.size(); i++) {
+                    AllTypes copy = copies.get(i);
+                    assertFalse(copy.isValid());
+                    assertEquals(9 - i, copy.getColumnLong());
+                    assertEquals("test data " + (9 - i), copy.getColumnString());
+                    assertNull(copy.getColumnRealmList());
+                }
+                looperThread.testComplete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                fail(error.getMessage());
+            }
+        });
+    }
+
+    // Test that objects committed after the copy was started are not copied.
+    @Test
+    @RunTestInLooperThread
+    public void copyFromRealmAsync_copiesVersionOfCall() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        RealmResults<AllTypes> results = realm.allObjects(AllTypes.class);
+
+        realm.copyFromRealmAsync(results, Integer.MAX_VALUE, new Realm.CopyCallback<AllTypes>() {
+            @Override
+            public void onSuccess(List<AllTypes> copies) {
+                assertEquals(10, copies.size());
+                looperThread.testComplete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                fail(error.getMessage());
+            }
+        });
+
+        realm.beginTransaction();
+        realm.clear(AllTypes.class);
+        realm.commitTransaction();
+    }
+
+    // *****************************
+    // ****  Async groupBy  ********
+    // *****************************
+
+    @Test
+    @RunTestInLooperThread
+    public void groupByAsync() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        final Thread callerThread = Thread.currentThread();
+
+        realm.where(AllTypes.class).groupByAsync(new String[] {AllTypes.FIELD_BOOLEAN},
+                new Aggregate[] {Aggregate.count(), Aggregate.sum(AllTypes.FIELD_LONG)},
+                new RealmQuery.GroupByCallback() {
+                    @Override
+                    public void onSuccess(GroupedResults groups) {
+                        assertTrue(Thread.currentThread() == callerThread);
+                        assertEquals(2, groups.size());
+                        assertTrue(Arrays.equals(new boolean[] {false, true},
+                                groups.getBooleanKeys(AllTypes.FIELD_BOOLEAN)));
+                        assertTrue(Arrays.equals(new long[] {6, 4}, groups.getLongValues(0)));
+                        assertTrue(Arrays.equals(new long[] {27, 18}, groups.getLongValues(1)));
+                        looperThread.testComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        fail(error.getMessage());
+                    }
+                });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void groupByAsync_realmResults() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 5).findAll();
+
+        results.groupByAsync(new String[] {AllTypes.FIELD_BOOLEAN}, new Aggregate[] {Aggregate.max(AllTypes.FIELD_LONG)},
+                new RealmQuery.GroupByCallback() {
+                    @Override
+                    public void onSuccess(GroupedResults groups) {
+                        assertTrue(Arrays.equals(new long[] {3, 2}, groups.getCounts()));
+                        assertTrue(Arrays.equals(new long[] {4, 3}, groups.getLongValues(0)));
+                        looperThread.testComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        fail(error.getMessage());
+                    }
+                });
+    }
+
+
+    // ****************************************
+    // ****  Async percentiles and counts  ****
+    // ****************************************
+
+    @Test
+    @RunTestInLooperThread
+    public void percentilesAsync() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        final Thread callerThread = Thread.currentThread();
+
+        realm.where(AllTypes.class).percentilesAsync(AllTypes.FIELD_LONG, new double[] {50, 100}, false,
+                new RealmQuery.PercentilesCallback() {
+                    @Override
+                    public void onSuccess(double[] percentiles) {
+                        assertTrue(Thread.currentThread() == callerThread);
+                        assertTrue(Arrays.equals(new double[] {4.5, 9}, percentiles));
+                        looperThread.testComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        fail(error.getMessage());
+                    }
+                });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void percentilesAsync_approximate() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 5).findAll();
+
+        results.percentilesAsync(AllTypes.FIELD_LONG, new double[] {0, 100}, true,
+                new RealmQuery.PercentilesCallback() {
+                    @Override
+                    public void onSuccess(double[] percentiles) {
+                        assertTrue(Arrays.equals(new double[] {0, 4}, percentiles));
+                        looperThread.testComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        fail(error.getMessage());
+                    }
+                });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void countDistinctApproxAsync() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        final Thread callerThread = Thread.currentThread();
+
+        realm.where(AllTypes.class).countDistinctApproxAsync(AllTypes.FIELD_STRING,
+                new RealmQuery.CountCallback() {
+                    @Override
+                    public void onSuccess(long count) {
+                        assertTrue(Thread.currentThread() == callerThread);
+                        assertEquals(10, count);
+                        looperThread.testComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        fail(error.getMessage());
+                    }
+                });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void countDistinctApproxAsync_nullCallbackThrows() throws Throwable {
+        try {
+            looperThread.realm.where(AllTypes.class).countDistinctApproxAsync(AllTypes.FIELD_STRING, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        looperThread.testComplete();
+    }
+
+
     // *** Helper methods ***
 
     private void populateTestRealm(final Realm testRealm, int objects) {
@@ -157,6 +157,21 @@ public class RealmConfigurationTest extends AndroidTestCase {
         }
     }
 
+    public void testQueryParallelismLessThanOneThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).queryParallelism(0).build();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testQueryParallelism() {
+        assertEquals(1, defaultConfig.getQueryParallelism());
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext()).queryParallelism(4).build();
+        assertEquals(4, config.getQueryParallelism());
+        assertFalse(config.equals(defaultConfig));
+    }
+
     public void testVersionLessThanDiscVersionThrows() {
         realm = Realm.getInstance(new RealmConfiguration.Builder(getContext()).schemaVersion(42).build());
         realm.close();
@@ -24,8 +24,10 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -35,11 +37,18 @@ import java.util.TimeZone;
 import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
 import io.realm.entities.AnnotationTypes;
+import io.realm.entities.CompoundIndexed;
+import io.realm.entities.CyclicType;
+import io.realm.entities.CyclicTypePrimaryKey;
 import io.realm.entities.Dog;
+import io.realm.entities.DogPrimaryKey;
+import io.realm.entities.FullTextIndexed;
 import io.realm.entities.NoPrimaryKeyNullTypes;
 import io.realm.entities.NullTypes;
 import io.realm.entities.OwnerPrimaryKey;
 import io.realm.exceptions.RealmException;
+import io.realm.exceptions.RealmPrimaryKeyConstraintException;
+import io.realm.internal.android.JsonUtils;
 
 import static io.realm.internal.test.ExtraTests.assertArrayEquals;
 
@@ -696,6 +705,28 @@ public class RealmJsonTest extends AndroidTestCase {
         assertAllTypesPrimaryKeyUpdated();
     }
 
+    // Primary keys are looked up before the objects are created, so new objects repeating a key must still be merged.
+    public void testCreateOrUpdateAllJsonArray_repeatedNewPrimaryKeys() throws JSONException {
+        testRealm.beginTransaction();
+        AllTypesPrimaryKey obj = new AllTypesPrimaryKey();
+        obj.setColumnLong(1);
+        obj.setColumnString("Foo");
+        testRealm.copyToRealm(obj);
+
+        JSONArray array = new JSONArray("[" +
+                "{ \"columnLong\" : 2, \"columnString\" : \"bar\" }," +
+                "{ \"columnLong\" : 1, \"columnString\" : \"baz\" }," +
+                "{ \"columnLong\" : 2, \"columnString\" : \"qux\" }" +
+                "]");
+        testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, array);
+        testRealm.commitTransaction();
+
+        RealmResults<AllTypesPrimaryKey> results = testRealm.allObjectsSorted(AllTypesPrimaryKey.class, "columnLong", Sort.ASCENDING);
+        assertEquals(2, results.size());
+        assertEquals("baz", results.get(0).getColumnString());
+        assertEquals("qux", results.get(1).getColumnString());
+    }
+
     public void testCreateOrUpdateAllInputStream() throws IOException {
         testRealm.beginTransaction();
         testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.loadJsonFromAssets(getContext(), "list_alltypes_primarykey.json"));
@@ -704,6 +735,147 @@ public class RealmJsonTest extends AndroidTestCase {
         assertAllTypesPrimaryKeyUpdated();
     }
 
+    public void testCreateOrUpdateAllInputStream_primaryKeyLast() throws IOException {
+        testRealm.beginTransaction();
+        AllTypesPrimaryKey obj = new AllTypesPrimaryKey();
+        obj.setColumnLong(1);
+        obj.setColumnString("Foo");
+        testRealm.copyToRealm(obj);
+
+        InputStream in = TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"bar\", \"columnDouble\" : 1.5, \"columnLong\" : 1 }," +
+                "{ \"columnString\" : \"baz\", \"columnRealmList\" : [{ \"id\" : 1, \"name\" : \"Dog1\" }], \"columnLong\" : 2 }," +
+                "{ \"columnString\" : \"qux\", \"columnLong\" : 2 }" +
+                "]");
+        testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, in);
+        testRealm.commitTransaction();
+
+        RealmResults<AllTypesPrimaryKey> result = testRealm.allObjectsSorted(AllTypesPrimaryKey.class, "columnLong", Sort.ASCENDING);
+        assertEquals(2, result.size());
+        assertEquals("bar", result.get(0).getColumnString());
+        assertEquals(1.5D, result.get(0).getColumnDouble());
+        assertEquals("qux", result.get(1).getColumnString());
+        assertEquals(1, result.get(1).getColumnRealmList().size());
+    }
+
+    public void testCreateAllFromJsonStream_primaryKeyLast() throws IOException {
+        InputStream in = TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"foo\", \"unknown\" : { \"a\" : [1, 2] }, \"columnDate\" : 1000," +
+                " \"columnRealmObject\" : { \"name\" : \"Dog1\", \"id\" : 1 }," +
+                " \"columnRealmList\" : [{ \"id\" : 2 }, { \"id\" : 3 }], \"columnLong\" : 1 }," +
+                "{ \"columnBoxedBoolean\" : null, \"columnString\" : \"bar\", \"columnLong\" : 2 }" +
+                "]");
+        testRealm.beginTransaction();
+        testRealm.createAllFromJson(AllTypesPrimaryKey.class, in);
+        testRealm.commitTransaction();
+
+        RealmResults<AllTypesPrimaryKey> result = testRealm.allObjectsSorted(AllTypesPrimaryKey.class, "columnLong", Sort.ASCENDING);
+        assertEquals(2, result.size());
+        assertEquals("foo", result.get(0).getColumnString());
+        assertEquals(new Date(1000), result.get(0).getColumnDate());
+        assertEquals("Dog1", result.get(0).getColumnRealmObject().getName());
+        assertEquals(2, result.get(0).getColumnRealmList().size());
+        assertEquals(3, result.get(0).getColumnRealmList().get(1).getId());
+        assertEquals("bar", result.get(1).getColumnString());
+        assertNull(result.get(1).getColumnBoxedBoolean());
+        assertEquals(3, testRealm.allObjects(DogPrimaryKey.class).size());
+    }
+
+    public void testCreateAllFromJsonStream_duplicatedPrimaryKeyThrows() throws IOException {
+        InputStream in = TestHelper.stringToStream("[{ \"columnLong\" : 1 }, { \"columnString\" : \"foo\", \"columnLong\" : 1 }]");
+        testRealm.beginTransaction();
+        try {
+            testRealm.createAllFromJson(AllTypesPrimaryKey.class, in);
+            fail();
+        } catch (RealmPrimaryKeyConstraintException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testImportAllFromJson() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",\n").append("{ \"columnString\" : \"str[,]{").append(i)
+                    .append("}\\\"\", \"columnLong\" : ").append(i).append(" }");
+        }
+        json.append("]");
+
+        testRealm.importAllFromJson(AllTypes.class, TestHelper.stringToStream(json.toString()), 4);
+
+        assertFalse(testRealm.isInTransaction());
+        RealmResults<AllTypes> result = testRealm.allObjects(AllTypes.class);
+        assertEquals(1000, result.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, result.get(i).getColumnLong());
+            assertEquals("str[,]{" + i + "}\"", result.get(i).getColumnString());
+        }
+    }
+
+    public void testImportAllFromJson_emptyArray() throws IOException {
+        testRealm.importAllFromJson(AllTypes.class, TestHelper.stringToStream(" [ ] "), 2);
+        assertFalse(testRealm.isInTransaction());
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testImportAllFromJson_insideTransactionThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.importAllFromJson(AllTypes.class, TestHelper.stringToStream("[]"), 2);
+            fail();
+        } catch (IllegalStateException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testImportAllFromJson_invalidJsonImportsNothing() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append("{ \"columnLong\" : ").append(i).append(" },");
+        }
+        json.append("{ \"columnLong\" : }]");
+        try {
+            testRealm.importAllFromJson(AllTypes.class, TestHelper.stringToStream(json.toString()), 4);
+            fail();
+        } catch (RealmException ignored) {
+        }
+        assertFalse(testRealm.isInTransaction());
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testImportOrUpdateAllFromJson() throws IOException {
+        testRealm.beginTransaction();
+        AllTypesPrimaryKey obj = new AllTypesPrimaryKey();
+        obj.setColumnLong(1);
+        obj.setColumnString("Foo");
+        testRealm.copyToRealm(obj);
+        testRealm.commitTransaction();
+
+        InputStream in = TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"bar\", \"columnLong\" : 1 }," +
+                "{ \"columnString\" : \"baz\", \"columnLong\" : 2 }," +
+                "{ \"columnString\" : \"qux\", \"columnLong\" : 2 }" +
+                "]");
+        testRealm.importOrUpdateAllFromJson(AllTypesPrimaryKey.class, in, 2);
+
+        RealmResults<AllTypesPrimaryKey> result = testRealm.allObjectsSorted(AllTypesPrimaryKey.class, "columnLong", Sort.ASCENDING);
+        assertEquals(2, result.size());
+        assertEquals("bar", result.get(0).getColumnString());
+        assertEquals("qux", result.get(1).getColumnString());
+    }
+
+    public void testCreateOrUpdateAllStream_notArrayThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream("{ \"columnLong\" : 1 }"));
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
     public void testCreateOrUpdateAllString() throws IOException {
         String json = TestHelper.streamToString(TestHelper.loadJsonFromAssets(getContext(), "list_alltypes_primarykey.json"));
         testRealm.beginTransaction();
@@ -1101,4 +1273,167 @@ public class RealmJsonTest extends AndroidTestCase {
         assertEquals(1, owners.get(1).getId());
         assertEquals("bar", owners.get(1).getName());
     }
+
+    public void testWriteJson_results() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            AllTypes obj = testRealm.createObject(AllTypes.class);
+            obj.setColumnString("Foo" + i);
+            obj.setColumnLong(i);
+            obj.setColumnFloat(1.1F);
+            obj.setColumnDate(new Date(1000000));
+            obj.setColumnBinary(new byte[] {1, 2, 3});
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName("Dog" + i);
+            obj.setColumnRealmObject(dog);
+            obj.getColumnRealmList().add(dog);
+        }
+        testRealm.commitTransaction();
+
+        StringWriter writer = new StringWriter();
+        testRealm.where(AllTypes.class).greaterThan("columnLong", 0).findAll()
+                .writeJson(writer, 1, JsonDateFormat.EPOCH_MILLISECONDS);
+
+        JSONArray json = new JSONArray(writer.toString());
+        assertEquals(2, json.length());
+        JSONObject obj = json.getJSONObject(0);
+        assertEquals("Foo1", obj.getString("columnString"));
+        assertEquals(1, obj.getLong("columnLong"));
+        assertEquals("1.1", obj.get("columnFloat").toString());
+        assertEquals(1000000, obj.getLong("columnDate"));
+        assertArrayEquals(new byte[] {1, 2, 3}, JsonUtils.stringToBytes(obj.getString("columnBinary")));
+        assertEquals("Dog1", obj.getJSONObject("columnRealmObject").getString("name"));
+        assertEquals("Dog1", obj.getJSONArray("columnRealmList").getJSONObject(0).getString("name"));
+        assertEquals("Foo2", json.getJSONObject(1).getString("columnString"));
+
+        // What is written can be read back.
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        testRealm.createAllFromJson(AllTypes.class, json);
+        testRealm.commitTransaction();
+        assertEquals(2, testRealm.allObjects(AllTypes.class).size());
+        assertEquals(new Date(1000000), testRealm.allObjects(AllTypes.class).first().getColumnDate());
+    }
+
+    public void testWriteJson_iso8601Dates() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnDate(new Date(1000000));
+        testRealm.commitTransaction();
+
+        StringWriter writer = new StringWriter();
+        testRealm.where(AllTypes.class).findFirst().writeJson(writer, 0, JsonDateFormat.ISO_8601);
+
+        JSONObject json = new JSONObject(writer.toString());
+        assertEquals("1970-01-01T00:16:40.000Z", json.getString("columnDate"));
+        assertEquals(new Date(1000000), JsonUtils.stringToDate(json.getString("columnDate")));
+    }
+
+    public void testWriteJson_cyclesWrittenAsPrimaryKey() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        CyclicTypePrimaryKey first = testRealm.createObject(CyclicTypePrimaryKey.class);
+        first.setId(1);
+        first.setName("first");
+        CyclicTypePrimaryKey second = testRealm.createObject(CyclicTypePrimaryKey.class);
+        second.setId(2);
+        second.setName("second");
+        first.setObject(second);
+        second.setObject(first);
+        second.getObjects().add(second);
+        testRealm.commitTransaction();
+
+        StringWriter writer = new StringWriter();
+        first.writeJson(writer, 10, JsonDateFormat.ISO_8601);
+
+        JSONObject json = new JSONObject(writer.toString());
+        JSONObject secondJson = json.getJSONObject("object");
+        assertEquals("second", secondJson.getString("name"));
+        assertEquals(1, secondJson.getJSONObject("object").length());
+        assertEquals(1, secondJson.getJSONObject("object").getLong("id"));
+        assertEquals(1, secondJson.getJSONArray("objects").getJSONObject(0).length());
+        assertEquals(2, secondJson.getJSONArray("objects").getJSONObject(0).getLong("id"));
+    }
+
+    public void testWriteJson_linksBeyondDepthLeftOut() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        CyclicType first = testRealm.createObject(CyclicType.class);
+        first.setName("first");
+        CyclicType second = testRealm.createObject(CyclicType.class);
+        second.setName("second");
+        first.setObject(second);
+        first.getObjects().add(second);
+        testRealm.commitTransaction();
+
+        StringWriter writer = new StringWriter();
+        first.writeJson(writer, 0, JsonDateFormat.ISO_8601);
+
+        JSONObject json = new JSONObject(writer.toString());
+        assertEquals("first", json.getString("name"));
+        assertFalse(json.has("object"));
+        assertTrue(json.isNull("otherObject"));
+        assertEquals(0, json.getJSONArray("objects").length());
+    }
+
+    public void testWriteJson_outputStream() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnString("\u00e6\u00f8\u00e5");
+        testRealm.commitTransaction();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testRealm.allObjects(AllTypes.class).writeJson(out, 0, JsonDateFormat.ISO_8601);
+
+        JSONArray json = new JSONArray(new String(out.toByteArray(), "UTF-8"));
+        assertEquals("\u00e6\u00f8\u00e5", json.getJSONObject(0).getString("columnString"));
+    }
+
+    public void testWriteJson_compoundIndexColumnLeftOut() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        CompoundIndexed object = testRealm.createObject(CompoundIndexed.class);
+        object.setTenantId(1);
+        object.setStatus("open");
+        object.setDay(new Date(0));
+        testRealm.commitTransaction();
+
+        StringWriter writer = new StringWriter();
+        object.writeJson(writer, 0, JsonDateFormat.EPOCH_MILLISECONDS);
+
+        JSONObject json = new JSONObject(writer.toString());
+        assertEquals(4, json.length());
+        assertEquals("open", json.getString(CompoundIndexed.FIELD_STATUS));
+
+        // The exported object can be imported again.
+        testRealm.beginTransaction();
+        testRealm.createObjectFromJson(CompoundIndexed.class, json);
+        testRealm.commitTransaction();
+        assertEquals(2, testRealm.where(CompoundIndexed.class).equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .equalTo(CompoundIndexed.FIELD_STATUS, "open").equalTo(CompoundIndexed.FIELD_DAY, new Date(0))
+                .count());
+    }
+
+    public void testWriteJson_fullTextColumnLeftOut() throws IOException, JSONException {
+        testRealm.beginTransaction();
+        FullTextIndexed object = testRealm.createObject(FullTextIndexed.class);
+        object.setTitle("title");
+        object.setBody("quick brown fox");
+        testRealm.commitTransaction();
+
+        StringWriter writer = new StringWriter();
+        object.writeJson(writer, 0, JsonDateFormat.ISO_8601);
+
+        JSONObject json = new JSONObject(writer.toString());
+        assertEquals(3, json.length());
+        assertEquals("quick brown fox", json.getString(FullTextIndexed.FIELD_BODY));
+
+        testRealm.beginTransaction();
+        testRealm.createObjectFromJson(FullTextIndexed.class, json);
+        testRealm.commitTransaction();
+        assertEquals(2, testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_TITLE, "title").count());
+    }
+
+    public void testWriteJson_negativeDepthThrows() throws IOException {
+        try {
+            testRealm.allObjects(AllTypes.class).writeJson(new StringWriter(), -1, JsonDateFormat.ISO_8601);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
 }
@@ -523,4 +523,92 @@ public class RealmLinkTests extends AndroidTestCase {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    public void testGetBacklinksObjectField() {
+        Cat cat = testRealm.allObjects(Cat.class).first();
+        RealmResults<Owner> owners = testRealm.getBacklinks(cat, Owner.class, "cat");
+        assertEquals(1, owners.size());
+        assertEquals("Tim", owners.first().getName());
+    }
+
+    public void testGetBacklinksListField() {
+        Dog dog = testRealm.where(Dog.class).equalTo("name", "Pluto").findFirst();
+        RealmResults<Owner> owners = testRealm.getBacklinks(dog, Owner.class, "dogs");
+        assertEquals(1, owners.size());
+
+        testRealm.beginTransaction();
+        Owner owner = testRealm.createObject(Owner.class);
+        owner.setName("Anna");
+        owner.getDogs().add(dog);
+        testRealm.createObject(Owner.class).setName("Bob");
+        testRealm.commitTransaction();
+
+        assertEquals(2, owners.size());
+        assertEquals("Anna", owners.where().equalTo("name", "Anna").findFirst().getName());
+    }
+
+    public void testGetBacklinksSorted() {
+        Dog dog = testRealm.where(Dog.class).equalTo("name", "Pluto").findFirst();
+        testRealm.beginTransaction();
+        Owner owner = testRealm.createObject(Owner.class);
+        owner.setName("Anna");
+        owner.getDogs().add(dog);
+        testRealm.commitTransaction();
+
+        RealmResults<Owner> owners = testRealm.getBacklinks(dog, Owner.class, "dogs");
+        owners.sort("name", Sort.ASCENDING);
+        assertEquals("Anna", owners.first().getName());
+        assertEquals("Tim", owners.last().getName());
+    }
+
+    public void testGetBacklinksFollowsMovedObject() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName("Rex");
+        Owner owner = testRealm.createObject(Owner.class);
+        owner.setName("Bob");
+        owner.getDogs().add(dog);
+        testRealm.commitTransaction();
+
+        RealmResults<Owner> owners = testRealm.getBacklinks(dog, Owner.class, "dogs");
+        assertEquals(1, owners.size());
+
+        // Removing the first dog moves the last dog to its position.
+        testRealm.beginTransaction();
+        testRealm.where(Dog.class).equalTo("name", "Pluto").findFirst().removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(1, owners.size());
+        assertEquals("Bob", owners.first().getName());
+    }
+
+    public void testGetBacklinksDeletedObject() {
+        Cat cat = testRealm.allObjects(Cat.class).first();
+        RealmResults<Owner> owners = testRealm.getBacklinks(cat, Owner.class, "cat");
+
+        testRealm.beginTransaction();
+        cat.removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(0, owners.size());
+    }
+
+    public void testGetBacklinksInvalidArguments() {
+        Dog dog = testRealm.allObjects(Dog.class).first();
+        Object[][] invalidArguments = {
+                {null, "dogs"},
+                {new Dog(), "dogs"},
+                {dog, null},
+                {dog, "notThere"},
+                {dog, "name"},
+                {dog, "cat"}
+        };
+        for (Object[] arguments : invalidArguments) {
+            try {
+                testRealm.getBacklinks((RealmObject) arguments[0], Owner.class, (String) arguments[1]);
+                fail("Should throw for " + arguments[1]);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
 }
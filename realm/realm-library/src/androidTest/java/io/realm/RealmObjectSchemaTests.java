@@ -18,6 +18,7 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Set;
 
@@ -92,7 +93,9 @@ public class RealmObjectSchemaTests extends AndroidTestCase {
         LONG(Long.class), PRIMITIVE_LONG(long.class),
         BYTE(Byte.class), PRIMITIVE_BYTE(byte.class),
         BOOLEAN(Boolean.class), PRIMITIVE_BOOLEAN(boolean.class),
-        DATE(Date.class);
+        DATE(Date.class),
+        FLOAT(Float.class), PRIMITIVE_FLOAT(float.class),
+        DOUBLE(Double.class), PRIMITIVE_DOUBLE(double.class);
 
         Class<?> clazz;
 
@@ -106,8 +109,6 @@ public class RealmObjectSchemaTests extends AndroidTestCase {
     }
 
     public enum InvalidIndexFieldType {
-        FLOAT(Float.class), PRIMITIVE_FLOAT(float.class),
-        DOUBLE(Double.class), PRIMITIVE_DOUBLE(double.class),
         BLOB(byte[].class),
         OBJECT(RealmObject.class),
         LIST(RealmList.class);
@@ -616,6 +617,233 @@ public class RealmObjectSchemaTests extends AndroidTestCase {
         assertTrue(fieldNames.contains("owner"));
     }
 
+    public void testAddRemoveCompoundIndex() {
+        schema.addField("a", String.class);
+        schema.addField("b", int.class);
+        schema.addCompoundIndex("a", "b");
+        assertTrue(schema.hasCompoundIndex("a", "b"));
+        assertFalse(schema.hasCompoundIndex("b", "a"));
+        assertEquals(2, schema.getFieldNames().size());
+        schema.removeCompoundIndex("a", "b");
+        assertFalse(schema.hasCompoundIndex("a", "b"));
+    }
+
+    public void testAddCompoundIndex_buildsKeysForExistingObjects() {
+        schema.addField("a", String.class);
+        schema.addField("b", int.class);
+        DynamicRealmObject obj = realm.createObject("NewClass");
+        obj.setString("a", "foo");
+        obj.setInt("b", 42);
+        realm.createObject("NewClass");
+
+        schema.addCompoundIndex("a", "b");
+        assertEquals(1, realm.where("NewClass").equalTo("a", "foo").equalTo("b", 42).count());
+        assertEquals(1, realm.where("NewClass").isNull("a").equalTo("b", 0).count());
+
+        obj.setInt("b", 7);
+        assertEquals(0, realm.where("NewClass").equalTo("a", "foo").equalTo("b", 42).count());
+        assertEquals(1, realm.where("NewClass").equalTo("a", "foo").equalTo("b", 7).count());
+    }
+
+    public void testAddCompoundIndex_illegalArgumentsThrows() {
+        schema.addField("a", String.class);
+        schema.addField("b", float.class);
+        String[][] invalidIndexes = new String[][] { {"a"}, {"a", "a"}, {"a", "b"}, {"a", "foo"} };
+        for (String[] fieldNames : invalidIndexes) {
+            try {
+                schema.addCompoundIndex(fieldNames);
+                fail(Arrays.toString(fieldNames) + " should not be allowed as compound index.");
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    public void testRemoveField_removesCompoundIndex() {
+        schema.addField("a", String.class);
+        schema.addField("b", int.class);
+        schema.addField("c", boolean.class);
+        schema.addCompoundIndex("a", "b");
+        schema.addCompoundIndex("b", "c");
+        schema.removeField("a");
+        assertTrue(schema.hasCompoundIndex("b", "c"));
+        assertEquals(2, schema.getFieldNames().size());
+    }
+
+    public void testRenameField_renamesCompoundIndex() {
+        schema.addField("a", String.class);
+        schema.addField("b", int.class);
+        schema.addCompoundIndex("a", "b");
+        schema.renameField("a", "c");
+        assertTrue(schema.hasCompoundIndex("c", "b"));
+    }
+
+    public void testAddRemoveIndex_floatingPoint() {
+        schema.addField("a", double.class);
+        schema.addField("b", Float.class, FieldAttribute.INDEXED);
+        realm.createObject("NewClass").setDouble("a", 1.5);
+        realm.createObject("NewClass").setDouble("a", -2.5);
+
+        schema.addIndex("a");
+        assertTrue(schema.hasIndex("a"));
+        assertTrue(schema.hasIndex("b"));
+        assertEquals(1, realm.where("NewClass").greaterThan("a", 0.0).count());
+        assertEquals(1, realm.where("NewClass").equalTo("a", -2.5).count());
+
+        schema.removeIndex("a");
+        assertFalse(schema.hasIndex("a"));
+        assertEquals(1, realm.where("NewClass").greaterThan("a", 0.0).count());
+    }
+
+    public void testAddRemoveOrderedIndex() {
+        schema.addField("a", long.class);
+        schema.addField("b", Date.class);
+        schema.addOrderedIndex("a");
+        schema.addOrderedIndex("b");
+        assertTrue(schema.hasOrderedIndex("a"));
+        assertTrue(schema.hasOrderedIndex("b"));
+        assertFalse(schema.hasIndex("a"));
+        schema.removeOrderedIndex("a");
+        assertFalse(schema.hasOrderedIndex("a"));
+        assertTrue(schema.hasOrderedIndex("b"));
+    }
+
+    public void testAddOrderedIndex_indexesExistingObjects() {
+        schema.addField("a", int.class);
+        for (int i = 0; i < 10; i++) {
+            realm.createObject("NewClass").setInt("a", (i * 3) % 10);
+        }
+
+        schema.addOrderedIndex("a");
+        RealmResults<DynamicRealmObject> results = realm.where("NewClass").between("a", 2, 4).findAll();
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(0).getInt("a"));
+        assertEquals(4, results.get(2).getInt("a"));
+
+        results.get(0).setInt("a", 9);
+        realm.createObject("NewClass").setInt("a", 3);
+        assertEquals(3, realm.where("NewClass").between("a", 2, 4).count());
+        assertEquals(2, realm.where("NewClass").greaterThan("a", 8).count());
+    }
+
+    public void testAddOrderedIndex_illegalArgumentsThrows() {
+        schema.addField("a", String.class);
+        schema.addField("b", double.class);
+        for (String fieldName : new String[] {"a", "b"}) {
+            try {
+                schema.addOrderedIndex(fieldName);
+                fail(fieldName + " should not be allowed to have an ordered index.");
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        try {
+            schema.addOrderedIndex("foo");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testRemoveField_removesOrderedIndex() {
+        schema.addField("a", long.class);
+        schema.addField("b", long.class);
+        schema.addOrderedIndex("a");
+        schema.addOrderedIndex("b");
+        schema.removeField("a");
+        assertTrue(schema.hasOrderedIndex("b"));
+        assertEquals(1, schema.getFieldNames().size());
+    }
+
+    public void testRenameField_renamesOrderedIndex() {
+        schema.addField("a", long.class);
+        schema.addOrderedIndex("a");
+        schema.renameField("a", "c");
+        assertTrue(schema.hasOrderedIndex("c"));
+    }
+
+    public void testRemoveClass_removesOrderedIndex() {
+        schema.addField("a", long.class);
+        schema.addOrderedIndex("a");
+        realmSchema.remove("NewClass");
+        assertFalse(realmSchema.contains("NewClass"));
+        for (RealmObjectSchema objectSchema : realmSchema.getAll()) {
+            assertFalse(objectSchema.getClassName().contains("NewClass"));
+        }
+    }
+
+    public void testAddRemoveFullTextIndex() {
+        schema.addField("a", String.class);
+        schema.addFullTextIndex("a");
+        assertTrue(schema.hasFullTextIndex("a"));
+        assertFalse(schema.hasIndex("a"));
+        assertEquals(1, schema.getFieldNames().size());
+        schema.removeFullTextIndex("a");
+        assertFalse(schema.hasFullTextIndex("a"));
+    }
+
+    public void testAddFullTextIndex_indexesExistingObjects() {
+        schema.addField("a", String.class);
+        realm.createObject("NewClass").setString("a", "Quick brown fox");
+        realm.createObject("NewClass").setString("a", "Lazy dog");
+
+        schema.addFullTextIndex("a");
+        RealmResults<DynamicRealmObject> results = realm.where("NewClass").matches("a", "fox").findAll();
+        assertEquals(1, results.size());
+        assertEquals("Quick brown fox", results.first().getString("a"));
+
+        results.first().setString("a", "Quick brown dog");
+        assertEquals(0, realm.where("NewClass").matches("a", "fox").count());
+        assertEquals(2, realm.where("NewClass").matches("a", "dog").count());
+        assertEquals(1, realm.where("NewClass").matches("a", "qui*").count());
+    }
+
+    public void testAddFullTextIndex_illegalArgumentsThrows() {
+        schema.addField("a", long.class);
+        schema.addField("b", String.class);
+        try {
+            schema.addFullTextIndex("a");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        schema.addFullTextIndex("b");
+        try {
+            schema.addFullTextIndex("b");
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            schema.removeFullTextIndex("a");
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testRemoveField_removesFullTextIndex() {
+        schema.addField("a", String.class);
+        schema.addField("b", String.class);
+        schema.addFullTextIndex("a");
+        schema.addFullTextIndex("b");
+        schema.removeField("a");
+        assertFalse(schema.hasField("a"));
+        assertTrue(schema.hasFullTextIndex("b"));
+        assertEquals(1, schema.getFieldNames().size());
+    }
+
+    public void testRenameField_renamesFullTextIndex() {
+        schema.addField("a", String.class);
+        schema.addFullTextIndex("a");
+        schema.renameField("a", "c");
+        assertTrue(schema.hasFullTextIndex("c"));
+    }
+
+    public void testRemoveClass_removesFullTextIndex() {
+        schema.addField("a", String.class);
+        schema.addFullTextIndex("a");
+        realmSchema.remove("NewClass");
+        assertFalse(realmSchema.contains("NewClass"));
+        for (RealmObjectSchema objectSchema : realmSchema.getAll()) {
+            assertFalse(objectSchema.getClassName().contains("NewClass"));
+        }
+    }
+
     public void testGetFieldType() {
         schema = realmSchema.getSchemaForClass("AllJavaTypes");
         assertEquals(RealmFieldType.STRING, schema.getFieldType(AllJavaTypes.FIELD_STRING));
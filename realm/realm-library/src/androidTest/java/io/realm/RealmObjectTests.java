@@ -25,7 +25,14 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
@@ -39,6 +46,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.Blobs;
 import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
 import io.realm.entities.NullTypes;
@@ -1310,4 +1318,196 @@ public class RealmObjectTests {
             }
         });
     }
+
+    private static byte[] blobBytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private Blobs createBlobs(ByteBuffer attachment) {
+        realm.beginTransaction();
+        Blobs blobs = realm.createObject(Blobs.class);
+        blobs.setAttachment(attachment);
+        realm.commitTransaction();
+        return blobs;
+    }
+
+    @Test
+    public void byteBufferField_heapBuffer() {
+        byte[] bytes = blobBytes(1000);
+        Blobs blobs = createBlobs(ByteBuffer.wrap(bytes));
+
+        ByteBuffer attachment = blobs.getAttachment();
+        assertTrue(attachment.isReadOnly());
+        assertTrue(attachment.isDirect());
+        assertArrayEquals(bytes, toBytes(attachment));
+        assertEquals(0, blobs.getThumbnail().remaining());
+    }
+
+    @Test
+    public void byteBufferField_directBufferRegion() {
+        ByteBuffer data = ByteBuffer.allocateDirect(100);
+        data.put(blobBytes(100));
+        data.position(10);
+        data.limit(30);
+        Blobs blobs = createBlobs(data);
+
+        // Only the remaining bytes are written, and the position of the buffer is kept.
+        assertEquals(10, data.position());
+        assertArrayEquals(Arrays.copyOfRange(blobBytes(100), 10, 30), toBytes(blobs.getAttachment()));
+    }
+
+    @Test
+    public void byteBufferField_null() {
+        Blobs blobs = createBlobs(null);
+        assertNull(blobs.getAttachment());
+    }
+
+    @Test
+    public void byteBufferField_copyFromOtherObject() {
+        byte[] bytes = blobBytes(1000);
+        Blobs source = createBlobs(ByteBuffer.wrap(bytes));
+
+        realm.beginTransaction();
+        Blobs copy = realm.createObject(Blobs.class);
+        copy.setAttachment(source.getAttachment());
+        realm.commitTransaction();
+
+        assertArrayEquals(bytes, toBytes(copy.getAttachment()));
+    }
+
+    @Test
+    public void byteBufferField_readOnly() {
+        Blobs blobs = createBlobs(ByteBuffer.wrap(blobBytes(10)));
+        thrown.expect(ReadOnlyBufferException.class);
+        blobs.getAttachment().put((byte) 1);
+    }
+
+    @Test
+    public void byteBufferField_detachedCopy() {
+        byte[] bytes = blobBytes(100);
+        Blobs blobs = createBlobs(ByteBuffer.wrap(bytes));
+
+        Blobs copy = realm.copyFromRealm(blobs);
+        realm.beginTransaction();
+        blobs.removeFromRealm();
+        realm.commitTransaction();
+
+        assertArrayEquals(bytes, toBytes(copy.getAttachment()));
+    }
+
+    @Test
+    public void getBinaryInputStream() throws IOException {
+        byte[] bytes = blobBytes(10000);
+        realm.beginTransaction();
+        Blobs blobs = realm.createObject(Blobs.class);
+        blobs.setBytes(bytes);
+        realm.commitTransaction();
+
+        InputStream in = blobs.getBinaryInputStream(Blobs.FIELD_BYTES);
+        assertEquals(bytes.length, in.available());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void getBinaryInputStream_nullValue() {
+        Blobs blobs = createBlobs(null);
+        assertNull(blobs.getBinaryInputStream(Blobs.FIELD_ATTACHMENT));
+    }
+
+    @Test
+    public void getBinaryInputStream_notBinaryThrows() {
+        Blobs blobs = createBlobs(null);
+        thrown.expect(IllegalArgumentException.class);
+        blobs.getBinaryInputStream(Blobs.FIELD_NAME);
+    }
+
+    @Test
+    public void getBinaryInputStream_unmanagedThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        new Blobs().getBinaryInputStream(Blobs.FIELD_ATTACHMENT);
+    }
+
+    @Test
+    public void getBinaryInputStream_afterChangeThrows() throws IOException {
+        Blobs blobs = createBlobs(ByteBuffer.wrap(blobBytes(10)));
+        InputStream in = blobs.getBinaryInputStream(Blobs.FIELD_ATTACHMENT);
+        assertEquals(0, in.read());
+
+        realm.beginTransaction();
+        blobs.setAttachment(ByteBuffer.wrap(blobBytes(20)));
+        realm.commitTransaction();
+
+        thrown.expect(IOException.class);
+        in.read();
+    }
+
+    @Test
+    public void getByteBuffer_isCopiedInsideTransaction() {
+        byte[] bytes = blobBytes(10);
+        Blobs blobs = createBlobs(ByteBuffer.wrap(bytes));
+
+        realm.beginTransaction();
+        ByteBuffer attachment = blobs.getAttachment();
+        // Setting the field again frees the old value, which must not change the buffer read before.
+        byte[] other = new byte[1000];
+        Arrays.fill(other, (byte) 0x7f);
+        blobs.setAttachment(ByteBuffer.wrap(other));
+        assertArrayEquals(bytes, toBytes(attachment));
+        realm.cancelTransaction();
+    }
+
+    @Test
+    public void getBinaryOutputStream() throws IOException {
+        byte[] bytes = blobBytes(100000);
+        Blobs blobs = createBlobs(null);
+
+        realm.beginTransaction();
+        // Smaller than the value, so the stream has to grow.
+        OutputStream out = blobs.getBinaryOutputStream(Blobs.FIELD_ATTACHMENT, 10);
+        for (int offset = 0; offset < bytes.length; offset += 4096) {
+            out.write(bytes, offset, Math.min(4096, bytes.length - offset));
+        }
+        // The value is only set when the stream is closed.
+        assertNull(blobs.getAttachment());
+        out.close();
+        realm.commitTransaction();
+
+        assertArrayEquals(bytes, toBytes(blobs.getAttachment()));
+    }
+
+    @Test
+    public void getBinaryOutputStream_outsideTransactionThrows() {
+        Blobs blobs = createBlobs(null);
+        thrown.expect(IllegalStateException.class);
+        blobs.getBinaryOutputStream(Blobs.FIELD_ATTACHMENT);
+    }
+
+    @Test
+    public void getBinaryOutputStream_writeAfterCloseThrows() throws IOException {
+        Blobs blobs = createBlobs(null);
+        realm.beginTransaction();
+        OutputStream out = blobs.getBinaryOutputStream(Blobs.FIELD_ATTACHMENT);
+        out.close();
+        realm.commitTransaction();
+
+        thrown.expect(IOException.class);
+        out.write(1);
+    }
 }
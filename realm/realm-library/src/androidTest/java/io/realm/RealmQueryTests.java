@@ -31,6 +31,7 @@ import java.lang.Exception;
 import java.lang.Throwable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -44,11 +45,17 @@ import io.realm.entities.AllTypes;
 import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Cat;
 import io.realm.entities.CatOwner;
+import io.realm.entities.CompoundIndexed;
 import io.realm.entities.Dog;
+import io.realm.entities.FloatingPointIndexed;
+import io.realm.entities.FullTextIndexed;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.NullTypes;
+import io.realm.entities.OrderedIndexed;
 import io.realm.entities.Owner;
+import io.realm.entities.StringAndInt;
 import io.realm.entities.StringOnly;
+import io.realm.internal.CompoundIndex;
 import io.realm.rule.TestRealmConfigurationFactory;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
@@ -1899,43 +1906,66 @@ public class RealmQueryTests {
     }
 
     @Test
-    public void findAllSorted_onSubObjectFieldThrows() {
+    public void findAllSorted_onListSubObjectFieldThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        realm.where(AllTypes.class).findAllSorted(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN);
+        thrown.expectMessage("Sorting using child object fields is only supported through RealmObject fields: ");
+        realm.where(AllJavaTypes.class).findAllSorted(AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_BOOLEAN);
     }
 
     @Test
-    public void findAllSortedAsync_onSubObjectFieldThrows() {
+    public void findAllSortedAsync_onListSubObjectFieldThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        realm.where(AllTypes.class).findAllSortedAsync(
-                AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN);
+        thrown.expectMessage("Sorting using child object fields is only supported through RealmObject fields: ");
+        realm.where(AllJavaTypes.class).findAllSortedAsync(
+                AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_BOOLEAN);
     }
 
     @Test
-    public void findAllSorted_listOnSubObjectFieldThrows() {
+    public void findAllSorted_listOnListSubObjectFieldThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        String[] fieldNames = new String[1];
-        fieldNames[0] = AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN;
-        Sort[] sorts = new Sort[1];
+        thrown.expectMessage("Sorting using child object fields is only supported through RealmObject fields: ");
+        String[] fieldNames = new String[2];
+        fieldNames[0] = AllJavaTypes.FIELD_LONG;
+        fieldNames[1] = AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_BOOLEAN;
+        Sort[] sorts = new Sort[2];
         sorts[0] = Sort.ASCENDING;
-        realm.where(AllTypes.class).findAllSorted(fieldNames, sorts);
+        sorts[1] = Sort.ASCENDING;
+        realm.where(AllJavaTypes.class).findAllSorted(fieldNames, sorts);
     }
 
     @Test
-    public void findAllSortedAsync_listOnSubObjectFieldThrows() {
+    public void findAllSortedAsync_listOnListSubObjectFieldThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        String[] fieldNames = new String[1];
-        fieldNames[0] = AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN;
-        Sort[] sorts = new Sort[1];
+        thrown.expectMessage("Sorting using child object fields is only supported through RealmObject fields: ");
+        String[] fieldNames = new String[2];
+        fieldNames[0] = AllJavaTypes.FIELD_LONG;
+        fieldNames[1] = AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_BOOLEAN;
+        Sort[] sorts = new Sort[2];
         sorts[0] = Sort.ASCENDING;
-        realm.where(AllTypes.class).findAllSortedAsync(fieldNames, sorts);
+        sorts[1] = Sort.ASCENDING;
+        realm.where(AllJavaTypes.class).findAllSortedAsync(fieldNames, sorts);
     }
 
-    // RealmQuery.distinct(): requires indexing, and type = boolean, integer, date, string
+    @Test
+    public void findAllSorted_onSubObjectField() {
+        realm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            AllJavaTypes obj = realm.createObject(AllJavaTypes.class, i);
+            AllJavaTypes child = realm.createObject(AllJavaTypes.class, 10 + i);
+            child.setFieldString("child " + (2 - i));
+            obj.setFieldObject(child);
+        }
+        realm.commitTransaction();
+
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class).lessThan(AllJavaTypes.FIELD_LONG, 10)
+                .findAllSorted(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_STRING);
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(0).getFieldLong());
+        assertEquals(1, results.get(1).getFieldLong());
+        assertEquals(0, results.get(2).getFieldLong());
+    }
+
+    // RealmQuery.distinct(): type = boolean, integer, float, double, date, string
     private void populateForDistinct(Realm realm, long numberOfBlocks, long numberOfObjects, boolean withNull) {
         realm.beginTransaction();
         for (int i = 0; i < numberOfObjects * numberOfBlocks; i++) {
@@ -1995,12 +2025,83 @@ public class RealmQueryTests {
         final long numberOfObjects = 10;
         populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String field : AnnotationIndexTypes.NOT_INDEX_FIELDS) {
-            try {
-                realm.where(AnnotationIndexTypes.class).distinct(field);
-                fail(field);
-            } catch (IllegalArgumentException ignored) {
-            }
+        RealmResults<AnnotationIndexTypes> distinctBool = realm.where(AnnotationIndexTypes.class).distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL);
+        assertEquals(2, distinctBool.size());
+        for (String field : new String[]{AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE, AnnotationIndexTypes.FIELD_NOT_INDEX_STRING}) {
+            RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class).distinct(field);
+            assertEquals(field, numberOfBlocks, distinct.size());
+        }
+    }
+
+    @Test
+    public void distinct_multipleFields() {
+        final long numberOfBlocks = 25;
+        final long numberOfObjects = 10;
+        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+
+        RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class)
+                .distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_LONG);
+        assertEquals(numberOfBlocks, distinct.size());
+
+        distinct = realm.where(AnnotationIndexTypes.class)
+                .distinct(AnnotationIndexTypes.FIELD_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_INT);
+        assertEquals(2, distinct.size());
+    }
+
+    @Test
+    public void distinct_multipleFieldsWithQuery() {
+        final long numberOfBlocks = 25;
+        final long numberOfObjects = 10;
+        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+
+        RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class)
+                .lessThan(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 10)
+                .distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_STRING, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE);
+        assertEquals(10, distinct.size());
+    }
+
+    @Test
+    public void distinct_multipleFieldsStaysLive() {
+        final long numberOfBlocks = 25;
+        final long numberOfObjects = 10;
+        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+
+        RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class)
+                .distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_LONG);
+        assertEquals(numberOfBlocks, distinct.size());
+
+        realm.beginTransaction();
+        AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+        obj.setNotIndexBoolean(true);
+        obj.setNotIndexLong(1); // A new combination, 1 is odd.
+        obj = realm.createObject(AnnotationIndexTypes.class);
+        obj.setNotIndexBoolean(false);
+        obj.setNotIndexLong(1); // Already there.
+        realm.commitTransaction();
+
+        assertEquals(numberOfBlocks + 1, distinct.size());
+    }
+
+    @Test
+    public void distinct_floatAndDoubleFields() {
+        populateTestRealm();
+
+        assertEquals(1, realm.where(AllTypes.class).distinct(AllTypes.FIELD_DOUBLE).size());
+        assertEquals(TEST_DATA_SIZE, realm.where(AllTypes.class).distinct(AllTypes.FIELD_FLOAT).size());
+        assertEquals(TEST_DATA_SIZE, realm.where(AllTypes.class).distinct(AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT).size());
+    }
+
+    @Test
+    public void distinct_nullFieldNames() {
+        try {
+            realm.where(AnnotationIndexTypes.class).distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, (String[]) null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            realm.where(AnnotationIndexTypes.class).distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, (String) null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
         }
     }
 
@@ -2020,7 +2121,7 @@ public class RealmQueryTests {
     public void distinct_invalidTypes() {
         populateTestRealm();
 
-        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_BINARY}) {
             try {
                 realm.where(AllTypes.class).distinct(field);
                 fail(field);
@@ -2219,18 +2320,33 @@ public class RealmQueryTests {
     }
 
     @Test
-    public void distinctAsync_notIndexedFields() {
+    @RunTestInLooperThread
+    public void distinctAsync_multipleNotIndexedFields() {
+        final Realm realm = looperThread.realm;
         final long numberOfBlocks = 25;
         final long numberOfObjects = 10;
         populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String field : AnnotationIndexTypes.NOT_INDEX_FIELDS) {
-            try {
-                realm.where(AnnotationIndexTypes.class).distinctAsync(field);
-                fail(field);
-            } catch (IllegalArgumentException ignored) {
+        final RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class)
+                .lessThan(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 10)
+                .distinctAsync(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_LONG);
+        looperThread.keepStrongReference.add(distinct);
+        distinct.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                if (distinct.size() == 10) {
+                    // Updates of the async query are distinct as well.
+                    realm.beginTransaction();
+                    AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+                    obj.setNotIndexBoolean(true); // A new combination, 1 is odd.
+                    obj.setNotIndexLong(1);
+                    realm.commitTransaction();
+                } else {
+                    assertEquals(11, distinct.size());
+                    looperThread.testComplete();
+                }
             }
-        }
+        });
     }
 
     @Test
@@ -2249,7 +2365,7 @@ public class RealmQueryTests {
     public void distinctAsync_invalidTypes() {
         populateTestRealm(realm, TEST_DATA_SIZE);
 
-        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_BINARY}) {
             try {
                 realm.where(AllTypes.class).distinctAsync(field);
             } catch (IllegalArgumentException ignored) {
@@ -2281,4 +2397,1178 @@ public class RealmQueryTests {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    private void populateForExplain() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            AllJavaTypes obj = realm.createObject(AllJavaTypes.class, i);
+            obj.setFieldString((i % 2 == 0) ? "even" : "odd");
+            obj.setFieldInt(i);
+            obj.setFieldObject(obj);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void explain_indexedCondition() {
+        populateForExplain();
+        QueryPlan plan = realm.where(AllJavaTypes.class)
+                .equalTo(AllJavaTypes.FIELD_STRING, "even")
+                .greaterThan(AllJavaTypes.FIELD_INT, 4)
+                .explain();
+
+        assertEquals("AllJavaTypes", plan.getClassName());
+        assertEquals(2, plan.getNodes().size());
+        assertTrue(plan.getNodes().get(0).usesSearchIndex());
+        assertEquals(AllJavaTypes.FIELD_STRING, plan.getNodes().get(0).getFieldName());
+        assertFalse(plan.getNodes().get(1).usesSearchIndex());
+        assertFalse(plan.isFullScan());
+        assertEquals(10, plan.getRowsInScope());
+        assertEquals(5, plan.getEstimatedRowsScanned());
+        assertEquals(2, plan.getRowsMatched());
+    }
+
+    @Test
+    public void explain_fullScan() {
+        populateForExplain();
+        QueryPlan plan = realm.where(AllJavaTypes.class)
+                .equalTo(AllJavaTypes.FIELD_STRING, "even")
+                .or()
+                .beginGroup()
+                    .not().equalTo(AllJavaTypes.FIELD_STRING, "odd")
+                    .lessThan(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_INT, 3)
+                .endGroup()
+                .explain();
+
+        List<QueryPlan.Node> nodes = plan.getNodes();
+        assertEquals(7, nodes.size());
+        assertEquals("OR", nodes.get(1).getDescription());
+        assertEquals(1, nodes.get(4).getDepth());
+        assertFalse(nodes.get(4).usesSearchIndex());
+        assertTrue(nodes.get(5).followsLinks());
+        assertEquals(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_INT, nodes.get(5).getFieldName());
+        assertTrue(plan.isFullScan());
+        assertEquals(10, plan.getEstimatedRowsScanned());
+        assertEquals(5, plan.getRowsMatched());
+    }
+
+    @Test
+    public void explain_doesNotConsumeQuery() {
+        populateForExplain();
+        RealmQuery<AllJavaTypes> query = realm.where(AllJavaTypes.class).equalTo(AllJavaTypes.FIELD_STRING, "odd");
+        assertEquals(5, query.explain().getRowsMatched());
+        assertEquals(5, query.findAll().size());
+    }
+
+    private void populateForCompoundIndex() {
+        realm.beginTransaction();
+        for (int i = 0; i < 20; i++) {
+            CompoundIndexed obj = realm.createObject(CompoundIndexed.class);
+            obj.setTenantId(i % 2);
+            obj.setStatus((i % 4 < 2) ? "open" : "closed");
+            obj.setDay(new Date(TimeUnit.DAYS.toMillis(i % 5)));
+            obj.setNote("note " + i);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void compoundIndex_usedForEqualityOnAllFields() {
+        populateForCompoundIndex();
+        RealmQuery<CompoundIndexed> query = realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .equalTo(CompoundIndexed.FIELD_STATUS, "open")
+                .equalTo(CompoundIndexed.FIELD_DAY, new Date(TimeUnit.DAYS.toMillis(1)));
+
+        RealmResults<CompoundIndexed> results = query.findAll();
+        assertEquals(1, results.size());
+        assertEquals("note 1", results.first().getNote());
+
+        QueryPlan plan = query.explain();
+        assertEquals(3, plan.getNodes().size());
+        assertTrue(Arrays.equals(new String[] {CompoundIndexed.FIELD_TENANT_ID, CompoundIndexed.FIELD_STATUS,
+                CompoundIndexed.FIELD_DAY}, plan.getCompoundIndexFieldNames()));
+        assertFalse(plan.isFullScan());
+        assertEquals(1, plan.getEstimatedRowsScanned());
+        assertFalse(plan.toString().contains(CompoundIndex.COLUMN_PREFIX));
+    }
+
+    @Test
+    public void compoundIndex_doesNotChangeConditionsOfQuery() {
+        populateForCompoundIndex();
+        RealmQuery<CompoundIndexed> query = realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .equalTo(CompoundIndexed.FIELD_STATUS, "open")
+                .equalTo(CompoundIndexed.FIELD_DAY, new Date(TimeUnit.DAYS.toMillis(1)));
+        assertEquals(1, query.count());
+
+        // The key lookup is planned again for the new conditions.
+        query.equalTo(CompoundIndexed.FIELD_NOTE, "note 1");
+        assertEquals(1, query.count());
+        QueryPlan plan = query.explain();
+        assertEquals(4, plan.getNodes().size());
+        assertEquals(CompoundIndexed.FIELD_NOTE, plan.getNodes().get(3).getFieldName());
+        assertEquals(3, plan.getCompoundIndexFieldNames().length);
+
+        query.equalTo(CompoundIndexed.FIELD_NOTE, "note 2");
+        assertEquals(0, query.count());
+    }
+
+    @Test
+    public void compoundIndex_keyUpdatedBySetters() {
+        populateForCompoundIndex();
+        realm.beginTransaction();
+        CompoundIndexed obj = realm.where(CompoundIndexed.class).equalTo(CompoundIndexed.FIELD_NOTE, "note 1").findFirst();
+        obj.setStatus(null);
+        realm.commitTransaction();
+
+        assertEquals(0, realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .equalTo(CompoundIndexed.FIELD_STATUS, "open")
+                .equalTo(CompoundIndexed.FIELD_DAY, new Date(TimeUnit.DAYS.toMillis(1)))
+                .count());
+        assertEquals(1, realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_DAY, new Date(TimeUnit.DAYS.toMillis(1)))
+                .isNull(CompoundIndexed.FIELD_STATUS)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .count());
+    }
+
+    @Test
+    public void compoundIndex_newObjectsAreIndexed() {
+        realm.beginTransaction();
+        realm.createObject(CompoundIndexed.class);
+        realm.commitTransaction();
+
+        assertEquals(1, realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 0)
+                .isNull(CompoundIndexed.FIELD_STATUS)
+                .isNull(CompoundIndexed.FIELD_DAY)
+                .count());
+    }
+
+    @Test
+    public void compoundIndex_notUsedForPartialOrAlternativeConditions() {
+        populateForCompoundIndex();
+        QueryPlan partial = realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .equalTo(CompoundIndexed.FIELD_STATUS, "open")
+                .explain();
+        assertEquals(2, partial.getNodes().size());
+        assertEquals(10, partial.getEstimatedRowsScanned());
+        assertEquals(5, partial.getRowsMatched());
+
+        QueryPlan alternatives = realm.where(CompoundIndexed.class)
+                .equalTo(CompoundIndexed.FIELD_TENANT_ID, 1)
+                .equalTo(CompoundIndexed.FIELD_STATUS, "open")
+                .or()
+                .equalTo(CompoundIndexed.FIELD_DAY, new Date(TimeUnit.DAYS.toMillis(1)))
+                .explain();
+        assertEquals(4, alternatives.getNodes().size());
+        assertTrue(alternatives.isFullScan());
+        assertNull(alternatives.getCompoundIndexFieldNames());
+    }
+
+    // Amounts 0..19 are added out of order, every fourth object has no creation date.
+    private void populateForOrderedIndex() {
+        realm.beginTransaction();
+        for (int i = 0; i < 20; i++) {
+            OrderedIndexed obj = realm.createObject(OrderedIndexed.class);
+            obj.setAmount((i * 7) % 20);
+            obj.setCreatedAt((i % 4 == 0) ? null : new Date(TimeUnit.DAYS.toMillis(i)));
+            obj.setName("name " + i);
+        }
+        realm.commitTransaction();
+    }
+
+    private static void assertAscendingAmounts(RealmResults<OrderedIndexed> results, long... expected) {
+        assertEquals(expected.length, results.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], results.get(i).getAmount());
+        }
+    }
+
+    @Test
+    public void orderedIndex_rangeQueries() {
+        populateForOrderedIndex();
+
+        assertAscendingAmounts(realm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_AMOUNT, 5, 8).findAll(), 5, 6, 7, 8);
+        assertAscendingAmounts(realm.where(OrderedIndexed.class)
+                .greaterThan(OrderedIndexed.FIELD_AMOUNT, 16).findAll(), 17, 18, 19);
+        assertAscendingAmounts(realm.where(OrderedIndexed.class)
+                .lessThan(OrderedIndexed.FIELD_AMOUNT, 3).findAll(), 0, 1, 2);
+        assertAscendingAmounts(realm.where(OrderedIndexed.class)
+                .greaterThanOrEqualTo(OrderedIndexed.FIELD_AMOUNT, 10)
+                .lessThanOrEqualTo(OrderedIndexed.FIELD_AMOUNT, 12).findAll(), 10, 11, 12);
+        assertEquals(0, realm.where(OrderedIndexed.class)
+                .greaterThan(OrderedIndexed.FIELD_AMOUNT, 12)
+                .lessThan(OrderedIndexed.FIELD_AMOUNT, 10).count());
+        assertEquals(4, realm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_AMOUNT, 5, 8).count());
+    }
+
+    @Test
+    public void orderedIndex_rangeCombinedWithOtherConditions() {
+        populateForOrderedIndex();
+
+        RealmResults<OrderedIndexed> results = realm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_AMOUNT, 0, 15)
+                .beginsWith(OrderedIndexed.FIELD_NAME, "name 1")
+                .findAll();
+        assertEquals(8, results.size());
+        // A negated condition doesn't use the index.
+        assertEquals(8, realm.where(OrderedIndexed.class)
+                .beginsWith(OrderedIndexed.FIELD_NAME, "name 1")
+                .not().greaterThan(OrderedIndexed.FIELD_AMOUNT, 15)
+                .count());
+
+        // Alternatives are not restricted by the range.
+        assertEquals(12, realm.where(OrderedIndexed.class)
+                .lessThan(OrderedIndexed.FIELD_AMOUNT, 10)
+                .or()
+                .equalTo(OrderedIndexed.FIELD_NAME, "name 2")
+                .or()
+                .equalTo(OrderedIndexed.FIELD_NAME, "name 5")
+                .count());
+    }
+
+    @Test
+    public void orderedIndex_dateRange() {
+        populateForOrderedIndex();
+
+        RealmResults<OrderedIndexed> results = realm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_CREATED_AT, new Date(TimeUnit.DAYS.toMillis(2)),
+                        new Date(TimeUnit.DAYS.toMillis(6)))
+                .findAll();
+        // Day 4 has no date.
+        assertEquals(4, results.size());
+        assertEquals(new Date(TimeUnit.DAYS.toMillis(2)), results.get(0).getCreatedAt());
+        assertEquals(new Date(TimeUnit.DAYS.toMillis(6)), results.get(3).getCreatedAt());
+        assertEquals(5, realm.where(OrderedIndexed.class).isNull(OrderedIndexed.FIELD_CREATED_AT).count());
+    }
+
+    @Test
+    public void orderedIndex_findAllSorted() {
+        populateForOrderedIndex();
+
+        RealmResults<OrderedIndexed> all = realm.where(OrderedIndexed.class).findAllSorted(OrderedIndexed.FIELD_AMOUNT);
+        assertEquals(20, all.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, all.get(i).getAmount());
+        }
+
+        RealmResults<OrderedIndexed> descending = realm.where(OrderedIndexed.class)
+                .findAllSorted(OrderedIndexed.FIELD_AMOUNT, Sort.DESCENDING);
+        assertEquals(19, descending.first().getAmount());
+        assertEquals(0, descending.last().getAmount());
+
+        RealmResults<OrderedIndexed> dates = realm.where(OrderedIndexed.class)
+                .findAllSorted(OrderedIndexed.FIELD_CREATED_AT);
+        assertNull(dates.first().getCreatedAt());
+        assertEquals(new Date(TimeUnit.DAYS.toMillis(19)), dates.last().getCreatedAt());
+    }
+
+    @Test
+    public void orderedIndex_resultsStayUpToDate() {
+        populateForOrderedIndex();
+        RealmResults<OrderedIndexed> results = realm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_AMOUNT, 10, 12).findAll();
+        RealmResults<OrderedIndexed> sorted = realm.where(OrderedIndexed.class).findAllSorted(OrderedIndexed.FIELD_AMOUNT);
+        assertAscendingAmounts(results, 10, 11, 12);
+
+        realm.beginTransaction();
+        // Changes before the range move its position in the index.
+        realm.where(OrderedIndexed.class).lessThan(OrderedIndexed.FIELD_AMOUNT, 3).findAll().clear();
+        realm.createObject(OrderedIndexed.class).setAmount(11);
+        realm.where(OrderedIndexed.class).equalTo(OrderedIndexed.FIELD_AMOUNT, 19).findFirst().setAmount(12);
+        realm.where(OrderedIndexed.class).equalTo(OrderedIndexed.FIELD_AMOUNT, 10).findFirst().setAmount(-1);
+        realm.commitTransaction();
+
+        assertAscendingAmounts(results, 11, 11, 12, 12);
+        assertEquals(18, sorted.size());
+        assertEquals(-1, sorted.first().getAmount());
+        assertEquals(18, sorted.last().getAmount());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getAmount() <= sorted.get(i).getAmount());
+        }
+    }
+
+    @Test
+    public void orderedIndex_resultsSortedByOtherField() {
+        populateForOrderedIndex();
+        RealmResults<OrderedIndexed> results = realm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_AMOUNT, 10, 12).findAll();
+        results.sort(OrderedIndexed.FIELD_NAME, Sort.DESCENDING);
+        assertEquals("name 16", results.first().getName());
+
+        realm.beginTransaction();
+        realm.createObject(OrderedIndexed.class).setAmount(11);
+        realm.commitTransaction();
+        assertEquals(4, results.size());
+    }
+
+    private void populateForFullText() {
+        String[] bodies = {"Hello, World!", "hello there", "The world is big", "Helicopters everywhere",
+                "nothing to see", null};
+        realm.beginTransaction();
+        for (int i = 0; i < bodies.length; i++) {
+            FullTextIndexed obj = realm.createObject(FullTextIndexed.class);
+            obj.setTitle("title " + i);
+            obj.setBody(bodies[i]);
+            obj.setRead(i % 2 == 1);
+        }
+        realm.commitTransaction();
+    }
+
+    private long countMatches(String terms) {
+        return realm.where(FullTextIndexed.class).matches(FullTextIndexed.FIELD_BODY, terms).count();
+    }
+
+    @Test
+    public void matches_wholeWords() {
+        populateForFullText();
+
+        assertEquals(2, countMatches("hello"));
+        assertEquals(2, countMatches("WORLD"));
+        assertEquals(1, countMatches("hello world"));
+        assertEquals(1, countMatches("world, hello!"));
+        assertEquals(0, countMatches("hel"));
+        assertEquals(0, countMatches("unknown"));
+        assertEquals(2, realm.where(FullTextIndexed.class)
+                .matches(FullTextIndexed.FIELD_BODY, "hello").findAll().size());
+    }
+
+    @Test
+    public void matches_prefix() {
+        populateForFullText();
+
+        assertEquals(3, countMatches("hel*"));
+        assertEquals(1, countMatches("world hel*"));
+        assertEquals(1, countMatches("every*"));
+        assertEquals(0, countMatches("orld*"));
+    }
+
+    @Test
+    public void matches_combinedWithOtherConditions() {
+        populateForFullText();
+
+        RealmResults<FullTextIndexed> results = realm.where(FullTextIndexed.class)
+                .matches(FullTextIndexed.FIELD_BODY, "hello")
+                .equalTo(FullTextIndexed.FIELD_READ, true)
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals("title 1", results.first().getTitle());
+
+        assertEquals(3, realm.where(FullTextIndexed.class)
+                .matches(FullTextIndexed.FIELD_BODY, "world")
+                .or()
+                .matches(FullTextIndexed.FIELD_BODY, "nothing")
+                .count());
+        assertEquals(4, realm.where(FullTextIndexed.class)
+                .not().matches(FullTextIndexed.FIELD_BODY, "hello")
+                .count());
+        assertEquals(1, realm.where(FullTextIndexed.class)
+                .equalTo(FullTextIndexed.FIELD_READ, false)
+                .beginGroup()
+                    .matches(FullTextIndexed.FIELD_BODY, "big")
+                    .or()
+                    .matches(FullTextIndexed.FIELD_BODY, "there")
+                .endGroup()
+                .count());
+    }
+
+    @Test
+    public void matches_updatedOnWrite() {
+        populateForFullText();
+        FullTextIndexed nothing = realm.where(FullTextIndexed.class)
+                .matches(FullTextIndexed.FIELD_BODY, "nothing").findFirst();
+
+        realm.beginTransaction();
+        nothing.setBody("Hello again");
+        realm.commitTransaction();
+        assertEquals(3, countMatches("hello"));
+        assertEquals(0, countMatches("nothing"));
+
+        realm.beginTransaction();
+        nothing.setBody(null);
+        realm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_TITLE, "title 0").findFirst().removeFromRealm();
+        realm.commitTransaction();
+        assertEquals(1, countMatches("hello"));
+        assertEquals(1, countMatches("world"));
+    }
+
+    @Test
+    public void matches_resultsStayUpToDate() {
+        populateForFullText();
+        RealmResults<FullTextIndexed> results = realm.where(FullTextIndexed.class)
+                .matches(FullTextIndexed.FIELD_BODY, "hello").findAll();
+        assertEquals(2, results.size());
+
+        realm.beginTransaction();
+        realm.createObject(FullTextIndexed.class).setBody("hello");
+        realm.commitTransaction();
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    public void matches_fieldWithoutFullTextIndex() {
+        populateForFullText();
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(FullTextIndexed.class).matches(FullTextIndexed.FIELD_TITLE, "title");
+    }
+
+    @Test
+    public void matches_noWords() {
+        populateForFullText();
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(FullTextIndexed.class).matches(FullTextIndexed.FIELD_BODY, " ?! ");
+    }
+
+    private void populateForFloatingPointIndex() {
+        double[] prices = {2.5, -1.25, 0.0, -0.0, 10.0, Double.NaN, Double.POSITIVE_INFINITY, 2.5, 7.75};
+        realm.beginTransaction();
+        for (int i = 0; i < prices.length; i++) {
+            FloatingPointIndexed obj = realm.createObject(FloatingPointIndexed.class);
+            obj.setPrice(prices[i]);
+            obj.setTemperature((i % 3 == 0) ? null : i * 1.5f - 4);
+            obj.setName("name " + i);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void floatingPointIndex_isOrderedIndex() {
+        assertTrue(realm.getTable(FloatingPointIndexed.class).hasSearchIndex(
+                realm.getTable(FloatingPointIndexed.class).getColumnIndex(FloatingPointIndexed.FIELD_PRICE)));
+        assertTrue(realm.getTable(FloatingPointIndexed.class).hasOrderedIndex(
+                realm.getTable(FloatingPointIndexed.class).getColumnIndex(FloatingPointIndexed.FIELD_TEMPERATURE)));
+    }
+
+    @Test
+    public void floatingPointIndex_equalTo() {
+        populateForFloatingPointIndex();
+
+        assertEquals(2, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_PRICE, 2.5).count());
+        assertEquals(2, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_PRICE, 0.0).findAll().size());
+        assertEquals(2, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_PRICE, -0.0).count());
+        assertEquals(0, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_PRICE, Double.NaN).count());
+        assertEquals(0, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_PRICE, 3.0).count());
+        assertEquals(1, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_TEMPERATURE, 3.5f).count());
+    }
+
+    @Test
+    public void floatingPointIndex_ranges() {
+        populateForFloatingPointIndex();
+
+        RealmResults<FloatingPointIndexed> results = realm.where(FloatingPointIndexed.class)
+                .between(FloatingPointIndexed.FIELD_PRICE, 0.0, 8.0).findAll();
+        assertEquals(5, results.size());
+        // The index returns the objects in ascending order.
+        assertEquals(0.0, results.first().getPrice(), 0.0);
+        assertEquals(7.75, results.last().getPrice(), 0.0);
+
+        assertEquals(3, realm.where(FloatingPointIndexed.class)
+                .greaterThan(FloatingPointIndexed.FIELD_PRICE, 2.5).count());
+        assertEquals(1, realm.where(FloatingPointIndexed.class)
+                .lessThan(FloatingPointIndexed.FIELD_PRICE, 0.0).count());
+        assertEquals(3, realm.where(FloatingPointIndexed.class)
+                .lessThanOrEqualTo(FloatingPointIndexed.FIELD_PRICE, 2.4).count());
+        assertEquals(1, realm.where(FloatingPointIndexed.class)
+                .greaterThan(FloatingPointIndexed.FIELD_PRICE, 10.0).count());
+
+        // Null temperatures are never within a range.
+        assertEquals(6, realm.where(FloatingPointIndexed.class)
+                .greaterThan(FloatingPointIndexed.FIELD_TEMPERATURE, -100f).count());
+        assertEquals(4, realm.where(FloatingPointIndexed.class)
+                .between(FloatingPointIndexed.FIELD_TEMPERATURE, -3f, 4f).count());
+    }
+
+    @Test
+    public void floatingPointIndex_updatedOnWrite() {
+        populateForFloatingPointIndex();
+        RealmResults<FloatingPointIndexed> results = realm.where(FloatingPointIndexed.class)
+                .between(FloatingPointIndexed.FIELD_PRICE, 0.0, 8.0).findAll();
+
+        realm.beginTransaction();
+        results.first().setPrice(100.0);
+        realm.createObject(FloatingPointIndexed.class).setPrice(5.0);
+        realm.commitTransaction();
+
+        assertEquals(5, results.size());
+        assertEquals(1, realm.where(FloatingPointIndexed.class)
+                .equalTo(FloatingPointIndexed.FIELD_PRICE, 100.0).count());
+    }
+
+    // Splits the query into 4 ranges of 250 objects.
+    private <E extends RealmObject> RealmQuery<E> parallel(RealmQuery<E> query) {
+        query.minRowsPerParallelRange = 100;
+        return query.parallel(4);
+    }
+
+    @Test
+    public void parallel_count() {
+        populateTestRealm(realm, 1000);
+        assertEquals(1000, parallel(realm.where(AllTypes.class)).count());
+        assertEquals(334, parallel(realm.where(AllTypes.class)).equalTo(AllTypes.FIELD_BOOLEAN, true).count());
+        assertEquals(realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 10).contains(AllTypes.FIELD_STRING, "9").count(),
+                parallel(realm.where(AllTypes.class)).greaterThan(AllTypes.FIELD_LONG, 10)
+                        .contains(AllTypes.FIELD_STRING, "9").count());
+    }
+
+    @Test
+    public void parallel_aggregates() {
+        populateTestRealm(realm, 1000);
+        RealmQuery<AllTypes> serial = realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false);
+
+        assertEquals(serial.sum(AllTypes.FIELD_LONG).longValue(),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .sum(AllTypes.FIELD_LONG).longValue());
+        assertEquals(serial.sum(AllTypes.FIELD_FLOAT).doubleValue(),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .sum(AllTypes.FIELD_FLOAT).doubleValue(), 0.01);
+        assertEquals(serial.average(AllTypes.FIELD_LONG),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .average(AllTypes.FIELD_LONG), 0.0001);
+        assertEquals(serial.average(AllTypes.FIELD_DOUBLE),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .average(AllTypes.FIELD_DOUBLE), 0.0001);
+
+        assertEquals(1, parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                .min(AllTypes.FIELD_LONG).longValue());
+        assertEquals(998, parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                .max(AllTypes.FIELD_LONG).longValue());
+        assertEquals(serial.max(AllTypes.FIELD_FLOAT),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .max(AllTypes.FIELD_FLOAT));
+        assertEquals(serial.minimumDate(AllTypes.FIELD_DATE),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .minimumDate(AllTypes.FIELD_DATE));
+        assertEquals(serial.maximumDate(AllTypes.FIELD_DATE),
+                parallel(realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, false))
+                        .maximumDate(AllTypes.FIELD_DATE));
+    }
+
+    @Test
+    public void parallel_noMatches() {
+        populateTestRealm(realm, 1000);
+        RealmQuery<AllTypes> query = parallel(realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 0));
+        assertEquals(0, query.count());
+        assertEquals(0, query.sum(AllTypes.FIELD_LONG).longValue());
+        assertEquals(0d, query.average(AllTypes.FIELD_DOUBLE), 0d);
+        assertNull(query.min(AllTypes.FIELD_LONG));
+        assertNull(query.maximumDate(AllTypes.FIELD_DATE));
+    }
+
+    @Test
+    public void parallel_averageIgnoresNullValues() {
+        realm.beginTransaction();
+        for (int i = 0; i < 1000; i++) {
+            NullTypes nullTypes = new NullTypes();
+            nullTypes.setId(i);
+            nullTypes.setFieldIntegerNull((i % 2 == 0) ? i : null);
+            realm.copyToRealm(nullTypes);
+        }
+        realm.commitTransaction();
+
+        RealmQuery<NullTypes> query = parallel(realm.where(NullTypes.class));
+        assertEquals(499.0, query.average(NullTypes.FIELD_INTEGER_NULL), 0d);
+        assertEquals(249500, query.sum(NullTypes.FIELD_INTEGER_NULL).longValue());
+    }
+
+    @Test
+    public void parallel_averageOfOrQueryIgnoresNullValues() {
+        realm.beginTransaction();
+        for (int i = 0; i < 1000; i++) {
+            NullTypes nullTypes = new NullTypes();
+            nullTypes.setId(i);
+            nullTypes.setFieldIntegerNull((i % 2 == 0) ? i : null);
+            realm.copyToRealm(nullTypes);
+        }
+        realm.commitTransaction();
+
+        // Matches 0, 2, 4, 6, 8, 990, 992, 994, 996 and 998 with non-null values.
+        RealmQuery<NullTypes> query = realm.where(NullTypes.class)
+                .lessThan("id", 10).or().greaterThanOrEqualTo("id", 990);
+        assertEquals(499.0, query.average(NullTypes.FIELD_INTEGER_NULL), 0d);
+        assertEquals(499.0, parallel(query).average(NullTypes.FIELD_INTEGER_NULL), 0d);
+    }
+
+    @Test
+    public void parallel_inTransactionSeesUncommittedObjects() {
+        populateTestRealm(realm, 1000);
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(5000);
+        assertEquals(1001, parallel(realm.where(AllTypes.class)).count());
+        assertEquals(5000, parallel(realm.where(AllTypes.class)).max(AllTypes.FIELD_LONG).longValue());
+        realm.cancelTransaction();
+    }
+
+    @Test
+    public void parallel_lessThanOneThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).parallel(0);
+    }
+
+    @Test
+    public void scan_passesAllMatchesInOrder() {
+        populateTestRealm(realm, 1000);
+        final List<Long> values = new ArrayList<Long>();
+        long count = realm.where(AllTypes.class).equalTo(AllTypes.FIELD_BOOLEAN, true)
+                .scan(new RealmQuery.ScanCallback<AllTypes>() {
+                    @Override
+                    public boolean onMatch(AllTypes object) {
+                        values.add(object.getColumnLong());
+                        return true;
+                    }
+                });
+        assertEquals(334, count);
+        assertEquals(334, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i * 3, values.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void scan_stopsEarly() {
+        populateTestRealm(realm, 1000);
+        final AtomicInteger calls = new AtomicInteger();
+        long count = realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 100)
+                .scan(new RealmQuery.ScanCallback<AllTypes>() {
+                    @Override
+                    public boolean onMatch(AllTypes object) {
+                        return calls.incrementAndGet() < 10;
+                    }
+                });
+        assertEquals(10, count);
+        assertEquals(10, calls.get());
+    }
+
+    @Test
+    public void scan_noMatches() {
+        populateTestRealm(realm, 10);
+        long count = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 0)
+                .scan(new RealmQuery.ScanCallback<AllTypes>() {
+                    @Override
+                    public boolean onMatch(AllTypes object) {
+                        fail();
+                        return true;
+                    }
+                });
+        assertEquals(0, count);
+    }
+
+    @Test
+    public void scan_realmResults() {
+        populateTestRealm(realm, 1000);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).greaterThanOrEqualTo(AllTypes.FIELD_LONG, 500)
+                .findAll();
+        final List<Long> values = new ArrayList<Long>();
+        results.where().equalTo(AllTypes.FIELD_BOOLEAN, true).scan(new RealmQuery.ScanCallback<AllTypes>() {
+            @Override
+            public boolean onMatch(AllTypes object) {
+                values.add(object.getColumnLong());
+                return true;
+            }
+        });
+        assertEquals(167, values.size());
+        assertEquals(501, values.get(0).longValue());
+    }
+
+    @Test
+    public void scan_noConditions() {
+        populateTestRealm(realm, 1000);
+        final List<Long> values = new ArrayList<Long>();
+        long count = realm.where(AllTypes.class).scan(new RealmQuery.ScanCallback<AllTypes>() {
+            @Override
+            public boolean onMatch(AllTypes object) {
+                values.add(object.getColumnLong());
+                return true;
+            }
+        });
+        assertEquals(1000, count);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, values.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void scan_realmResultsNoConditions() {
+        populateTestRealm(realm, 1000);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).greaterThanOrEqualTo(AllTypes.FIELD_LONG, 500)
+                .findAll();
+        final List<Long> values = new ArrayList<Long>();
+        long count = results.where().scan(new RealmQuery.ScanCallback<AllTypes>() {
+            @Override
+            public boolean onMatch(AllTypes object) {
+                values.add(object.getColumnLong());
+                return true;
+            }
+        });
+        assertEquals(500, count);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(500 + i, values.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void scan_changesThrow() {
+        populateTestRealm(realm, 10);
+        realm.beginTransaction();
+        try {
+            realm.where(AllTypes.class).scan(new RealmQuery.ScanCallback<AllTypes>() {
+                @Override
+                public boolean onMatch(AllTypes object) {
+                    realm.createObject(AllTypes.class);
+                    return true;
+                }
+            });
+            fail();
+        } catch (ConcurrentModificationException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void groupBy_multipleAggregates() {
+        populateTestRealm(realm, 20);
+        GroupedResults groups = realm.where(AllTypes.class).groupBy(new String[] {AllTypes.FIELD_BOOLEAN},
+                Aggregate.count(), Aggregate.sum(AllTypes.FIELD_LONG), Aggregate.max(AllTypes.FIELD_LONG),
+                Aggregate.min(AllTypes.FIELD_DATE), Aggregate.average(AllTypes.FIELD_LONG));
+
+        // false is sorted before true.
+        assertEquals(2, groups.size());
+        assertTrue(Arrays.equals(new boolean[] {false, true}, groups.getBooleanKeys(AllTypes.FIELD_BOOLEAN)));
+        assertTrue(Arrays.equals(new long[] {13, 7}, groups.getCounts()));
+        assertTrue(Arrays.equals(new long[] {13, 7}, groups.getLongValues(0)));
+        assertTrue(Arrays.equals(new long[] {127, 63}, groups.getLongValues(1)));
+        assertTrue(Arrays.equals(new long[] {19, 18}, groups.getLongValues(2)));
+        assertEquals(new Date(DECADE_MILLIS * -9), groups.getValue(0, 3));
+        assertEquals(new Date(DECADE_MILLIS * -10), groups.getValue(1, 3));
+        assertEquals(9.0, groups.getDoubleValues(4)[1], 0.0);
+        assertEquals(false, groups.getKey(0, AllTypes.FIELD_BOOLEAN));
+    }
+
+    @Test
+    public void groupBy_multipleKeys() {
+        populateTestRealm(realm, 20);
+        GroupedResults groups = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 6)
+                .groupBy(new String[] {AllTypes.FIELD_BOOLEAN, AllTypes.FIELD_STRING}, Aggregate.count());
+
+        assertEquals(6, groups.size());
+        String[] strings = groups.getStringKeys(AllTypes.FIELD_STRING);
+        assertEquals("test data 1", strings[0]);
+        assertEquals("test data 2", strings[1]);
+        assertEquals("test data 4", strings[2]);
+        assertEquals("test data 5", strings[3]);
+        assertEquals("test data 0", strings[4]);
+        assertEquals("test data 3", strings[5]);
+        for (long count : groups.getCounts()) {
+            assertEquals(1, count);
+        }
+    }
+
+    @Test
+    public void groupBy_nullKeysAndValues() {
+        realm.beginTransaction();
+        String[] strings = {null, "b", "a", null, "a", "b"};
+        Integer[] integers = {null, 2, 3, null, null, 4};
+        for (int i = 0; i < strings.length; i++) {
+            NullTypes nullTypes = new NullTypes();
+            nullTypes.setId(i);
+            nullTypes.setFieldStringNull(strings[i]);
+            nullTypes.setFieldIntegerNull(integers[i]);
+            realm.copyToRealm(nullTypes);
+        }
+        realm.commitTransaction();
+
+        GroupedResults groups = realm.where(NullTypes.class).groupBy(new String[] {NullTypes.FIELD_STRING_NULL},
+                Aggregate.count(NullTypes.FIELD_INTEGER_NULL), Aggregate.sum(NullTypes.FIELD_INTEGER_NULL),
+                Aggregate.average(NullTypes.FIELD_INTEGER_NULL));
+
+        assertEquals(3, groups.size());
+        assertTrue(Arrays.equals(new boolean[] {true, false, false}, groups.getNullKeys(NullTypes.FIELD_STRING_NULL)));
+        assertTrue(Arrays.equals(new String[] {null, "a", "b"}, groups.getStringKeys(NullTypes.FIELD_STRING_NULL)));
+        assertNull(groups.getKey(0, NullTypes.FIELD_STRING_NULL));
+        assertTrue(Arrays.equals(new long[] {2, 2, 2}, groups.getCounts()));
+        assertTrue(Arrays.equals(new long[] {0, 1, 2}, groups.getLongValues(0)));
+        assertTrue(Arrays.equals(new long[] {0, 3, 6}, groups.getLongValues(1)));
+        assertTrue(Arrays.equals(new boolean[] {true, false, false}, groups.getNullValues(2)));
+        assertNull(groups.getValue(0, 2));
+        assertEquals(3.0, (Double) groups.getValue(2, 2), 0.0);
+    }
+
+    @Test
+    public void groupBy_noMatches() {
+        populateTestRealm(realm, 10);
+        GroupedResults groups = realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 100)
+                .groupBy(new String[] {AllTypes.FIELD_STRING}, Aggregate.sum(AllTypes.FIELD_DOUBLE));
+        assertEquals(0, groups.size());
+        assertEquals(0, groups.getDoubleValues(0).length);
+    }
+
+    @Test
+    public void groupBy_invalidArgumentsThrow() {
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class);
+        String[] key = {AllTypes.FIELD_STRING};
+        try {
+            query.groupBy(new String[0], Aggregate.count());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(new String[] {AllTypes.FIELD_BINARY}, Aggregate.count());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(new String[] {"columnRealmObject.name"}, Aggregate.count());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(key, Aggregate.sum(AllTypes.FIELD_DATE));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(key, Aggregate.max("nonExistingField"));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void groupBy_wrongArrayTypeThrows() {
+        populateTestRealm(realm, 10);
+        GroupedResults groups = realm.where(AllTypes.class).groupBy(new String[] {AllTypes.FIELD_STRING},
+                Aggregate.average(AllTypes.FIELD_LONG));
+
+        thrown.expect(IllegalArgumentException.class);
+        groups.getLongValues(0);
+    }
+
+    private void populateStringAndInt(Realm testRealm, int objects) {
+        testRealm.beginTransaction();
+        for (int i = 0; i < objects; i++) {
+            StringAndInt obj = testRealm.createObject(StringAndInt.class);
+            obj.setStr("str " + i);
+            obj.setNumber(i);
+        }
+        testRealm.commitTransaction();
+    }
+
+    @Test
+    public void liveAggregate_count() {
+        populateStringAndInt(realm, 10);
+        LiveAggregate count = realm.where(StringAndInt.class).lessThan("number", 5).liveAggregate(Aggregate.count());
+        try {
+            assertEquals(5L, count.get());
+
+            realm.beginTransaction();
+            realm.createObject(StringAndInt.class).setNumber(1);
+            realm.createObject(StringAndInt.class).setNumber(100);
+            realm.commitTransaction();
+            assertEquals(6L, count.get());
+
+            realm.beginTransaction();
+            realm.where(StringAndInt.class).equalTo("number", 3).findFirst().setNumber(50);
+            realm.commitTransaction();
+            assertEquals(5L, count.get());
+
+            // The changes were followed row by row.
+            assertEquals(1, count.getFullRecomputeCount());
+        } finally {
+            count.close();
+        }
+    }
+
+    @Test
+    public void liveAggregate_sumMinMaxAfterDeletesAndUpdates() {
+        populateStringAndInt(realm, 20);
+        RealmQuery<StringAndInt> query = realm.where(StringAndInt.class).greaterThan("number", 2);
+        LiveAggregate sum = query.liveAggregate(Aggregate.sum("number"));
+        LiveAggregate min = query.liveAggregate(Aggregate.min("number"));
+        LiveAggregate max = query.liveAggregate(Aggregate.max("number"));
+        try {
+            assertEquals(187L, sum.get());
+            assertEquals(3L, min.get());
+            assertEquals(19L, max.get());
+
+            realm.beginTransaction();
+            // Removes the minimum and moves the last object over it.
+            realm.where(StringAndInt.class).equalTo("number", 3).findFirst().removeFromRealm();
+            realm.where(StringAndInt.class).equalTo("number", 19).findFirst().setNumber(-1);
+            realm.createObject(StringAndInt.class).setNumber(30);
+            realm.commitTransaction();
+
+            RealmQuery<StringAndInt> fresh = realm.where(StringAndInt.class).greaterThan("number", 2);
+            assertEquals(fresh.sum("number").longValue(), sum.get());
+            assertEquals(fresh.min("number").longValue(), min.get());
+            assertEquals(fresh.max("number").longValue(), max.get());
+            assertEquals(4L, min.get());
+            assertEquals(30L, max.get());
+            assertEquals(1, sum.getFullRecomputeCount());
+            assertEquals(1, min.getFullRecomputeCount());
+        } finally {
+            sum.close();
+            min.close();
+            max.close();
+        }
+    }
+
+    @Test
+    public void liveAggregate_averageIsNullWithoutValues() {
+        LiveAggregate average = realm.where(FloatingPointIndexed.class)
+                .liveAggregate(Aggregate.average(FloatingPointIndexed.FIELD_PRICE));
+        try {
+            assertNull(average.get());
+
+            realm.beginTransaction();
+            realm.createObject(FloatingPointIndexed.class).setPrice(1.5);
+            realm.createObject(FloatingPointIndexed.class).setPrice(2.5);
+            realm.commitTransaction();
+            assertEquals(2.0, average.get());
+
+            realm.beginTransaction();
+            realm.clear(FloatingPointIndexed.class);
+            realm.commitTransaction();
+            assertNull(average.get());
+        } finally {
+            average.close();
+        }
+    }
+
+    @Test
+    public void liveAggregate_excludesUncommittedChanges() {
+        populateStringAndInt(realm, 10);
+        LiveAggregate count = realm.where(StringAndInt.class).liveAggregate(Aggregate.count());
+        try {
+            realm.beginTransaction();
+            realm.createObject(StringAndInt.class);
+            assertEquals(10L, count.get());
+            realm.cancelTransaction();
+            assertEquals(10L, count.get());
+        } finally {
+            count.close();
+        }
+    }
+
+    @Test
+    public void liveAggregate_recomputesOnChangesOfLinkedClasses() {
+        populateTestRealm(realm, 10);
+        LiveAggregate count = realm.where(AllTypes.class).equalTo("columnRealmObject.name", "Fido")
+                .liveAggregate(Aggregate.count());
+        try {
+            assertEquals(0L, count.get());
+
+            realm.beginTransaction();
+            Dog dog = realm.createObject(Dog.class);
+            realm.allObjects(AllTypes.class).first().setColumnRealmObject(dog);
+            realm.commitTransaction();
+            assertEquals(0L, count.get());
+
+            realm.beginTransaction();
+            dog.setName("Fido");
+            realm.commitTransaction();
+            assertEquals(1L, count.get());
+        } finally {
+            count.close();
+        }
+    }
+
+    @Test
+    public void liveAggregate_invalidArgumentsThrow() {
+        populateTestRealm(realm, 10);
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class);
+        try {
+            query.liveAggregate(null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.liveAggregate(Aggregate.sum("nonExistingField"));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.liveAggregate(Aggregate.sum("columnRealmObject.age"));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.liveAggregate(Aggregate.max(AllTypes.FIELD_DATE));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            realm.allObjects(AllTypes.class).where().liveAggregate(Aggregate.count());
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
+
+    @Test
+    public void liveAggregate_closedThrows() {
+        LiveAggregate count = realm.where(StringAndInt.class).liveAggregate(Aggregate.count());
+        count.close();
+        assertTrue(count.isClosed());
+        count.close();
+
+        thrown.expect(IllegalStateException.class);
+        count.get();
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void liveAggregate_notifiesOnlyWhenValueChanges() {
+        final Realm realm = looperThread.realm;
+        populateStringAndInt(realm, 10);
+        final LiveAggregate sum = realm.where(StringAndInt.class).lessThan("number", 5)
+                .liveAggregate(Aggregate.sum("number"));
+        looperThread.keepStrongReference.add(sum);
+        final AtomicInteger notifications = new AtomicInteger(0);
+        sum.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(1, notifications.incrementAndGet());
+                assertEquals(12L, sum.get());
+                sum.close();
+                looperThread.testComplete();
+            }
+        });
+
+        // Neither changes the sum.
+        realm.beginTransaction();
+        realm.createObject(StringAndInt.class).setNumber(100);
+        realm.createObject(StringAndInt.class).setNumber(0);
+        realm.commitTransaction();
+        assertEquals(0, notifications.get());
+
+        realm.beginTransaction();
+        realm.createObject(StringAndInt.class).setNumber(2);
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void percentiles_interpolatesBetweenValues() {
+        populateStringAndInt(realm, 4);
+        RealmQuery<StringAndInt> query = realm.where(StringAndInt.class);
+
+        assertEquals(1.5, query.median("number"), 0d);
+        assertEquals(0.75, query.percentile("number", 25), 0d);
+        assertTrue(Arrays.equals(new double[] {0, 3, 1.5}, query.percentiles("number", 0, 100, 50)));
+    }
+
+    @Test
+    public void percentiles_followsQueryConditions() {
+        populateStringAndInt(realm, 100);
+        RealmQuery<StringAndInt> query = realm.where(StringAndInt.class).greaterThanOrEqualTo("number", 50);
+
+        assertEquals(74.5, query.median("number"), 0d);
+        assertEquals(98.51, query.percentile("number", 99), 1e-9);
+    }
+
+    @Test
+    public void percentiles_noValues() {
+        populateStringAndInt(realm, 10);
+        RealmQuery<StringAndInt> query = realm.where(StringAndInt.class).lessThan("number", 0);
+
+        assertNull(query.median("number"));
+        double[] percentiles = query.percentiles("number", 50, 99);
+        assertTrue(Double.isNaN(percentiles[0]));
+        assertTrue(Double.isNaN(percentiles[1]));
+        assertTrue(Double.isNaN(query.approximatePercentiles("number", 50)[0]));
+        assertEquals(0, query.countDistinctApprox("str"));
+    }
+
+    @Test
+    public void percentiles_ignoresNullValues() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            NullTypes nullTypes = new NullTypes();
+            nullTypes.setId(i);
+            nullTypes.setFieldIntegerNull((i % 2 == 0) ? i : null);
+            realm.copyToRealm(nullTypes);
+        }
+        realm.commitTransaction();
+
+        RealmQuery<NullTypes> query = realm.where(NullTypes.class);
+        assertEquals(4.0, query.median(NullTypes.FIELD_INTEGER_NULL), 0d);
+        assertEquals(5, query.countDistinctApprox(NullTypes.FIELD_INTEGER_NULL));
+        assertNull(query.median(NullTypes.FIELD_DOUBLE_NULL));
+    }
+
+    @Test
+    public void approximatePercentiles() {
+        populateStringAndInt(realm, 10000);
+        double[] percentiles = realm.where(StringAndInt.class).approximatePercentiles("number", 0, 50, 95, 99, 100);
+
+        // The smallest and largest values are exact, the others are within 1% of the ranks.
+        assertEquals(0, percentiles[0], 0d);
+        assertEquals(4999.5, percentiles[1], 200);
+        assertEquals(9499.05, percentiles[2], 200);
+        assertEquals(9899.01, percentiles[3], 200);
+        assertEquals(9999, percentiles[4], 0d);
+    }
+
+    @Test
+    public void countDistinctApprox() {
+        populateStringAndInt(realm, 10000);
+        RealmQuery<StringAndInt> query = realm.where(StringAndInt.class);
+
+        assertEquals(10000, query.countDistinctApprox("str"), 300);
+        assertEquals(10000, query.countDistinctApprox("number"), 300);
+        assertEquals(50, query.lessThan("number", 50).countDistinctApprox("str"));
+    }
+
+    @Test
+    public void countDistinctApprox_duplicatedValues() {
+        populateTestRealm(realm, 1000);
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class);
+
+        assertEquals(2, query.countDistinctApprox(AllTypes.FIELD_BOOLEAN));
+        assertEquals(1, query.countDistinctApprox(AllTypes.FIELD_DOUBLE));
+        assertEquals(1000, query.countDistinctApprox(AllTypes.FIELD_DATE), 30);
+    }
+
+    @Test
+    public void percentiles_invalidPercentileThrows() {
+        populateStringAndInt(realm, 10);
+        RealmQuery<StringAndInt> query = realm.where(StringAndInt.class);
+
+        thrown.expect(IllegalArgumentException.class);
+        query.percentile("number", 101);
+    }
+
+    @Test
+    public void percentiles_noPercentilesThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(StringAndInt.class).percentiles("number");
+    }
+
+    @Test
+    public void percentiles_nonNumberFieldThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(StringAndInt.class).median("str");
+    }
+
+    @Test
+    public void countDistinctApprox_binaryFieldThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).countDistinctApprox(AllTypes.FIELD_BINARY);
+    }
+
+    @Test
+    public void countDistinctApprox_missingFieldThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).countDistinctApprox("nonExistingField");
+    }
 }
@@ -26,6 +26,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -837,9 +838,13 @@ public class RealmResultsTests {
         RealmQuery<Owner> query = realm.where(Owner.class);
         RealmResults<Owner> owners = query.findAll();
 
+        owners.sort("cat.name");
+        assertEquals(1, owners.size());
+        assertEquals("owner", owners.first().getName());
+
         try {
-            owners.sort("cat.name");
-            fail("Sorting by child object properties should result in a IllegalArgumentException");
+            owners.sort("dogs.name");
+            fail("Sorting by RealmList properties should result in a IllegalArgumentException");
         } catch (IllegalArgumentException ignore) {
         }
     }
@@ -1282,7 +1287,7 @@ public class RealmResultsTests {
         assertEquals(10, realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 0).findAll().size());
     }
 
-    // RealmResults.distinct(): requires indexing, and type = boolean, integer, date, string
+    // RealmResults.distinct(): type = boolean, integer, float, double, date, string
     private void populateForDistinct(Realm realm, long numberOfBlocks, long numberOfObjects, boolean withNull) {
         realm.beginTransaction();
         for (int i = 0; i < numberOfObjects * numberOfBlocks; i++) {
@@ -1362,15 +1367,39 @@ public class RealmResultsTests {
         final long numberOfObjects = 10; // must be greater than 1
         populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String field : AnnotationIndexTypes.NOT_INDEX_FIELDS) {
-            try {
-                realm.where(AnnotationIndexTypes.class).findAll().distinct(field);
-                fail(field);
-            } catch (IllegalArgumentException ignored) {
-            }
+        RealmResults<AnnotationIndexTypes> distinctBool = realm.where(AnnotationIndexTypes.class).findAll().distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL);
+        assertEquals(2, distinctBool.size());
+        for (String field : new String[]{AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE, AnnotationIndexTypes.FIELD_NOT_INDEX_STRING}) {
+            RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class).findAll().distinct(field);
+            assertEquals(field, numberOfBlocks, distinct.size());
         }
     }
 
+    @Test
+    public void distinct_multipleFields() {
+        final long numberOfBlocks = 25;
+        final long numberOfObjects = 10;
+        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+
+        RealmResults<AnnotationIndexTypes> distinct = realm.allObjects(AnnotationIndexTypes.class)
+                .distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_STRING);
+        assertEquals(numberOfBlocks, distinct.size());
+    }
+
+    @Test
+    public void distinct_sortedKeepsFirstObject() {
+        final long numberOfBlocks = 25;
+        final long numberOfObjects = 10;
+        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+
+        RealmResults<AnnotationIndexTypes> distinct = realm.where(AnnotationIndexTypes.class)
+                .findAllSorted(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, Sort.DESCENDING)
+                .distinct(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL);
+        assertEquals(2, distinct.size());
+        assertEquals(numberOfBlocks - 1, distinct.get(0).getNotIndexLong());
+        assertEquals(numberOfBlocks - 2, distinct.get(1).getNotIndexLong());
+    }
+
     @Test
     public void distinct_noneExistingField() {
         final long numberOfBlocks = 25;
@@ -1388,7 +1417,7 @@ public class RealmResultsTests {
     public void distinct_invalidTypes() {
         populateTestRealm();
 
-        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_BINARY}) {
             try {
                 realm.where(AllTypes.class).findAll().distinct(field);
                 fail(field);
@@ -1586,18 +1615,22 @@ public class RealmResultsTests {
     }
 
     @Test
-    public void distinctAsync_notIndexedFields() {
+    @RunTestInLooperThread
+    public void distinctAsync_multipleNotIndexedFields() {
         final long numberOfBlocks = 25;
         final long numberOfObjects = 10;
-        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+        populateForDistinct(looperThread.realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String field : AnnotationIndexTypes.NOT_INDEX_FIELDS) {
-            try {
-                realm.where(AnnotationIndexTypes.class).findAll().distinctAsync(field);
-                fail(field);
-            } catch (IllegalArgumentException ignored) {
+        final RealmResults<AnnotationIndexTypes> distinct = looperThread.realm.where(AnnotationIndexTypes.class)
+                .findAll().distinctAsync(AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE);
+        looperThread.keepStrongReference.add(distinct);
+        distinct.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(numberOfBlocks, distinct.size());
+                looperThread.testComplete();
             }
-        }
+        });
     }
 
     @Test
@@ -1616,7 +1649,7 @@ public class RealmResultsTests {
     public void distinctAsync_invalidTypes() {
         populateTestRealm(realm, TEST_DATA_SIZE);
 
-        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_BINARY}) {
             try {
                 realm.where(AllTypes.class).findAll().distinctAsync(field);
             } catch (IllegalArgumentException ignored) {
@@ -1752,4 +1785,116 @@ public class RealmResultsTests {
     public void whereResultsBuiltOnDeletedLinkView() {
         assertEquals(0, populateRealmResultsOnDeletedLinkView().where().findAll().size());
     }
+
+    @Test
+    public void groupBy() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+        GroupedResults groups = results.groupBy(new String[] {AllTypes.FIELD_BOOLEAN},
+                Aggregate.sum(AllTypes.FIELD_LONG), Aggregate.max(AllTypes.FIELD_DOUBLE));
+
+        assertEquals(2, groups.size());
+        assertTrue(Arrays.equals(new long[] {5, 5}, groups.getCounts()));
+        assertTrue(Arrays.equals(new long[] {25, 20}, groups.getLongValues(0)));
+        assertEquals(3.1415 + 9, groups.getDoubleValues(1)[0], 0.0);
+        assertEquals(3.1415 + 8, groups.getDoubleValues(1)[1], 0.0);
+    }
+
+    @Test
+    public void groupBy_allObjects() {
+        GroupedResults groups = realm.allObjects(AllTypes.class).groupBy(new String[] {AllTypes.FIELD_BOOLEAN},
+                Aggregate.count());
+        assertTrue(Arrays.equals(new long[] {TEST_DATA_SIZE / 2, TEST_DATA_SIZE / 2}, groups.getCounts()));
+    }
+
+    @Test
+    public void groupBy_sortedResultsGiveSameGroups() {
+        String[] keys = {AllTypes.FIELD_BOOLEAN};
+        GroupedResults unsorted = realm.allObjects(AllTypes.class).groupBy(keys, Aggregate.min(AllTypes.FIELD_DATE));
+        GroupedResults sorted = realm.allObjectsSorted(AllTypes.class, AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .groupBy(keys, Aggregate.min(AllTypes.FIELD_DATE));
+        assertEquals(unsorted, sorted);
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void groupByLive_notifiesOnlyWhenGroupsChange() {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnBoolean(true);
+        realm.commitTransaction();
+
+        final RealmResults<AllTypes> results = realm.where(AllTypes.class).findAll();
+        final LiveGroupedResults live = results.groupByLive(new String[] {AllTypes.FIELD_BOOLEAN},
+                Aggregate.count());
+        assertEquals(1, live.get().size());
+
+        final AtomicInteger notifications = new AtomicInteger(0);
+        live.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(1, notifications.incrementAndGet());
+                GroupedResults groups = live.get();
+                assertEquals(2, groups.size());
+                assertTrue(Arrays.equals(new long[] {1, 1}, groups.getCounts()));
+                looperThread.testComplete();
+            }
+        });
+
+        // Changes the results, but not the groups.
+        realm.beginTransaction();
+        results.first().setColumnString("changed");
+        realm.commitTransaction();
+
+        looperThread.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(0, notifications.get());
+                realm.beginTransaction();
+                realm.createObject(AllTypes.class).setColumnBoolean(false);
+                realm.commitTransaction();
+            }
+        });
+    }
+
+    @Test
+    public void groupByLive_withoutListenersIsComputedOnGet() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+        LiveGroupedResults live = results.groupByLive(new String[] {AllTypes.FIELD_BOOLEAN}, Aggregate.count());
+        assertTrue(Arrays.equals(new long[] {5, 5}, live.get().getCounts()));
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnBoolean(true);
+        realm.commitTransaction();
+        assertTrue(Arrays.equals(new long[] {5, 6}, live.get().getCounts()));
+    }
+
+    @Test
+    public void percentiles() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+
+        assertEquals(4.5, results.median(AllTypes.FIELD_LONG), 0d);
+        assertEquals(3.1415 + 4.5, results.median(AllTypes.FIELD_DOUBLE), 1e-9);
+        assertTrue(Arrays.equals(new double[] {0, 9}, results.percentiles(AllTypes.FIELD_LONG, 0, 100)));
+    }
+
+    @Test
+    public void percentiles_sortedResultsGiveSamePercentiles() {
+        RealmResults<AllTypes> unsorted = realm.allObjects(AllTypes.class);
+        RealmResults<AllTypes> sorted = realm.allObjectsSorted(AllTypes.class, AllTypes.FIELD_LONG, Sort.DESCENDING);
+
+        assertEquals((TEST_DATA_SIZE - 1) / 2.0, unsorted.median(AllTypes.FIELD_LONG), 0d);
+        assertTrue(Arrays.equals(unsorted.percentiles(AllTypes.FIELD_LONG, 5, 95),
+                sorted.percentiles(AllTypes.FIELD_LONG, 5, 95)));
+        assertTrue(Arrays.equals(unsorted.approximatePercentiles(AllTypes.FIELD_LONG, 0, 100),
+                sorted.approximatePercentiles(AllTypes.FIELD_LONG, 0, 100)));
+    }
+
+    @Test
+    public void countDistinctApprox() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+
+        assertEquals(2, results.countDistinctApprox(AllTypes.FIELD_BOOLEAN));
+        assertEquals(10, results.countDistinctApprox(AllTypes.FIELD_STRING));
+        assertEquals(TEST_DATA_SIZE, realm.allObjects(AllTypes.class).countDistinctApprox(AllTypes.FIELD_LONG), 75);
+    }
 }
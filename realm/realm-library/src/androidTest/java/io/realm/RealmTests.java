@@ -44,6 +44,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
@@ -60,6 +61,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
 import io.realm.entities.AnnotationIndexTypes;
+import io.realm.entities.AnnotationTypes;
 import io.realm.entities.Cat;
 import io.realm.entities.CyclicType;
 import io.realm.entities.CyclicTypePrimaryKey;
@@ -76,6 +78,8 @@ import io.realm.entities.PrimaryKeyMix;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.exceptions.RealmPrimaryKeyConstraintException;
+import io.realm.internal.Table;
 import io.realm.internal.log.RealmLog;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
@@ -1078,6 +1082,121 @@ public class RealmTests {
         }
     }
 
+    private void populatePartialCopyRealm() {
+        realm.beginTransaction();
+        Owner owner1 = realm.createObject(Owner.class);
+        owner1.setName("Owner 1");
+        Cat cat = realm.createObject(Cat.class);
+        cat.setName("Cat 1");
+        cat.setOwner(owner1);
+        owner1.setCat(cat);
+        for (int i = 0; i < 2; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setAge(i);
+            dog.setOwner(owner1);
+            owner1.getDogs().add(dog);
+        }
+        Owner owner2 = realm.createObject(Owner.class);
+        owner2.setName("Owner 2");
+        Dog dog = realm.createObject(Dog.class);
+        dog.setName("Dog 2");
+        dog.setOwner(owner2);
+        owner2.getDogs().add(dog);
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        allTypes.setColumnString("Not copied");
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void writePartialCopyTo() throws IOException {
+        populatePartialCopyRealm();
+        RealmConfiguration copyConfig = configFactory.createConfiguration("partial.realm");
+        Realm.deleteRealm(copyConfig);
+
+        realm.writePartialCopyTo(new File(copyConfig.getPath()), realm.where(Owner.class).equalTo("name", "Owner 1"));
+
+        Realm copy = Realm.getInstance(copyConfig);
+        try {
+            // The owner and everything reachable from it, but nothing else.
+            assertEquals(1, copy.where(Owner.class).count());
+            assertEquals(2, copy.where(Dog.class).count());
+            assertEquals(1, copy.where(Cat.class).count());
+            assertEquals(0, copy.where(AllTypes.class).count());
+
+            Owner owner = copy.where(Owner.class).findFirst();
+            assertEquals("Owner 1", owner.getName());
+            assertEquals("Cat 1", owner.getCat().getName());
+            assertEquals(2, owner.getDogs().size());
+            assertEquals("Dog 0", owner.getDogs().get(0).getName());
+            assertEquals("Dog 1", owner.getDogs().get(1).getName());
+            assertEquals(1, owner.getDogs().get(1).getAge());
+            assertEquals("Owner 1", owner.getDogs().get(1).getOwner().getName());
+        } finally {
+            copy.close();
+        }
+    }
+
+    @Test
+    public void writePartialCopyTo_severalQueries() throws IOException {
+        populatePartialCopyRealm();
+        RealmConfiguration copyConfig = configFactory.createConfiguration("partial.realm");
+        Realm.deleteRealm(copyConfig);
+
+        realm.writePartialCopyTo(new File(copyConfig.getPath()),
+                realm.where(Dog.class).equalTo("name", "Dog 2"),
+                realm.where(AllTypes.class));
+
+        Realm copy = Realm.getInstance(copyConfig);
+        try {
+            // The dog links to its owner, which links back to the dog.
+            assertEquals(1, copy.where(Owner.class).count());
+            assertEquals("Owner 2", copy.where(Owner.class).findFirst().getName());
+            assertEquals(1, copy.where(Dog.class).count());
+            assertEquals(0, copy.where(Cat.class).count());
+            assertEquals(1, copy.where(AllTypes.class).count());
+            assertEquals("Not copied", copy.where(AllTypes.class).findFirst().getColumnString());
+        } finally {
+            copy.close();
+        }
+    }
+
+    @Test
+    public void writeEncryptedPartialCopyTo() throws IOException {
+        populatePartialCopyRealm();
+        RealmConfiguration copyConfig = configFactory.createConfiguration("partial.realm", TestHelper.getRandomKey());
+        Realm.deleteRealm(copyConfig);
+
+        realm.writeEncryptedPartialCopyTo(new File(copyConfig.getPath()), copyConfig.getEncryptionKey(),
+                realm.where(Cat.class));
+
+        Realm copy = Realm.getInstance(copyConfig);
+        try {
+            assertEquals(1, copy.where(Cat.class).count());
+            assertEquals(2, copy.where(Dog.class).count());
+        } finally {
+            copy.close();
+        }
+    }
+
+    @Test
+    public void writePartialCopyTo_noQueriesThrows() throws IOException {
+        thrown.expect(IllegalArgumentException.class);
+        realm.writePartialCopyTo(new File(configFactory.createConfiguration("partial.realm").getPath()));
+    }
+
+    @Test
+    public void writePartialCopyTo_queryFromOtherRealmThrows() throws IOException {
+        Realm otherRealm = Realm.getInstance(configFactory.createConfiguration("other.realm"));
+        try {
+            thrown.expect(IllegalArgumentException.class);
+            realm.writePartialCopyTo(new File(configFactory.createConfiguration("partial.realm").getPath()),
+                    otherRealm.where(Owner.class));
+        } finally {
+            otherRealm.close();
+        }
+    }
+
     @Test
     public void compactRealm() {
         final RealmConfiguration configuration = realm.getConfiguration();
@@ -1582,6 +1701,179 @@ public class RealmTests {
         assertEquals(1, realm.allObjects(DogPrimaryKey.class).size());
     }
 
+    @Test
+    public void insert_list() {
+        Dog dog = new Dog("Fido");
+        Owner owner = new Owner();
+        owner.setName("Kim");
+        owner.setDogs(new RealmList<Dog>(dog, new Dog("Rex")));
+        dog.setOwner(owner);
+
+        realm.beginTransaction();
+        realm.insert(Arrays.asList(owner, new Owner()));
+        realm.commitTransaction();
+
+        assertEquals(2, realm.allObjects(Owner.class).size());
+        assertEquals(2, realm.allObjects(Dog.class).size());
+        Owner realmOwner = realm.where(Owner.class).equalTo("name", "Kim").findFirst();
+        assertEquals(2, realmOwner.getDogs().size());
+        assertEquals("Fido", realmOwner.getDogs().get(0).getName());
+        assertEquals("Kim", realmOwner.getDogs().get(0).getOwner().getName());
+        assertEquals("Rex", realmOwner.getDogs().get(1).getName());
+    }
+
+    @Test
+    public void insert_cyclicObjectReferences() {
+        CyclicType oneCyclicType = new CyclicType("One");
+        CyclicType anotherCyclicType = new CyclicType("Two");
+        oneCyclicType.setObject(anotherCyclicType);
+        anotherCyclicType.setObject(oneCyclicType);
+        oneCyclicType.setObjects(new RealmList<CyclicType>(oneCyclicType, anotherCyclicType));
+
+        realm.beginTransaction();
+        realm.insert(oneCyclicType);
+        realm.commitTransaction();
+
+        assertEquals(2, realm.allObjects(CyclicType.class).size());
+        CyclicType realmObject = realm.where(CyclicType.class).equalTo("name", "One").findFirst();
+        assertEquals("Two", realmObject.getObject().getName());
+        assertEquals("One", realmObject.getObject().getObject().getName());
+        assertEquals(2, realmObject.getObjects().size());
+    }
+
+    @Test
+    public void insert_managedObjectIsIgnored() {
+        realm.beginTransaction();
+        Dog dog = realm.createObject(Dog.class);
+        dog.setName("Fido");
+        Owner owner = new Owner();
+        owner.setDogs(new RealmList<Dog>(dog));
+        realm.insert(Arrays.asList(dog, owner));
+        realm.commitTransaction();
+
+        assertEquals(1, realm.allObjects(Dog.class).size());
+        assertEquals("Fido", realm.allObjects(Owner.class).first().getDogs().first().getName());
+    }
+
+    @Test
+    public void insert_duplicatedPrimaryKeyThrows() {
+        PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+        obj.setId(1);
+        realm.beginTransaction();
+        realm.insert(obj);
+        try {
+            realm.insert(Collections.singletonList(obj));
+            fail();
+        } catch (RealmPrimaryKeyConstraintException expected) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void insert_nullElementThrows() {
+        realm.beginTransaction();
+        try {
+            realm.insert(Arrays.asList(new Dog(), null));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void insertOrUpdate_list() {
+        realm.beginTransaction();
+        PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+        obj.setId(1);
+        obj.setName("Foo");
+        realm.copyToRealm(obj);
+
+        PrimaryKeyAsLong obj2 = new PrimaryKeyAsLong();
+        obj2.setId(1);
+        obj2.setName("Bar");
+        PrimaryKeyAsLong obj3 = new PrimaryKeyAsLong();
+        obj3.setId(2);
+        obj3.setName("Baz");
+        realm.insertOrUpdate(Arrays.asList(obj2, obj3));
+        realm.commitTransaction();
+
+        RealmResults<PrimaryKeyAsLong> results = realm.allObjectsSorted(PrimaryKeyAsLong.class, "id", Sort.ASCENDING);
+        assertEquals(2, results.size());
+        assertEquals("Bar", results.get(0).getName());
+        assertEquals("Baz", results.get(1).getName());
+    }
+
+    // Primary keys are resolved before the objects are written, so objects repeating a new key must still be merged.
+    @Test
+    public void insertOrUpdate_listRepeatingNewPrimaryKeys() {
+        PrimaryKeyAsString obj1 = new PrimaryKeyAsString("Foo");
+        obj1.setId(1);
+        PrimaryKeyAsString obj2 = new PrimaryKeyAsString("Bar");
+        obj2.setId(2);
+        PrimaryKeyAsString obj3 = new PrimaryKeyAsString("Foo");
+        obj3.setId(3);
+
+        realm.beginTransaction();
+        realm.insertOrUpdate(Arrays.asList(obj1, obj2, obj3));
+        realm.commitTransaction();
+
+        RealmResults<PrimaryKeyAsString> results = realm.allObjectsSorted(PrimaryKeyAsString.class, "name", Sort.ASCENDING);
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(0).getId());
+        assertEquals(3, results.get(1).getId());
+    }
+
+    @Test
+    public void copyToRealmOrUpdate_iterableRepeatingNewPrimaryKeys() {
+        PrimaryKeyAsLong obj1 = new PrimaryKeyAsLong();
+        obj1.setId(1);
+        obj1.setName("Foo");
+        PrimaryKeyAsLong obj2 = new PrimaryKeyAsLong();
+        obj2.setId(1);
+        obj2.setName("Bar");
+
+        realm.beginTransaction();
+        List<PrimaryKeyAsLong> copies = realm.copyToRealmOrUpdate(Arrays.asList(obj1, obj2));
+        realm.commitTransaction();
+
+        assertEquals(1, realm.allObjects(PrimaryKeyAsLong.class).size());
+        assertEquals("Bar", copies.get(0).getName());
+        assertEquals("Bar", realm.allObjects(PrimaryKeyAsLong.class).first().getName());
+    }
+
+    @Test
+    public void insertOrUpdate_childObjectsAreUpdated() {
+        DogPrimaryKey dog = new DogPrimaryKey(1, "Snoop");
+        AllTypesPrimaryKey allTypes1 = new AllTypesPrimaryKey();
+        allTypes1.setColumnLong(1);
+        allTypes1.setColumnRealmObject(dog);
+        AllTypesPrimaryKey allTypes2 = new AllTypesPrimaryKey();
+        allTypes2.setColumnLong(2);
+        allTypes2.setColumnRealmObject(new DogPrimaryKey(1, "Snoopy"));
+
+        realm.beginTransaction();
+        realm.insertOrUpdate(Arrays.asList(allTypes1, allTypes2));
+        realm.commitTransaction();
+
+        assertEquals(2, realm.allObjects(AllTypesPrimaryKey.class).size());
+        assertEquals(1, realm.allObjects(DogPrimaryKey.class).size());
+        assertEquals("Snoopy", realm.allObjects(DogPrimaryKey.class).first().getName());
+    }
+
+    @Test
+    public void insertOrUpdate_noPrimaryKeyThrows() {
+        realm.beginTransaction();
+        try {
+            realm.insertOrUpdate(Collections.singletonList(new Dog()));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
     @Test
     public void getInstance_differentEncryptionKeys() {
         byte[] key1 = TestHelper.getRandomKey(42);
@@ -2152,20 +2444,28 @@ public class RealmTests {
     }
 
     @Test
-    public void distinct_notIndexedFieldsThrows() {
+    public void distinct_notIndexedFields() {
         final long numberOfBlocks = 25;
         final long numberOfObjects = 10; // must be greater than 1
         populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
 
-        for (String field : AnnotationIndexTypes.NOT_INDEX_FIELDS) {
-            try {
-                realm.distinct(AnnotationIndexTypes.class, field);
-                fail(field);
-            } catch (IllegalArgumentException ignored) {
-            }
+        assertEquals(2, realm.distinct(AnnotationIndexTypes.class, AnnotationIndexTypes.FIELD_NOT_INDEX_BOOL).size());
+        for (String field : new String[]{AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, AnnotationIndexTypes.FIELD_NOT_INDEX_DATE, AnnotationIndexTypes.FIELD_NOT_INDEX_STRING}) {
+            assertEquals(field, numberOfBlocks, realm.distinct(AnnotationIndexTypes.class, field).size());
         }
     }
 
+    @Test
+    public void distinct_multipleFields() {
+        final long numberOfBlocks = 25;
+        final long numberOfObjects = 10;
+        populateForDistinct(realm, numberOfBlocks, numberOfObjects, false);
+
+        RealmResults<AnnotationIndexTypes> distinct = realm.distinct(AnnotationIndexTypes.class,
+                AnnotationIndexTypes.FIELD_INDEX_BOOL, AnnotationIndexTypes.FIELD_NOT_INDEX_LONG);
+        assertEquals(numberOfBlocks, distinct.size());
+    }
+
     @Test
     public void distinct_unknownFieldThrows() {
         final long numberOfBlocks = 25;
@@ -2180,7 +2480,7 @@ public class RealmTests {
     public void distinct_invalidTypeThrows() {
         populateTestRealm();
 
-        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+        for (String field : new String[]{AllTypes.FIELD_REALMOBJECT, AllTypes.FIELD_REALMLIST, AllTypes.FIELD_BINARY}) {
             try {
                 realm.distinct(AllTypes.class, field);
                 fail(field);
@@ -2528,6 +2828,60 @@ public class RealmTests {
         assertTrue(results.get(0) == results.get(1));
     }
 
+    // Test that objects of different classes are copied in the order of the list, and that the lists of the objects
+    // in a batch are split correctly.
+    @Test
+    public void copyFromRealm_list_mixedClasses() {
+        realm.beginTransaction();
+        List<RealmObject> objects = new ArrayList<RealmObject>();
+        for (int i = 0; i < 3; i++) {
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            for (int j = 0; j < i; j++) {
+                Dog dog = realm.createObject(Dog.class);
+                dog.setName("Dog " + i + "." + j);
+                owner.getDogs().add(dog);
+            }
+            objects.add(owner);
+            objects.add(owner);
+        }
+        Dog dog = realm.createObject(Dog.class);
+        dog.setName("Lonely dog");
+        objects.add(dog);
+        realm.commitTransaction();
+
+        List<RealmObject> copies = realm.copyFromRealm(objects);
+        assertEquals(7, copies.size());
+        for (int i = 0; i < 3; i++) {
+            Owner owner = (Owner) copies.get(i * 2);
+            assertTrue(owner == copies.get(i * 2 + 1));
+            assertEquals("Owner " + i, owner.getName());
+            assertNull(owner.getCat());
+            assertEquals(i, owner.getDogs().size());
+            for (int j = 0; j < i; j++) {
+                assertEquals("Dog " + i + "." + j, owner.getDogs().get(j).getName());
+            }
+        }
+        assertEquals("Lonely dog", ((Dog) copies.get(6)).getName());
+    }
+
+    @Test
+    public void copyFromRealmAsync_nonLooperThreadThrows() {
+        populateTestRealm();
+        thrown.expect(IllegalStateException.class);
+        realm.copyFromRealmAsync(realm.allObjects(AllTypes.class), 0, new Realm.CopyCallback<AllTypes>() {
+            @Override
+            public void onSuccess(List<AllTypes> copies) {
+                fail();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                fail();
+            }
+        });
+    }
+
     @Test
     public void copyFromRealm_dynamicRealmObjectThrows() {
         realm.beginTransaction();
@@ -2797,4 +3151,298 @@ public class RealmTests {
         assertEquals(0, realm.where(Cat.class).count());
         assertTrue(realm.isEmpty());
     }
+
+    @Test
+    public void freeze_resultsCanBeReadFromAnotherThread() throws InterruptedException, ExecutionException {
+        populateTestRealm();
+        final RealmResults<AllTypes> frozen = realm.where(AllTypes.class)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING).freeze();
+        assertTrue(frozen.realm.isFrozen());
+
+        // Changes made after freezing are not seen by the frozen results.
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(TEST_DATA_SIZE);
+        realm.commitTransaction();
+        assertEquals(TEST_DATA_SIZE + 1, realm.allObjects(AllTypes.class).size());
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                assertEquals(TEST_DATA_SIZE, frozen.size());
+                assertEquals(TEST_DATA_SIZE - 1, frozen.first().getColumnLong());
+                assertEquals("test data 0", frozen.last().getColumnString());
+                return true;
+            }
+        });
+        assertTrue(future.get());
+        executorService.shutdownNow();
+        frozen.realm.close();
+    }
+
+    @Test
+    public void freeze_readConcurrentlyFromSeveralThreads() throws InterruptedException, ExecutionException {
+        populateTestRealm();
+        final Realm frozenRealm = realm.freeze();
+        final RealmResults<AllTypes> frozen = realm.allObjects(AllTypes.class).freeze();
+        assertTrue(frozen.realm == frozenRealm);
+
+        final int threads = 4;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    startSignal.await();
+                    for (int j = 0; j < 50; j++) {
+                        assertEquals(TEST_DATA_SIZE, frozenRealm.where(AllTypes.class).count());
+                        assertEquals(1, frozenRealm.where(AllTypes.class)
+                                .equalTo(AllTypes.FIELD_STRING, "test data 0").count());
+                        for (AllTypes allTypes : frozen) {
+                            assertTrue(allTypes.getColumnString().startsWith("test data "));
+                            allTypes.getColumnRealmList().size();
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+        startSignal.countDown();
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executorService.shutdownNow();
+        frozenRealm.close();
+    }
+
+    @Test
+    public void freeze_objectAndList() throws InterruptedException, ExecutionException {
+        realm.beginTransaction();
+        Owner owner = realm.createObject(Owner.class);
+        owner.setName("Owner");
+        Dog dog = realm.createObject(Dog.class);
+        dog.setName("Dog");
+        owner.getDogs().add(dog);
+        realm.commitTransaction();
+
+        final Owner frozenOwner = owner.freeze();
+        final RealmList<Dog> frozenDogs = owner.getDogs().freeze();
+        assertTrue(frozenOwner.realm.isFrozen());
+        assertTrue(frozenDogs.realm == frozenOwner.realm);
+
+        realm.beginTransaction();
+        owner.setName("Changed");
+        owner.getDogs().clear();
+        realm.commitTransaction();
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                assertEquals("Owner", frozenOwner.getName());
+                assertEquals(1, frozenOwner.getDogs().size());
+                assertEquals(1, frozenDogs.size());
+                assertEquals("Dog", frozenDogs.get(0).getName());
+                return true;
+            }
+        });
+        assertTrue(future.get());
+        executorService.shutdownNow();
+        frozenOwner.realm.close();
+    }
+
+    @Test
+    public void freeze_sameVersionSharesFrozenRealm() {
+        populateTestRealm();
+        Realm frozenRealm = realm.freeze();
+        assertTrue(frozenRealm.isFrozen());
+        assertFalse(realm.isFrozen());
+        assertTrue(frozenRealm == realm.freeze());
+        assertTrue(frozenRealm == realm.allObjects(AllTypes.class).freeze().realm);
+        assertTrue(frozenRealm == frozenRealm.freeze());
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+        assertNotSame(frozenRealm, realm.freeze());
+        frozenRealm.close();
+    }
+
+    @Test
+    public void freeze_insideTransactionThrows() {
+        realm.beginTransaction();
+        try {
+            realm.freeze();
+            fail();
+        } catch (IllegalStateException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void freeze_frozenRealmCannotBeChanged() {
+        populateTestRealm();
+        Realm frozenRealm = realm.freeze();
+        try {
+            frozenRealm.beginTransaction();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            frozenRealm.refresh();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            frozenRealm.allObjects(AllTypes.class).addChangeListener(new RealmChangeListener() {
+                @Override
+                public void onChange() {
+                }
+            });
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        frozenRealm.close();
+    }
+
+    @Test
+    public void freeze_closeInvalidatesFrozenObjects() throws InterruptedException, ExecutionException {
+        populateTestRealm();
+        final RealmResults<AllTypes> frozen = realm.allObjects(AllTypes.class).freeze();
+        final AllTypes frozenObject = frozen.first();
+
+        // Frozen Realms can be closed from any thread.
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                frozen.realm.close();
+                return true;
+            }
+        });
+        assertTrue(future.get());
+        executorService.shutdownNow();
+
+        assertFalse(frozen.isValid());
+        assertFalse(frozenObject.isValid());
+        assertEquals(TEST_DATA_SIZE, realm.allObjects(AllTypes.class).size());
+    }
+
+    @Test
+    public void bulkLoad_indexesAreRebuiltOnCommit() {
+        realm.beginTransaction();
+        realm.beginBulkLoad(AnnotationTypes.class);
+        Table table = realm.getTable(AnnotationTypes.class);
+        long indexStringColumn = table.getColumnIndex("indexString");
+        assertFalse(table.hasSearchIndex(indexStringColumn));
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            AnnotationTypes obj = realm.createObject(AnnotationTypes.class, i);
+            obj.setIndexString("Foo " + i);
+        }
+        realm.commitTransaction();
+
+        assertFalse(table.isInBulkLoad());
+        assertTrue(table.hasSearchIndex(indexStringColumn));
+        assertTrue(table.hasSearchIndex(table.getPrimaryKey()));
+        assertEquals(TEST_DATA_SIZE, realm.allObjects(AnnotationTypes.class).size());
+        assertEquals(5, realm.where(AnnotationTypes.class).equalTo("indexString", "Foo 5").findFirst().getId());
+    }
+
+    @Test
+    public void bulkLoad_duplicatedPrimaryKeyThrowsOnCommit() {
+        realm.beginTransaction();
+        realm.beginBulkLoad(AnnotationTypes.class);
+        realm.createObject(AnnotationTypes.class, 1);
+        realm.createObject(AnnotationTypes.class, 2);
+        realm.createObject(AnnotationTypes.class, 1);
+        try {
+            realm.commitTransaction();
+            fail();
+        } catch (RealmPrimaryKeyConstraintException ignored) {
+        }
+        assertTrue(realm.isInTransaction());
+        realm.cancelTransaction();
+
+        Table table = realm.getTable(AnnotationTypes.class);
+        assertTrue(table.hasSearchIndex(table.getColumnIndex("indexString")));
+        assertEquals(0, realm.allObjects(AnnotationTypes.class).size());
+    }
+
+    @Test
+    public void bulkLoad_copyToRealm() {
+        realm.beginTransaction();
+        realm.beginBulkLoad(AnnotationTypes.class);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            AnnotationTypes obj = new AnnotationTypes();
+            obj.setId(i);
+            obj.setIndexString("Foo " + i);
+            AnnotationTypes managedObj = realm.copyToRealm(obj);
+            assertTrue(managedObj.row.getTable().isInBulkLoad());
+        }
+        assertTrue(realm.schema.getTable(AnnotationTypes.class).isInBulkLoad());
+
+        // The duplicate is only detected when the bulk load ends.
+        AnnotationTypes duplicate = new AnnotationTypes();
+        duplicate.setId(0);
+        realm.copyToRealm(duplicate);
+        try {
+            realm.commitTransaction();
+            fail();
+        } catch (RealmPrimaryKeyConstraintException ignored) {
+        }
+
+        realm.where(AnnotationTypes.class).equalTo("id", 0).findAll().last().removeFromRealm();
+        realm.commitTransaction();
+        assertFalse(realm.schema.getTable(AnnotationTypes.class).isInBulkLoad());
+        assertEquals(TEST_DATA_SIZE, realm.allObjects(AnnotationTypes.class).size());
+        assertEquals(5, realm.where(AnnotationTypes.class).equalTo("indexString", "Foo 5").findFirst().getId());
+    }
+
+    @Test
+    public void bulkLoad_retriedCommitThrowsUntilCancelled() {
+        realm.beginTransaction();
+        realm.beginBulkLoad(AnnotationTypes.class);
+        realm.createObject(AnnotationTypes.class, 1);
+        realm.createObject(AnnotationTypes.class, 1);
+        for (int i = 0; i < 2; i++) {
+            try {
+                realm.commitTransaction();
+                fail();
+            } catch (RealmPrimaryKeyConstraintException ignored) {
+            }
+            assertTrue(realm.isInTransaction());
+            assertTrue(realm.getTable(AnnotationTypes.class).isInBulkLoad());
+        }
+        realm.cancelTransaction();
+
+        assertFalse(realm.getTable(AnnotationTypes.class).isInBulkLoad());
+        assertEquals(0, realm.allObjects(AnnotationTypes.class).size());
+    }
+
+    @Test
+    public void bulkLoad_cancelTransactionRestoresIndexes() {
+        realm.beginTransaction();
+        realm.beginBulkLoad(AnnotationTypes.class);
+        realm.createObject(AnnotationTypes.class, 1);
+        realm.cancelTransaction();
+
+        Table table = realm.getTable(AnnotationTypes.class);
+        assertFalse(table.isInBulkLoad());
+        assertTrue(table.hasSearchIndex(table.getColumnIndex("indexString")));
+
+        // Primary keys are checked again outside of the bulk load.
+        realm.beginTransaction();
+        realm.createObject(AnnotationTypes.class, 1);
+        thrown.expect(RealmPrimaryKeyConstraintException.class);
+        realm.createObject(AnnotationTypes.class, 1);
+    }
+
+    @Test
+    public void beginBulkLoad_outsideTransactionThrows() {
+        thrown.expect(IllegalStateException.class);
+        realm.beginBulkLoad(AnnotationTypes.class);
+    }
 }
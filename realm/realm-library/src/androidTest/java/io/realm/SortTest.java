@@ -19,6 +19,8 @@ package io.realm;
 import android.test.AndroidTestCase;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.Cat;
+import io.realm.entities.Owner;
 import io.realm.internal.TableView;
 
 public class SortTest extends AndroidTestCase {
@@ -303,4 +305,79 @@ public class SortTest extends AndroidTestCase {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    // Creates owners "o1" to "o4" with cats "c", "a", no cat, "b" and ages 1, 2, -, 1.
+    private void populateOwnersAndCats() {
+        String[] catNames = {"c", "a", null, "b"};
+        long[] catAges = {1, 2, 0, 1};
+        testRealm.beginTransaction();
+        for (int i = 0; i < catNames.length; i++) {
+            Owner owner = testRealm.createObject(Owner.class);
+            owner.setName("o" + (i + 1));
+            if (catNames[i] != null) {
+                Cat cat = testRealm.createObject(Cat.class);
+                cat.setName(catNames[i]);
+                cat.setAge(catAges[i]);
+                owner.setCat(cat);
+            }
+        }
+        testRealm.commitTransaction();
+    }
+
+    private void assertOwnerNames(RealmResults<Owner> owners, String... names) {
+        assertEquals(names.length, owners.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], owners.get(i).getName());
+        }
+    }
+
+    public void testSortRealmResultsByLinkedField() {
+        populateOwnersAndCats();
+        RealmResults<Owner> owners = testRealm.allObjects(Owner.class);
+
+        // Owners without a cat are sorted first
+        owners.sort("cat.name");
+        assertOwnerNames(owners, "o3", "o2", "o4", "o1");
+
+        owners.sort("cat.name", Sort.DESCENDING);
+        assertOwnerNames(owners, "o1", "o4", "o2", "o3");
+    }
+
+    public void testRealmQuerySortByLinkedFields() {
+        populateOwnersAndCats();
+        RealmResults<Owner> owners = testRealm.where(Owner.class).isNotNull("cat")
+                .findAllSorted("cat.age", Sort.ASCENDING, "cat.name", Sort.DESCENDING);
+        assertOwnerNames(owners, "o1", "o4", "o2");
+
+        owners = testRealm.where(Owner.class).findAllSorted(new String[] {"cat.age", "name"},
+                new Sort[] {Sort.DESCENDING, Sort.DESCENDING});
+        assertOwnerNames(owners, "o2", "o4", "o1", "o3");
+    }
+
+    public void testSortByLinkedFieldStaysSorted() {
+        populateOwnersAndCats();
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAllSorted("cat.name");
+        assertOwnerNames(owners, "o3", "o2", "o4", "o1");
+
+        testRealm.beginTransaction();
+        testRealm.where(Cat.class).equalTo("name", "c").findFirst().setName("0");
+        testRealm.commitTransaction();
+
+        assertOwnerNames(owners, "o3", "o1", "o2", "o4");
+    }
+
+    public void testSortByLinkedFieldThroughListThrows() {
+        populateOwnersAndCats();
+        try {
+            testRealm.where(Owner.class).findAllSorted("dogs.name");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+            testRealm.allObjects(Owner.class).sort(new String[] {"name", "dogs.name"}, ORDER_ASC_ASC);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
 }
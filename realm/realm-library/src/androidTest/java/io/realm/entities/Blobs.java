@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.entities;
+
+import java.nio.ByteBuffer;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Required;
+
+public class Blobs extends RealmObject {
+
+    public static final String FIELD_ATTACHMENT = "attachment";
+    public static final String FIELD_THUMBNAIL = "thumbnail";
+    public static final String FIELD_BYTES = "bytes";
+    public static final String FIELD_NAME = "name";
+
+    private String name;
+    private ByteBuffer attachment;
+    @Required
+    private ByteBuffer thumbnail;
+    private byte[] bytes;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public ByteBuffer getAttachment() {
+        return attachment;
+    }
+
+    public void setAttachment(ByteBuffer attachment) {
+        this.attachment = attachment;
+    }
+
+    public ByteBuffer getThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(ByteBuffer thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(byte[] bytes) {
+        this.bytes = bytes;
+    }
+}
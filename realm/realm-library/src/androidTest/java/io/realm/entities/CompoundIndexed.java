@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.realm.entities;
+
+import java.util.Date;
+
+import io.realm.RealmObject;
+import io.realm.annotations.CompoundIndex;
+import io.realm.annotations.Index;
+
+@CompoundIndex({CompoundIndexed.FIELD_TENANT_ID, CompoundIndexed.FIELD_STATUS, CompoundIndexed.FIELD_DAY})
+public class CompoundIndexed extends RealmObject {
+
+    public static final String CLASS_NAME = "CompoundIndexed";
+    public static final String FIELD_TENANT_ID = "tenantId";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_DAY = "day";
+    public static final String FIELD_NOTE = "note";
+
+    @Index
+    private long tenantId;
+    private String status;
+    private Date day;
+    private String note;
+
+    public long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getDay() {
+        return day;
+    }
+
+    public void setDay(Date day) {
+        this.day = day;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+}
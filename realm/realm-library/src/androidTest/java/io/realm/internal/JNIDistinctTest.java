@@ -45,7 +45,7 @@ public class JNIDistinctTest extends TestCase {
     public void testShouldTestDistinct() {
         init();
 
-        // Must set index before using distinct()
+        // The search index is used for a single column, if there is one
         table.addSearchIndex(1);
         assertEquals(true, table.hasSearchIndex(1));
 
@@ -57,14 +57,26 @@ public class JNIDistinctTest extends TestCase {
         assertEquals(4, view.getLong(0, 3));
     }
 
-    public void testShouldTestDistinctErrorWhenNoIndex() {
+    public void testShouldTestDistinctWithoutIndex() {
         init();
-        try {
-            TableView view = table.getDistinctView(1);
-            fail();
-        } catch (UnsupportedOperationException e) {
-            assertNotNull(e);
-        }
+        TableView view = table.getDistinctView(1);
+        assertEquals(4, view.size());
+        assertEquals(0, view.getLong(0, 0));
+        assertEquals(1, view.getLong(0, 1));
+        assertEquals(2, view.getLong(0, 2));
+        assertEquals(4, view.getLong(0, 3));
+    }
+
+    public void testShouldTestDistinctOnMultipleColumns() {
+        init();
+        table.add(1, "B");
+        table.add(1, "C");
+        TableView view = table.getDistinctView(0, 1);
+        assertEquals(8, view.size());
+        assertEquals(0, view.getLong(0, 0));
+        assertEquals(1, view.getLong(0, 1));
+        assertEquals(6, view.getLong(0, 6));
+        assertEquals("C", view.getString(1, 7));
     }
 
     public void testShouldTestDistinctErrorWhenIndexOutOfBounds() {
@@ -79,9 +91,9 @@ public class JNIDistinctTest extends TestCase {
 
     public void testShouldTestDistinctErrorWhenWrongColumnType() {
         init();
-        table.addSearchIndex(1);
+        long binaryColumn = table.addColumn(RealmFieldType.BINARY, "binary");
         try {
-            TableView view = table.getDistinctView(0);
+            TableView view = table.getDistinctView(binaryColumn);
             fail();
         } catch (Exception e) {
             assertNotNull(e);
@@ -96,4 +96,37 @@ public class JNILinkTest extends TestCase {
 
     }
 
+    public void testRowSnapshotLinks() {
+        Group group = new Group();
+
+        Table targets = group.getTable("targets");
+        targets.addColumn(RealmFieldType.STRING, "string");
+        targets.add("a");
+        targets.add("b");
+
+        Table table = group.getTable("table");
+        table.addColumnLink(RealmFieldType.OBJECT, "Link", targets);
+        table.addColumnLink(RealmFieldType.LIST, "LinkList", targets);
+        table.addEmptyRows(2);
+        table.setLink(0, 0, 1);
+        table.setLinkList(1, 0, new long[] {1, 0, 1});
+        table.setLinkList(1, 1, new long[] {0});
+
+        RowSnapshot snapshot = new RowSnapshot(table, new long[] {0, 1});
+
+        assertEquals(1, snapshot.getLink(0, 0));
+        assertTrue(snapshot.isNull(1, 0));
+        assertEquals(TableOrView.NO_MATCH, snapshot.getLink(1, 0));
+        assertEquals(2, snapshot.getLinks(0).length);
+
+        assertEquals(3, snapshot.getLinkList(0, 1).length);
+        assertEquals(1, snapshot.getLinkList(1, 1).length);
+        long[] links = snapshot.getLinkLists(1);
+        assertEquals(4, links.length);
+        assertEquals(1, links[0]);
+        assertEquals(0, links[1]);
+        assertEquals(1, links[2]);
+        assertEquals(0, links[3]);
+    }
+
 }
@@ -19,6 +19,7 @@ package io.realm.internal;
 import android.test.AndroidTestCase;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -624,4 +625,86 @@ public class JNITableTest extends AndroidTestCase {
         assertFalse(table.isColumnNullable(0));
         assertTrue(table.isColumnNullable(1));
     }
+
+    public void testFindFirstLongs() {
+        Table table = new Table();
+        table.addColumn(RealmFieldType.INTEGER, "number");
+        table.addSearchIndex(0);
+        for (long i = 0; i < 10; i++) {
+            table.add(i * 10);
+        }
+
+        long[] rows = table.findFirstLongs(0, new long[] {90, 5, 0, 90, 40});
+        assertEquals(5, rows.length);
+        assertEquals(9, rows[0]);
+        assertEquals(TableOrView.NO_MATCH, rows[1]);
+        assertEquals(0, rows[2]);
+        assertEquals(9, rows[3]);
+        assertEquals(4, rows[4]);
+        assertEquals(0, table.findFirstLongs(0, new long[0]).length);
+    }
+
+    public void testFindFirstStrings() {
+        Table table = new Table();
+        table.addColumn(RealmFieldType.STRING, "name");
+        table.add("c");
+        table.add("a");
+        table.add("b");
+
+        long[] rows = table.findFirstStrings(0, new String[] {"b", "d", "c", "a", "b"});
+        assertEquals(5, rows.length);
+        assertEquals(2, rows[0]);
+        assertEquals(TableOrView.NO_MATCH, rows[1]);
+        assertEquals(0, rows[2]);
+        assertEquals(1, rows[3]);
+        assertEquals(2, rows[4]);
+
+        try {
+            table.findFirstStrings(0, new String[] {"a", null});
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testRowSnapshot() {
+        Table table = new Table();
+        table.addColumn(RealmFieldType.INTEGER, "long", true);
+        table.addColumn(RealmFieldType.BOOLEAN, "boolean");
+        table.addColumn(RealmFieldType.FLOAT, "float");
+        table.addColumn(RealmFieldType.DOUBLE, "double");
+        table.addColumn(RealmFieldType.DATE, "date", true);
+        table.addColumn(RealmFieldType.STRING, "string", true);
+        table.addColumn(RealmFieldType.BINARY, "binary", true);
+        table.add(42, true, 1.5f, 2.5d, new Date(1000), "a", new byte[] {1, 2});
+        table.addEmptyRow();
+        for (long columnIndex : new long[] {0, 4, 5, 6}) {
+            table.setNull(columnIndex, 1);
+        }
+
+        RowSnapshot snapshot = new RowSnapshot(table, new long[] {1, 0});
+        assertEquals(2, snapshot.size());
+        assertEquals(42, snapshot.getLong(1, 0));
+        assertTrue(snapshot.getBoolean(1, 1));
+        assertEquals(1.5f, snapshot.getFloat(1, 2));
+        assertEquals(2.5d, snapshot.getDouble(1, 3));
+        assertEquals(new Date(1000), snapshot.getDate(1, 4));
+        assertEquals("a", snapshot.getString(1, 5));
+        assertTrue(Arrays.equals(new byte[] {1, 2}, snapshot.getBinaryByteArray(1, 6)));
+
+        for (long columnIndex : new long[] {0, 4, 5, 6}) {
+            assertTrue(snapshot.isNull(0, columnIndex));
+            assertFalse(snapshot.isNull(1, columnIndex));
+        }
+        assertNull(snapshot.getDate(0, 4));
+        assertNull(snapshot.getString(0, 5));
+        assertNull(snapshot.getBinaryByteArray(0, 6));
+        assertFalse(snapshot.getBoolean(0, 1));
+
+        assertEquals(0, new RowSnapshot(table, new long[0]).size());
+        try {
+            new RowSnapshot(table, new long[] {2});
+            fail();
+        } catch (ArrayIndexOutOfBoundsException ignored) {
+        }
+    }
 }
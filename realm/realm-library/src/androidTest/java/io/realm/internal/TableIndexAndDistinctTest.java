@@ -42,7 +42,7 @@ public class TableIndexAndDistinctTest extends TestCase {
     public void testShouldTestDistinct() {
         init();
 
-        // Must set index before using distinct()
+        // The search index is used for a single column, if there is one
         table.addSearchIndex(1);
         assertEquals(true, table.hasSearchIndex(1));
 
@@ -133,11 +133,11 @@ public class TableIndexAndDistinctTest extends TestCase {
 
     public void testShouldThrowDistinctErrorWhenWrongColumnType() {
         init();
-        table.addSearchIndex(1);
+        long binaryColumn = table.addColumn(RealmFieldType.BINARY, "binary");
         try {
-            TableView view = table.getDistinctView(0);
+            TableView view = table.getDistinctView(binaryColumn);
             fail();
-        } catch (UnsupportedOperationException e) {
+        } catch (IllegalArgumentException e) {
             assertNotNull(e);
         }
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import junit.framework.TestCase;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public class ParallelJsonParserTest extends TestCase {
+
+    private static ByteArrayInputStream jsonArray(int elements) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"name\":\"name ").append(i).append("\"}");
+        }
+        return new ByteArrayInputStream(json.append(']').toString().getBytes("UTF-8"));
+    }
+
+    public void testBatchesInStreamOrder() throws IOException, JSONException {
+        ParallelJsonParser parser = new ParallelJsonParser(jsonArray(1000), 4, 16);
+        int next = 0;
+        JSONArray batch;
+        while ((batch = parser.nextBatch()) != null) {
+            assertTrue(batch.length() <= 16);
+            for (int i = 0; i < batch.length(); i++) {
+                assertEquals(next++, batch.getJSONObject(i).getInt("id"));
+            }
+        }
+        assertEquals(1000, next);
+    }
+
+    public void testParsesAtMostParallelismBatchesAtOnce() throws IOException, JSONException {
+        ParallelJsonParser parser = new ParallelJsonParser(jsonArray(20000), 1, 8);
+        int elements = 0;
+        JSONArray batch;
+        while ((batch = parser.nextBatch()) != null) {
+            elements += batch.length();
+        }
+        assertEquals(20000, elements);
+        assertEquals(1, parser.getPeakParallelism());
+    }
+
+    public void testParallelismLessThanOneThrows() throws IOException {
+        try {
+            new ParallelJsonParser(jsonArray(1), 0, 16);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * An aggregate computed for every group of a group-by, see {@link RealmQuery#groupBy(String[], Aggregate...)}.
+ * <p>
+ * {@code null} values are ignored by all aggregates. Sums and averages are supported for {@code int}, {@code long},
+ * {@code short}, {@code byte}, {@code float} and {@code double} fields and their boxed variants, minimums and
+ * maximums also for {@link java.util.Date} fields.
+ */
+public final class Aggregate {
+
+    // Must match AggregateKind in groupby.hpp.
+    static final byte KIND_COUNT = 0;
+    static final byte KIND_SUM = 1;
+    static final byte KIND_AVERAGE = 2;
+    static final byte KIND_MINIMUM = 3;
+    static final byte KIND_MAXIMUM = 4;
+
+    final byte kind;
+    final String fieldName; // null counts the objects of a group.
+
+    private Aggregate(byte kind, String fieldName) {
+        this.kind = kind;
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Counts the objects of every group.
+     */
+    public static Aggregate count() {
+        return new Aggregate(KIND_COUNT, null);
+    }
+
+    /**
+     * Counts the objects of every group having a value other than {@code null} in a field.
+     *
+     * @param fieldName the field to count the values of.
+     * @throws IllegalArgumentException if the field name is {@code null} or empty.
+     */
+    public static Aggregate count(String fieldName) {
+        return new Aggregate(KIND_COUNT, checkFieldName(fieldName));
+    }
+
+    /**
+     * Sums a field in every group. The sum of a group having no values is {@code 0}.
+     *
+     * @param fieldName the field to sum.
+     * @throws IllegalArgumentException if the field name is {@code null} or empty.
+     */
+    public static Aggregate sum(String fieldName) {
+        return new Aggregate(KIND_SUM, checkFieldName(fieldName));
+    }
+
+    /**
+     * Averages a field in every group. The average of a group having no values is {@code null}.
+     *
+     * @param fieldName the field to average.
+     * @throws IllegalArgumentException if the field name is {@code null} or empty.
+     */
+    public static Aggregate average(String fieldName) {
+        return new Aggregate(KIND_AVERAGE, checkFieldName(fieldName));
+    }
+
+    /**
+     * Finds the minimum value of a field in every group. The minimum of a group having no values is {@code null}.
+     *
+     * @param fieldName the field to find the minimum of.
+     * @throws IllegalArgumentException if the field name is {@code null} or empty.
+     */
+    public static Aggregate min(String fieldName) {
+        return new Aggregate(KIND_MINIMUM, checkFieldName(fieldName));
+    }
+
+    /**
+     * Finds the maximum value of a field in every group. The maximum of a group having no values is {@code null}.
+     *
+     * @param fieldName the field to find the maximum of.
+     * @throws IllegalArgumentException if the field name is {@code null} or empty.
+     */
+    public static Aggregate max(String fieldName) {
+        return new Aggregate(KIND_MAXIMUM, checkFieldName(fieldName));
+    }
+
+    private static String checkFieldName(String fieldName) {
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name must be provided.");
+        }
+        return fieldName;
+    }
+
+    @Override
+    public String toString() {
+        String name;
+        switch (kind) {
+            case KIND_COUNT:
+                name = "count";
+                break;
+            case KIND_SUM:
+                name = "sum";
+                break;
+            case KIND_AVERAGE:
+                name = "average";
+                break;
+            case KIND_MINIMUM:
+                name = "min";
+                break;
+            default:
+                name = "max";
+                break;
+        }
+        return name + "(" + (fieldName == null ? "*" : fieldName) + ")";
+    }
+}
@@ -21,15 +21,21 @@ import android.os.Looper;
 
 import java.io.Closeable;
 import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.SharedGroupManager;
 import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.DebugAndroidLogger;
@@ -50,6 +56,7 @@ abstract class BaseRealm implements Closeable {
     private static final String INCORRECT_THREAD_MESSAGE = "Realm access from incorrect thread. Realm objects can only be accessed on the thread they were created.";
     private static final String CLOSED_REALM_MESSAGE = "This Realm instance has already been closed, making it unusable.";
     private static final String CANNOT_REFRESH_INSIDE_OF_TRANSACTION_MESSAGE = "Cannot refresh inside of a transaction.";
+    static final String FROZEN_REALM_MESSAGE = "This Realm instance is frozen. Frozen Realms can't be changed, refreshed or observed.";
 
     // Map between a Handler and the canonical path to a Realm file
     protected static final Map<Handler, String> handlers = new ConcurrentHashMap<Handler, String>();
@@ -64,6 +71,12 @@ abstract class BaseRealm implements Closeable {
     RealmSchema schema;
     Handler handler;
     HandlerController handlerController;
+    private final boolean frozen;
+    // The frozen copy of the current version, shared by all objects frozen at this version. It is not kept alive by
+    // this Realm, so the version is released once the frozen objects are no longer used.
+    private WeakReference<BaseRealm> frozenRealmRef;
+    // Tables being bulk loaded in the current write transaction.
+    private final List<Table> bulkLoadedTables = new ArrayList<Table>();
 
     static {
         RealmLog.add(BuildConfig.DEBUG ? new DebugAndroidLogger() : new ReleaseAndroidLogger());
@@ -74,9 +87,68 @@ abstract class BaseRealm implements Closeable {
         this.configuration = configuration;
         this.sharedGroupManager = new SharedGroupManager(configuration);
         this.schema = new RealmSchema(this, sharedGroupManager.getTransaction());
+        this.frozen = false;
         setAutoRefresh(autoRefresh);
     }
 
+    /**
+     * Creates a frozen Realm reading the given version of the file. The version must still be held by the caller.
+     */
+    protected BaseRealm(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        this.threadId = Thread.currentThread().getId();
+        this.configuration = configuration;
+        this.sharedGroupManager = new SharedGroupManager(configuration, version);
+        this.schema = new RealmSchema(this, sharedGroupManager.getTransaction());
+        this.frozen = true;
+
+        // Core creates table accessors the first time a table is used, which must not happen on several threads at
+        // once. All tables are used once here, so reading the frozen Realm doesn't change any shared state.
+        ImplicitTransaction transaction = sharedGroupManager.getTransaction();
+        for (int i = 0; i < transaction.size(); i++) {
+            transaction.getTable(transaction.getTableName(i));
+        }
+    }
+
+    /**
+     * Creates the frozen copy of this Realm at the given version.
+     */
+    abstract BaseRealm createFrozenInstance(SharedGroup.VersionID version);
+
+    /**
+     * Returns the frozen copy of the current version of this Realm. All objects frozen at the same version share the
+     * same frozen Realm.
+     *
+     * @throws IllegalStateException if the Realm is in a write transaction.
+     */
+    BaseRealm getFrozenRealm() {
+        checkIfValid();
+        if (frozen) {
+            return this;
+        }
+        if (isInTransaction()) {
+            throw new IllegalStateException("Cannot freeze the Realm or its objects inside a write transaction.");
+        }
+        SharedGroup.VersionID version = sharedGroupManager.getVersion();
+        BaseRealm frozenRealm = (frozenRealmRef == null) ? null : frozenRealmRef.get();
+        if (frozenRealm == null || frozenRealm.isClosed()
+                || !frozenRealm.sharedGroupManager.getVersion().equals(version)) {
+            frozenRealm = createFrozenInstance(version);
+            frozenRealmRef = new WeakReference<BaseRealm>(frozenRealm);
+        }
+        return frozenRealm;
+    }
+
+    /**
+     * Checks if this Realm is frozen. A frozen Realm and all objects and results coming from it can be read from any
+     * thread, but they are never updated and can't be changed.
+     *
+     * @return {@code true} if the Realm is frozen, {@code false} otherwise.
+     * @see Realm#freeze()
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Sets the auto-refresh status of the Realm instance.
      * <p>
@@ -86,10 +158,13 @@ abstract class BaseRealm implements Closeable {
      * thread.
      *
      * @param autoRefresh {@code true} will turn auto-refresh on, {@code false} will turn it off.
-     * @throws IllegalStateException if called from a non-Looper thread.
+     * @throws IllegalStateException if called from a non-Looper thread or on a frozen Realm.
      */
     public void setAutoRefresh(boolean autoRefresh) {
         checkIfValid();
+        if (autoRefresh && frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (autoRefresh && Looper.myLooper() == null) {
             throw new IllegalStateException("Cannot set auto-refresh in a Thread without a Looper");
         }
@@ -137,13 +212,16 @@ abstract class BaseRealm implements Closeable {
      * or {@link #removeAllChangeListeners()} which removes all listeners including the ones added via anonymous classes.
      *
      * @param listener the change listener.
-     * @throws IllegalStateException if you try to register a listener from a non-Looper Thread.
+     * @throws IllegalStateException if you try to register a listener from a non-Looper Thread or on a frozen Realm.
      * @see io.realm.RealmChangeListener
      * @see #removeChangeListener(RealmChangeListener)
      * @see #removeAllChangeListeners()
      */
     public void addChangeListener(RealmChangeListener listener) {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (handlerController == null) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
         }
@@ -255,15 +333,69 @@ abstract class BaseRealm implements Closeable {
         sharedGroupManager.copyToFile(destination, key);
     }
 
+    /**
+     * Writes a compacted copy of part of the Realm to the given destination File. The copy contains the objects found
+     * by the queries and all objects they link to, directly or indirectly, so the links of the copied objects are
+     * kept. Objects of other classes are left out, but all classes keep their schema.
+     * <p>
+     * The objects are copied natively, without creating Java objects for them. The destination file cannot already
+     * exist.
+     * <p>
+     * Note that if this is called from within a transaction it writes the current data, and not the data as it was when
+     * the last transaction was committed.
+     *
+     * @param destination file to save the objects to.
+     * @param queries the queries finding the objects to copy.
+     * @throws java.io.IOException if any write operation fails.
+     * @throws IllegalArgumentException if destination argument is null, no query is given or a query belongs to
+     * another Realm.
+     */
+    public void writePartialCopyTo(File destination, RealmQuery<?>... queries) throws java.io.IOException {
+        writeEncryptedPartialCopyTo(destination, null, queries);
+    }
+
+    /**
+     * Writes a compacted and encrypted copy of part of the Realm to the given destination File.
+     *
+     * @param destination file to save the objects to.
+     * @param key a 64-byte encryption key.
+     * @param queries the queries finding the objects to copy.
+     * @throws java.io.IOException if any write operation fails.
+     * @throws IllegalArgumentException if destination argument is null, no query is given or a query belongs to
+     * another Realm.
+     * @see #writePartialCopyTo(File, RealmQuery[])
+     */
+    public void writeEncryptedPartialCopyTo(File destination, byte[] key, RealmQuery<?>... queries)
+            throws java.io.IOException {
+        if (destination == null) {
+            throw new IllegalArgumentException("The destination argument cannot be null");
+        }
+        if (queries == null || queries.length == 0) {
+            throw new IllegalArgumentException("At least one query is required");
+        }
+        checkIfValid();
+        TableQuery[] tableQueries = new TableQuery[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            if (queries[i] == null || queries[i].getRealm() != this) {
+                throw new IllegalArgumentException("Queries must belong to this Realm");
+            }
+            tableQueries[i] = queries[i].getTableQuery();
+        }
+        sharedGroupManager.copyRowsToFile(destination, key, tableQueries);
+    }
+
     /**
      * Refreshes the Realm instance and all the RealmResults and RealmObjects instances coming from it.
      * It also calls the listeners associated to the Realm instance.
      *
-     * @throws IllegalStateException if attempting to refresh from within a transaction.
+     * @throws IllegalStateException if attempting to refresh from within a transaction or a frozen Realm.
      */
     @SuppressWarnings("UnusedDeclaration")
     public void refresh() {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (isInTransaction()) {
             throw new IllegalStateException(BaseRealm.CANNOT_REFRESH_INSIDE_OF_TRANSACTION_MESSAGE);
         }
@@ -288,9 +420,14 @@ abstract class BaseRealm implements Closeable {
      * <br>
      * Notice: it is not possible to nest transactions. If you start a transaction within a transaction an exception is
      * thrown.
+     *
+     * @throws IllegalStateException if the Realm is frozen.
      */
     public void beginTransaction() {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         sharedGroupManager.promoteToWrite();
     }
 
@@ -313,6 +450,7 @@ abstract class BaseRealm implements Closeable {
      */
     void commitTransaction(Runnable runAfterCommit) {
         checkIfValid();
+        endBulkLoad();
         sharedGroupManager.commitAndContinueAsRead();
 
         if (runAfterCommit != null)  {
@@ -361,6 +499,57 @@ abstract class BaseRealm implements Closeable {
     public void cancelTransaction() {
         checkIfValid();
         sharedGroupManager.rollbackAndContinueAsRead();
+        // The rollback restores the indexes.
+        for (Table table : bulkLoadedTables) {
+            table.cancelBulkLoad();
+        }
+        bulkLoadedTables.clear();
+    }
+
+    /**
+     * Starts a bulk load of a table, see {@link Table#beginBulkLoad()}.
+     */
+    void beginBulkLoad(Table table) {
+        checkIfValid();
+        if (!isInTransaction()) {
+            throw new IllegalStateException("A bulk load can only be started inside a write transaction.");
+        }
+        if (table.isInBulkLoad()) {
+            return;
+        }
+        table.beginBulkLoad();
+        bulkLoadedTables.add(table);
+    }
+
+    /**
+     * Ends the bulk load of all classes started in the current transaction. The search indexes are rebuilt, and the
+     * primary key values are checked for duplicates. This happens automatically when the transaction is committed,
+     * but calling it before allows queries to use the indexes again.
+     *
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if objects having the same primary key were
+     * added. The transaction is not committed in that case, and the classes with duplicates stay in bulk load, so
+     * committing fails again until the duplicates are deleted or the transaction is cancelled.
+     */
+    public void endBulkLoad() {
+        checkIfValid();
+        if (bulkLoadedTables.isEmpty()) {
+            return;
+        }
+        RuntimeException failure = null;
+        Iterator<Table> iterator = bulkLoadedTables.iterator();
+        while (iterator.hasNext()) {
+            try {
+                iterator.next().endBulkLoad();
+                iterator.remove();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -372,8 +561,8 @@ abstract class BaseRealm implements Closeable {
             throw new IllegalStateException(BaseRealm.CLOSED_REALM_MESSAGE);
         }
 
-        // Check if we are in the right thread
-        if (threadId != Thread.currentThread().getId()) {
+        // Check if we are in the right thread. Frozen Realms never change, so they can be read from any thread.
+        if (!frozen && threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(BaseRealm.INCORRECT_THREAD_MESSAGE);
         }
     }
@@ -416,10 +605,20 @@ abstract class BaseRealm implements Closeable {
      * It's important to always remember to close Realm instances when you're done with it in order not to leak memory,
      * file descriptors or grow the size of Realm file out of measure.
      *
+     * <p>
+     * Frozen Realms can be closed from any thread. They are not cached, so closing a frozen Realm releases its version
+     * at once and invalidates all objects frozen at that version.
+     *
      * @throws IllegalStateException if attempting to close from another thread.
      */
     @Override
     public void close() {
+        if (frozen) {
+            synchronized (this) {
+                doClose();
+            }
+            return;
+        }
         if (this.threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(INCORRECT_THREAD_CLOSE_MESSAGE);
         }
@@ -447,7 +646,7 @@ abstract class BaseRealm implements Closeable {
      * @throws IllegalStateException if attempting to close from another thread.
      */
     public boolean isClosed() {
-        if (this.threadId != Thread.currentThread().getId()) {
+        if (!frozen && this.threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(INCORRECT_THREAD_MESSAGE);
         }
 
@@ -510,6 +709,40 @@ abstract class BaseRealm implements Closeable {
         }
     }
 
+    /**
+     * Returns a view of the objects linking to the given object through a field of another class.
+     *
+     * @throws IllegalArgumentException if the object is not a valid object of this Realm, or the field doesn't exist
+     * or doesn't link to the class of the object.
+     */
+    protected TableView getBacklinkView(RealmObject object, Table originTable, String fieldName) {
+        if (object == null) {
+            throw new IllegalArgumentException("Null objects cannot have backlinks.");
+        }
+        if (object.row == null || !object.isValid()) {
+            throw new IllegalArgumentException("Only valid managed objects can have backlinks.");
+        }
+        if (!object.realm.getPath().equals(getPath())) {
+            throw new IllegalArgumentException("The object belongs to a different Realm.");
+        }
+        checkNotNullFieldName(fieldName);
+        long columnIndex = originTable.getColumnIndex(fieldName);
+        if (columnIndex == -1) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        RealmFieldType type = originTable.getColumnType(columnIndex);
+        if (type != RealmFieldType.OBJECT && type != RealmFieldType.LIST) {
+            throw new IllegalArgumentException(String.format("Field '%s' is not a RealmObject or RealmList.",
+                    fieldName));
+        }
+        Table targetTable = object.row.getTable();
+        if (!originTable.getLinkTarget(columnIndex).getName().equals(targetTable.getName())) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not link to %s.", fieldName,
+                    targetTable.getName().substring(Table.TABLE_PREFIX.length())));
+        }
+        return originTable.getBacklinkView(columnIndex, object.row.getIndex());
+    }
+
     // Return all handlers registered for this Realm
     static Map<Handler, String> getHandlers() {
         return handlers;
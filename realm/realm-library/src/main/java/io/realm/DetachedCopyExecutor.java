@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.DetachedCopyCache;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableView;
+
+/**
+ * Makes detached copies of frozen results on several threads. The rows are split into ranges, and every range is
+ * copied by a worker thread on a frozen Realm of its own at the version of the results, so the workers don't share
+ * any native accessors. The copies of the ranges are put together in the order of the results.
+ * <p>
+ * Every range has its own cache of copied objects, so an object linked from rows of different ranges is copied once
+ * per range.
+ */
+final class DetachedCopyExecutor<E extends RealmObject> {
+
+    /**
+     * The minimum number of rows given to a worker. Opening a frozen Realm costs more than copying fewer rows.
+     */
+    static final int DEFAULT_MIN_ROWS_PER_WORKER = 1000;
+
+    private static final int MAX_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    // Idle threads are terminated, so the pool costs nothing if parallel copies are not used.
+    private static final ThreadPoolExecutor workers = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS,
+            30L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+    static {
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    private final Realm frozenRealm;
+    private final SharedGroup.VersionID version;
+    private final Class<E> clazz;
+    private final TableOrView rows;
+    private final int minRowsPerWorker;
+
+    /**
+     * Creates an executor for the given results.
+     *
+     * @param frozenResults the results to copy. They must be frozen, since they are read by other threads.
+     * @param minRowsPerWorker the minimum number of rows of a range.
+     */
+    DetachedCopyExecutor(RealmResults<E> frozenResults, int minRowsPerWorker) {
+        this.frozenRealm = (Realm) frozenResults.realm;
+        this.version = frozenRealm.sharedGroupManager.getVersion();
+        this.clazz = frozenResults.classSpec;
+        this.rows = frozenResults.getTable();
+        this.minRowsPerWorker = minRowsPerWorker;
+    }
+
+    /**
+     * Copies all rows and waits for the workers to be done.
+     *
+     * @param maxDepth the maximum depth of the copies, see {@link Realm#copyFromRealm(Iterable, int)}.
+     * @return the copies in the order of the results.
+     * @throws InterruptedException if the calling thread is interrupted while waiting. Ranges not started yet are
+     * cancelled.
+     */
+    List<E> copy(final int maxDepth) throws InterruptedException {
+        long[] rowIndices = getSourceRowIndices();
+        int ranges = Math.max(1, Math.min(MAX_WORKERS, rowIndices.length / minRowsPerWorker));
+        if (ranges == 1) {
+            return copyRange(rowIndices, maxDepth);
+        }
+
+        List<Future<List<E>>> futures = new ArrayList<Future<List<E>>>(ranges);
+        try {
+            for (int i = 0; i < ranges; i++) {
+                final long[] range = Arrays.copyOfRange(rowIndices,
+                        (int) ((long) rowIndices.length * i / ranges),
+                        (int) ((long) rowIndices.length * (i + 1) / ranges));
+                futures.add(workers.submit(new Callable<List<E>>() {
+                    @Override
+                    public List<E> call() {
+                        return copyRange(range, maxDepth);
+                    }
+                }));
+            }
+
+            List<E> copies = new ArrayList<E>(rowIndices.length);
+            for (Future<List<E>> future : futures) {
+                copies.addAll(future.get());
+            }
+            return copies;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RealmException("The objects could not be copied.", cause);
+        } finally {
+            for (Future<List<E>> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private List<E> copyRange(long[] rowIndices, int maxDepth) {
+        Realm workerRealm = frozenRealm.createFrozenInstance(version);
+        try {
+            return workerRealm.configuration.getSchemaMediator().createDetachedCopies(clazz, workerRealm, rowIndices,
+                    maxDepth, new DetachedCopyCache());
+        } finally {
+            workerRealm.close();
+        }
+    }
+
+    private long[] getSourceRowIndices() {
+        long[] rowIndices = new long[(int) rows.size()];
+        for (int i = 0; i < rowIndices.length; i++) {
+            rowIndices[i] = (rows instanceof TableView) ? ((TableView) rows).getSourceRowIndex(i) : i;
+        }
+        return rowIndices;
+    }
+}
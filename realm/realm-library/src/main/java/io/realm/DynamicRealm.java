@@ -20,6 +20,8 @@ import android.os.Looper;
 
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
 import io.realm.internal.TableView;
 import rx.Observable;
@@ -51,6 +53,10 @@ public final class DynamicRealm extends BaseRealm {
         super(configuration, autoRefresh);
     }
 
+    private DynamicRealm(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        super(configuration, version);
+    }
+
     /**
      * Realm static constructor that returns a dynamic variant of the Realm instance defined by provided
      * {@link io.realm.RealmConfiguration}. Dynamic Realms do not care about schemaVersion and schemas, so opening a
@@ -80,6 +86,9 @@ public final class DynamicRealm extends BaseRealm {
         Table table = schema.getTable(className);
         long rowIndex = table.addEmptyRow();
         DynamicRealmObject dynamicRealmObject = get(DynamicRealmObject.class, className, rowIndex);
+        dynamicRealmObject.updateCompoundIndices();
+        dynamicRealmObject.addToOrderedIndices();
+        dynamicRealmObject.updateFullTextIndices();
         return dynamicRealmObject;
     }
 
@@ -96,6 +105,9 @@ public final class DynamicRealm extends BaseRealm {
         Table table = schema.getTable(className);
         long index = table.addEmptyRowWithPrimaryKey(primaryKeyValue);
         DynamicRealmObject dynamicRealmObject = new DynamicRealmObject(this, table.getCheckedRow(index));
+        dynamicRealmObject.updateCompoundIndices();
+        dynamicRealmObject.addToOrderedIndices();
+        dynamicRealmObject.updateFullTextIndices();
         if (handlerController != null) {
             handlerController.addToRealmObjects(dynamicRealmObject);
         }
@@ -128,6 +140,21 @@ public final class DynamicRealm extends BaseRealm {
         schema.getTable(className).clear();
     }
 
+    /**
+     * Prepares the given classes for adding a large number of objects in the current write transaction. The search
+     * indexes are rebuilt and the primary keys are checked for duplicates when the transaction is committed or
+     * {@link #endBulkLoad()} is called.
+     *
+     * @param classNames the classes to bulk load.
+     * @throws IllegalStateException if the Realm is not in a write transaction.
+     * @see Realm#beginBulkLoad(Class[])
+     */
+    public void beginBulkLoad(String... classNames) {
+        for (String className : classNames) {
+            beginBulkLoad(schema.getTable(className));
+        }
+    }
+
     /**
      * Executes a given transaction on the DynamicRealm. {@link #beginTransaction()} and
      * {@link #commitTransaction()} will be called automatically. If any exception is thrown
@@ -242,6 +269,24 @@ public final class DynamicRealm extends BaseRealm {
         return new DynamicRealm(configuration, autoRefresh);
     }
 
+    /**
+     * Returns the objects of a class linking to the given object through one of their fields.
+     *
+     * @param object the object the links point to.
+     * @param className the class of the objects linking to the object.
+     * @param fieldName the field of the class linking to the object.
+     * @return a non-null {@link RealmResults} containing the objects linking to the object.
+     * @throws IllegalArgumentException if the object is not a valid object of this Realm, or the field doesn't exist
+     * or doesn't link to the class of the object.
+     * @see Realm#getBacklinks(RealmObject, Class, String)
+     */
+    public RealmResults<DynamicRealmObject> getBacklinks(DynamicRealmObject object, String className,
+                                                         String fieldName) {
+        checkIfValid();
+        TableView tableView = getBacklinkView(object, schema.getTable(className), fieldName);
+        return RealmResults.createFromDynamicTableOrView(this, tableView, className);
+    }
+
     /**
      * Return a distinct set of objects of a specific class. As a Realm is unordered, it is undefined which objects are
      * returned in case of multiple occurrences.
@@ -250,13 +295,30 @@ public final class DynamicRealm extends BaseRealm {
      * @param fieldName the field name.
      * @return A non-null {@link RealmResults} containing the distinct objects.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public RealmResults<DynamicRealmObject> distinct(String className, String fieldName) {
+        return distinct(className, fieldName, new String[0]);
+    }
+
+    /**
+     * Return a distinct set of objects of a specific class, considering the combination of the values of several
+     * fields. As a Realm is unordered, it is undefined which objects are returned in case of multiple occurrences.
+     *
+     * @param className the Class to get objects of.
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return A non-null {@link RealmResults} containing the distinct objects.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     */
+    public RealmResults<DynamicRealmObject> distinct(String className, String firstFieldName,
+                                                     String... remainingFieldNames) {
         checkIfValid();
         Table table = schema.getTable(className);
-        long columnIndex = RealmQuery.getAndValidateDistinctColumnIndex(fieldName, table);
-        TableView tableView = table.getDistinctView(columnIndex);
+        long[] columnIndices = RealmQuery.getAndValidateDistinctColumnIndices(firstFieldName, remainingFieldNames,
+                table);
+        TableView tableView = table.getDistinctView(columnIndices);
         return RealmResults.createFromDynamicTableOrView(this, tableView, className);
     }
 
@@ -271,13 +333,32 @@ public final class DynamicRealm extends BaseRealm {
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
      * query completes.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public RealmResults<DynamicRealmObject> distinctAsync(String className, String fieldName) {
         checkIfValid();
         return where(className).distinctAsync(fieldName);
     }
 
+    /**
+     * Return a distinct set of objects of a specific class, considering the combination of the values of several
+     * fields. This method is only available from a Looper thread.
+     *
+     * @param className the Class to get objects of.
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return immediately a {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
+     * query completes.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     */
+    public RealmResults<DynamicRealmObject> distinctAsync(String className, String firstFieldName,
+                                                          String... remainingFieldNames) {
+        checkIfValid();
+        return where(className).distinctAsync(firstFieldName, remainingFieldNames);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -286,6 +367,41 @@ public final class DynamicRealm extends BaseRealm {
         return configuration.getRxFactory().from(this);
     }
 
+    /**
+     * Returns a frozen snapshot of the current version of this Realm. The frozen Realm and all objects, results and
+     * lists read from it can be read from any thread at the same time without copying the data, e.g. by a worker pool
+     * or another scheduler, but they never change: they can't be written, refreshed or observed.
+     * <p>
+     * The version is kept in the Realm file as long as the frozen Realm is in use, which makes the file grow while
+     * other versions are committed. It is released when the frozen Realm is closed, or when the frozen Realm and all
+     * objects read from it have been garbage collected.
+     * <p>
+     * Freezing several times at the same version returns the same frozen Realm, which is also the Realm of the objects
+     * frozen by {@link RealmResults#freeze()}, {@link DynamicRealmObject#freeze()} and {@link RealmList#freeze()}.
+     *
+     * @return the frozen Realm, or this Realm if it is already frozen.
+     * @throws IllegalStateException if the Realm is in a write transaction.
+     */
+    public DynamicRealm freeze() {
+        return (DynamicRealm) getFrozenRealm();
+    }
+
+    @Override
+    DynamicRealm createFrozenInstance(SharedGroup.VersionID version) {
+        DynamicRealm realm = new DynamicRealm(configuration, version);
+        ImplicitTransaction transaction = realm.sharedGroupManager.getTransaction();
+        for (int i = 0; i < transaction.size(); i++) {
+            String tableName = transaction.getTableName(i);
+            if (tableName.startsWith(Table.TABLE_PREFIX)) {
+                // Fills the schema caches, so threads reading the frozen Realm only look them up.
+                String className = tableName.substring(Table.TABLE_PREFIX.length());
+                realm.schema.getTable(className);
+                realm.schema.getSchemaForClass(className);
+            }
+        }
+        return realm;
+    }
+
     /**
      * Encapsulates a Realm transaction.
      * <p>
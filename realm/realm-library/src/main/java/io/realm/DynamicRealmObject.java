@@ -15,11 +15,16 @@
  */
 package io.realm;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 import io.realm.internal.CheckedRow;
+import io.realm.internal.CompoundIndex;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.LinkView;
+import io.realm.internal.OrderedIndex;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.UncheckedRow;
@@ -31,6 +36,8 @@ import io.realm.internal.android.JsonUtils;
  */
 public final class DynamicRealmObject extends RealmObject {
     private String className;
+    private List<CompoundIndex> compoundIndices;
+    private long compoundIndicesColumnCount;
 
     /**
      * Creates a dynamic Realm object based on an existing object.
@@ -322,11 +329,15 @@ public final class DynamicRealmObject extends RealmObject {
      * @return list of field names on this objects or the empty list if the object doesn't have any fields.
      */
     public String[] getFieldNames() {
-        String[] keys = new String[(int) row.getColumnCount()];
-        for (int i = 0; i < keys.length; i++) {
-            keys[i] = row.getColumnName(i);
+        int columnCount = (int) row.getColumnCount();
+        List<String> keys = new ArrayList<String>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String columnName = row.getColumnName(i);
+            if (!Table.isHiddenColumn(columnName)) {
+                keys.add(columnName);
+            }
         }
-        return keys;
+        return keys.toArray(new String[keys.size()]);
     }
 
     /**
@@ -413,6 +424,7 @@ public final class DynamicRealmObject extends RealmObject {
     public void setBoolean(String fieldName, boolean value) {
         long columnIndex = row.getColumnIndex(fieldName);
         row.setBoolean(columnIndex, value);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -424,7 +436,10 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setShort(String fieldName, short value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        OrderedIndex orderedIndex = removeFromOrderedIndex(columnIndex);
         row.setLong(columnIndex, value);
+        addToOrderedIndex(orderedIndex);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -436,7 +451,10 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setInt(String fieldName, int value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        OrderedIndex orderedIndex = removeFromOrderedIndex(columnIndex);
         row.setLong(columnIndex, value);
+        addToOrderedIndex(orderedIndex);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -448,7 +466,10 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setLong(String fieldName, long value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        OrderedIndex orderedIndex = removeFromOrderedIndex(columnIndex);
         row.setLong(columnIndex, value);
+        addToOrderedIndex(orderedIndex);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -460,7 +481,10 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setByte(String fieldName, byte value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        OrderedIndex orderedIndex = removeFromOrderedIndex(columnIndex);
         row.setLong(columnIndex, value);
+        addToOrderedIndex(orderedIndex);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -497,6 +521,8 @@ public final class DynamicRealmObject extends RealmObject {
     public void setString(String fieldName, String value) {
         long columnIndex = row.getColumnIndex(fieldName);
         row.setString(columnIndex, value);
+        updateFullTextIndex(columnIndex);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -520,11 +546,14 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setDate(String fieldName, Date value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        OrderedIndex orderedIndex = removeFromOrderedIndex(columnIndex);
         if (value == null) {
             row.setNull(columnIndex);
         } else {
             row.setDate(columnIndex, value);
         }
+        addToOrderedIndex(orderedIndex);
+        updateCompoundIndices(columnIndex);
     }
 
     /**
@@ -612,8 +641,73 @@ public final class DynamicRealmObject extends RealmObject {
         if (type == RealmFieldType.OBJECT) {
             row.nullifyLink(columnIndex);
         } else {
+            OrderedIndex orderedIndex = removeFromOrderedIndex(columnIndex);
             row.setNull(columnIndex);
+            addToOrderedIndex(orderedIndex);
+            updateFullTextIndex(columnIndex);
+        }
+        updateCompoundIndices(columnIndex);
+    }
+
+    // Keeps the keys of compound indexes depending on the column up to date.
+    void updateCompoundIndices(long columnIndex) {
+        for (CompoundIndex compoundIndex : getCompoundIndices()) {
+            if (compoundIndex.contains(columnIndex)) {
+                compoundIndex.update(row);
+            }
+        }
+    }
+
+    void updateCompoundIndices() {
+        for (CompoundIndex compoundIndex : getCompoundIndices()) {
+            compoundIndex.update(row);
+        }
+    }
+
+    // Ordered indexes look up a row by its current value, so the row is removed before the value changes and added
+    // again afterwards.
+    private OrderedIndex removeFromOrderedIndex(long columnIndex) {
+        OrderedIndex orderedIndex = OrderedIndex.find(row.getTable(), columnIndex);
+        if (orderedIndex != null) {
+            orderedIndex.remove(row);
+        }
+        return orderedIndex;
+    }
+
+    private void addToOrderedIndex(OrderedIndex orderedIndex) {
+        if (orderedIndex != null) {
+            orderedIndex.add(row);
+        }
+    }
+
+    void addToOrderedIndices() {
+        for (OrderedIndex orderedIndex : OrderedIndex.fromTable(row.getTable())) {
+            orderedIndex.add(row);
+        }
+    }
+
+    private void updateFullTextIndex(long columnIndex) {
+        FullTextIndex fullTextIndex = FullTextIndex.find(row.getTable(), columnIndex);
+        if (fullTextIndex != null) {
+            fullTextIndex.update(row);
+        }
+    }
+
+    void updateFullTextIndices() {
+        for (FullTextIndex fullTextIndex : FullTextIndex.fromTable(row.getTable())) {
+            fullTextIndex.update(row);
+        }
+    }
+
+    // Compound indexes are only looked up again if columns have been added or removed, e.g. by a migration.
+    // Renaming a field doesn't change the column indices used by the cached indexes.
+    private List<CompoundIndex> getCompoundIndices() {
+        long columnCount = row.getColumnCount();
+        if (compoundIndices == null || compoundIndicesColumnCount != columnCount) {
+            compoundIndices = CompoundIndex.fromTable(row.getTable());
+            compoundIndicesColumnCount = columnCount;
         }
+        return compoundIndices;
     }
 
     /**
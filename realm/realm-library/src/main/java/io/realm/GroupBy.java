@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
+
+/**
+ * The key fields and aggregates of a group-by, resolved against the table of a class. The grouping itself is done
+ * natively, which returns the groups as an array of primitive arrays wrapped by {@link GroupedResults}.
+ */
+final class GroupBy {
+
+    private static final String TYPE_MISMATCH = "Field '%s': %s is not supported for %s fields.";
+
+    final String[] keyFieldNames;
+    final RealmFieldType[] keyTypes;
+    final Aggregate[] aggregates;
+    final RealmFieldType[] aggregateTypes; // null for counts of objects.
+
+    private final long[] keyColumnIndices;
+    private final byte[] aggregateKinds;
+    private final long[] aggregateColumnIndices;
+
+    /**
+     * @throws IllegalArgumentException if a field doesn't exist, is a linked field or has a type not supported by the
+     * group-by or the aggregate.
+     */
+    GroupBy(Table table, String[] keyFieldNames, Aggregate[] aggregates) {
+        if (keyFieldNames == null || keyFieldNames.length == 0) {
+            throw new IllegalArgumentException("You must provide at least one field name.");
+        }
+        if (aggregates == null) {
+            throw new IllegalArgumentException("Non-null aggregates must be provided.");
+        }
+        this.keyFieldNames = keyFieldNames.clone();
+        this.keyTypes = new RealmFieldType[keyFieldNames.length];
+        this.keyColumnIndices = new long[keyFieldNames.length];
+        for (int i = 0; i < keyFieldNames.length; i++) {
+            keyColumnIndices[i] = getColumnIndex(keyFieldNames[i], table);
+            keyTypes[i] = table.getColumnType(keyColumnIndices[i]);
+            switch (keyTypes[i]) {
+                case BOOLEAN:
+                case INTEGER:
+                case DATE:
+                case FLOAT:
+                case DOUBLE:
+                case STRING:
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format(TYPE_MISMATCH, keyFieldNames[i], "group-by",
+                            keyTypes[i]));
+            }
+        }
+
+        this.aggregates = aggregates.clone();
+        this.aggregateTypes = new RealmFieldType[aggregates.length];
+        this.aggregateKinds = new byte[aggregates.length];
+        this.aggregateColumnIndices = new long[aggregates.length];
+        for (int i = 0; i < aggregates.length; i++) {
+            Aggregate aggregate = aggregates[i];
+            if (aggregate == null) {
+                throw new IllegalArgumentException("Non-null aggregates must be provided.");
+            }
+            aggregateKinds[i] = aggregate.kind;
+            if (aggregate.fieldName == null) {
+                aggregateColumnIndices[i] = -1;
+                continue;
+            }
+            long columnIndex = getColumnIndex(aggregate.fieldName, table);
+            RealmFieldType type = table.getColumnType(columnIndex);
+            if (!isSupported(aggregate.kind, type)) {
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, aggregate.fieldName, aggregate,
+                        type));
+            }
+            aggregateColumnIndices[i] = columnIndex;
+            aggregateTypes[i] = type;
+        }
+    }
+
+    private static long getColumnIndex(String fieldName, Table table) {
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name must be provided.");
+        }
+        if (fieldName.contains(".")) {
+            throw new IllegalArgumentException("Group-by on linked properties is not supported: " + fieldName);
+        }
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex == -1) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
+    private static boolean isSupported(byte kind, RealmFieldType type) {
+        switch (type) {
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            case DATE:
+                return kind != Aggregate.KIND_SUM && kind != Aggregate.KIND_AVERAGE;
+            case BOOLEAN:
+            case STRING:
+                return kind == Aggregate.KIND_COUNT;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Groups the rows of a table or view.
+     */
+    GroupedResults find(TableOrView rows) {
+        Object[] groups;
+        if (rows instanceof TableView) {
+            groups = ((TableView) rows).groupBy(keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+        } else {
+            groups = rows.where().groupBy(keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+        }
+        return new GroupedResults(this, groups);
+    }
+
+    /**
+     * Groups the rows found by a query.
+     */
+    GroupedResults find(TableQuery query) {
+        return new GroupedResults(this, query.groupBy(keyColumnIndices, aggregateKinds, aggregateColumnIndices));
+    }
+
+    /**
+     * Groups the rows found by a query handed over to a worker thread, see
+     * {@link TableQuery#findAllWithHandover(long, long, long)}.
+     */
+    GroupedResults findWithHandover(TableQuery query, long bgSharedGroupPtr, long nativeReplicationPtr,
+                                    long handoverQueryPtr) {
+        return new GroupedResults(this, query.groupByWithHandover(bgSharedGroupPtr, nativeReplicationPtr,
+                handoverQueryPtr, keyColumnIndices, aggregateKinds, aggregateColumnIndices));
+    }
+
+    /**
+     * Returns results without any groups, used while the rows are not available yet.
+     */
+    GroupedResults empty() {
+        Object[] groups = new Object[1 + 2 * keyTypes.length + 2 * aggregates.length];
+        int index = 0;
+        groups[index++] = new long[0];
+        for (RealmFieldType type : keyTypes) {
+            switch (type) {
+                case BOOLEAN:
+                    groups[index] = new boolean[0];
+                    break;
+                case FLOAT:
+                    groups[index] = new float[0];
+                    break;
+                case DOUBLE:
+                    groups[index] = new double[0];
+                    break;
+                case STRING:
+                    groups[index] = new String[0];
+                    break;
+                default:
+                    groups[index] = new long[0];
+                    break;
+            }
+            groups[index + 1] = new boolean[0];
+            index += 2;
+        }
+        for (int i = 0; i < aggregates.length; i++) {
+            groups[index] = hasLongValues(i) ? new long[0] : new double[0];
+            groups[index + 1] = new boolean[0];
+            index += 2;
+        }
+        return new GroupedResults(this, groups);
+    }
+
+    // Counts, and sums, minimums and maximums of integer and date fields are returned as longs, all other aggregates
+    // as doubles.
+    boolean hasLongValues(int aggregateIndex) {
+        byte kind = aggregates[aggregateIndex].kind;
+        RealmFieldType type = aggregateTypes[aggregateIndex];
+        return kind == Aggregate.KIND_COUNT
+                || (kind != Aggregate.KIND_AVERAGE && (type == RealmFieldType.INTEGER || type == RealmFieldType.DATE));
+    }
+}
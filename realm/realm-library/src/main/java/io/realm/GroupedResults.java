@@ -0,0 +1,302 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * The groups of a group-by, see {@link RealmQuery#groupBy(String[], Aggregate...)}.
+ * <p>
+ * The keys and aggregates are kept in primitive arrays having one element per group, which can be read directly with
+ * the array getters. The arrays are shared, so they must not be modified. The groups are sorted by their keys, in the
+ * order of the key fields, with {@code null} keys first.
+ * <p>
+ * Grouped results are a snapshot: they don't belong to a Realm and can be used on any thread.
+ */
+public final class GroupedResults {
+
+    private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+
+    private final String[] keyFieldNames;
+    private final RealmFieldType[] keyTypes;
+    private final Aggregate[] aggregates;
+    private final RealmFieldType[] aggregateTypes;
+    private final boolean[] longValues;
+
+    // The arrays returned by the native group-by, see groupby.hpp.
+    private final Object[] groups;
+
+    GroupedResults(GroupBy groupBy, Object[] groups) {
+        this.keyFieldNames = groupBy.keyFieldNames;
+        this.keyTypes = groupBy.keyTypes;
+        this.aggregates = groupBy.aggregates;
+        this.aggregateTypes = groupBy.aggregateTypes;
+        this.longValues = new boolean[aggregates.length];
+        for (int i = 0; i < aggregates.length; i++) {
+            longValues[i] = groupBy.hasLongValues(i);
+        }
+        this.groups = groups;
+    }
+
+    /**
+     * Returns the number of groups.
+     */
+    public int size() {
+        return getCounts().length;
+    }
+
+    /**
+     * Returns the number of objects of every group.
+     */
+    public long[] getCounts() {
+        return (long[]) groups[0];
+    }
+
+    /**
+     * Returns the number of objects of a group.
+     *
+     * @param group the index of the group.
+     */
+    public long getCount(int group) {
+        return getCounts()[group];
+    }
+
+    // Keys
+
+    /**
+     * Returns the keys of an {@code int}, {@code long}, {@code short} or {@code byte} field, or of a {@link Date}
+     * field in milliseconds. The elements of {@code null} keys are {@code 0}.
+     *
+     * @param fieldName a key field.
+     * @throws IllegalArgumentException if the field isn't a key field or has another type.
+     */
+    public long[] getLongKeys(String fieldName) {
+        return (long[]) getKeys(fieldName, long[].class, "long");
+    }
+
+    /**
+     * Returns the keys of a {@code boolean} field. The elements of {@code null} keys are {@code false}.
+     *
+     * @param fieldName a key field.
+     * @throws IllegalArgumentException if the field isn't a key field or has another type.
+     */
+    public boolean[] getBooleanKeys(String fieldName) {
+        return (boolean[]) getKeys(fieldName, boolean[].class, "boolean");
+    }
+
+    /**
+     * Returns the keys of a {@code float} field. The elements of {@code null} keys are {@code 0}.
+     *
+     * @param fieldName a key field.
+     * @throws IllegalArgumentException if the field isn't a key field or has another type.
+     */
+    public float[] getFloatKeys(String fieldName) {
+        return (float[]) getKeys(fieldName, float[].class, "float");
+    }
+
+    /**
+     * Returns the keys of a {@code double} field. The elements of {@code null} keys are {@code 0}.
+     *
+     * @param fieldName a key field.
+     * @throws IllegalArgumentException if the field isn't a key field or has another type.
+     */
+    public double[] getDoubleKeys(String fieldName) {
+        return (double[]) getKeys(fieldName, double[].class, "double");
+    }
+
+    /**
+     * Returns the keys of a {@link String} field, including the {@code null} keys.
+     *
+     * @param fieldName a key field.
+     * @throws IllegalArgumentException if the field isn't a key field or has another type.
+     */
+    public String[] getStringKeys(String fieldName) {
+        return (String[]) getKeys(fieldName, String[].class, "String");
+    }
+
+    /**
+     * Returns which keys of a field are {@code null}.
+     *
+     * @param fieldName a key field.
+     * @throws IllegalArgumentException if the field isn't a key field.
+     */
+    public boolean[] getNullKeys(String fieldName) {
+        return (boolean[]) groups[2 + 2 * getKeyIndex(fieldName)];
+    }
+
+    /**
+     * Returns the key of a group, boxed. Keys of {@code int}, {@code long}, {@code short} and {@code byte} fields are
+     * returned as {@link Long}.
+     *
+     * @param group the index of the group.
+     * @param fieldName a key field.
+     * @return the key, or {@code null} if the key is {@code null}.
+     * @throws IllegalArgumentException if the field isn't a key field.
+     */
+    public Object getKey(int group, String fieldName) {
+        int key = getKeyIndex(fieldName);
+        if (((boolean[]) groups[2 + 2 * key])[group]) {
+            return null;
+        }
+        Object keys = groups[1 + 2 * key];
+        switch (keyTypes[key]) {
+            case BOOLEAN:
+                return ((boolean[]) keys)[group];
+            case DATE:
+                return new Date(((long[]) keys)[group]);
+            case FLOAT:
+                return ((float[]) keys)[group];
+            case DOUBLE:
+                return ((double[]) keys)[group];
+            case STRING:
+                return ((String[]) keys)[group];
+            default:
+                return ((long[]) keys)[group];
+        }
+    }
+
+    private Object getKeys(String fieldName, Class<?> arrayClass, String expected) {
+        Object keys = groups[1 + 2 * getKeyIndex(fieldName)];
+        if (keys.getClass() != arrayClass) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, expected));
+        }
+        return keys;
+    }
+
+    private int getKeyIndex(String fieldName) {
+        for (int i = 0; i < keyFieldNames.length; i++) {
+            if (keyFieldNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Field '%s' is not a key field.", fieldName));
+    }
+
+    // Aggregates
+
+    /**
+     * Returns the values of a count, or of a sum, minimum or maximum of an integer field or a {@link Date} field in
+     * milliseconds. The elements of {@code null} values are {@code 0}.
+     *
+     * @param aggregateIndex the index of the aggregate, in the order they were given to the group-by.
+     * @throws IllegalArgumentException if the aggregate has {@code double} values.
+     */
+    public long[] getLongValues(int aggregateIndex) {
+        checkAggregateIndex(aggregateIndex);
+        if (!longValues[aggregateIndex]) {
+            throw new IllegalArgumentException(String.format("Aggregate '%s' has double values.",
+                    aggregates[aggregateIndex]));
+        }
+        return (long[]) groups[getAggregateOffset(aggregateIndex)];
+    }
+
+    /**
+     * Returns the values of an average, or of a sum, minimum or maximum of a {@code float} or {@code double} field.
+     * The elements of {@code null} values are {@code 0}.
+     *
+     * @param aggregateIndex the index of the aggregate, in the order they were given to the group-by.
+     * @throws IllegalArgumentException if the aggregate has {@code long} values.
+     */
+    public double[] getDoubleValues(int aggregateIndex) {
+        checkAggregateIndex(aggregateIndex);
+        if (longValues[aggregateIndex]) {
+            throw new IllegalArgumentException(String.format("Aggregate '%s' has long values.",
+                    aggregates[aggregateIndex]));
+        }
+        return (double[]) groups[getAggregateOffset(aggregateIndex)];
+    }
+
+    /**
+     * Returns which values of an aggregate are {@code null}, because the group has no value to average or to find
+     * the minimum or maximum of. Counts and sums are never {@code null}.
+     *
+     * @param aggregateIndex the index of the aggregate, in the order they were given to the group-by.
+     */
+    public boolean[] getNullValues(int aggregateIndex) {
+        checkAggregateIndex(aggregateIndex);
+        return (boolean[]) groups[getAggregateOffset(aggregateIndex) + 1];
+    }
+
+    /**
+     * Returns the value of an aggregate for a group, boxed as a {@link Long}, a {@link Double} or a {@link Date} for
+     * the minimum or maximum of a date field.
+     *
+     * @param group the index of the group.
+     * @param aggregateIndex the index of the aggregate, in the order they were given to the group-by.
+     * @return the value, or {@code null} if the value is {@code null}.
+     */
+    public Object getValue(int group, int aggregateIndex) {
+        if (getNullValues(aggregateIndex)[group]) {
+            return null;
+        }
+        Object values = groups[getAggregateOffset(aggregateIndex)];
+        if (!longValues[aggregateIndex]) {
+            return ((double[]) values)[group];
+        }
+        long value = ((long[]) values)[group];
+        Aggregate aggregate = aggregates[aggregateIndex];
+        if (aggregate.kind != Aggregate.KIND_COUNT && aggregateTypes[aggregateIndex] == RealmFieldType.DATE) {
+            return new Date(value);
+        }
+        return value;
+    }
+
+    private void checkAggregateIndex(int aggregateIndex) {
+        if (aggregateIndex < 0 || aggregateIndex >= aggregates.length) {
+            throw new IllegalArgumentException("Invalid aggregate index: " + aggregateIndex);
+        }
+    }
+
+    private int getAggregateOffset(int aggregateIndex) {
+        return 1 + 2 * keyFieldNames.length + 2 * aggregateIndex;
+    }
+
+    /**
+     * Two grouped results are equal if they have the same key fields, aggregates and groups.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GroupedResults)) {
+            return false;
+        }
+        GroupedResults other = (GroupedResults) o;
+        if (!Arrays.equals(keyFieldNames, other.keyFieldNames) || aggregates.length != other.aggregates.length) {
+            return false;
+        }
+        for (int i = 0; i < aggregates.length; i++) {
+            if (!aggregates[i].toString().equals(other.aggregates[i].toString())) {
+                return false;
+            }
+        }
+        return Arrays.deepEquals(groups, other.groups);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(groups);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupedResults{keys=" + Arrays.toString(keyFieldNames) + ", aggregates=" + Arrays.toString(aggregates)
+                + ", size=" + size() + "}";
+    }
+}
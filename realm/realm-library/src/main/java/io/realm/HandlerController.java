@@ -34,6 +34,7 @@ import java.util.concurrent.Future;
 import io.realm.internal.IdentitySet;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.TableQuery;
 import io.realm.internal.async.QueryUpdateTask;
 import io.realm.internal.log.RealmLog;
 
@@ -359,6 +360,7 @@ public class HandlerController implements Handler.Callback {
             RealmResults<? extends RealmObject> realmResults = weakRealmResults.get();
             if (realmResults == null) {
                 asyncRealmResults.remove(weakRealmResults);
+                TableQuery.nativeCloseTableViewHandover(result.updatedTableViews.get(weakRealmResults));
                 RealmLog.d("[COMPLETED_ASYNC_REALM_RESULTS "+ weakRealmResults + "] realm:"+ HandlerController.this + " RealmResults GC'd ignore results");
 
             } else {
@@ -375,9 +377,13 @@ public class HandlerController implements Handler.Callback {
                         realmResults.notifyChangeListeners();
                     } else {
                         RealmLog.d("[COMPLETED_ASYNC_REALM_RESULTS "+ weakRealmResults + "] , realm:"+ HandlerController.this + " ignoring result the RealmResults (is already loaded)");
+                        TableQuery.nativeCloseTableViewHandover(result.updatedTableViews.get(weakRealmResults));
                     }
 
                 } else if (compare > 0) {
+                    // the provided TableView is outdated in both cases below
+                    TableQuery.nativeCloseTableViewHandover(result.updatedTableViews.get(weakRealmResults));
+
                     // we have two use cases:
                     // 1- this RealmResults is not empty, this means that after we started the async
                     //    query, we received a REALM_CHANGE that triggered an update of all async queries
@@ -413,6 +419,7 @@ public class HandlerController implements Handler.Callback {
                     // & batch update all async queries including this one
                     // UC covered by this test: RealmAsyncQueryTests#testFindAllCallerThreadBehind
                     RealmLog.d("[COMPLETED_ASYNC_REALM_RESULTS "+ weakRealmResults + "] , realm:"+ HandlerController.this + " caller thread behind worker thread, ignore results (a batch update will update everything including this query)");
+                    TableQuery.nativeCloseTableViewHandover(result.updatedTableViews.get(weakRealmResults));
                 }
             }
         }
@@ -423,6 +430,9 @@ public class HandlerController implements Handler.Callback {
         int compare = callerVersionID.compareTo(result.versionID);
         if (compare > 0) {
             RealmLog.d("COMPLETED_UPDATE_ASYNC_QUERIES realm:" + HandlerController.this + " caller is more advanced, rerun updates");
+            for (Long handoverTableViewPointer : result.updatedTableViews.values()) {
+                TableQuery.nativeCloseTableViewHandover(handoverTableViewPointer);
+            }
             // The caller is more advance than the updated queries ==>
             // need to refresh them again (if there is still async queries)
             realm.handler.sendEmptyMessage(REALM_CHANGED);
@@ -451,6 +461,7 @@ public class HandlerController implements Handler.Callback {
                 if (realmResults == null) {
                     // don't update GC'd instance
                     asyncRealmResults.remove(weakRealmResults);
+                    TableQuery.nativeCloseTableViewHandover(query.getValue());
 
                 } else {
                     // it's dangerous to notify the callback about new results before updating
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * This class describes how dates are written when Realm objects are exported to JSON. Both formats can be read back
+ * with {@link Realm#createObjectFromJson(Class, String)} and the other JSON import methods.
+ *
+ * @see io.realm.RealmResults#writeJson(java.io.Writer, int, JsonDateFormat)
+ * @see io.realm.RealmObject#writeJson(java.io.Writer, int, JsonDateFormat)
+ */
+public enum JsonDateFormat {
+    /**
+     * Dates are written as ISO 8601 strings in UTC, e.g. {@code "2016-03-01T12:30:00.000Z"}.
+     */
+    ISO_8601,
+
+    /**
+     * Dates are written as the number of milliseconds since January 1, 1970 00:00:00 UTC.
+     */
+    EPOCH_MILLISECONDS
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Base64;
+import android.util.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import io.realm.internal.LinkView;
+import io.realm.internal.Row;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableView;
+
+/**
+ * Writes Realm objects as JSON to a stream, one row at a time, so the memory used doesn't depend on the number of
+ * objects written. Properties are named like the fields of the model classes.
+ * <p>
+ * Links are followed up to a given depth. A link which isn't followed, because the depth is reached or the linked
+ * object is already being written further up (a cycle), is written as an object containing only the primary key if
+ * the linked class has one, which {@link Realm#createOrUpdateObjectFromJson(Class, String)} can read back. Otherwise
+ * it is left out.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+final class JsonExporter {
+
+    private final JsonWriter writer;
+    private final int maxDepth;
+    private final JsonDateFormat dateFormat;
+    private DateFormat iso8601;
+
+    // The objects being written, from the top-level object down to the current one. Used to detect cycles.
+    private final List<String> pathTables = new ArrayList<String>();
+    private final List<Long> pathRows = new ArrayList<Long>();
+
+    private JsonExporter(Writer writer, int maxDepth, JsonDateFormat dateFormat) {
+        if (writer == null) {
+            throw new IllegalArgumentException("Non-null 'writer' required.");
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The depth can't be negative: " + maxDepth);
+        }
+        if (dateFormat == null) {
+            throw new IllegalArgumentException("Non-null 'dateFormat' required.");
+        }
+        this.writer = new JsonWriter(writer);
+        this.maxDepth = maxDepth;
+        this.dateFormat = dateFormat;
+    }
+
+    /**
+     * Writes the rows of a table or view as a JSON array.
+     */
+    static void writeRows(TableOrView rows, Writer writer, int depth, JsonDateFormat dateFormat) throws IOException {
+        JsonExporter exporter = new JsonExporter(writer, depth, dateFormat);
+        exporter.writer.beginArray();
+        if (rows != null) {
+            Table table = rows.getTable();
+            long size = rows.size();
+            for (long i = 0; i < size; i++) {
+                long rowIndex = (rows instanceof TableView) ? ((TableView) rows).getSourceRowIndex(i) : i;
+                exporter.writeObject(table.getUncheckedRow(rowIndex), 0);
+            }
+        }
+        exporter.writer.endArray();
+        exporter.writer.flush();
+    }
+
+    /**
+     * Writes a single row as a JSON object.
+     */
+    static void writeRow(Row row, Writer writer, int depth, JsonDateFormat dateFormat) throws IOException {
+        JsonExporter exporter = new JsonExporter(writer, depth, dateFormat);
+        exporter.writeObject(row, 0);
+        exporter.writer.flush();
+    }
+
+    /**
+     * Wraps an {@link OutputStream} into a buffered UTF-8 writer. It must be flushed, but not closed, since the stream
+     * belongs to the caller.
+     */
+    static Writer toWriter(OutputStream outputStream) throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("Non-null 'outputStream' required.");
+        }
+        return new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8"));
+    }
+
+    private void writeObject(Row row, int depth) throws IOException {
+        Table table = row.getTable();
+        pathTables.add(table.getName());
+        pathRows.add(row.getIndex());
+
+        writer.beginObject();
+        long columnCount = table.getColumnCount();
+        for (long columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            String name = table.getColumnName(columnIndex);
+            if (Table.isHiddenColumn(name)) {
+                continue; // Compound and full-text index columns are maintained by Realm, not part of the model.
+            }
+            RealmFieldType type = table.getColumnType(columnIndex);
+            if (type == RealmFieldType.OBJECT) {
+                if (row.isNullLink(columnIndex)) {
+                    writer.name(name).nullValue();
+                    continue;
+                }
+                Row target = table.getLinkTarget(columnIndex).getUncheckedRow(row.getLink(columnIndex));
+                if (canFollow(target, depth)) {
+                    writer.name(name);
+                    writeObject(target, depth + 1);
+                } else if (target.getTable().hasPrimaryKey()) {
+                    writer.name(name);
+                    writePrimaryKeyObject(target);
+                }
+                continue;
+            }
+            if (type == RealmFieldType.LIST) {
+                LinkView links = row.getLinkList(columnIndex);
+                boolean hasPrimaryKey = table.getLinkTarget(columnIndex).hasPrimaryKey();
+                writer.name(name).beginArray();
+                long size = links.size();
+                for (long i = 0; i < size; i++) {
+                    Row target = links.getUncheckedRow(i);
+                    if (canFollow(target, depth)) {
+                        writeObject(target, depth + 1);
+                    } else if (hasPrimaryKey) {
+                        writePrimaryKeyObject(target);
+                    }
+                }
+                writer.endArray();
+                continue;
+            }
+            if (table.isColumnNullable(columnIndex) && row.isNull(columnIndex)) {
+                writer.name(name).nullValue();
+                continue;
+            }
+            switch (type) {
+                case INTEGER:
+                    writer.name(name).value(row.getLong(columnIndex));
+                    break;
+                case BOOLEAN:
+                    writer.name(name).value(row.getBoolean(columnIndex));
+                    break;
+                case FLOAT:
+                    // As a Number, so the float isn't widened to a double with more digits.
+                    writer.name(name).value((Number) row.getFloat(columnIndex));
+                    break;
+                case DOUBLE:
+                    writer.name(name).value(row.getDouble(columnIndex));
+                    break;
+                case STRING:
+                    writer.name(name).value(row.getString(columnIndex));
+                    break;
+                case BINARY:
+                    byte[] bytes = row.getBinaryByteArray(columnIndex);
+                    writer.name(name);
+                    if (bytes == null) {
+                        writer.nullValue();
+                    } else {
+                        writer.value(Base64.encodeToString(bytes, Base64.NO_WRAP));
+                    }
+                    break;
+                case DATE:
+                    writeDate(name, row.getDate(columnIndex));
+                    break;
+                default:
+                    // Mixed and sub-table columns are not used by model classes.
+                    break;
+            }
+        }
+        writer.endObject();
+
+        pathTables.remove(pathTables.size() - 1);
+        pathRows.remove(pathRows.size() - 1);
+    }
+
+    private void writePrimaryKeyObject(Row row) throws IOException {
+        Table table = row.getTable();
+        long primaryKey = table.getPrimaryKey();
+        writer.beginObject().name(table.getColumnName(primaryKey));
+        if (table.getColumnType(primaryKey) == RealmFieldType.STRING) {
+            writer.value(row.getString(primaryKey));
+        } else {
+            writer.value(row.getLong(primaryKey));
+        }
+        writer.endObject();
+    }
+
+    private void writeDate(String name, Date date) throws IOException {
+        writer.name(name);
+        if (date == null) {
+            writer.nullValue();
+        } else if (dateFormat == JsonDateFormat.EPOCH_MILLISECONDS) {
+            writer.value(date.getTime());
+        } else {
+            if (iso8601 == null) {
+                iso8601 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+                iso8601.setTimeZone(TimeZone.getTimeZone("UTC"));
+            }
+            writer.value(iso8601.format(date));
+        }
+    }
+
+    // Links are followed until the maximum depth is reached, unless the linked object is already being written.
+    private boolean canFollow(Row target, int depth) {
+        if (depth >= maxDepth) {
+            return false;
+        }
+        String tableName = target.getTable().getName();
+        long rowIndex = target.getIndex();
+        for (int i = 0; i < pathRows.size(); i++) {
+            if (pathRows.get(i) == rowIndex && pathTables.get(i).equals(tableName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.realm.internal.MaterializedAggregate;
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+
+/**
+ * An aggregate of the objects matching a query which is kept up to date, see
+ * {@link RealmQuery#liveAggregate(Aggregate)}.
+ * <p>
+ * Rather than running the query again after every change, the live aggregate remembers what every object adds to the
+ * value and only evaluates the objects inserted, deleted or modified by each commit. The query is only run again on
+ * all objects if a large part of them changed, or if an object of another class changed and the class of the query
+ * has links, since the query could depend on the linked objects.
+ * <p>
+ * The value reflects the last commit seen by the Realm: changes of an ongoing write transaction are not included
+ * until they are committed. A live aggregate holds native resources and must be closed with {@link #close()} when it
+ * is no longer needed.
+ */
+public final class LiveAggregate implements Closeable {
+
+    private static final String TYPE_MISMATCH = "Field '%s': %s is not supported for %s fields.";
+
+    private final BaseRealm realm;
+    private final Aggregate aggregate;
+    private final boolean longValue;
+    private final MaterializedAggregate materialized;
+    private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private Number notifiedValue;
+
+    private final RealmChangeListener realmListener = new RealmChangeListener() {
+        @Override
+        public void onChange() {
+            if (listeners.isEmpty() || materialized.isClosed() || realm.isClosed()) {
+                return;
+            }
+            Number value = compute();
+            if (value == null ? notifiedValue == null : value.equals(notifiedValue)) {
+                return;
+            }
+            notifiedValue = value;
+            for (RealmChangeListener listener : listeners) {
+                listener.onChange();
+            }
+        }
+    };
+
+    /**
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or has a type not supported by
+     * the aggregate.
+     */
+    LiveAggregate(BaseRealm realm, Table table, TableQuery query, Aggregate aggregate) {
+        if (aggregate == null) {
+            throw new IllegalArgumentException("Non-null aggregate must be provided.");
+        }
+        long columnIndex = -1;
+        RealmFieldType type = null;
+        if (aggregate.fieldName != null) {
+            if (aggregate.fieldName.contains(".")) {
+                throw new IllegalArgumentException("Live aggregates of linked properties are not supported: "
+                        + aggregate.fieldName);
+            }
+            columnIndex = table.getColumnIndex(aggregate.fieldName);
+            if (columnIndex == -1) {
+                throw new IllegalArgumentException(String.format("Field name '%s' does not exist.",
+                        aggregate.fieldName));
+            }
+            type = table.getColumnType(columnIndex);
+            if (!isSupported(aggregate.kind, type)) {
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, aggregate.fieldName, aggregate,
+                        type));
+            }
+        }
+        this.realm = realm;
+        this.aggregate = aggregate;
+        this.longValue = aggregate.kind == Aggregate.KIND_COUNT
+                || (aggregate.kind != Aggregate.KIND_AVERAGE && type == RealmFieldType.INTEGER);
+
+        long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        RealmConfiguration configuration = realm.getConfiguration();
+        this.materialized = new MaterializedAggregate(configuration.getPath(), configuration.getDurability(),
+                configuration.getEncryptionKey(), handoverQueryPointer, aggregate.kind, columnIndex);
+    }
+
+    private static boolean isSupported(byte kind, RealmFieldType type) {
+        switch (type) {
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            case BOOLEAN:
+            case DATE:
+            case STRING:
+                return kind == Aggregate.KIND_COUNT;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the current value: a {@link Long} for counts and for sums, minimums and maximums of integer fields, and
+     * a {@link Double} for averages and for {@code float} and {@code double} fields.
+     *
+     * @return the value, or {@code null} for an average, minimum or maximum without any value.
+     * @throws IllegalStateException if the Realm or the aggregate is closed, or the Realm is accessed from another
+     * thread.
+     */
+    public Number get() {
+        realm.checkIfValid();
+        checkNotClosed();
+        return compute();
+    }
+
+    private Number compute() {
+        materialized.advance(realm.sharedGroupManager.getVersion());
+        if (materialized.isNull()) {
+            return null;
+        }
+        return longValue ? (Number) materialized.getLong() : (Number) materialized.getDouble();
+    }
+
+    /**
+     * Adds a listener notified when the value changes. Commits which don't change the value don't notify the
+     * listeners.
+     *
+     * @param listener the change listener to be notified.
+     * @throws IllegalArgumentException if the listener is {@code null}.
+     * @throws IllegalStateException if the aggregate is closed, or the Realm is frozen or opened from a thread without
+     * a {@link android.os.Looper}.
+     */
+    public void addChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        checkNotClosed();
+        if (realm.isFrozen()) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
+        if (realm.handler == null) {
+            throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
+        }
+        if (listeners.contains(listener)) {
+            return;
+        }
+        if (listeners.isEmpty()) {
+            notifiedValue = compute();
+            realm.handlerController.addChangeListenerAsWeakReference(realmListener);
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        listeners.remove(listener);
+    }
+
+    /**
+     * Removes all registered listeners.
+     */
+    public void removeChangeListeners() {
+        realm.checkIfValid();
+        listeners.clear();
+    }
+
+    /**
+     * Releases the native resources of the aggregate and removes all listeners. The aggregate can't be used
+     * afterwards. Closing an aggregate more than once has no effect.
+     */
+    @Override
+    public void close() {
+        listeners.clear();
+        materialized.close();
+    }
+
+    /**
+     * Checks if the aggregate is closed.
+     */
+    public boolean isClosed() {
+        return materialized.isClosed();
+    }
+
+    // The number of times the query was run on all objects, used to test that changes are followed incrementally.
+    long getFullRecomputeCount() {
+        return materialized.getFullRecomputeCount();
+    }
+
+    private void checkNotClosed() {
+        if (materialized.isClosed()) {
+            throw new IllegalStateException("This live aggregate has been closed.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LiveAggregate{" + aggregate + "}";
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A group-by of {@link RealmResults} which is kept up to date, see
+ * {@link RealmResults#groupByLive(String[], Aggregate...)}.
+ * <p>
+ * While listeners are registered, the groups are computed again whenever the results change, and the listeners are
+ * only notified if the groups are different. Without listeners, the groups are computed on every call to
+ * {@link #get()}.
+ */
+public final class LiveGroupedResults {
+
+    private final RealmResults<? extends RealmObject> results;
+    private final GroupBy groupBy;
+    private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private GroupedResults groups;
+
+    private final RealmChangeListener resultsListener = new RealmChangeListener() {
+        @Override
+        public void onChange() {
+            GroupedResults updated = compute();
+            if (updated.equals(groups)) {
+                return;
+            }
+            groups = updated;
+            for (RealmChangeListener listener : listeners) {
+                listener.onChange();
+            }
+        }
+    };
+
+    LiveGroupedResults(RealmResults<? extends RealmObject> results, GroupBy groupBy) {
+        this.results = results;
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Returns the current groups.
+     *
+     * @throws IllegalStateException if the Realm is closed or accessed from another thread.
+     */
+    public GroupedResults get() {
+        results.realm.checkIfValid();
+        if (listeners.isEmpty() || groups == null) {
+            groups = compute();
+        }
+        return groups;
+    }
+
+    private GroupedResults compute() {
+        return results.isLoaded() ? groupBy.find(results.getTable()) : groupBy.empty();
+    }
+
+    /**
+     * Adds a listener notified when the groups change.
+     *
+     * @param listener the change listener to be notified.
+     * @throws IllegalArgumentException if the listener is {@code null}.
+     * @throws IllegalStateException if the Realm is frozen or opened from a thread without a
+     * {@link android.os.Looper}.
+     */
+    public void addChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (listeners.contains(listener)) {
+            return;
+        }
+        if (listeners.isEmpty()) {
+            results.addChangeListener(resultsListener);
+            groups = compute();
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        results.realm.checkIfValid();
+        if (listeners.remove(listener) && listeners.isEmpty()) {
+            results.removeChangeListener(resultsListener);
+        }
+    }
+
+    /**
+     * Removes all registered listeners.
+     */
+    public void removeChangeListeners() {
+        results.realm.checkIfValid();
+        listeners.clear();
+        results.removeChangeListener(resultsListener);
+    }
+}
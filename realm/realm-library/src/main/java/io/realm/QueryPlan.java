@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import io.realm.internal.CompoundIndex;
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+
+/**
+ * Describes how a {@link RealmQuery} is evaluated. It is meant as a debugging aid when deciding which fields to
+ * index and in which order to add conditions. The content of the plan is an estimate based on the conditions of the
+ * query and the indexes of the queried class, combined with the measured result of running the query once.
+ * <p>
+ * The format returned by {@link #toString()} is meant for humans and may change between releases.
+ *
+ * @see RealmQuery#explain()
+ */
+public final class QueryPlan {
+
+    /**
+     * A single condition or grouping operator ("(", ")", "OR" and "NOT") of the query.
+     */
+    public static final class Node {
+        private final String description;
+        private final String fieldName;
+        private final RealmFieldType fieldType;
+        private final int depth;
+        private final boolean usesSearchIndex;
+        private final boolean followsLinks;
+
+        private Node(String description, String fieldName, RealmFieldType fieldType, int depth,
+                     boolean usesSearchIndex, boolean followsLinks) {
+            this.description = description;
+            this.fieldName = fieldName;
+            this.fieldType = fieldType;
+            this.depth = depth;
+            this.usesSearchIndex = usesSearchIndex;
+            this.followsLinks = followsLinks;
+        }
+
+        /**
+         * Returns a readable description of the node, e.g. {@code age > 3}.
+         *
+         * @return the description of the node.
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * Returns the field the condition applies to. Fields of linked objects are described as "dog.name".
+         *
+         * @return the field name or {@code null} for grouping operators.
+         */
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        /**
+         * Returns the type of the field the condition applies to.
+         *
+         * @return the field type or {@code null} for grouping operators.
+         */
+        public RealmFieldType getFieldType() {
+            return fieldType;
+        }
+
+        /**
+         * Returns the number of groups the node is nested in.
+         *
+         * @return the nesting depth, 0 for nodes outside of any group.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Checks if the condition can be answered by a search index instead of looking at every object.
+         *
+         * @return {@code true} if the search index of the field is used, {@code false} otherwise.
+         */
+        public boolean usesSearchIndex() {
+            return usesSearchIndex;
+        }
+
+        /**
+         * Checks if the condition has to follow links to other objects for every object it looks at.
+         *
+         * @return {@code true} if the condition is on a field of a linked object, {@code false} otherwise.
+         */
+        public boolean followsLinks() {
+            return followsLinks;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private final String className;
+    private final List<Node> nodes;
+    private final String[] compoundIndexFieldNames;
+    private final long rowsInScope;
+    private final boolean fullScan;
+    private final long estimatedRowsScanned;
+    private final long rowsMatched;
+    private final long durationNanos;
+
+    QueryPlan(String className, Table table, List<TableQuery.Condition> conditions, CompoundIndex compoundIndex,
+              String compoundIndexKey, long rowsInScope, long rowsMatched, long durationNanos) {
+        this.className = className;
+        this.rowsInScope = rowsInScope;
+        this.rowsMatched = rowsMatched;
+        this.durationNanos = durationNanos;
+
+        List<Node> nodes = new ArrayList<Node>(conditions.size());
+        List<TableQuery.Condition> indexedConditions = new ArrayList<TableQuery.Condition>();
+        boolean hasTopLevelOr = false;
+        boolean negated = false;
+        int depth = 0;
+        for (TableQuery.Condition condition : conditions) {
+            if (condition.columnIndices == null) {
+                if (condition.operator.equals(")")) {
+                    depth--;
+                }
+                nodes.add(new Node(condition.operator, null, null, depth, false, false));
+                if (condition.operator.equals("(")) {
+                    depth++;
+                } else if (condition.operator.equals("OR") && depth == 0) {
+                    hasTopLevelOr = true;
+                }
+                negated = condition.operator.equals("NOT");
+                continue;
+            }
+
+            Table target = table;
+            StringBuilder fieldName = new StringBuilder();
+            for (int i = 0; i < condition.columnIndices.length - 1; i++) {
+                fieldName.append(target.getColumnName(condition.columnIndices[i])).append('.');
+                target = target.getLinkTarget(condition.columnIndices[i]);
+            }
+            long columnIndex = condition.columnIndices[condition.columnIndices.length - 1];
+            fieldName.append(target.getColumnName(columnIndex));
+            RealmFieldType fieldType = target.getColumnType(columnIndex);
+            boolean followsLinks = condition.columnIndices.length > 1;
+            boolean usesSearchIndex = !followsLinks && !negated && condition.operator.equals("==")
+                    && isIndexableType(fieldType) && target.hasSearchIndex(columnIndex);
+            if (usesSearchIndex && depth == 0) {
+                indexedConditions.add(condition);
+            }
+
+            String description = fieldName + " " + condition.operator + formatValue(condition.value);
+            nodes.add(new Node(description, fieldName.toString(), fieldType, depth, usesSearchIndex, followsLinks));
+            negated = false;
+        }
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.compoundIndexFieldNames = (compoundIndex != null) ? compoundIndex.getFieldNames() : null;
+
+        // Without an OR on the top level, every match has to match all indexed conditions on the top level as well,
+        // so only the objects found through the most selective index need to be looked at. A compound index is only
+        // used if the query has no OR on the top level.
+        this.fullScan = (indexedConditions.isEmpty() || hasTopLevelOr) && compoundIndex == null;
+        long estimatedRowsScanned = rowsInScope;
+        if (!fullScan) {
+            for (TableQuery.Condition indexedCondition : indexedConditions) {
+                estimatedRowsScanned = Math.min(estimatedRowsScanned, countIndexMatches(table, indexedCondition));
+            }
+            if (compoundIndex != null) {
+                long keyMatches = table.where()
+                        .equalTo(new long[] {compoundIndex.getColumnIndex()}, compoundIndexKey)
+                        .count();
+                estimatedRowsScanned = Math.min(estimatedRowsScanned, keyMatches);
+            }
+        }
+        this.estimatedRowsScanned = estimatedRowsScanned;
+    }
+
+    private static boolean isIndexableType(RealmFieldType type) {
+        switch (type) {
+            case STRING:
+            case INTEGER:
+            case BOOLEAN:
+            case DATE:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static long countIndexMatches(Table table, TableQuery.Condition condition) {
+        TableQuery query = table.where();
+        Object value = condition.value;
+        if (value instanceof String) {
+            query.equalTo(condition.columnIndices, (String) value);
+        } else if (value instanceof Long) {
+            query.equalTo(condition.columnIndices, (Long) value);
+        } else if (value instanceof Boolean) {
+            query.equalTo(condition.columnIndices, (Boolean) value);
+        } else if (value instanceof Date) {
+            query.equalTo(condition.columnIndices, (Date) value);
+        } else if (value instanceof Float) {
+            query.equalTo(condition.columnIndices, (Float) value);
+        } else if (value instanceof Double) {
+            query.equalTo(condition.columnIndices, (Double) value);
+        } else {
+            return table.size();
+        }
+        return query.count();
+    }
+
+    private static String formatValue(Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof String) {
+            return " \"" + value + "\"";
+        } else if (value instanceof Object[]) {
+            Object[] values = (Object[]) value;
+            return formatValue(values[0]) + " AND" + formatValue(values[1]);
+        } else {
+            return " " + value;
+        }
+    }
+
+    /**
+     * Returns the name of the class being queried.
+     *
+     * @return the class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the conditions and grouping operators of the query in the order they were added.
+     *
+     * @return an unmodifiable list of nodes.
+     */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the fields of the compound index the query is evaluated with. A compound index is used when the query
+     * has an {@code equalTo()} or {@code isNull()} condition on every field of the index, and it isn't listed among
+     * the conditions since it doesn't change the result of the query.
+     *
+     * @return the fields of the compound index in the order of the index, or {@code null} if none is used.
+     */
+    public String[] getCompoundIndexFieldNames() {
+        return (compoundIndexFieldNames != null) ? compoundIndexFieldNames.clone() : null;
+    }
+
+    /**
+     * Returns the number of objects the query is evaluated against, i.e. the size of the class or of the
+     * {@link RealmResults} or {@link RealmList} the query was created from.
+     *
+     * @return the number of objects in scope of the query.
+     */
+    public long getRowsInScope() {
+        return rowsInScope;
+    }
+
+    /**
+     * Returns the estimated number of objects the query has to look at. It is equal to {@link #getRowsInScope()}
+     * unless a search index can be used to narrow down the candidates.
+     *
+     * @return the estimated number of objects scanned.
+     */
+    public long getEstimatedRowsScanned() {
+        return estimatedRowsScanned;
+    }
+
+    /**
+     * Returns the number of objects matching the query when it was explained.
+     *
+     * @return the number of matching objects.
+     */
+    public long getRowsMatched() {
+        return rowsMatched;
+    }
+
+    /**
+     * Returns the time it took to run the query when it was explained.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Checks if the query has to look at every object in scope.
+     *
+     * @return {@code true} if no search index narrows down the objects to look at, {@code false} otherwise.
+     */
+    public boolean isFullScan() {
+        return fullScan;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Query on '").append(className).append("' (").append(rowsInScope).append(" objects)\n");
+        for (Node node : nodes) {
+            for (int i = 0; i <= node.depth; i++) {
+                sb.append("  ");
+            }
+            sb.append(node.description);
+            if (node.usesSearchIndex) {
+                sb.append(" [search index]");
+            }
+            if (node.followsLinks) {
+                sb.append(" [follows links]");
+            }
+            sb.append('\n');
+        }
+        if (compoundIndexFieldNames != null) {
+            sb.append("  [compound index on ");
+            for (int i = 0; i < compoundIndexFieldNames.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(compoundIndexFieldNames[i]);
+            }
+            sb.append("]\n");
+        }
+        sb.append(String.format(Locale.US, "%s, estimated objects scanned: %d, matched: %d, time: %.3f ms",
+                fullScan ? "full scan" : "index lookup", estimatedRowsScanned, rowsMatched,
+                durationNanos / 1000000.0));
+        return sb.toString();
+    }
+}
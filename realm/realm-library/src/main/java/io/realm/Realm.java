@@ -19,13 +19,17 @@ package io.realm;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.os.Build;
+import android.os.Handler;
 import android.os.Looper;
 import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,10 +37,13 @@ import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.Future;
 
@@ -45,11 +52,15 @@ import io.realm.exceptions.RealmIOException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
 import io.realm.internal.TableView;
 import io.realm.internal.Util;
+import io.realm.internal.android.JsonUtils;
+import io.realm.internal.async.ParallelJsonParser;
 import io.realm.internal.log.RealmLog;
 import rx.Observable;
 
@@ -114,6 +125,11 @@ public final class Realm extends BaseRealm {
 
     private static RealmConfiguration defaultConfiguration;
 
+    // The maximum number of top-level objects read with one native call by copyFromRealm(Iterable, int).
+    private static final int DETACHED_COPY_BATCH_SIZE = 1000;
+
+    int minRowsPerParallelCopy = DetachedCopyExecutor.DEFAULT_MIN_ROWS_PER_WORKER; // Changed by tests only.
+
     /**
      * The constructor is private to enforce the use of the static one.
      *
@@ -125,6 +141,10 @@ public final class Realm extends BaseRealm {
         super(configuration, autoRefresh);
     }
 
+    private Realm(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        super(configuration, version);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -133,9 +153,42 @@ public final class Realm extends BaseRealm {
         return configuration.getRxFactory().from(this);
     }
 
+    /**
+     * Returns a frozen snapshot of the current version of this Realm. The frozen Realm and all objects, results and
+     * lists read from it can be read from any thread at the same time without copying the data, e.g. by a worker pool
+     * or another scheduler, but they never change: they can't be written, refreshed or observed.
+     * <p>
+     * The version is kept in the Realm file as long as the frozen Realm is in use, which makes the file grow while
+     * other versions are committed. It is released when the frozen Realm is closed, or when the frozen Realm and all
+     * objects read from it have been garbage collected.
+     * <p>
+     * Freezing several times at the same version returns the same frozen Realm, which is also the Realm of the objects
+     * frozen by {@link RealmResults#freeze()}, {@link RealmObject#freeze()} and {@link RealmList#freeze()}.
+     *
+     * @return the frozen Realm, or this Realm if it is already frozen.
+     * @throws IllegalStateException if the Realm is in a write transaction.
+     */
+    public Realm freeze() {
+        return (Realm) getFrozenRealm();
+    }
+
+    @Override
+    Realm createFrozenInstance(SharedGroup.VersionID version) {
+        Realm realm = new Realm(configuration, version);
+        // The schema can only change in a new version, so the column indices of this Realm are valid for the frozen one.
+        realm.schema.columnIndices = schema.columnIndices;
+        // Fills the schema caches, so threads reading the frozen Realm only look them up.
+        for (Class<? extends RealmObject> modelClass : configuration.getSchemaMediator().getModelClasses()) {
+            realm.schema.getTable(modelClass);
+            realm.schema.getSchemaForClass(modelClass);
+        }
+        return realm;
+    }
+
     @Override
     protected void finalize() throws Throwable {
-        if (sharedGroupManager != null && sharedGroupManager.isOpen()) {
+        // Frozen Realms are meant to be released by the garbage collector.
+        if (!isFrozen() && sharedGroupManager != null && sharedGroupManager.isOpen()) {
             RealmLog.w("Remember to call close() on all Realm instances. " +
                             "Realm " + configuration.getPath() + " is being finalized without being closed, " +
                             "this can lead to running out of native memory."
@@ -344,12 +397,17 @@ public final class Realm extends BaseRealm {
             return;
         }
         checkHasPrimaryKey(clazz);
-        for (int i = 0; i < json.length(); i++) {
-            try {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
-            } catch (Exception e) {
-                throw new RealmException("Could not map Json", e);
+        Table table = resolvePrimaryKeys(clazz, json);
+        try {
+            for (int i = 0; i < json.length(); i++) {
+                try {
+                    configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
+                } catch (Exception e) {
+                    throw new RealmException("Could not map Json", e);
+                }
             }
+        } finally {
+            table.clearResolvedPrimaryKeys();
         }
     }
 
@@ -450,21 +508,117 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // The primary key might be the last property of an object, so every object is buffered until it has been
+        // read completely, but never more than one object at a time.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONArray json = new JSONArray(scanner.next());
-            for (int i = 0; i < json.length(); i++) {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new RealmException("Expected a JSON array but was " + reader.peek());
             }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JSONObject json = JsonUtils.readJsonObject(reader);
+                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
+            }
+            reader.endArray();
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
+            reader.close();
+        }
+    }
+
+    /**
+     * Imports a JSON array of objects in a transaction of its own. The stream is parsed on up to {@code parallelism}
+     * threads while the parsed objects are written on the calling thread in the order of the array, so parsing and
+     * writing overlap. The transaction is only started once the first objects have been parsed, and it is committed
+     * when the whole array has been imported. If anything fails, nothing is imported.
+     * <p>
+     * JSON properties with a null value will map to the default value for the data type in Realm and unknown
+     * properties will be ignored.
+     *
+     * @param clazz type of Realm objects created.
+     * @param inputStream the JSON array as a InputStream. All objects in the array must be of the specified class. The
+     * stream is closed once it has been read.
+     * @param parallelism the maximum number of threads parsing the stream.
+     * @throws IllegalStateException if called inside a transaction.
+     * @throws IllegalArgumentException if {@code parallelism} is less than {@code 1}.
+     * @throws RealmException if mapping from JSON fails.
+     * @throws IOException if something was wrong with the input stream.
+     * @see #createAllFromJson(Class, InputStream)
+     */
+    public <E extends RealmObject> void importAllFromJson(Class<E> clazz, InputStream inputStream, int parallelism)
+            throws IOException {
+        if (clazz == null || inputStream == null) {
+            return;
+        }
+        importAllFromJson(clazz, inputStream, parallelism, false);
+    }
+
+    /**
+     * Imports a JSON array of objects in a transaction of its own like {@link #importAllFromJson(Class, InputStream,
+     * int)}, but updates existing objects identified by their primary key instead of failing.
+     *
+     * @param clazz type of {@link io.realm.RealmObject} to create or update. It must have a primary key defined.
+     * @param in the InputStream with a list of object data in JSON format. It is closed once it has been read.
+     * @param parallelism the maximum number of threads parsing the stream.
+     * @throws java.lang.IllegalArgumentException if trying to update a class without a
+     * {@link io.realm.annotations.PrimaryKey} or {@code parallelism} is less than {@code 1}.
+     * @throws IllegalStateException if called inside a transaction.
+     * @throws RealmException if mapping from JSON fails.
+     * @throws IOException if something was wrong with the input stream.
+     * @see #createOrUpdateAllFromJson(Class, InputStream)
+     */
+    public <E extends RealmObject> void importOrUpdateAllFromJson(Class<E> clazz, InputStream in, int parallelism)
+            throws IOException {
+        if (clazz == null || in == null) {
+            return;
+        }
+        checkHasPrimaryKey(clazz);
+        importAllFromJson(clazz, in, parallelism, true);
+    }
+
+    private <E extends RealmObject> void importAllFromJson(Class<E> clazz, InputStream in, int parallelism,
+                                                            boolean update) throws IOException {
+        checkIfValid();
+        if (isInTransaction()) {
+            throw new IllegalStateException("JSON can't be imported inside a transaction.");
+        }
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        ParallelJsonParser parser = new ParallelJsonParser(in, parallelism, ParallelJsonParser.DEFAULT_BATCH_SIZE);
+        try {
+            JSONArray batch = parser.nextBatch();
+            if (batch == null) {
+                return;
             }
+            beginTransaction();
+            try {
+                do {
+                    Table table = update ? resolvePrimaryKeys(clazz, batch) : null;
+                    try {
+                        for (int i = 0; i < batch.length(); i++) {
+                            mediator.createOrUpdateUsingJsonObject(clazz, this, batch.getJSONObject(i), update);
+                        }
+                    } finally {
+                        if (table != null) {
+                            table.clearResolvedPrimaryKeys();
+                        }
+                    }
+                } while ((batch = parser.nextBatch()) != null);
+                commitTransaction();
+            } finally {
+                if (isInTransaction()) {
+                    cancelTransaction();
+                }
+            }
+        } catch (JSONException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } finally {
+            parser.close();
         }
     }
 
@@ -589,33 +743,14 @@ public final class Realm extends BaseRealm {
         if (clazz == null || inputStream == null) {
             return null;
         }
-        E realmObject;
-        Table table = getTable(clazz);
-        if (table.hasPrimaryKey()) {
-            // As we need the primary key value we have to first parse the entire input stream as in the general
-            // case that value might be the last property :(
-            Scanner scanner = null;
-            try {
-                scanner = getFullStringScanner(inputStream);
-                JSONObject json = new JSONObject(scanner.next());
-                realmObject = configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, false);
-
-            } catch (JSONException e) {
-                throw new RealmException("Failed to read JSON", e);
-            } finally {
-                if (scanner != null) {
-                    scanner.close();
-                }
-            }
-        } else {
-            JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
-            try {
-                realmObject = configuration.getSchemaMediator().createUsingJsonStream(clazz, this, reader);
-            } finally {
-                reader.close();
-            }
+        // The generated stream decoders buffer the values of an object until it has been read completely, so the
+        // primary key doesn't have to be the first property.
+        JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
+        try {
+            return configuration.getSchemaMediator().createUsingJsonStream(clazz, this, reader);
+        } finally {
+            reader.close();
         }
-        return realmObject;
     }
 
     /**
@@ -637,26 +772,22 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // The primary key might be the last property, so the object is buffered until it has been read completely.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONObject json = new JSONObject(scanner.next());
+            JSONObject json = JsonUtils.readJsonObject(reader);
             return createOrUpdateObjectFromJson(clazz, json);
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
-    private Scanner getFullStringScanner(InputStream in) {
-        return new Scanner(in, "UTF-8").useDelimiter("\\A");
-    }
-
     /**
      * Instantiates and adds a new object to the Realm.
      *
@@ -669,6 +800,10 @@ public final class Realm extends BaseRealm {
         Table table = getTable(clazz);
         long rowIndex = table.addEmptyRow();
         E object = get(clazz, rowIndex);
+        ColumnInfo columnInfo = schema.getColumnInfo(clazz);
+        columnInfo.updateCompoundIndices(object.row);
+        columnInfo.addToOrderedIndices(object.row);
+        columnInfo.updateFullTextIndices(object.row);
         return object;
     }
 
@@ -685,7 +820,12 @@ public final class Realm extends BaseRealm {
     <E extends RealmObject> E createObject(Class<E> clazz, Object primaryKeyValue) {
         Table table = getTable(clazz);
         long rowIndex = table.addEmptyRowWithPrimaryKey(primaryKeyValue);
-        return get(clazz, rowIndex);
+        E object = get(clazz, rowIndex);
+        ColumnInfo columnInfo = schema.getColumnInfo(clazz);
+        columnInfo.updateCompoundIndices(object.row);
+        columnInfo.addToOrderedIndices(object.row);
+        columnInfo.updateFullTextIndices(object.row);
+        return object;
     }
 
     void remove(Class<? extends RealmObject> clazz, long objectIndex) {
@@ -762,14 +902,191 @@ public final class Realm extends BaseRealm {
             return new ArrayList<E>(0);
         }
 
+        checkIfValid();
         ArrayList<E> realmObjects = new ArrayList<E>();
-        for (E object : objects) {
-            realmObjects.add(copyToRealmOrUpdate(object));
+        List<Table> resolvedTables = resolvePrimaryKeys(objects);
+        try {
+            for (E object : objects) {
+                realmObjects.add(copyToRealmOrUpdate(object));
+            }
+        } finally {
+            clearResolvedPrimaryKeys(resolvedTables);
         }
 
         return realmObjects;
     }
 
+    /**
+     * Inserts a standalone RealmObject. This is a deep insert, so all referenced objects will be inserted as well.
+     * Unlike {@link #copyToRealm(RealmObject)} no managed object is returned, which makes inserting faster and saves
+     * memory. Objects already in this Realm will be ignored. This must happen within a transaction.
+     *
+     * @param object the {@link io.realm.RealmObject} to insert.
+     * @throws java.lang.IllegalArgumentException if the object is {@code null}.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if an object with the same primary key already
+     * exists.
+     * @see #copyToRealm(RealmObject)
+     */
+    public void insert(RealmObject object) {
+        checkIfValid();
+        checkNotNullObject(object);
+        configuration.getSchemaMediator().insert(this, object, false, new IdentityHashMap<RealmObject, Long>());
+    }
+
+    /**
+     * Inserts a collection of standalone RealmObjects. This is a deep insert, so all referenced objects will be
+     * inserted as well. Unlike {@link #copyToRealm(Iterable)} the objects are written directly to the Realm without
+     * creating managed objects, which makes inserting many objects considerably faster and saves memory. Objects
+     * referenced several times are only inserted once. Objects already in this Realm will be ignored. This must happen
+     * within a transaction.
+     *
+     * @param objects the RealmObjects to insert.
+     * @throws java.lang.IllegalArgumentException if the collection or any of its elements is {@code null}.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if an object with the same primary key already
+     * exists.
+     * @see #copyToRealm(Iterable)
+     */
+    public void insert(Collection<? extends RealmObject> objects) {
+        insert(objects, false);
+    }
+
+    /**
+     * Updates an existing RealmObject that is identified by the same {@link io.realm.annotations.PrimaryKey} or
+     * inserts it if no existing object could be found. This is a deep insert or update, so all referenced objects
+     * will be either inserted or updated. Unlike {@link #copyToRealmOrUpdate(RealmObject)} no managed object is
+     * returned. This must happen within a transaction.
+     *
+     * @param object {@link io.realm.RealmObject} to insert or update.
+     * @throws java.lang.IllegalArgumentException if the object is {@code null} or doesn't have a Primary key defined.
+     * @see #copyToRealmOrUpdate(RealmObject)
+     */
+    public void insertOrUpdate(RealmObject object) {
+        checkIfValid();
+        checkNotNullObject(object);
+        checkHasPrimaryKey(object.getClass());
+        configuration.getSchemaMediator().insert(this, object, true, new IdentityHashMap<RealmObject, Long>());
+    }
+
+    /**
+     * Updates a collection of existing RealmObjects that are identified by their
+     * {@link io.realm.annotations.PrimaryKey} or inserts them if no existing object could be found. This is a deep
+     * insert or update, so all referenced objects will be either inserted or updated. Unlike
+     * {@link #copyToRealmOrUpdate(Iterable)} the objects are written directly to the Realm without creating managed
+     * objects. This must happen within a transaction.
+     *
+     * @param objects the RealmObjects to insert or update.
+     * @throws java.lang.IllegalArgumentException if the collection or any of its elements is {@code null} or doesn't
+     * have a Primary key defined.
+     * @see #copyToRealmOrUpdate(Iterable)
+     */
+    public void insertOrUpdate(Collection<? extends RealmObject> objects) {
+        insert(objects, true);
+    }
+
+    private void insert(Collection<? extends RealmObject> objects, boolean update) {
+        checkIfValid();
+        if (objects == null) {
+            throw new IllegalArgumentException("Null objects cannot be inserted into Realm.");
+        }
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        // Standalone objects don't override equals(), but model classes might, so objects are identified by identity.
+        Map<RealmObject, Long> cache = new IdentityHashMap<RealmObject, Long>();
+        Class<? extends RealmObject> checkedClass = null;
+        List<Table> resolvedTables = update ? resolvePrimaryKeys(objects) : Collections.<Table>emptyList();
+        try {
+            for (RealmObject object : objects) {
+                checkNotNullObject(object);
+                if (update && object.getClass() != checkedClass) {
+                    checkHasPrimaryKey(object.getClass());
+                    checkedClass = object.getClass();
+                }
+                mediator.insert(this, object, update, cache);
+            }
+        } finally {
+            clearResolvedPrimaryKeys(resolvedTables);
+        }
+    }
+
+    // Upserting objects one by one looks up every primary key separately. Instead the primary keys of all objects are
+    // looked up front with a single native call per class, see Table#resolvePrimaryKeys(long[]). Only the given
+    // objects are resolved, objects referenced by them are still looked up one by one.
+    private List<Table> resolvePrimaryKeys(Iterable<? extends RealmObject> objects) {
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        Map<Class<? extends RealmObject>, List<Object>> keysByClass =
+                new HashMap<Class<? extends RealmObject>, List<Object>>();
+        for (RealmObject object : objects) {
+            if (object == null || object instanceof DynamicRealmObject
+                    || (object.realm != null && object.realm.getPath().equals(getPath()))) {
+                continue; // Rejected or ignored when the objects are written.
+            }
+            Object key = mediator.getPrimaryKey(object);
+            if (key == null) {
+                continue;
+            }
+            Class<? extends RealmObject> clazz = Util.getOriginalModelClass(object.getClass());
+            List<Object> keys = keysByClass.get(clazz);
+            if (keys == null) {
+                keys = new ArrayList<Object>();
+                keysByClass.put(clazz, keys);
+            }
+            keys.add(key);
+        }
+
+        List<Table> tables = new ArrayList<Table>(keysByClass.size());
+        for (Map.Entry<Class<? extends RealmObject>, List<Object>> entry : keysByClass.entrySet()) {
+            Table table = getTable(entry.getKey());
+            tables.add(table);
+            resolvePrimaryKeys(table, entry.getValue());
+        }
+        return tables;
+    }
+
+    private Table resolvePrimaryKeys(Class<? extends RealmObject> clazz, JSONArray json) {
+        Table table = getTable(clazz);
+        long primaryKeyColumnIndex = table.getPrimaryKey();
+        String fieldName = table.getColumnName(primaryKeyColumnIndex);
+        boolean isStringKey = (table.getColumnType(primaryKeyColumnIndex) == RealmFieldType.STRING);
+        List<Object> keys = new ArrayList<Object>(json.length());
+        for (int i = 0; i < json.length(); i++) {
+            JSONObject object = json.optJSONObject(i);
+            if (object == null || object.isNull(fieldName)) {
+                continue;
+            }
+            try {
+                keys.add(isStringKey ? object.getString(fieldName) : object.getLong(fieldName));
+            } catch (JSONException ignored) {
+                // Reported when the object is mapped.
+            }
+        }
+        resolvePrimaryKeys(table, keys);
+        return table;
+    }
+
+    private static void resolvePrimaryKeys(Table table, List<Object> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (keys.get(0) instanceof String) {
+            table.resolvePrimaryKeys(keys.toArray(new String[keys.size()]));
+        } else {
+            long[] values = new long[keys.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (Long) keys.get(i);
+            }
+            table.resolvePrimaryKeys(values);
+        }
+    }
+
+    private static void clearResolvedPrimaryKeys(List<Table> tables) {
+        for (Table table : tables) {
+            table.clearResolvedPrimaryKeys();
+        }
+    }
+
     /**
      * Makes a standalone in-memory copy of already persisted RealmObjects. This is a deep copy that will copy all
      * referenced objects.
@@ -818,10 +1135,24 @@ public final class Realm extends BaseRealm {
         }
 
         ArrayList<E> standaloneObjects = new ArrayList<E>();
-        Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> listCache = new HashMap<RealmObject, RealmObjectProxy.CacheData<RealmObject>>();
+        DetachedCopyCache cache = new DetachedCopyCache();
+        // Consecutive objects of the same class are copied as one batch.
+        Class<E> batchClass = null;
+        long[] batch = new long[DETACHED_COPY_BATCH_SIZE];
+        int batchSize = 0;
         for (E object : realmObjects) {
             checkValidObjectForDetach(object);
-            standaloneObjects.add(createDetachedCopy(object, maxDepth, listCache));
+            @SuppressWarnings("unchecked")
+            Class<E> clazz = (Class<E>) Util.getOriginalModelClass(object.getClass());
+            if (batchSize == batch.length || (batchSize > 0 && clazz != batchClass)) {
+                standaloneObjects.addAll(createDetachedCopies(batchClass, Arrays.copyOf(batch, batchSize), maxDepth, cache));
+                batchSize = 0;
+            }
+            batchClass = clazz;
+            batch[batchSize++] = object.row.getIndex();
+        }
+        if (batchSize > 0) {
+            standaloneObjects.addAll(createDetachedCopies(batchClass, Arrays.copyOf(batch, batchSize), maxDepth, cache));
         }
 
         return standaloneObjects;
@@ -871,7 +1202,81 @@ public final class Realm extends BaseRealm {
     public <E extends RealmObject> E copyFromRealm(E realmObject, int maxDepth) {
         checkMaxDepth(maxDepth);
         checkValidObjectForDetach(realmObject);
-        return createDetachedCopy(realmObject, maxDepth, new HashMap<RealmObject, RealmObjectProxy.CacheData<RealmObject>>());
+        @SuppressWarnings("unchecked")
+        Class<E> clazz = (Class<E>) Util.getOriginalModelClass(realmObject.getClass());
+        return createDetachedCopies(clazz, new long[] {realmObject.row.getIndex()}, maxDepth, new DetachedCopyCache()).get(0);
+    }
+
+    /**
+     * Makes standalone in-memory copies of the objects of a {@link RealmResults} on background threads, like
+     * {@link #copyFromRealm(Iterable, int)}, and delivers them to the callback on the thread of this Realm.
+     * <p>
+     * The results are frozen at the current version, see {@link RealmResults#freeze()}, so changes committed after
+     * this call are not part of the copies. Large results are split into ranges which are copied at the same time by
+     * several threads. Objects linked from rows of different ranges may be copied more than once, while the copies of
+     * the results themselves are always distinct objects in the order of the results.
+     *
+     * @param results the results to copy. They must belong to this Realm.
+     * @param maxDepth limit of the deep copy. All references after this depth will be {@code null}. Starting depth is {@code 0}.
+     * @param callback the callback receiving the copies or the error which stopped the copy.
+     * @param <E> type of object.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the copy.
+     * @throws IllegalArgumentException if {@code maxDepth < 0}, {@code results} or {@code callback} is {@code null}, or
+     * the results belong to another Realm.
+     * @throws IllegalStateException if this Realm is opened from a thread without a Looper, is in a write transaction,
+     * or the results of an async query haven't been loaded yet.
+     */
+    public <E extends RealmObject> RealmAsyncTask copyFromRealmAsync(RealmResults<E> results, final int maxDepth,
+                                                                     final CopyCallback<E> callback) {
+        checkIfValid();
+        checkMaxDepth(maxDepth);
+        if (results == null) {
+            throw new IllegalArgumentException("Non-null 'results' required.");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("Non-null 'callback' required.");
+        }
+        if (results.realm != this) {
+            throw new IllegalArgumentException("The results must belong to this Realm.");
+        }
+        if (handler == null) {
+            throw new IllegalStateException("Your Realm is opened from a thread without a Looper, " +
+                    "we need a Handler to invoke your callback");
+        }
+
+        final DetachedCopyExecutor<E> executor = new DetachedCopyExecutor<E>(results.freeze(), minRowsPerParallelCopy);
+        final Handler callerHandler = handler;
+        final Future<?> pendingCopy = asyncQueryExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                List<E> copies = null;
+                Throwable error = null;
+                try {
+                    copies = executor.copy(maxDepth);
+                } catch (InterruptedException e) {
+                    return; // Cancelled.
+                } catch (Throwable e) {
+                    error = e;
+                }
+
+                if (Thread.currentThread().isInterrupted() || !callerHandler.getLooper().getThread().isAlive()) {
+                    return;
+                }
+                final List<E> result = copies;
+                final Throwable exception = error;
+                callerHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (exception == null) {
+                            callback.onSuccess(result);
+                        } else {
+                            callback.onError(exception);
+                        }
+                    }
+                });
+            }
+        });
+        return new RealmAsyncTask(pendingCopy);
     }
 
     boolean contains(Class<? extends RealmObject> clazz) {
@@ -988,6 +1393,29 @@ public final class Realm extends BaseRealm {
         return RealmResults.createFromTableOrView(this, tableView, clazz);
     }
 
+    /**
+     * Returns the objects of a class linking to the given object through one of their fields, e.g. all Orders whose
+     * {@code customer} field is set to a customer. Realm keeps track of the links to every object, so only the objects
+     * actually linking to the object are looked at, rather than all objects of the class. The results are updated
+     * like any other {@link RealmResults}, and are empty once the object is deleted.
+     * <p>
+     * Queries on the inverse relationship can be created from the results, e.g.
+     * {@code realm.getBacklinks(customer, Order.class, "customer").where().greaterThan("amount", 100).findAll()}.
+     *
+     * @param object the object the links point to.
+     * @param clazz the class of the objects linking to the object.
+     * @param fieldName the field of {@code clazz} linking to the object. It must be a {@link RealmObject} or a
+     * {@link RealmList} field. Fields of linked objects are not supported.
+     * @return a non-null {@link RealmResults} containing the objects linking to the object.
+     * @throws IllegalArgumentException if the object is not a valid object of this Realm, or the field doesn't exist
+     * or doesn't link to the class of the object.
+     */
+    public <E extends RealmObject> RealmResults<E> getBacklinks(RealmObject object, Class<E> clazz, String fieldName) {
+        checkIfValid();
+        TableView tableView = getBacklinkView(object, schema.getTable(clazz), fieldName);
+        return RealmResults.createFromTableOrView(this, tableView, clazz);
+    }
+
     /**
      * Returns a distinct set of objects of a specific class. As a Realm is unordered, it is undefined which objects are
      * returned in case of multiple occurrences.
@@ -996,13 +1424,31 @@ public final class Realm extends BaseRealm {
      * @param fieldName the field name.
      * @return a non-null {@link RealmResults} containing the distinct objects.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public <E extends RealmObject> RealmResults<E> distinct(Class<E> clazz, String fieldName) {
+        return distinct(clazz, fieldName, new String[0]);
+    }
+
+    /**
+     * Returns a distinct set of objects of a specific class, considering the combination of the values of several
+     * fields. As a Realm is unordered, it is undefined which objects are returned in case of multiple occurrences.
+     *
+     * @param clazz the Class to get objects of.
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return a non-null {@link RealmResults} containing the distinct objects.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     * @see RealmQuery#distinct(String, String...)
+     */
+    public <E extends RealmObject> RealmResults<E> distinct(Class<E> clazz, String firstFieldName,
+                                                            String... remainingFieldNames) {
         checkIfValid();
         Table table = schema.getTable(clazz);
-        long columnIndex = RealmQuery.getAndValidateDistinctColumnIndex(fieldName, table);
-        TableView tableView = table.getDistinctView(columnIndex);
+        long[] columnIndices = RealmQuery.getAndValidateDistinctColumnIndices(firstFieldName, remainingFieldNames,
+                table);
+        TableView tableView = table.getDistinctView(columnIndices);
         return RealmResults.createFromTableOrView(this, tableView, clazz);
     }
 
@@ -1017,13 +1463,52 @@ public final class Realm extends BaseRealm {
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
      * query completes.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public <E extends RealmObject> RealmResults<E> distinctAsync(Class<E> clazz, String fieldName) {
         checkIfValid();
         return where(clazz).distinctAsync(fieldName);
     }
 
+    /**
+     * Asynchronously returns a distinct set of objects of a specific class, considering the combination of the
+     * values of several fields. This method is only available from a Looper thread.
+     *
+     * @param clazz the Class to get objects of.
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return immediately an empty {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
+     * query completes.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     */
+    public <E extends RealmObject> RealmResults<E> distinctAsync(Class<E> clazz, String firstFieldName,
+                                                                 String... remainingFieldNames) {
+        checkIfValid();
+        return where(clazz).distinctAsync(firstFieldName, remainingFieldNames);
+    }
+
+    /**
+     * Prepares the given classes for adding a large number of objects in the current write transaction. Instead of
+     * updating the search indexes of the classes for every object, they are removed and rebuilt in a single pass when
+     * the transaction is committed or {@link #endBulkLoad()} is called. Primary keys are not checked for duplicates
+     * while objects are added, all values are checked at once at the end.
+     * <p>
+     * Queries on the classes don't use the search indexes during the bulk load, so upserting objects with
+     * {@link #copyToRealmOrUpdate(RealmObject)} or {@link #insertOrUpdate(RealmObject)} gets slower.
+     *
+     * @param classes the classes to bulk load.
+     * @throws IllegalStateException if the Realm is not in a write transaction.
+     * @see #endBulkLoad()
+     */
+    @SafeVarargs
+    public final void beginBulkLoad(Class<? extends RealmObject>... classes) {
+        for (Class<? extends RealmObject> clazz : classes) {
+            beginBulkLoad(getTable(clazz));
+        }
+    }
+
     /**
      * Executes a given transaction on the Realm. {@link #beginTransaction()} and {@link #commitTransaction()} will be
      * called automatically. If any exception is thrown during the transaction {@link #cancelTransaction()} will be
@@ -1330,9 +1815,9 @@ public final class Realm extends BaseRealm {
         return configuration.getSchemaMediator().copyOrUpdate(this, object, update, new HashMap<RealmObject, RealmObjectProxy>());
     }
 
-    private <E extends RealmObject> E createDetachedCopy(E object, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+    private <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, long[] rowIndices, int maxDepth, DetachedCopyCache cache) {
         checkIfValid();
-        return configuration.getSchemaMediator().createDetachedCopy(object, maxDepth, cache);
+        return configuration.getSchemaMediator().createDetachedCopies(clazz, this, rowIndices, maxDepth, cache);
     }
 
     private <E extends RealmObject> void checkNotNullObject(E object) {
@@ -1466,6 +1951,24 @@ public final class Realm extends BaseRealm {
         }
     }
 
+    /**
+     * Callback receiving the copies made by {@link #copyFromRealmAsync(RealmResults, int, CopyCallback)}. It is
+     * invoked on the thread of the Realm which started the copy.
+     */
+    public interface CopyCallback<E extends RealmObject> {
+        /**
+         * Called once all objects have been copied.
+         *
+         * @param copies the standalone copies, in the order of the results.
+         */
+        void onSuccess(List<E> copies);
+
+        /**
+         * Called if the objects could not be copied.
+         */
+        void onError(Throwable error);
+    }
+
     /**
      * Encapsulates a Realm transaction.
      * <p>
@@ -81,6 +81,7 @@ public class RealmConfiguration {
     private final SharedGroup.Durability durability;
     private final RealmProxyMediator schemaMediator;
     private final RxObservableFactory rxObservableFactory;
+    private final int queryParallelism;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -93,6 +94,7 @@ public class RealmConfiguration {
         this.durability = builder.durability;
         this.schemaMediator = createSchemaMediator(builder);
         this.rxObservableFactory = builder.rxFactory;
+        this.queryParallelism = builder.queryParallelism;
     }
 
     public File getRealmFolder() {
@@ -157,6 +159,15 @@ public class RealmConfiguration {
         return rxObservableFactory;
     }
 
+    /**
+     * Returns the maximum number of threads used to evaluate a query, see {@link Builder#queryParallelism(int)}.
+     *
+     * @return the maximum number of threads per query, {@code 1} if queries are evaluated on the calling thread only.
+     */
+    public int getQueryParallelism() {
+        return queryParallelism;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -173,6 +184,7 @@ public class RealmConfiguration {
         if (!durability.equals(that.durability)) return false;
         if (migration != null ? !migration.equals(that.migration) : that.migration != null) return false;
         if (!rxObservableFactory.equals(that.rxObservableFactory)) return false;
+        if (queryParallelism != that.queryParallelism) return false;
         return schemaMediator.equals(that.schemaMediator);
     }
 
@@ -187,6 +199,7 @@ public class RealmConfiguration {
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
         result = 31 * result + schemaMediator.hashCode();
         result = 31 * result + durability.hashCode();
+        result = 31 * result + queryParallelism;
 
         return result;
     }
@@ -260,6 +273,8 @@ public class RealmConfiguration {
         stringBuilder.append("durability: "); stringBuilder.append(durability);
         stringBuilder.append("\n");
         stringBuilder.append("schemaMediator: "); stringBuilder.append(schemaMediator);
+        stringBuilder.append("\n");
+        stringBuilder.append("queryParallelism: "); stringBuilder.append(queryParallelism);
 
         return stringBuilder.toString();
     }
@@ -278,6 +293,7 @@ public class RealmConfiguration {
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmObject>> debugSchema = new HashSet<Class<? extends RealmObject>>();
         private RxObservableFactory rxFactory = new RealmObservableFactory();
+        private int queryParallelism = 1;
 
         /**
          * Creates an instance of the Builder for the RealmConfiguration.
@@ -450,6 +466,25 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Sets the maximum number of threads {@link RealmQuery#count()}, {@link RealmQuery#sum(String)},
+         * {@link RealmQuery#average(String)}, {@link RealmQuery#min(String)}, {@link RealmQuery#max(String)},
+         * {@link RealmQuery#minimumDate(String)} and {@link RealmQuery#maximumDate(String)} may use. Queries on large
+         * classes are then split into ranges of objects evaluated in parallel, while the calling thread waits for
+         * the result. The default is {@code 1}, i.e. queries are evaluated on the calling thread only. It can be
+         * changed for a single query with {@link RealmQuery#parallel(int)}.
+         *
+         * @param parallelism the maximum number of threads per query.
+         * @throws IllegalArgumentException if {@code parallelism} is less than {@code 1}.
+         */
+        public Builder queryParallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Query parallelism must be at least 1: " + parallelism);
+            }
+            this.queryParallelism = parallelism;
+            return this;
+        }
+
         private void addModule(Object module) {
             if (module != null) {
                 checkModule(module);
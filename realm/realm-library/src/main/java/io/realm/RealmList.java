@@ -406,6 +406,31 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    /**
+     * Returns a frozen snapshot of this list. The frozen list and its objects can be read from any thread at the same
+     * time without copying them, but they never change and can't be written. It belongs to the frozen Realm of the
+     * current version, see {@link Realm#freeze()}.
+     *
+     * @return the frozen list, or this list if it is already frozen.
+     * @throws RealmException if the list is not managed.
+     * @throws IllegalStateException if the parent object has been removed or the Realm is in a write transaction.
+     */
+    public RealmList<E> freeze() {
+        if (!managedMode) {
+            throw new RealmException(ONLY_IN_MANAGED_MODE_MESSAGE);
+        }
+        checkValidView();
+        if (realm.isFrozen()) {
+            return this;
+        }
+        BaseRealm frozenRealm = realm.getFrozenRealm();
+        LinkView frozenView = view.getInGroup(frozenRealm.sharedGroupManager.getTransaction());
+        if (className != null) {
+            return new RealmList<E>(className, frozenView, frozenRealm);
+        }
+        return new RealmList<E>(clazz, frozenView, frozenRealm);
+    }
+
     /**
      * Returns true if the list contains the specified element when attached to a Realm. This
      * method will query the native Realm underlying storage engine to quickly find the specified element.
@@ -16,15 +16,27 @@
 
 package io.realm;
 
+import android.annotation.TargetApi;
+import android.os.Build;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 
 import io.realm.annotations.RealmClass;
+import io.realm.internal.BinaryInputStream;
+import io.realm.internal.BinaryOutputStream;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
+import io.realm.internal.Util;
 import io.realm.internal.log.RealmLog;
 import rx.Observable;
 
@@ -52,6 +64,7 @@ import rx.Observable;
  *   <li>float/Float</li>
  *   <li>double/Double</li>
  *   <li>byte[]</li>
+ *   <li>ByteBuffer</li>
  *   <li>String</li>
  *   <li>Date</li>
  *   <li>Any RealmObject subclass</li>
@@ -61,6 +74,10 @@ import rx.Observable;
  * The types <code>short</code>, <code>int</code>, and <code>long</code> are mapped to <code>long</code> when storing
  * within a Realm.
  * <p>
+ * A <code>ByteBuffer</code> field is read without copying it to the Java heap, except inside a write transaction where
+ * it is copied. The returned buffer is read-only and points into the Realm file, so it must not be used after the
+ * Realm has been changed, refreshed or closed. Reading it after that can crash the process.
+ * <p>
  * Getter and setter names must have the name {@code getXXX} or {@code setXXX} if the field name is {@code XXX}. Getters
  * for fields of type boolean can be called {@code isXXX} as well. Fields with a m-prefix must have getters and setters
  * named setmXXX and getmXXX which is the default behavior when Android Studio automatically generates the getters and
@@ -72,7 +89,7 @@ import rx.Observable;
  * Realm will create indexes for fields annotated with {@link io.realm.annotations.Index}. This will speedup queries but
  * will have a negative impact on inserts and updates.
  * <p>
- * A RealmObject cannot be passed between different threads.
+ * A RealmObject cannot be passed between different threads, unless it has been frozen by {@link #freeze()}.
  *
  * @see Realm#createObject(Class)
  * @see Realm#copyToRealm(RealmObject)
@@ -226,6 +243,9 @@ public abstract class RealmObject {
         } else {
             throw new IllegalArgumentException("Cannot add listener from this unmanaged RealmObject (created outside of Realm)");
         }
+        if (realm.isFrozen()) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
         if (realm.handler == null) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
         }
@@ -339,4 +359,154 @@ public abstract class RealmObject {
             currentTableVersion = row.getTable().version();
         }
     }
+
+    /**
+     * Returns a frozen snapshot of this object. The frozen object can be read from any thread at the same time without
+     * copying it, but it never changes and can't be written or observed. Linked objects and lists read from it are
+     * frozen as well. It belongs to the frozen Realm of the current version, see {@link Realm#freeze()}.
+     *
+     * @param <E> RealmObject class of the frozen object. Must be this class or its super types.
+     * @return the frozen object, or this object if it is already frozen.
+     * @throws IllegalArgumentException if the object is unmanaged.
+     * @throws IllegalStateException if the object has been removed, the Realm is in a write transaction or the
+     * object of an async query hasn't been loaded yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> E freeze() {
+        if (realm == null) {
+            throw new IllegalArgumentException("Cannot freeze an unmanaged RealmObject (created outside of Realm)");
+        }
+        realm.checkIfValid();
+        if (realm.isFrozen()) {
+            return (E) this;
+        }
+        if (!isLoaded()) {
+            throw new IllegalStateException("Cannot freeze the object of an async query before it is loaded.");
+        }
+        if (!isValid()) {
+            throw new IllegalStateException("Cannot freeze an object which has been removed from the Realm.");
+        }
+        BaseRealm frozenRealm = realm.getFrozenRealm();
+        if (this instanceof DynamicRealmObject) {
+            String className = ((DynamicRealmObject) this).getType();
+            return (E) frozenRealm.get(DynamicRealmObject.class, className, row.getIndex());
+        }
+        return (E) frozenRealm.get(Util.getOriginalModelClass(getClass()), row.getIndex());
+    }
+
+    /**
+     * Writes this object as a JSON object. Links are followed up to {@code depth} levels. A link which is not
+     * followed, because the depth is reached or it points back to an object being written (a cycle), is written as an
+     * object containing only the primary key if the linked class has one, and left out otherwise.
+     *
+     * @param writer the writer to write to. It is flushed, but not closed.
+     * @param depth the number of levels of links to follow, {@code 0} to write no linked objects.
+     * @param dateFormat how dates are written.
+     * @throws IllegalArgumentException if the object is unmanaged, {@code writer} or {@code dateFormat} is
+     * {@code null} or {@code depth} is negative.
+     * @throws IllegalStateException if the object has been removed or the object of an async query hasn't been
+     * loaded yet.
+     * @throws IOException if writing fails.
+     * @see RealmResults#writeJson(Writer, int, JsonDateFormat)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public final void writeJson(Writer writer, int depth, JsonDateFormat dateFormat) throws IOException {
+        if (realm == null) {
+            throw new IllegalArgumentException("Cannot export an unmanaged RealmObject (created outside of Realm)");
+        }
+        realm.checkIfValid();
+        if (!isLoaded()) {
+            throw new IllegalStateException("Cannot export the object of an async query before it is loaded.");
+        }
+        if (!isValid()) {
+            throw new IllegalStateException("Cannot export an object which has been removed from the Realm.");
+        }
+        JsonExporter.writeRow(row, writer, depth, dateFormat);
+    }
+
+    /**
+     * Writes this object as a JSON object, encoded as UTF-8. See {@link #writeJson(Writer, int, JsonDateFormat)}.
+     *
+     * @param outputStream the stream to write to. It is flushed, but not closed.
+     * @param depth the number of levels of links to follow, {@code 0} to write no linked objects.
+     * @param dateFormat how dates are written.
+     * @throws IllegalArgumentException if the object is unmanaged, {@code outputStream} or {@code dateFormat} is
+     * {@code null} or {@code depth} is negative.
+     * @throws IllegalStateException if the object has been removed or the object of an async query hasn't been
+     * loaded yet.
+     * @throws IOException if writing fails.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public final void writeJson(OutputStream outputStream, int depth, JsonDateFormat dateFormat) throws IOException {
+        writeJson(JsonExporter.toWriter(outputStream), depth, dateFormat);
+    }
+
+    /**
+     * Returns a stream reading a binary field in chunks. The stream reads directly from the Realm file, so only the
+     * bytes read are copied to the Java heap. It can only be used until the Realm is changed, refreshed or closed,
+     * after which reading it throws an {@link IOException}.
+     *
+     * @param fieldName the name of a {@code byte[]} or {@link java.nio.ByteBuffer} field.
+     * @return the stream, or {@code null} if the field is {@code null}.
+     * @throws IllegalArgumentException if the object is unmanaged or the field doesn't exist or isn't binary.
+     * @throws IllegalStateException if the object has been removed or the object of an async query hasn't been
+     * loaded yet.
+     */
+    public final InputStream getBinaryInputStream(String fieldName) {
+        long columnIndex = getBinaryColumnIndex(fieldName);
+        ByteBuffer data = row.getBinaryByteBuffer(columnIndex);
+        if (data == null) {
+            return null;
+        }
+        // Inside a write transaction the buffer is a copy, which stays valid when the Realm changes.
+        return new BinaryInputStream(data, realm.isInTransaction() ? null : realm.sharedGroupManager);
+    }
+
+    /**
+     * Returns a stream writing a binary field in chunks. See {@link #getBinaryOutputStream(String, int)}.
+     */
+    public final OutputStream getBinaryOutputStream(String fieldName) {
+        return getBinaryOutputStream(fieldName, 0);
+    }
+
+    /**
+     * Returns a stream writing a binary field in chunks. The bytes written are collected outside of the Java heap and
+     * set to the field when the stream is closed, which must happen in the same transaction.
+     *
+     * @param fieldName the name of a {@code byte[]} or {@link java.nio.ByteBuffer} field.
+     * @param expectedSize the expected number of bytes. The stream grows if more are written.
+     * @return the stream.
+     * @throws IllegalArgumentException if the object is unmanaged, the field doesn't exist or isn't binary, or
+     * {@code expectedSize} is negative.
+     * @throws IllegalStateException if the object has been removed, the object of an async query hasn't been loaded
+     * yet or the Realm is not in a transaction.
+     */
+    public final OutputStream getBinaryOutputStream(String fieldName, int expectedSize) {
+        long columnIndex = getBinaryColumnIndex(fieldName);
+        if (!realm.isInTransaction()) {
+            throw new IllegalStateException("Binary fields can only be written inside a transaction.");
+        }
+        return new BinaryOutputStream(row, columnIndex, expectedSize);
+    }
+
+    private long getBinaryColumnIndex(String fieldName) {
+        if (realm == null) {
+            throw new IllegalArgumentException("Cannot stream a field of an unmanaged RealmObject (created outside of Realm)");
+        }
+        realm.checkIfValid();
+        if (!isLoaded()) {
+            throw new IllegalStateException("Cannot stream a field of an async query object before it is loaded.");
+        }
+        if (!isValid()) {
+            throw new IllegalStateException("Cannot stream a field of an object which has been removed from the Realm.");
+        }
+        long columnIndex = row.getColumnIndex(fieldName);
+        if (columnIndex == TableOrView.NO_MATCH) {
+            throw new IllegalArgumentException("Field does not exist: " + fieldName);
+        }
+        if (row.getColumnType(columnIndex) != RealmFieldType.BINARY) {
+            throw new IllegalArgumentException("Field is not binary: " + fieldName);
+        }
+        return columnIndex;
+    }
 }
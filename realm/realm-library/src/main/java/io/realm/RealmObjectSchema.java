@@ -16,15 +16,21 @@
 
 package io.realm;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import io.realm.annotations.Required;
+import io.realm.internal.CompoundIndex;
+import io.realm.internal.FullTextIndex;
+import io.realm.internal.OrderedIndex;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
@@ -109,6 +115,8 @@ public final class RealmObjectSchema {
         if (transaction.hasTable(internalTableName)) {
             throw new IllegalArgumentException("Class already exists: " + className);
         }
+        OrderedIndex.renameClass(transaction, getClassName(), className);
+        FullTextIndex.renameClass(transaction, getClassName(), className);
         transaction.renameTable(table.getName(), internalTableName);
         return this;
     }
@@ -203,7 +211,19 @@ public final class RealmObjectSchema {
         if (table.getPrimaryKey() == columnIndex) {
             table.setPrimaryKey(null);
         }
-        table.removeColumn(columnIndex);
+        // Compound indexes cannot outlive any of their fields.
+        List<String> compoundIndexColumns = new ArrayList<String>();
+        for (CompoundIndex compoundIndex : CompoundIndex.fromTable(table)) {
+            if (compoundIndex.contains(columnIndex)) {
+                compoundIndexColumns.add(compoundIndex.getColumnName());
+            }
+        }
+        for (String columnName : compoundIndexColumns) {
+            table.removeColumn(table.getColumnIndex(columnName));
+        }
+        table.removeOrderedIndex(getColumnIndex(fieldName));
+        table.removeFullTextIndex(getColumnIndex(fieldName));
+        table.removeColumn(getColumnIndex(fieldName));
         return this;
     }
 
@@ -221,6 +241,19 @@ public final class RealmObjectSchema {
         checkLegalName(newFieldName);
         checkFieldNameIsAvailable(newFieldName);
         long columnIndex = getColumnIndex(currentFieldName);
+        for (CompoundIndex compoundIndex : CompoundIndex.fromTable(table)) {
+            if (compoundIndex.contains(columnIndex)) {
+                String[] fieldNames = compoundIndex.getFieldNames();
+                for (int i = 0; i < fieldNames.length; i++) {
+                    if (fieldNames[i].equals(currentFieldName)) {
+                        fieldNames[i] = newFieldName;
+                    }
+                }
+                table.renameColumn(compoundIndex.getColumnIndex(), CompoundIndex.getColumnName(fieldNames));
+            }
+        }
+        OrderedIndex.renameField(table, currentFieldName, newFieldName);
+        FullTextIndex.renameField(table, currentFieldName, newFieldName);
         table.renameColumn(columnIndex, newFieldName);
         return this;
     }
@@ -287,6 +320,182 @@ public final class RealmObjectSchema {
         return this;
     }
 
+    /**
+     * Adds an ordered index to a given field. This is the equivalent of adding the
+     * {@link io.realm.annotations.OrderedIndex} annotation on the field. Range queries on the field only look at the
+     * objects within the range, and sorting by the field in ascending order doesn't have to sort at all.
+     *
+     * @param fieldName field to add the ordered index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists or the field is not an integer, floating point or
+     * Date field.
+     * @throws IllegalStateException if the field already has an ordered index.
+     */
+    public RealmObjectSchema addOrderedIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (!OrderedIndex.isSupportedType(type)) {
+            throw new IllegalArgumentException("Field '" + fieldName + "' of type " + type +
+                    " cannot have an ordered index.");
+        }
+        if (table.hasOrderedIndex(columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has an ordered index.");
+        }
+        table.addOrderedIndex(columnIndex);
+        return this;
+    }
+
+    /**
+     * Checks if a given field has an ordered index defined.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if the field has an ordered index, {@code false} otherwise.
+     * @see io.realm.annotations.OrderedIndex
+     */
+    public boolean hasOrderedIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return table.hasOrderedIndex(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes an ordered index from a given field. This is the same as removing the {@code @OrderedIndex} annotation
+     * on the field.
+     *
+     * @param fieldName field to remove the ordered index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     * @throws IllegalStateException if the field doesn't have an ordered index.
+     */
+    public RealmObjectSchema removeOrderedIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (!table.hasOrderedIndex(columnIndex)) {
+            throw new IllegalStateException("Field has no ordered index: " + fieldName);
+        }
+        table.removeOrderedIndex(columnIndex);
+        return this;
+    }
+
+    /**
+     * Adds a full-text index to a given field. This is the equivalent of adding the
+     * {@link io.realm.annotations.FullText} annotation on the field. The words of the field can then be looked up by
+     * {@link RealmQuery#matches(String, String)}.
+     *
+     * @param fieldName field to add the full-text index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists or the field is not a String field.
+     * @throws IllegalStateException if the field already has a full-text index.
+     */
+    public RealmObjectSchema addFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (type != RealmFieldType.STRING) {
+            throw new IllegalArgumentException("Field '" + fieldName + "' of type " + type +
+                    " cannot have a full-text index.");
+        }
+        if (table.hasFullTextIndex(columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has a full-text index.");
+        }
+        table.addFullTextIndex(columnIndex);
+        return this;
+    }
+
+    /**
+     * Checks if a given field has a full-text index defined.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if the field has a full-text index, {@code false} otherwise.
+     * @see io.realm.annotations.FullText
+     */
+    public boolean hasFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return table.hasFullTextIndex(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes a full-text index from a given field. This is the same as removing the {@code @FullText} annotation
+     * on the field.
+     *
+     * @param fieldName field to remove the full-text index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     * @throws IllegalStateException if the field doesn't have a full-text index.
+     */
+    public RealmObjectSchema removeFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (!table.hasFullTextIndex(columnIndex)) {
+            throw new IllegalStateException("Field has no full-text index: " + fieldName);
+        }
+        table.removeFullTextIndex(columnIndex);
+        return this;
+    }
+
+    /**
+     * Adds a compound index spanning several fields. This is the equivalent of adding the
+     * {@link io.realm.annotations.CompoundIndex} annotation on the class. Queries having an {@code equalTo()} or
+     * {@code isNull()} condition on every field of the index will use it instead of scanning the objects matching a
+     * single field.
+     *
+     * @param fieldNames the fields to index, in order. At least two String, integer, boolean or Date fields are
+     * required.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field name doesn't exist, a field cannot be part of a compound index or a
+     * field is listed twice.
+     * @throws IllegalStateException if the compound index already exists.
+     */
+    public RealmObjectSchema addCompoundIndex(String... fieldNames) {
+        checkCompoundIndexFields(fieldNames);
+        for (String fieldName : fieldNames) {
+            RealmFieldType type = table.getColumnType(getColumnIndex(fieldName));
+            if (!CompoundIndex.isSupportedType(type)) {
+                throw new IllegalArgumentException("Field '" + fieldName + "' of type " + type +
+                        " cannot be part of a compound index.");
+            }
+        }
+        if (hasCompoundIndex(fieldNames)) {
+            throw new IllegalStateException("Compound index already exists: " + Arrays.toString(fieldNames));
+        }
+        CompoundIndex.add(table, fieldNames);
+        return this;
+    }
+
+    /**
+     * Checks if a compound index is defined on the given fields.
+     *
+     * @param fieldNames the fields of the index, in order.
+     * @return {@code true} if the compound index exists, {@code false} otherwise.
+     * @see io.realm.annotations.CompoundIndex
+     */
+    public boolean hasCompoundIndex(String... fieldNames) {
+        checkCompoundIndexFields(fieldNames);
+        return table.getColumnIndex(CompoundIndex.getColumnName(fieldNames)) != TableOrView.NO_MATCH;
+    }
+
+    /**
+     * Removes a compound index. This is the same as removing the {@code @CompoundIndex} annotation from the class.
+     *
+     * @param fieldNames the fields of the index, in order.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field name doesn't exist.
+     * @throws IllegalStateException if the compound index doesn't exist.
+     */
+    public RealmObjectSchema removeCompoundIndex(String... fieldNames) {
+        if (!hasCompoundIndex(fieldNames)) {
+            throw new IllegalStateException("Compound index does not exist: " + Arrays.toString(fieldNames));
+        }
+        table.removeColumn(table.getColumnIndex(CompoundIndex.getColumnName(fieldNames)));
+        return this;
+    }
+
     /**
      * Adds a primary key to a given field. This is the same as adding the {@link io.realm.annotations.PrimaryKey}
      * annotation on the field.
@@ -417,7 +626,10 @@ public final class RealmObjectSchema {
         int columnCount = (int) table.getColumnCount();
         Set<String> columnNames = new LinkedHashSet<>(columnCount);
         for (int i = 0; i < columnCount; i++) {
-            columnNames.add(table.getColumnName(i));
+            String columnName = table.getColumnName(i);
+            if (!Table.isHiddenColumn(columnName)) {
+                columnNames.add(columnName);
+            }
         }
         return columnNames;
     }
@@ -493,6 +705,20 @@ public final class RealmObjectSchema {
         }
     }
 
+    private void checkCompoundIndexFields(String[] fieldNames) {
+        if (fieldNames == null || fieldNames.length < 2) {
+            throw new IllegalArgumentException("A compound index requires at least two fields.");
+        }
+        Set<String> uniqueNames = new HashSet<String>();
+        for (String fieldName : fieldNames) {
+            checkLegalName(fieldName);
+            checkFieldExists(fieldName);
+            if (!uniqueNames.add(fieldName)) {
+                throw new IllegalArgumentException("Field is listed more than once in compound index: " + fieldName);
+            }
+        }
+    }
+
     private void checkFieldNameIsAvailable(String fieldName) {
         if (table.getColumnIndex(fieldName) != TableOrView.NO_MATCH) {
             throw new IllegalArgumentException("Field already exists in '" + getClassName() + "': " + fieldName);
@@ -582,6 +808,28 @@ public final class RealmObjectSchema {
         }
     }
 
+    /**
+     * Returns the column indices for sorting by the given field description. Fields of linked objects can be used as
+     * long as they are reached through {@link RealmObject} fields only, as a {@link RealmList} has no single value to
+     * sort by.
+     *
+     * @param fieldDescription field name or field names separated by ".".
+     * @return list of column indices.
+     * @throws IllegalArgumentException if the field doesn't exist or the path goes through a {@link RealmList}.
+     */
+    long[] getColumnIndicesForSort(String fieldDescription) {
+        long[] columnIndices = getColumnIndices(fieldDescription);
+        Table table = this.table;
+        for (int i = 0; i < columnIndices.length - 1; i++) {
+            if (table.getColumnType(columnIndices[i]) != RealmFieldType.OBJECT) {
+                throw new IllegalArgumentException(
+                        "Sorting using child object fields is only supported through RealmObject fields: " + fieldDescription);
+            }
+            table = table.getLinkTarget(columnIndices[i]);
+        }
+        return columnIndices;
+    }
+
     private boolean isValidType(RealmFieldType columnType, RealmFieldType[] validColumnTypes) {
         for (int i = 0; i < validColumnTypes.length; i++) {
             if (validColumnTypes[i] == columnType) {
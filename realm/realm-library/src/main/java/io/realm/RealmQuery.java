@@ -21,13 +21,13 @@ import android.os.Handler;
 
 import java.lang.UnsupportedOperationException;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.Date;
-import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 import io.realm.annotations.Required;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.LinkView;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
@@ -36,6 +36,7 @@ import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.async.ArgumentsHolder;
+import io.realm.internal.async.ParallelQueryExecutor;
 import io.realm.internal.async.QueryUpdateTask;
 import io.realm.internal.log.RealmLog;
 
@@ -67,9 +68,12 @@ public class RealmQuery<E extends RealmObject> {
     private LinkView view;
     private TableQuery query;
     private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+    private static final int SCAN_CHUNK_SIZE = 256;
 
     private final static Long INVALID_NATIVE_POINTER = 0L;
     private ArgumentsHolder argumentsHolder;
+    private int parallelism; // 0 if the parallelism of the configuration is used.
+    long minRowsPerParallelRange = ParallelQueryExecutor.DEFAULT_MIN_ROWS_PER_RANGE; // Changed by tests only.
 
     /**
      * Creates a query for objects of a given class from a {@link Realm}.
@@ -968,6 +972,37 @@ public class RealmQuery<E extends RealmObject> {
         return this;
     }
 
+    /**
+     * Condition that the field contains all the given words, using the full-text index of the field. Words are made
+     * of letters and digits and are matched case-insensitively, e.g. {@code matches("body", "hello world")} matches
+     * "Hello, World!" and "world hello". A word ending with {@code *} matches all words starting with it, e.g.
+     * {@code "hel*"} matches "Hello". Unlike {@link #contains(String, String, Case)}, only whole words are matched.
+     * <p>
+     * The condition combines with all other conditions. Unless it is part of a group, combined by {@link #or()} or on
+     * a field of a linked object, {@link #findAll()} and {@link #count()} only look at the objects containing the
+     * rarest of the complete words.
+     *
+     * @param fieldName the field to compare. It must have a full-text index.
+     * @param terms the words to look for, separated by whitespace.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field doesn't have a full-text index or if {@code terms}
+     * contains no words.
+     * @see io.realm.annotations.FullText
+     */
+    public RealmQuery<E> matches(String fieldName, String terms) {
+        long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
+        Table target = table.getTable();
+        for (int i = 0; i < columnIndices.length - 1; i++) {
+            target = target.getLinkTarget(columnIndices[i]);
+        }
+        FullTextIndex index = FullTextIndex.find(target, columnIndices[columnIndices.length - 1]);
+        if (index == null) {
+            throw new IllegalArgumentException("Field '" + fieldName + "' does not have a full-text index.");
+        }
+        this.query.matches(columnIndices, index, FullTextIndex.parseTerms(terms));
+        return this;
+    }
+
     /**
      * Condition that the value of field begins with the specified string.
      *
@@ -1102,13 +1137,31 @@ public class RealmQuery<E extends RealmObject> {
      * @param fieldName the field name.
      * @return a non-null {@link RealmResults} containing the distinct objects.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public RealmResults<E> distinct(String fieldName) {
+        return distinct(fieldName, new String[0]);
+    }
+
+    /**
+     * Returns a distinct set of objects of a specific class, considering the combination of the values of several
+     * fields. Two objects are duplicates if they have equal values in all of the fields. If the result is sorted,
+     * the first object will be returned in case of multiple occurrences, otherwise it is undefined which object is
+     * returned. The fields don't need to be indexed. Supported types are boolean, byte, short, int, long, float,
+     * double, Date, String and their boxed variants.
+     *
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return a non-null {@link RealmResults} containing the distinct objects.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     */
+    public RealmResults<E> distinct(String firstFieldName, String... remainingFieldNames) {
         checkQueryIsNotReused();
-        long columnIndex = getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
+        long[] columnIndices = getAndValidateDistinctColumnIndices(firstFieldName, remainingFieldNames,
+                this.table.getTable());
         TableView tableView = this.query.findAll();
-        tableView.distinct(columnIndex);
+        tableView.distinct(columnIndices);
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1129,11 +1182,29 @@ public class RealmQuery<E extends RealmObject> {
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
      * query completes.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public RealmResults<E> distinctAsync(String fieldName) {
+        return distinctAsync(fieldName, new String[0]);
+    }
+
+    /**
+     * Asynchronously returns a distinct set of objects of a specific class, considering the combination of the
+     * values of several fields.
+     *
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return immediately a {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
+     * query completes.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     * @see #distinct(String, String...)
+     */
+    public RealmResults<E> distinctAsync(String firstFieldName, String... remainingFieldNames) {
         checkQueryIsNotReused();
-        final long columnIndex = getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
+        final long[] columnIndices = getAndValidateDistinctColumnIndices(firstFieldName, remainingFieldNames,
+                this.table.getTable());
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
@@ -1141,7 +1212,7 @@ public class RealmQuery<E extends RealmObject> {
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_DISTINCT);
-        argumentsHolder.columnIndex = columnIndex;
+        argumentsHolder.distinctColumnIndices = columnIndices;
 
         // we need to use the same configuration to open a background SharedGroup (i.e Realm)
         // to perform the query
@@ -1175,7 +1246,7 @@ public class RealmQuery<E extends RealmObject> {
                                 findDistinctWithHandover(sharedGroup.getNativePointer(),
                                         sharedGroup.getNativeReplicationPointer(),
                                         handoverQueryPointer,
-                                        columnIndex);
+                                        columnIndices);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1221,13 +1292,56 @@ public class RealmQuery<E extends RealmObject> {
         if (fieldName.contains(".")) {
             throw new IllegalArgumentException("Distinct operation on linked properties is not supported: " + fieldName);
         }
-        // check if the field is indexed
-        if (!table.hasSearchIndex(columnIndex)) {
-            throw new IllegalArgumentException(String.format("Field name '%s' must be indexed in order to use it for distinct queries.", fieldName));
-        }
         return columnIndex;
     }
 
+    // Find and validate the column indices for the field names used to create a distinctive TableView.
+    static long[] getAndValidateDistinctColumnIndices(String firstFieldName, String[] remainingFieldNames,
+                                                      Table table) {
+        if (remainingFieldNames == null) {
+            throw new IllegalArgumentException("Non-null field names must be provided.");
+        }
+        long[] columnIndices = new long[remainingFieldNames.length + 1];
+        columnIndices[0] = getAndValidateDistinctColumnIndex(firstFieldName, table);
+        for (int i = 0; i < remainingFieldNames.length; i++) {
+            columnIndices[i + 1] = getAndValidateDistinctColumnIndex(remainingFieldNames[i], table);
+        }
+        return columnIndices;
+    }
+
+    /**
+     * Sets the maximum number of threads {@link #count()}, {@link #sum(String)}, {@link #average(String)},
+     * {@link #min(String)}, {@link #max(String)}, {@link #minimumDate(String)} and {@link #maximumDate(String)} may
+     * use, overriding {@link RealmConfiguration.Builder#queryParallelism(int)} for this query.
+     * <p>
+     * A query on a large class is split into ranges of objects evaluated in parallel, while the calling thread waits
+     * for the result. Queries that can use an ordered index or a full-text index, queries on {@link RealmResults} or
+     * {@link RealmList}s and queries in a write transaction are always evaluated on the calling thread.
+     *
+     * @param parallelism the maximum number of threads, {@code 1} to evaluate the query on the calling thread only.
+     * @return the query object.
+     * @throws IllegalArgumentException if {@code parallelism} is less than {@code 1}.
+     */
+    public RealmQuery<E> parallel(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    // Returns the executor splitting the query into ranges evaluated in parallel, or null if it is evaluated directly.
+    private ParallelQueryExecutor getParallelQueryExecutor() {
+        int parallelism = (this.parallelism != 0) ? this.parallelism : realm.getConfiguration().getQueryParallelism();
+        if (parallelism < 2 || realm.isInTransaction() || !query.canSplitIntoRanges()) {
+            return null;
+        }
+        ParallelQueryExecutor executor = new ParallelQueryExecutor(realm.getConfiguration(),
+                realm.sharedGroupManager.getNativePointer(), query, table.size(), parallelism,
+                minRowsPerParallelRange);
+        return (executor.getRangeCount() > 1) ? executor : null;
+    }
+
     // Aggregates
 
     // Sum
@@ -1242,7 +1356,12 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Number sum(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
-        switch (table.getColumnType(columnIndex)) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null && isNumberType(type)) {
+            return executor.sum(columnIndex, type);
+        }
+        switch (type) {
             case INTEGER:
                 return query.sumInt(columnIndex);
             case FLOAT:
@@ -1267,7 +1386,12 @@ public class RealmQuery<E extends RealmObject> {
      */
     public double average(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
-        switch (table.getColumnType(columnIndex)) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null && isNumberType(type)) {
+            return executor.average(columnIndex, type);
+        }
+        switch (type) {
             case INTEGER:
                 return query.averageInt(columnIndex);
             case DOUBLE:
@@ -1293,7 +1417,12 @@ public class RealmQuery<E extends RealmObject> {
     public Number min(String fieldName) {
         realm.checkIfValid();
         long columnIndex = table.getColumnIndex(fieldName);
-        switch (table.getColumnType(columnIndex)) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null && isNumberType(type)) {
+            return executor.minimum(columnIndex, type);
+        }
+        switch (type) {
             case INTEGER:
                 return this.query.minimumInt(columnIndex);
             case FLOAT:
@@ -1316,6 +1445,10 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Date minimumDate(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null && table.getColumnType(columnIndex) == RealmFieldType.DATE) {
+            return executor.minimumDate(columnIndex);
+        }
         return this.query.minimumDate(columnIndex);
     }
 
@@ -1333,7 +1466,12 @@ public class RealmQuery<E extends RealmObject> {
     public Number max(String fieldName) {
         realm.checkIfValid();
         long columnIndex = table.getColumnIndex(fieldName);
-        switch (table.getColumnType(columnIndex)) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null && isNumberType(type)) {
+            return executor.maximum(columnIndex, type);
+        }
+        switch (type) {
             case INTEGER:
                 return this.query.maximumInt(columnIndex);
             case FLOAT:
@@ -1356,6 +1494,10 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Date maximumDate(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null && table.getColumnType(columnIndex) == RealmFieldType.DATE) {
+            return executor.maximumDate(columnIndex);
+        }
         return this.query.maximumDate(columnIndex);
     }
 
@@ -1366,9 +1508,406 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public long count() {
+        ParallelQueryExecutor executor = getParallelQueryExecutor();
+        if (executor != null) {
+            return executor.count();
+        }
         return this.query.count();
     }
 
+    // Percentiles and distinct counts
+
+    /**
+     * Finds the median of a field, which is its 50th percentile, see {@link #percentile(String, double)}.
+     *
+     * @param fieldName the field to find the median of. Only number fields are supported.
+     * @return the median, or {@code null} if no objects exist or they all have {@code null} as the value for the
+     * given field.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field.
+     */
+    public Double median(String fieldName) {
+        return percentile(fieldName, 50);
+    }
+
+    /**
+     * Finds a percentile of a field, e.g. the 95th percentile of a latency. The values of the objects that fulfill
+     * the query conditions are selected natively, without creating any object, and the percentile is interpolated
+     * linearly between the two closest values. Objects with {@code null} or NaN values are ignored.
+     *
+     * @param fieldName the field to find the percentile of. Only number fields are supported.
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the percentile, or {@code null} if no objects exist or they all have {@code null} as the value for the
+     * given field.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field, or the
+     * percentile isn't between 0 and 100.
+     */
+    public Double percentile(String fieldName, double percentile) {
+        return Statistics.toValue(percentiles(fieldName, percentile)[0]);
+    }
+
+    /**
+     * Finds several percentiles of a field at once, e.g. {@code percentiles("latency", 50, 95, 99)}. See
+     * {@link #percentile(String, double)}.
+     *
+     * @param fieldName the field to find the percentiles of. Only number fields are supported.
+     * @param percentiles the percentiles, between {@code 0} and {@code 100}.
+     * @return the percentiles in the order they were given. They are all {@code NaN} if there are no values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field, or no
+     * percentile is given or a percentile isn't between 0 and 100.
+     */
+    public double[] percentiles(String fieldName, double... percentiles) {
+        realm.checkIfValid();
+        long columnIndex = Statistics.getPercentileColumn(table.getTable(), fieldName);
+        return query.quantiles(columnIndex, Statistics.toQuantiles(percentiles), false);
+    }
+
+    /**
+     * Estimates several percentiles of a field. Instead of keeping all values to select the percentiles, the values
+     * are summarized in a sketch of bounded size, so the memory used doesn't grow with the number of objects. The
+     * rank of an estimated percentile is mostly within 1% of the number of values from the exact one, e.g. an
+     * estimated 95th percentile lies between the exact 94th and 96th percentiles. The 0th and 100th percentiles are
+     * exact.
+     *
+     * @param fieldName the field to estimate the percentiles of. Only number fields are supported.
+     * @param percentiles the percentiles, between {@code 0} and {@code 100}.
+     * @return the estimated percentiles in the order they were given. They are all {@code NaN} if there are no values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field, or no
+     * percentile is given or a percentile isn't between 0 and 100.
+     */
+    public double[] approximatePercentiles(String fieldName, double... percentiles) {
+        realm.checkIfValid();
+        long columnIndex = Statistics.getPercentileColumn(table.getTable(), fieldName);
+        return query.quantiles(columnIndex, Statistics.toQuantiles(percentiles), true);
+    }
+
+    /**
+     * Estimates the number of distinct values of a field amongst the objects that fulfill the query conditions, e.g.
+     * the number of distinct users. The values are counted natively with a HyperLogLog, which uses a fixed amount of
+     * memory however many values there are. The standard error of the estimate is about 0.8%, and small counts are
+     * usually exact. {@code null} values are not counted.
+     *
+     * @param fieldName the field to count the distinct values of. {@code boolean}, {@code byte}, {@code short},
+     * {@code int}, {@code long}, {@code float}, {@code double}, {@link String} and {@link Date} fields and their boxed
+     * variants are supported.
+     * @return the estimated number of distinct values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or has an unsupported type.
+     */
+    public long countDistinctApprox(String fieldName) {
+        realm.checkIfValid();
+        return query.countDistinctApprox(Statistics.getDistinctColumn(table.getTable(), fieldName));
+    }
+
+    /**
+     * Finds or estimates percentiles of a field on a background thread, see {@link #percentiles(String, double...)}
+     * and {@link #approximatePercentiles(String, double...)}. The percentiles are delivered to the callback on the
+     * thread of this query.
+     *
+     * @param fieldName the field to find the percentiles of.
+     * @param percentiles the percentiles, between {@code 0} and {@code 100}.
+     * @param approximate {@code true} to estimate the percentiles, {@code false} to find them exactly.
+     * @param callback the callback receiving the percentiles.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the computation.
+     * @throws IllegalArgumentException if the callback is {@code null}, the field doesn't exist, is a linked field or
+     * isn't a number field, or no percentile is given or a percentile isn't between 0 and 100.
+     * @throws IllegalStateException if the Realm is opened from a thread without a {@link android.os.Looper}.
+     */
+    public RealmAsyncTask percentilesAsync(String fieldName, double[] percentiles, final boolean approximate,
+                                           final PercentilesCallback callback) {
+        realm.checkIfValid();
+        if (callback == null) {
+            throw new IllegalArgumentException("Non-null 'callback' required.");
+        }
+        final long columnIndex = Statistics.getPercentileColumn(table.getTable(), fieldName);
+        final double[] quantiles = Statistics.toQuantiles(percentiles);
+        return submitAggregate(new AggregateTask<double[]>() {
+            @Override
+            public double[] run(long sharedGroupPtr, long replicationPtr, long handoverQueryPtr) {
+                return query.quantilesWithHandover(sharedGroupPtr, replicationPtr, handoverQueryPtr, columnIndex,
+                        quantiles, approximate);
+            }
+
+            @Override
+            public void onSuccess(double[] result) {
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    /**
+     * Estimates the number of distinct values of a field on a background thread, see
+     * {@link #countDistinctApprox(String)}. The count is delivered to the callback on the thread of this query.
+     *
+     * @param fieldName the field to count the distinct values of.
+     * @param callback the callback receiving the count.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the computation.
+     * @throws IllegalArgumentException if the callback is {@code null}, or the field doesn't exist, is a linked field
+     * or has an unsupported type.
+     * @throws IllegalStateException if the Realm is opened from a thread without a {@link android.os.Looper}.
+     */
+    public RealmAsyncTask countDistinctApproxAsync(String fieldName, final CountCallback callback) {
+        realm.checkIfValid();
+        if (callback == null) {
+            throw new IllegalArgumentException("Non-null 'callback' required.");
+        }
+        final long columnIndex = Statistics.getDistinctColumn(table.getTable(), fieldName);
+        return submitAggregate(new AggregateTask<Long>() {
+            @Override
+            public Long run(long sharedGroupPtr, long replicationPtr, long handoverQueryPtr) {
+                return query.countDistinctApproxWithHandover(sharedGroupPtr, replicationPtr, handoverQueryPtr,
+                        columnIndex);
+            }
+
+            @Override
+            public void onSuccess(Long result) {
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    // Computes an aggregate of the handed over query on a worker thread and delivers it on the thread of the Realm.
+    private interface AggregateTask<T> {
+        T run(long sharedGroupPtr, long replicationPtr, long handoverQueryPtr);
+
+        void onSuccess(T result);
+
+        void onError(Throwable error);
+    }
+
+    private <T> RealmAsyncTask submitAggregate(final AggregateTask<T> task) {
+        if (realm.handler == null) {
+            throw new IllegalStateException("Your Realm is opened from a thread without a Looper, " +
+                    "we need a Handler to invoke your callback");
+        }
+
+        // handover the query (to be used by a worker thread)
+        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        final Handler callerHandler = realm.handler;
+
+        final Future<?> pendingAggregate = Realm.asyncQueryExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (Thread.currentThread().isInterrupted()) {
+                    TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
+                    return;
+                }
+
+                T value = null;
+                Throwable error = null;
+                SharedGroup sharedGroup = null;
+                try {
+                    sharedGroup = new SharedGroup(realmConfiguration.getPath(),
+                            SharedGroup.IMPLICIT_TRANSACTION,
+                            realmConfiguration.getDurability(),
+                            realmConfiguration.getEncryptionKey());
+                    value = task.run(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(),
+                            handoverQueryPointer);
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    if (sharedGroup != null && !sharedGroup.isClosed()) {
+                        sharedGroup.close();
+                    }
+                }
+
+                if (Thread.currentThread().isInterrupted() || !callerHandler.getLooper().getThread().isAlive()) {
+                    return;
+                }
+                final T result = value;
+                final Throwable exception = error;
+                callerHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (exception == null) {
+                            task.onSuccess(result);
+                        } else {
+                            task.onError(exception);
+                        }
+                    }
+                });
+            }
+        });
+        return new RealmAsyncTask(pendingAggregate);
+    }
+
+    // Group-by
+
+    /**
+     * Groups the objects that fulfill the query conditions by the values of one or more fields and computes several
+     * aggregates of every group, in a single pass over the objects without creating any of them. For example the
+     * total amount, the number of payments and the latest payment by category and day:
+     *
+     * <pre>
+     * {@code
+     * GroupedResults groups = realm.where(Payment.class).greaterThan("amount", 0)
+     *         .groupBy(new String[] {"category", "day"},
+     *                 Aggregate.sum("amount"), Aggregate.count(), Aggregate.max("timestamp"));
+     * for (int i = 0; i < groups.size(); i++) {
+     *     String category = groups.getStringKeys("category")[i];
+     *     long total = groups.getLongValues(0)[i];
+     * }
+     * }
+     * </pre>
+     *
+     * @param keyFieldNames the fields to group by. {@code boolean}, {@code byte}, {@code short}, {@code int},
+     * {@code long}, {@code float}, {@code double}, {@link String} and {@link Date} fields and their boxed variants are
+     * supported. {@code null} is a key of its own.
+     * @param aggregates the aggregates to compute for every group.
+     * @return the groups sorted by their keys.
+     * @throws IllegalArgumentException if no key field is given, a field doesn't exist, is a linked field or has a type
+     * not supported by the group-by or the aggregate.
+     * @see RealmResults#groupByLive(String[], Aggregate...)
+     */
+    public GroupedResults groupBy(String[] keyFieldNames, Aggregate... aggregates) {
+        realm.checkIfValid();
+        return new GroupBy(table.getTable(), keyFieldNames, aggregates).find(query);
+    }
+
+    /**
+     * Groups the objects that fulfill the query conditions on a background thread, see
+     * {@link #groupBy(String[], Aggregate...)}. The groups are delivered to the callback on the thread of this query.
+     *
+     * @param keyFieldNames the fields to group by.
+     * @param aggregates the aggregates to compute for every group.
+     * @param callback the callback receiving the groups.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the group-by.
+     * @throws IllegalArgumentException if the callback is {@code null}, no key field is given, a field doesn't exist,
+     * is a linked field or has a type not supported by the group-by or the aggregate.
+     * @throws IllegalStateException if the Realm is opened from a thread without a {@link android.os.Looper}.
+     */
+    public RealmAsyncTask groupByAsync(String[] keyFieldNames, Aggregate[] aggregates,
+                                       final GroupByCallback callback) {
+        realm.checkIfValid();
+        if (callback == null) {
+            throw new IllegalArgumentException("Non-null 'callback' required.");
+        }
+        if (realm.handler == null) {
+            throw new IllegalStateException("Your Realm is opened from a thread without a Looper, " +
+                    "we need a Handler to invoke your callback");
+        }
+        final GroupBy groupBy = new GroupBy(table.getTable(), keyFieldNames, aggregates);
+
+        // handover the query (to be used by a worker thread)
+        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        final Handler callerHandler = realm.handler;
+
+        final Future<?> pendingGroupBy = Realm.asyncQueryExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (Thread.currentThread().isInterrupted()) {
+                    TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
+                    return;
+                }
+
+                GroupedResults groups = null;
+                Throwable error = null;
+                SharedGroup sharedGroup = null;
+                try {
+                    sharedGroup = new SharedGroup(realmConfiguration.getPath(),
+                            SharedGroup.IMPLICIT_TRANSACTION,
+                            realmConfiguration.getDurability(),
+                            realmConfiguration.getEncryptionKey());
+                    groups = groupBy.findWithHandover(query, sharedGroup.getNativePointer(),
+                            sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    if (sharedGroup != null && !sharedGroup.isClosed()) {
+                        sharedGroup.close();
+                    }
+                }
+
+                if (Thread.currentThread().isInterrupted() || !callerHandler.getLooper().getThread().isAlive()) {
+                    return;
+                }
+                final GroupedResults result = groups;
+                final Throwable exception = error;
+                callerHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (exception == null) {
+                            callback.onSuccess(result);
+                        } else {
+                            callback.onError(exception);
+                        }
+                    }
+                });
+            }
+        });
+        return new RealmAsyncTask(pendingGroupBy);
+    }
+
+    /**
+     * Creates an aggregate of the objects that fulfill the query conditions which is kept up to date, like a count of
+     * unread messages or the balance of an account. Instead of running the query again on every change, only the
+     * objects inserted, deleted or modified by each commit are evaluated, and listeners are only notified when the
+     * value changes:
+     *
+     * <pre>
+     * {@code
+     * LiveAggregate unread = realm.where(Message.class).equalTo("read", false).liveAggregate(Aggregate.count());
+     * unread.addChangeListener(new RealmChangeListener() {
+     *     public void onChange() {
+     *         badge.setCount(unread.get().intValue());
+     *     }
+     * });
+     * }
+     * </pre>
+     *
+     * The aggregate must be closed with {@link LiveAggregate#close()} when it is no longer needed.
+     *
+     * @param aggregate the aggregate to keep up to date. Sums, averages, minimums and maximums are supported for
+     * {@code int}, {@code long}, {@code short}, {@code byte}, {@code float} and {@code double} fields and their boxed
+     * variants.
+     * @return the live aggregate, computed for the current version of the Realm.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or has a type not supported by
+     * the aggregate.
+     * @throws UnsupportedOperationException if the query is on a {@link RealmResults} or a {@link RealmList} rather
+     * than on all objects of a class.
+     */
+    public LiveAggregate liveAggregate(Aggregate aggregate) {
+        realm.checkIfValid();
+        if (!query.isOnTable()) {
+            throw new UnsupportedOperationException(
+                    "Live aggregates are only supported by queries on all objects of a class.");
+        }
+        return new LiveAggregate(realm, table.getTable(), query, aggregate);
+    }
+
+    private static boolean isNumberType(RealmFieldType type) {
+        return type == RealmFieldType.INTEGER || type == RealmFieldType.FLOAT || type == RealmFieldType.DOUBLE;
+    }
+
+    /**
+     * Explains how the query is evaluated: its conditions, which of them use a search index or follow links to other
+     * objects, the estimated number of objects scanned and the number of matches and time it took to run the query
+     * once. This is meant as a debugging aid, e.g. by logging {@code query.explain().toString()}, and it does not
+     * prevent the query from being used afterwards.
+     *
+     * @return the {@link QueryPlan} of this query.
+     * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
+     */
+    public QueryPlan explain() {
+        realm.checkIfValid();
+        long rowsInScope = (view != null) ? view.size() : table.size();
+        long start = System.nanoTime();
+        long rowsMatched = query.count();
+        long durationNanos = System.nanoTime() - start;
+        return new QueryPlan(schema.getClassName(), schema.table, query.getConditions(), query.getKeyLookupIndex(),
+                query.getKeyLookupKey(), rowsInScope, rowsMatched, durationNanos);
+    }
+
     /**
      * Finds all objects that fulfill the query conditions.
      *
@@ -1480,14 +2019,25 @@ public class RealmQuery<E extends RealmObject> {
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
      * objects is returned.
      * @throws java.lang.IllegalArgumentException if field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * {@link RealmList}.
      */
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldName, Sort sortOrder) {
         checkQueryIsNotReused();
-        TableView tableView = query.findAll();
-        long columnIndex = getColumnIndexForSort(fieldName);
-        tableView.sort(columnIndex, sortOrder);
+        long[] columnIndices = schema.getColumnIndicesForSort(fieldName);
+        TableView tableView = null;
+        if (columnIndices.length == 1 && sortOrder == Sort.ASCENDING) {
+            // An ordered index on the field already has the objects in order.
+            tableView = query.findAllInIndexOrder(columnIndices[0]);
+        }
+        if (tableView == null) {
+            tableView = query.findAll();
+            if (columnIndices.length == 1) {
+                tableView.sort(columnIndices[0], sortOrder);
+            } else {
+                tableView.sort(new long[][] {columnIndices}, new Sort[] {sortOrder});
+            }
+        }
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1505,11 +2055,16 @@ public class RealmQuery<E extends RealmObject> {
      * @return immediately an empty {@link RealmResults}. Users need to register a listener
      *         {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
      * @throws java.lang.IllegalArgumentException if field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * {@link RealmList}.
      */
     public RealmResults<E> findAllSortedAsync(final String fieldName, final Sort sortOrder) {
         checkQueryIsNotReused();
-        long columnIndex = getColumnIndexForSort(fieldName);
+        long[] columnIndices = schema.getColumnIndicesForSort(fieldName);
+        if (columnIndices.length > 1) {
+            // Only the multi-sort path knows how to follow links.
+            return findAllMultiSortedAsync(new long[][] {columnIndices}, new Sort[] {sortOrder});
+        }
+        final long columnIndex = columnIndices[0];
 
         // capture the query arguments for future retries & update
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
@@ -1547,8 +2102,6 @@ public class RealmQuery<E extends RealmObject> {
                                 realmConfiguration.getDurability(),
                                 realmConfiguration.getEncryptionKey());
 
-                        long columnIndex = getColumnIndexForSort(fieldName);
-
                         // run the query & handover the table view for the caller thread
                         long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, sortOrder);
@@ -1620,7 +2173,7 @@ public class RealmQuery<E extends RealmObject> {
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero 
      *         objects is returned.
      * @throws java.lang.IllegalArgumentException if one of the field names does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * {@link RealmList}.
      */
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldNames[], Sort sortOrders[]) {
@@ -1629,13 +2182,11 @@ public class RealmQuery<E extends RealmObject> {
         if (fieldNames.length == 1 && sortOrders.length == 1) {
             return findAllSorted(fieldNames[0], sortOrders[0]);
         } else {
-            TableView tableView = query.findAll();
-            List<Long> columnIndices = new ArrayList<Long>();
+            long[][] columnIndices = new long[fieldNames.length][];
             for (int i = 0; i < fieldNames.length; i++) {
-                String fieldName = fieldNames[i];
-                long columnIndex = getColumnIndexForSort(fieldName);
-                columnIndices.add(columnIndex);
+                columnIndices[i] = schema.getColumnIndicesForSort(fieldNames[i]);
             }
+            TableView tableView = query.findAll();
             tableView.sort(columnIndices, sortOrders);
 
             RealmResults<E> realmResults;
@@ -1661,7 +2212,7 @@ public class RealmQuery<E extends RealmObject> {
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
      * @see io.realm.RealmResults
      * @throws java.lang.IllegalArgumentException if one of the field names does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * {@link RealmList}.
      */
     public RealmResults<E> findAllSortedAsync(String fieldNames[], final Sort[] sortOrders) {
         checkQueryIsNotReused();
@@ -1671,81 +2222,82 @@ public class RealmQuery<E extends RealmObject> {
             return findAllSortedAsync(fieldNames[0], sortOrders[0]);
 
         } else {
-            final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
+            long[][] indices = new long[fieldNames.length][];
+            for (int i = 0; i < fieldNames.length; i++) {
+                indices[i] = schema.getColumnIndicesForSort(fieldNames[i]);
+            }
+            return findAllMultiSortedAsync(indices, sortOrders);
+        }
+    }
 
-            // Handover the query (to be used by a worker thread)
-            final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+    private RealmResults<E> findAllMultiSortedAsync(final long[][] indices, final Sort[] sortOrders) {
+        final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
-            // We need to use the same configuration to open a background SharedGroup to perform the query
-            final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        // Handover the query (to be used by a worker thread)
+        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
-            final long indices[] = new long[fieldNames.length];
-            for (int i = 0; i < fieldNames.length; i++) {
-                String fieldName = fieldNames[i];
-                long columnIndex = getColumnIndexForSort(fieldName);
-                indices[i] = columnIndex;
-            }
+        // We need to use the same configuration to open a background SharedGroup to perform the query
+        final RealmConfiguration realmConfiguration = realm.getConfiguration();
 
-            // capture the query arguments for future retries & update
-            argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
-            argumentsHolder.sortOrders = sortOrders;
-            argumentsHolder.columnIndices = indices;
+        // capture the query arguments for future retries & update
+        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
+        argumentsHolder.sortOrders = sortOrders;
+        argumentsHolder.columnIndices = indices;
 
-            // prepare the promise result
-            RealmResults<E> realmResults;
-            if (isDynamicQuery()) {
-                //noinspection unchecked
-                realmResults = (RealmResults<E>) RealmResults.createFromDynamicClass(realm, query, className);
-            } else {
-                realmResults = RealmResults.createFromTableQuery(realm, query, clazz);
-            }
+        // prepare the promise result
+        RealmResults<E> realmResults;
+        if (isDynamicQuery()) {
+            //noinspection unchecked
+            realmResults = (RealmResults<E>) RealmResults.createFromDynamicClass(realm, query, className);
+        } else {
+            realmResults = RealmResults.createFromTableQuery(realm, query, clazz);
+        }
+
+        final WeakReference<RealmResults<? extends RealmObject>> weakRealmResults = realm.handlerController.addToAsyncRealmResults(realmResults, this);
+
+        final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                if (!Thread.currentThread().isInterrupted()) {
+                    SharedGroup sharedGroup = null;
+
+                    try {
+                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
+                                SharedGroup.IMPLICIT_TRANSACTION,
+                                realmConfiguration.getDurability(),
+                                realmConfiguration.getEncryptionKey());
+
+                        // run the query & handover the table view for the caller thread
+                        long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
+                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, indices, sortOrders);
+
+                        QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
+                        result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
+                        result.versionID = sharedGroup.getVersion();
+                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                                weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
+
+                        return handoverTableViewPointer;
+                    } catch (Exception e) {
+                        RealmLog.e(e.getMessage(), e);
+                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
+                                weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
-            final WeakReference<RealmResults<? extends RealmObject>> weakRealmResults = realm.handlerController.addToAsyncRealmResults(realmResults, this);
-
-            final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
-                @Override
-                public Long call() throws Exception {
-                    if (!Thread.currentThread().isInterrupted()) {
-                        SharedGroup sharedGroup = null;
-
-                        try {
-                            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                    SharedGroup.IMPLICIT_TRANSACTION,
-                                    realmConfiguration.getDurability(),
-                                    realmConfiguration.getEncryptionKey());
-
-                            // run the query & handover the table view for the caller thread
-                            long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
-                                    sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, indices, sortOrders);
-
-                            QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
-                            result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
-                            result.versionID = sharedGroup.getVersion();
-                            closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                    weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
-
-                            return handoverTableViewPointer;
-                        } catch (Exception e) {
-                            RealmLog.e(e.getMessage(), e);
-                            closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                    weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
-
-                        } finally {
-                            if (sharedGroup != null && !sharedGroup.isClosed()) {
-                                sharedGroup.close();
-                            }
+                    } finally {
+                        if (sharedGroup != null && !sharedGroup.isClosed()) {
+                            sharedGroup.close();
                         }
-                    } else {
-                        TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                     }
-
-                    return INVALID_NATIVE_POINTER;
+                } else {
+                    TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                 }
-            });
 
-            realmResults.setPendingQuery(pendingQuery);
-            return realmResults;
-        }
+                return INVALID_NATIVE_POINTER;
+            }
+        });
+
+        realmResults.setPendingQuery(pendingQuery);
+        return realmResults;
     }
 
     /**
@@ -1842,6 +2394,46 @@ public class RealmQuery<E extends RealmObject> {
         }
     }
 
+    /**
+     * Passes the objects fulfilling the query conditions to a callback one by one, until the callback stops the scan
+     * or all objects have been passed. Unlike {@link #findAll()}, the matches are not collected before the first one is
+     * passed. They are found in small chunks as the scan proceeds, so the memory used doesn't depend on the number of
+     * matches, and stopping the scan early means the remaining objects are never looked at.
+     * <p>
+     * The objects are passed in the order of the class, {@link RealmResults} or {@link RealmList} queried. Objects of
+     * the class must not be changed by the callback.
+     *
+     * @param callback the callback receiving the matching objects.
+     * @return the number of objects passed to the callback.
+     * @throws java.util.ConcurrentModificationException if objects of the class are changed during the scan.
+     */
+    public long scan(ScanCallback<E> callback) {
+        realm.checkIfValid();
+        checkQueryIsNotReused();
+        long tableVersion = schema.table.version();
+        long fromRowIndex = 0;
+        long endRowIndex = (view != null) ? view.size() : table.size();
+        long count = 0;
+        while (true) {
+            long[] rowIndices = query.findChunk(fromRowIndex, endRowIndex, SCAN_CHUNK_SIZE);
+            for (long rowIndex : rowIndices) {
+                E realmObject = realm.get(clazz, className, getSourceRowIndex(rowIndex));
+                count++;
+                if (!callback.onMatch(realmObject)) {
+                    return count;
+                }
+                if (schema.table.version() != tableVersion) {
+                    throw new ConcurrentModificationException(
+                            "Objects of the queried class must not be changed while scanning the query results.");
+                }
+            }
+            if (rowIndices.length < SCAN_CHUNK_SIZE) {
+                return count;
+            }
+            fromRowIndex = rowIndices[rowIndices.length - 1] + 1;
+        }
+    }
+
     /**
      * Similar to {@link #findFirst()} but runs asynchronously on a worker thread
      * This method is only available from a Looper thread.
@@ -1942,6 +2534,10 @@ public class RealmQuery<E extends RealmObject> {
     }
 
     private WeakReference<Handler> getWeakReferenceHandler() {
+        if (realm.isFrozen()) {
+            throw new IllegalStateException("Async queries are not supported on frozen Realms, since their results " +
+                    "never change. Use the synchronous version of the query instead.");
+        }
         if (realm.handler == null) {
             throw new IllegalStateException("Your Realm is opened from a thread without a Looper." +
                     " Async queries need a Handler to send results of your query");
@@ -1976,6 +2572,11 @@ public class RealmQuery<E extends RealmObject> {
         if (rowIndex < 0) {
             return rowIndex;
         }
+        return getSourceRowIndex(rowIndex);
+    }
+
+    // Converts an index returned by the query into the index of the row in the table of the class.
+    private long getSourceRowIndex(long rowIndex) {
         if (this.view != null) {
             return view.getTargetRowIndex(rowIndex);
         } else if (table instanceof TableView){
@@ -1985,21 +2586,6 @@ public class RealmQuery<E extends RealmObject> {
         }
     }
 
-    // Get the column index for sorting related functions. A proper exception will be thrown if the field doesn't exist
-    // or it belongs to the child object.
-    private long getColumnIndexForSort(String fieldName) {
-        if (fieldName.contains(".")) {
-            throw new IllegalArgumentException("Sorting using child object fields is not supported: " + fieldName);
-        }
-
-        Long columnIndex = schema.getFieldIndex(fieldName);
-        if (columnIndex == null || columnIndex < 0) {
-            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
-        }
-
-        return columnIndex;
-    }
-
     public ArgumentsHolder getArgument() {
         return argumentsHolder;
     }
@@ -2012,4 +2598,87 @@ public class RealmQuery<E extends RealmObject> {
     long handoverQueryPointer() {
         return query.handoverQuery(realm.sharedGroupManager.getNativePointer());
     }
+
+    /**
+     * Returns the Realm this query belongs to.
+     */
+    BaseRealm getRealm() {
+        return realm;
+    }
+
+    /**
+     * Returns the native query, for APIs which run it themselves like {@link BaseRealm#writePartialCopyTo}.
+     */
+    TableQuery getTableQuery() {
+        return query;
+    }
+
+    /**
+     * Callback receiving the groups of {@link #groupByAsync(String[], Aggregate[], GroupByCallback)}. It is invoked
+     * on the thread of the Realm which started the group-by.
+     */
+    public interface GroupByCallback {
+        /**
+         * Called once the objects have been grouped.
+         *
+         * @param groups the groups sorted by their keys.
+         */
+        void onSuccess(GroupedResults groups);
+
+        /**
+         * Called if the objects could not be grouped.
+         */
+        void onError(Throwable error);
+    }
+
+    /**
+     * Callback receiving the percentiles of {@link #percentilesAsync(String, double[], boolean, PercentilesCallback)}.
+     * It is invoked on the thread of the Realm which started the computation.
+     */
+    public interface PercentilesCallback {
+        /**
+         * Called once the percentiles have been computed.
+         *
+         * @param percentiles the percentiles in the order they were given, all {@code NaN} if there are no values.
+         */
+        void onSuccess(double[] percentiles);
+
+        /**
+         * Called if the percentiles could not be computed.
+         */
+        void onError(Throwable error);
+    }
+
+    /**
+     * Callback receiving the count of {@link #countDistinctApproxAsync(String, CountCallback)}. It is invoked on the
+     * thread of the Realm which started the count.
+     */
+    public interface CountCallback {
+        /**
+         * Called once the values have been counted.
+         *
+         * @param count the estimated number of distinct values.
+         */
+        void onSuccess(long count);
+
+        /**
+         * Called if the values could not be counted.
+         */
+        void onError(Throwable error);
+    }
+
+    /**
+     * Receives the objects found by {@link RealmQuery#scan(ScanCallback)}.
+     *
+     * @param <E> the class of the objects queried.
+     */
+    public interface ScanCallback<E extends RealmObject> {
+        /**
+         * Called for every object fulfilling the query conditions.
+         *
+         * @param object the matching object.
+         * @return {@code true} to continue the scan, {@code false} to stop it.
+         */
+        boolean onMatch(E object);
+    }
 }
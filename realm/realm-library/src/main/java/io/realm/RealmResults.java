@@ -17,8 +17,13 @@
 package io.realm;
 
 
+import android.annotation.TargetApi;
+import android.os.Build;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Date;
@@ -294,22 +299,17 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     // Sorting
 
     // aux. method used by sort methods
-    private long getColumnIndex(String fieldName) {
-        if (fieldName.contains(".")) {
-            throw new IllegalArgumentException("Sorting using child object fields is not supported: " + fieldName);
-        }
-        long columnIndex = table.getColumnIndex(fieldName);
-        if (columnIndex < 0) {
-            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
-        }
-        return columnIndex;
+    private long[] getColumnIndicesForSort(String fieldName) {
+        RealmObjectSchema schema = (classSpec != null) ? realm.schema.getSchemaForClass(classSpec)
+                : realm.schema.getSchemaForClass(className);
+        return schema.getColumnIndicesForSort(fieldName);
     }
 
     /**
      * Sorts (ascending) an existing {@link io.realm.RealmResults}.
      *
      * @param fieldName the field name to sort by. Only fields of type boolean, short, int, long, float, double, Date,
-     *                  and String are supported.
+     *                  and String are supported. Fields of linked objects can be referred to as "dog.name".
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
     public void sort(String fieldName) {
@@ -320,7 +320,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * Sorts existing {@link io.realm.RealmResults}.
      *
      * @param fieldName the field name to sort by. Only fields of type boolean, short, int, long, float, double, Date,
-     *                  and String are supported.
+     *                  and String are supported. Fields of linked objects can be referred to as "dog.name".
      * @param sortOrder the direction to sort by.
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
@@ -332,8 +332,12 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         TableOrView table = getTable();
 
         if (table instanceof TableView) {
-            long columnIndex = getColumnIndex(fieldName);
-            ((TableView) table).sort(columnIndex, sortOrder);
+            long[] columnIndices = getColumnIndicesForSort(fieldName);
+            if (columnIndices.length == 1) {
+                ((TableView) table).sort(columnIndices[0], sortOrder);
+            } else {
+                ((TableView) table).sort(new long[][] {columnIndices}, new Sort[] {sortOrder});
+            }
         } else {
             throw new IllegalArgumentException("Only RealmResults can be sorted - please use allObject() to create a RealmResults.");
         }
@@ -343,7 +347,8 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * Sorts existing {@link io.realm.RealmResults}.
      *
      * @param fieldNames an array of field names to sort by. Only fields of type boolean, short, int, long, float,
-     *                   double, Date, and String are supported.
+     *                   double, Date, and String are supported. Fields of linked objects can be referred to as
+     *                   "dog.name".
      * @param sortOrders the directions to sort by.
      * @throws java.lang.IllegalArgumentException if a field name does not exist.
      */
@@ -360,11 +365,9 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             realm.checkIfValid();
             TableOrView table = getTable();
             if (table instanceof TableView) {
-                List<Long> columnIndices = new ArrayList<Long>();
+                long[][] columnIndices = new long[fieldNames.length][];
                 for (int i = 0; i < fieldNames.length; i++) {
-                    String fieldName = fieldNames[i];
-                    long columnIndex = getColumnIndex(fieldName);
-                    columnIndices.add(columnIndex);
+                    columnIndices[i] = getColumnIndicesForSort(fieldNames[i]);
                 }
                 ((TableView) table).sort(columnIndices, sortOrders);
             }
@@ -563,17 +566,34 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * @param fieldName the field name.
      * @return a non-null {@link RealmResults} containing the distinct objects.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public RealmResults<E> distinct(String fieldName) {
+        return distinct(fieldName, new String[0]);
+    }
+
+    /**
+     * Returns a distinct set of objects of a specific class, considering the combination of the values of several
+     * fields. If the result is sorted, the first object will be returned in case of multiple occurrences, otherwise it
+     * is undefined which object is returned.
+     *
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return a non-null {@link RealmResults} containing the distinct objects.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     * @see RealmQuery#distinct(String, String...)
+     */
+    public RealmResults<E> distinct(String firstFieldName, String... remainingFieldNames) {
         realm.checkIfValid();
-        long columnIndex = RealmQuery.getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
+        long[] columnIndices = RealmQuery.getAndValidateDistinctColumnIndices(firstFieldName, remainingFieldNames,
+                this.table.getTable());
 
         TableOrView tableOrView = getTable();
         if (tableOrView instanceof Table) {
-            this.table = ((Table) tableOrView).getDistinctView(columnIndex);
+            this.table = ((Table) tableOrView).getDistinctView(columnIndices);
         } else {
-            ((TableView) tableOrView).distinct(columnIndex);
+            ((TableView) tableOrView).distinct(columnIndices);
         }
         return this;
     }
@@ -588,12 +608,180 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
      * query completes.
      * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
-     * is not indexed, or points to linked fields.
+     * or points to linked fields.
      */
     public RealmResults<E> distinctAsync(String fieldName) {
         return where().distinctAsync(fieldName);
     }
 
+    /**
+     * Asynchronously returns a distinct set of objects of a specific class, considering the combination of the
+     * values of several fields.
+     *
+     * @param firstFieldName the first field name.
+     * @param remainingFieldNames the remaining field names.
+     * @return immediately a {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the
+     * query completes.
+     * @throws IllegalArgumentException if a field is null, does not exist, is an unsupported type,
+     * or points to linked fields.
+     */
+    public RealmResults<E> distinctAsync(String firstFieldName, String... remainingFieldNames) {
+        return where().distinctAsync(firstFieldName, remainingFieldNames);
+    }
+
+    // Group-by
+
+    /**
+     * Groups these results by the values of one or more fields and computes several aggregates of every group. The
+     * results of an async query which haven't been loaded yet have no groups.
+     *
+     * @param keyFieldNames the fields to group by.
+     * @param aggregates the aggregates to compute for every group.
+     * @return the groups sorted by their keys.
+     * @throws IllegalArgumentException if no key field is given, a field doesn't exist, is a linked field or has a type
+     * not supported by the group-by or the aggregate.
+     * @see RealmQuery#groupBy(String[], Aggregate...)
+     */
+    public GroupedResults groupBy(String[] keyFieldNames, Aggregate... aggregates) {
+        realm.checkIfValid();
+        GroupBy groupBy = new GroupBy(getTable().getTable(), keyFieldNames, aggregates);
+        return isLoaded() ? groupBy.find(getTable()) : groupBy.empty();
+    }
+
+    /**
+     * Groups these results on a background thread, see {@link RealmQuery#groupByAsync(String[], Aggregate[],
+     * RealmQuery.GroupByCallback)}.
+     *
+     * @param keyFieldNames the fields to group by.
+     * @param aggregates the aggregates to compute for every group.
+     * @param callback the callback receiving the groups.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the group-by.
+     */
+    public RealmAsyncTask groupByAsync(String[] keyFieldNames, Aggregate[] aggregates,
+                                       RealmQuery.GroupByCallback callback) {
+        return where().groupByAsync(keyFieldNames, aggregates, callback);
+    }
+
+    /**
+     * Returns a group-by of these results which is kept up to date. Listeners registered on it are only notified when
+     * the groups change, not for every change of these results.
+     *
+     * @param keyFieldNames the fields to group by.
+     * @param aggregates the aggregates to compute for every group.
+     * @return the live groups.
+     * @throws IllegalArgumentException if no key field is given, a field doesn't exist, is a linked field or has a type
+     * not supported by the group-by or the aggregate.
+     */
+    public LiveGroupedResults groupByLive(String[] keyFieldNames, Aggregate... aggregates) {
+        realm.checkIfValid();
+        return new LiveGroupedResults(this, new GroupBy(getTable().getTable(), keyFieldNames, aggregates));
+    }
+
+    /**
+     * Finds the median of a field of these results, see {@link RealmQuery#median(String)}.
+     *
+     * @param fieldName the field to find the median of. Only number fields are supported.
+     * @return the median, or {@code null} if there are no values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field.
+     */
+    public Double median(String fieldName) {
+        return percentile(fieldName, 50);
+    }
+
+    /**
+     * Finds a percentile of a field of these results, see {@link RealmQuery#percentile(String, double)}.
+     *
+     * @param fieldName the field to find the percentile of. Only number fields are supported.
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the percentile, or {@code null} if there are no values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field, or the
+     * percentile isn't between 0 and 100.
+     */
+    public Double percentile(String fieldName, double percentile) {
+        return Statistics.toValue(percentiles(fieldName, percentile)[0]);
+    }
+
+    /**
+     * Finds several percentiles of a field of these results, see {@link RealmQuery#percentiles(String, double...)}.
+     * The results of an async query which haven't been loaded yet have no values.
+     *
+     * @param fieldName the field to find the percentiles of. Only number fields are supported.
+     * @param percentiles the percentiles, between {@code 0} and {@code 100}.
+     * @return the percentiles in the order they were given. They are all {@code NaN} if there are no values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field, or no
+     * percentile is given or a percentile isn't between 0 and 100.
+     */
+    public double[] percentiles(String fieldName, double... percentiles) {
+        return percentiles(fieldName, percentiles, false);
+    }
+
+    /**
+     * Estimates several percentiles of a field of these results, see
+     * {@link RealmQuery#approximatePercentiles(String, double...)}.
+     *
+     * @param fieldName the field to estimate the percentiles of. Only number fields are supported.
+     * @param percentiles the percentiles, between {@code 0} and {@code 100}.
+     * @return the estimated percentiles in the order they were given. They are all {@code NaN} if there are no values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field, or no
+     * percentile is given or a percentile isn't between 0 and 100.
+     */
+    public double[] approximatePercentiles(String fieldName, double... percentiles) {
+        return percentiles(fieldName, percentiles, true);
+    }
+
+    private double[] percentiles(String fieldName, double[] percentiles, boolean approximate) {
+        realm.checkIfValid();
+        long columnIndex = Statistics.getPercentileColumn(getTable().getTable(), fieldName);
+        double[] quantiles = Statistics.toQuantiles(percentiles);
+        if (!isLoaded()) {
+            return Statistics.empty(quantiles);
+        }
+        return Statistics.percentiles(getTable(), columnIndex, quantiles, approximate);
+    }
+
+    /**
+     * Estimates the number of distinct values of a field of these results, see
+     * {@link RealmQuery#countDistinctApprox(String)}. The results of an async query which haven't been loaded yet
+     * have no values.
+     *
+     * @param fieldName the field to count the distinct values of.
+     * @return the estimated number of distinct values.
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or has an unsupported type.
+     */
+    public long countDistinctApprox(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = Statistics.getDistinctColumn(getTable().getTable(), fieldName);
+        return isLoaded() ? Statistics.countDistinctApprox(getTable(), columnIndex) : 0;
+    }
+
+    /**
+     * Finds or estimates percentiles of a field of these results on a background thread, see
+     * {@link RealmQuery#percentilesAsync(String, double[], boolean, RealmQuery.PercentilesCallback)}.
+     *
+     * @param fieldName the field to find the percentiles of.
+     * @param percentiles the percentiles, between {@code 0} and {@code 100}.
+     * @param approximate {@code true} to estimate the percentiles, {@code false} to find them exactly.
+     * @param callback the callback receiving the percentiles.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the computation.
+     */
+    public RealmAsyncTask percentilesAsync(String fieldName, double[] percentiles, boolean approximate,
+                                           RealmQuery.PercentilesCallback callback) {
+        return where().percentilesAsync(fieldName, percentiles, approximate, callback);
+    }
+
+    /**
+     * Estimates the number of distinct values of a field of these results on a background thread, see
+     * {@link RealmQuery#countDistinctApproxAsync(String, RealmQuery.CountCallback)}.
+     *
+     * @param fieldName the field to count the distinct values of.
+     * @param callback the callback receiving the count.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the count.
+     */
+    public RealmAsyncTask countDistinctApproxAsync(String fieldName, RealmQuery.CountCallback callback) {
+        return where().countDistinctApproxAsync(fieldName, callback);
+    }
+
     // Deleting
 
     /**
@@ -869,6 +1057,9 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             throw new IllegalArgumentException("Listener should not be null");
         }
         realm.checkIfValid();
+        if (realm.isFrozen()) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
         if (realm.handler == null) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
         }
@@ -934,6 +1125,75 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    /**
+     * Returns a frozen snapshot of these results. The frozen results and their objects can be read from any thread at
+     * the same time without copying them, but they never change and can't be written or observed. They belong to the
+     * frozen Realm of the current version, see {@link Realm#freeze()}.
+     *
+     * @return the frozen results, or these results if they are already frozen.
+     * @throws IllegalStateException if the Realm is in a write transaction or the results of an async query haven't
+     * been loaded yet.
+     */
+    @SuppressWarnings("unchecked")
+    public RealmResults<E> freeze() {
+        realm.checkIfValid();
+        if (realm.isFrozen()) {
+            return this;
+        }
+        if (!isLoaded()) {
+            throw new IllegalStateException("Cannot freeze the results of an async query before they are loaded.");
+        }
+        BaseRealm frozenRealm = realm.getFrozenRealm();
+        Table frozenTable = (className != null) ? frozenRealm.schema.getTable(className)
+                : frozenRealm.schema.getTable(classSpec);
+        TableOrView frozenView = frozenTable;
+        TableOrView table = getTable();
+        if (table instanceof TableView) {
+            frozenView = ((TableView) table).copyToSharedGroup(realm.sharedGroupManager.getSharedGroup(),
+                    frozenRealm.sharedGroupManager.getSharedGroup(), frozenTable);
+        }
+        if (className != null) {
+            return (RealmResults<E>) createFromDynamicTableOrView(frozenRealm, frozenView, className);
+        }
+        return createFromTableOrView(frozenRealm, frozenView, classSpec);
+    }
+
+    /**
+     * Writes these results as a JSON array of objects. The objects are written one at a time, so the memory used
+     * doesn't depend on the number of results. Links are followed up to {@code depth} levels. A link which is not
+     * followed, because the depth is reached or it points back to an object being written (a cycle), is written as an
+     * object containing only the primary key if the linked class has one, and left out otherwise. The results of an
+     * async query which haven't been loaded yet are written as an empty array.
+     *
+     * @param writer the writer to write to. It is flushed, but not closed.
+     * @param depth the number of levels of links to follow, {@code 0} to write no linked objects.
+     * @param dateFormat how dates are written.
+     * @throws IllegalArgumentException if {@code writer} or {@code dateFormat} is {@code null} or {@code depth} is
+     * negative.
+     * @throws IOException if writing fails.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(Writer writer, int depth, JsonDateFormat dateFormat) throws IOException {
+        realm.checkIfValid();
+        JsonExporter.writeRows(isLoaded() ? getTable() : null, writer, depth, dateFormat);
+    }
+
+    /**
+     * Writes these results as a JSON array of objects, encoded as UTF-8. See
+     * {@link #writeJson(Writer, int, JsonDateFormat)}.
+     *
+     * @param outputStream the stream to write to. It is flushed, but not closed.
+     * @param depth the number of levels of links to follow, {@code 0} to write no linked objects.
+     * @param dateFormat how dates are written.
+     * @throws IllegalArgumentException if {@code outputStream} or {@code dateFormat} is {@code null} or {@code depth}
+     * is negative.
+     * @throws IOException if writing fails.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(OutputStream outputStream, int depth, JsonDateFormat dateFormat) throws IOException {
+        writeJson(JsonExporter.toWriter(outputStream), depth, dateFormat);
+    }
+
     /**
      * Notifies all registered listeners.
      */
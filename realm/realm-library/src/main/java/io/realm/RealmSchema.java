@@ -16,14 +16,16 @@
 
 package io.realm;
 
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.OrderedIndex;
 import io.realm.internal.Table;
 import io.realm.internal.Util;
 
@@ -40,14 +42,17 @@ public final class RealmSchema {
     private static final String TABLE_PREFIX = Table.TABLE_PREFIX;
     private static final String EMPTY_STRING_MSG = "Null or empty class names are not allowed";
 
+    // The caches are filled lazily. They are concurrent maps, since a frozen Realm is read from several threads. Its
+    // caches are filled when it is created, so reading it doesn't create table accessors.
+
     // Caches Dynamic Class objects given as Strings (both model classes and proxy classes) to Realm Tables
-    private final Map<String, Table> dynamicClassToTable = new HashMap<String, Table>();
+    private final Map<String, Table> dynamicClassToTable = new ConcurrentHashMap<String, Table>();
     // Caches Class objects (both model classes and proxy classes) to Realm Tables
-    private final Map<Class<? extends RealmObject>, Table> classToTable = new HashMap<Class<? extends RealmObject>, Table>();
+    private final Map<Class<? extends RealmObject>, Table> classToTable = new ConcurrentHashMap<Class<? extends RealmObject>, Table>();
     // Caches Class objects (both model classes and proxy classes) to their Schema object
-    private final Map<Class<? extends RealmObject>, RealmObjectSchema> classToSchema = new HashMap<Class<? extends RealmObject>, RealmObjectSchema>();
+    private final Map<Class<? extends RealmObject>, RealmObjectSchema> classToSchema = new ConcurrentHashMap<Class<? extends RealmObject>, RealmObjectSchema>();
     // Caches Class Strings (both model classes and proxy classes) to their Schema object
-    private final Map<String, RealmObjectSchema> dynamicClassToSchema = new HashMap<String, RealmObjectSchema>();
+    private final Map<String, RealmObjectSchema> dynamicClassToSchema = new ConcurrentHashMap<String, RealmObjectSchema>();
 
     private final ImplicitTransaction transaction;
     private final BaseRealm realm;
@@ -130,6 +135,8 @@ public final class RealmSchema {
         checkEmpty(className, EMPTY_STRING_MSG);
         String internalTableName = TABLE_PREFIX + className;
         checkHasTable(className, "Cannot remove class because it is not in this Realm: " + className);
+        OrderedIndex.removeClass(transaction, className);
+        FullTextIndex.removeClass(transaction, className);
         transaction.removeTable(internalTableName);
     }
 
@@ -149,6 +156,8 @@ public final class RealmSchema {
         if (transaction.hasTable(newInternalName)) {
             throw new IllegalArgumentException(oldClassName + " cannot be renamed because the new class already exists: " + newClassName);
         }
+        OrderedIndex.renameClass(transaction, oldClassName, newClassName);
+        FullTextIndex.renameClass(transaction, oldClassName, newClassName);
         transaction.renameTable(oldInternalName, newInternalName);
         Table table = transaction.getTable(newInternalName);
         RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Arrays;
+
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableView;
+
+/**
+ * Resolves the fields and arguments of percentiles and approximate distinct counts against the table of a class. The
+ * values themselves are computed natively, see {@link io.realm.internal.TableQuery#quantiles(long, double[], boolean)}
+ * and {@link io.realm.internal.TableQuery#countDistinctApprox(long)}.
+ */
+final class Statistics {
+
+    private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+
+    private Statistics() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or isn't a number field.
+     */
+    static long getPercentileColumn(Table table, String fieldName) {
+        long columnIndex = getColumnIndex(table, fieldName);
+        switch (table.getColumnType(columnIndex)) {
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+                return columnIndex;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the field doesn't exist, is a linked field or has a type which can't be
+     * counted.
+     */
+    static long getDistinctColumn(Table table, String fieldName) {
+        long columnIndex = getColumnIndex(table, fieldName);
+        switch (table.getColumnType(columnIndex)) {
+            case BOOLEAN:
+            case INTEGER:
+            case DATE:
+            case FLOAT:
+            case DOUBLE:
+            case STRING:
+                return columnIndex;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName,
+                        "boolean, int, Date, float, double or String"));
+        }
+    }
+
+    private static long getColumnIndex(Table table, String fieldName) {
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name must be provided.");
+        }
+        if (fieldName.contains(".")) {
+            throw new IllegalArgumentException("Aggregates on linked properties are not supported: " + fieldName);
+        }
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex == -1) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Converts percentiles to the fractions computed natively.
+     *
+     * @throws IllegalArgumentException if no percentile is given or a percentile isn't between 0 and 100.
+     */
+    static double[] toQuantiles(double[] percentiles) {
+        if (percentiles == null || percentiles.length == 0) {
+            throw new IllegalArgumentException("At least one percentile must be provided.");
+        }
+        double[] quantiles = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (!(percentiles[i] >= 0 && percentiles[i] <= 100)) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 100: " + percentiles[i]);
+            }
+            quantiles[i] = percentiles[i] / 100;
+        }
+        return quantiles;
+    }
+
+    /**
+     * Returns values without any objects, used while the objects are not available yet.
+     */
+    static double[] empty(double[] quantiles) {
+        double[] values = new double[quantiles.length];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    static double[] percentiles(TableOrView rows, long columnIndex, double[] quantiles, boolean approximate) {
+        if (rows instanceof TableView) {
+            return ((TableView) rows).quantiles(columnIndex, quantiles, approximate);
+        }
+        return rows.where().quantiles(columnIndex, quantiles, approximate);
+    }
+
+    static long countDistinctApprox(TableOrView rows, long columnIndex) {
+        if (rows instanceof TableView) {
+            return ((TableView) rows).countDistinctApprox(columnIndex);
+        }
+        return rows.where().countDistinctApprox(columnIndex);
+    }
+
+    static Double toValue(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a binary value in chunks. Only the bytes read are copied to the Java heap, since the stream reads from a
+ * buffer pointing directly to the data in the Realm file. Like that buffer, the data is only valid until the version
+ * of the Realm being read changes, so the version is checked before every read and the stream fails instead of
+ * reading freed memory.
+ */
+public final class BinaryInputStream extends InputStream {
+
+    private final ByteBuffer data;
+    private final SharedGroupManager sharedGroupManager;
+    private final SharedGroup.VersionID version;
+
+    /**
+     * Creates a stream reading a buffer.
+     *
+     * @param data the value to read.
+     * @param sharedGroupManager the Realm file the buffer points into, or {@code null} if the buffer is a copy.
+     */
+    public BinaryInputStream(ByteBuffer data, SharedGroupManager sharedGroupManager) {
+        this.data = data.duplicate();
+        this.sharedGroupManager = sharedGroupManager;
+        this.version = (sharedGroupManager == null) ? null : sharedGroupManager.getVersion();
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkValid();
+        return data.hasRemaining() ? (data.get() & 0xff) : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        checkValid();
+        if (!data.hasRemaining()) {
+            return -1;
+        }
+        length = Math.min(length, data.remaining());
+        data.get(buffer, offset, length);
+        return length;
+    }
+
+    @Override
+    public long skip(long count) {
+        int skipped = (int) Math.max(0, Math.min(count, data.remaining()));
+        data.position(data.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return data.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        data.mark();
+    }
+
+    @Override
+    public void reset() {
+        data.reset();
+    }
+
+    private void checkValid() throws IOException {
+        if (sharedGroupManager == null) {
+            return;
+        }
+        if (!sharedGroupManager.isOpen() || !sharedGroupManager.getVersion().equals(version)) {
+            throw new IOException("The Realm has been changed, refreshed or closed since the stream was opened.");
+        }
+    }
+}
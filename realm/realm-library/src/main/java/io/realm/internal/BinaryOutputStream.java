@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes a binary value in chunks. The chunks are collected in a direct buffer outside of the Java heap, which is
+ * written to the row with a single native call when the stream is closed. Core can only set a binary value as a
+ * whole, so the value is changed only by {@link #close()}.
+ */
+public final class BinaryOutputStream extends OutputStream {
+
+    private static final int MIN_CAPACITY = 4096;
+
+    private final Row row;
+    private final long columnIndex;
+    private ByteBuffer buffer;
+    private boolean closed;
+
+    /**
+     * Creates a stream writing to a binary column of a row.
+     *
+     * @param expectedSize the expected size of the value. Giving the right size avoids growing the buffer.
+     */
+    public BinaryOutputStream(Row row, long columnIndex, int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size can't be negative: " + expectedSize);
+        }
+        this.row = row;
+        this.columnIndex = columnIndex;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(expectedSize, MIN_CAPACITY));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(1);
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(length);
+        buffer.put(bytes, offset, length);
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer. Direct buffers are copied without going through the Java heap.
+     */
+    public void write(ByteBuffer bytes) throws IOException {
+        ensureCapacity(bytes.remaining());
+        buffer.put(bytes.duplicate());
+    }
+
+    /**
+     * Sets the binary value to the bytes written. Must be called inside a transaction.
+     *
+     * @throws IllegalStateException if the Realm is not in a transaction.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        ByteBuffer value = buffer.duplicate();
+        value.flip();
+        row.setBinaryByteBuffer(columnIndex, value);
+        closed = true;
+        buffer = null;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (closed) {
+            throw new IOException("The stream is closed.");
+        }
+        if (buffer.remaining() >= length) {
+            return;
+        }
+        long required = (long) buffer.position() + length;
+        if (required > Integer.MAX_VALUE) {
+            throw new IOException("Binary values can't be larger than " + Integer.MAX_VALUE + " bytes.");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, (long) buffer.capacity() * 2));
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
+
 import io.realm.RealmFieldType;
 
 /**
@@ -127,6 +129,7 @@ public class CheckedRow extends UncheckedRow {
     protected native String nativeGetString(long nativePtr, long columnIndex);
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex);
+    protected native ByteBuffer nativeGetByteBuffer(long nativePtr, long columnIndex);
     protected native int nativeGetMixedType(long nativePtr, long columnIndex);
     protected native Mixed nativeGetMixed(long nativeRowPtr, long columnIndex);
     protected native long nativeGetLinkView(long nativePtr, long columnIndex);
@@ -138,6 +141,8 @@ public class CheckedRow extends UncheckedRow {
     protected native void nativeSetDate(long nativeRowPtr, long columnIndex, long dateTimeValue);
     protected native void nativeSetString(long nativeRowPtr, long columnIndex, String value);
     protected native void nativeSetByteArray(long nativePtr, long columnIndex, byte[] data);
+    protected native void nativeSetByteBuffer(long nativePtr, long columnIndex, ByteBuffer data, int offset,
+                                              int length, boolean copy);
     protected native void nativeSetMixed(long nativeRowPtr, long columnIndex, Mixed data);
     protected native void nativeSetLink(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeNullifyLink(long nativeRowPtr, long columnIndex);
@@ -16,13 +16,18 @@
 
 package io.realm.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import io.realm.exceptions.RealmMigrationNeededException;
 
 public class ColumnInfo {
     private Map<String, Long> indicesMap;
+    private List<CompoundIndex> compoundIndices = Collections.emptyList();
+    private List<OrderedIndex> orderedIndices = Collections.emptyList();
+    private List<FullTextIndex> fullTextIndices = Collections.emptyList();
 
     protected final long getValidColumnIndex(String realmPath, Table table,
                                              String className, String columnName) {
@@ -41,4 +46,152 @@ public class ColumnInfo {
     public Map<String, Long> getIndicesMap() {
         return indicesMap;
     }
+
+    protected final void setCompoundIndices(String realmPath, Table table, String className,
+                                            String[]... fieldNames) {
+        List<CompoundIndex> compoundIndices = new ArrayList<CompoundIndex>(fieldNames.length);
+        for (String[] indexFieldNames : fieldNames) {
+            CompoundIndex compoundIndex = CompoundIndex.find(table, indexFieldNames);
+            if (compoundIndex == null) {
+                throw new RealmMigrationNeededException(realmPath, "Compound index '" +
+                        CompoundIndex.getColumnName(indexFieldNames) + "' not found for type " + className);
+            }
+            compoundIndices.add(compoundIndex);
+        }
+        this.compoundIndices = Collections.unmodifiableList(compoundIndices);
+    }
+
+    public List<CompoundIndex> getCompoundIndices() {
+        return compoundIndices;
+    }
+
+    /**
+     * Rebuilds the compound index keys depending on the given column. Called by the setters of the proxy classes.
+     */
+    public final void updateCompoundIndices(Row row, long columnIndex) {
+        for (CompoundIndex compoundIndex : compoundIndices) {
+            if (compoundIndex.contains(columnIndex)) {
+                compoundIndex.update(row);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds all compound index keys of a row. Called when a new object is created.
+     */
+    public final void updateCompoundIndices(Row row) {
+        for (CompoundIndex compoundIndex : compoundIndices) {
+            compoundIndex.update(row);
+        }
+    }
+
+    protected final void setOrderedIndices(String realmPath, Table table, String className, String... fieldNames) {
+        List<OrderedIndex> orderedIndices = new ArrayList<OrderedIndex>(fieldNames.length);
+        for (String fieldName : fieldNames) {
+            OrderedIndex orderedIndex = OrderedIndex.find(table, getValidColumnIndex(realmPath, table, className, fieldName));
+            if (orderedIndex == null) {
+                throw new RealmMigrationNeededException(realmPath, "Ordered index on field '" + fieldName +
+                        "' not found for type " + className + ". Either remove @OrderedIndex or migrate using " +
+                        "io.realm.RealmObjectSchema.addOrderedIndex().");
+            }
+            orderedIndices.add(orderedIndex);
+        }
+        this.orderedIndices = Collections.unmodifiableList(orderedIndices);
+    }
+
+    public List<OrderedIndex> getOrderedIndices() {
+        return orderedIndices;
+    }
+
+    /**
+     * Removes a row from the ordered index of the given column. Called by the setters of the proxy classes before the
+     * value is changed.
+     */
+    public final void removeFromOrderedIndex(Row row, long columnIndex) {
+        for (OrderedIndex orderedIndex : orderedIndices) {
+            if (orderedIndex.getColumnIndex() == columnIndex) {
+                orderedIndex.remove(row);
+            }
+        }
+    }
+
+    /**
+     * Adds a row to the ordered index of the given column. Called by the setters of the proxy classes after the value
+     * has been changed.
+     */
+    public final void addToOrderedIndex(Row row, long columnIndex) {
+        for (OrderedIndex orderedIndex : orderedIndices) {
+            if (orderedIndex.getColumnIndex() == columnIndex) {
+                orderedIndex.add(row);
+            }
+        }
+    }
+
+    /**
+     * Adds a row to all ordered indexes. Called when a new object is created.
+     */
+    public final void addToOrderedIndices(Row row) {
+        for (OrderedIndex orderedIndex : orderedIndices) {
+            orderedIndex.add(row);
+        }
+    }
+
+    /**
+     * Removes a row from all ordered indexes. Called before an existing object is overwritten by
+     * {@code Realm.insertOrUpdate()}.
+     */
+    public final void removeFromOrderedIndices(Row row) {
+        for (OrderedIndex orderedIndex : orderedIndices) {
+            orderedIndex.remove(row);
+        }
+    }
+
+    protected final void setFullTextIndices(String realmPath, Table table, String className, String... fieldNames) {
+        List<FullTextIndex> fullTextIndices = new ArrayList<FullTextIndex>(fieldNames.length);
+        for (String fieldName : fieldNames) {
+            FullTextIndex fullTextIndex = FullTextIndex.find(table,
+                    getValidColumnIndex(realmPath, table, className, fieldName));
+            if (fullTextIndex == null) {
+                throw new RealmMigrationNeededException(realmPath, "Full-text index on field '" + fieldName +
+                        "' not found for type " + className + ". Either remove @FullText or migrate using " +
+                        "io.realm.RealmObjectSchema.addFullTextIndex().");
+            }
+            fullTextIndices.add(fullTextIndex);
+        }
+        this.fullTextIndices = Collections.unmodifiableList(fullTextIndices);
+    }
+
+    public List<FullTextIndex> getFullTextIndices() {
+        return fullTextIndices;
+    }
+
+    /**
+     * Updates the tokens of the given column in its full-text index. Called by the setters of the proxy classes.
+     */
+    public final void updateFullTextIndex(Row row, long columnIndex) {
+        for (FullTextIndex fullTextIndex : fullTextIndices) {
+            if (fullTextIndex.getColumnIndex() == columnIndex) {
+                fullTextIndex.update(row);
+            }
+        }
+    }
+
+    /**
+     * Updates the tokens of a row in all full-text indexes. Called when a new object is created.
+     */
+    public final void updateFullTextIndices(Row row) {
+        for (FullTextIndex fullTextIndex : fullTextIndices) {
+            fullTextIndex.update(row);
+        }
+    }
+
+    /**
+     * Updates the compound, ordered and full-text indexes of a row. Called after an object has been written by
+     * {@code Realm.insert()} or {@code Realm.insertOrUpdate()}, which don't go through the setters of the proxy classes.
+     */
+    public final void updateAllIndices(Row row) {
+        updateCompoundIndices(row);
+        addToOrderedIndices(row);
+        updateFullTextIndices(row);
+    }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import io.realm.RealmFieldType;
+
+/**
+ * A compound index spans several fields of a class. Core only supports search indexes on single columns, so a
+ * compound index is stored as a hidden, search indexed string column holding a key built from the values of all
+ * fields of the index. The key has to be updated every time one of the fields changes, and a query having equality
+ * conditions on all fields can be answered by a single lookup of the key.
+ * <p>
+ * The hidden column is named {@link #COLUMN_PREFIX} followed by the field names separated by commas. This makes the
+ * index discoverable from the table alone, e.g. by the dynamic API.
+ */
+public final class CompoundIndex {
+
+    public static final String COLUMN_PREFIX = "!ci:";
+
+    private static final char SEPARATOR = '\u001F';
+    private static final char ESCAPE = '\\';
+
+    private final String columnName;
+    private final long columnIndex;
+    private final String[] fieldNames;
+    private final long[] fieldColumnIndices;
+
+    private CompoundIndex(String columnName, long columnIndex, String[] fieldNames, long[] fieldColumnIndices) {
+        this.columnName = columnName;
+        this.columnIndex = columnIndex;
+        this.fieldNames = fieldNames;
+        this.fieldColumnIndices = fieldColumnIndices;
+    }
+
+    /**
+     * Returns the name of the hidden column holding the keys for a compound index on the given fields.
+     */
+    public static String getColumnName(String... fieldNames) {
+        StringBuilder sb = new StringBuilder(COLUMN_PREFIX);
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(fieldNames[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks if a column is the hidden key column of a compound index rather than a field.
+     */
+    public static boolean isCompoundIndexColumn(String columnName) {
+        return columnName.startsWith(COLUMN_PREFIX);
+    }
+
+    /**
+     * Checks if a field of the given type can be part of a compound index.
+     */
+    public static boolean isSupportedType(RealmFieldType type) {
+        switch (type) {
+            case STRING:
+            case INTEGER:
+            case BOOLEAN:
+            case DATE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the compound indexes defined on a table.
+     *
+     * @param table the table to inspect.
+     * @return the compound indexes of the table, an empty list if there are none.
+     * @throws IllegalStateException if a compound index refers to a field that doesn't exist.
+     */
+    public static List<CompoundIndex> fromTable(Table table) {
+        List<CompoundIndex> indexes = null;
+        long columnCount = table.getColumnCount();
+        for (long i = 0; i < columnCount; i++) {
+            String columnName = table.getColumnName(i);
+            if (isCompoundIndexColumn(columnName)) {
+                if (indexes == null) {
+                    indexes = new ArrayList<CompoundIndex>();
+                }
+                indexes.add(create(table, columnName, i));
+            }
+        }
+        return (indexes == null) ? Collections.<CompoundIndex>emptyList() : indexes;
+    }
+
+    /**
+     * Returns the compound index on the given fields.
+     *
+     * @param table the table to inspect.
+     * @param fieldNames the fields of the index, in order.
+     * @return the compound index or {@code null} if it doesn't exist.
+     */
+    public static CompoundIndex find(Table table, String... fieldNames) {
+        String columnName = getColumnName(fieldNames);
+        long columnIndex = table.getColumnIndex(columnName);
+        if (columnIndex == TableOrView.NO_MATCH) {
+            return null;
+        }
+        return create(table, columnName, columnIndex);
+    }
+
+    private static CompoundIndex create(Table table, String columnName, long columnIndex) {
+        String[] fieldNames = columnName.substring(COLUMN_PREFIX.length()).split(",");
+        long[] fieldColumnIndices = new long[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            fieldColumnIndices[i] = table.getColumnIndex(fieldNames[i]);
+            if (fieldColumnIndices[i] == TableOrView.NO_MATCH) {
+                throw new IllegalStateException("Field '" + fieldNames[i] + "' of compound index '" + columnName +
+                        "' does not exist in " + table.getName());
+            }
+        }
+        return new CompoundIndex(columnName, columnIndex, fieldNames, fieldColumnIndices);
+    }
+
+    /**
+     * Adds a compound index to a table and builds the keys of all existing rows.
+     *
+     * @return the new compound index.
+     */
+    public static CompoundIndex add(Table table, String... fieldNames) {
+        String columnName = getColumnName(fieldNames);
+        long columnIndex = table.addColumn(RealmFieldType.STRING, columnName, Table.NOT_NULLABLE);
+        table.addSearchIndex(columnIndex);
+        CompoundIndex index = create(table, columnName, columnIndex);
+        long size = table.size();
+        for (long i = 0; i < size; i++) {
+            index.update(table.getUncheckedRow(i));
+        }
+        return index;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public long getColumnIndex() {
+        return columnIndex;
+    }
+
+    public String[] getFieldNames() {
+        return fieldNames.clone();
+    }
+
+    public long[] getFieldColumnIndices() {
+        return fieldColumnIndices.clone();
+    }
+
+    /**
+     * Checks if the index contains the given column.
+     */
+    public boolean contains(long fieldColumnIndex) {
+        for (long index : fieldColumnIndices) {
+            if (index == fieldColumnIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the key of a row. Must be called after any of the fields of the index has been changed.
+     */
+    public void update(Row row) {
+        row.setString(columnIndex, getKey(row));
+    }
+
+    /**
+     * Builds the key for the current values of a row.
+     */
+    public String getKey(Row row) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fieldColumnIndices.length; i++) {
+            long fieldColumnIndex = fieldColumnIndices[i];
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            if (row.isNull(fieldColumnIndex)) {
+                appendValue(sb, null);
+                continue;
+            }
+            switch (row.getColumnType(fieldColumnIndex)) {
+                case STRING:
+                    appendValue(sb, row.getString(fieldColumnIndex));
+                    break;
+                case INTEGER:
+                    appendValue(sb, row.getLong(fieldColumnIndex));
+                    break;
+                case BOOLEAN:
+                    appendValue(sb, row.getBoolean(fieldColumnIndex));
+                    break;
+                case DATE:
+                    appendValue(sb, row.getDate(fieldColumnIndex));
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported type in compound index " + columnName);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds the key matching objects having the given values. The values must be given in the order of the fields
+     * of the index, using {@code String}, {@code Long}, {@code Boolean}, {@code Date} or {@code null}.
+     */
+    public static String getKey(Object[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            appendValue(sb, values[i]);
+        }
+        return sb.toString();
+    }
+
+    // Each component is tagged with its type, so e.g. the string "1" and the number 1 never produce the same key.
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append('n');
+        } else if (value instanceof String) {
+            sb.append('s');
+            String str = (String) value;
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c == SEPARATOR || c == ESCAPE) {
+                    sb.append(ESCAPE);
+                }
+                sb.append(c);
+            }
+        } else if (value instanceof Long) {
+            sb.append('i').append((long) (Long) value);
+        } else if (value instanceof Boolean) {
+            sb.append('b').append(((Boolean) value) ? '1' : '0');
+        } else if (value instanceof Date) {
+            // Core stores dates with a precision of seconds.
+            sb.append('d').append(((Date) value).getTime() / 1000);
+        } else {
+            throw new IllegalArgumentException("Unsupported value in compound index: " + value);
+        }
+    }
+}
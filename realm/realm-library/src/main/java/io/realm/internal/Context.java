@@ -21,6 +21,8 @@ import java.lang.ref.ReferenceQueue;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Context {
 
@@ -37,9 +39,15 @@ public class Context {
     private List<Long> abandonedTableViews = new ArrayList<Long>();
     private List<Long> abandonedQueries = new ArrayList<Long>();
 
-    HashMap<Reference<?>, Integer> rowReferences = new HashMap<Reference<?>, Integer>();
+    // Rows and link views of a frozen Realm are created on any thread reading it, so the references are added
+    // concurrently.
+    Map<Reference<?>, Integer> rowReferences = new ConcurrentHashMap<Reference<?>, Integer>();
     ReferenceQueue<NativeObject> referenceQueue = new ReferenceQueue<NativeObject>();
 
+    // Search indexes suspended by Table.beginBulkLoad(), by native table pointer. All Table objects of a group share
+    // its context and the native table accessor, so any of them sees the bulk load.
+    final Map<Long, long[]> bulkLoadIndexedColumns = new HashMap<Long, long[]>();
+
     private boolean isFinalized = false;
 
     public void executeDelayedDisposal() {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.RealmObject;
+
+/**
+ * The standalone copies made by a single detached copy, so an object linked several times is copied only once. Copies
+ * are looked up by class and row index, which the generated code reads in batches without creating proxy objects.
+ */
+public final class DetachedCopyCache {
+
+    private final Map<Class<? extends RealmObject>, Map<Long, RealmObjectProxy.CacheData<RealmObject>>> copies =
+            new HashMap<Class<? extends RealmObject>, Map<Long, RealmObjectProxy.CacheData<RealmObject>>>();
+
+    /**
+     * Returns the copy of a row or {@code null} if it hasn't been copied yet.
+     */
+    public RealmObjectProxy.CacheData<RealmObject> get(Class<? extends RealmObject> clazz, long rowIndex) {
+        Map<Long, RealmObjectProxy.CacheData<RealmObject>> classCopies = copies.get(clazz);
+        return (classCopies == null) ? null : classCopies.get(rowIndex);
+    }
+
+    public void put(Class<? extends RealmObject> clazz, long rowIndex, RealmObjectProxy.CacheData<RealmObject> copy) {
+        Map<Long, RealmObjectProxy.CacheData<RealmObject>> classCopies = copies.get(clazz);
+        if (classCopies == null) {
+            classCopies = new HashMap<Long, RealmObjectProxy.CacheData<RealmObject>>();
+            copies.put(clazz, classCopies);
+        }
+        classCopies.put(rowIndex, copy);
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import io.realm.RealmFieldType;
+
+/**
+ * A full-text index splits the text of a String column into words (tokens) and keeps track of the rows containing
+ * each token. It is stored in two parts:
+ * <ul>
+ *     <li>A hidden column of the table named {@link #PREFIX} followed by the field name. It holds the distinct
+ *     tokens of the row separated by spaces, e.g. " hello world ". Matching a token is then a case-sensitive
+ *     {@code contains()} condition on the hidden column, which combines with any other condition of a query.</li>
+ *     <li>A hidden table named {@link #PREFIX} followed by the class name, with a search indexed token column and a
+ *     link list column for each indexed field, named after the field. The link list of a token holds all rows
+ *     containing it, so a query requiring a token only has to look at those rows.</li>
+ * </ul>
+ * Both parts have to be updated every time the value of the field changes. Core removes deleted rows from the lists.
+ */
+public final class FullTextIndex {
+
+    public static final String PREFIX = "!ft:";
+
+    private static final String TOKEN_COLUMN_NAME = "!token";
+    private static final long TOKEN_COLUMN_INDEX = 0;
+    private static final char PREFIX_WILDCARD = '*';
+
+    private final long columnIndex;
+    private final long tokensColumnIndex;
+    private final Table tokenTable;
+    private final long postingsColumnIndex;
+
+    private FullTextIndex(long columnIndex, long tokensColumnIndex, Table tokenTable, long postingsColumnIndex) {
+        this.columnIndex = columnIndex;
+        this.tokensColumnIndex = tokensColumnIndex;
+        this.tokenTable = tokenTable;
+        this.postingsColumnIndex = postingsColumnIndex;
+    }
+
+    /**
+     * Returns the name of the hidden column holding the tokens of a field.
+     */
+    public static String getColumnName(String fieldName) {
+        return PREFIX + fieldName;
+    }
+
+    /**
+     * Returns the name of the hidden table holding the tokens of a class.
+     */
+    public static String getTableName(String className) {
+        return PREFIX + className;
+    }
+
+    /**
+     * Checks if a column is the hidden token column of a full-text index rather than a field.
+     */
+    public static boolean isFullTextColumn(String columnName) {
+        return columnName.startsWith(PREFIX);
+    }
+
+    /**
+     * Checks if a table is the hidden token table of a class rather than a class.
+     */
+    public static boolean isFullTextTable(String tableName) {
+        return tableName.startsWith(PREFIX);
+    }
+
+    /**
+     * Splits a text into its distinct tokens. A token is a sequence of letters and digits, converted to lower case.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<String>();
+        int start = -1;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            boolean partOfToken = (i < length) && Character.isLetterOrDigit(text.charAt(i));
+            if (partOfToken && start < 0) {
+                start = i;
+            } else if (!partOfToken && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.US));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the value of the hidden token column for a text.
+     */
+    public static String getTokenString(String text) {
+        if (text == null) {
+            return "";
+        }
+        Set<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 2);
+        sb.append(' ');
+        for (String token : tokens) {
+            sb.append(token).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> splitTokenString(String tokenString) {
+        Set<String> tokens = new LinkedHashSet<String>();
+        for (String token : tokenString.split(" ")) {
+            if (token.length() > 0) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Parses the terms of a full-text query. Terms are separated by whitespace and split into tokens the same way as
+     * the indexed text. A term ending with {@code *} matches all tokens starting with it.
+     *
+     * @param terms the terms to parse.
+     * @return the tokens to match. Tokens to be matched as a prefix end with {@code *}.
+     * @throws IllegalArgumentException if the terms contain no tokens.
+     */
+    public static String[] parseTerms(String terms) {
+        if (terms == null) {
+            throw new IllegalArgumentException("Terms must not be null.");
+        }
+        Set<String> tokens = new LinkedHashSet<String>();
+        for (String term : terms.trim().split("\\s+")) {
+            boolean prefix = term.length() > 0 && term.charAt(term.length() - 1) == PREFIX_WILDCARD;
+            List<String> termTokens = new ArrayList<String>(tokenize(term));
+            for (int i = 0; i < termTokens.size(); i++) {
+                boolean lastToken = (i == termTokens.size() - 1);
+                tokens.add((prefix && lastToken) ? termTokens.get(i) + PREFIX_WILDCARD : termTokens.get(i));
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("No words to match in '" + terms + "'.");
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    /**
+     * Checks if a token returned by {@link #parseTerms(String)} is matched as a prefix.
+     */
+    public static boolean isPrefix(String token) {
+        return token.charAt(token.length() - 1) == PREFIX_WILDCARD;
+    }
+
+    /**
+     * Returns the string to look for in the hidden token column to match a token returned by
+     * {@link #parseTerms(String)}.
+     */
+    public static String getSearchString(String token) {
+        return isPrefix(token) ? " " + token.substring(0, token.length() - 1) : " " + token + " ";
+    }
+
+    /**
+     * Returns the full-text index of a column.
+     *
+     * @param table the table to inspect.
+     * @param columnIndex the column of the index.
+     * @return the full-text index or {@code null} if the column has none.
+     */
+    public static FullTextIndex find(Table table, long columnIndex) {
+        String fieldName = table.getColumnName(columnIndex);
+        long tokensColumnIndex = table.getColumnIndex(getColumnName(fieldName));
+        if (tokensColumnIndex == TableOrView.NO_MATCH) {
+            return null;
+        }
+        Table tokenTable = getTokenTable(table);
+        if (tokenTable == null) {
+            return null;
+        }
+        long postingsColumnIndex = tokenTable.getColumnIndex(fieldName);
+        if (postingsColumnIndex == TableOrView.NO_MATCH) {
+            return null;
+        }
+        return new FullTextIndex(columnIndex, tokensColumnIndex, tokenTable, postingsColumnIndex);
+    }
+
+    /**
+     * Returns the full-text indexes defined on a table.
+     *
+     * @param table the table to inspect.
+     * @return the full-text indexes of the table, an empty list if there are none.
+     * @throws IllegalStateException if a full-text index refers to a field that doesn't exist.
+     */
+    public static List<FullTextIndex> fromTable(Table table) {
+        List<FullTextIndex> indexes = null;
+        long columnCount = table.getColumnCount();
+        for (long i = 0; i < columnCount; i++) {
+            String columnName = table.getColumnName(i);
+            if (!isFullTextColumn(columnName)) {
+                continue;
+            }
+            String fieldName = columnName.substring(PREFIX.length());
+            long columnIndex = table.getColumnIndex(fieldName);
+            FullTextIndex index = (columnIndex == TableOrView.NO_MATCH) ? null : find(table, columnIndex);
+            if (index == null) {
+                throw new IllegalStateException("Full-text index of field '" + fieldName + "' is incomplete in " +
+                        table.getName());
+            }
+            if (indexes == null) {
+                indexes = new ArrayList<FullTextIndex>();
+            }
+            indexes.add(index);
+        }
+        return (indexes == null) ? Collections.<FullTextIndex>emptyList() : indexes;
+    }
+
+    /**
+     * Adds a full-text index to a column and indexes all existing rows.
+     *
+     * @return the new full-text index.
+     * @throws IllegalStateException if the table is not part of a group.
+     */
+    public static FullTextIndex add(Table table, long columnIndex) {
+        Group group = table.getTableGroup();
+        if (group == null) {
+            throw new IllegalStateException("Full-text indexes are only supported if Table is part of a Group");
+        }
+        String fieldName = table.getColumnName(columnIndex);
+        long tokensColumnIndex = table.addColumn(RealmFieldType.STRING, getColumnName(fieldName), Table.NOT_NULLABLE);
+        Table tokenTable = group.getTable(getTableName(getClassName(table)));
+        if (tokenTable.getColumnCount() == 0) {
+            tokenTable.addSearchIndex(tokenTable.addColumn(RealmFieldType.STRING, TOKEN_COLUMN_NAME,
+                    Table.NOT_NULLABLE));
+        }
+        long postingsColumnIndex = tokenTable.addColumnLink(RealmFieldType.LIST, fieldName, table);
+        FullTextIndex index = new FullTextIndex(columnIndex, tokensColumnIndex, tokenTable, postingsColumnIndex);
+        long size = table.size();
+        for (long i = 0; i < size; i++) {
+            index.update(table.getUncheckedRow(i));
+        }
+        return index;
+    }
+
+    /**
+     * Removes the full-text index of a column. The hidden table is removed together with the last index of a class.
+     */
+    public static void remove(Table table, long columnIndex) {
+        String fieldName = table.getColumnName(columnIndex);
+        long tokensColumnIndex = table.getColumnIndex(getColumnName(fieldName));
+        if (tokensColumnIndex != TableOrView.NO_MATCH) {
+            table.removeColumn(tokensColumnIndex);
+        }
+        Table tokenTable = getTokenTable(table);
+        if (tokenTable == null) {
+            return;
+        }
+        long postingsColumnIndex = tokenTable.getColumnIndex(fieldName);
+        if (postingsColumnIndex == TableOrView.NO_MATCH) {
+            return;
+        }
+        if (tokenTable.getColumnCount() == 2) {
+            table.getTableGroup().removeTable(tokenTable.getName());
+        } else {
+            tokenTable.removeColumn(postingsColumnIndex);
+        }
+    }
+
+    /**
+     * Renames the full-text index of a field. Must be called when the field is renamed.
+     */
+    public static void renameField(Table table, String oldFieldName, String newFieldName) {
+        long tokensColumnIndex = table.getColumnIndex(getColumnName(oldFieldName));
+        if (tokensColumnIndex != TableOrView.NO_MATCH) {
+            table.renameColumn(tokensColumnIndex, getColumnName(newFieldName));
+        }
+        Table tokenTable = getTokenTable(table);
+        if (tokenTable == null) {
+            return;
+        }
+        long postingsColumnIndex = tokenTable.getColumnIndex(oldFieldName);
+        if (postingsColumnIndex != TableOrView.NO_MATCH) {
+            tokenTable.renameColumn(postingsColumnIndex, newFieldName);
+        }
+    }
+
+    /**
+     * Removes the hidden table of a class. Must be called before the class is removed, since core doesn't remove
+     * tables which are the target of links.
+     */
+    public static void removeClass(Group group, String className) {
+        String tableName = getTableName(className);
+        if (group.hasTable(tableName)) {
+            group.removeTable(tableName);
+        }
+    }
+
+    /**
+     * Renames the hidden table of a class. Must be called when the class is renamed.
+     */
+    public static void renameClass(Group group, String oldClassName, String newClassName) {
+        String tableName = getTableName(oldClassName);
+        if (group.hasTable(tableName)) {
+            group.renameTable(tableName, getTableName(newClassName));
+        }
+    }
+
+    private static Table getTokenTable(Table table) {
+        Group group = table.getTableGroup();
+        if (group == null) {
+            return null;
+        }
+        String tableName = getTableName(getClassName(table));
+        if (!group.hasTable(tableName)) {
+            return null;
+        }
+        return group.getTable(tableName);
+    }
+
+    private static String getClassName(Table table) {
+        String tableName = table.getName();
+        return tableName.startsWith(Table.TABLE_PREFIX) ? tableName.substring(Table.TABLE_PREFIX.length()) : tableName;
+    }
+
+    public long getColumnIndex() {
+        return columnIndex;
+    }
+
+    public long getTokensColumnIndex() {
+        return tokensColumnIndex;
+    }
+
+    /**
+     * Returns the rows containing a token.
+     *
+     * @return the list of rows or {@code null} if no row has ever contained the token.
+     */
+    LinkView getPostings(String token) {
+        long tokenRowIndex = tokenTable.findFirstString(TOKEN_COLUMN_INDEX, token);
+        if (tokenRowIndex == TableOrView.NO_MATCH) {
+            return null;
+        }
+        return tokenTable.getUncheckedRow(tokenRowIndex).getLinkList(postingsColumnIndex);
+    }
+
+    /**
+     * Updates the tokens of a row. Must be called when the row is created and after its value has been changed.
+     */
+    public void update(Row row) {
+        String oldTokenString = row.getString(tokensColumnIndex);
+        String newTokenString = row.isNull(columnIndex) ? "" : getTokenString(row.getString(columnIndex));
+        if (oldTokenString.equals(newTokenString)) {
+            return;
+        }
+        Set<String> oldTokens = splitTokenString(oldTokenString);
+        Set<String> newTokens = splitTokenString(newTokenString);
+        long rowIndex = row.getIndex();
+        for (String token : oldTokens) {
+            if (!newTokens.contains(token)) {
+                LinkView postings = getPostings(token);
+                if (postings != null) {
+                    nativeRemovePosting(postings.nativePointer, rowIndex);
+                }
+            }
+        }
+        for (String token : newTokens) {
+            if (!oldTokens.contains(token)) {
+                long tokenRowIndex = tokenTable.findFirstString(TOKEN_COLUMN_INDEX, token);
+                if (tokenRowIndex == TableOrView.NO_MATCH) {
+                    tokenRowIndex = tokenTable.addEmptyRow();
+                    tokenTable.setString(TOKEN_COLUMN_INDEX, tokenRowIndex, token);
+                }
+                tokenTable.getUncheckedRow(tokenRowIndex).getLinkList(postingsColumnIndex).add(rowIndex);
+            }
+        }
+        row.setString(tokensColumnIndex, newTokenString);
+    }
+
+    private static native void nativeRemovePosting(long nativeLinkViewPtr, long rowIndex);
+}
@@ -226,6 +226,33 @@ public class Group implements Closeable {
         nativeWriteToFile(nativePtr, file.getAbsolutePath(), key);
     }
 
+    /**
+     * Writes the rows found by the given queries, and all rows linked from them directly or indirectly, to a new
+     * file. The file has the same tables and columns as this group. Tables of model classes only contain the written
+     * rows, while all other tables are copied whole without their links to rows which are not written.
+     *
+     * @param file a File object representing the file.
+     * @param key A 64 bytes long byte array containing the key to the encrypted Realm file. Can be null if encryption
+     *            is not required.
+     * @param queries the queries finding the rows to write. They must be queries on tables of this group.
+     * @throws IOException.
+     */
+    public void writeRowsToFile(File file, byte[] key, TableQuery... queries) throws IOException {
+        verifyGroupIsValid();
+        if (file.isFile() && file.exists()) {
+            throw new IllegalArgumentException("The destination file must not exist");
+        }
+        if (key != null && key.length != 64) {
+            throw new IllegalArgumentException("Realm AES keys must be 64 bytes long");
+        }
+
+        long[] queryPtrs = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            queryPtrs[i] = queries[i].nativePtr;
+        }
+        nativeWriteRowsToFile(nativePtr, queryPtrs, file.getAbsolutePath(), key);
+    }
+
     /**
      * Serializes the group to a memory buffer. The byte[] is owned by the JVM.
      *
@@ -280,6 +307,8 @@ public class Group implements Closeable {
     protected native String nativeGetTableName(long nativeGroupPtr, int index);
     protected native boolean nativeHasTable(long nativeGroupPtr, String name);
     protected native void nativeWriteToFile(long nativeGroupPtr, String fileName, byte[] keyArray) throws IOException;
+    protected native void nativeWriteRowsToFile(long nativeGroupPtr, long[] queryPtrs, String fileName, byte[] keyArray)
+            throws IOException;
     protected native long nativeGetTableNativePtr(long nativeGroupPtr, String name);
     protected native long nativeLoadFromMem(byte[] buffer);
     protected native byte[] nativeWriteToMem(long nativeGroupPtr);
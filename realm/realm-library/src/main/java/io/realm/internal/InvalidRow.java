@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -93,6 +94,11 @@ public enum InvalidRow implements Row {
         throw getStubException();
     }
 
+    @Override
+    public ByteBuffer getBinaryByteBuffer(long columnIndex) {
+        throw getStubException();
+    }
+
     @Override
     public Mixed getMixed(long columnIndex) {
         throw getStubException();
@@ -153,6 +159,11 @@ public enum InvalidRow implements Row {
         throw getStubException();
     }
 
+    @Override
+    public void setBinaryByteBuffer(long columnIndex, ByteBuffer data) {
+        throw getStubException();
+    }
+
     @Override
     public void setMixed(long columnIndex, Mixed data) {
         throw getStubException();
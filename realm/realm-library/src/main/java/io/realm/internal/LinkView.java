@@ -138,6 +138,18 @@ public class LinkView extends NativeObject {
         return nativeIsAttached(nativePointer);
     }
 
+    /**
+     * Returns this link view as seen by another transaction of the same file, which must be at the same version as
+     * the transaction of this link view.
+     *
+     * @param group the transaction to look up the link view in.
+     * @return the link view of the same object and field in {@code group}.
+     */
+    public LinkView getInGroup(Group group) {
+        Table originTable = group.getTable(parent.getName());
+        return originTable.getUncheckedRow(nativeGetOriginRowIndex(nativePointer)).getLinkList(columnIndexInParent);
+    }
+
     /**
      * Returns the {@link Table} which all links point to.
      */
@@ -172,6 +184,7 @@ public class LinkView extends NativeObject {
     private native boolean nativeIsEmpty(long nativeLinkViewPtr);
     protected native long nativeWhere(long nativeLinkViewPtr);
     private native boolean nativeIsAttached(long nativeLinkViewPtr);
+    private native long nativeGetOriginRowIndex(long nativeLinkViewPtr);
     private native long nativeFind(long nativeLinkViewPtr, long targetRowIndex);
     private native void nativeRemoveAllTargetRows(long nativeLinkViewPtr);
 }
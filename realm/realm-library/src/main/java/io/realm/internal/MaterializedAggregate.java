@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.io.Closeable;
+
+/**
+ * An aggregate of the rows matching a query which is updated from the changes of every commit instead of running the
+ * query again, see materializedaggregate.hpp.
+ * <p>
+ * The aggregate reads the Realm through a shared group of its own, so it can follow the transaction logs from one
+ * version to the next. It must be used from a single thread and closed when it is no longer needed.
+ */
+public class MaterializedAggregate implements Closeable {
+
+    private final SharedGroup sharedGroup;
+    private long nativePtr;
+
+    /**
+     * Creates the aggregate and computes its initial value at the version the query was handed over at.
+     *
+     * @param handoverQueryPtr the query handed over by {@link TableQuery#handoverQuery(long)}, which is released by
+     * the aggregate.
+     * @param kind the kind of aggregate, see {@code io.realm.Aggregate}.
+     * @param columnIndex the column to aggregate, or {@code -1} to count the rows.
+     */
+    public MaterializedAggregate(String path, SharedGroup.Durability durability, byte[] key, long handoverQueryPtr,
+                                 byte kind, long columnIndex) {
+        SharedGroup sharedGroup;
+        try {
+            sharedGroup = new SharedGroup(path, SharedGroup.IMPLICIT_TRANSACTION, durability, key);
+        } catch (RuntimeException e) {
+            TableQuery.nativeCloseQueryHandover(handoverQueryPtr);
+            throw e;
+        }
+        this.sharedGroup = sharedGroup;
+        try {
+            nativePtr = nativeCreate(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(),
+                    handoverQueryPtr, kind, columnIndex);
+        } catch (RuntimeException e) {
+            sharedGroup.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Advances the aggregate to a version of the Realm, updating its value from the changes of the commits in between.
+     *
+     * @param version the version to advance to, which must not be older than the current one.
+     * @return {@code true} if the value changed, {@code false} otherwise.
+     */
+    public boolean advance(SharedGroup.VersionID version) {
+        checkNotClosed();
+        return nativeAdvance(nativePtr, version.version, version.index);
+    }
+
+    /**
+     * Checks if the value is {@code null}, which is the case for averages, minimums and maximums without values.
+     */
+    public boolean isNull() {
+        checkNotClosed();
+        return nativeIsNull(nativePtr);
+    }
+
+    /**
+     * Returns the value of a count, or of a sum, minimum or maximum of an integer column.
+     */
+    public long getLong() {
+        checkNotClosed();
+        return nativeGetLong(nativePtr);
+    }
+
+    /**
+     * Returns the value of an average, or of a sum, minimum or maximum of a float or double column.
+     */
+    public double getDouble() {
+        checkNotClosed();
+        return nativeGetDouble(nativePtr);
+    }
+
+    /**
+     * Returns how many times the query was run on all rows, including the initial computation of the value.
+     */
+    public long getFullRecomputeCount() {
+        checkNotClosed();
+        return nativeGetFullRecomputeCount(nativePtr);
+    }
+
+    public boolean isClosed() {
+        return nativePtr == 0;
+    }
+
+    @Override
+    public void close() {
+        if (nativePtr != 0) {
+            nativeClose(nativePtr);
+            nativePtr = 0;
+            sharedGroup.close();
+        }
+    }
+
+    private void checkNotClosed() {
+        if (nativePtr == 0) {
+            throw new IllegalStateException("The aggregate has been closed.");
+        }
+    }
+
+    private static native long nativeCreate(long sharedGroupPtr, long replicationPtr, long handoverQueryPtr,
+                                            byte kind, long columnIndex);
+    private static native boolean nativeAdvance(long nativePtr, long version, long index);
+    private static native boolean nativeIsNull(long nativePtr);
+    private static native long nativeGetLong(long nativePtr);
+    private static native double nativeGetDouble(long nativePtr);
+    private static native long nativeGetFullRecomputeCount(long nativePtr);
+    private static native void nativeClose(long nativePtr);
+}
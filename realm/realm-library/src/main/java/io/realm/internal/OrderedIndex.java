@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.realm.RealmFieldType;
+
+/**
+ * An ordered index keeps all rows of a table sorted by an integer, date, float or double column. Core only supports search indexes,
+ * which answer equality lookups, so the ordered index is stored as a list of links to all rows of the table, in
+ * ascending order of the column and with null values first. A range of values is then found by a binary search in
+ * the list, and the list can be used as an already sorted view of the table.
+ * <p>
+ * The lists of a class are kept in a hidden table named {@link #TABLE_PREFIX} followed by the class name. It has a
+ * single row and a link list column for each indexed field, named after the field. Core removes deleted rows from the
+ * lists, but the position of a row has to be updated every time its value changes.
+ */
+public final class OrderedIndex {
+
+    public static final String TABLE_PREFIX = "!oi:";
+
+    private final long columnIndex;
+    private final LinkView linkView;
+
+    private OrderedIndex(long columnIndex, LinkView linkView) {
+        this.columnIndex = columnIndex;
+        this.linkView = linkView;
+    }
+
+    /**
+     * Returns the name of the hidden table holding the ordered indexes of a class.
+     */
+    public static String getTableName(String className) {
+        return TABLE_PREFIX + className;
+    }
+
+    /**
+     * Checks if a table is the hidden table of ordered indexes rather than a class.
+     */
+    public static boolean isOrderedIndexTable(String tableName) {
+        return tableName.startsWith(TABLE_PREFIX);
+    }
+
+    /**
+     * Checks if a field of the given type can have an ordered index.
+     */
+    public static boolean isSupportedType(RealmFieldType type) {
+        switch (type) {
+            case INTEGER:
+            case DATE:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Maps a floating point value to a long having the same order, which is how the index compares float and double
+     * values. {@code -0.0} and {@code 0.0} have the same key. NaN values are ordered beyond the infinities.
+     */
+    public static long getKey(double value) {
+        if (value == 0) {
+            value = 0; // -0.0 is equal to 0.0
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        // Negative values are ordered backwards by their bits, so all but the sign bit are flipped.
+        return (bits < 0) ? (bits ^ Long.MAX_VALUE) : bits;
+    }
+
+    /**
+     * Returns the ordered index of a column.
+     *
+     * @param table the table to inspect.
+     * @param columnIndex the column of the index.
+     * @return the ordered index or {@code null} if the column has none.
+     */
+    public static OrderedIndex find(Table table, long columnIndex) {
+        Table indexTable = getIndexTable(table);
+        if (indexTable == null) {
+            return null;
+        }
+        long indexColumnIndex = indexTable.getColumnIndex(table.getColumnName(columnIndex));
+        if (indexColumnIndex == TableOrView.NO_MATCH) {
+            return null;
+        }
+        return new OrderedIndex(columnIndex, indexTable.getUncheckedRow(0).getLinkList(indexColumnIndex));
+    }
+
+    /**
+     * Returns the ordered indexes defined on a table.
+     *
+     * @param table the table to inspect.
+     * @return the ordered indexes of the table, an empty list if there are none.
+     * @throws IllegalStateException if an ordered index refers to a field that doesn't exist.
+     */
+    public static List<OrderedIndex> fromTable(Table table) {
+        Table indexTable = getIndexTable(table);
+        if (indexTable == null) {
+            return Collections.emptyList();
+        }
+        long indexColumnCount = indexTable.getColumnCount();
+        List<OrderedIndex> indexes = new ArrayList<OrderedIndex>((int) indexColumnCount);
+        for (long i = 0; i < indexColumnCount; i++) {
+            String fieldName = indexTable.getColumnName(i);
+            long columnIndex = table.getColumnIndex(fieldName);
+            if (columnIndex == TableOrView.NO_MATCH) {
+                throw new IllegalStateException("Field '" + fieldName + "' of ordered index does not exist in " +
+                        table.getName());
+            }
+            indexes.add(new OrderedIndex(columnIndex, indexTable.getUncheckedRow(0).getLinkList(i)));
+        }
+        return indexes;
+    }
+
+    /**
+     * Adds an ordered index to a column and fills it with all existing rows.
+     *
+     * @return the new ordered index.
+     * @throws IllegalStateException if the table is not part of a group.
+     */
+    public static OrderedIndex add(Table table, long columnIndex) {
+        Group group = table.getTableGroup();
+        if (group == null) {
+            throw new IllegalStateException("Ordered indexes are only supported if Table is part of a Group");
+        }
+        Table indexTable = group.getTable(getTableName(getClassName(table)));
+        long indexColumnIndex = indexTable.addColumnLink(RealmFieldType.LIST, table.getColumnName(columnIndex), table);
+        if (indexTable.size() == 0) {
+            indexTable.addEmptyRow();
+        }
+        OrderedIndex index = new OrderedIndex(columnIndex, indexTable.getUncheckedRow(0).getLinkList(indexColumnIndex));
+        nativeRebuild(index.linkView.nativePointer, columnIndex);
+        return index;
+    }
+
+    /**
+     * Removes the ordered index of a column. The hidden table is removed together with the last index of a class.
+     */
+    public static void remove(Table table, long columnIndex) {
+        Table indexTable = getIndexTable(table);
+        if (indexTable == null) {
+            return;
+        }
+        long indexColumnIndex = indexTable.getColumnIndex(table.getColumnName(columnIndex));
+        if (indexColumnIndex == TableOrView.NO_MATCH) {
+            return;
+        }
+        if (indexTable.getColumnCount() == 1) {
+            table.getTableGroup().removeTable(indexTable.getName());
+        } else {
+            indexTable.removeColumn(indexColumnIndex);
+        }
+    }
+
+    /**
+     * Renames the ordered index of a field. Must be called when the field is renamed.
+     */
+    public static void renameField(Table table, String oldFieldName, String newFieldName) {
+        Table indexTable = getIndexTable(table);
+        if (indexTable == null) {
+            return;
+        }
+        long indexColumnIndex = indexTable.getColumnIndex(oldFieldName);
+        if (indexColumnIndex != TableOrView.NO_MATCH) {
+            indexTable.renameColumn(indexColumnIndex, newFieldName);
+        }
+    }
+
+    /**
+     * Removes all ordered indexes of a class. Must be called before the class is removed, since core doesn't remove
+     * tables which are the target of links.
+     */
+    public static void removeClass(Group group, String className) {
+        String tableName = getTableName(className);
+        if (group.hasTable(tableName)) {
+            group.removeTable(tableName);
+        }
+    }
+
+    /**
+     * Renames the hidden table of a class. Must be called when the class is renamed.
+     */
+    public static void renameClass(Group group, String oldClassName, String newClassName) {
+        String tableName = getTableName(oldClassName);
+        if (group.hasTable(tableName)) {
+            group.renameTable(tableName, getTableName(newClassName));
+        }
+    }
+
+    private static Table getIndexTable(Table table) {
+        Group group = table.getTableGroup();
+        if (group == null) {
+            return null;
+        }
+        String tableName = getTableName(getClassName(table));
+        if (!group.hasTable(tableName)) {
+            return null;
+        }
+        return group.getTable(tableName);
+    }
+
+    private static String getClassName(Table table) {
+        String tableName = table.getName();
+        return tableName.startsWith(Table.TABLE_PREFIX) ? tableName.substring(Table.TABLE_PREFIX.length()) : tableName;
+    }
+
+    public long getColumnIndex() {
+        return columnIndex;
+    }
+
+    long getNativeLinkViewPointer() {
+        return linkView.nativePointer;
+    }
+
+    /**
+     * Adds a row at the position of its current value. Must be called when the row is created and after its value
+     * has been changed.
+     */
+    public void add(Row row) {
+        nativeAdd(linkView.nativePointer, columnIndex, row.getIndex());
+    }
+
+    /**
+     * Removes a row. Must be called before the value of the row is changed, since the row is looked up by its value.
+     */
+    public void remove(Row row) {
+        nativeRemove(linkView.nativePointer, columnIndex, row.getIndex());
+    }
+
+    private static native void nativeAdd(long nativeLinkViewPtr, long columnIndex, long rowIndex);
+    private static native void nativeRemove(long nativeLinkViewPtr, long columnIndex, long rowIndex);
+    private static native void nativeRebuild(long nativeLinkViewPtr, long columnIndex);
+}
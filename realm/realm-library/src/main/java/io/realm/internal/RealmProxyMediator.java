@@ -103,6 +103,25 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmObject, RealmObjectProxy> cache);
 
+    /**
+     * Writes a non-managed {@link RealmObject} or a RealmObject from another Realm directly into the tables of this
+     * Realm. Unlike {@link #copyOrUpdate(Realm, RealmObject, boolean, Map)} no managed objects are created.
+     *
+     * @param object the object to insert.
+     * @param update {@code true} if object has a primary key and should try to update already existing data,
+     * {@code false} otherwise.
+     * @param cache the cache for mapping between standalone objects and the index of the row they were written to.
+     */
+    public abstract void insert(Realm realm, RealmObject object, boolean update, Map<RealmObject, Long> cache);
+
+    /**
+     * Returns the primary key value of a {@link RealmObject}.
+     *
+     * @param object the object to inspect.
+     * @return the primary key as a {@code String} or {@code Long}, or {@code null} if the class has no primary key.
+     */
+    public abstract Object getPrimaryKey(RealmObject object);
+
     /**
      * Creates or updates a {@link RealmObject} using the provided JSON data.
      *
@@ -128,15 +147,18 @@ public abstract class RealmProxyMediator {
     public abstract <E extends RealmObject> E createUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader) throws java.io.IOException;
 
     /**
-     * Creates a deep standalone copy of a RealmObject. This is a deep copy so all links will be copied as well.
+     * Creates deep standalone copies of a batch of objects. This is a deep copy so all links will be copied as well.
      * The depth can be restricted to a maximum depth after which all links will be turned into null values instead.
+     * The objects are read with one native call per batch, and linked objects are copied in batches as well.
      *
-     * @param realmObject RealmObject to copy. It must be a valid object.
-     * @param maxDepth restrict the depth of the copy to this level. The root object is depth {@code 0}.
+     * @param clazz the class of the objects to copy.
+     * @param realm the Realm containing the objects.
+     * @param rowIndices the row indices of the objects to copy. They must be valid.
+     * @param maxDepth restrict the depth of the copy to this level. The root objects are depth {@code 0}.
      * @param cache cache used to make sure standalone objects are reused correctly.
-     * @return a standalone copy of the given object.
+     * @return standalone copies of the given objects, in the same order.
      */
-    public abstract <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache);
+    public abstract <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndices, int maxDepth, DetachedCopyCache cache);
 
     @Override
     public boolean equals(Object o) {
@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -69,6 +70,13 @@ public interface Row {
 
     byte[] getBinaryByteArray(long columnIndex);
 
+    /**
+     * Returns a binary value without copying it, unless the Realm is in a write transaction. The buffer is read-only and
+     * only valid until the version of the Realm being read changes or the Realm is closed. Reading it after that can
+     * crash the process.
+     */
+    ByteBuffer getBinaryByteBuffer(long columnIndex);
+
     Mixed getMixed(long columnIndex);
 
     RealmFieldType getMixedType(long columnIndex);
@@ -93,6 +101,12 @@ public interface Row {
 
     void setBinaryByteArray(long columnIndex, byte[] data);
 
+    /**
+     * Sets a binary value to the remaining bytes of a buffer. Direct buffers are written without a copy on the Java
+     * heap.
+     */
+    void setBinaryByteBuffer(long columnIndex, ByteBuffer data);
+
     void setMixed(long columnIndex, Mixed data);
 
     void setLink(long columnIndex, long value);
@@ -187,6 +201,11 @@ public interface Row {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
         }
 
+        @Override
+        public ByteBuffer getBinaryByteBuffer(long columnIndex) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
         @Override
         public Mixed getMixed(long columnIndex) {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
@@ -257,6 +276,11 @@ public interface Row {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
         }
 
+        @Override
+        public void setBinaryByteBuffer(long columnIndex, ByteBuffer data) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
         @Override
         public void setMixed(long columnIndex, Mixed data) {
             throw new IllegalStateException();
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Collects the values of a new row, so they can be written with a single native call instead of one call per field.
+ * It is used by the generated JSON stream decoders, which know the primary key of an object only once the object has
+ * been read completely.
+ * <p>
+ * Values are written in the order they were set, so setting a column twice keeps the last value.
+ */
+public final class RowBuffer {
+
+    // Must match RowBufferKind in io_realm_internal_table.cpp. Also used by RowSnapshot.
+    static final byte KIND_NULL = 0;
+    static final byte KIND_LONG = 1;
+    static final byte KIND_BOOLEAN = 2;
+    static final byte KIND_FLOAT = 3;
+    static final byte KIND_DOUBLE = 4;
+    static final byte KIND_DATE = 5;
+    static final byte KIND_STRING = 6;
+    static final byte KIND_BINARY = 7;
+    static final byte KIND_LINK = 8;
+
+    private long[] columnIndices;
+    private byte[] kinds;
+    private long[] longValues;
+    private double[] doubleValues;
+    private Object[] objectValues;
+    private int count;
+
+    // Link lists are written after the other values, with one native call per list.
+    private long[] linkListColumnIndices = new long[0];
+    private long[][] linkListTargets = new long[0][];
+    private int[] linkListSizes = new int[0];
+
+    /**
+     * Creates a buffer.
+     *
+     * @param capacity the expected number of values, usually the number of fields of the class.
+     */
+    public RowBuffer(int capacity) {
+        capacity = Math.max(capacity, 1);
+        columnIndices = new long[capacity];
+        kinds = new byte[capacity];
+        longValues = new long[capacity];
+        doubleValues = new double[capacity];
+        objectValues = new Object[capacity];
+    }
+
+    public void setNull(long columnIndex) {
+        add(columnIndex, KIND_NULL);
+    }
+
+    public void setLong(long columnIndex, long value) {
+        longValues[add(columnIndex, KIND_LONG)] = value;
+    }
+
+    public void setBoolean(long columnIndex, boolean value) {
+        longValues[add(columnIndex, KIND_BOOLEAN)] = value ? 1 : 0;
+    }
+
+    public void setFloat(long columnIndex, float value) {
+        doubleValues[add(columnIndex, KIND_FLOAT)] = value;
+    }
+
+    public void setDouble(long columnIndex, double value) {
+        doubleValues[add(columnIndex, KIND_DOUBLE)] = value;
+    }
+
+    /**
+     * Sets a date given as milliseconds since the epoch. Core stores dates with a precision of seconds.
+     */
+    public void setDate(long columnIndex, long time) {
+        longValues[add(columnIndex, KIND_DATE)] = time / 1000;
+    }
+
+    public void setDate(long columnIndex, Date value) {
+        if (value == null) {
+            setNull(columnIndex);
+        } else {
+            setDate(columnIndex, value.getTime());
+        }
+    }
+
+    public void setString(long columnIndex, String value) {
+        if (value == null) {
+            setNull(columnIndex);
+        } else {
+            objectValues[add(columnIndex, KIND_STRING)] = value;
+        }
+    }
+
+    public void setBinary(long columnIndex, byte[] value) {
+        if (value == null) {
+            setNull(columnIndex);
+        } else {
+            objectValues[add(columnIndex, KIND_BINARY)] = value;
+        }
+    }
+
+    public void setLink(long columnIndex, long targetRowIndex) {
+        longValues[add(columnIndex, KIND_LINK)] = targetRowIndex;
+    }
+
+    /**
+     * Appends a row to a link list. Link lists not given any rows are left empty.
+     */
+    public void addLink(long columnIndex, long targetRowIndex) {
+        int list = 0;
+        while (list < linkListColumnIndices.length && linkListColumnIndices[list] != columnIndex) {
+            list++;
+        }
+        if (list == linkListColumnIndices.length) {
+            linkListColumnIndices = Arrays.copyOf(linkListColumnIndices, list + 1);
+            linkListColumnIndices[list] = columnIndex;
+            linkListTargets = Arrays.copyOf(linkListTargets, list + 1);
+            linkListTargets[list] = new long[8];
+            linkListSizes = Arrays.copyOf(linkListSizes, list + 1);
+        }
+        if (linkListSizes[list] == linkListTargets[list].length) {
+            linkListTargets[list] = Arrays.copyOf(linkListTargets[list], linkListSizes[list] * 2);
+        }
+        linkListTargets[list][linkListSizes[list]++] = targetRowIndex;
+    }
+
+    /**
+     * Adds a row to a table and writes the buffered values to it. If the table has a primary key, the row is added
+     * with the buffered primary key value, or with the default value if none was set.
+     *
+     * @return the index of the new row.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if the primary key value already exists.
+     * @throws IllegalArgumentException if a value doesn't match the type of its column or {@code null} is set to a
+     * column which is not nullable.
+     */
+    public long addRow(Table table) {
+        long rowIndex;
+        int primaryKey = table.hasPrimaryKey() ? lastIndexOf(table.getPrimaryKey()) : -1;
+        if (primaryKey < 0) {
+            rowIndex = table.addEmptyRow();
+        } else if (kinds[primaryKey] == KIND_STRING) {
+            rowIndex = table.addEmptyRowWithPrimaryKey(objectValues[primaryKey]);
+        } else if (kinds[primaryKey] == KIND_LONG) {
+            rowIndex = table.addEmptyRowWithPrimaryKey(longValues[primaryKey]);
+        } else if (kinds[primaryKey] == KIND_NULL) {
+            throw new IllegalArgumentException("Primary key value must not be null.");
+        } else {
+            throw new IllegalArgumentException("Invalid primary key value for " + table.getName() + ".");
+        }
+
+        table.setRowValues(rowIndex, count, columnIndices, kinds, longValues, doubleValues, objectValues);
+        for (int i = 0; i < linkListColumnIndices.length; i++) {
+            table.setLinkList(linkListColumnIndices[i], rowIndex,
+                    Arrays.copyOf(linkListTargets[i], linkListSizes[i]));
+        }
+        return rowIndex;
+    }
+
+    private int lastIndexOf(long columnIndex) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (columnIndices[i] == columnIndex) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int add(long columnIndex, byte kind) {
+        if (count == columnIndices.length) {
+            int capacity = count * 2;
+            columnIndices = Arrays.copyOf(columnIndices, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            longValues = Arrays.copyOf(longValues, capacity);
+            doubleValues = Arrays.copyOf(doubleValues, capacity);
+            objectValues = Arrays.copyOf(objectValues, capacity);
+        }
+        columnIndices[count] = columnIndex;
+        kinds[count] = kind;
+        return count++;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+/**
+ * The values of all columns of a batch of rows, read with a single native call instead of one call per field. It is
+ * used by the generated detached copy methods.
+ * <p>
+ * Rows are addressed by their position in the batch, not by their index in the table. The values don't change if the
+ * rows are modified afterwards.
+ */
+public final class RowSnapshot {
+
+    // Only returned by the native side, see RowBuffer for the other kinds.
+    private static final byte KIND_LINK_LIST = 9;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final byte[] kinds;
+    private final long[] longValues;
+    private final double[] doubleValues;
+    private final Object[] objectValues;
+
+    /**
+     * Reads the given rows.
+     *
+     * @param table the table containing the rows.
+     * @param rowIndices the indices of the rows to read.
+     * @throws ArrayIndexOutOfBoundsException if a row index is out of range.
+     */
+    public RowSnapshot(Table table, long[] rowIndices) {
+        rowCount = rowIndices.length;
+        columnCount = (int) table.getColumnCount();
+        int size = rowCount * columnCount;
+        kinds = new byte[size];
+        longValues = new long[size];
+        doubleValues = new double[size];
+        objectValues = new Object[size];
+        if (size > 0) {
+            table.getRowValues(rowIndices, kinds, longValues, doubleValues, objectValues);
+        }
+    }
+
+    /**
+     * Returns the number of rows in the snapshot.
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Checks if a value is {@code null}, including a {@code null} link.
+     */
+    public boolean isNull(int row, long columnIndex) {
+        return kinds[slot(row, columnIndex)] == RowBuffer.KIND_NULL;
+    }
+
+    public long getLong(int row, long columnIndex) {
+        return longValues[slot(row, columnIndex)];
+    }
+
+    public boolean getBoolean(int row, long columnIndex) {
+        return longValues[slot(row, columnIndex)] != 0;
+    }
+
+    public float getFloat(int row, long columnIndex) {
+        return (float) doubleValues[slot(row, columnIndex)];
+    }
+
+    public double getDouble(int row, long columnIndex) {
+        return doubleValues[slot(row, columnIndex)];
+    }
+
+    public Date getDate(int row, long columnIndex) {
+        int slot = slot(row, columnIndex);
+        return (kinds[slot] == RowBuffer.KIND_NULL) ? null : new Date(longValues[slot] * 1000);
+    }
+
+    public String getString(int row, long columnIndex) {
+        return (String) objectValues[slot(row, columnIndex)];
+    }
+
+    public byte[] getBinaryByteArray(int row, long columnIndex) {
+        return (byte[]) objectValues[slot(row, columnIndex)];
+    }
+
+    /**
+     * Returns a binary value as a heap buffer owned by the caller. Unlike {@link Row#getBinaryByteBuffer(long)} it
+     * stays valid when the Realm changes, as needed by detached copies.
+     */
+    public ByteBuffer getBinaryByteBuffer(int row, long columnIndex) {
+        byte[] data = getBinaryByteArray(row, columnIndex);
+        return (data == null) ? null : ByteBuffer.wrap(data);
+    }
+
+    /**
+     * Returns the index of the linked row or {@link TableOrView#NO_MATCH} if the link is {@code null}.
+     */
+    public long getLink(int row, long columnIndex) {
+        int slot = slot(row, columnIndex);
+        return (kinds[slot] == RowBuffer.KIND_LINK) ? longValues[slot] : TableOrView.NO_MATCH;
+    }
+
+    /**
+     * Returns the indices of the rows in a link list.
+     */
+    public long[] getLinkList(int row, long columnIndex) {
+        int slot = slot(row, columnIndex);
+        return (kinds[slot] == KIND_LINK_LIST) ? (long[]) objectValues[slot] : new long[0];
+    }
+
+    /**
+     * Returns the links of all rows in a column, with {@link TableOrView#NO_MATCH} for {@code null} links, so the
+     * linked rows can be read as one batch.
+     */
+    public long[] getLinks(long columnIndex) {
+        long[] links = new long[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            links[i] = getLink(i, columnIndex);
+        }
+        return links;
+    }
+
+    /**
+     * Returns the link lists of all rows in a column one after the other, so the linked rows can be read as one batch.
+     * The size of each list is given by {@link #getLinkList(int, long)}.
+     */
+    public long[] getLinkLists(long columnIndex) {
+        int size = 0;
+        for (int i = 0; i < rowCount; i++) {
+            size += getLinkList(i, columnIndex).length;
+        }
+        long[] links = new long[size];
+        int offset = 0;
+        for (int i = 0; i < rowCount; i++) {
+            long[] list = getLinkList(i, columnIndex);
+            System.arraycopy(list, 0, links, offset, list.length);
+            offset += list.length;
+        }
+        return links;
+    }
+
+    private int slot(int row, long columnIndex) {
+        return row * columnCount + (int) columnIndex;
+    }
+}
@@ -110,6 +110,24 @@ public class SharedGroup implements Closeable {
         return transaction;
     }
 
+    /**
+     * Begins an implicit transaction at the given version instead of the latest one. The version must still be held
+     * by another SharedGroup of the same file.
+     *
+     * @param versionID the version to read.
+     * @return the implicit transaction.
+     */
+    public ImplicitTransaction beginImplicitTransaction(VersionID versionID) {
+        if (activeTransaction) {
+            throw new IllegalStateException(
+                    "Can't beginImplicitTransaction() during another active transaction");
+        }
+        long nativeGroupPtr = nativeBeginImplicitAtVersion(nativePtr, versionID.version, versionID.index);
+        ImplicitTransaction transaction = new ImplicitTransaction(context, this, nativeGroupPtr);
+        activeTransaction = true;
+        return transaction;
+    }
+
     public WriteTransaction beginWrite() {
         if (activeTransaction)
             throw new IllegalStateException(
@@ -236,6 +254,10 @@ public class SharedGroup implements Closeable {
         return nativePtr;
     }
 
+    Context getContext() {
+        return context;
+    }
+
     public long getNativeReplicationPointer () {
         return nativeReplicationPtr;
     }
@@ -302,6 +324,7 @@ public class SharedGroup implements Closeable {
     private native long nativeCreateReplication(String databaseFile, byte[] key);
     private native void nativeCommitAndContinueAsRead(long nativePtr);
     private native long nativeBeginImplicit(long nativePtr);
+    private native long nativeBeginImplicitAtVersion(long nativePtr, long version, long index);
     private native String nativeGetDefaultReplicationDatabaseFileName();
 
     private native void nativeReserve(long nativePtr, long bytes);
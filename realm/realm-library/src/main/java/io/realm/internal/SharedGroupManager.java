@@ -48,6 +48,25 @@ public class SharedGroupManager implements Closeable {
         this.transaction = sharedGroup.beginImplicitTransaction();
     }
 
+    /**
+     * Creates a new instance of the FileWrapper for the given configuration, reading the given version of the file.
+     * The version must still be held by another SharedGroupManager, and it is kept available until this one is
+     * closed.
+     */
+    public SharedGroupManager(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        this.sharedGroup = new SharedGroup(
+                configuration.getPath(),
+                SharedGroup.IMPLICIT_TRANSACTION,
+                configuration.getDurability(),
+                configuration.getEncryptionKey());
+        try {
+            this.transaction = sharedGroup.beginImplicitTransaction(version);
+        } catch (RuntimeException e) {
+            sharedGroup.close();
+            throw e;
+        }
+    }
+
     /**
      * Closes the underlying {@link SharedGroup} and free any native resources.
      */
@@ -139,6 +158,13 @@ public class SharedGroupManager implements Closeable {
         transaction.writeToFile(destination, key);
     }
 
+    /**
+     * Writes the rows found by the queries and the rows linked from them to another location.
+     */
+    public void copyRowsToFile(File destination, byte[] key, TableQuery... queries) throws IOException {
+        transaction.writeRowsToFile(destination, key, queries);
+    }
+
     /**
      * Returns a reference to current {@link SharedGroup}.
      */
@@ -17,7 +17,11 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.RealmFieldType;
@@ -52,8 +56,10 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected long nativePtr;
     protected final Object parent;
-    private final Context context;
+    final Context context;
     private long cachedPrimaryKeyColumnIndex = NO_MATCH;
+    // Rows of primary key values resolved in batches, see resolvePrimaryKeys(). NO_MATCH is kept for missing values.
+    private Map<Object, Long> resolvedPrimaryKeys;
 
     // test:
     protected int tableNo;
@@ -271,6 +277,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
     @Override
     public void clear() {
         checkImmutable();
+        clearResolvedPrimaryKeys();
         nativeClear(nativePtr);
     }
 
@@ -335,23 +342,26 @@ public class Table implements TableOrView, TableSchema, Closeable {
     @Override
     public void remove(long rowIndex) {
         checkImmutable();
+        clearResolvedPrimaryKeys();
         nativeRemove(nativePtr, rowIndex);
     }
 
     @Override
     public void removeLast() {
         checkImmutable();
+        clearResolvedPrimaryKeys();
         nativeRemoveLast(nativePtr);
     }
 
     public void moveLastOver(long rowIndex) {
         checkImmutable();
+        clearResolvedPrimaryKeys();
         nativeMoveLastOver(nativePtr, rowIndex);
     }
 
     public long addEmptyRow() {
         checkImmutable();
-        if (hasPrimaryKey()) {
+        if (hasPrimaryKey() && !isInBulkLoad()) {
             long primaryKeyColumnIndex = getPrimaryKey();
             RealmFieldType type = getColumnType(primaryKeyColumnIndex);
             switch (type) {
@@ -369,6 +379,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
                 default:
                     throw new RealmException("Cannot check for duplicate rows for unsupported primary key type: " + type);
             }
+            long rowIndex = nativeAddEmptyRow(nativePtr, 1);
+            if (resolvedPrimaryKeys != null) {
+                resolvedPrimaryKeys.put((type == RealmFieldType.STRING) ? STRING_DEFAULT_VALUE : INTEGER_DEFAULT_VALUE,
+                        rowIndex);
+            }
+            return rowIndex;
         }
 
         return nativeAddEmptyRow(nativePtr, 1);
@@ -381,7 +397,6 @@ public class Table implements TableOrView, TableSchema, Closeable {
         long primaryKeyColumnIndex = getPrimaryKey();
         RealmFieldType type = getColumnType(primaryKeyColumnIndex);
         long rowIndex;
-        UncheckedRow row;
 
         // Add with primary key initially set
         switch (type) {
@@ -389,12 +404,14 @@ public class Table implements TableOrView, TableSchema, Closeable {
                 if (!(primaryKeyValue instanceof String)) {
                     throw new IllegalArgumentException("Primary key value is not a String: " + primaryKeyValue);
                 }
-                if (findFirstString(primaryKeyColumnIndex, (String)primaryKeyValue) != NO_MATCH) {
+                if (!isInBulkLoad() && findFirstString(primaryKeyColumnIndex, (String)primaryKeyValue) != NO_MATCH) {
                     throwDuplicatePrimaryKeyException(primaryKeyValue);
                 }
                 rowIndex = nativeAddEmptyRow(nativePtr, 1);
-                row = getUncheckedRow(rowIndex);
-                row.setString(primaryKeyColumnIndex, (String) primaryKeyValue);
+                nativeSetString(nativePtr, primaryKeyColumnIndex, rowIndex, (String) primaryKeyValue);
+                if (resolvedPrimaryKeys != null) {
+                    resolvedPrimaryKeys.put(primaryKeyValue, rowIndex);
+                }
                 break;
 
             case INTEGER:
@@ -404,12 +421,14 @@ public class Table implements TableOrView, TableSchema, Closeable {
                 } catch (RuntimeException e) {
                     throw new IllegalArgumentException("Primary key value is not a long: " + primaryKeyValue);
                 }
-                if (findFirstLong(primaryKeyColumnIndex, pkValue) != NO_MATCH) {
+                if (!isInBulkLoad() && findFirstLong(primaryKeyColumnIndex, pkValue) != NO_MATCH) {
                     throwDuplicatePrimaryKeyException(pkValue);
                 }
                 rowIndex = nativeAddEmptyRow(nativePtr, 1);
-                row = getUncheckedRow(rowIndex);
-                row.setLong(primaryKeyColumnIndex, pkValue);
+                nativeSetLong(nativePtr, primaryKeyColumnIndex, rowIndex, pkValue);
+                if (resolvedPrimaryKeys != null) {
+                    resolvedPrimaryKeys.put(pkValue, rowIndex);
+                }
                 break;
 
             default:
@@ -424,7 +443,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         if (rows < 1) {
             throw new IllegalArgumentException("'rows' must be > 0.");
         }
-        if (hasPrimaryKey()) {
+        if (hasPrimaryKey() && !isInBulkLoad()) {
            if (rows > 1) {
                throw new RealmException("Multiple empty rows cannot be created if a primary key is defined for the table.");
            }
@@ -614,24 +633,84 @@ public class Table implements TableOrView, TableSchema, Closeable {
         return getPrimaryKey() >= 0;
     }
 
+    // Called right before the value is set, so resolved primary keys are dropped if the primary key changes.
     void checkStringValueIsLegal(long columnIndex, long rowToUpdate, String value) {
-        if (isPrimaryKey(columnIndex)) {
+        if (isPrimaryKey(columnIndex) && !isInBulkLoad()) {
             long rowIndex = findFirstString(columnIndex, value);
             if (rowIndex != rowToUpdate && rowIndex != TableOrView.NO_MATCH) {
                 throwDuplicatePrimaryKeyException(value);
             }
+            if (rowIndex != rowToUpdate) {
+                clearResolvedPrimaryKeys();
+            }
         }
     }
 
+    // Called right before the value is set, so resolved primary keys are dropped if the primary key changes.
     void checkIntValueIsLegal(long columnIndex, long rowToUpdate, long value) {
-        if (isPrimaryKeyColumn(columnIndex)) {
+        if (isPrimaryKeyColumn(columnIndex) && !isInBulkLoad()) {
             long rowIndex = findFirstLong(columnIndex, value);
             if (rowIndex != rowToUpdate && rowIndex != TableOrView.NO_MATCH) {
                 throwDuplicatePrimaryKeyException(value);
             }
+            if (rowIndex != rowToUpdate) {
+                clearResolvedPrimaryKeys();
+            }
+        }
+    }
+
+    /**
+     * Looks up the rows of the given primary key values with a single native call, and keeps them so that
+     * {@link #findFirstLong(long, long)} on the primary key column is answered without calling into core. This is
+     * meant for bulk upserts, which would otherwise look up every object separately. Rows added with a primary key are
+     * added to the resolved values, while removing rows or changing a primary key drops them.
+     * <p>
+     * The values are only valid as long as rows are removed through this table object, so
+     * {@link #clearResolvedPrimaryKeys()} must be called when the bulk operation is done.
+     *
+     * @param values the primary key values to look up.
+     * @throws IllegalStateException if the table has no primary key.
+     */
+    public void resolvePrimaryKeys(long[] values) {
+        checkHasPrimaryKey();
+        long[] rowIndices = findFirstLongs(getPrimaryKey(), values);
+        Map<Object, Long> resolved = getResolvedPrimaryKeys(values.length);
+        for (int i = 0; i < values.length; i++) {
+            resolved.put(values[i], rowIndices[i]);
         }
     }
 
+    /**
+     * Looks up the rows of the given primary key values with a single native call, and keeps them so that
+     * {@link #findFirstString(long, String)} on the primary key column is answered without calling into core.
+     *
+     * @param values the primary key values to look up.
+     * @throws IllegalStateException if the table has no primary key.
+     * @see #resolvePrimaryKeys(long[])
+     */
+    public void resolvePrimaryKeys(String[] values) {
+        checkHasPrimaryKey();
+        long[] rowIndices = findFirstStrings(getPrimaryKey(), values);
+        Map<Object, Long> resolved = getResolvedPrimaryKeys(values.length);
+        for (int i = 0; i < values.length; i++) {
+            resolved.put(values[i], rowIndices[i]);
+        }
+    }
+
+    /**
+     * Drops the primary key values resolved by {@link #resolvePrimaryKeys(long[])}.
+     */
+    public void clearResolvedPrimaryKeys() {
+        resolvedPrimaryKeys = null;
+    }
+
+    private Map<Object, Long> getResolvedPrimaryKeys(int expectedSize) {
+        if (resolvedPrimaryKeys == null) {
+            resolvedPrimaryKeys = new HashMap<Object, Long>(expectedSize * 2);
+        }
+        return resolvedPrimaryKeys;
+    }
+
     private void throwDuplicatePrimaryKeyException(Object value) {
         throw new RealmPrimaryKeyConstraintException("Value already exists: " + value);
     }
@@ -678,20 +757,37 @@ public class Table implements TableOrView, TableSchema, Closeable {
     }
 
     /**
-     * Gets the value of a (binary) cell.
+     * Gets the value of a (binary) cell without copying it, unless the table is in a write transaction. The returned
+     * buffer is read-only and points directly to the data in the Realm file, so it is only valid until the version of
+     * the Realm being read changes, i.e. until the next commit or refresh, or until the Realm is closed. Reading it
+     * after that can crash the process.
      *
      * @param columnIndex 0 based index value of the cell column.
      * @param rowIndex 0 based index value of the cell row.
-     * @return value of the particular cell.
+     * @return value of the particular cell, or {@code null}.
      */
-    /*
-    @Override
     public ByteBuffer getBinaryByteBuffer(long columnIndex, long rowIndex) {
-        return nativeGetByteBuffer(nativePtr, columnIndex, rowIndex);
+        return toReadOnlyBuffer(nativeGetByteBuffer(nativePtr, columnIndex, rowIndex), !isImmutable());
     }
 
-    protected native ByteBuffer nativeGetByteBuffer(long nativeTablePtr, long columnIndex, long rowIndex);
+    /**
+     * Wraps a buffer pointing into the Realm file. Inside a write transaction the value can be moved or freed by the
+     * transaction itself, e.g. when the same field is set again, so it is copied to a buffer owned by the caller.
      */
+    static ByteBuffer toReadOnlyBuffer(ByteBuffer data, boolean copy) {
+        if (data == null) {
+            return null;
+        }
+        if (copy) {
+            ByteBuffer copied = ByteBuffer.allocateDirect(data.remaining());
+            copied.put(data);
+            copied.flip();
+            data = copied;
+        }
+        return data.asReadOnlyBuffer();
+    }
+
+    protected native ByteBuffer nativeGetByteBuffer(long nativeTablePtr, long columnIndex, long rowIndex);
 
     @Override
     public byte[] getBinaryByteArray(long columnIndex, long rowIndex) {
@@ -855,28 +951,42 @@ public class Table implements TableOrView, TableSchema, Closeable {
     }
 
     /**
-     * Sets the value for a (binary) cell.
+     * Sets the value for a (binary) cell to the remaining bytes of a buffer. Direct buffers are written without
+     * copying them to the Java heap.
      *
      * @param columnIndex column index of the cell.
      * @param rowIndex row index of the cell.
-     * @param data the ByteBuffer must be allocated with {@code ByteBuffer.allocateDirect(len)}.
+     * @param data the value, or {@code null}. Its position is not changed.
      */
-
-    /*
-    @Override
     public void setBinaryByteBuffer(long columnIndex, long rowIndex, ByteBuffer data) {
-        if (immutable) throwImmutable();
-        if (data == null)
-            throw new IllegalArgumentException("Null array");
-        if (data.isDirect())
-            nativeSetByteBuffer(nativePtr, columnIndex, rowIndex, data);
-        else
-            throw new RuntimeException("Currently ByteBuffer must be allocateDirect()."); // FIXME: support other than allocateDirect
+        checkImmutable();
+        if (data != null && data.isDirect()) {
+            // Read-only buffers might point into the Realm file itself, so they are copied before writing.
+            nativeSetByteBuffer(nativePtr, columnIndex, rowIndex, data, data.position(), data.remaining(),
+                    data.isReadOnly());
+        } else {
+            nativeSetByteArray(nativePtr, columnIndex, rowIndex, toByteArray(data));
+        }
     }
 
-    protected native void nativeSetByteBuffer(long nativeTablePtr, long columnIndex, long rowIndex, ByteBuffer data);
+    /**
+     * Returns the remaining bytes of a heap buffer, without copying them if the buffer wraps a whole array.
      */
+    static byte[] toByteArray(ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.hasArray() && data.arrayOffset() == 0 && data.position() == 0
+                && data.remaining() == data.array().length) {
+            return data.array();
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return bytes;
+    }
 
+    protected native void nativeSetByteBuffer(long nativeTablePtr, long columnIndex, long rowIndex, ByteBuffer data,
+                                              int offset, int length, boolean copy);
 
     @Override
     public void setBinaryByteArray(long columnIndex, long rowIndex, byte[] data) {
@@ -918,16 +1028,151 @@ public class Table implements TableOrView, TableSchema, Closeable {
         }
     }
 
+    /**
+     * Adds a search index to a column. Core cannot build search indexes on float and double columns, so they get an
+     * ordered index instead, which is used for both equality and range conditions. See {@link OrderedIndex}.
+     */
     public void addSearchIndex(long columnIndex) {
         checkImmutable();
+        if (usesOrderedIndexAsSearchIndex(columnIndex)) {
+            OrderedIndex.add(this, columnIndex);
+            return;
+        }
         nativeAddSearchIndex(nativePtr, columnIndex);
     }
 
     public void removeSearchIndex(long columnIndex) {
         checkImmutable();
+        if (usesOrderedIndexAsSearchIndex(columnIndex)) {
+            OrderedIndex.remove(this, columnIndex);
+            return;
+        }
         nativeRemoveSearchIndex(nativePtr, columnIndex);
     }
 
+    /**
+     * Prepares the table for adding a large number of rows. The search indexes of the table are removed, so they are
+     * not updated for every row, and primary key values are not checked for duplicates while rows are added. This
+     * also allows adding several empty rows at once to a table with a primary key. Ordered indexes are still updated.
+     * <p>
+     * {@link #endBulkLoad()} must be called before the transaction is committed.
+     *
+     * @throws IllegalStateException if the table is already being bulk loaded.
+     */
+    public void beginBulkLoad() {
+        checkImmutable();
+        if (isInBulkLoad()) {
+            throw new IllegalStateException(getName() + " is already being bulk loaded.");
+        }
+        long columnCount = getColumnCount();
+        long[] indexedColumns = new long[(int) columnCount];
+        int count = 0;
+        for (long i = 0; i < columnCount; i++) {
+            if (!usesOrderedIndexAsSearchIndex(i) && nativeHasSearchIndex(nativePtr, i)) {
+                indexedColumns[count++] = i;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            nativeRemoveSearchIndex(nativePtr, indexedColumns[i]);
+        }
+        clearResolvedPrimaryKeys();
+        context.bulkLoadIndexedColumns.put(nativePtr, Arrays.copyOf(indexedColumns, count));
+    }
+
+    /**
+     * Rebuilds the search indexes removed by {@link #beginBulkLoad()}, each in a single pass over all rows, and checks
+     * that the primary key values are unique.
+     * <p>
+     * If a primary key value is duplicated, the table stays in bulk load, with its indexes rebuilt, until either the
+     * duplicates are removed and this is called again, or the bulk load is cancelled.
+     *
+     * @throws IllegalStateException if the table is not being bulk loaded.
+     * @throws RealmPrimaryKeyConstraintException if a primary key value is used by more than one row.
+     */
+    public void endBulkLoad() {
+        checkImmutable();
+        long[] indexedColumns = context.bulkLoadIndexedColumns.get(nativePtr);
+        if (indexedColumns == null) {
+            throw new IllegalStateException(getName() + " is not being bulk loaded.");
+        }
+        if (indexedColumns.length > 0) {
+            for (long columnIndex : indexedColumns) {
+                nativeAddSearchIndex(nativePtr, columnIndex);
+            }
+            context.bulkLoadIndexedColumns.put(nativePtr, new long[0]);
+        }
+        if (hasPrimaryKey()) {
+            checkPrimaryKeysAreUnique();
+        }
+        context.bulkLoadIndexedColumns.remove(nativePtr);
+    }
+
+    /**
+     * Forgets about a bulk load without rebuilding the indexes. Must be called when the transaction of the bulk load
+     * is rolled back, which restores the indexes.
+     */
+    public void cancelBulkLoad() {
+        context.bulkLoadIndexedColumns.remove(nativePtr);
+    }
+
+    /**
+     * Checks if the table is being bulk loaded, see {@link #beginBulkLoad()}. The bulk load is seen by every
+     * {@code Table} of the same group referring to this table, not only by the one it was started on.
+     */
+    public boolean isInBulkLoad() {
+        Map<Long, long[]> bulkLoads = context.bulkLoadIndexedColumns;
+        return !bulkLoads.isEmpty() && bulkLoads.containsKey(nativePtr);
+    }
+
+    // The first row of every value is part of the distinct view, so any other row is a duplicate.
+    private void checkPrimaryKeysAreUnique() {
+        long primaryKeyColumnIndex = getPrimaryKey();
+        TableView distinctView = getDistinctView(primaryKeyColumnIndex);
+        long distinctCount = distinctView.size();
+        if (distinctCount == size()) {
+            return;
+        }
+        boolean[] isFirst = new boolean[(int) size()];
+        for (long i = 0; i < distinctCount; i++) {
+            isFirst[(int) distinctView.getSourceRowIndex(i)] = true;
+        }
+        for (int i = 0; i < isFirst.length; i++) {
+            if (!isFirst[i]) {
+                throwDuplicatePrimaryKeyException((getColumnType(primaryKeyColumnIndex) == RealmFieldType.STRING) ?
+                        getString(primaryKeyColumnIndex, i) : getLong(primaryKeyColumnIndex, i));
+            }
+        }
+    }
+
+    // Ordered indexes need a group, so float and double columns of free tables cannot be indexed at all.
+    private boolean usesOrderedIndexAsSearchIndex(long columnIndex) {
+        RealmFieldType type = getColumnType(columnIndex);
+        return (type == RealmFieldType.FLOAT || type == RealmFieldType.DOUBLE) && getTableGroup() != null;
+    }
+
+    /**
+     * Adds an ordered index to an integer, date, float or double column. See {@link OrderedIndex}.
+     */
+    public void addOrderedIndex(long columnIndex) {
+        checkImmutable();
+        OrderedIndex.add(this, columnIndex);
+    }
+
+    public void removeOrderedIndex(long columnIndex) {
+        checkImmutable();
+        OrderedIndex.remove(this, columnIndex);
+    }
+
+    public void addFullTextIndex(long columnIndex) {
+        checkImmutable();
+        FullTextIndex.add(this, columnIndex);
+    }
+
+    public void removeFullTextIndex(long columnIndex) {
+        checkImmutable();
+        FullTextIndex.remove(this, columnIndex);
+    }
+
     /**
      * Define a primary key for this table. This needs to be called manually before inserting data into the table.
      *
@@ -941,6 +1186,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         if (pkTable == null) {
             throw new RealmException("Primary keys are only supported if Table is part of a Group");
         }
+        clearResolvedPrimaryKeys();
         cachedPrimaryKeyColumnIndex = nativeSetPrimaryKey(pkTable.nativePtr, nativePtr, columnName);
     }
 
@@ -990,9 +1236,20 @@ public class Table implements TableOrView, TableSchema, Closeable {
     }
 
     public boolean hasSearchIndex(long columnIndex) {
+        if (usesOrderedIndexAsSearchIndex(columnIndex)) {
+            return hasOrderedIndex(columnIndex);
+        }
         return nativeHasSearchIndex(nativePtr, columnIndex);
     }
 
+    public boolean hasOrderedIndex(long columnIndex) {
+        return OrderedIndex.find(this, columnIndex) != null;
+    }
+
+    public boolean hasFullTextIndex(long columnIndex) {
+        return FullTextIndex.find(this, columnIndex) != null;
+    }
+
     public boolean isNullLink(long columnIndex, long rowIndex) {
         return nativeIsNullLink(nativePtr, columnIndex, rowIndex);
     }
@@ -1001,6 +1258,42 @@ public class Table implements TableOrView, TableSchema, Closeable {
         nativeNullifyLink(nativePtr, columnIndex, rowIndex);
     }
 
+    /**
+     * Sets a cell of a nullable column to {@code null}.
+     *
+     * @param columnIndex column index of the cell.
+     * @param rowIndex row index of the cell.
+     */
+    public void setNull(long columnIndex, long rowIndex) {
+        checkImmutable();
+        nativeSetNull(nativePtr, columnIndex, rowIndex);
+    }
+
+    /**
+     * Replaces the content of a link list cell without creating a {@link LinkView} accessor.
+     *
+     * @param columnIndex column index of the cell.
+     * @param rowIndex row index of the cell.
+     * @param targetRowIndices the rows of the target table to link to, in order.
+     */
+    public void setLinkList(long columnIndex, long rowIndex, long[] targetRowIndices) {
+        checkImmutable();
+        nativeSetLinkList(nativePtr, columnIndex, rowIndex, targetRowIndices);
+    }
+
+    // Writes the values collected by a RowBuffer with a single native call.
+    void setRowValues(long rowIndex, int count, long[] columnIndices, byte[] kinds, long[] longValues,
+                      double[] doubleValues, Object[] objectValues) {
+        checkImmutable();
+        nativeSetRow(nativePtr, rowIndex, count, columnIndices, kinds, longValues, doubleValues, objectValues);
+    }
+
+    // Reads all columns of the given rows with a single native call, see RowSnapshot.
+    void getRowValues(long[] rowIndices, byte[] kinds, long[] longValues, double[] doubleValues,
+                      Object[] objectValues) {
+        nativeGetRows(nativePtr, rowIndices, kinds, longValues, doubleValues, objectValues);
+    }
+
     boolean isImmutable() {
         if (!(parent instanceof Table)) {
             return parent != null && ((Group) parent).immutable;
@@ -1132,7 +1425,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         long nativeQueryPtr = nativeWhere(nativePtr);
         try {
             // Copy context reference from parent
-            return new TableQuery(this.context, this, nativeQueryPtr);
+            return new TableQuery(this.context, this, nativeQueryPtr, this);
         } catch (RuntimeException e) {
             TableQuery.nativeClose(nativeQueryPtr);
             throw e;
@@ -1154,6 +1447,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public long findFirstLong(long columnIndex, long value) {
+        if (resolvedPrimaryKeys != null && columnIndex == getPrimaryKey()) {
+            Long rowIndex = resolvedPrimaryKeys.get(value);
+            if (rowIndex != null) {
+                return rowIndex;
+            }
+        }
         return nativeFindFirstInt(nativePtr, columnIndex, value);
     }
 
@@ -1185,9 +1484,53 @@ public class Table implements TableOrView, TableSchema, Closeable {
         if (value == null) {
             throw new IllegalArgumentException("null is not supported");
         }
+        if (resolvedPrimaryKeys != null && columnIndex == getPrimaryKey()) {
+            Long rowIndex = resolvedPrimaryKeys.get(value);
+            if (rowIndex != null) {
+                return rowIndex;
+            }
+        }
         return nativeFindFirstString(nativePtr, columnIndex, value);
     }
 
+    /**
+     * Finds the first row of each of the given values in an integer column. The values are looked up in sorted order
+     * by a single native call, which is considerably faster than calling {@link #findFirstLong(long, long)} for each
+     * value when the column has a search index.
+     *
+     * @param columnIndex the column to search.
+     * @param values the values to look up.
+     * @return the row index of each value, in the order of the values, or {@link TableOrView#NO_MATCH} if a value
+     * wasn't found.
+     */
+    public long[] findFirstLongs(long columnIndex, long[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("null is not supported");
+        }
+        return nativeFindFirstInts(nativePtr, columnIndex, values);
+    }
+
+    /**
+     * Finds the first row of each of the given values in a string column with a single native call.
+     *
+     * @param columnIndex the column to search.
+     * @param values the values to look up.
+     * @return the row index of each value, in the order of the values, or {@link TableOrView#NO_MATCH} if a value
+     * wasn't found.
+     * @see #findFirstLongs(long, long[])
+     */
+    public long[] findFirstStrings(long columnIndex, String[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("null is not supported");
+        }
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("null is not supported");
+            }
+        }
+        return nativeFindFirstStrings(nativePtr, columnIndex, values);
+    }
+
     @Override
     public TableView findAllLong(long columnIndex, long value) {
         context.executeDelayedDisposal();
@@ -1288,10 +1631,38 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     //
 
-    public TableView getDistinctView(long columnIndex) {
+    /**
+     * Returns a view of the rows of this table linking to a row of the link target table. Core keeps backlinks for
+     * all links, so the view is kept up to date even if the target row is moved, and becomes empty once the target
+     * row is deleted.
+     *
+     * @param columnIndex the link or link list column of this table.
+     * @param targetRowIndex the row of the link target table.
+     * @return the view of the linking rows.
+     */
+    public TableView getBacklinkView(long columnIndex, long targetRowIndex) {
+        this.context.executeDelayedDisposal();
+        long nativeViewPtr = nativeGetBacklinkView(nativePtr, columnIndex, targetRowIndex);
+        try {
+            return new TableView(this.context, this, nativeViewPtr);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a view of the rows having distinct values in the given columns. Core's search index is used for a single
+     * indexed column, other columns are made distinct by hashing their values.
+     *
+     * @param columnIndices the columns of the distinct.
+     * @return the view of the first row of every combination of values.
+     * @throws IllegalArgumentException if the type of a column is unsupported.
+     */
+    public TableView getDistinctView(long... columnIndices) {
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         this.context.executeDelayedDisposal();
-        long nativeViewPtr = nativeGetDistinctView(nativePtr, columnIndex);
+        long nativeViewPtr = nativeGetDistinctView(nativePtr, columnIndices);
         try {
             return new TableView(this.context, this, nativeViewPtr);
         } catch (RuntimeException e) {
@@ -1362,7 +1733,15 @@ public class Table implements TableOrView, TableSchema, Closeable {
      * Checks if a given table name is a meta-table, i.e. a table used by Realm to track its internal state.
      */
     public static boolean isMetaTable(String tableName) {
-        return (tableName.equals(METADATA_TABLE_NAME) || tableName.equals(PRIMARY_KEY_TABLE_NAME));
+        return (tableName.equals(METADATA_TABLE_NAME) || tableName.equals(PRIMARY_KEY_TABLE_NAME)
+                || OrderedIndex.isOrderedIndexTable(tableName) || FullTextIndex.isFullTextTable(tableName));
+    }
+
+    /**
+     * Checks if a given column name belongs to a column used by Realm to maintain an index rather than a field.
+     */
+    public static boolean isHiddenColumn(String columnName) {
+        return CompoundIndex.isCompoundIndexColumn(columnName) || FullTextIndex.isFullTextColumn(columnName);
     }
 
     /**
@@ -1433,6 +1812,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native boolean nativeHasSearchIndex(long nativePtr, long columnIndex);
     private native boolean nativeIsNullLink(long nativePtr, long columnIndex, long rowIndex);
     private native void nativeNullifyLink(long nativePtr, long columnIndex, long rowIndex);
+    private native void nativeSetNull(long nativePtr, long columnIndex, long rowIndex);
+    private native void nativeSetLinkList(long nativePtr, long columnIndex, long rowIndex, long[] targetRowIndices);
+    private native void nativeSetRow(long nativeTablePtr, long rowIndex, int count, long[] columnIndices,
+                                     byte[] kinds, long[] longValues, double[] doubleValues, Object[] objectValues);
+    private native void nativeGetRows(long nativeTablePtr, long[] rowIndices, byte[] kinds, long[] longValues,
+                                      double[] doubleValues, Object[] objectValues);
     private native long nativeSumInt(long nativePtr, long columnIndex);
     private native long nativeMaximumInt(long nativePtr, long columnIndex);
     private native long nativeMinimumInt(long nativePtr, long columnIndex);
@@ -1458,6 +1843,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native long nativeFindFirstDouble(long nativePtr, long columnIndex, double value);
     private native long nativeFindFirstDate(long nativeTablePtr, long columnIndex, long dateTimeValue);
     private native long nativeFindFirstString(long nativeTablePtr, long columnIndex, String value);
+    private native long[] nativeFindFirstInts(long nativeTablePtr, long columnIndex, long[] values);
+    private native long[] nativeFindFirstStrings(long nativeTablePtr, long columnIndex, String[] values);
     private native long nativeFindAllInt(long nativePtr, long columnIndex, long value);
     private native long nativeFindAllBool(long nativePtr, long columnIndex, boolean value);
     private native long nativeFindAllFloat(long nativePtr, long columnIndex, float value);
@@ -1467,7 +1854,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native long nativeLowerBoundInt(long nativePtr, long columnIndex, long value);
     private native long nativeUpperBoundInt(long nativePtr, long columnIndex, long value);
     private native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long resultPtr);
-    private native long nativeGetDistinctView(long nativePtr, long columnIndex);
+    private native long nativeGetDistinctView(long nativePtr, long[] columnIndices);
+    private native long nativeGetBacklinkView(long nativePtr, long columnIndex, long targetRowIndex);
     private native String nativeGetName(long nativeTablePtr);
     private native void nativeOptimize(long nativeTablePtr);
     private native String nativeToJson(long nativeTablePtr);
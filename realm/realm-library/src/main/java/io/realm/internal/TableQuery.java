@@ -17,7 +17,12 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import io.realm.Case;
 import io.realm.Sort;
@@ -38,6 +43,34 @@ public class TableQuery implements Closeable {
     // the first action to validate the syntax of the query.
     private boolean queryValidated = true;
 
+    // Conditions in the order they were added to the query. They are used to explain the query and to find
+    // compound indexes matching it.
+    private final List<Condition> conditions = new ArrayList<Condition>();
+
+    // A private copy of the query looking up a compound index key, see planKeyLookup(). It is evaluated instead of
+    // the query itself and rebuilt whenever the query changes.
+    private long keyLookupPtr = 0;
+    private CompoundIndex keyLookupIndex;
+    private String keyLookupKey;
+
+    // Set for queries imported into a worker SharedGroup, whose table accessor is only used by the query.
+    private boolean ownsTable = false;
+
+    /**
+     * A condition or grouping operator (with no column) as it was added to the query.
+     */
+    public static class Condition {
+        public final String operator;
+        public final long[] columnIndices;
+        public final Object value;
+
+        Condition(String operator, long[] columnIndices, Object value) {
+            this.operator = operator;
+            this.columnIndices = columnIndices;
+            this.value = value;
+        }
+    }
+
     // TODO: Can we protect this?
     public TableQuery(Context context, Table table, long nativeQueryPtr) {
         if (DEBUG) {
@@ -61,6 +94,7 @@ public class TableQuery implements Closeable {
 
     public void close() {
         synchronized (context) {
+            closeKeyLookup();
             if (nativePtr != 0) {
                 nativeClose(nativePtr);
 
@@ -70,10 +104,17 @@ public class TableQuery implements Closeable {
                 nativePtr = 0;
             }
         }
+        if (ownsTable) {
+            table.close();
+        }
     }
 
     protected void finalize() {
         synchronized (context) {
+            if (keyLookupPtr != 0) {
+                context.asyncDisposeQuery(keyLookupPtr);
+                keyLookupPtr = 0;
+            }
             if (nativePtr != 0) {
                 context.asyncDisposeQuery(nativePtr);
                 nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
@@ -91,7 +132,311 @@ public class TableQuery implements Closeable {
                 queryValidated = true; // If empty string error message, query is valid
             else
                 throw new UnsupportedOperationException(invalidMessage);
+            planKeyLookup();
+        }
+    }
+
+    /**
+     * Returns the native query to evaluate: the private key lookup copy if a compound index can be used, the query
+     * itself otherwise. Must be called after {@link #validateQuery()}.
+     */
+    private long executionPtr() {
+        return (keyLookupPtr != 0) ? keyLookupPtr : nativePtr;
+    }
+
+    private void closeKeyLookup() {
+        if (keyLookupPtr != 0) {
+            nativeClose(keyLookupPtr);
+            keyLookupPtr = 0;
+        }
+        keyLookupIndex = null;
+        keyLookupKey = null;
+    }
+
+    /**
+     * Plans a lookup of a compound index key if the query has equality conditions on all fields of a compound index.
+     * The lookup is implied by those conditions, so the result of the query doesn't change, but core can answer it
+     * using the search index of the key column instead of testing the conditions one by one. The lookup is added to a
+     * private copy of the query, so the query and its conditions stay as they were written.
+     * <p>
+     * Equality conditions on only a leading part of the fields can't use the index: the keys are stored in a search
+     * index, which only finds whole keys, and a prefix condition on the key column would be a full scan.
+     */
+    private void planKeyLookup() {
+        closeKeyLookup();
+
+        // Only conditions outside of any group and not negated have to be true for every match.
+        Map<Long, Object> equalities = new HashMap<Long, Object>();
+        int depth = 0;
+        boolean negated = false;
+        for (Condition condition : conditions) {
+            if (condition.columnIndices == null) {
+                if (condition.operator.equals("(")) {
+                    depth++;
+                } else if (condition.operator.equals(")")) {
+                    depth--;
+                } else if (condition.operator.equals("OR") && depth == 0) {
+                    return;
+                }
+                negated = condition.operator.equals("NOT");
+                continue;
+            }
+            if (depth == 0 && !negated && condition.columnIndices.length == 1) {
+                if (condition.operator.equals("==")) {
+                    equalities.put(condition.columnIndices[0], condition.value);
+                } else if (condition.operator.equals("IS NULL")) {
+                    equalities.put(condition.columnIndices[0], null);
+                }
+            }
+            negated = false;
+        }
+        if (equalities.size() < 2) {
+            return;
+        }
+
+        List<CompoundIndex> compoundIndexes = CompoundIndex.fromTable(table);
+        CompoundIndex bestIndex = null;
+        for (CompoundIndex compoundIndex : compoundIndexes) {
+            long[] fieldColumnIndices = compoundIndex.getFieldColumnIndices();
+            boolean covered = true;
+            for (long fieldColumnIndex : fieldColumnIndices) {
+                if (!equalities.containsKey(fieldColumnIndex)) {
+                    covered = false;
+                    break;
+                }
+            }
+            if (covered && (bestIndex == null ||
+                    fieldColumnIndices.length > bestIndex.getFieldColumnIndices().length)) {
+                bestIndex = compoundIndex;
+            }
+        }
+        if (bestIndex == null) {
+            return;
+        }
+
+        long[] fieldColumnIndices = bestIndex.getFieldColumnIndices();
+        Object[] values = new Object[fieldColumnIndices.length];
+        for (int i = 0; i < fieldColumnIndices.length; i++) {
+            values[i] = equalities.get(fieldColumnIndices[i]);
+        }
+        String key = CompoundIndex.getKey(values);
+        keyLookupPtr = nativeCreateKeyLookupQuery(nativePtr, bestIndex.getColumnIndex(), key);
+        keyLookupIndex = bestIndex;
+        keyLookupKey = key;
+    }
+
+    /**
+     * Returns the compound index the query is evaluated with, see {@link #getKeyLookupKey()}.
+     *
+     * @return the compound index or {@code null} if none is used.
+     */
+    public CompoundIndex getKeyLookupIndex() {
+        validateQuery();
+        return keyLookupIndex;
+    }
+
+    /**
+     * Returns the key looked up in the compound index returned by {@link #getKeyLookupIndex()}.
+     *
+     * @return the key or {@code null} if no compound index is used.
+     */
+    public String getKeyLookupKey() {
+        validateQuery();
+        return keyLookupKey;
+    }
+
+    /**
+     * Finds the range of values all matches of the query are within, for a column having an ordered index. Only the
+     * rows within the range have to be looked at, and they are found in ascending order of the column.
+     *
+     * @param sortColumnIndex the column the result is sorted by or -1 if it isn't sorted. If given, only the ordered
+     *                        index of that column is used, even if the query has no range condition on it, as long as
+     *                        it has no other conditions either.
+     * @return the range or {@code null} if no ordered index can be used.
+     */
+    private OrderedRange findOrderedRange(long sortColumnIndex) {
+        if (origin != table) {
+            return null; // The query is restricted to a view or a list already.
+        }
+
+        // Only conditions outside of any group and not negated have to be true for every match.
+        Map<Long, OrderedRange> ranges = new HashMap<Long, OrderedRange>();
+        int depth = 0;
+        boolean negated = false;
+        for (Condition condition : conditions) {
+            if (condition.columnIndices == null) {
+                if (condition.operator.equals("(")) {
+                    depth++;
+                } else if (condition.operator.equals(")")) {
+                    depth--;
+                } else if (condition.operator.equals("OR") && depth == 0) {
+                    return null;
+                }
+                negated = condition.operator.equals("NOT");
+                continue;
+            }
+            if (depth == 0 && !negated && condition.columnIndices.length == 1) {
+                Long columnIndex = condition.columnIndices[0];
+                OrderedRange range = ranges.get(columnIndex);
+                if (range == null) {
+                    range = new OrderedRange();
+                }
+                if (range.restrict(condition.operator, condition.value)) {
+                    ranges.put(columnIndex, range);
+                }
+            }
+            negated = false;
+        }
+
+        OrderedRange range;
+        if (sortColumnIndex >= 0) {
+            range = ranges.get(sortColumnIndex);
+            if (range == null) {
+                if (!conditions.isEmpty()) {
+                    return null; // Sorting the matches is cheaper than looking at every row in the index.
+                }
+                range = new OrderedRange();
+            }
+            range.index = OrderedIndex.find(table, sortColumnIndex);
+            return (range.index != null) ? range : null;
+        }
+        if (ranges.isEmpty()) {
+            return null;
+        }
+        for (OrderedIndex orderedIndex : OrderedIndex.fromTable(table)) {
+            range = ranges.get(orderedIndex.getColumnIndex());
+            if (range != null) {
+                range.index = orderedIndex;
+                return range;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the rows containing a token required by a full-text condition. Only those rows have to be looked at, so
+     * the token contained in the fewest rows is picked.
+     *
+     * @return the rows containing the token or {@code null} if no full-text index can be used.
+     */
+    private LinkView findFullTextPostings() {
+        if (origin != table) {
+            return null; // The query is restricted to a view or a list already.
+        }
+
+        // Only conditions outside of any group and not negated have to be true for every match.
+        LinkView best = null;
+        int depth = 0;
+        boolean negated = false;
+        for (Condition condition : conditions) {
+            if (condition.columnIndices == null) {
+                if (condition.operator.equals("(")) {
+                    depth++;
+                } else if (condition.operator.equals(")")) {
+                    depth--;
+                } else if (condition.operator.equals("OR") && depth == 0) {
+                    return null;
+                }
+                negated = condition.operator.equals("NOT");
+                continue;
+            }
+            if (depth == 0 && !negated && condition.operator.equals("MATCHES") && condition.columnIndices.length == 1) {
+                FullTextIndex index = FullTextIndex.find(table, condition.columnIndices[0]);
+                if (index != null) {
+                    for (String token : ((String) condition.value).split(" ")) {
+                        if (FullTextIndex.isPrefix(token)) {
+                            continue; // A prefix can match any number of tokens.
+                        }
+                        LinkView postings = index.getPostings(token);
+                        if (postings != null && (best == null || postings.size() < best.size())) {
+                            best = postings;
+                        }
+                    }
+                }
+            }
+            negated = false;
         }
+        return best;
+    }
+
+    private static class OrderedRange {
+        OrderedIndex index;
+        boolean hasLower;
+        long lower; // inclusive
+        boolean hasUpper;
+        long upper; // inclusive
+
+        // Narrows the range down by a condition. Returns false if the condition is not a range condition.
+        boolean restrict(String operator, Object value) {
+            if (operator.equals("BETWEEN")) {
+                Object[] values = (Object[]) value;
+                return restrict(">=", values[0]) && restrict("<=", values[1]);
+            }
+            if (!isRangeOperator(operator)) {
+                return false;
+            }
+            long bound;
+            if (value instanceof Long) {
+                bound = (Long) value;
+            } else if (value instanceof Date) {
+                bound = ((Date) value).getTime() / 1000; // Dates are compared in seconds by core.
+            } else if (value instanceof Float || value instanceof Double) {
+                double number = ((Number) value).doubleValue();
+                // NaN never matches, and NaN values are ordered beyond the infinities in the index.
+                setLower(OrderedIndex.getKey(Double.NEGATIVE_INFINITY));
+                setUpper(OrderedIndex.getKey(Double.POSITIVE_INFINITY));
+                if (Double.isNaN(number)) {
+                    setLower(Long.MAX_VALUE);
+                    setUpper(Long.MIN_VALUE);
+                    return true;
+                }
+                bound = OrderedIndex.getKey(number);
+            } else {
+                return false;
+            }
+            if (operator.equals("==")) {
+                setLower(bound);
+                setUpper(bound);
+            } else if (operator.equals(">") && bound != Long.MAX_VALUE) {
+                setLower(bound + 1);
+            } else if (operator.equals(">=")) {
+                setLower(bound);
+            } else if (operator.equals("<") && bound != Long.MIN_VALUE) {
+                setUpper(bound - 1);
+            } else if (operator.equals("<=")) {
+                setUpper(bound);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private static boolean isRangeOperator(String operator) {
+            return operator.equals("==") || operator.equals(">") || operator.equals(">=") || operator.equals("<")
+                    || operator.equals("<=");
+        }
+
+        private void setLower(long bound) {
+            if (!hasLower || bound > lower) {
+                lower = bound;
+            }
+            hasLower = true;
+        }
+
+        private void setUpper(long bound) {
+            if (!hasUpper || bound < upper) {
+                upper = bound;
+            }
+            hasUpper = true;
+        }
+    }
+
+    private void addCondition(String operator, long[] columnIndices, Object value) {
+        conditions.add(new Condition(operator, columnIndices, value));
+    }
+
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
     }
 
     // Query TableView
@@ -104,12 +449,14 @@ public class TableQuery implements Closeable {
 
     public TableQuery group() {
         nativeGroup(nativePtr);
+        addCondition("(", null, null);
         queryValidated = false;
         return this;
     }
 
     public TableQuery endGroup() {
         nativeEndGroup(nativePtr);
+        addCondition(")", null, null);
         queryValidated = false;
         return this;
     }
@@ -128,12 +475,14 @@ public class TableQuery implements Closeable {
 
     public TableQuery or() {
         nativeOr(nativePtr);
+        addCondition("OR", null, null);
         queryValidated = false;
         return this;
     }
 
     public TableQuery not() {
         nativeNot(nativePtr);
+        addCondition("NOT", null, null);
         queryValidated = false;
         return this;
     }
@@ -142,42 +491,49 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndexes[], long value) {
         nativeEqual(nativePtr, columnIndexes, value);
+        addCondition("==", columnIndexes, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery notEqualTo(long columnIndex[], long value) {
         nativeNotEqual(nativePtr, columnIndex, value);
+        addCondition("!=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThan(long columnIndex[], long value) {
         nativeGreater(nativePtr, columnIndex, value);
+        addCondition(">", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThanOrEqual(long columnIndex[], long value) {
         nativeGreaterEqual(nativePtr, columnIndex, value);
+        addCondition(">=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThan(long columnIndex[], long value) {
         nativeLess(nativePtr, columnIndex, value);
+        addCondition("<", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThanOrEqual(long columnIndex[], long value) {
         nativeLessEqual(nativePtr, columnIndex, value);
+        addCondition("<=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery between(long columnIndex[], long value1, long value2) {
         nativeBetween(nativePtr, columnIndex, value1, value2);
+        addCondition("BETWEEN", columnIndex, new Object[] {value1, value2});
         queryValidated = false;
         return this;
     }
@@ -186,42 +542,49 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndex[], float value) {
         nativeEqual(nativePtr, columnIndex, value);
+        addCondition("==", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery notEqualTo(long columnIndex[], float value) {
         nativeNotEqual(nativePtr, columnIndex, value);
+        addCondition("!=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThan(long columnIndex[], float value) {
         nativeGreater(nativePtr, columnIndex, value);
+        addCondition(">", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThanOrEqual(long columnIndex[], float value) {
         nativeGreaterEqual(nativePtr, columnIndex, value);
+        addCondition(">=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThan(long columnIndex[], float value) {
         nativeLess(nativePtr, columnIndex, value);
+        addCondition("<", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThanOrEqual(long columnIndex[], float value) {
         nativeLessEqual(nativePtr, columnIndex, value);
+        addCondition("<=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery between(long columnIndex[], float value1, float value2) {
         nativeBetween(nativePtr, columnIndex, value1, value2);
+        addCondition("BETWEEN", columnIndex, new Object[] {value1, value2});
         queryValidated = false;
         return this;
     }
@@ -230,42 +593,49 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndex[], double value) {
         nativeEqual(nativePtr, columnIndex, value);
+        addCondition("==", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery notEqualTo(long columnIndex[], double value) {
         nativeNotEqual(nativePtr, columnIndex, value);
+        addCondition("!=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThan(long columnIndex[], double value) {
         nativeGreater(nativePtr, columnIndex, value);
+        addCondition(">", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThanOrEqual(long columnIndex[], double value) {
         nativeGreaterEqual(nativePtr, columnIndex, value);
+        addCondition(">=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThan(long columnIndex[], double value) {
         nativeLess(nativePtr, columnIndex, value);
+        addCondition("<", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThanOrEqual(long columnIndex[], double value) {
         nativeLessEqual(nativePtr, columnIndex, value);
+        addCondition("<=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery between(long columnIndex[], double value1, double value2) {
         nativeBetween(nativePtr, columnIndex, value1, value2);
+        addCondition("BETWEEN", columnIndex, new Object[] {value1, value2});
         queryValidated = false;
         return this;
     }
@@ -274,6 +644,7 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndex[], boolean value) {
         nativeEqual(nativePtr, columnIndex, value);
+        addCondition("==", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -288,6 +659,7 @@ public class TableQuery implements Closeable {
         } else {
             nativeEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
         }
+        addCondition((value == null) ? "IS NULL" : "==", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -296,6 +668,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeNotEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        addCondition("!=", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -304,6 +677,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeGreaterDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        addCondition(">", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -312,6 +686,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeGreaterEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        addCondition(">=", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -320,6 +695,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeLessDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        addCondition("<", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -328,6 +704,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeLessEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        addCondition("<=", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -336,6 +713,7 @@ public class TableQuery implements Closeable {
         if (value1 == null || value2 == null)
             throw new IllegalArgumentException("Date values in query criteria must not be null."); // Different text
         nativeBetweenDateTime(nativePtr, columnIndex, value1.getTime()/1000, value2.getTime()/1000);
+        addCondition("BETWEEN", columnIndex, new Object[] {value1, value2});
         queryValidated = false;
         return this;
     }
@@ -347,12 +725,14 @@ public class TableQuery implements Closeable {
     // Equal
     public TableQuery equalTo(long[] columnIndexes, String value, Case caseSensitive) {
         nativeEqual(nativePtr, columnIndexes, value, caseSensitive.getValue());
+        addCondition(caseSensitive.getValue() ? "==" : "==[c]", columnIndexes, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery equalTo(long[] columnIndexes, String value) {
         nativeEqual(nativePtr, columnIndexes, value, true);
+        addCondition("==", columnIndexes, value);
         queryValidated = false;
         return this;
     }
@@ -360,53 +740,88 @@ public class TableQuery implements Closeable {
     // Not Equal
     public TableQuery notEqualTo(long columnIndex[], String value, Case caseSensitive) {
         nativeNotEqual(nativePtr, columnIndex, value, caseSensitive.getValue());
+        addCondition(caseSensitive.getValue() ? "!=" : "!=[c]", columnIndex, value);
         queryValidated = false;
         return this;
     }
     public TableQuery notEqualTo(long columnIndex[], String value) {
         nativeNotEqual(nativePtr, columnIndex, value, true);
+        addCondition("!=", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery beginsWith(long columnIndices[], String value, Case caseSensitive) {
         nativeBeginsWith(nativePtr, columnIndices, value, caseSensitive.getValue());
+        addCondition(caseSensitive.getValue() ? "BEGINSWITH" : "BEGINSWITH[c]", columnIndices, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery beginsWith(long columnIndices[], String value) {
         nativeBeginsWith(nativePtr, columnIndices, value, true);
+        addCondition("BEGINSWITH", columnIndices, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery endsWith(long columnIndices[], String value, Case caseSensitive) {
         nativeEndsWith(nativePtr, columnIndices, value, caseSensitive.getValue());
+        addCondition(caseSensitive.getValue() ? "ENDSWITH" : "ENDSWITH[c]", columnIndices, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery endsWith(long columnIndices[], String value) {
         nativeEndsWith(nativePtr, columnIndices, value, true);
+        addCondition("ENDSWITH", columnIndices, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery contains(long columnIndices[], String value, Case caseSensitive) {
         nativeContains(nativePtr, columnIndices, value, caseSensitive.getValue());
+        addCondition(caseSensitive.getValue() ? "CONTAINS" : "CONTAINS[c]", columnIndices, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery contains(long columnIndices[], String value) {
         nativeContains(nativePtr, columnIndices, value, true);
+        addCondition("CONTAINS", columnIndices, value);
+        queryValidated = false;
+        return this;
+    }
+
+    /**
+     * Matches rows containing all tokens in the full-text index of a column. The tokens are looked for in the hidden
+     * token column of the index, so the condition combines with any other condition.
+     *
+     * @param columnIndices the path to the column, as for any other condition.
+     * @param index the full-text index of the column.
+     * @param tokens the tokens returned by {@link FullTextIndex#parseTerms(String)}.
+     */
+    public TableQuery matches(long[] columnIndices, FullTextIndex index, String[] tokens) {
+        long[] tokensColumnIndices = columnIndices.clone();
+        tokensColumnIndices[tokensColumnIndices.length - 1] = index.getTokensColumnIndex();
+        StringBuilder terms = new StringBuilder();
+        nativeGroup(nativePtr);
+        for (String token : tokens) {
+            nativeContains(nativePtr, tokensColumnIndices, FullTextIndex.getSearchString(token), true);
+            if (terms.length() > 0) {
+                terms.append(' ');
+            }
+            terms.append(token);
+        }
+        nativeEndGroup(nativePtr);
+        addCondition("MATCHES", columnIndices, terms.toString());
         queryValidated = false;
         return this;
     }
 
     public TableQuery isEmpty(long[] columnIndices) {
         nativeIsEmpty(nativePtr, columnIndices);
+        addCondition("IS EMPTY", columnIndices, null);
         queryValidated = false;
         return this;
     }
@@ -419,12 +834,37 @@ public class TableQuery implements Closeable {
 
     public long find(long fromTableRow) {
         validateQuery();
-        return nativeFind(nativePtr, fromTableRow);
+        return nativeFind(executionPtr(), fromTableRow);
     }
 
     public long find() {
         validateQuery();
-        return nativeFind(nativePtr, 0);
+        return nativeFind(executionPtr(), 0);
+    }
+
+    /**
+     * Finds the next matches of the query, starting at a given row. Unlike {@link #findAll()}, the query stops as soon
+     * as {@code limit} matches are found, so it can be evaluated in chunks and abandoned at any point.
+     *
+     * @param fromTableRow the row to start at.
+     * @param endRow the number of rows of the table, view or link list queried. No indices at or above it are returned.
+     * @param limit the maximum number of matches to find.
+     * @return the indices of the matches in ascending order, in the same form as returned by {@link #find(long)}.
+     * Fewer than {@code limit} indices means there are no more matches.
+     */
+    public long[] findChunk(long fromTableRow, long endRow, int limit) {
+        validateQuery();
+        if (conditions.isEmpty()) {
+            // Core's find() returns the first row of a view instead of the next one if there are no conditions, but
+            // then every row matches.
+            int count = (int) Math.max(0, Math.min(limit, endRow - fromTableRow));
+            long[] rows = new long[count];
+            for (int i = 0; i < count; i++) {
+                rows[i] = fromTableRow + i;
+            }
+            return rows;
+        }
+        return nativeFindChunk(executionPtr(), fromTableRow, endRow, limit);
     }
 
     /**
@@ -447,7 +887,7 @@ public class TableQuery implements Closeable {
 
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        long nativeViewPtr = nativeFindAll(nativePtr, start, end, limit);
+        long nativeViewPtr = nativeFindAll(executionPtr(), start, end, limit);
         try {
             return new TableView(this.context, this.table, nativeViewPtr, this);
         } catch (RuntimeException e) {
@@ -461,7 +901,42 @@ public class TableQuery implements Closeable {
 
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        long nativeViewPtr = nativeFindAll(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        long nativeViewPtr;
+        OrderedRange range = findOrderedRange(-1);
+        LinkView postings = (range == null) ? findFullTextPostings() : null;
+        if (range != null) {
+            nativeViewPtr = nativeFindAllOrdered(range);
+        } else if (postings != null) {
+            nativeViewPtr = nativeFindAllRestricted(executionPtr(), postings.nativePointer, Table.INFINITE);
+        } else {
+            nativeViewPtr = nativeFindAll(executionPtr(), 0, Table.INFINITE, Table.INFINITE);
+        }
+        try {
+            return new TableView(this.context, this.table, nativeViewPtr, this);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds all rows in ascending order of a column by looking them up in the ordered index of the column. The index
+     * is only used if the query has a range condition on the column or no conditions at all, since sorting the
+     * matches is cheaper than looking at every row in the index otherwise.
+     *
+     * @param columnIndex the column to sort by.
+     * @return the sorted view or {@code null} if the ordered index cannot be used.
+     */
+    public TableView findAllInIndexOrder(long columnIndex) {
+        validateQuery();
+        OrderedRange range = findOrderedRange(columnIndex);
+        if (range == null) {
+            return null;
+        }
+
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        long nativeViewPtr = nativeFindAllOrdered(range);
         try {
             return new TableView(this.context, this.table, nativeViewPtr, this);
         } catch (RuntimeException e) {
@@ -470,6 +945,11 @@ public class TableQuery implements Closeable {
         }
     }
 
+    private long nativeFindAllOrdered(OrderedRange range) {
+        return nativeFindAllOrdered(executionPtr(), range.index.getNativeLinkViewPointer(), range.index.getColumnIndex(),
+                range.hasLower, range.lower, range.hasUpper, range.upper, Table.INFINITE);
+    }
+
     // handover find* methods
     // this will use a background SharedGroup to import the query (using the handover object)
     // run the query, and return the table view to the caller SharedGroup using the handover object.
@@ -480,11 +960,102 @@ public class TableQuery implements Closeable {
         return nativeFindAllWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE);
     }
 
-    public long findDistinctWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long columnIndex) {
+    public long findDistinctWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long[] columnIndices) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeGetDistinctViewWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex);
+        return nativeGetDistinctViewWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndices);
+    }
+
+    /**
+     * Groups the rows found by the query by the values of the key columns and computes the aggregates of every group
+     * in a single pass over the rows. The groups are sorted by their keys, {@code null} first.
+     *
+     * @param keyColumnIndices the columns to group by.
+     * @param aggregateKinds the aggregates, see {@code io.realm.Aggregate}.
+     * @param aggregateColumnIndices the columns to aggregate, {@code -1} to count the rows of a group.
+     * @return an array of primitive arrays having one element per group, see groupby.hpp.
+     * @throws IllegalArgumentException if a column doesn't exist or the type of a column isn't supported.
+     */
+    public Object[] groupBy(long[] keyColumnIndices, byte[] aggregateKinds, long[] aggregateColumnIndices) {
+        validateQuery();
+        if (findOrderedRange(-1) != null || findFullTextPostings() != null) {
+            // The rows are found using the index.
+            TableView view = findAll();
+            try {
+                return view.groupBy(keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+            } finally {
+                view.close();
+            }
+        }
+        return nativeGroupBy(executionPtr(), keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+    }
+
+    public Object[] groupByWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery,
+                                        long[] keyColumnIndices, byte[] aggregateKinds,
+                                        long[] aggregateColumnIndices) {
+        validateQuery();
+        return nativeGroupByWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, keyColumnIndices,
+                aggregateKinds, aggregateColumnIndices);
+    }
+
+    /**
+     * Computes quantiles of a column over the rows found by the query, ignoring {@code null} and NaN values. Exact
+     * quantiles are interpolated linearly between the two closest ranks, approximate quantiles are estimated with a
+     * sketch of bounded size, see statistics.hpp.
+     *
+     * @param columnIndex an integer, float or double column.
+     * @param quantiles the quantiles to compute, as fractions between {@code 0} and {@code 1}.
+     * @param approximate {@code true} to estimate the quantiles instead of selecting them exactly.
+     * @return the quantiles in the order they were given, all {@code NaN} if there are no values.
+     * @throws IllegalArgumentException if the type of the column isn't supported or a quantile is out of range.
+     */
+    public double[] quantiles(long columnIndex, double[] quantiles, boolean approximate) {
+        validateQuery();
+        if (findOrderedRange(-1) != null || findFullTextPostings() != null) {
+            // The rows are found using the index.
+            TableView view = findAll();
+            try {
+                return view.quantiles(columnIndex, quantiles, approximate);
+            } finally {
+                view.close();
+            }
+        }
+        return nativeQuantiles(executionPtr(), columnIndex, quantiles, approximate);
+    }
+
+    public double[] quantilesWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery,
+                                          long columnIndex, double[] quantiles, boolean approximate) {
+        validateQuery();
+        return nativeQuantilesWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex, quantiles,
+                approximate);
+    }
+
+    /**
+     * Estimates the number of distinct values of a column over the rows found by the query with a HyperLogLog,
+     * ignoring {@code null} values. The standard error of the estimate is about 0.8%.
+     *
+     * @param columnIndex a boolean, integer, date, float, double or string column.
+     * @return the estimated number of distinct values.
+     * @throws IllegalArgumentException if the type of the column isn't supported.
+     */
+    public long countDistinctApprox(long columnIndex) {
+        validateQuery();
+        if (findOrderedRange(-1) != null || findFullTextPostings() != null) {
+            TableView view = findAll();
+            try {
+                return view.countDistinctApprox(columnIndex);
+            } finally {
+                view.close();
+            }
+        }
+        return nativeCountDistinctApprox(executionPtr(), columnIndex);
+    }
+
+    public long countDistinctApproxWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery,
+                                                long columnIndex) {
+        validateQuery();
+        return nativeCountDistinctApproxWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex);
     }
 
     public long findAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long columnIndex, Sort sortOrder) {
@@ -494,7 +1065,7 @@ public class TableQuery implements Closeable {
         return nativeFindAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndex, sortOrder.getValue());
     }
 
-    public long findAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long[] columnIndices, Sort[] sortOrders) {
+    public long findAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long[][] columnIndices, Sort[] sortOrders) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
@@ -522,7 +1093,63 @@ public class TableQuery implements Closeable {
      * @return native pointer to the handover query
      */
     public long handoverQuery(long callerSharedGroupPtr) {
-        return nativeHandoverQuery(callerSharedGroupPtr, nativePtr);
+        // An invalid query is handed over as it is, so the error is reported when it is evaluated.
+        if (!queryValidated && nativeValidateQuery(nativePtr).equals("")) {
+            queryValidated = true;
+            planKeyLookup();
+        }
+        return nativeHandoverQuery(callerSharedGroupPtr, executionPtr());
+    }
+
+    /**
+     * Imports a handed over query into a worker SharedGroup. The SharedGroup is moved to the version the query was
+     * exported at and stays there, so the imported query sees exactly the same data as the query it was exported
+     * from, as long as that query's SharedGroup doesn't advance.
+     *
+     * The imported query is bound to a table accessor and a context of the worker SharedGroup, so it can be
+     * evaluated without touching the accessors of the thread it was exported from.
+     *
+     * @param workerSharedGroup a SharedGroup only used by the current thread.
+     * @param handoverQueryPtr native pointer to the handover query, which is released by this method.
+     * @return the imported query. It must be closed before the SharedGroup is closed.
+     */
+    public static TableQuery importHandoverQuery(SharedGroup workerSharedGroup, long handoverQueryPtr) {
+        Context workerContext = workerSharedGroup.getContext();
+        long nativeQueryPtr = nativeImportHandoverQuery(workerSharedGroup.getNativePointer(), handoverQueryPtr);
+        long nativeTablePtr = 0;
+        try {
+            nativeTablePtr = nativeGetTable(nativeQueryPtr);
+            Table workerTable = new Table(workerContext, workerSharedGroup, nativeTablePtr);
+            TableQuery workerQuery = new TableQuery(workerContext, workerTable, nativeQueryPtr, workerTable);
+            workerQuery.ownsTable = true;
+            return workerQuery;
+        } catch (RuntimeException e) {
+            if (nativeTablePtr != 0) {
+                Table.nativeClose(nativeTablePtr);
+            }
+            TableQuery.nativeClose(nativeQueryPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks if the query can be evaluated as independent ranges of rows, which is only the case if it queries a
+     * whole table. If an ordered index or a full-text index can be used instead, it is cheaper to only look at the
+     * rows found through the index.
+     *
+     * @return {@code true} if the query can be split into ranges of rows, {@code false} otherwise.
+     */
+    public boolean canSplitIntoRanges() {
+        return isOnTable() && findOrderedRange(-1) == null && findFullTextPostings() == null;
+    }
+
+    /**
+     * Checks if the query is on all rows of its table, rather than restricted to a view or a link list.
+     *
+     * @return {@code true} if the query is on the whole table, {@code false} otherwise.
+     */
+    public boolean isOnTable() {
+        return origin == table;
     }
 
     //
@@ -533,121 +1160,152 @@ public class TableQuery implements Closeable {
 
     public long sumInt(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeSumInt(nativePtr, columnIndex, start, end, limit);
+        return nativeSumInt(executionPtr(), columnIndex, start, end, limit);
     }
     public long sumInt(long columnIndex) {
         validateQuery();
-        return nativeSumInt(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeSumInt(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public Long maximumInt(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeMaximumInt(nativePtr, columnIndex, start, end, limit);
+        return nativeMaximumInt(executionPtr(), columnIndex, start, end, limit);
     }
     public Long maximumInt(long columnIndex) {
         validateQuery();
-        return nativeMaximumInt(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeMaximumInt(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public Long minimumInt(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeMinimumInt(nativePtr, columnIndex, start, end, limit);
+        return nativeMinimumInt(executionPtr(), columnIndex, start, end, limit);
     }
     public Long minimumInt(long columnIndex) {
         validateQuery();
-        return nativeMinimumInt(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeMinimumInt(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public double averageInt(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeAverageInt(nativePtr, columnIndex, start, end, limit);
+        return nativeAverageInt(executionPtr(), columnIndex, start, end, limit);
     }
     public double averageInt(long columnIndex) {
         validateQuery();
-        return nativeAverageInt(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeAverageInt(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     // float aggregation
 
     public double sumFloat(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeSumFloat(nativePtr, columnIndex, start, end, limit);
+        return nativeSumFloat(executionPtr(), columnIndex, start, end, limit);
     }
     public double sumFloat(long columnIndex) {
         validateQuery();
-        return nativeSumFloat(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeSumFloat(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public Float maximumFloat(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeMaximumFloat(nativePtr, columnIndex, start, end, limit);
+        return nativeMaximumFloat(executionPtr(), columnIndex, start, end, limit);
     }
     public Float maximumFloat(long columnIndex) {
         validateQuery();
-        return nativeMaximumFloat(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeMaximumFloat(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public Float minimumFloat(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeMinimumFloat(nativePtr, columnIndex, start, end, limit);
+        return nativeMinimumFloat(executionPtr(), columnIndex, start, end, limit);
     }
     public Float minimumFloat(long columnIndex) {
         validateQuery();
-        return nativeMinimumFloat(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeMinimumFloat(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public double averageFloat(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeAverageFloat(nativePtr, columnIndex, start, end, limit);
+        return nativeAverageFloat(executionPtr(), columnIndex, start, end, limit);
     }
     public double averageFloat(long columnIndex) {
         validateQuery();
-        return nativeAverageFloat(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeAverageFloat(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     // double aggregation
 
     public double sumDouble(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeSumDouble(nativePtr, columnIndex, start, end, limit);
+        return nativeSumDouble(executionPtr(), columnIndex, start, end, limit);
     }
     public double sumDouble(long columnIndex) {
         validateQuery();
-        return nativeSumDouble(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeSumDouble(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public Double maximumDouble(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeMaximumDouble(nativePtr, columnIndex, start, end, limit);
+        return nativeMaximumDouble(executionPtr(), columnIndex, start, end, limit);
     }
     public Double maximumDouble(long columnIndex) {
         validateQuery();
-        return nativeMaximumDouble(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeMaximumDouble(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public Double minimumDouble(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeMinimumDouble(nativePtr, columnIndex, start, end, limit);
+        return nativeMinimumDouble(executionPtr(), columnIndex, start, end, limit);
     }
     public Double minimumDouble(long columnIndex) {
         validateQuery();
-        return nativeMinimumDouble(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeMinimumDouble(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
     }
 
     public double averageDouble(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        return nativeAverageDouble(nativePtr, columnIndex, start, end, limit);
+        return nativeAverageDouble(executionPtr(), columnIndex, start, end, limit);
     }
     public double averageDouble(long columnIndex) {
         validateQuery();
-        return nativeAverageDouble(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        return nativeAverageDouble(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
+    }
+
+    // sums with the number of values summed up, used to combine the averages of ranges of rows
+
+    /**
+     * Sums up an integer column over a range of rows and counts the values summed up. Like
+     * {@link #averageInt(long, long, long, long)}, {@code null} values are ignored.
+     *
+     * @return the sum and the number of values.
+     */
+    public long[] sumAndCountInt(long columnIndex, long start, long end, long limit) {
+        validateQuery();
+        return nativeSumAndCountInt(executionPtr(), columnIndex, start, end, limit);
+    }
+
+    /**
+     * Sums up a float column over a range of rows and counts the values summed up, see
+     * {@link #sumAndCountInt(long, long, long, long)}.
+     */
+    public double[] sumAndCountFloat(long columnIndex, long start, long end, long limit) {
+        validateQuery();
+        return nativeSumAndCountFloat(executionPtr(), columnIndex, start, end, limit);
+    }
+
+    /**
+     * Sums up a double column over a range of rows and counts the values summed up, see
+     * {@link #sumAndCountInt(long, long, long, long)}.
+     */
+    public double[] sumAndCountDouble(long columnIndex, long start, long end, long limit) {
+        validateQuery();
+        return nativeSumAndCountDouble(executionPtr(), columnIndex, start, end, limit);
     }
 
     // date aggregation
 
     public Date maximumDate(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        Long result = nativeMaximumDate(nativePtr, columnIndex, start, end, limit);
+        Long result = nativeMaximumDate(executionPtr(), columnIndex, start, end, limit);
         if (result != null) {
             return new Date(result * 1000);
         }
@@ -655,7 +1313,7 @@ public class TableQuery implements Closeable {
     }
     public Date maximumDate(long columnIndex) {
         validateQuery();
-        Long result = nativeMaximumDate(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        Long result = nativeMaximumDate(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
         if (result != null) {
             return new Date(result * 1000);
         }
@@ -664,7 +1322,7 @@ public class TableQuery implements Closeable {
 
     public Date minimumDate(long columnIndex, long start, long end, long limit) {
         validateQuery();
-        Long result = nativeMinimumDate(nativePtr, columnIndex, start, end, limit);
+        Long result = nativeMinimumDate(executionPtr(), columnIndex, start, end, limit);
         if (result != null) {
             return new Date(result * 1000);
         }
@@ -672,7 +1330,7 @@ public class TableQuery implements Closeable {
     }
     public Date minimumDate(long columnIndex) {
         validateQuery();
-        Long result = nativeMinimumDate(nativePtr, columnIndex, 0, Table.INFINITE, Table.INFINITE);
+        Long result = nativeMinimumDate(executionPtr(), columnIndex, 0, Table.INFINITE, Table.INFINITE);
         if (result != null) {
             return new Date(result * 1000);
         }
@@ -682,12 +1340,14 @@ public class TableQuery implements Closeable {
     // isNull and isNotNull
     public TableQuery isNull(long columnIndices[]) {
         nativeIsNull(nativePtr, columnIndices);
+        addCondition("IS NULL", columnIndices, null);
         queryValidated = false;
         return this;
     }
 
     public TableQuery isNotNull(long columnIndices[]) {
         nativeIsNotNull(nativePtr, columnIndices);
+        addCondition("IS NOT NULL", columnIndices, null);
         queryValidated = false;
         return this;
     }
@@ -697,25 +1357,34 @@ public class TableQuery implements Closeable {
     // TODO: Rename all start, end parameter names to firstRow, lastRow
     public long count(long start, long end, long limit) {
         validateQuery();
-        return nativeCount(nativePtr, start, end, limit);
+        return nativeCount(executionPtr(), start, end, limit);
     }
 
     public long count() {
         validateQuery();
-        return nativeCount(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        OrderedRange range = findOrderedRange(-1);
+        if (range != null) {
+            return nativeCountOrdered(executionPtr(), range.index.getNativeLinkViewPointer(), range.index.getColumnIndex(),
+                    range.hasLower, range.lower, range.hasUpper, range.upper);
+        }
+        LinkView postings = findFullTextPostings();
+        if (postings != null) {
+            return nativeCountRestricted(executionPtr(), postings.nativePointer);
+        }
+        return nativeCount(executionPtr(), 0, Table.INFINITE, Table.INFINITE);
     }
 
     // Deletion.
     public long remove(long start, long end) {
         validateQuery();
         if (table.isImmutable()) throwImmutable();
-        return nativeRemove(nativePtr, start, end, Table.INFINITE);
+        return nativeRemove(executionPtr(), start, end, Table.INFINITE);
     }
 
     public long remove() {
         validateQuery();
         if (table.isImmutable()) throwImmutable();
-        return nativeRemove(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        return nativeRemove(executionPtr(), 0, Table.INFINITE, Table.INFINITE);
     }
 
     /**
@@ -778,7 +1447,12 @@ public class TableQuery implements Closeable {
     private native void nativeContains(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeIsEmpty(long nativePtr, long[] columnIndices);
     private native long nativeFind(long nativeQueryPtr, long fromTableRow);
+    private native long[] nativeFindChunk(long nativeQueryPtr, long fromTableRow, long endRow, int limit);
     private native long nativeFindAll(long nativeQueryPtr, long start, long end, long limit);
+    private native long nativeFindAllOrdered(long nativeQueryPtr, long nativeLinkViewPtr, long columnIndex,
+                                             boolean hasLower, long lower, boolean hasUpper, long upper, long limit);
+    private native long nativeFindAllRestricted(long nativeQueryPtr, long nativeLinkViewPtr, long limit);
+    private native long nativeCreateKeyLookupQuery(long nativeQueryPtr, long keyColumnIndex, String key);
     private native long nativeSumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
@@ -791,20 +1465,35 @@ public class TableQuery implements Closeable {
     private native Double nativeMaximumDouble(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Double nativeMinimumDouble(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native double nativeAverageDouble(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
+    private native long[] nativeSumAndCountInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
+    private native double[] nativeSumAndCountFloat(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
+    private native double[] nativeSumAndCountDouble(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumDate(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumDate(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native void nativeIsNull(long nativePtr, long columnIndices[]);
     private native void nativeIsNotNull(long nativePtr, long columnIndices[]);
     private native long nativeCount(long nativeQueryPtr, long start, long end, long limit);
+    private native long nativeCountOrdered(long nativeQueryPtr, long nativeLinkViewPtr, long columnIndex,
+                                           boolean hasLower, long lower, boolean hasUpper, long upper);
+    private native long nativeCountRestricted(long nativeQueryPtr, long nativeLinkViewPtr);
     private native long nativeRemove(long nativeQueryPtr, long start, long end, long limit);
     private native long nativeImportHandoverTableViewIntoSharedGroup(long handoverTableViewPtr, long callerSharedGroupPtr);
     private native long nativeHandoverQuery(long callerSharedGroupPtr, long nativeQueryPtr);
     public static native long nativeFindAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long columnIndex, boolean ascending);
     public static native long nativeFindAllWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit);
-    public static native long nativeGetDistinctViewWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
+    public static native long nativeGetDistinctViewWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long[] columnIndices);
+    private native Object[] nativeGroupBy(long nativeQueryPtr, long[] keyColumnIndices, byte[] aggregateKinds, long[] aggregateColumnIndices);
+    private native Object[] nativeGroupByWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long[] keyColumnIndices, byte[] aggregateKinds, long[] aggregateColumnIndices);
+    private native double[] nativeQuantiles(long nativeQueryPtr, long columnIndex, double[] quantiles, boolean approximate);
+    private native double[] nativeQuantilesWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex, double[] quantiles, boolean approximate);
+    private native long nativeCountDistinctApprox(long nativeQueryPtr, long columnIndex);
+    private native long nativeCountDistinctApproxWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
     public static native long nativeFindWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long fromTableRow);
-    public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending);
+    public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long[][] columnIndices, boolean[] ascending);
     public static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedGroupPtr);
     public static native void nativeCloseQueryHandover(long nativePtr);
-    public static native long[] nativeBatchUpdateQueries(long bgSharedGroupPtr, long nativeReplicationPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder);
+    public static native void nativeCloseTableViewHandover(long handoverTableViewPtr);
+    private static native long nativeImportHandoverQuery(long workerSharedGroupPtr, long handoverQueryPtr);
+    private static native long nativeGetTable(long nativeQueryPtr);
+    public static native long[] nativeBatchUpdateQueries(long bgSharedGroupPtr, long nativeReplicationPtr, long[] handoverQueries, long[][] parameters, long[][][] queriesParameters, boolean[][] multiSortOrder);
 }
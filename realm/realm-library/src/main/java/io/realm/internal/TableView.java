@@ -711,12 +711,24 @@ public class TableView implements TableOrView, Closeable {
     }
 
     public void sort(List<Long> columnIndices, Sort[] sortOrders) {
-        long indices[] = new long[columnIndices.size()];
+        long indices[][] = new long[columnIndices.size()][];
         for (int i = 0; i < columnIndices.size(); i++) {
-            indices[i] = columnIndices.get(i);
+            indices[i] = new long[] {columnIndices.get(i)};
         }
+        sort(indices, sortOrders);
+    }
+
+    /**
+     * Sorts the view by multiple column paths. Each path is a list of column indices where all elements but the last
+     * one are link columns, e.g. {@code {dogColumn, nameColumn}} sorts by the name of the linked dog. The view stays
+     * sorted when it is synced with the table.
+     *
+     * @param columnIndexPaths the column paths to sort by.
+     * @param sortOrders the sort order of each path.
+     */
+    public void sort(long[][] columnIndexPaths, Sort[] sortOrders) {
         boolean nativeSortOrder[] = TableQuery.getNativeSortOrderValues(sortOrders);
-        nativeSortMulti(nativePtr, indices, nativeSortOrder);
+        nativeSortMulti(nativePtr, columnIndexPaths, nativeSortOrder);
     }
 
     @Override
@@ -791,17 +803,41 @@ public class TableView implements TableOrView, Closeable {
 
     /**
      * Removes rows that are duplicated with respect to the column set passed as argument.
-     * If two rows are indentical (for the given set of distinct-columns), then the last row is
-     * removed unless sorted, in which case the first object is returned.
+     * If two rows are indentical (for the given set of distinct-columns), then the later row is
+     * removed, so the first row in the order of the view is kept. The columns don't need to be
+     * indexed. The view stays distinct when it is synced.
      *
-     * @param columnIndex the column index.
-     * @throws IllegalArgumentException if the type of the column is unsupported.
-     * @throws UnsupportedOperationException if a column is not indexed.
+     * @param columnIndices the column indices.
+     * @throws IllegalArgumentException if the type of a column is unsupported.
      */
-    public void distinct(long columnIndex) {
+    public void distinct(long... columnIndices) {
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         this.context.executeDelayedDisposal();
-        nativeDistinct(nativePtr, columnIndex);
+        nativeDistinct(nativePtr, columnIndices);
+    }
+
+    /**
+     * Groups the rows of the view by the values of the key columns and computes the aggregates of every group in a
+     * single pass over the rows. See {@link TableQuery#groupBy(long[], byte[], long[])}.
+     */
+    public Object[] groupBy(long[] keyColumnIndices, byte[] aggregateKinds, long[] aggregateColumnIndices) {
+        return nativeGroupBy(nativePtr, keyColumnIndices, aggregateKinds, aggregateColumnIndices);
+    }
+
+    /**
+     * Computes quantiles of a column over the rows of the view. See
+     * {@link TableQuery#quantiles(long, double[], boolean)}.
+     */
+    public double[] quantiles(long columnIndex, double[] quantiles, boolean approximate) {
+        return nativeQuantiles(nativePtr, columnIndex, quantiles, approximate);
+    }
+
+    /**
+     * Estimates the number of distinct values of a column over the rows of the view. See
+     * {@link TableQuery#countDistinctApprox(long)}.
+     */
+    public long countDistinctApprox(long columnIndex) {
+        return nativeCountDistinctApprox(nativePtr, columnIndex);
     }
 
     @Override
@@ -809,6 +845,26 @@ public class TableView implements TableOrView, Closeable {
         return nativeSync(nativePtr);
     }
 
+    /**
+     * Copies this view into another SharedGroup of the same file, which must be at the same version as the one of
+     * this view.
+     *
+     * @param sourceSharedGroup the SharedGroup of this view.
+     * @param targetSharedGroup the SharedGroup to copy the view into.
+     * @param targetTable the table of this view in {@code targetSharedGroup}.
+     * @return the copy of the view.
+     */
+    public TableView copyToSharedGroup(SharedGroup sourceSharedGroup, SharedGroup targetSharedGroup, Table targetTable) {
+        long nativeViewPtr = nativeCopyToSharedGroup(sourceSharedGroup.getNativePointer(), nativePtr,
+                targetSharedGroup.getNativePointer());
+        try {
+            return new TableView(targetTable.context, targetTable, nativeViewPtr);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
     static native void nativeClose(long nativeViewPtr);
     private native long nativeSize(long nativeViewPtr);
     private native long nativeGetSourceRowIndex(long nativeViewPtr, long rowIndex);
@@ -870,13 +926,18 @@ public class TableView implements TableOrView, Closeable {
     private native Long nativeMaximumDate(long nativePtr, long columnIndex);
     private native Long nativeMinimumDate(long nativePtr, long columnIndex);
     private native void nativeSort(long nativeTableViewPtr, long columnIndex, boolean sortOrder);
-    private native void nativeSortMulti(long nativeTableViewPtr, long columnIndices[], boolean ascending[]);
+    private native void nativeSortMulti(long nativeTableViewPtr, long columnIndices[][], boolean ascending[]);
     private native long createNativeTableView(Table table, long nativeTablePtr);
     private native String nativeToJson(long nativeViewPtr);
     private native String nativeToString(long nativeTablePtr, long maxRows);
     private native String nativeRowToString(long nativeTablePtr, long rowIndex);
     private native long nativeWhere(long nativeViewPtr);
     private native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long result);
-    private native long nativeDistinct(long nativeViewPtr, long columnIndex);
+    private native void nativeDistinct(long nativeViewPtr, long[] columnIndices);
+    private native Object[] nativeGroupBy(long nativeViewPtr, long[] keyColumnIndices, byte[] aggregateKinds, long[] aggregateColumnIndices);
+    private native double[] nativeQuantiles(long nativeViewPtr, long columnIndex, double[] quantiles, boolean approximate);
+    private native long nativeCountDistinctApprox(long nativeViewPtr, long columnIndex);
     private native long nativeSync(long nativeTablePtr);
+    private static native long nativeCopyToSharedGroup(long sourceSharedGroupPtr, long nativeViewPtr,
+                                                       long targetSharedGroupPtr);
 }
@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -174,6 +175,11 @@ public class UncheckedRow extends NativeObject implements Row {
         return nativeGetByteArray(nativePointer, columnIndex);
     }
 
+    @Override
+    public ByteBuffer getBinaryByteBuffer(long columnIndex) {
+        return Table.toReadOnlyBuffer(nativeGetByteBuffer(nativePointer, columnIndex), !parent.isImmutable());
+    }
+
     @Override
     public Mixed getMixed(long columnIndex) {
         return nativeGetMixed(nativePointer, columnIndex);
@@ -250,6 +256,17 @@ public class UncheckedRow extends NativeObject implements Row {
         nativeSetByteArray(nativePointer, columnIndex, data);
     }
 
+    @Override
+    public void setBinaryByteBuffer(long columnIndex, ByteBuffer data) {
+        parent.checkImmutable();
+        if (data != null && data.isDirect()) {
+            // Read-only buffers might point into the Realm file itself, so they are copied before writing.
+            nativeSetByteBuffer(nativePointer, columnIndex, data, data.position(), data.remaining(), data.isReadOnly());
+        } else {
+            nativeSetByteArray(nativePointer, columnIndex, Table.toByteArray(data));
+        }
+    }
+
     @Override
     public void setMixed(long columnIndex, Mixed data) {
         parent.checkImmutable();
@@ -313,6 +330,7 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native String nativeGetString(long nativePtr, long columnIndex);
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex);
+    protected native ByteBuffer nativeGetByteBuffer(long nativePtr, long columnIndex);
     protected native int nativeGetMixedType(long nativePtr, long columnIndex);
     protected native Mixed nativeGetMixed(long nativeRowPtr, long columnIndex);
     protected native long nativeGetLinkView(long nativePtr, long columnIndex);
@@ -324,6 +342,8 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native void nativeSetDate(long nativeRowPtr, long columnIndex, long dateTimeValue);
     protected native void nativeSetString(long nativeRowPtr, long columnIndex, String value);
     protected native void nativeSetByteArray(long nativePtr, long columnIndex, byte[] data);
+    protected native void nativeSetByteBuffer(long nativePtr, long columnIndex, ByteBuffer data, int offset,
+                                              int length, boolean copy);
     protected native void nativeSetMixed(long nativeRowPtr, long columnIndex, Mixed data);
     protected native void nativeSetLink(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeNullifyLink(long nativeRowPtr, long columnIndex);
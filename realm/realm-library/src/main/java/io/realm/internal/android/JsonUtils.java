@@ -16,8 +16,17 @@
 
 package io.realm.internal.android;
 
+import android.annotation.TargetApi;
+import android.os.Build;
 import android.util.Base64;
+import android.util.JsonReader;
+import android.util.JsonToken;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Date;
@@ -79,4 +88,67 @@ public class JsonUtils {
         if (str == null || str.length() == 0) return new byte[0];
         return Base64.decode(str, Base64.DEFAULT);
     }
+
+    /**
+     * Reads the next value of a stream as a {@link JSONObject}. Only the tokens of that object are buffered, so a
+     * large array of objects can be processed one object at a time. Numbers are kept as {@code Long} unless they
+     * have a fraction or an exponent, which matches what {@link JSONObject} parses from a string.
+     *
+     * @param reader the reader positioned in front of an object.
+     * @return the object read.
+     * @throws JSONException if the next value is not an object.
+     * @throws IOException if the stream could not be read or is not valid JSON.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public static JSONObject readJsonObject(JsonReader reader) throws IOException, JSONException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JSONException("Expected a JSON object but was " + reader.peek());
+        }
+        return (JSONObject) readJsonValue(reader);
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static Object readJsonValue(JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                JSONObject object = new JSONObject();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    object.put(name, readJsonValue(reader));
+                }
+                reader.endObject();
+                return object;
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.put(readJsonValue(reader));
+                }
+                reader.endArray();
+                return array;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return parseNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw new JSONException("Unexpected JSON token: " + reader.peek());
+        }
+    }
+
+    private static Number parseNumber(String number) {
+        if (number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+            try {
+                return Long.valueOf(number);
+            } catch (NumberFormatException ignored) {
+                // Too large for a long.
+            }
+        }
+        return Double.valueOf(number);
+    }
 }
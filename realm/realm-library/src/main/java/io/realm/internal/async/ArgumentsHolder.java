@@ -31,8 +31,9 @@ public class ArgumentsHolder {
     public final int type;
     public long columnIndex;
     public Sort sortOrder;
-    public long[] columnIndices;
+    public long[][] columnIndices;
     public Sort[] sortOrders;
+    public long[] distinctColumnIndices;
 
     public ArgumentsHolder(int type) {
         this.type = type;
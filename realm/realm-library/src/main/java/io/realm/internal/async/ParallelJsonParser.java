@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.exceptions.RealmException;
+
+/**
+ * Parses the elements of a JSON array stream on several threads and hands them out in batches, in the order of the
+ * stream.
+ * <p>
+ * A splitter thread reads the stream and cuts it into batches of elements, only looking at the structure of the JSON
+ * text. The batches are parsed by worker threads, while the consumer takes the parsed batches in order with
+ * {@link #nextBatch()}. At most two batches per worker are read ahead, so the memory used doesn't depend on the size
+ * of the stream.
+ * <p>
+ * The worker threads are shared by all parsers, but every parser only parses as many batches at the same time as its
+ * parallelism allows.
+ */
+public final class ParallelJsonParser {
+
+    /**
+     * The default number of array elements in a batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final int MAX_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    // Idle threads are terminated, so the pool costs nothing if parallel imports are not used.
+    private static final ThreadPoolExecutor workers = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS,
+            30L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+    static {
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    // Marks the end of the stream in the queue of batches.
+    private static final Future<JSONArray> END = completedFuture(null);
+
+    private final Reader reader;
+    private final int batchSize;
+    private final BlockingQueue<Future<JSONArray>> batches;
+    // Taken by the splitter before submitting a batch and given back by the worker once the batch is parsed.
+    private final Semaphore parsePermits;
+    private final AtomicInteger parsing = new AtomicInteger();
+    private final AtomicInteger peakParsing = new AtomicInteger();
+    private final Thread splitter;
+    private boolean finished;
+
+    /**
+     * Starts parsing a stream.
+     *
+     * @param inputStream the stream containing a JSON array. It is closed once it has been read or the parser is
+     * closed.
+     * @param parallelism the maximum number of threads parsing batches at the same time.
+     * @param batchSize the number of array elements in a batch.
+     * @throws IllegalArgumentException if {@code parallelism} or {@code batchSize} is less than {@code 1}.
+     */
+    public ParallelJsonParser(InputStream inputStream, int parallelism, int batchSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        try {
+            this.reader = new InputStreamReader(inputStream, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RealmException("UTF-8 is not supported", e);
+        }
+        this.batchSize = batchSize;
+        int workerCount = Math.min(parallelism, MAX_WORKERS);
+        this.batches = new ArrayBlockingQueue<Future<JSONArray>>(workerCount * 2);
+        this.parsePermits = new Semaphore(workerCount);
+        this.splitter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                split();
+            }
+        }, "RealmJsonSplitter");
+        splitter.setDaemon(true);
+        splitter.start();
+    }
+
+    /**
+     * Returns the next batch of array elements, waiting for it to be parsed if needed.
+     *
+     * @return the next batch or {@code null} if all elements of the array have been returned.
+     * @throws JSONException if the stream doesn't contain a valid JSON array.
+     * @throws IOException if the stream could not be read.
+     */
+    public JSONArray nextBatch() throws IOException, JSONException {
+        if (finished) {
+            return null;
+        }
+        try {
+            JSONArray batch = batches.take().get();
+            finished = (batch == null);
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RealmException("Interrupted while waiting for JSON to be parsed.", e);
+        } catch (ExecutionException e) {
+            finished = true;
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof JSONException) {
+                throw (JSONException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RealmException("Failed to read JSON", cause);
+        }
+    }
+
+    /**
+     * Stops reading the stream and discards the batches not returned yet. It is not needed once {@link #nextBatch()}
+     * has returned {@code null} or thrown an exception.
+     */
+    public void close() {
+        finished = true;
+        splitter.interrupt();
+        Future<JSONArray> batch;
+        while ((batch = batches.poll()) != null) {
+            batch.cancel(true);
+        }
+    }
+
+    // Runs on the splitter thread.
+    private void split() {
+        try {
+            try {
+                splitArray();
+            } finally {
+                reader.close();
+            }
+            batches.put(END);
+        } catch (InterruptedException e) {
+            // Closed by the consumer.
+        } catch (final Exception e) {
+            try {
+                batches.put(ParallelJsonParser.<JSONArray>failedFuture(e));
+            } catch (InterruptedException ignored) {
+            }
+        }
+    }
+
+    // Copies the elements of the array into batches, tracking only the nesting of objects, arrays and strings. Whether
+    // the elements themselves are valid JSON is left to the workers.
+    private void splitArray() throws IOException, JSONException, InterruptedException {
+        char[] buffer = new char[8192];
+        StringBuilder batch = new StringBuilder("[");
+        int elements = 0;
+        boolean started = false;
+        boolean inElement = false;
+        boolean inString = false;
+        boolean escaped = false;
+        int depth = 0;
+
+        int length;
+        while ((length = reader.read(buffer)) != -1) {
+            for (int i = 0; i < length; i++) {
+                char c = buffer[i];
+                if (inString) {
+                    batch.append(c);
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                    continue;
+                }
+                if (Character.isWhitespace(c) && (depth == 0 || !started)) {
+                    continue;
+                }
+                if (!started) {
+                    if (c != '[') {
+                        throw new JSONException("Expected a JSON array but was '" + c + "'");
+                    }
+                    started = true;
+                    continue;
+                }
+                if (depth == 0) {
+                    if (c == ',') {
+                        inElement = false;
+                        if (elements == batchSize) {
+                            submit(batch.append(']').toString());
+                            batch = new StringBuilder("[");
+                            elements = 0;
+                        } else {
+                            batch.append(c);
+                        }
+                        continue;
+                    }
+                    if (c == ']') {
+                        if (elements > 0) {
+                            submit(batch.append(']').toString());
+                        }
+                        return;
+                    }
+                    if (!inElement) {
+                        inElement = true;
+                        elements++;
+                    }
+                }
+                if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                batch.append(c);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        throw new JSONException(started ? "Unterminated JSON array" : "Expected a JSON array but was empty");
+    }
+
+    private void submit(final String batch) throws InterruptedException {
+        parsePermits.acquire();
+        Future<JSONArray> parsed;
+        try {
+            parsed = workers.submit(new Callable<JSONArray>() {
+                @Override
+                public JSONArray call() throws JSONException {
+                    int running = parsing.incrementAndGet();
+                    try {
+                        updatePeak(running);
+                        return new JSONArray(batch);
+                    } finally {
+                        parsing.decrementAndGet();
+                        parsePermits.release();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            parsePermits.release();
+            throw e;
+        }
+        batches.put(parsed);
+    }
+
+    private void updatePeak(int running) {
+        int peak;
+        while (running > (peak = peakParsing.get()) && !peakParsing.compareAndSet(peak, running)) {
+            // Retry, another worker changed the peak.
+        }
+    }
+
+    /**
+     * Returns the highest number of batches of this parser parsed at the same time so far. Used by tests.
+     */
+    int getPeakParallelism() {
+        return peakParsing.get();
+    }
+
+    private static <T> Future<T> completedFuture(final T value) {
+        FutureTask<T> future = new FutureTask<T>(new Callable<T>() {
+            @Override
+            public T call() {
+                return value;
+            }
+        });
+        future.run();
+        return future;
+    }
+
+    private static <T> Future<T> failedFuture(final Exception e) {
+        FutureTask<T> future = new FutureTask<T>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                throw e;
+            }
+        });
+        future.run();
+        return future;
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.RealmConfiguration;
+import io.realm.RealmFieldType;
+import io.realm.exceptions.RealmException;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+
+/**
+ * Evaluates counts and aggregates of a query on several threads. The table is split into ranges of rows, and every
+ * range is evaluated by a worker thread on its own SharedGroup. The query is handed over to the workers at the
+ * version of the caller, so all ranges see the same data as the caller even if other threads commit in the meantime.
+ * The partial results of the ranges are merged once all workers are done, while the caller is blocked.
+ * <p>
+ * Only queries on a whole table can be split, see {@link TableQuery#canSplitIntoRanges()}, and the caller must not be
+ * in a write transaction, since the workers can't see uncommitted changes.
+ */
+public final class ParallelQueryExecutor {
+
+    /**
+     * The minimum number of rows given to a worker. Opening a SharedGroup costs more than scanning fewer rows.
+     */
+    public static final long DEFAULT_MIN_ROWS_PER_RANGE = 50000;
+
+    private static final int MAX_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    // Workers are not moved into the background like async queries, since the caller waits for them. Idle threads
+    // are terminated, so the pool costs nothing if parallel queries are not used.
+    private static final ThreadPoolExecutor workers = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS,
+            30L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+    static {
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    private interface RangeTask<T> {
+        T run(TableQuery query, long start, long end);
+    }
+
+    private final RealmConfiguration configuration;
+    private final long callerSharedGroupPtr;
+    private final TableQuery query;
+    private final long[] bounds;
+
+    /**
+     * Creates an executor splitting the given rows into at most {@code parallelism} ranges.
+     *
+     * @param configuration the configuration of the Realm, used to open the SharedGroups of the workers.
+     * @param callerSharedGroupPtr native pointer to the SharedGroup of the query.
+     * @param query the query to evaluate.
+     * @param rows the number of rows of the queried table.
+     * @param parallelism the maximum number of ranges, i.e. of worker threads used.
+     * @param minRowsPerRange the minimum number of rows of a range.
+     */
+    public ParallelQueryExecutor(RealmConfiguration configuration, long callerSharedGroupPtr, TableQuery query,
+                                 long rows, int parallelism, long minRowsPerRange) {
+        this.configuration = configuration;
+        this.callerSharedGroupPtr = callerSharedGroupPtr;
+        this.query = query;
+
+        int ranges = (int) Math.max(1, Math.min(Math.min(parallelism, MAX_WORKERS), rows / minRowsPerRange));
+        bounds = new long[ranges + 1];
+        for (int i = 0; i <= ranges; i++) {
+            bounds[i] = rows * i / ranges;
+        }
+    }
+
+    /**
+     * Returns the number of ranges the rows are split into. Evaluating a single range on a worker is slower than
+     * evaluating the query directly.
+     */
+    public int getRangeCount() {
+        return bounds.length - 1;
+    }
+
+    /**
+     * Counts the rows matching the query.
+     */
+    public long count() {
+        long count = 0;
+        for (Long partial : execute(new RangeTask<Long>() {
+            @Override
+            public Long run(TableQuery query, long start, long end) {
+                return query.count(start, end, Table.INFINITE);
+            }
+        })) {
+            count += partial;
+        }
+        return count;
+    }
+
+    /**
+     * Sums up a number column of the rows matching the query.
+     *
+     * @return the sum as a {@code long} for integer columns and a {@code double} otherwise.
+     */
+    public Number sum(final long columnIndex, final RealmFieldType type) {
+        List<Number> partials = execute(new RangeTask<Number>() {
+            @Override
+            public Number run(TableQuery query, long start, long end) {
+                return sum(query, columnIndex, type, start, end);
+            }
+        });
+        return addUp(partials, type);
+    }
+
+    /**
+     * Returns the average of a number column of the rows matching the query, or 0 if there are none. Rows having
+     * {@code null} values are ignored.
+     */
+    public double average(final long columnIndex, final RealmFieldType type) {
+        // Every range yields its sum and number of non-null values from a single evaluation of the query, since
+        // averages of ranges of different sizes can't be combined otherwise.
+        List<Number[]> partials = execute(new RangeTask<Number[]>() {
+            @Override
+            public Number[] run(TableQuery query, long start, long end) {
+                switch (type) {
+                    case INTEGER:
+                        long[] intSumAndCount = query.sumAndCountInt(columnIndex, start, end, Table.INFINITE);
+                        return new Number[] {intSumAndCount[0], intSumAndCount[1]};
+                    case FLOAT:
+                        double[] floatSumAndCount = query.sumAndCountFloat(columnIndex, start, end, Table.INFINITE);
+                        return new Number[] {floatSumAndCount[0], (long) floatSumAndCount[1]};
+                    case DOUBLE:
+                        double[] doubleSumAndCount = query.sumAndCountDouble(columnIndex, start, end, Table.INFINITE);
+                        return new Number[] {doubleSumAndCount[0], (long) doubleSumAndCount[1]};
+                    default:
+                        throw new IllegalArgumentException("Unsupported type: " + type);
+                }
+            }
+        });
+        List<Number> sums = new ArrayList<Number>(partials.size());
+        long count = 0;
+        for (Number[] partial : partials) {
+            sums.add(partial[0]);
+            count += partial[1].longValue();
+        }
+        return (count == 0) ? 0 : addUp(sums, type).doubleValue() / count;
+    }
+
+    /**
+     * Finds the minimum value of a number column of the rows matching the query.
+     *
+     * @return the minimum value of the type returned by the corresponding {@link TableQuery} method, or {@code null}
+     * if no rows match or they all have {@code null} values.
+     */
+    public Number minimum(long columnIndex, RealmFieldType type) {
+        return findExtreme(columnIndex, type, true);
+    }
+
+    /**
+     * Finds the maximum value of a number column of the rows matching the query.
+     *
+     * @return the maximum value of the type returned by the corresponding {@link TableQuery} method, or {@code null}
+     * if no rows match or they all have {@code null} values.
+     */
+    public Number maximum(long columnIndex, RealmFieldType type) {
+        return findExtreme(columnIndex, type, false);
+    }
+
+    /**
+     * Finds the minimum value of a date column of the rows matching the query.
+     *
+     * @return the minimum date, or {@code null} if no rows match or they all have {@code null} values.
+     */
+    public Date minimumDate(long columnIndex) {
+        return findExtremeDate(columnIndex, true);
+    }
+
+    /**
+     * Finds the maximum value of a date column of the rows matching the query.
+     *
+     * @return the maximum date, or {@code null} if no rows match or they all have {@code null} values.
+     */
+    public Date maximumDate(long columnIndex) {
+        return findExtremeDate(columnIndex, false);
+    }
+
+    private Number findExtreme(final long columnIndex, final RealmFieldType type, final boolean minimum) {
+        switch (type) {
+            case INTEGER:
+                return pickExtreme(execute(new RangeTask<Long>() {
+                    @Override
+                    public Long run(TableQuery query, long start, long end) {
+                        return minimum ? query.minimumInt(columnIndex, start, end, Table.INFINITE)
+                                : query.maximumInt(columnIndex, start, end, Table.INFINITE);
+                    }
+                }), minimum);
+            case FLOAT:
+                return pickExtreme(execute(new RangeTask<Float>() {
+                    @Override
+                    public Float run(TableQuery query, long start, long end) {
+                        return minimum ? query.minimumFloat(columnIndex, start, end, Table.INFINITE)
+                                : query.maximumFloat(columnIndex, start, end, Table.INFINITE);
+                    }
+                }), minimum);
+            case DOUBLE:
+                return pickExtreme(execute(new RangeTask<Double>() {
+                    @Override
+                    public Double run(TableQuery query, long start, long end) {
+                        return minimum ? query.minimumDouble(columnIndex, start, end, Table.INFINITE)
+                                : query.maximumDouble(columnIndex, start, end, Table.INFINITE);
+                    }
+                }), minimum);
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private Date findExtremeDate(final long columnIndex, final boolean minimum) {
+        return pickExtreme(execute(new RangeTask<Date>() {
+            @Override
+            public Date run(TableQuery query, long start, long end) {
+                return minimum ? query.minimumDate(columnIndex, start, end, Table.INFINITE)
+                        : query.maximumDate(columnIndex, start, end, Table.INFINITE);
+            }
+        }), minimum);
+    }
+
+    // Ranges without matching rows or with only null values yield null.
+    private static <T extends Comparable<? super T>> T pickExtreme(List<T> partials, boolean minimum) {
+        T result = null;
+        for (T partial : partials) {
+            if (partial != null && (result == null || (partial.compareTo(result) < 0) == minimum)) {
+                result = partial;
+            }
+        }
+        return result;
+    }
+
+    private static Number sum(TableQuery query, long columnIndex, RealmFieldType type, long start, long end) {
+        switch (type) {
+            case INTEGER:
+                return query.sumInt(columnIndex, start, end, Table.INFINITE);
+            case FLOAT:
+                return query.sumFloat(columnIndex, start, end, Table.INFINITE);
+            case DOUBLE:
+                return query.sumDouble(columnIndex, start, end, Table.INFINITE);
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private static Number addUp(List<Number> partials, RealmFieldType type) {
+        if (type == RealmFieldType.INTEGER) {
+            long sum = 0;
+            for (Number partial : partials) {
+                sum += partial.longValue();
+            }
+            return sum;
+        }
+        double sum = 0;
+        for (Number partial : partials) {
+            sum += partial.doubleValue();
+        }
+        return sum;
+    }
+
+    /**
+     * Runs a task for every range on the workers and returns the partial results in the order of the ranges.
+     */
+    private <T> List<T> execute(final RangeTask<T> task) {
+        int ranges = getRangeCount();
+        List<Future<T>> futures = new ArrayList<Future<T>>(ranges);
+        try {
+            for (int i = 0; i < ranges; i++) {
+                final long start = bounds[i];
+                final long end = bounds[i + 1];
+                // Exported by the caller, since the handover has to be created from the caller's SharedGroup.
+                final long handoverQueryPtr = query.handoverQuery(callerSharedGroupPtr);
+                futures.add(workers.submit(new Callable<T>() {
+                    @Override
+                    public T call() throws Exception {
+                        SharedGroup sharedGroup = null;
+                        TableQuery workerQuery = null;
+                        boolean handoverReleased = false;
+                        try {
+                            sharedGroup = new SharedGroup(configuration.getPath(),
+                                    SharedGroup.IMPLICIT_TRANSACTION,
+                                    configuration.getDurability(),
+                                    configuration.getEncryptionKey());
+                            handoverReleased = true; // The import releases the handover, even if it fails.
+                            workerQuery = TableQuery.importHandoverQuery(sharedGroup, handoverQueryPtr);
+                            return task.run(workerQuery, start, end);
+                        } finally {
+                            if (workerQuery != null) {
+                                workerQuery.close();
+                            }
+                            if (!handoverReleased) {
+                                TableQuery.nativeCloseQueryHandover(handoverQueryPtr);
+                            }
+                            if (sharedGroup != null) {
+                                sharedGroup.close();
+                            }
+                        }
+                    }
+                }));
+            }
+
+            List<T> results = new ArrayList<T>(ranges);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RealmException("Interrupted while waiting for the query to be evaluated.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RealmException("The query could not be evaluated.", cause);
+        } finally {
+            // The caller's version must stay available until no worker imports it anymore.
+            for (Future<T> future : futures) {
+                if (!future.isDone()) {
+                    try {
+                        future.get();
+                    } catch (Exception ignored) {
+                    }
+                }
+            }
+        }
+    }
+}
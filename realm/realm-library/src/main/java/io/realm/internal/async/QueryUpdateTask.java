@@ -113,7 +113,7 @@ public class QueryUpdateTask implements Runnable {
     private AlignedQueriesParameters prepareQueriesParameters() {
         long[] handoverQueries = new long[realmResultsEntries.size()];
         long[][] queriesParameters = new long[realmResultsEntries.size()][6];
-        long[][] multiSortColumnIndices = new long[realmResultsEntries.size()][];
+        long[][][] multiSortColumnIndices = new long[realmResultsEntries.size()][][];
         boolean[][] multiSortOrder = new boolean[realmResultsEntries.size()][];
 
         int i = 0;
@@ -129,8 +129,11 @@ public class QueryUpdateTask implements Runnable {
                 }
                 case ArgumentsHolder.TYPE_DISTINCT: {
                     handoverQueries[i] = queryEntry.handoverQueryPointer;
+                    // The columns of the distinct follow the type, so the row is as long as needed.
+                    long[] distinctColumnIndices = queryEntry.queryArguments.distinctColumnIndices;
+                    queriesParameters[i] = new long[1 + distinctColumnIndices.length];
                     queriesParameters[i][0] = ArgumentsHolder.TYPE_DISTINCT;
-                    queriesParameters[i][1] = queryEntry.queryArguments.columnIndex;
+                    System.arraycopy(distinctColumnIndices, 0, queriesParameters[i], 1, distinctColumnIndices.length);
                     break;
                 }
                 case ArgumentsHolder.TYPE_FIND_ALL_SORTED: {
@@ -225,7 +228,7 @@ public class QueryUpdateTask implements Runnable {
     private static class AlignedQueriesParameters {
         long[] handoverQueries;
         long[][] queriesParameters;
-        long[][] multiSortColumnIndices;
+        long[][][] multiSortColumnIndices;
         boolean[][] multiSortOrder;
     }
     /*
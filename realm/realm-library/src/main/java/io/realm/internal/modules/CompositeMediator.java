@@ -31,6 +31,7 @@ import java.util.Set;
 import io.realm.Realm;
 import io.realm.RealmObject;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
@@ -97,6 +98,18 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public void insert(Realm realm, RealmObject object, boolean update, Map<RealmObject, Long> cache) {
+        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(object.getClass()));
+        mediator.insert(realm, object, update, cache);
+    }
+
+    @Override
+    public Object getPrimaryKey(RealmObject object) {
+        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(object.getClass()));
+        return mediator.getPrimaryKey(object);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -110,9 +123,9 @@ public class CompositeMediator extends RealmProxyMediator {
     }
 
     @Override
-    public <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
-        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(realmObject.getClass()));
-        return mediator.createDetachedCopy(realmObject, maxDepth, cache);
+    public <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndices, int maxDepth, DetachedCopyCache cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.createDetachedCopies(clazz, realm, rowIndices, maxDepth, cache);
     }
 
     // Returns the mediator for a given model class (not RealmProxy) or throws exception
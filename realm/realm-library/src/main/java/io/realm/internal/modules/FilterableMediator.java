@@ -32,6 +32,7 @@ import java.util.Set;
 import io.realm.Realm;
 import io.realm.RealmObject;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.DetachedCopyCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
@@ -113,6 +114,18 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public void insert(Realm realm, RealmObject object, boolean update, Map<RealmObject, Long> cache) {
+        checkSchemaHasClass(Util.getOriginalModelClass(object.getClass()));
+        originalMediator.insert(realm, object, update, cache);
+    }
+
+    @Override
+    public Object getPrimaryKey(RealmObject object) {
+        checkSchemaHasClass(Util.getOriginalModelClass(object.getClass()));
+        return originalMediator.getPrimaryKey(object);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);
@@ -126,9 +139,9 @@ public class FilterableMediator extends RealmProxyMediator {
     }
 
     @Override
-    public <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
-        checkSchemaHasClass(Util.getOriginalModelClass(realmObject.getClass()));
-        return originalMediator.createDetachedCopy(realmObject, maxDepth, cache);
+    public <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndices, int maxDepth, DetachedCopyCache cache) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.createDetachedCopies(clazz, realm, rowIndices, maxDepth, cache);
     }
 
     // Validate if a model class (not RealmProxy) is part of this Schema.